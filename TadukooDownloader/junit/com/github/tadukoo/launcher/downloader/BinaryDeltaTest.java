@@ -0,0 +1,131 @@
+package com.github.tadukoo.launcher.downloader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryDeltaTest{
+	private Path directory;
+	
+	@BeforeEach
+	public void setup() throws IOException{
+		directory = Files.createTempDirectory("binary-delta");
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		try(var files = Files.walk(directory)){
+			for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+				Files.delete(file);
+			}
+		}
+	}
+	
+	private byte[] roundTrip(byte[] oldBytes, byte[] newBytes) throws IOException{
+		Path oldFile = Files.write(directory.resolve("old"), oldBytes);
+		Path newFile = Files.write(directory.resolve("new"), newBytes);
+		Path patchFile = directory.resolve("patch");
+		Path outFile = directory.resolve("out");
+		BinaryDelta.createPatch(oldFile, newFile, patchFile);
+		BinaryDelta.applyPatch(oldFile, patchFile, outFile);
+		assertArrayEquals(newBytes, Files.readAllBytes(outFile));
+		return Files.readAllBytes(patchFile);
+	}
+	
+	private static byte[] randomBytes(Random random, int size){
+		byte[] bytes = new byte[size];
+		random.nextBytes(bytes);
+		return bytes;
+	}
+	
+	@Test
+	public void testRoundTrip() throws IOException{
+		Random random = new Random(42);
+		byte[] oldBytes = randomBytes(random, 100_000);
+		
+		// Some bytes changed, some inserted, some removed, and some moved around
+		byte[] newBytes = new byte[120_000];
+		System.arraycopy(oldBytes, 50_000, newBytes, 0, 30_000);
+		System.arraycopy(randomBytes(random, 20_000), 0, newBytes, 30_000, 20_000);
+		System.arraycopy(oldBytes, 0, newBytes, 50_000, 40_000);
+		newBytes[60_000] ^= 1;
+		System.arraycopy(oldBytes, 80_000, newBytes, 90_000, 20_000);
+		System.arraycopy(randomBytes(random, 10_000), 0, newBytes, 110_000, 10_000);
+		
+		byte[] patch = roundTrip(oldBytes, newBytes);
+		// Only the 30,000 new bytes (and a little bookkeeping) should be in the patch
+		assertTrue(patch.length < 31_000, "patch is " + patch.length + " bytes");
+	}
+	
+	@Test
+	public void testEdgeCases() throws IOException{
+		Random random = new Random(7);
+		byte[] some = randomBytes(random, 1000);
+		roundTrip(new byte[0], new byte[0]);
+		roundTrip(new byte[0], some);
+		roundTrip(some, new byte[0]);
+		roundTrip(some, some);
+		roundTrip(Arrays.copyOf(some, 10), Arrays.copyOf(some, 20));
+		roundTrip(new byte[10_000], new byte[20_000]);
+	}
+	
+	@Test
+	public void testPatchForOtherFile() throws IOException{
+		Random random = new Random(3);
+		Path oldFile = Files.write(directory.resolve("old"), randomBytes(random, 1000));
+		Path otherFile = Files.write(directory.resolve("other"), randomBytes(random, 999));
+		Path newFile = Files.write(directory.resolve("new"), randomBytes(random, 1000));
+		Path patchFile = directory.resolve("patch");
+		BinaryDelta.createPatch(oldFile, newFile, patchFile);
+		assertThrows(IOException.class,
+				() -> BinaryDelta.applyPatch(otherFile, patchFile, directory.resolve("out")));
+		assertThrows(IOException.class,
+				() -> BinaryDelta.applyPatch(oldFile, newFile, directory.resolve("out")));
+	}
+	
+	/**
+	 * Makes a jar full of classes with (somewhat compressible) random contents
+	 */
+	private static byte[] makeJar(int version, int classes, int changedClasses) throws IOException{
+		ByteArrayOutputStream jar = new ByteArrayOutputStream();
+		try(ZipOutputStream zip = new ZipOutputStream(jar)){
+			for(int i = 0; i < classes; i++){
+				ZipEntry entry = new ZipEntry("com/example/Class" + i + ".class");
+				entry.setTime(0);
+				zip.putNextEntry(entry);
+				Random random = new Random(i < changedClasses ? 1_000_000L * version + i:i);
+				byte[] contents = new byte[8000 + random.nextInt(8000)];
+				for(int j = 0; j < contents.length; j++){
+					contents[j] = (byte) ('a' + random.nextInt(16));
+				}
+				zip.write(contents);
+				zip.closeEntry();
+			}
+		}
+		return jar.toByteArray();
+	}
+	
+	@Test
+	public void testJarUpdateTraffic() throws IOException{
+		// A new version of a jar with 200 classes where 3 of them changed
+		byte[] oldJar = makeJar(1, 200, 0);
+		byte[] newJar = makeJar(2, 200, 3);
+		
+		byte[] patch = roundTrip(oldJar, newJar);
+		assertTrue(patch.length * 10 < newJar.length, "patch is " + patch.length + " bytes");
+	}
+}
@@ -0,0 +1,150 @@
+package com.github.tadukoo.launcher.downloader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DownloadJournalTest{
+	private Path directory;
+	private Path destination;
+	private Path journalPath;
+	
+	@BeforeEach
+	public void setup() throws IOException{
+		directory = Files.createTempDirectory("download-journal");
+		destination = directory.resolve("file.bin");
+		journalPath = DownloadJournal.journalPathFor(destination);
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		try(var files = Files.list(directory)){
+			for(Path file: files.toList()){
+				Files.delete(file);
+			}
+		}
+		Files.delete(directory);
+	}
+	
+	@Test
+	public void testJournalPathFor(){
+		assertEquals(directory.resolve("file.bin.journal"), journalPath);
+	}
+	
+	@Test
+	public void testMarkCompletedMergesRanges(){
+		DownloadJournal journal = new DownloadJournal(journalPath, 100, "\"v1\"", null);
+		journal.markCompleted(50, 60);
+		journal.markCompleted(0, 10);
+		journal.markCompleted(10, 20);
+		journal.markCompleted(55, 70);
+		assertEquals(40, journal.getCompletedBytes());
+		List<long[]> missing = journal.getMissingRanges();
+		assertEquals(2, missing.size());
+		assertArrayEquals(new long[]{20, 50}, missing.get(0));
+		assertArrayEquals(new long[]{70, 100}, missing.get(1));
+	}
+	
+	@Test
+	public void testSaveAndLoad() throws IOException{
+		DownloadJournal journal = new DownloadJournal(journalPath, 100, "\"v1\"", "Tue, 01 Jun 2021 00:00:00 GMT");
+		journal.markCompleted(0, 25);
+		journal.markCompleted(75, 100);
+		journal.save();
+		
+		DownloadJournal loaded = DownloadJournal.load(journalPath);
+		assertNotNull(loaded);
+		assertEquals(100, loaded.getTotalSize());
+		assertEquals("\"v1\"", loaded.getETag());
+		assertEquals("Tue, 01 Jun 2021 00:00:00 GMT", loaded.getLastModified());
+		assertEquals(50, loaded.getCompletedBytes());
+		assertTrue(loaded.matches(100, "\"v1\"", "Tue, 01 Jun 2021 00:00:00 GMT"));
+	}
+	
+	@Test
+	public void testLoadMissingOrBroken() throws IOException{
+		assertNull(DownloadJournal.load(journalPath));
+		Files.writeString(journalPath, "size=not a number");
+		assertNull(DownloadJournal.load(journalPath));
+	}
+	
+	@Test
+	public void testMatches(){
+		DownloadJournal journal = new DownloadJournal(journalPath, 100, "\"v1\"", null);
+		assertTrue(journal.matches(100, "\"v1\"", null));
+		assertFalse(journal.matches(101, "\"v1\"", null));
+		assertFalse(journal.matches(100, "\"v2\"", null));
+		// Without validators, we can't tell if the file changed
+		assertFalse(new DownloadJournal(journalPath, 100, null, null).matches(100, null, null));
+	}
+	
+	@Test
+	public void testResumeInterruptedDownload() throws IOException{
+		byte[] content = new byte[3 * 1024 * 1024];
+		new Random(7).nextBytes(content);
+		try(TestFileServer server = new TestFileServer(content, true, 0)){
+			server.setETag("\"v1\"");
+			server.setFailAfterBytes(400 * 1024);
+			ParallelFileDownloader downloader = ParallelFileDownloader.builder()
+					.url(server.getURL())
+					.destination(destination)
+					.segments(2)
+					.minSegmentSize(64 * 1024)
+					.resumable(true)
+					.build();
+			
+			// The first attempt gets cut off, leaving a journal behind
+			assertThrows(IOException.class, downloader::download);
+			DownloadJournal journal = DownloadJournal.load(journalPath);
+			assertNotNull(journal);
+			long completed = journal.getCompletedBytes();
+			assertTrue(completed > 0);
+			
+			// The second attempt only needs the missing bytes
+			server.setFailAfterBytes(-1);
+			long downloaded = downloader.download();
+			assertEquals(content.length - completed, downloaded);
+		}
+		assertArrayEquals(content, Files.readAllBytes(destination));
+		assertFalse(Files.exists(journalPath));
+	}
+	
+	@Test
+	public void testChangedFileRestartsDownload() throws IOException{
+		byte[] content = new byte[512 * 1024];
+		new Random(8).nextBytes(content);
+		
+		// Pretend half the file was downloaded for an older version
+		Files.write(destination, new byte[content.length]);
+		DownloadJournal oldJournal = new DownloadJournal(journalPath, content.length, "\"v1\"", null);
+		oldJournal.markCompleted(0, content.length/2);
+		oldJournal.save();
+		
+		try(TestFileServer server = new TestFileServer(content, true, 0)){
+			server.setETag("\"v2\"");
+			long downloaded = ParallelFileDownloader.builder()
+					.url(server.getURL())
+					.destination(destination)
+					.resumable(true)
+					.build()
+					.download();
+			assertEquals(content.length, downloaded);
+		}
+		assertArrayEquals(content, Files.readAllBytes(destination));
+		assertFalse(Files.exists(journalPath));
+	}
+}
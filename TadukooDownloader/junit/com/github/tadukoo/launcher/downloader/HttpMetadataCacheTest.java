@@ -0,0 +1,163 @@
+package com.github.tadukoo.launcher.downloader;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HttpMetadataCacheTest{
+	private HttpServer server;
+	private final AtomicInteger requestCount = new AtomicInteger();
+	private final AtomicInteger notModifiedCount = new AtomicInteger();
+	private volatile String body = "{\"tag_name\":\"v1\"}";
+	private volatile String eTag = "\"v1\"";
+	private volatile int errorCode = 0;
+	private URL url;
+	private Path cacheFolder;
+	
+	@BeforeEach
+	public void setup() throws IOException{
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/releases/latest", this::handle);
+		server.start();
+		url = new URL("http://localhost:" + server.getAddress().getPort() + "/releases/latest");
+		cacheFolder = Files.createTempDirectory("metadata-cache");
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		server.stop(0);
+		try(var files = Files.walk(cacheFolder)){
+			for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+				Files.delete(file);
+			}
+		}
+	}
+	
+	private void handle(HttpExchange exchange) throws IOException{
+		requestCount.incrementAndGet();
+		if(errorCode != 0){
+			exchange.sendResponseHeaders(errorCode, -1);
+		}else if(eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))){
+			notModifiedCount.incrementAndGet();
+			exchange.getResponseHeaders().add("ETag", eTag);
+			exchange.sendResponseHeaders(304, -1);
+		}else{
+			byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("ETag", eTag);
+			exchange.sendResponseHeaders(200, bytes.length);
+			try(OutputStream out = exchange.getResponseBody()){
+				out.write(bytes);
+			}
+		}
+		exchange.close();
+	}
+	
+	private HttpMetadataCache cache(Duration timeToLive){
+		return HttpMetadataCache.builder()
+				.cacheFolder(cacheFolder)
+				.timeToLive(timeToLive)
+				.build();
+	}
+	
+	private static String read(Path path) throws IOException{
+		return Files.readString(path, StandardCharsets.UTF_8);
+	}
+	
+	@Test
+	public void testBuilderDefaults(){
+		HttpMetadataCache cache = HttpMetadataCache.builder().cacheFolder(cacheFolder).build();
+		assertEquals(cacheFolder, cache.getCacheFolder());
+		assertEquals(HttpMetadataCache.DEFAULT_TIME_TO_LIVE, cache.getTimeToLive());
+	}
+	
+	@Test
+	public void testBuilderErrors(){
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> HttpMetadataCache.builder().timeToLive(Duration.ofSeconds(-1)).build());
+		assertEquals("The following errors happened in building an HttpMetadataCache: \n" +
+				"cacheFolder is required\ntimeToLive must not be null or negative", e.getMessage());
+	}
+	
+	@Test
+	public void testFreshEntrySkipsNetwork() throws IOException{
+		HttpMetadataCache cache = cache(Duration.ofHours(1));
+		assertEquals(body, read(cache.fetch(url)));
+		assertEquals(body, read(cache.fetch(url)));
+		assertEquals(body, read(cache.fetch(url)));
+		assertEquals(1, requestCount.get());
+	}
+	
+	@Test
+	public void testStaleEntryUsesConditionalRequest() throws IOException{
+		HttpMetadataCache cache = cache(Duration.ZERO);
+		assertEquals(body, read(cache.fetch(url)));
+		assertEquals(body, read(cache.fetch(url)));
+		assertEquals(2, requestCount.get());
+		assertEquals(1, notModifiedCount.get());
+	}
+	
+	@Test
+	public void testCachePersistsAcrossInstances() throws IOException{
+		cache(Duration.ZERO).fetch(url);
+		assertEquals(body, read(cache(Duration.ZERO).fetch(url)));
+		assertEquals(1, notModifiedCount.get());
+	}
+	
+	@Test
+	public void testChangedResponseIsStored() throws IOException{
+		HttpMetadataCache cache = cache(Duration.ZERO);
+		cache.fetch(url);
+		body = "{\"tag_name\":\"v2\"}";
+		eTag = "\"v2\"";
+		assertEquals("{\"tag_name\":\"v2\"}", read(cache.fetch(url)));
+		assertEquals(0, notModifiedCount.get());
+		assertEquals("{\"tag_name\":\"v2\"}", read(cache.fetch(url)));
+		assertEquals(1, notModifiedCount.get());
+	}
+	
+	@Test
+	public void testBrokenFetchedAtIsStale() throws IOException{
+		HttpMetadataCache cache = cache(Duration.ofHours(1));
+		cache.fetch(url);
+		try(var files = Files.list(cacheFolder)){
+			for(Path file: files.filter(file -> file.toString().endsWith(".properties")).toList()){
+				Files.writeString(file, read(file).replaceAll("fetched-at=\\d+", "fetched-at=garbage"),
+						StandardCharsets.UTF_8);
+			}
+		}
+		assertEquals(body, read(cache.fetch(url)));
+		assertEquals(2, requestCount.get());
+		assertEquals(1, notModifiedCount.get());
+	}
+	
+	@Test
+	public void testServerErrorUsesStaleEntry() throws IOException{
+		HttpMetadataCache cache = cache(Duration.ZERO);
+		cache.fetch(url);
+		errorCode = 403;
+		assertEquals(body, read(cache.fetch(url)));
+	}
+	
+	@Test
+	public void testServerErrorWithoutEntry(){
+		errorCode = 500;
+		assertThrows(IOException.class, () -> cache(Duration.ZERO).fetch(url));
+	}
+}
@@ -0,0 +1,258 @@
+package com.github.tadukoo.launcher.downloader;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpTransportTest{
+	private static final char[] PASSWORD = "changeit".toCharArray();
+	private static final byte[] BODY = "hello".getBytes(StandardCharsets.UTF_8);
+	
+	private Path directory;
+	private HttpsServer server;
+	private SSLContext clientContext;
+	private URI uri;
+	/** Each connection comes from its own client port, so the number of ports is the number of TLS handshakes */
+	private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+	
+	@BeforeEach
+	public void setup() throws Exception{
+		directory = Files.createTempDirectory("http-transport");
+		
+		// Self-signed certificate for localhost
+		Path keyStorePath = directory.resolve("server.p12");
+		Process keytool = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+				"-genkeypair", "-alias", "server", "-keyalg", "RSA", "-keysize", "2048", "-validity", "1",
+				"-dname", "CN=localhost", "-ext", "SAN=dns:localhost,ip:127.0.0.1",
+				"-storetype", "PKCS12", "-keystore", keyStorePath.toString(),
+				"-storepass", new String(PASSWORD), "-keypass", new String(PASSWORD))
+				.redirectErrorStream(true)
+				.start();
+		keytool.getInputStream().readAllBytes();
+		assertEquals(0, keytool.waitFor());
+		KeyStore keyStore = KeyStore.getInstance("PKCS12");
+		try(InputStream in = Files.newInputStream(keyStorePath)){
+			keyStore.load(in, PASSWORD);
+		}
+		
+		KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+		keyManagers.init(keyStore, PASSWORD);
+		SSLContext serverContext = SSLContext.getInstance("TLS");
+		serverContext.init(keyManagers.getKeyManagers(), null, null);
+		
+		KeyStore trustStore = KeyStore.getInstance("PKCS12");
+		trustStore.load(null, null);
+		trustStore.setCertificateEntry("server", keyStore.getCertificate("server"));
+		TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(
+				TrustManagerFactory.getDefaultAlgorithm());
+		trustManagers.init(trustStore);
+		clientContext = SSLContext.getInstance("TLS");
+		clientContext.init(null, trustManagers.getTrustManagers(), null);
+		
+		server = HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.setHttpsConfigurator(new HttpsConfigurator(serverContext));
+		server.createContext("/", this::handle);
+		server.start();
+		uri = URI.create("https://localhost:" + server.getAddress().getPort() + "/file");
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		server.stop(0);
+		try(var files = Files.walk(directory)){
+			for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+				Files.delete(file);
+			}
+		}
+	}
+	
+	private void handle(HttpExchange exchange) throws IOException{
+		clientPorts.add(exchange.getRemoteAddress().getPort());
+		exchange.getRequestBody().readAllBytes();
+		if(exchange.getRequestMethod().equals("HEAD")){
+			exchange.sendResponseHeaders(200, -1);
+		}else{
+			exchange.sendResponseHeaders(200, BODY.length);
+			try(OutputStream out = exchange.getResponseBody()){
+				out.write(BODY);
+			}
+		}
+		exchange.close();
+	}
+	
+	private HttpTransport newTransport(){
+		return HttpTransport.builder().sslContext(clientContext).build();
+	}
+	
+	@Test
+	public void testBuilderDefaults(){
+		HttpTransport transport = HttpTransport.builder().build();
+		assertEquals(HttpTransport.DEFAULT_CONNECT_TIMEOUT, transport.getConnectTimeout());
+		assertEquals(HttpTransport.DEFAULT_MAX_CONNECTIONS_PER_HOST, transport.getMaxConnectionsPerHost());
+		assertTrue(transport.isHttp2());
+		assertEquals(HttpClient.Version.HTTP_2, transport.getClient().version());
+	}
+	
+	@Test
+	public void testBuilderErrors(){
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> HttpTransport.builder().connectTimeout(Duration.ZERO).maxConnectionsPerHost(0).build());
+		assertEquals("""
+				The following errors happened in building an HttpTransport:\s
+				connectTimeout must be positive
+				maxConnectionsPerHost must be at least 1""", e.getMessage());
+	}
+	
+	@Test
+	public void testHandshakesSaved() throws Exception{
+		int requests = 10;
+		
+		// The old way: every fetch makes its own connection
+		for(int i = 0; i < requests; i++){
+			HttpClient oneOff = HttpClient.newBuilder().sslContext(clientContext).build();
+			HttpResponse<byte[]> response = oneOff.send(HttpRequest.newBuilder(uri).build(),
+					HttpResponse.BodyHandlers.ofByteArray());
+			assertEquals(200, response.statusCode());
+		}
+		int oneOffHandshakes = clientPorts.size();
+		
+		// Through the shared transport, they all reuse one connection
+		clientPorts.clear();
+		HttpTransport transport = newTransport();
+		for(int i = 0; i < requests; i++){
+			HttpResponse<byte[]> response = transport.send(transport.request(uri).build(),
+					HttpResponse.BodyHandlers.ofByteArray());
+			assertEquals(200, response.statusCode());
+			try(InputStream in = transport.sendStreaming(transport.request(uri).build()).body()){
+				assertEquals("hello", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+			}
+		}
+		int transportHandshakes = clientPorts.size();
+		
+		assertEquals(requests, oneOffHandshakes);
+		assertEquals(1, transportHandshakes);
+	}
+	
+	@Test
+	public void testPreconnect() throws Exception{
+		HttpTransport transport = newTransport();
+		transport.preconnect(uri).get(10, TimeUnit.SECONDS);
+		assertEquals(1, clientPorts.size());
+		
+		// The real request uses the connection that's already there
+		HttpResponse<byte[]> response = transport.send(transport.request(uri).build(),
+				HttpResponse.BodyHandlers.ofByteArray());
+		assertEquals("hello", new String(response.body(), StandardCharsets.UTF_8));
+		assertEquals(1, clientPorts.size());
+	}
+	
+	@Test
+	public void testPreconnectIgnoresFailures() throws Exception{
+		HttpTransport transport = newTransport();
+		// A host that hangs up on every connection
+		try(ServerSocket broken = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())){
+			Thread hangUp = new Thread(() -> {
+				while(!broken.isClosed()){
+					try{
+						broken.accept().close();
+					}catch(IOException ignored){
+					}
+				}
+			});
+			hangUp.setDaemon(true);
+			hangUp.start();
+			transport.preconnect(URI.create("http://localhost:" + broken.getLocalPort() + "/"), uri)
+					.get(10, TimeUnit.SECONDS);
+		}
+		assertEquals(1, clientPorts.size());
+	}
+	
+	@Test
+	public void testConnectionsPerHostLimited() throws Exception{
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		HttpServer slowServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		ExecutorService serverExecutor = Executors.newCachedThreadPool();
+		slowServer.setExecutor(serverExecutor);
+		slowServer.createContext("/", exchange -> {
+			maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+			try{
+				release.await(10, TimeUnit.SECONDS);
+			}catch(InterruptedException e){
+				Thread.currentThread().interrupt();
+			}
+			active.decrementAndGet();
+			exchange.sendResponseHeaders(200, BODY.length);
+			try(OutputStream out = exchange.getResponseBody()){
+				out.write(BODY);
+			}
+		});
+		slowServer.start();
+		ExecutorService clients = Executors.newFixedThreadPool(6);
+		try{
+			HttpTransport transport = HttpTransport.builder().maxConnectionsPerHost(2).http2(false).build();
+			URI slowURI = URI.create("http://localhost:" + slowServer.getAddress().getPort() + "/slow");
+			List<Future<String>> results = new ArrayList<>();
+			for(int i = 0; i < 6; i++){
+				results.add(clients.submit(() -> {
+					try(InputStream in = transport.sendStreaming(transport.request(slowURI).build()).body()){
+						return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+					}
+				}));
+			}
+			
+			// Only 2 of the requests get to the server while it's holding them up
+			Thread.sleep(500);
+			assertEquals(2, active.get());
+			release.countDown();
+			for(Future<String> result: results){
+				assertEquals("hello", result.get(10, TimeUnit.SECONDS));
+			}
+			assertEquals(2, maxActive.get());
+		}finally{
+			release.countDown();
+			clients.shutdownNow();
+			slowServer.stop(0);
+			serverExecutor.shutdownNow();
+		}
+	}
+}
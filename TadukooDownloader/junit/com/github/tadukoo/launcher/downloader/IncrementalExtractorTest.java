@@ -0,0 +1,169 @@
+package com.github.tadukoo.launcher.downloader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IncrementalExtractorTest{
+	private Path folder;
+	private IncrementalExtractor extractor;
+	
+	@BeforeEach
+	public void setup() throws IOException{
+		folder = Files.createTempDirectory("incremental-extractor");
+		extractor = new IncrementalExtractor(folder);
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		try(var files = Files.walk(folder)){
+			for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+				Files.delete(file);
+			}
+		}
+	}
+	
+	private static Map<String, String> entries(String... namesAndContents){
+		Map<String, String> entries = new LinkedHashMap<>();
+		for(int i = 0; i < namesAndContents.length; i += 2){
+			entries.put(namesAndContents[i], namesAndContents[i + 1]);
+		}
+		return entries;
+	}
+	
+	private IncrementalExtractor.IncrementalExtractorResult update(TestFileServer server, String tag)
+			throws IOException{
+		try(RemoteZip zip = new RemoteZip(server.getURL())){
+			return extractor.update(zip, tag);
+		}
+	}
+	
+	@Test
+	public void testFirstUpdateExtractsEverything() throws IOException{
+		assertNull(extractor.getReleaseTag());
+		assertFalse(extractor.isUpToDate("v1"));
+		try(TestFileServer server = new TestFileServer(TestZips.zip(entries(
+				"A.ttf", "font a", "sub/", "", "sub/B.ttf", "font b")), true, 0)){
+			IncrementalExtractor.IncrementalExtractorResult result = update(server, "v1");
+			assertEquals(2, result.getExtracted());
+			assertEquals(0, result.getUnchanged());
+			assertEquals(0, result.getRemoved());
+		}
+		assertEquals("font a", Files.readString(folder.resolve("A.ttf")));
+		assertEquals("font b", Files.readString(folder.resolve("sub/B.ttf")));
+		assertEquals("v1", extractor.getReleaseTag());
+		assertTrue(extractor.isUpToDate("v1"));
+		assertFalse(extractor.isUpToDate("v2"));
+	}
+	
+	@Test
+	public void testOnlyChangedEntriesDownloaded() throws IOException{
+		StringBuilder randomContent = new StringBuilder();
+		Random random = new Random(7);
+		for(int i = 0; i < 500000; i++){
+			randomContent.append((char) ('a' + random.nextInt(26)));
+		}
+		String unchangedContent = randomContent.toString();
+		try(TestFileServer server = new TestFileServer(TestZips.zip(entries(
+				"Big.ttf", unchangedContent, "Changed.ttf", "old", "Removed.ttf", "gone soon")), true, 0)){
+			update(server, "v1");
+			
+			server.setContent(TestZips.zip(entries(
+					"Big.ttf", unchangedContent, "Changed.ttf", "new", "Added.ttf", "added")));
+			long servedBefore = server.getBytesServed();
+			IncrementalExtractor.IncrementalExtractorResult result = update(server, "v2");
+			assertEquals(2, result.getExtracted());
+			assertEquals(1, result.getUnchanged());
+			assertEquals(1, result.getRemoved());
+			
+			// The big unchanged entry wasn't downloaded again
+			assertTrue(server.getBytesServed() - servedBefore < 100000);
+		}
+		assertEquals(unchangedContent, Files.readString(folder.resolve("Big.ttf")));
+		assertEquals("new", Files.readString(folder.resolve("Changed.ttf")));
+		assertEquals("added", Files.readString(folder.resolve("Added.ttf")));
+		assertFalse(Files.exists(folder.resolve("Removed.ttf")));
+		assertEquals("v2", extractor.getReleaseTag());
+	}
+	
+	@Test
+	public void testMissingFileExtractedAgain() throws IOException{
+		try(TestFileServer server = new TestFileServer(TestZips.zip(entries("A.ttf", "font a")), true, 0)){
+			update(server, "v1");
+			Files.delete(folder.resolve("A.ttf"));
+			IncrementalExtractor.IncrementalExtractorResult result = update(server, "v1");
+			assertEquals(1, result.getExtracted());
+		}
+		assertEquals("font a", Files.readString(folder.resolve("A.ttf")));
+	}
+	
+	@Test
+	public void testBadEntryName() throws IOException{
+		try(TestFileServer server = new TestFileServer(TestZips.zip(entries("../evil.ttf", "nope")), true, 0)){
+			assertThrows(IOException.class, () -> update(server, "v1"));
+		}
+		assertFalse(Files.exists(folder.resolveSibling("evil.ttf")));
+		assertNull(extractor.getReleaseTag());
+	}
+	
+	@Test
+	public void testStreamingUpdate() throws IOException{
+		List<String> extracted = new ArrayList<>();
+		IncrementalExtractor.IncrementalExtractorResult result = extractor.update(new ByteArrayInputStream(
+				TestZips.zip(entries("A.ttf", "font a", "sub/", "", "sub/B.ttf", "font b", "C.bin", "font c"))),
+				"v1", (name, file) -> extracted.add(name));
+		assertEquals(3, result.getExtracted());
+		assertEquals(List.of("A.ttf", "sub/B.ttf", "C.bin"), extracted);
+		assertEquals("font b", Files.readString(folder.resolve("sub/B.ttf")));
+		assertEquals("v1", extractor.getReleaseTag());
+		
+		// The manifest from streaming is good for the next incremental update
+		extracted.clear();
+		try(TestFileServer server = new TestFileServer(TestZips.zip(entries(
+				"A.ttf", "font a", "sub/B.ttf", "font b 2")), true, 0)){
+			try(RemoteZip zip = new RemoteZip(server.getURL())){
+				result = extractor.update(zip, "v2", (name, file) -> extracted.add(name));
+			}
+		}
+		assertEquals(1, result.getExtracted());
+		assertEquals(1, result.getUnchanged());
+		assertEquals(1, result.getRemoved());
+		assertEquals(List.of("sub/B.ttf"), extracted);
+		assertFalse(Files.exists(folder.resolve("C.bin")));
+	}
+	
+	@Test
+	public void testServerWithoutRanges() throws IOException{
+		try(TestFileServer server = new TestFileServer(TestZips.zip(entries(
+				"A.ttf", "font a", "B.ttf", "font b", "Removed.ttf", "gone")), false, 0)){
+			assertEquals(3, update(server, "v1").getExtracted());
+			
+			// The whole zip comes down either way, but only what changed is written
+			server.setContent(TestZips.zip(entries("A.ttf", "font a", "B.ttf", "font b 2")));
+			IncrementalExtractor.IncrementalExtractorResult result = update(server, "v2");
+			assertEquals(1, result.getExtracted());
+			assertEquals(1, result.getUnchanged());
+			assertEquals(1, result.getRemoved());
+		}
+		assertEquals("font b 2", Files.readString(folder.resolve("B.ttf")));
+		assertFalse(Files.exists(folder.resolve("Removed.ttf")));
+		assertEquals("v2", extractor.getReleaseTag());
+	}
+}
@@ -0,0 +1,267 @@
+package com.github.tadukoo.launcher.downloader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class MirrorDownloaderTest{
+	private byte[] content;
+	private MirrorHealth health;
+	private MirrorDownloader downloader;
+	private final List<Duration> delays = new ArrayList<>();
+	private final List<AutoCloseable> servers = new ArrayList<>();
+	
+	/**
+	 * A server that's broken: it either hangs up on every connection, or never answers
+	 */
+	private static class BrokenServer implements AutoCloseable{
+		private final ServerSocket serverSocket;
+		private final AtomicInteger connections = new AtomicInteger();
+		private final List<Socket> heldSockets = new ArrayList<>();
+		
+		private BrokenServer(boolean hang) throws IOException{
+			serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+			Thread thread = new Thread(() -> {
+				while(!serverSocket.isClosed()){
+					try{
+						Socket socket = serverSocket.accept();
+						connections.incrementAndGet();
+						if(hang){
+							synchronized(heldSockets){
+								heldSockets.add(socket);
+							}
+						}else{
+							socket.close();
+						}
+					}catch(IOException ignored){
+					}
+				}
+			});
+			thread.setDaemon(true);
+			thread.start();
+		}
+		
+		private URI getURI(){
+			return URI.create("http://localhost:" + serverSocket.getLocalPort() + "/file");
+		}
+		
+		@Override
+		public void close() throws IOException{
+			serverSocket.close();
+			synchronized(heldSockets){
+				for(Socket socket: heldSockets){
+					socket.close();
+				}
+			}
+		}
+	}
+	
+	@BeforeEach
+	public void setup(){
+		content = new byte[300_000];
+		new Random(5).nextBytes(content);
+		health = MirrorHealth.builder().failureThreshold(2).build();
+		downloader = MirrorDownloader.builder()
+				.health(health)
+				.retryPolicy(RetryPolicy.builder()
+						.maxAttempts(2)
+						.baseDelay(Duration.ofMillis(10))
+						.maxDelay(Duration.ofMillis(20))
+						.sleeper(delays::add)
+						.build())
+				.responseTimeout(Duration.ofMillis(500))
+				.build();
+	}
+	
+	@AfterEach
+	public void tearDown() throws Exception{
+		for(AutoCloseable server: servers){
+			server.close();
+		}
+	}
+	
+	private TestFileServer server(boolean supportsRanges) throws IOException{
+		TestFileServer server = new TestFileServer(content, supportsRanges, 0);
+		servers.add(server);
+		return server;
+	}
+	
+	private BrokenServer brokenServer(boolean hang) throws IOException{
+		BrokenServer server = new BrokenServer(hang);
+		servers.add(server);
+		return server;
+	}
+	
+	private static URI uri(TestFileServer server) throws Exception{
+		return server.getURL().toURI();
+	}
+	
+	private byte[] download(URI... mirrors) throws IOException{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertEquals(content.length, downloader.download(List.of(mirrors), out));
+		return out.toByteArray();
+	}
+	
+	@Test
+	public void testBuilderDefaults(){
+		MirrorDownloader defaults = MirrorDownloader.builder().build();
+		assertEquals(HttpTransport.shared(), defaults.getTransport());
+		assertEquals(MirrorHealth.shared(), defaults.getHealth());
+		assertEquals(RetryPolicy.DEFAULT_MAX_ATTEMPTS, defaults.getRetryPolicy().getMaxAttempts());
+		assertEquals(MirrorDownloader.DEFAULT_RESPONSE_TIMEOUT, defaults.getResponseTimeout());
+	}
+	
+	@Test
+	public void testBuilderErrors(){
+		try{
+			MirrorDownloader.builder().transport(null).health(null).retryPolicy(null).responseTimeout(Duration.ZERO)
+					.build();
+			fail();
+		}catch(IllegalArgumentException e){
+			assertEquals("""
+							The following errors happened in building a MirrorDownloader:\s
+							transport is required
+							health is required
+							retryPolicy is required
+							responseTimeout must be positive""",
+					e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testNoMirrors(){
+		assertThrows(IOException.class, () -> downloader.download(List.of(), new ByteArrayOutputStream()));
+	}
+	
+	@Test
+	public void testFirstMirrorUsed() throws Exception{
+		TestFileServer first = server(true);
+		TestFileServer second = server(true);
+		assertArrayEquals(content, download(uri(first), uri(second)));
+		assertEquals(1, first.getRequestCount());
+		assertEquals(0, second.getRequestCount());
+	}
+	
+	@Test
+	public void testDeadMirror() throws Exception{
+		BrokenServer dead = brokenServer(false);
+		TestFileServer good = server(true);
+		assertArrayEquals(content, download(dead.getURI(), uri(good)));
+		assertEquals(1, health.getFailures(dead.getURI()));
+		assertEquals(0, health.getFailures(uri(good)));
+	}
+	
+	@Test
+	public void testSlowMirror() throws Exception{
+		// A mirror that never answers is given up on after the response timeout, and the next one is tried
+		// right away instead of backing off and retrying
+		BrokenServer slow = brokenServer(true);
+		TestFileServer good = server(true);
+		assertArrayEquals(content, download(slow.getURI(), uri(good)));
+		assertEquals(1, health.getFailures(slow.getURI()));
+		assertEquals(1, good.getRequestCount());
+		assertEquals(List.of(), delays);
+	}
+	
+	@Test
+	public void testMidTransferFailover() throws Exception{
+		TestFileServer flaky = server(true);
+		flaky.setFailAfterBytes(100_000);
+		TestFileServer good = server(true);
+		assertArrayEquals(content, download(uri(flaky), uri(good)));
+		
+		// The second mirror only sent what didn't make it from the first one (some of what the first one sent can
+		// be lost when its connection drops)
+		assertTrue(good.getBytesServed() < content.length, "sent " + good.getBytesServed());
+		assertTrue(good.getBytesServed() >= content.length - flaky.getBytesServed());
+	}
+	
+	@Test
+	public void testMidTransferFailoverWithoutRanges() throws Exception{
+		TestFileServer flaky = server(true);
+		flaky.setFailAfterBytes(100_000);
+		TestFileServer noRanges = server(false);
+		assertArrayEquals(content, download(uri(flaky), uri(noRanges)));
+	}
+	
+	@Test
+	public void testCircuitBreaker() throws Exception{
+		BrokenServer dead = brokenServer(false);
+		TestFileServer good = server(true);
+		download(dead.getURI(), uri(good));
+		download(dead.getURI(), uri(good));
+		assertEquals(2, health.getFailures(dead.getURI()));
+		assertFalse(health.isAvailable(dead.getURI()));
+		
+		// Its circuit is open, so it's not tried while the good mirror works
+		int connections = dead.connections.get();
+		download(dead.getURI(), uri(good));
+		assertEquals(connections, dead.connections.get());
+	}
+	
+	@Test
+	public void testEveryMirrorFails() throws Exception{
+		BrokenServer dead = brokenServer(false);
+		BrokenServer alsoDead = brokenServer(false);
+		IOException e = assertThrows(IOException.class,
+				() -> downloader.download(List.of(dead.getURI(), alsoDead.getURI()), new ByteArrayOutputStream()));
+		
+		// Both mirrors were tried in both attempts
+		assertEquals(2, health.getFailures(dead.getURI()));
+		assertEquals(2, health.getFailures(alsoDead.getURI()));
+		assertEquals(2 + 1, e.getSuppressed().length);
+		
+		// It backed off once, between the two attempts
+		assertEquals(1, delays.size());
+		assertTrue(delays.get(0).compareTo(Duration.ofMillis(5)) >= 0 &&
+				delays.get(0).compareTo(Duration.ofMillis(10)) <= 0, "delay was " + delays.get(0));
+	}
+	
+	@Test
+	public void testMissingEverywhere() throws Exception{
+		TestFileServer first = server(true);
+		TestFileServer second = server(true);
+		URI firstMissing = uri(first).resolve("/missing");
+		URI secondMissing = uri(second).resolve("/missing");
+		assertThrows(FileNotFoundException.class,
+				() -> downloader.download(List.of(firstMissing, secondMissing), new ByteArrayOutputStream()));
+		
+		// A missing file isn't tried again, and isn't held against the mirrors
+		assertEquals(0, health.getFailures(firstMissing));
+		assertEquals(0, health.getFailures(secondMissing));
+	}
+	
+	@Test
+	public void testFileLocations() throws IOException{
+		Path folder = Files.createTempDirectory("mirror-downloader");
+		try{
+			Path file = Files.write(folder.resolve("file"), content);
+			assertArrayEquals(content, download(folder.resolve("missing").toUri(), file.toUri()));
+		}finally{
+			Files.deleteIfExists(folder.resolve("file"));
+			Files.delete(folder);
+		}
+	}
+}
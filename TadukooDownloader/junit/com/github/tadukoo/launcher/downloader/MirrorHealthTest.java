@@ -0,0 +1,98 @@
+package com.github.tadukoo.launcher.downloader;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class MirrorHealthTest{
+	private static final URI first = URI.create("https://first.example.com/files/Program.jar");
+	private static final URI firstOtherFile = URI.create("HTTPS://First.Example.com/other/Library.jar");
+	private static final URI second = URI.create("https://second.example.com/Program.jar");
+	private static final URI third = URI.create("https://third.example.com/Program.jar");
+	
+	private final MirrorHealth health = MirrorHealth.builder().failureThreshold(2).build();
+	
+	@Test
+	public void testBuilderDefaults(){
+		MirrorHealth defaults = MirrorHealth.builder().build();
+		assertEquals(MirrorHealth.DEFAULT_FAILURE_THRESHOLD, defaults.getFailureThreshold());
+		assertEquals(MirrorHealth.DEFAULT_OPEN_DURATION, defaults.getOpenDuration());
+	}
+	
+	@Test
+	public void testBuilderErrors(){
+		try{
+			MirrorHealth.builder().failureThreshold(0).openDuration(Duration.ZERO).build();
+			fail();
+		}catch(IllegalArgumentException e){
+			assertEquals("""
+							The following errors happened in building a MirrorHealth:\s
+							failureThreshold must be at least 1
+							openDuration must be positive""",
+					e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testCircuitOpens(){
+		assertTrue(health.isAvailable(first));
+		health.recordFailure(first);
+		assertEquals(1, health.getFailures(first));
+		assertTrue(health.isAvailable(first));
+		
+		health.recordFailure(first);
+		assertEquals(2, health.getFailures(first));
+		assertFalse(health.isAvailable(first));
+		
+		// Other hosts aren't affected
+		assertTrue(health.isAvailable(second));
+	}
+	
+	@Test
+	public void testSharedByHost(){
+		health.recordFailure(first);
+		health.recordFailure(firstOtherFile);
+		assertFalse(health.isAvailable(first));
+		assertFalse(health.isAvailable(firstOtherFile));
+	}
+	
+	@Test
+	public void testSuccessClosesCircuit(){
+		health.recordFailure(first);
+		health.recordFailure(first);
+		health.recordSuccess(first);
+		assertTrue(health.isAvailable(first));
+		assertEquals(0, health.getFailures(first));
+	}
+	
+	@Test
+	public void testTrialAfterOpenDuration() throws InterruptedException{
+		MirrorHealth quick = MirrorHealth.builder().failureThreshold(1).openDuration(Duration.ofMillis(50)).build();
+		quick.recordFailure(first);
+		assertFalse(quick.isAvailable(first));
+		Thread.sleep(100);
+		assertTrue(quick.isAvailable(first));
+		
+		// Failing the trial opens it again right away
+		quick.recordFailure(first);
+		assertFalse(quick.isAvailable(first));
+	}
+	
+	@Test
+	public void testOrder(){
+		assertEquals(List.of(first, second, third), health.order(List.of(first, second, third)));
+		
+		health.recordFailure(first);
+		health.recordFailure(first);
+		health.recordFailure(second);
+		health.recordFailure(second);
+		assertEquals(List.of(third, first, second), health.order(List.of(first, second, third)));
+	}
+}
@@ -0,0 +1,40 @@
+package com.github.tadukoo.launcher.downloader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Compares downloading a file in a single stream against downloading it in parallel segments, from a local server
+ * that caps each connection at 1 MB/s (like a mirror that throttles per TCP connection). It's run by hand, not as
+ * part of the tests, since timings depend on the machine.
+ */
+public class ParallelFileDownloaderBenchmark{
+	
+	private static long time(TestFileServer server, Path destination, int segments) throws IOException{
+		long start = System.nanoTime();
+		ParallelFileDownloader.builder()
+				.url(server.getURL())
+				.destination(destination)
+				.segments(segments)
+				.minSegmentSize(16 * 1024)
+				.build()
+				.download();
+		return (System.nanoTime() - start) / 1_000_000;
+	}
+	
+	public static void main(String[] args) throws IOException{
+		byte[] content = new byte[4 * 1024 * 1024];
+		new Random(42).nextBytes(content);
+		Path destination = Files.createTempFile("parallel-download-benchmark", ".bin");
+		try(TestFileServer server = new TestFileServer(content, true, 1024 * 1024)){
+			for(int segments: new int[]{1, 2, 4, 8}){
+				System.out.println("Downloading 4 MB in " + segments + " segment(s) took " +
+						time(server, destination, segments) + " ms");
+			}
+		}finally{
+			Files.deleteIfExists(destination);
+		}
+	}
+}
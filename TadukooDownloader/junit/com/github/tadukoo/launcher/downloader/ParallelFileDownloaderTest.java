@@ -0,0 +1,133 @@
+package com.github.tadukoo.launcher.downloader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParallelFileDownloaderTest{
+	private byte[] content;
+	private Path destination;
+	
+	@BeforeEach
+	public void setup() throws IOException{
+		content = new byte[512 * 1024];
+		new Random(42).nextBytes(content);
+		destination = Files.createTempFile("parallel-download", ".bin");
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		Files.deleteIfExists(destination);
+	}
+	
+	private long download(TestFileServer server, int segments, AtomicLong lastReadSoFar) throws IOException{
+		return ParallelFileDownloader.builder()
+				.url(server.getURL())
+				.destination(destination)
+				.segments(segments)
+				.minSegmentSize(16 * 1024)
+				.progressListener((progress, readSoFar, expectedSize) ->
+						lastReadSoFar.accumulateAndGet(readSoFar, Math::max))
+				.build()
+				.download();
+	}
+	
+	@Test
+	public void testBuilderDefaults() throws IOException{
+		ParallelFileDownloader downloader = ParallelFileDownloader.builder()
+				.url(new URL("http://localhost/file"))
+				.destination(destination)
+				.build();
+		assertEquals(ParallelFileDownloader.DEFAULT_SEGMENTS, downloader.getSegments());
+		assertEquals(ParallelFileDownloader.DEFAULT_MIN_SEGMENT_SIZE, downloader.getMinSegmentSize());
+	}
+	
+	@Test
+	public void testBuilderErrors(){
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> ParallelFileDownloader.builder().segments(0).build());
+		assertEquals("The following errors happened in building a ParallelFileDownloader: \n" +
+				"url is required\ndestination is required\nsegments must be at least 1", e.getMessage());
+	}
+	
+	@Test
+	public void testParallelDownload() throws IOException{
+		AtomicLong lastReadSoFar = new AtomicLong();
+		try(TestFileServer server = new TestFileServer(content, true, 0)){
+			assertEquals(content.length, download(server, 4, lastReadSoFar));
+			// 1 probe + 4 segments
+			assertEquals(5, server.getRequestCount());
+		}
+		assertArrayEquals(content, Files.readAllBytes(destination));
+		assertEquals(content.length, lastReadSoFar.get());
+	}
+	
+	@Test
+	public void testFallbackToSingleStream() throws IOException{
+		AtomicLong lastReadSoFar = new AtomicLong();
+		try(TestFileServer server = new TestFileServer(content, false, 0)){
+			assertEquals(content.length, download(server, 4, lastReadSoFar));
+			// The probe response is used as the download
+			assertEquals(1, server.getRequestCount());
+		}
+		assertArrayEquals(content, Files.readAllBytes(destination));
+		assertEquals(content.length, lastReadSoFar.get());
+	}
+	
+	@Test
+	public void testSegmentRanges() throws IOException{
+		AtomicLong lastReadSoFar = new AtomicLong();
+		try(TestFileServer server = new TestFileServer(content, true, 0)){
+			download(server, 8, lastReadSoFar);
+			
+			// The probe asks for a single byte, then each segment asks for its own eighth of the file
+			List<String> ranges = server.getRanges();
+			assertEquals(9, ranges.size());
+			assertEquals("bytes=0-0", ranges.get(0));
+			List<String> expected = new ArrayList<>();
+			int segmentSize = content.length / 8;
+			for(int start = 0; start < content.length; start += segmentSize){
+				expected.add("bytes=" + start + "-" + (start + segmentSize - 1));
+			}
+			List<String> segments = new ArrayList<>(ranges.subList(1, ranges.size()));
+			segments.sort(Comparator.comparingInt(range -> Integer.parseInt(range.substring(6, range.indexOf('-')))));
+			assertEquals(expected, segments);
+			
+			// Every byte of the file was only fetched once
+			assertEquals(1 + content.length, server.getBytesServed());
+		}
+		assertArrayEquals(content, Files.readAllBytes(destination));
+		assertEquals(content.length, lastReadSoFar.get());
+	}
+	
+	@Test
+	public void testSmallFileUsesFewerSegments() throws IOException{
+		// 512 KB with a minimum segment size of 256 KB only makes 2 segments, even though 8 are allowed
+		try(TestFileServer server = new TestFileServer(content, true, 0)){
+			ParallelFileDownloader.builder()
+					.url(server.getURL())
+					.destination(destination)
+					.segments(8)
+					.minSegmentSize(256 * 1024)
+					.build()
+					.download();
+			assertEquals(List.of("bytes=0-0", "bytes=0-262143", "bytes=262144-524287"),
+					server.getRanges().stream().sorted().toList());
+		}
+		assertArrayEquals(content, Files.readAllBytes(destination));
+	}
+}
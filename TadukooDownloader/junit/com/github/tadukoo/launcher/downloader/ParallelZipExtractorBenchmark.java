@@ -0,0 +1,64 @@
+package com.github.tadukoo.launcher.downloader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+
+/**
+ * Compares extracting a zip through stream copies, one entry at a time, against the {@link ParallelZipExtractor}
+ * (both forced to go parallel, and with its default fallback to going one entry at a time for small zips), on a
+ * zip of many small files and on one of a few huge files. It's run by hand, not as part of the tests, since
+ * timings depend on the machine.
+ */
+public class ParallelZipExtractorBenchmark{
+	
+	private static long time(ParallelZipExtractor extractor, Path zipFile) throws IOException{
+		long start = System.nanoTime();
+		extractor.extract(zipFile);
+		return (System.nanoTime() - start) / 1_000_000;
+	}
+	
+	private static void delete(Path folder) throws IOException{
+		if(Files.exists(folder)){
+			try(var files = Files.walk(folder)){
+				for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+					Files.delete(file);
+				}
+			}
+		}
+	}
+	
+	private static void benchmark(String description, Path zipFile, Path folder) throws IOException{
+		long start = System.nanoTime();
+		TestZips.extractSequentially(zipFile, folder);
+		long streamMillis = (System.nanoTime() - start) / 1_000_000;
+		delete(folder);
+		
+		ParallelZipExtractor parallel = ParallelZipExtractor.builder().folder(folder).minParallelSize(0).build();
+		long parallelMillis = time(parallel, zipFile);
+		long unchangedMillis = time(parallel, zipFile);
+		delete(folder);
+		
+		long defaultMillis = time(ParallelZipExtractor.builder().folder(folder).build(), zipFile);
+		delete(folder);
+		
+		System.out.println("Extracting " + description + " (" + Runtime.getRuntime().availableProcessors() +
+				" processors): stream copies took " + streamMillis + " ms, parallel took " + parallelMillis +
+				" ms (" + unchangedMillis + " ms when it was all unchanged), and the default took " + defaultMillis +
+				" ms");
+	}
+	
+	public static void main(String[] args) throws IOException{
+		Path directory = Files.createTempDirectory("parallel-zip-benchmark");
+		try{
+			Path folder = directory.resolve("out");
+			benchmark("3,000 small files", TestZips.writeRandomZip(directory.resolve("small.zip"), 3000, 500, 4000),
+					folder);
+			benchmark("4 huge files", TestZips.writeRandomZip(directory.resolve("huge.zip"), 4, 8_000_000,
+					12_000_000), folder);
+		}finally{
+			delete(directory);
+		}
+	}
+}
@@ -0,0 +1,293 @@
+package com.github.tadukoo.launcher.downloader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class ParallelZipExtractorTest{
+	private Path directory;
+	private Path folder;
+	
+	@BeforeEach
+	public void setup() throws IOException{
+		directory = Files.createTempDirectory("parallel-zip-extractor");
+		folder = directory.resolve("out");
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		try(var files = Files.walk(directory)){
+			for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+				Files.delete(file);
+			}
+		}
+	}
+	
+	private ParallelZipExtractor extractor(){
+		return ParallelZipExtractor.builder().folder(folder).build();
+	}
+	
+	private Path writeZip(Map<String, String> entries) throws IOException{
+		return Files.write(directory.resolve("test.zip"), TestZips.zip(entries));
+	}
+	
+	private Path writeZip(String name, int files, int minSize, int maxSize) throws IOException{
+		return TestZips.writeRandomZip(directory.resolve(name), files, minSize, maxSize);
+	}
+	
+	/**
+	 * Extracts the zip with the given extractor, and returns the threads the entries were extracted on
+	 */
+	private static Set<Thread> extractorThreads(ParallelZipExtractor.ParallelZipExtractorBuilder builder, Path zipFile)
+			throws IOException{
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		builder.listener((name, file) -> threads.add(Thread.currentThread())).build().extract(zipFile);
+		return threads;
+	}
+	
+	private static void assertSameFiles(Path expected, Path actual) throws IOException{
+		List<Path> expectedFiles;
+		try(var files = Files.walk(expected)){
+			expectedFiles = files.filter(Files::isRegularFile).map(expected::relativize).sorted().toList();
+		}
+		try(var files = Files.walk(actual)){
+			assertEquals(expectedFiles,
+					files.filter(Files::isRegularFile).map(actual::relativize).sorted().toList());
+		}
+		for(Path file: expectedFiles){
+			assertArrayEquals(Files.readAllBytes(expected.resolve(file)), Files.readAllBytes(actual.resolve(file)));
+		}
+	}
+	
+	@Test
+	public void testBuilderDefaults(){
+		ParallelZipExtractor extractor = extractor();
+		assertEquals(folder.toAbsolutePath(), extractor.getFolder());
+		assertEquals(Runtime.getRuntime().availableProcessors(), extractor.getParallelism());
+		assertEquals(ParallelZipExtractor.DEFAULT_MIN_PARALLEL_SIZE, extractor.getMinParallelSize());
+		assertTrue(extractor.isSkipUnchanged());
+	}
+	
+	@Test
+	public void testBuilderErrors(){
+		try{
+			ParallelZipExtractor.builder().parallelism(0).minParallelSize(-1).reservedFiles(null).build();
+			fail();
+		}catch(IllegalArgumentException e){
+			assertEquals("""
+							The following errors happened in building a ParallelZipExtractor:\s
+							folder is required
+							parallelism must be at least 1
+							minParallelSize can't be negative
+							reservedFiles is required""",
+					e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testExtract() throws IOException{
+		Map<String, String> entries = new LinkedHashMap<>();
+		entries.put("A.ttf", "font a");
+		entries.put("sub/", "");
+		entries.put("sub/B.bin", "font b");
+		entries.put("sub/deeper/C.ttf", "font c".repeat(10_000));
+		entries.put("Empty.ttf", "");
+		List<String> extracted = Collections.synchronizedList(new ArrayList<>());
+		ParallelZipExtractor.ParallelZipExtractorResult result = ParallelZipExtractor.builder()
+				.folder(folder)
+				.listener((name, file) -> extracted.add(name))
+				.build()
+				.extract(writeZip(entries));
+		
+		assertEquals(4, result.getExtracted());
+		assertEquals(0, result.getUnchanged());
+		assertEquals(6 + 6 + 60_000, result.getBytesWritten());
+		assertEquals(List.of("A.ttf", "sub/B.bin", "sub/deeper/C.ttf", "Empty.ttf"),
+				result.getEntries().stream().map(ZipEntry::getName).toList());
+		CRC32 crc = new CRC32();
+		crc.update("font a".getBytes());
+		assertEquals(crc.getValue(), result.getEntries().get(0).getCrc());
+		assertEquals(4, extracted.size());
+		
+		assertEquals("font a", Files.readString(folder.resolve("A.ttf")));
+		assertEquals("font b", Files.readString(folder.resolve("sub/B.bin")));
+		assertEquals("font c".repeat(10_000), Files.readString(folder.resolve("sub/deeper/C.ttf")));
+		assertEquals("", Files.readString(folder.resolve("Empty.ttf")));
+	}
+	
+	@Test
+	public void testSkipsUnchanged() throws IOException{
+		Path zipFile = writeZip(Map.of("A.ttf", "font a", "B.ttf", "font b", "C.ttf", "font c"));
+		extractor().extract(zipFile);
+		
+		// Nothing changed, so nothing is written
+		ParallelZipExtractor.ParallelZipExtractorResult result = extractor().extract(zipFile);
+		assertEquals(0, result.getExtracted());
+		assertEquals(3, result.getUnchanged());
+		assertEquals(0, result.getBytesWritten());
+		
+		// A file with the same size but different contents, and a missing file, are extracted again
+		Files.writeString(folder.resolve("A.ttf"), "font x");
+		Files.delete(folder.resolve("B.ttf"));
+		result = extractor().extract(zipFile);
+		assertEquals(2, result.getExtracted());
+		assertEquals(1, result.getUnchanged());
+		assertEquals("font a", Files.readString(folder.resolve("A.ttf")));
+		assertEquals("font b", Files.readString(folder.resolve("B.ttf")));
+		
+		// Everything is written again when skipping is turned off
+		result = ParallelZipExtractor.builder().folder(folder).skipUnchanged(false).build().extract(zipFile);
+		assertEquals(3, result.getExtracted());
+	}
+	
+	@Test
+	public void testBadEntryName() throws IOException{
+		Map<String, String> entries = new LinkedHashMap<>();
+		entries.put("A.ttf", "font a");
+		entries.put("../evil.ttf", "evil");
+		Path zipFile = writeZip(entries);
+		IOException e = assertThrows(IOException.class, () -> extractor().extract(zipFile));
+		assertEquals("Bad entry name: ../evil.ttf", e.getMessage());
+		
+		// Names are all checked first, so nothing was extracted
+		assertFalse(Files.exists(directory.resolve("evil.ttf")));
+		assertFalse(Files.exists(folder.resolve("A.ttf")));
+	}
+	
+	@Test
+	public void testReservedFile() throws IOException{
+		Path manifest = Files.writeString(Files.createDirectories(folder).resolve("manifest.properties"), "x=y");
+		Path zipFile = writeZip(Map.of("manifest.properties", "replaced"));
+		assertThrows(IOException.class, () -> ParallelZipExtractor.builder()
+				.folder(folder)
+				.reservedFiles(List.of(manifest))
+				.build()
+				.extract(zipFile));
+		assertEquals("x=y", Files.readString(manifest));
+	}
+	
+	@Test
+	public void testCorruptEntry() throws IOException{
+		Path zipFile = writeZip(Map.of("A.bin", "stored font a"));
+		byte[] bytes = Files.readAllBytes(zipFile);
+		// The stored contents start right after the 30 byte local header and the 5 byte name
+		bytes[35] ^= 1;
+		Files.write(zipFile, bytes);
+		assertThrows(ZipException.class, () -> extractor().extract(zipFile));
+		try(var files = Files.list(folder)){
+			assertEquals(0, files.count());
+		}
+	}
+	
+	@Test
+	public void testCorruptEntryInParallel() throws IOException{
+		Map<String, String> entries = new LinkedHashMap<>();
+		entries.put("A.bin", "stored font a");
+		entries.put("B.bin", "stored font b");
+		Path zipFile = writeZip(entries);
+		byte[] bytes = Files.readAllBytes(zipFile);
+		bytes[35] ^= 1;
+		Files.write(zipFile, bytes);
+		
+		// The failure comes out of the pool as the original exception
+		assertThrows(ZipException.class, () -> ParallelZipExtractor.builder()
+				.folder(folder)
+				.parallelism(2)
+				.minParallelSize(0)
+				.build()
+				.extract(zipFile));
+		assertFalse(Files.exists(folder.resolve("A.bin")));
+	}
+	
+	@Test
+	public void testNotAZip() throws IOException{
+		Path notAZip = Files.writeString(directory.resolve("not.zip"), "Not a zip");
+		assertThrows(ZipException.class, () -> extractor().extract(notAZip));
+	}
+	
+	@Test
+	public void testSmallZipExtractedSequentially() throws IOException{
+		// Well under the min parallel size, so it's not worth starting a pool for
+		Path zipFile = writeZip("small.zip", 300, 500, 4000);
+		Set<Thread> threads = extractorThreads(ParallelZipExtractor.builder().folder(folder).parallelism(4), zipFile);
+		assertEquals(Set.of(Thread.currentThread()), threads);
+		
+		Path sequentialFolder = directory.resolve("sequential");
+		TestZips.extractSequentially(zipFile, sequentialFolder);
+		assertSameFiles(sequentialFolder, folder);
+	}
+	
+	@Test
+	public void testOneThreadExtractsSequentially() throws IOException{
+		Path zipFile = writeZip("small.zip", 20, 500, 4000);
+		Set<Thread> threads = extractorThreads(ParallelZipExtractor.builder()
+				.folder(folder)
+				.parallelism(1)
+				.minParallelSize(0), zipFile);
+		assertEquals(Set.of(Thread.currentThread()), threads);
+	}
+	
+	@Test
+	public void testBigZipExtractedInParallel() throws IOException{
+		Path zipFile = writeZip("big.zip", 20, 500, 4000);
+		Set<Thread> threads = extractorThreads(ParallelZipExtractor.builder()
+				.folder(folder)
+				.parallelism(2)
+				.minParallelSize(20 * 500), zipFile);
+		assertFalse(threads.isEmpty());
+		assertFalse(threads.contains(Thread.currentThread()));
+		
+		Path sequentialFolder = directory.resolve("sequential");
+		TestZips.extractSequentially(zipFile, sequentialFolder);
+		assertSameFiles(sequentialFolder, folder);
+	}
+	
+	@Test
+	public void testExtractSequentiallyAgain() throws IOException{
+		Path zipFile = writeZip("small.zip", 20, 500, 4000);
+		ParallelZipExtractor.ParallelZipExtractorResult result = extractor().extract(zipFile);
+		assertEquals(20, result.getExtracted());
+		
+		// The sequential path skips unchanged files too
+		ParallelZipExtractor.ParallelZipExtractorResult again = extractor().extract(zipFile);
+		assertEquals(0, again.getExtracted());
+		assertEquals(20, again.getUnchanged());
+		assertEquals(0, again.getBytesWritten());
+	}
+	
+	@Test
+	public void testExtractedMatchesZipInputStream() throws IOException{
+		// Make sure we read the same bytes out of a zip as ZipInputStream does
+		Path zipFile = writeZip("mixed.zip", 50, 0, 100_000);
+		extractor().extract(zipFile);
+		try(ZipInputStream zip = new ZipInputStream(Files.newInputStream(zipFile))){
+			ZipEntry entry;
+			while((entry = zip.getNextEntry()) != null){
+				assertArrayEquals(zip.readAllBytes(), Files.readAllBytes(folder.resolve(entry.getName())));
+			}
+		}
+	}
+}
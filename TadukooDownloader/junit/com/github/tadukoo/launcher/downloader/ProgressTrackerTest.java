@@ -0,0 +1,178 @@
+package com.github.tadukoo.launcher.downloader;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProgressTrackerTest{
+	private static final long SECOND = 1_000_000_000L;
+	
+	private final List<ProgressSnapshot> shown = new CopyOnWriteArrayList<>();
+	
+	@Test
+	public void testBuilderDefaults(){
+		ProgressTracker tracker = ProgressTracker.builder()
+				.view(shown::add)
+				.build();
+		assertEquals(ProgressTracker.DEFAULT_FRAME_RATE, tracker.getFrameRate());
+		assertEquals(ProgressTracker.DEFAULT_RATE_WINDOW, tracker.getRateWindow());
+		assertFalse(tracker.isRunning());
+	}
+	
+	@Test
+	public void testBuilderErrors(){
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> ProgressTracker.builder().frameRate(0).rateWindow(Duration.ZERO).build());
+		assertEquals("""
+				The following errors happened in building a ProgressTracker:\s
+				view is required
+				frameRate must be between 1 and 1000
+				rateWindow must be positive""", e.getMessage());
+	}
+	
+	@Test
+	public void testTransfersCombined(){
+		ProgressTracker tracker = ProgressTracker.builder().view(shown::add).build();
+		ProgressTracker.Transfer first = tracker.startTransfer(100);
+		ProgressTracker.Transfer second = tracker.startTransfer();
+		first.progressUpdate(30, 30, 100);
+		second.progressUpdate(-1, 20, 300);
+		
+		// Segments can report out of order, but the count never goes backwards
+		first.progressUpdate(25, 25, 100);
+		
+		ProgressSnapshot snapshot = tracker.update(0);
+		assertEquals(50, snapshot.getReadSoFar());
+		assertEquals(400, snapshot.getExpectedSize());
+		assertEquals(12.5, snapshot.getProgress(), 0.001);
+		assertEquals(2, snapshot.getActiveTransfers());
+		assertEquals(List.of(snapshot), shown);
+		first.finish();
+		second.finish();
+	}
+	
+	@Test
+	public void testUnknownSize(){
+		ProgressTracker tracker = ProgressTracker.builder().view(shown::add).build();
+		ProgressTracker.Transfer known = tracker.startTransfer(100);
+		ProgressTracker.Transfer unknown = tracker.startTransfer();
+		known.progressUpdate(10, 10, 100);
+		unknown.progressUpdate(-1, 5, -1);
+		ProgressSnapshot snapshot = tracker.update(0);
+		assertEquals(15, snapshot.getReadSoFar());
+		assertEquals(-1, snapshot.getExpectedSize());
+		assertEquals(-1.0, snapshot.getProgress(), 0.001);
+		assertNull(snapshot.getTimeLeft());
+		known.finish();
+		unknown.finish();
+	}
+	
+	@Test
+	public void testMovingAverageRate(){
+		ProgressTracker tracker = ProgressTracker.builder()
+				.view(shown::add)
+				.rateWindow(Duration.ofSeconds(2))
+				.build();
+		ProgressTracker.Transfer transfer = tracker.startTransfer(10_000);
+		
+		// 1000 bytes a second for 3 seconds
+		assertEquals(0.0, tracker.update(0).getBytesPerSecond(), 0.001);
+		for(int second = 1; second <= 3; second++){
+			transfer.progressUpdate(0, second * 1000L, 10_000);
+			ProgressSnapshot snapshot = tracker.update(second * SECOND);
+			assertEquals(1000.0, snapshot.getBytesPerSecond(), 0.001);
+		}
+		ProgressSnapshot snapshot = tracker.update(3 * SECOND);
+		assertEquals(Duration.ofSeconds(7), snapshot.getTimeLeft());
+		
+		// Then 3000 bytes a second: the average catches up once the old rate is out of the window
+		transfer.progressUpdate(0, 6000, 10_000);
+		assertEquals(2000.0, tracker.update(4 * SECOND).getBytesPerSecond(), 0.001);
+		transfer.progressUpdate(0, 9000, 10_000);
+		snapshot = tracker.update(5 * SECOND);
+		assertEquals(3000.0, snapshot.getBytesPerSecond(), 0.001);
+		assertEquals(Duration.ofMillis(333), snapshot.getTimeLeft());
+		
+		// No time left once it's done
+		transfer.finish();
+		assertNull(tracker.update(6 * SECOND).getTimeLeft());
+	}
+	
+	@Test
+	public void testUpdatesCoalescedOnEventDispatchThread() throws Exception{
+		AtomicBoolean offEventThread = new AtomicBoolean();
+		CountDownLatch done = new CountDownLatch(1);
+		ProgressTracker tracker = ProgressTracker.builder()
+				.view(snapshot -> {
+					if(!SwingUtilities.isEventDispatchThread()){
+						offEventThread.set(true);
+					}
+					shown.add(snapshot);
+					if(snapshot.getActiveTransfers() == 0){
+						done.countDown();
+					}
+				})
+				.frameRate(20)
+				.build();
+		
+		// Two transfers reporting from their own threads far more often than the frame rate
+		ProgressTracker.Transfer first = tracker.startTransfer(200_000);
+		ProgressTracker.Transfer second = tracker.startTransfer(200_000);
+		assertTrue(tracker.isRunning());
+		Thread[] threads = new Thread[2];
+		ProgressTracker.Transfer[] transfers = {first, second};
+		for(int i = 0; i < threads.length; i++){
+			ProgressTracker.Transfer transfer = transfers[i];
+			threads[i] = new Thread(() -> {
+				for(long read = 1; read <= 200_000; read++){
+					transfer.progressUpdate(0, read, 200_000);
+					if(read % 1000 == 0){
+						try{
+							Thread.sleep(1);
+						}catch(InterruptedException e){
+							return;
+						}
+					}
+				}
+				transfer.finish();
+			});
+			threads[i].start();
+		}
+		for(Thread thread: threads){
+			thread.join();
+		}
+		
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertFalse(offEventThread.get());
+		// 400,000 updates came in, but the view was only updated at the frame rate
+		assertTrue(shown.size() < 1000, "view updated " + shown.size() + " times");
+		ProgressSnapshot last = shown.get(shown.size() - 1);
+		assertEquals(400_000, last.getReadSoFar());
+		assertEquals(100.0, last.getProgress(), 0.001);
+		SwingUtilities.invokeAndWait(() -> assertFalse(tracker.isRunning()));
+	}
+	
+	@Test
+	public void testDescribe(){
+		assertEquals("42% - 4/10 MB - 1.5 MB/s - 5s left",
+				new ProgressSnapshot(4_404_020, 10_485_760, 1_572_864, Duration.ofSeconds(5), 1).describe());
+		assertEquals("100% - 2/2 KB - 2m 5s left",
+				new ProgressSnapshot(4096, 2048, 0, Duration.ofSeconds(125), 1).describe());
+		assertEquals("500 bytes - 100 bytes/s",
+				new ProgressSnapshot(500, -1, 100, null, 1).describe());
+		assertEquals("0% - 0/3 GB - 1h 1m left",
+				new ProgressSnapshot(0, 3L * 1024 * 1024 * 1024, 0, Duration.ofSeconds(3660), 1).describe());
+	}
+}
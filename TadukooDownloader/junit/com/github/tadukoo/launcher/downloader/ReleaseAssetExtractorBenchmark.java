@@ -0,0 +1,120 @@
+package com.github.tadukoo.launcher.downloader;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the {@link ReleaseAssetExtractor} against the regex the downloader used to match against the whole
+ * "latest release" response, on synthetic responses of growing size (with the wanted asset last). It's run by
+ * hand, not as part of the tests, since timings depend on the machine.
+ */
+public class ReleaseAssetExtractorBenchmark{
+	/** The pattern the downloader used before the {@link ReleaseAssetExtractor} */
+	private static final Pattern githubPattern = Pattern.compile(
+			"[\\s\\S]*\"assets\":" +
+			"\\s*\\[[\\s\\S]*\\{\\s*" +
+			"\"url\":\\s*\"[^\"]*\",\\s*" +
+			"\"id\":\\s*\\d*,\\s*" +
+			"\"node_id\":\\s*\"[^\"]*\",\\s*" +
+			"\"name\":\\s*\"TadukooLauncher-[^\"]*.exe\",\\s*" +
+			"\"label\":\\s*[^{}]*,\\s*" +
+			"\"uploader\":\\s*\\{\\s*" +
+			"\"login\":\\s*\"[^\"]*\",\\s*" +
+			"\"id\":\\s*\\d*,\\s*" +
+			"\"node_id\":\\s*\"[^\"]*\",\\s*" +
+			"\"avatar_url\":\\s*\"[^\"]*\",\\s*" +
+			"\"gravatar_id\":\\s*\"[^\"]*\",\\s*" +
+			"\"url\":\\s*\"[^\"]*\",\\s*" +
+			"\"html_url\":\\s*\"[^\"]*\",\\s*" +
+			"\"followers_url\":\\s*\"[^\"]*\",\\s*" +
+			"\"following_url\":\\s*\"[^\"]*\",\\s*" +
+			"\"gists_url\":\\s*\"[^\"]*\",\\s*" +
+			"\"starred_url\":\\s*\"[^\"]*\",\\s*" +
+			"\"subscriptions_url\":\\s*\"[^\"]*\",\\s*" +
+			"\"organizations_url\":\\s*\"[^\"]*\",\\s*" +
+			"\"repos_url\":\\s*\"[^\"]*\",\\s*" +
+			"\"events_url\":\\s*\"[^\"]*\",\\s*" +
+			"\"received_events_url\":\\s*\"[^\"]*\",\\s*" +
+			"\"type\":\\s*\"[^\"]*\",\\s*" +
+			"\"site_admin\":\\s*(?:true|false)\\s*},\\s*" +
+			"\"content_type\":\\s*\"[^\"]*\",\\s*" +
+			"\"state\":\\s*\"[^\"]*\",\\s*" +
+			"\"size\":\\s*(\\d*),\\s*" +
+			"\"download_count\":\\s*\\d*,\\s*" +
+			"\"created_at\":\\s*\"[^\"]*\",\\s*" +
+			"\"updated_at\":\\s*\"[^\"]*\",\\s*" +
+			"\"browser_download_url\":\\s*\"([^\"]*)\"\\s*}[\\s\\S]*\\s*],\\s*" +
+			"\"tarball_url\":\\s*\"[^\"]*\",\\s*" +
+			"\"zipball_url\":\\s*\"[^\"]*\",\\s*" +
+			"\"body\":\\s*\"[\\s\\S]*\"\\s*}");
+	
+	/**
+	 * Makes an asset laid out the way GitHub sends it (which the old pattern depends on)
+	 */
+	private static String asset(String name, long size, String url){
+		String user = "https://api.github.com/users/Tadukoo";
+		return "{\"url\":\"https://api.github.com/repos/Tadukoo/TadukooEngine/releases/assets/1\"," +
+				"\"id\":1,\"node_id\":\"abc\",\"name\":\"" + name + "\",\"label\":null," +
+				"\"uploader\":{\"login\":\"Tadukoo\",\"id\":2,\"node_id\":\"def\"," +
+				"\"avatar_url\":\"https://avatars.githubusercontent.com/u/2\",\"gravatar_id\":\"\"," +
+				"\"url\":\"" + user + "\",\"html_url\":\"https://github.com/Tadukoo\"," +
+				"\"followers_url\":\"" + user + "/followers\",\"following_url\":\"" + user + "/following\"," +
+				"\"gists_url\":\"" + user + "/gists\",\"starred_url\":\"" + user + "/starred\"," +
+				"\"subscriptions_url\":\"" + user + "/subscriptions\",\"organizations_url\":\"" + user + "/orgs\"," +
+				"\"repos_url\":\"" + user + "/repos\",\"events_url\":\"" + user + "/events\"," +
+				"\"received_events_url\":\"" + user + "/received_events\",\"type\":\"User\"," +
+				"\"site_admin\":false}," +
+				"\"content_type\":\"application/octet-stream\",\"state\":\"uploaded\",\"size\":" + size + "," +
+				"\"download_count\":12,\"created_at\":\"2021-01-01T00:00:00Z\"," +
+				"\"updated_at\":\"2021-01-01T00:00:00Z\",\"browser_download_url\":\"" + url + "\"}";
+	}
+	
+	/**
+	 * Makes a release of about the given size, with the launcher asset last after lots of others
+	 */
+	private static String release(int size){
+		StringBuilder assets = new StringBuilder();
+		int count = 0;
+		while(assets.length() < size / 2){
+			assets.append(asset("Other-" + count + ".zip", count, "https://dummy.url/" + count)).append(',');
+			count++;
+		}
+		assets.append(asset("TadukooLauncher-0.1.exe", 777, "https://dummy.url/launcher.exe"));
+		return "{\"url\":\"https://api.github.com/repos/Tadukoo/TadukooEngine/releases/1\",\"id\":1," +
+				"\"tag_name\":\"v0.1\",\"assets\":[" + assets + "]," +
+				"\"tarball_url\":\"https://dummy.url/tarball\",\"zipball_url\":\"https://dummy.url/zipball\"," +
+				"\"body\":\"" + "y".repeat(size / 2) + "\"}";
+	}
+	
+	public static void main(String[] args) throws IOException{
+		ReleaseAssetExtractor extractor = new ReleaseAssetExtractor(
+				name -> name.startsWith("TadukooLauncher-") && name.endsWith(".exe"));
+		for(int size: new int[]{1024, 64 * 1024, 256 * 1024, 1024 * 1024}){
+			String json = release(size);
+			int runs = Math.max(3, 2_000_000 / size);
+			
+			// Warm both up, and make sure they agree
+			Matcher matcher = githubPattern.matcher(json);
+			if(!matcher.matches() || Long.parseLong(matcher.group(1)) != extractor.extract(new StringReader(json))
+					.getSize()){
+				throw new IllegalStateException("The pattern and the extractor disagree on a " + size +
+						" byte release");
+			}
+			
+			long start = System.nanoTime();
+			for(int i = 0; i < runs; i++){
+				githubPattern.matcher(json).matches();
+			}
+			double regexMicros = (System.nanoTime() - start) / 1000.0 / runs;
+			start = System.nanoTime();
+			for(int i = 0; i < runs; i++){
+				extractor.extract(new StringReader(json));
+			}
+			double extractorMicros = (System.nanoTime() - start) / 1000.0 / runs;
+			System.out.printf("%,d byte release: regex took %.0f us, extractor took %.0f us%n", json.length(),
+					regexMicros, extractorMicros);
+		}
+	}
+}
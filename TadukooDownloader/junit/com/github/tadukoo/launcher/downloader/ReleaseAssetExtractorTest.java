@@ -0,0 +1,161 @@
+package com.github.tadukoo.launcher.downloader;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReleaseAssetExtractorTest{
+	private final ReleaseAssetExtractor extractor = new ReleaseAssetExtractor(
+			name -> name.startsWith("TadukooLauncher-") && name.endsWith(".exe"));
+	
+	private static String asset(String name, long size, String url){
+		return "{\"url\":\"https://api.github.com/repos/Tadukoo/TadukooEngine/releases/assets/1\"," +
+				"\"id\":1,\"node_id\":\"abc\",\"name\":\"" + name + "\",\"label\":null," +
+				"\"uploader\":{\"login\":\"Tadukoo\",\"id\":2,\"site_admin\":false,\"name\":\"not the asset name\"}," +
+				"\"content_type\":\"application/octet-stream\",\"state\":\"uploaded\",\"size\":" + size + "," +
+				"\"download_count\":12,\"created_at\":\"2021-01-01T00:00:00Z\"," +
+				"\"updated_at\":\"2021-01-01T00:00:00Z\",\"browser_download_url\":\"" + url + "\"}";
+	}
+	
+	private static String release(String body, String... assets){
+		return "{\"url\":\"https://api.github.com/repos/Tadukoo/TadukooEngine/releases/1\",\"id\":1," +
+				"\"tag_name\":\"v0.1\",\"draft\":false,\"prerelease\":true,\"author\":{\"login\":\"Tadukoo\"}," +
+				"\"assets\":[" + String.join(",", assets) + "]," +
+				"\"tarball_url\":\"https://dummy.url/tarball\",\"zipball_url\":\"https://dummy.url/zipball\"," +
+				"\"body\":\"" + body + "\"}";
+	}
+	
+	/**
+	 * A {@link Reader} that fails if it's read past the given number of characters, used to make sure the
+	 * extractor stops reading once it has what it needs
+	 */
+	private static class LimitedReader extends StringReader{
+		private int remaining;
+		
+		LimitedReader(String s, int limit){
+			super(s);
+			remaining = limit;
+		}
+		
+		@Override
+		public int read() throws IOException{
+			if(remaining-- <= 0){
+				throw new IOException("Read too far");
+			}
+			return super.read();
+		}
+	}
+	
+	@Test
+	public void testExtract() throws IOException{
+		String json = release("Some notes",
+				asset("TadukooEngine-0.1.jar", 100, "https://dummy.url/engine.jar"),
+				asset("TadukooLauncher-0.1.exe", 12345, "https://dummy.url/launcher.exe"));
+		ReleaseAssetExtractor.ReleaseAsset asset = extractor.extract(new StringReader(json));
+		assertNotNull(asset);
+		assertEquals("TadukooLauncher-0.1.exe", asset.getName());
+		assertEquals(12345, asset.getSize());
+		assertEquals("https://dummy.url/launcher.exe", asset.getBrowserDownloadURL());
+		assertEquals("v0.1", asset.getTagName());
+	}
+	
+	@Test
+	public void testExtractTagAfterAssets() throws IOException{
+		String json = "{\"assets\":[" + asset("TadukooLauncher-0.2.exe", 5, "https://dummy.url/launcher.exe") +
+				"],\"body\":\"notes\",\"tag_name\":\"v0.2\"}";
+		ReleaseAssetExtractor.ReleaseAsset asset = extractor.extract(new StringReader(json));
+		assertNotNull(asset);
+		assertEquals("v0.2", asset.getTagName());
+	}
+	
+	@Test
+	public void testExtractReorderedFieldsAndWhitespace() throws IOException{
+		String json = "{\n  \"body\": \"notes with \\\"quotes\\\" and \\\\ and \\u00e9\",\n" +
+				"  \"assets\": [\n    {\n      \"browser_download_url\": \"https://dummy.url/launcher.exe\",\n" +
+				"      \"size\": 42,\n      \"name\": \"TadukooLauncher-0.1.exe\"\n    }\n  ],\n  \"id\": 3\n}";
+		ReleaseAssetExtractor.ReleaseAsset asset = extractor.extract(new StringReader(json));
+		assertNotNull(asset);
+		assertEquals(42, asset.getSize());
+		assertEquals("https://dummy.url/launcher.exe", asset.getBrowserDownloadURL());
+		assertNull(asset.getTagName());
+	}
+	
+	@Test
+	public void testExtractEscapedURL() throws IOException{
+		String json = release("", asset("TadukooLauncher-0.1.exe", 1, "https:\\/\\/dummy.url\\/launcher.exe"));
+		assertEquals("https://dummy.url/launcher.exe",
+				extractor.extract(new StringReader(json)).getBrowserDownloadURL());
+	}
+	
+	@Test
+	public void testExtractNoMatchingAsset() throws IOException{
+		String json = release("notes", asset("TadukooEngine-0.1.jar", 100, "https://dummy.url/engine.jar"));
+		assertNull(extractor.extract(new StringReader(json)));
+		assertNull(extractor.extract(new StringReader(release("notes"))));
+		assertNull(extractor.extract(new StringReader("{}")));
+	}
+	
+	@Test
+	public void testExtractStopsEarly() throws IOException{
+		String assetJSON = asset("TadukooLauncher-0.1.exe", 1, "https://dummy.url/launcher.exe");
+		String json = release("x".repeat(100000), assetJSON);
+		int assetEnd = json.indexOf(assetJSON) + assetJSON.length();
+		assertNotNull(extractor.extract(new LimitedReader(json, assetEnd + 1)));
+	}
+	
+	@Test
+	public void testExtractLargeResponses() throws IOException{
+		// Synthetic responses from 1 KB up to 5 MB, with the wanted asset last after lots of others
+		for(int size: new int[]{1024, 64 * 1024, 1024 * 1024, 5 * 1024 * 1024}){
+			StringBuilder assets = new StringBuilder();
+			int count = 0;
+			while(assets.length() < size/2){
+				assets.append(asset("Other-" + count + ".zip", count, "https://dummy.url/" + count)).append(',');
+				count++;
+			}
+			assets.append(asset("TadukooLauncher-0.1.exe", 777, "https://dummy.url/launcher.exe"));
+			String json = release("y".repeat(size/2), assets.toString());
+			assertTrue(json.length() >= size);
+			
+			ReleaseAssetExtractor.ReleaseAsset asset = extractor.extract(new StringReader(json));
+			assertNotNull(asset);
+			assertEquals(777, asset.getSize());
+		}
+	}
+	
+	@Test
+	public void testExtractBrokenJSON(){
+		assertThrows(IOException.class, () -> extractor.extract(new StringReader("[]")));
+		assertThrows(IOException.class, () -> extractor.extract(new StringReader("{\"assets\":[{\"name\":")));
+	}
+	
+	@Test
+	public void testExtractBadSize(){
+		String json = release("notes", asset("TadukooLauncher-0.1.exe", 1, "https://dummy.url/launcher.exe")
+				.replace("\"size\":1", "\"size\":true"));
+		IOException e = assertThrows(IOException.class, () -> extractor.extract(new StringReader(json)));
+		assertEquals("Bad asset size in release JSON: true", e.getMessage());
+	}
+	
+	@Test
+	public void testExtractBadEscape(){
+		String json = "{\"tag_name\": \"v\\u00zz\", \"assets\": []}";
+		IOException e = assertThrows(IOException.class, () -> extractor.extract(new StringReader(json)));
+		assertEquals("Bad \\u escape in release JSON: 'z'", e.getMessage());
+	}
+	
+	@Test
+	public void testExtractTruncatedEscape(){
+		String json = "{\"tag_name\": \"v\\u00";
+		IOException e = assertThrows(IOException.class, () -> extractor.extract(new StringReader(json)));
+		assertEquals("Release JSON ended unexpectedly", e.getMessage());
+	}
+}
@@ -0,0 +1,126 @@
+package com.github.tadukoo.launcher.downloader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RemoteZipTest{
+	private Path destination;
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		if(destination != null){
+			Files.deleteIfExists(destination);
+		}
+	}
+	
+	private static Map<String, String> bigEntries(){
+		Map<String, String> entries = new LinkedHashMap<>();
+		entries.put("fonts/", "");
+		Random random = new Random(42);
+		for(int i = 0; i < 20; i++){
+			// Random contents so they don't compress away to nothing
+			StringBuilder content = new StringBuilder();
+			for(int j = 0; j < 40000; j++){
+				content.append((char) ('a' + random.nextInt(26)));
+			}
+			entries.put("fonts/Font" + i + ".ttf", content.toString());
+		}
+		entries.put("fonts/readme.bin", "Stored, not deflated");
+		return entries;
+	}
+	
+	private static String read(RemoteZip zip, RemoteZip.RemoteZipEntry entry) throws IOException{
+		try(InputStream in = zip.openEntry(entry)){
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+	
+	private static RemoteZip.RemoteZipEntry find(RemoteZip zip, String name){
+		return zip.getEntries().stream().filter(entry -> entry.getName().equals(name)).findFirst().orElseThrow();
+	}
+	
+	@Test
+	public void testListEntries() throws IOException{
+		Map<String, String> entries = bigEntries();
+		byte[] zipBytes = TestZips.zip(entries);
+		try(TestFileServer server = new TestFileServer(zipBytes, true, 0);
+			RemoteZip zip = new RemoteZip(server.getURL())){
+			List<RemoteZip.RemoteZipEntry> zipEntries = zip.getEntries();
+			assertEquals(entries.size(), zipEntries.size());
+			assertEquals(List.copyOf(entries.keySet()),
+					zipEntries.stream().map(RemoteZip.RemoteZipEntry::getName).toList());
+			assertTrue(zipEntries.get(0).isDirectory());
+			assertEquals(40000, find(zip, "fonts/Font3.ttf").getSize());
+			assertEquals(zipBytes.length, zip.getTotalSize());
+			assertFalse(zip.isFullyDownloaded());
+			
+			// Only the end of the zip was needed to list everything
+			assertTrue(zip.getBytesDownloaded() < zipBytes.length / 4);
+		}
+	}
+	
+	@Test
+	public void testReadEntries() throws IOException{
+		Map<String, String> entries = bigEntries();
+		byte[] zipBytes = TestZips.zip(entries);
+		try(TestFileServer server = new TestFileServer(zipBytes, true, 0);
+			RemoteZip zip = new RemoteZip(server.getURL())){
+			assertEquals(entries.get("fonts/Font7.ttf"), read(zip, find(zip, "fonts/Font7.ttf")));
+			assertEquals(entries.get("fonts/readme.bin"), read(zip, find(zip, "fonts/readme.bin")));
+			
+			// Reading a couple of entries only downloads a small part of the zip
+			assertTrue(server.getBytesServed() < zipBytes.length / 4,
+					server.getBytesServed() + " of " + zipBytes.length);
+		}
+	}
+	
+	@Test
+	public void testExtractEntry() throws IOException{
+		Map<String, String> entries = bigEntries();
+		destination = Files.createTempFile("remote-zip-test", ".ttf");
+		try(TestFileServer server = new TestFileServer(TestZips.zip(entries), true, 0);
+			RemoteZip zip = new RemoteZip(server.getURL())){
+			zip.extractEntry(find(zip, "fonts/Font0.ttf"), destination);
+		}
+		assertEquals(entries.get("fonts/Font0.ttf"), Files.readString(destination));
+	}
+	
+	@Test
+	public void testNoRangeSupport() throws IOException{
+		Map<String, String> entries = bigEntries();
+		byte[] zipBytes = TestZips.zip(entries);
+		try(TestFileServer server = new TestFileServer(zipBytes, false, 0);
+			RemoteZip zip = new RemoteZip(server.getURL())){
+			assertTrue(zip.isFullyDownloaded());
+			assertEquals(entries.size(), zip.getEntries().size());
+			assertEquals(entries.get("fonts/Font12.ttf"), read(zip, find(zip, "fonts/Font12.ttf")));
+			
+			// Everything came from the single full download
+			assertEquals(1, server.getRequestCount());
+			assertEquals(zipBytes.length, zip.getBytesDownloaded());
+		}
+	}
+	
+	@Test
+	public void testNotAZip() throws IOException{
+		try(TestFileServer server = new TestFileServer("Not a zip".getBytes(StandardCharsets.UTF_8), true, 0)){
+			assertThrows(ZipException.class, () -> new RemoteZip(server.getURL()));
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package com.github.tadukoo.launcher.downloader;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class RetryPolicyTest{
+	private final List<Duration> delays = new ArrayList<>();
+	private final RetryPolicy policy = RetryPolicy.builder()
+			.maxAttempts(3)
+			.baseDelay(Duration.ofMillis(10))
+			.maxDelay(Duration.ofMillis(40))
+			.sleeper(delays::add)
+			.build();
+	
+	private static void assertBetween(long minMillis, long maxMillis, Duration delay){
+		assertTrue(delay.compareTo(Duration.ofMillis(minMillis)) >= 0 &&
+				delay.compareTo(Duration.ofMillis(maxMillis)) <= 0, "delay was " + delay);
+	}
+	
+	@Test
+	public void testBuilderDefaults(){
+		RetryPolicy defaults = RetryPolicy.builder().build();
+		assertEquals(RetryPolicy.DEFAULT_MAX_ATTEMPTS, defaults.getMaxAttempts());
+		assertEquals(RetryPolicy.DEFAULT_BASE_DELAY, defaults.getBaseDelay());
+		assertEquals(RetryPolicy.DEFAULT_MAX_DELAY, defaults.getMaxDelay());
+		assertEquals(RetryPolicy.DEFAULT_SLEEPER, defaults.getSleeper());
+	}
+	
+	@Test
+	public void testBuilderErrors(){
+		try{
+			RetryPolicy.builder().maxAttempts(0).baseDelay(Duration.ofMillis(-1)).maxDelay(null).sleeper(null).build();
+			fail();
+		}catch(IllegalArgumentException e){
+			assertEquals("""
+							The following errors happened in building a RetryPolicy:\s
+							maxAttempts must be at least 1
+							baseDelay can't be null or negative
+							maxDelay can't be null or less than baseDelay
+							sleeper is required""",
+					e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testMaxDelayLessThanBaseDelay(){
+		assertThrows(IllegalArgumentException.class,
+				() -> RetryPolicy.builder().baseDelay(Duration.ofSeconds(2)).maxDelay(Duration.ofSeconds(1)).build());
+	}
+	
+	@Test
+	public void testDelay(){
+		for(int i = 0; i < 100; i++){
+			// Doubles each failure, jittered to between half and all of it
+			long first = policy.getDelay(1).toNanos();
+			assertTrue(first >= 5_000_000 && first <= 10_000_000, "first delay was " + first);
+			long second = policy.getDelay(2).toNanos();
+			assertTrue(second >= 10_000_000 && second <= 20_000_000, "second delay was " + second);
+			
+			// Never goes past the max delay
+			long capped = policy.getDelay(50).toNanos();
+			assertTrue(capped >= 20_000_000 && capped <= 40_000_000, "capped delay was " + capped);
+		}
+	}
+	
+	@Test
+	public void testFirstAttemptWorks() throws IOException{
+		AtomicInteger attempts = new AtomicInteger();
+		assertEquals("done", policy.run(() -> {
+			attempts.incrementAndGet();
+			return "done";
+		}));
+		assertEquals(1, attempts.get());
+		assertEquals(List.of(), delays);
+	}
+	
+	@Test
+	public void testRetriesUntilItWorks() throws IOException{
+		AtomicInteger attempts = new AtomicInteger();
+		assertEquals("done", policy.run(() -> {
+			if(attempts.incrementAndGet() < 3){
+				throw new IOException("Failure " + attempts.get());
+			}
+			return "done";
+		}));
+		assertEquals(3, attempts.get());
+		
+		// It backed off after each failure
+		assertEquals(2, delays.size());
+		assertBetween(5, 10, delays.get(0));
+		assertBetween(10, 20, delays.get(1));
+	}
+	
+	@Test
+	public void testGivesUp(){
+		AtomicInteger attempts = new AtomicInteger();
+		IOException e = assertThrows(IOException.class, () -> policy.run(() -> {
+			throw new IOException("Failure " + attempts.incrementAndGet());
+		}));
+		assertEquals(3, attempts.get());
+		assertEquals("Failure 3", e.getMessage());
+		assertEquals(2, e.getSuppressed().length);
+		assertEquals("Failure 1", e.getSuppressed()[0].getMessage());
+		assertEquals("Failure 2", e.getSuppressed()[1].getMessage());
+		
+		// There's no waiting after the last attempt
+		assertEquals(2, delays.size());
+	}
+	
+	@Test
+	public void testInterruptedWhileWaiting(){
+		RetryPolicy interrupted = RetryPolicy.builder()
+				.sleeper(delay -> {
+					throw new InterruptedException();
+				})
+				.build();
+		IOException e = assertThrows(IOException.class, () -> interrupted.run(() -> {
+			throw new IOException("Failure");
+		}));
+		assertEquals("Interrupted while waiting to try again", e.getMessage());
+		assertEquals(1, e.getSuppressed().length);
+		
+		// The interrupt is kept for whoever's running it (and cleared so the other tests aren't affected)
+		assertTrue(Thread.interrupted());
+		assertFalse(Thread.currentThread().isInterrupted());
+	}
+	
+	@Test
+	public void testMissingFileNotRetried(){
+		AtomicInteger attempts = new AtomicInteger();
+		assertThrows(FileNotFoundException.class, () -> policy.run(() -> {
+			attempts.incrementAndGet();
+			throw new FileNotFoundException("missing");
+		}));
+		assertEquals(1, attempts.get());
+		assertEquals(List.of(), delays);
+	}
+}
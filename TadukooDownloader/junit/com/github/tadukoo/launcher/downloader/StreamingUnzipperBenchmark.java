@@ -0,0 +1,58 @@
+package com.github.tadukoo.launcher.downloader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+
+/**
+ * Compares downloading a zip of fonts from a throttled server on its own against extracting it with the
+ * {@link StreamingUnzipper} while it downloads, and shows how far into the download the first font was ready. It's
+ * run by hand, not as part of the tests, since timings depend on the machine.
+ */
+public class StreamingUnzipperBenchmark{
+	
+	public static void main(String[] args) throws IOException{
+		byte[] zip = TestZips.zip(StreamingUnzipperTest.fonts(8, 40_000));
+		long bytesPerSecond = zip.length * 2L;
+		Path folder = Files.createTempDirectory("streaming-unzipper-benchmark");
+		try{
+			long downloadMillis;
+			try(TestFileServer server = new TestFileServer(zip, false, bytesPerSecond)){
+				long start = System.nanoTime();
+				try(InputStream in = server.getURL().openStream()){
+					in.transferTo(OutputStream.nullOutputStream());
+				}
+				downloadMillis = (System.nanoTime() - start) / 1_000_000;
+			}
+			
+			long[] firstFontMillis = {-1};
+			long[] firstFontBytes = {-1};
+			long streamingMillis;
+			try(TestFileServer server = new TestFileServer(zip, false, bytesPerSecond)){
+				long start = System.nanoTime();
+				try(InputStream in = server.getURL().openStream()){
+					new StreamingUnzipper(folder).extract(in, (name, file) -> {
+						if(firstFontMillis[0] == -1){
+							firstFontMillis[0] = (System.nanoTime() - start) / 1_000_000;
+							firstFontBytes[0] = server.getBytesServed();
+						}
+					});
+				}
+				streamingMillis = (System.nanoTime() - start) / 1_000_000;
+			}
+			
+			System.out.println("A " + zip.length + " byte zip of 8 fonts: downloading took " + downloadMillis +
+					" ms, and downloading while extracting took " + streamingMillis + " ms, with the first font " +
+					"ready after " + firstFontMillis[0] + " ms (" + firstFontBytes[0] + " bytes served)");
+		}finally{
+			try(var files = Files.walk(folder)){
+				for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+					Files.delete(file);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package com.github.tadukoo.launcher.downloader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StreamingUnzipperTest{
+	private Path folder;
+	
+	@BeforeEach
+	public void setup() throws IOException{
+		folder = Files.createTempDirectory("streaming-unzipper");
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		try(var files = Files.walk(folder)){
+			for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+				Files.delete(file);
+			}
+		}
+	}
+	
+	/**
+	 * A stream of the given bytes that won't go past the gate until it's {@link #open() opened}, so it can stand in
+	 * for a download that isn't done yet
+	 */
+	private static class GatedInputStream extends InputStream{
+		private final ByteArrayInputStream in;
+		private final int gate;
+		private final CountDownLatch opened = new CountDownLatch(1);
+		private final AtomicLong bytesRead = new AtomicLong();
+		
+		private GatedInputStream(byte[] bytes, int gate){
+			in = new ByteArrayInputStream(bytes);
+			this.gate = gate;
+		}
+		
+		private void open(){
+			opened.countDown();
+		}
+		
+		private long getBytesRead(){
+			return bytesRead.get();
+		}
+		
+		@Override
+		public int read() throws IOException{
+			byte[] b = new byte[1];
+			return read(b, 0, 1) == -1 ? -1:b[0] & 0xFF;
+		}
+		
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException{
+			if(len > 0 && bytesRead.get() >= gate){
+				try{
+					// Nothing past the gate until the first entry is out (a generous wait, so it only runs out if
+					// the first entry never comes out while the rest of the zip is held back)
+					if(!opened.await(30, TimeUnit.SECONDS)){
+						throw new IOException("Read past byte " + gate + " before the first entry was extracted");
+					}
+				}catch(InterruptedException e){
+					Thread.currentThread().interrupt();
+					throw new IOException(e);
+				}
+			}else if(opened.getCount() > 0){
+				len = (int) Math.min(len, gate - bytesRead.get());
+			}
+			int count = in.read(b, off, len);
+			if(count > 0){
+				bytesRead.addAndGet(count);
+			}
+			return count;
+		}
+	}
+	
+	static Map<String, String> fonts(int count, int size){
+		Map<String, String> entries = new LinkedHashMap<>();
+		Random random = new Random(11);
+		for(int i = 0; i < count; i++){
+			StringBuilder content = new StringBuilder();
+			for(int j = 0; j < size; j++){
+				content.append((char) ('a' + random.nextInt(26)));
+			}
+			entries.put("fonts/Font" + i + ".ttf", content.toString());
+		}
+		return entries;
+	}
+	
+	private List<Path> filesInFolder() throws IOException{
+		try(var files = Files.walk(folder)){
+			return files.filter(Files::isRegularFile).sorted().toList();
+		}
+	}
+	
+	@Test
+	public void testExtract() throws IOException{
+		Map<String, String> entries = new LinkedHashMap<>();
+		entries.put("A.ttf", "font a");
+		entries.put("sub/", "");
+		entries.put("sub/B.bin", "font b");
+		List<String> extracted = new ArrayList<>();
+		List<ZipEntry> zipEntries = new StreamingUnzipper(folder).extract(
+				new ByteArrayInputStream(TestZips.zip(entries)), (name, file) -> {
+					assertEquals("font " + (extracted.isEmpty() ? "a":"b"), Files.readString(file));
+					extracted.add(name);
+				});
+		
+		assertEquals(List.of("A.ttf", "sub/B.bin"), extracted);
+		assertEquals(List.of("A.ttf", "sub/B.bin"), zipEntries.stream().map(ZipEntry::getName).toList());
+		assertEquals(6, zipEntries.get(0).getSize());
+		assertEquals(List.of(folder.resolve("A.ttf"), folder.resolve("sub/B.bin")), filesInFolder());
+	}
+	
+	@Test
+	public void testExtractsWhileDownloading() throws IOException{
+		byte[] zip = TestZips.zip(fonts(8, 40_000));
+		GatedInputStream in = new GatedInputStream(zip, zip.length / 2);
+		List<Long> bytesReadAt = new ArrayList<>();
+		new StreamingUnzipper(folder).extract(in, (name, file) -> {
+			bytesReadAt.add(in.getBytesRead());
+			in.open();
+		});
+		
+		// Every font is extracted, and the first one was ready before the second half of the zip was read
+		assertEquals(8, bytesReadAt.size());
+		assertTrue(bytesReadAt.get(0) <= zip.length / 2, "first font ready after " + bytesReadAt.get(0) +
+				" of " + zip.length + " bytes");
+		assertEquals(zip.length, in.getBytesRead());
+		
+		// Only the fonts are left in the folder (no zip or partial files)
+		List<Path> files = filesInFolder();
+		assertEquals(8, files.size());
+		for(Path file: files){
+			assertTrue(file.getFileName().toString().endsWith(".ttf"));
+		}
+	}
+	
+	@Test
+	public void testBadEntryName() throws IOException{
+		Map<String, String> entries = new LinkedHashMap<>();
+		entries.put("A.ttf", "font a");
+		entries.put("../evil.ttf", "evil");
+		byte[] zip = TestZips.zip(entries);
+		Path inner = Files.createDirectories(folder.resolve("inner"));
+		IOException e = assertThrows(IOException.class,
+				() -> new StreamingUnzipper(inner).extract(new ByteArrayInputStream(zip), null));
+		assertEquals("Bad entry name: ../evil.ttf", e.getMessage());
+		assertFalse(Files.exists(folder.resolve("evil.ttf")));
+	}
+	
+	@Test
+	public void testReservedFile() throws IOException{
+		Path manifest = Files.writeString(folder.resolve("manifest.json"), "{}");
+		byte[] zip = TestZips.zip(Map.of("manifest.json", "replaced"));
+		assertThrows(IOException.class, () -> new StreamingUnzipper(folder, List.of(manifest))
+				.extract(new ByteArrayInputStream(zip), null));
+		assertEquals("{}", Files.readString(manifest));
+	}
+	
+	@Test
+	public void testListenerFailureStops() throws IOException{
+		byte[] zip = TestZips.zip(fonts(3, 100));
+		assertThrows(IOException.class, () -> new StreamingUnzipper(folder).extract(new ByteArrayInputStream(zip),
+				(name, file) -> {
+					throw new IOException("Failed to load " + name);
+				}));
+		assertEquals(1, filesInFolder().size());
+	}
+}
@@ -0,0 +1,156 @@
+package com.github.tadukoo.launcher.downloader;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A local HTTP server used in tests to serve a single file, optionally supporting Range requests and
+ * throttling each connection to a fixed rate (to simulate a mirror capped per TCP connection).
+ */
+public class TestFileServer implements AutoCloseable{
+	private static final Pattern rangePattern = Pattern.compile("bytes=(\\d*)-(\\d*)");
+	private static final int CHUNK_SIZE = 8 * 1024;
+	
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private volatile byte[] content;
+	private final boolean supportsRanges;
+	private final long bytesPerSecond;
+	private final AtomicInteger requestCount = new AtomicInteger();
+	private final AtomicLong bytesServed = new AtomicLong();
+	private final List<String> ranges = new ArrayList<>();
+	private volatile String eTag = null;
+	private volatile long failAfterBytes = -1;
+	
+	public TestFileServer(byte[] content, boolean supportsRanges, long bytesPerSecond) throws IOException{
+		this.content = content;
+		this.supportsRanges = supportsRanges;
+		this.bytesPerSecond = bytesPerSecond;
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/file", this::handle);
+		executor = Executors.newCachedThreadPool();
+		server.setExecutor(executor);
+		server.start();
+	}
+	
+	public URL getURL() throws IOException{
+		return new URL("http://localhost:" + server.getAddress().getPort() + "/file");
+	}
+	
+	public int getRequestCount(){
+		return requestCount.get();
+	}
+	
+	public long getBytesServed(){
+		return bytesServed.get();
+	}
+	
+	/**
+	 * @return The Range headers of the requests received so far, in the order they arrived
+	 */
+	public List<String> getRanges(){
+		synchronized(ranges){
+			return new ArrayList<>(ranges);
+		}
+	}
+	
+	public void setContent(byte[] content){
+		this.content = content;
+	}
+	
+	public void setETag(String eTag){
+		this.eTag = eTag;
+	}
+	
+	/**
+	 * Makes every response drop its connection after sending the given number of body bytes (-1 to turn off)
+	 */
+	public void setFailAfterBytes(long failAfterBytes){
+		this.failAfterBytes = failAfterBytes;
+	}
+	
+	private void handle(HttpExchange exchange) throws IOException{
+		requestCount.incrementAndGet();
+		byte[] content = this.content;
+		int start = 0;
+		int end = content.length - 1;
+		int status = 200;
+		String range = exchange.getRequestHeaders().getFirst("Range");
+		if(range != null){
+			synchronized(ranges){
+				ranges.add(range);
+			}
+		}
+		if(eTag != null){
+			exchange.getResponseHeaders().add("ETag", eTag);
+		}
+		if(supportsRanges){
+			exchange.getResponseHeaders().add("Accept-Ranges", "bytes");
+			if(range != null){
+				Matcher matcher = rangePattern.matcher(range);
+				if(matcher.matches() && matcher.group(1).isEmpty()){
+					// Suffix range (the last N bytes)
+					start = Math.max(0, content.length - Integer.parseInt(matcher.group(2)));
+				}else if(matcher.matches()){
+					start = Integer.parseInt(matcher.group(1));
+					if(!matcher.group(2).isEmpty()){
+						end = Math.min(end, Integer.parseInt(matcher.group(2)));
+					}
+				}
+				if(matcher.matches()){
+					status = 206;
+					exchange.getResponseHeaders().add("Content-Range",
+							"bytes " + start + "-" + end + "/" + content.length);
+				}
+			}
+		}
+		
+		int length = end - start + 1;
+		exchange.sendResponseHeaders(status, length);
+		long failAfter = failAfterBytes;
+		try(OutputStream out = exchange.getResponseBody()){
+			for(int offset = start; offset <= end; offset += CHUNK_SIZE){
+				int chunk = Math.min(CHUNK_SIZE, end - offset + 1);
+				if(failAfter >= 0 && offset - start + chunk > failAfter){
+					// Drop the connection in the middle of the response
+					exchange.close();
+					return;
+				}
+				out.write(content, offset, chunk);
+				out.flush();
+				bytesServed.addAndGet(chunk);
+				if(bytesPerSecond > 0){
+					sleep(chunk * 1000L / bytesPerSecond);
+				}
+			}
+		}
+	}
+	
+	private static void sleep(long millis){
+		try{
+			Thread.sleep(millis);
+		}catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	@Override
+	public void close(){
+		server.stop(0);
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,85 @@
+package com.github.tadukoo.launcher.downloader;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Helpers for building and extracting zips for tests
+ */
+public class TestZips{
+	
+	private TestZips(){ }
+	
+	/**
+	 * Builds a zip of the given entries (names to contents). Entries whose name ends in ".bin" are stored, the
+	 * rest are deflated.
+	 */
+	public static byte[] zip(Map<String, String> entries) throws IOException{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(ZipOutputStream zip = new ZipOutputStream(bytes)){
+			for(Map.Entry<String, String> entry: entries.entrySet()){
+				byte[] content = entry.getValue().getBytes(StandardCharsets.UTF_8);
+				ZipEntry zipEntry = new ZipEntry(entry.getKey());
+				if(entry.getKey().endsWith(".bin")){
+					CRC32 crc = new CRC32();
+					crc.update(content);
+					zipEntry.setMethod(ZipEntry.STORED);
+					zipEntry.setSize(content.length);
+					zipEntry.setCrc(crc.getValue());
+				}
+				zip.putNextEntry(zipEntry);
+				zip.write(content);
+				zip.closeEntry();
+			}
+		}
+		return bytes.toByteArray();
+	}
+	
+	/**
+	 * Writes a zip of the given number of files of (somewhat compressible) random contents, with sizes between
+	 * the given min and max
+	 */
+	public static Path writeRandomZip(Path zipFile, int files, int minSize, int maxSize) throws IOException{
+		Random random = new Random(files);
+		byte[] contents = new byte[maxSize];
+		try(ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(zipFile)))){
+			for(int i = 0; i < files; i++){
+				int size = minSize + random.nextInt(maxSize - minSize + 1);
+				for(int j = 0; j < size; j++){
+					contents[j] = (byte) ('a' + random.nextInt(16));
+				}
+				zip.putNextEntry(new ZipEntry("dir" + (i % 10) + "/File" + i + ".bin"));
+				zip.write(contents, 0, size);
+				zip.closeEntry();
+			}
+		}
+		return zipFile;
+	}
+	
+	/**
+	 * Extracts the zip one entry at a time through stream copies (the way it's usually done)
+	 */
+	public static void extractSequentially(Path zipFile, Path destination) throws IOException{
+		try(ZipInputStream zip = new ZipInputStream(Files.newInputStream(zipFile))){
+			ZipEntry entry;
+			while((entry = zip.getNextEntry()) != null){
+				Path file = destination.resolve(entry.getName());
+				Files.createDirectories(file.getParent());
+				try(OutputStream out = Files.newOutputStream(file)){
+					zip.transferTo(out);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,387 @@
+package com.github.tadukoo.launcher.downloader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary Delta makes and applies binary patches, so that an update to a file (like a program or library jar) can
+ * be sent as just the parts that changed. A patch is a list of instructions for building the new file: copy a run
+ * of bytes from the old file, or add bytes that are in the patch itself.
+ * <br><br>
+ * This works well for jars, since an entry that didn't change between versions is stored as the exact same
+ * (compressed) bytes in both, so it turns into a single copy no matter where it moved to. Only the changed entries
+ * and the bits of the zip's directory that point at them end up in the patch.
+ * <br><br>
+ * Making a patch reads both files into memory, so it's meant for files the size of jars, not huge ones. Applying a
+ * patch streams the new file out, reading only the parts of the old file it needs.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public final class BinaryDelta{
+	/** The bytes every patch starts with */
+	private static final byte[] MAGIC = "TDKDELTA".getBytes(StandardCharsets.US_ASCII);
+	/** The version of the patch format */
+	private static final int VERSION = 1;
+	/** Instruction to add bytes from the patch */
+	private static final int ADD = 0;
+	/** Instruction to copy bytes from the old file */
+	private static final int COPY = 1;
+	/** Instruction marking the end of the patch */
+	private static final int END = 2;
+	/** The size of the blocks of the old file that are indexed (and so the shortest run that can be copied) */
+	private static final int BLOCK_SIZE = 32;
+	/** The multiplier of the rolling hash */
+	private static final int HASH_MULTIPLIER = 257;
+	/** The rolling hash multiplier raised to the power of the block size minus 1 (for removing the oldest byte) */
+	private static final int HASH_MULTIPLIER_POWER;
+	/** The size of the buffer used when copying from the old file */
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
+	static{
+		int power = 1;
+		for(int i = 0; i < BLOCK_SIZE - 1; i++){
+			power *= HASH_MULTIPLIER;
+		}
+		HASH_MULTIPLIER_POWER = power;
+	}
+	
+	// Not allowed to create a Binary Delta
+	private BinaryDelta(){ }
+	
+	/**
+	 * Makes a patch for turning the old file into the new file
+	 *
+	 * @param oldFile The {@link Path} of the old file
+	 * @param newFile The {@link Path} of the new file
+	 * @param patchFile The {@link Path} to write the patch to
+	 * @throws IOException If anything goes wrong in reading the files or writing the patch
+	 */
+	public static void createPatch(Path oldFile, Path newFile, Path patchFile) throws IOException{
+		Files.write(patchFile, createPatch(Files.readAllBytes(oldFile), Files.readAllBytes(newFile)));
+	}
+	
+	/**
+	 * Makes a patch for turning the old bytes into the new bytes
+	 *
+	 * @param oldBytes The old bytes
+	 * @param newBytes The new bytes
+	 * @return The patch
+	 */
+	public static byte[] createPatch(byte[] oldBytes, byte[] newBytes){
+		ByteArrayOutputStream patch = new ByteArrayOutputStream();
+		patch.writeBytes(MAGIC);
+		patch.write(VERSION);
+		try(OutputStream out = new DeflaterOutputStream(patch, new Deflater(Deflater.BEST_COMPRESSION), BUFFER_SIZE)){
+			writeVarLong(out, oldBytes.length);
+			writeVarLong(out, newBytes.length);
+			
+			BlockIndex index = new BlockIndex(oldBytes);
+			int literalStart = 0;
+			int position = 0;
+			int hash = newBytes.length >= BLOCK_SIZE ? hash(newBytes, 0):0;
+			while(position + BLOCK_SIZE <= newBytes.length){
+				int match = index.find(hash, newBytes, position);
+				if(match < 0){
+					// No match here, so slide the window along a byte
+					if(position + BLOCK_SIZE < newBytes.length){
+						hash = (hash - newBytes[position] * HASH_MULTIPLIER_POWER) * HASH_MULTIPLIER +
+								newBytes[position + BLOCK_SIZE];
+					}
+					position++;
+					continue;
+				}
+				
+				// Grow the match as far as it goes in both directions
+				int length = BLOCK_SIZE;
+				while(match + length < oldBytes.length && position + length < newBytes.length &&
+						oldBytes[match + length] == newBytes[position + length]){
+					length++;
+				}
+				while(position > literalStart && match > 0 && oldBytes[match - 1] == newBytes[position - 1]){
+					position--;
+					match--;
+					length++;
+				}
+				
+				writeAdd(out, newBytes, literalStart, position);
+				out.write(COPY);
+				writeVarLong(out, match);
+				writeVarLong(out, length);
+				position += length;
+				literalStart = position;
+				if(position + BLOCK_SIZE <= newBytes.length){
+					hash = hash(newBytes, position);
+				}
+			}
+			writeAdd(out, newBytes, literalStart, newBytes.length);
+			out.write(END);
+		}catch(IOException e){
+			// Can't happen when writing to memory
+			throw new IllegalStateException(e);
+		}
+		return patch.toByteArray();
+	}
+	
+	/**
+	 * Applies the given patch to the old file, writing the new file
+	 *
+	 * @param oldFile The {@link Path} of the old file (the one the patch was made from)
+	 * @param patchFile The {@link Path} of the patch
+	 * @param newFile The {@link Path} to write the new file to
+	 * @throws IOException If the patch is bad or wasn't made for the old file, or anything goes wrong in reading or
+	 * writing the files
+	 */
+	public static void applyPatch(Path oldFile, Path patchFile, Path newFile) throws IOException{
+		try(InputStream patch = Files.newInputStream(patchFile)){
+			applyPatch(oldFile, patch, newFile);
+		}
+	}
+	
+	/**
+	 * Applies the given patch to the old file, writing the new file
+	 *
+	 * @param oldFile The {@link Path} of the old file (the one the patch was made from)
+	 * @param patch An {@link InputStream} of the patch
+	 * @param newFile The {@link Path} to write the new file to
+	 * @throws IOException If the patch is bad or wasn't made for the old file, or anything goes wrong in reading or
+	 * writing the files
+	 */
+	public static void applyPatch(Path oldFile, InputStream patch, Path newFile) throws IOException{
+		byte[] magic = new byte[MAGIC.length];
+		if(patch.readNBytes(magic, 0, magic.length) != magic.length || !Arrays.equals(magic, MAGIC)){
+			throw new IOException("Not a patch");
+		}
+		int version = patch.read();
+		if(version != VERSION){
+			throw new IOException("Unsupported patch version " + version);
+		}
+		
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(new InflaterInputStream(patch),
+				BUFFER_SIZE));
+			FileChannel oldChannel = FileChannel.open(oldFile, StandardOpenOption.READ);
+			OutputStream out = new BufferedOutputStream(Files.newOutputStream(newFile), BUFFER_SIZE)){
+			long oldSize = readVarLong(in);
+			long newSize = readVarLong(in);
+			if(oldChannel.size() != oldSize){
+				throw new IOException("Patch was made for a " + oldSize + " byte file, but " + oldFile + " is " +
+						oldChannel.size() + " bytes");
+			}
+			
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			long written = 0;
+			int instruction;
+			while((instruction = in.read()) != END){
+				if(instruction == ADD){
+					long length = readVarLong(in);
+					checkLength(written, length, newSize);
+					for(long added = 0; added < length; ){
+						int read = in.read(buffer.array(), 0, (int) Math.min(buffer.capacity(), length - added));
+						if(read < 0){
+							throw new EOFException("Bad patch: ended early");
+						}
+						out.write(buffer.array(), 0, read);
+						added += read;
+					}
+					written += length;
+				}else if(instruction == COPY){
+					long offset = readVarLong(in);
+					long length = readVarLong(in);
+					checkLength(written, length, newSize);
+					if(offset < 0 || offset + length > oldSize){
+						throw new IOException("Bad patch: copies past the end of the old file");
+					}
+					for(long copied = 0; copied < length; ){
+						buffer.clear();
+						buffer.limit((int) Math.min(buffer.capacity(), length - copied));
+						int read = oldChannel.read(buffer, offset + copied);
+						if(read < 0){
+							throw new EOFException("Old file ended early");
+						}
+						out.write(buffer.array(), 0, read);
+						copied += read;
+					}
+					written += length;
+				}else{
+					throw new IOException(instruction < 0 ? "Bad patch: ended early":
+							"Bad patch: unknown instruction " + instruction);
+				}
+			}
+			if(written != newSize){
+				throw new IOException("Bad patch: made " + written + " bytes, but should have made " + newSize);
+			}
+		}
+	}
+	
+	/**
+	 * Writes an instruction to add the given range of bytes (if the range isn't empty)
+	 *
+	 * @param out The {@link OutputStream} to write the instruction to
+	 * @param bytes The bytes to add from
+	 * @param start The start of the range
+	 * @param end The end of the range (exclusive)
+	 * @throws IOException If anything goes wrong in writing
+	 */
+	private static void writeAdd(OutputStream out, byte[] bytes, int start, int end) throws IOException{
+		if(end > start){
+			out.write(ADD);
+			writeVarLong(out, end - start);
+			out.write(bytes, start, end - start);
+		}
+	}
+	
+	/**
+	 * Makes sure an instruction doesn't make the new file bigger than it should be
+	 *
+	 * @param written How many bytes have been written so far
+	 * @param length How many bytes the instruction writes
+	 * @param newSize How big the new file should be
+	 * @throws IOException If the instruction makes the new file too big
+	 */
+	private static void checkLength(long written, long length, long newSize) throws IOException{
+		if(length < 0 || written + length > newSize){
+			throw new IOException("Bad patch: makes more than " + newSize + " bytes");
+		}
+	}
+	
+	/**
+	 * Writes a non-negative long, 7 bits at a time (smallest first, with the top bit set on all but the last byte)
+	 *
+	 * @param out The {@link OutputStream} to write to
+	 * @param value The value to write
+	 * @throws IOException If anything goes wrong in writing
+	 */
+	private static void writeVarLong(OutputStream out, long value) throws IOException{
+		while((value & ~0x7FL) != 0){
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+	
+	/**
+	 * Reads a long written by {@link #writeVarLong(OutputStream, long)}
+	 *
+	 * @param in The {@link InputStream} to read from
+	 * @return The value read
+	 * @throws IOException If the stream ends early or the value is too long
+	 */
+	private static long readVarLong(InputStream in) throws IOException{
+		long value = 0;
+		for(int shift = 0; shift < 64; shift += 7){
+			int b = in.read();
+			if(b < 0){
+				throw new EOFException("Bad patch: ended early");
+			}
+			value |= (long) (b & 0x7F) << shift;
+			if((b & 0x80) == 0){
+				return value;
+			}
+		}
+		throw new IOException("Bad patch: number is too long");
+	}
+	
+	/**
+	 * @param bytes The bytes to hash
+	 * @param start Where the block to hash starts
+	 * @return The rolling hash of the block of bytes starting at the given position
+	 */
+	private static int hash(byte[] bytes, int start){
+		int hash = 0;
+		for(int i = start; i < start + BLOCK_SIZE; i++){
+			hash = hash * HASH_MULTIPLIER + bytes[i];
+		}
+		return hash;
+	}
+	
+	/**
+	 * Block Index is a hash table of the blocks of the old file (at every multiple of the block size), used to
+	 * find where a block of the new file can be copied from. It's open addressing on plain arrays, since a big
+	 * jar has hundreds of thousands of blocks.
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	private static class BlockIndex{
+		/** The old bytes */
+		private final byte[] oldBytes;
+		/** The hashes of the blocks in each slot */
+		private final int[] hashes;
+		/** The positions of the blocks in each slot (plus 1, so 0 means empty) */
+		private final int[] positions;
+		/** The mask for turning a hash into a slot */
+		private final int mask;
+		
+		/**
+		 * Indexes the blocks of the given old bytes
+		 *
+		 * @param oldBytes The old bytes
+		 */
+		private BlockIndex(byte[] oldBytes){
+			this.oldBytes = oldBytes;
+			int blocks = oldBytes.length/BLOCK_SIZE;
+			int slots = Integer.highestOneBit(Math.max(16, blocks * 2 - 1)) << 1;
+			hashes = new int[slots];
+			positions = new int[slots];
+			mask = slots - 1;
+			for(int block = 0; block < blocks; block++){
+				int position = block * BLOCK_SIZE;
+				int hash = hash(oldBytes, position);
+				int slot = mix(hash) & mask;
+				while(positions[slot] != 0){
+					slot = (slot + 1) & mask;
+				}
+				hashes[slot] = hash;
+				positions[slot] = position + 1;
+			}
+		}
+		
+		/**
+		 * Finds a block of the old bytes that matches the block of the new bytes at the given position
+		 *
+		 * @param hash The rolling hash of the block of the new bytes
+		 * @param newBytes The new bytes
+		 * @param start Where the block starts in the new bytes
+		 * @return Where the matching block starts in the old bytes, or -1 if there isn't one
+		 */
+		private int find(int hash, byte[] newBytes, int start){
+			int slot = mix(hash) & mask;
+			while(positions[slot] != 0){
+				if(hashes[slot] == hash){
+					int position = positions[slot] - 1;
+					if(Arrays.equals(oldBytes, position, position + BLOCK_SIZE,
+							newBytes, start, start + BLOCK_SIZE)){
+						return position;
+					}
+				}
+				slot = (slot + 1) & mask;
+			}
+			return -1;
+		}
+		
+		/**
+		 * @param hash A rolling hash
+		 * @return The hash with its bits mixed, so that similar hashes don't end up in neighbouring slots
+		 */
+		private static int mix(int hash){
+			hash *= 0x9E3779B9;
+			return hash ^ (hash >>> 16);
+		}
+	}
+}
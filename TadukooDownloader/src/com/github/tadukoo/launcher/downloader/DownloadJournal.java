@@ -0,0 +1,247 @@
+package com.github.tadukoo.launcher.downloader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Download Journal is a small sidecar file kept next to a partially downloaded file. It records the byte ranges
+ * of the file that have been confirmed as written to disk, along with the size of the file and the ETag and
+ * Last-Modified validators the server gave for it, so that an interrupted download can be restarted from where
+ * it left off (as long as the file on the server hasn't changed).
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class DownloadJournal{
+	/** The extension added to the name of the downloaded file to get the name of its journal */
+	public static final String EXTENSION = ".journal";
+	
+	/** The key used for the total size of the file */
+	private static final String SIZE = "size";
+	/** The key used for the ETag of the file */
+	private static final String ETAG = "etag";
+	/** The key used for the Last-Modified date of the file */
+	private static final String LAST_MODIFIED = "last-modified";
+	/** The key used for the completed byte ranges */
+	private static final String COMPLETED = "completed";
+	
+	/** The {@link Path} of the journal file */
+	private final Path journalPath;
+	/** The total size of the file being downloaded */
+	private final long totalSize;
+	/** The ETag the server gave for the file (may be null) */
+	private final String eTag;
+	/** The Last-Modified date the server gave for the file (may be null) */
+	private final String lastModified;
+	/** The completed byte ranges, sorted and merged - each is {start, end} with end exclusive */
+	private final List<long[]> completed = new ArrayList<>();
+	
+	/**
+	 * Creates a new (empty) Download Journal with the given parameters
+	 *
+	 * @param journalPath The {@link Path} of the journal file
+	 * @param totalSize The total size of the file being downloaded
+	 * @param eTag The ETag the server gave for the file (may be null)
+	 * @param lastModified The Last-Modified date the server gave for the file (may be null)
+	 */
+	public DownloadJournal(Path journalPath, long totalSize, String eTag, String lastModified){
+		this.journalPath = journalPath;
+		this.totalSize = totalSize;
+		this.eTag = eTag;
+		this.lastModified = lastModified;
+	}
+	
+	/**
+	 * @param destination The {@link Path} of the file being downloaded
+	 * @return The {@link Path} of the journal file to use for the given file
+	 */
+	public static Path journalPathFor(Path destination){
+		return destination.resolveSibling(destination.getFileName() + EXTENSION);
+	}
+	
+	/**
+	 * Loads the Download Journal at the given path
+	 *
+	 * @param journalPath The {@link Path} of the journal file
+	 * @return The loaded Download Journal, or null if there is no journal or it couldn't be read
+	 */
+	public static DownloadJournal load(Path journalPath){
+		if(!Files.isRegularFile(journalPath)){
+			return null;
+		}
+		
+		Properties properties = new Properties();
+		try(Reader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)){
+			properties.load(reader);
+			DownloadJournal journal = new DownloadJournal(journalPath,
+					Long.parseLong(properties.getProperty(SIZE)),
+					properties.getProperty(ETAG), properties.getProperty(LAST_MODIFIED));
+			String ranges = properties.getProperty(COMPLETED, "");
+			for(String range: ranges.split(",")){
+				if(!range.isBlank()){
+					String[] startEnd = range.split("-");
+					journal.markCompleted(Long.parseLong(startEnd[0]), Long.parseLong(startEnd[1]));
+				}
+			}
+			return journal;
+		}catch(IOException | RuntimeException e){
+			// A broken journal is the same as no journal - we just start over
+			return null;
+		}
+	}
+	
+	/**
+	 * @return The {@link Path} of the journal file
+	 */
+	public Path getJournalPath(){
+		return journalPath;
+	}
+	
+	/**
+	 * @return The total size of the file being downloaded
+	 */
+	public long getTotalSize(){
+		return totalSize;
+	}
+	
+	/**
+	 * @return The ETag the server gave for the file (may be null)
+	 */
+	public String getETag(){
+		return eTag;
+	}
+	
+	/**
+	 * @return The Last-Modified date the server gave for the file (may be null)
+	 */
+	public String getLastModified(){
+		return lastModified;
+	}
+	
+	/**
+	 * Checks whether this journal was made for the same file the server is now giving us. At least one
+	 * validator is required, otherwise we can't tell whether the file changed.
+	 *
+	 * @param totalSize The total size of the file the server is giving
+	 * @param eTag The ETag the server gave for the file (may be null)
+	 * @param lastModified The Last-Modified date the server gave for the file (may be null)
+	 * @return Whether the journal matches the file (and so can be used to resume)
+	 */
+	public boolean matches(long totalSize, String eTag, String lastModified){
+		if(this.totalSize != totalSize || (eTag == null && lastModified == null)){
+			return false;
+		}
+		return Objects.equals(this.eTag, eTag) && Objects.equals(this.lastModified, lastModified);
+	}
+	
+	/**
+	 * Records the given range of bytes as completed (written to disk)
+	 *
+	 * @param start The first byte of the range
+	 * @param end The end of the range (exclusive)
+	 */
+	public synchronized void markCompleted(long start, long end){
+		if(end <= start){
+			return;
+		}
+		
+		// Merge the new range with any ranges it touches
+		List<long[]> merged = new ArrayList<>();
+		long newStart = start, newEnd = end;
+		int insertAt = 0;
+		for(long[] range: completed){
+			if(range[1] < newStart){
+				merged.add(range);
+				insertAt++;
+			}else if(range[0] > newEnd){
+				merged.add(range);
+			}else{
+				newStart = Math.min(newStart, range[0]);
+				newEnd = Math.max(newEnd, range[1]);
+			}
+		}
+		merged.add(insertAt, new long[]{newStart, newEnd});
+		completed.clear();
+		completed.addAll(merged);
+	}
+	
+	/**
+	 * @return The number of bytes that have been completed
+	 */
+	public synchronized long getCompletedBytes(){
+		long bytes = 0;
+		for(long[] range: completed){
+			bytes += range[1] - range[0];
+		}
+		return bytes;
+	}
+	
+	/**
+	 * @return The ranges of bytes that still need to be downloaded - each is {start, end} with end exclusive
+	 */
+	public synchronized List<long[]> getMissingRanges(){
+		List<long[]> missing = new ArrayList<>();
+		long position = 0;
+		for(long[] range: completed){
+			if(range[0] > position){
+				missing.add(new long[]{position, range[0]});
+			}
+			position = Math.max(position, range[1]);
+		}
+		if(position < totalSize){
+			missing.add(new long[]{position, totalSize});
+		}
+		return missing;
+	}
+	
+	/**
+	 * Saves the journal to its file. The journal is written to a temporary file first and then moved into
+	 * place, so a crash while saving never leaves a half-written journal behind.
+	 *
+	 * @throws IOException If anything goes wrong in saving the journal
+	 */
+	public synchronized void save() throws IOException{
+		Properties properties = new Properties();
+		properties.setProperty(SIZE, String.valueOf(totalSize));
+		if(eTag != null){
+			properties.setProperty(ETAG, eTag);
+		}
+		if(lastModified != null){
+			properties.setProperty(LAST_MODIFIED, lastModified);
+		}
+		List<String> ranges = new ArrayList<>();
+		for(long[] range: completed){
+			ranges.add(range[0] + "-" + range[1]);
+		}
+		properties.setProperty(COMPLETED, String.join(",", ranges));
+		
+		Path tempPath = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+		try(Writer writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)){
+			properties.store(writer, null);
+		}
+		try{
+			Files.move(tempPath, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}catch(AtomicMoveNotSupportedException e){
+			Files.move(tempPath, journalPath, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+	
+	/**
+	 * Deletes the journal file (used once the download is complete)
+	 *
+	 * @throws IOException If anything goes wrong in deleting the journal
+	 */
+	public void delete() throws IOException{
+		Files.deleteIfExists(journalPath);
+	}
+}
@@ -0,0 +1,353 @@
+package com.github.tadukoo.launcher.downloader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * HTTP Metadata Cache is a persistent local cache for small metadata responses, like the ones from GitHub's
+ * releases API. Each response is stored on disk along with its ETag and Last-Modified validators. While a cached
+ * response is younger than the time to live, it is used without going to the network at all. Once it's older,
+ * a conditional request (If-None-Match/If-Modified-Since) is sent, and a 304 Not Modified response means the
+ * cached copy is used again (which, for GitHub, also doesn't count against the rate limit).
+ * <br><br>
+ * If the server can't be reached or responds with an error, a stale cached response is used if there is one.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class HttpMetadataCache{
+	
+	/**
+	 * HTTP Metadata Cache Builder is used to build a new {@link HttpMetadataCache}. It has the following
+	 * parameters:
+	 *
+	 * <table>
+	 *     <caption>HTTP Metadata Cache Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>cacheFolder</td>
+	 *         <td>The folder to store cached responses in</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>timeToLive</td>
+	 *         <td>How long a cached response is used without checking with the server</td>
+	 *         <td>Defaults to {@link #DEFAULT_TIME_TO_LIVE}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>transport</td>
+	 *         <td>The {@link HttpTransport} to make requests with</td>
+	 *         <td>Defaults to the {@link HttpTransport#shared() shared} transport</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class HttpMetadataCacheBuilder{
+		/** The folder to store cached responses in */
+		private Path cacheFolder;
+		/** How long a cached response is used without checking with the server */
+		private Duration timeToLive = DEFAULT_TIME_TO_LIVE;
+		/** The {@link HttpTransport} to make requests with */
+		private HttpTransport transport = HttpTransport.shared();
+		
+		// Not allowed to create HTTP Metadata Cache Builder outside of HTTP Metadata Cache
+		private HttpMetadataCacheBuilder(){ }
+		
+		/**
+		 * @param cacheFolder The folder to store cached responses in
+		 * @return this, to continue building
+		 */
+		public HttpMetadataCacheBuilder cacheFolder(Path cacheFolder){
+			this.cacheFolder = cacheFolder;
+			return this;
+		}
+		
+		/**
+		 * @param timeToLive How long a cached response is used without checking with the server
+		 * @return this, to continue building
+		 */
+		public HttpMetadataCacheBuilder timeToLive(Duration timeToLive){
+			this.timeToLive = timeToLive;
+			return this;
+		}
+		
+		/**
+		 * @param transport The {@link HttpTransport} to make requests with
+		 * @return this, to continue building
+		 */
+		public HttpMetadataCacheBuilder transport(HttpTransport transport){
+			this.transport = transport;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// Cache Folder is required
+			if(cacheFolder == null){
+				errors.add("cacheFolder is required");
+			}
+			// Time to Live is required and can't be negative
+			if(timeToLive == null || timeToLive.isNegative()){
+				errors.add("timeToLive must not be null or negative");
+			}
+			// Transport is required
+			if(transport == null){
+				errors.add("transport is required");
+			}
+			
+			// If we find errors, throw an exception
+			if(!errors.isEmpty()){
+				throw new IllegalArgumentException("The following errors happened in building an " +
+						"HttpMetadataCache: \n" + String.join("\n", errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link HttpMetadataCache} with the set parameters
+		 *
+		 * @return The newly built {@link HttpMetadataCache}
+		 */
+		public HttpMetadataCache build(){
+			checkForErrors();
+			return new HttpMetadataCache(cacheFolder, timeToLive, transport);
+		}
+	}
+	
+	/** The default time a cached response is used without checking with the server */
+	public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+	
+	/** The key used for the URL of a cached response */
+	private static final String URL = "url";
+	/** The key used for the ETag of a cached response */
+	private static final String ETAG = "etag";
+	/** The key used for the Last-Modified date of a cached response */
+	private static final String LAST_MODIFIED = "last-modified";
+	/** The key used for the time (in epoch millis) a cached response was last confirmed with the server */
+	private static final String FETCHED_AT = "fetched-at";
+	
+	/** The folder to store cached responses in */
+	private final Path cacheFolder;
+	/** How long a cached response is used without checking with the server */
+	private final Duration timeToLive;
+	/** The {@link HttpTransport} to make requests with */
+	private final HttpTransport transport;
+	
+	/**
+	 * Creates a new HTTP Metadata Cache with the given parameters
+	 *
+	 * @param cacheFolder The folder to store cached responses in
+	 * @param timeToLive How long a cached response is used without checking with the server
+	 * @param transport The {@link HttpTransport} to make requests with
+	 */
+	private HttpMetadataCache(Path cacheFolder, Duration timeToLive, HttpTransport transport){
+		this.cacheFolder = cacheFolder;
+		this.timeToLive = timeToLive;
+		this.transport = transport;
+	}
+	
+	/**
+	 * @return A new {@link HttpMetadataCacheBuilder} to use to build an {@link HttpMetadataCache}
+	 */
+	public static HttpMetadataCacheBuilder builder(){
+		return new HttpMetadataCacheBuilder();
+	}
+	
+	/**
+	 * @return The folder to store cached responses in
+	 */
+	public Path getCacheFolder(){
+		return cacheFolder;
+	}
+	
+	/**
+	 * @return How long a cached response is used without checking with the server
+	 */
+	public Duration getTimeToLive(){
+		return timeToLive;
+	}
+	
+	/**
+	 * @return The {@link HttpTransport} to make requests with
+	 */
+	public HttpTransport getTransport(){
+		return transport;
+	}
+	
+	/**
+	 * Grabs the response for the given URL, from the cache if possible, otherwise from the server (and stores
+	 * it in the cache for next time).
+	 *
+	 * @param url The URL to get the response for
+	 * @return The {@link Path} of the cached response body
+	 * @throws IOException If the server can't give us the response and there's nothing in the cache for it
+	 */
+	public Path fetch(URL url) throws IOException{
+		Files.createDirectories(cacheFolder);
+		String key = keyFor(url);
+		Path bodyPath = cacheFolder.resolve(key + ".body");
+		Path metadataPath = cacheFolder.resolve(key + ".properties");
+		Properties metadata = loadMetadata(metadataPath, url);
+		boolean cached = metadata != null && Files.isRegularFile(bodyPath);
+		
+		// A fresh entry doesn't need the network at all
+		if(cached){
+			long fetchedAt = getFetchedAt(metadata);
+			if(System.currentTimeMillis() - fetchedAt < timeToLive.toMillis()){
+				return bodyPath;
+			}
+		}
+		
+		try{
+			HttpRequest.Builder request = transport.request(url);
+			if(cached){
+				if(metadata.getProperty(ETAG) != null){
+					request.header("If-None-Match", metadata.getProperty(ETAG));
+				}
+				if(metadata.getProperty(LAST_MODIFIED) != null){
+					request.header("If-Modified-Since", metadata.getProperty(LAST_MODIFIED));
+				}
+			}
+			HttpResponse<InputStream> response = transport.sendStreaming(request.build());
+			int responseCode = response.statusCode();
+			
+			try(InputStream in = response.body()){
+				if(cached && responseCode == HttpURLConnection.HTTP_NOT_MODIFIED){
+					// Still good, so just reset the clock on it
+					metadata.setProperty(FETCHED_AT, String.valueOf(System.currentTimeMillis()));
+					saveMetadata(metadataPath, metadata);
+					return bodyPath;
+				}else if(responseCode == HttpURLConnection.HTTP_OK){
+					// Store the new response
+					Path tempPath = cacheFolder.resolve(key + ".body.tmp");
+					Files.copy(in, tempPath, StandardCopyOption.REPLACE_EXISTING);
+					moveIntoPlace(tempPath, bodyPath);
+					
+					Properties newMetadata = new Properties();
+					newMetadata.setProperty(URL, url.toString());
+					response.headers().firstValue("ETag")
+							.ifPresent(eTag -> newMetadata.setProperty(ETAG, eTag));
+					response.headers().firstValue("Last-Modified")
+							.ifPresent(lastModified -> newMetadata.setProperty(LAST_MODIFIED, lastModified));
+					newMetadata.setProperty(FETCHED_AT, String.valueOf(System.currentTimeMillis()));
+					saveMetadata(metadataPath, newMetadata);
+					return bodyPath;
+				}else if(cached){
+					// Server is having problems (or we hit a rate limit), so a stale response is better than nothing
+					return bodyPath;
+				}
+			}
+			throw new IOException("Failed to fetch " + url + " - server responded with " + responseCode);
+		}catch(IOException e){
+			if(cached){
+				return bodyPath;
+			}
+			throw e;
+		}
+	}
+	
+	/**
+	 * @param url The URL to get the cache key for
+	 * @return The key used for the cache files of the given URL (the SHA-256 of the URL in hex)
+	 */
+	private static String keyFor(URL url){
+		try{
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(url.toString().getBytes(StandardCharsets.UTF_8)));
+		}catch(NoSuchAlgorithmException e){
+			// Every Java implementation is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * Loads the metadata of a cached response
+	 *
+	 * @param metadataPath The {@link Path} of the metadata file
+	 * @param url The URL the response is for (to make sure the metadata really is for it)
+	 * @return The metadata, or null if there is none (or it's broken)
+	 */
+	private static Properties loadMetadata(Path metadataPath, URL url){
+		if(!Files.isRegularFile(metadataPath)){
+			return null;
+		}
+		Properties metadata = new Properties();
+		try(Reader reader = Files.newBufferedReader(metadataPath, StandardCharsets.UTF_8)){
+			metadata.load(reader);
+		}catch(IOException | IllegalArgumentException e){
+			return null;
+		}
+		return url.toString().equals(metadata.getProperty(URL)) ? metadata:null;
+	}
+	
+	/**
+	 * @param metadata The metadata of a cached response
+	 * @return When the response was fetched (in epoch millis), or 0 if that's missing or broken (so it's stale)
+	 */
+	private static long getFetchedAt(Properties metadata){
+		try{
+			return Long.parseLong(metadata.getProperty(FETCHED_AT, "0"));
+		}catch(NumberFormatException e){
+			return 0;
+		}
+	}
+	
+	/**
+	 * Saves the metadata of a cached response
+	 *
+	 * @param metadataPath The {@link Path} of the metadata file
+	 * @param metadata The metadata to save
+	 * @throws IOException If anything goes wrong in saving the metadata
+	 */
+	private static void saveMetadata(Path metadataPath, Properties metadata) throws IOException{
+		Path tempPath = metadataPath.resolveSibling(metadataPath.getFileName() + ".tmp");
+		try(Writer writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)){
+			metadata.store(writer, null);
+		}
+		moveIntoPlace(tempPath, metadataPath);
+	}
+	
+	/**
+	 * Moves the given temporary file into place, atomically if possible
+	 *
+	 * @param tempPath The {@link Path} of the temporary file
+	 * @param path The {@link Path} to move it to
+	 * @throws IOException If anything goes wrong in moving the file
+	 */
+	private static void moveIntoPlace(Path tempPath, Path path) throws IOException{
+		try{
+			Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}catch(AtomicMoveNotSupportedException e){
+			Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+}
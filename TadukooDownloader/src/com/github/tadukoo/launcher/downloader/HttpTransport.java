@@ -0,0 +1,402 @@
+package com.github.tadukoo.launcher.downloader;
+
+import javax.net.ssl.SSLContext;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * HTTP Transport is the one HTTP client the launcher (and the engine) use for all their network I/O, so that they
+ * all share the same pool of connections. A request to a host we've already talked to reuses a kept-alive
+ * connection (or, for HTTP/2 servers, a stream on the same connection) instead of paying for its own DNS lookup
+ * and TCP and TLS handshakes. The number of requests going to a single host at once is limited, which also limits
+ * the number of connections opened to it.
+ * <br><br>
+ * Hosts we know we're about to talk to (like {@link #GITHUB_HOSTS GitHub}) can be {@link #preconnect(URI...)
+ * preconnected} at startup, so the handshakes are already done by the time the first real request goes out.
+ * <br><br>
+ * Most code should use the {@link #shared() shared} transport, rather than building its own.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class HttpTransport{
+	
+	/**
+	 * HTTP Transport Builder is used to build a new {@link HttpTransport}. It has the following parameters:
+	 *
+	 * <table>
+	 *     <caption>HTTP Transport Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>connectTimeout</td>
+	 *         <td>How long to wait for a connection to be made</td>
+	 *         <td>Defaults to {@link #DEFAULT_CONNECT_TIMEOUT}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>maxConnectionsPerHost</td>
+	 *         <td>The maximum number of requests (and so connections) going to a single host at once</td>
+	 *         <td>Defaults to {@link #DEFAULT_MAX_CONNECTIONS_PER_HOST}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>http2</td>
+	 *         <td>Whether to ask servers for HTTP/2 (falling back to HTTP/1.1 for servers that don't have it)</td>
+	 *         <td>Defaults to true</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>sslContext</td>
+	 *         <td>The {@link SSLContext} to use for HTTPS connections</td>
+	 *         <td>Defaults to the default {@link SSLContext}</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class HttpTransportBuilder{
+		/** How long to wait for a connection to be made */
+		private Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+		/** The maximum number of requests (and so connections) going to a single host at once */
+		private int maxConnectionsPerHost = DEFAULT_MAX_CONNECTIONS_PER_HOST;
+		/** Whether to ask servers for HTTP/2 */
+		private boolean http2 = true;
+		/** The {@link SSLContext} to use for HTTPS connections */
+		private SSLContext sslContext = null;
+		
+		// Not allowed to create HTTP Transport Builder outside of HTTP Transport
+		private HttpTransportBuilder(){ }
+		
+		/**
+		 * @param connectTimeout How long to wait for a connection to be made
+		 * @return this, to continue building
+		 */
+		public HttpTransportBuilder connectTimeout(Duration connectTimeout){
+			this.connectTimeout = connectTimeout;
+			return this;
+		}
+		
+		/**
+		 * @param maxConnectionsPerHost The maximum number of requests (and so connections) going to a single host
+		 *                              at once
+		 * @return this, to continue building
+		 */
+		public HttpTransportBuilder maxConnectionsPerHost(int maxConnectionsPerHost){
+			this.maxConnectionsPerHost = maxConnectionsPerHost;
+			return this;
+		}
+		
+		/**
+		 * @param http2 Whether to ask servers for HTTP/2 (falling back to HTTP/1.1 for servers that don't have it)
+		 * @return this, to continue building
+		 */
+		public HttpTransportBuilder http2(boolean http2){
+			this.http2 = http2;
+			return this;
+		}
+		
+		/**
+		 * @param sslContext The {@link SSLContext} to use for HTTPS connections
+		 * @return this, to continue building
+		 */
+		public HttpTransportBuilder sslContext(SSLContext sslContext){
+			this.sslContext = sslContext;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// Connect Timeout must be positive
+			if(connectTimeout == null || connectTimeout.isNegative() || connectTimeout.isZero()){
+				errors.add("connectTimeout must be positive");
+			}
+			// Max Connections Per Host must be at least 1
+			if(maxConnectionsPerHost < 1){
+				errors.add("maxConnectionsPerHost must be at least 1");
+			}
+			
+			// If we find errors, throw an exception
+			if(!errors.isEmpty()){
+				throw new IllegalArgumentException("The following errors happened in building an " +
+						"HttpTransport: \n" + String.join("\n", errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link HttpTransport} with the set parameters
+		 *
+		 * @return The newly built {@link HttpTransport}
+		 */
+		public HttpTransport build(){
+			checkForErrors();
+			
+			SSLContext context = sslContext;
+			if(context == null){
+				try{
+					context = SSLContext.getDefault();
+				}catch(NoSuchAlgorithmException e){
+					throw new IllegalStateException("No default SSLContext is available", e);
+				}
+			}
+			return new HttpTransport(connectTimeout, maxConnectionsPerHost, http2, context);
+		}
+	}
+	
+	/** The default for how long to wait for a connection to be made */
+	public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+	/** The default maximum number of requests (and so connections) going to a single host at once */
+	public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 6;
+	/**
+	 * The GitHub hosts the launcher downloads from: the API (for release info), github.com (where release asset
+	 * links point), and the host those links redirect to (where the bytes actually come from)
+	 */
+	public static final List<URI> GITHUB_HOSTS = List.of(URI.create("https://api.github.com/"),
+			URI.create("https://github.com/"), URI.create("https://objects.githubusercontent.com/"));
+	
+	/**
+	 * Holds the {@link #shared() shared} transport, so it isn't created until it's first used
+	 */
+	private static class SharedTransport{
+		/** The shared {@link HttpTransport} */
+		private static final HttpTransport TRANSPORT = HttpTransport.builder().build();
+	}
+	
+	/** How long to wait for a connection to be made */
+	private final Duration connectTimeout;
+	/** The maximum number of requests (and so connections) going to a single host at once */
+	private final int maxConnectionsPerHost;
+	/** Whether to ask servers for HTTP/2 */
+	private final boolean http2;
+	/** The {@link HttpClient} that holds the pool of connections */
+	private final HttpClient client;
+	/** The {@link Semaphore Semaphores} limiting the requests to each host, keyed by scheme, host, and port */
+	private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+	
+	/**
+	 * Creates a new HTTP Transport with the given parameters
+	 *
+	 * @param connectTimeout How long to wait for a connection to be made
+	 * @param maxConnectionsPerHost The maximum number of requests (and so connections) going to a single host at once
+	 * @param http2 Whether to ask servers for HTTP/2
+	 * @param sslContext The {@link SSLContext} to use for HTTPS connections
+	 */
+	private HttpTransport(Duration connectTimeout, int maxConnectionsPerHost, boolean http2, SSLContext sslContext){
+		this.connectTimeout = connectTimeout;
+		this.maxConnectionsPerHost = maxConnectionsPerHost;
+		this.http2 = http2;
+		client = HttpClient.newBuilder()
+				.version(http2 ? HttpClient.Version.HTTP_2:HttpClient.Version.HTTP_1_1)
+				.followRedirects(HttpClient.Redirect.NORMAL)
+				.connectTimeout(connectTimeout)
+				.sslContext(sslContext)
+				.build();
+	}
+	
+	/**
+	 * @return A new {@link HttpTransportBuilder} to use to build an {@link HttpTransport}
+	 */
+	public static HttpTransportBuilder builder(){
+		return new HttpTransportBuilder();
+	}
+	
+	/**
+	 * @return The launcher-wide {@link HttpTransport}, which everything should use unless it has a good reason
+	 * not to
+	 */
+	public static HttpTransport shared(){
+		return SharedTransport.TRANSPORT;
+	}
+	
+	/**
+	 * @return How long to wait for a connection to be made
+	 */
+	public Duration getConnectTimeout(){
+		return connectTimeout;
+	}
+	
+	/**
+	 * @return The maximum number of requests (and so connections) going to a single host at once
+	 */
+	public int getMaxConnectionsPerHost(){
+		return maxConnectionsPerHost;
+	}
+	
+	/**
+	 * @return Whether servers are asked for HTTP/2
+	 */
+	public boolean isHttp2(){
+		return http2;
+	}
+	
+	/**
+	 * @return The {@link HttpClient} that holds the pool of connections
+	 */
+	public HttpClient getClient(){
+		return client;
+	}
+	
+	/**
+	 * Starts building a GET request for the given URI
+	 *
+	 * @param uri The URI to make the request to
+	 * @return An {@link HttpRequest.Builder} for the request, to add any headers to
+	 */
+	public HttpRequest.Builder request(URI uri){
+		return HttpRequest.newBuilder(uri).GET();
+	}
+	
+	/**
+	 * Starts building a GET request for the given URL
+	 *
+	 * @param url The URL to make the request to
+	 * @return An {@link HttpRequest.Builder} for the request, to add any headers to
+	 * @throws IOException If the URL can't be made into a URI
+	 */
+	public HttpRequest.Builder request(URL url) throws IOException{
+		try{
+			return request(url.toURI());
+		}catch(URISyntaxException e){
+			throw new IOException("Bad URL: " + url, e);
+		}
+	}
+	
+	/**
+	 * Sends the given request and waits for the whole response. This shouldn't be used for responses that are
+	 * read as a stream, since the request stops counting against its host's limit as soon as this returns (use
+	 * {@link #sendStreaming(HttpRequest)} for those).
+	 *
+	 * @param request The {@link HttpRequest} to send
+	 * @param bodyHandler The {@link HttpResponse.BodyHandler} to handle the response body with
+	 * @param <T> The type of the response body
+	 * @return The {@link HttpResponse}
+	 * @throws IOException If anything goes wrong in sending the request (or we're interrupted while waiting)
+	 */
+	public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException{
+		Semaphore permits = acquire(request.uri());
+		try{
+			return client.send(request, bodyHandler);
+		}catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while requesting " + request.uri());
+		}finally{
+			permits.release();
+		}
+	}
+	
+	/**
+	 * Sends the given request and returns as soon as the response headers are in, with the body as an
+	 * {@link InputStream}. The request counts against its host's limit until the body is closed, so the body
+	 * must always be closed.
+	 *
+	 * @param request The {@link HttpRequest} to send
+	 * @return The {@link HttpResponse}, whose body must be closed
+	 * @throws IOException If anything goes wrong in sending the request (or we're interrupted while waiting)
+	 */
+	public HttpResponse<InputStream> sendStreaming(HttpRequest request) throws IOException{
+		Semaphore permits = acquire(request.uri());
+		AtomicBoolean released = new AtomicBoolean();
+		Runnable release = () -> {
+			if(released.compareAndSet(false, true)){
+				permits.release();
+			}
+		};
+		try{
+			return client.send(request, responseInfo -> HttpResponse.BodySubscribers.mapping(
+					HttpResponse.BodySubscribers.ofInputStream(), in -> new FilterInputStream(in){
+						@Override
+						public void close() throws IOException{
+							try{
+								super.close();
+							}finally{
+								release.run();
+							}
+						}
+					}));
+		}catch(InterruptedException e){
+			release.run();
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while requesting " + request.uri());
+		}catch(IOException | RuntimeException e){
+			release.run();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Speculatively connects to the given hosts in the background (with a HEAD request to each), so that the
+	 * DNS lookups and handshakes are out of the way and the connections are waiting in the pool by the time
+	 * they're needed. Any failures are ignored, since the real requests will just connect themselves.
+	 *
+	 * @param hosts The URIs of the hosts to connect to (only the scheme, host, and port matter)
+	 * @return A {@link CompletableFuture} that completes once all the hosts have been tried
+	 */
+	public CompletableFuture<Void> preconnect(URI ... hosts){
+		return preconnect(List.of(hosts));
+	}
+	
+	/**
+	 * Speculatively connects to the given hosts in the background (with a HEAD request to each), so that the
+	 * DNS lookups and handshakes are out of the way and the connections are waiting in the pool by the time
+	 * they're needed. Any failures are ignored, since the real requests will just connect themselves.
+	 *
+	 * @param hosts The URIs of the hosts to connect to (only the scheme, host, and port matter)
+	 * @return A {@link CompletableFuture} that completes once all the hosts have been tried
+	 */
+	public CompletableFuture<Void> preconnect(List<URI> hosts){
+		List<CompletableFuture<?>> attempts = new ArrayList<>();
+		for(URI host: hosts){
+			HttpRequest request = HttpRequest.newBuilder(host.resolve("/"))
+					.method("HEAD", HttpRequest.BodyPublishers.noBody())
+					.build();
+			attempts.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+					.handle((response, error) -> null));
+		}
+		return CompletableFuture.allOf(attempts.toArray(new CompletableFuture<?>[0]));
+	}
+	
+	/**
+	 * Waits for a spot in the given URI's host's limit
+	 *
+	 * @param uri The URI a request is being made to
+	 * @return The {@link Semaphore} for the host, which must be released once the request is done
+	 * @throws InterruptedIOException If we're interrupted while waiting
+	 */
+	private Semaphore acquire(URI uri) throws InterruptedIOException{
+		String scheme = String.valueOf(uri.getScheme()).toLowerCase(Locale.ROOT);
+		String host = scheme + "://" + String.valueOf(uri.getHost()).toLowerCase(Locale.ROOT) + ":" + uri.getPort();
+		Semaphore permits = hostPermits.computeIfAbsent(host, key -> new Semaphore(maxConnectionsPerHost, true));
+		try{
+			permits.acquire();
+		}catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting to request " + uri);
+		}
+		return permits;
+	}
+}
@@ -0,0 +1,350 @@
+package com.github.tadukoo.launcher.downloader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+
+/**
+ * Incremental Extractor keeps a folder in sync with the contents of a {@link RemoteZip}, only downloading the
+ * entries that are new or changed since the last time. It keeps a manifest in the folder with the release tag
+ * that was last extracted and the CRC-32 and size of every entry that came from the zip (those come straight
+ * from the zip's central directory, so they can be compared without downloading anything). Entries that were
+ * removed from the zip are deleted from the folder.
+ * <br><br>
+ * When there's nothing extracted yet (so every entry would be downloaded anyway), the whole zip can instead be
+ * streamed through a {@link StreamingUnzipper} with
+ * {@link #update(InputStream, String, StreamingUnzipper.EntryListener) update}, which extracts the entries as the
+ * download arrives, in a single request. A zip that's already on disk (including the copy a {@link RemoteZip}
+ * makes when the server doesn't support range requests) is extracted in parallel by a {@link ParallelZipExtractor}.
+ * <br><br>
+ * The manifest is only saved after everything was extracted, so an interrupted update is simply picked up again
+ * the next time (any entries that made it already will match and be skipped).
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class IncrementalExtractor{
+	
+	/**
+	 * Incremental Extractor Result holds the counts of what happened in an update.
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class IncrementalExtractorResult{
+		/** The number of entries that were downloaded and extracted */
+		private final int extracted;
+		/** The number of entries that were already up-to-date */
+		private final int unchanged;
+		/** The number of files that were deleted because they were removed from the zip */
+		private final int removed;
+		
+		/**
+		 * Creates a new Incremental Extractor Result with the given counts
+		 *
+		 * @param extracted The number of entries that were downloaded and extracted
+		 * @param unchanged The number of entries that were already up-to-date
+		 * @param removed The number of files that were deleted because they were removed from the zip
+		 */
+		private IncrementalExtractorResult(int extracted, int unchanged, int removed){
+			this.extracted = extracted;
+			this.unchanged = unchanged;
+			this.removed = removed;
+		}
+		
+		/**
+		 * @return The number of entries that were downloaded and extracted
+		 */
+		public int getExtracted(){
+			return extracted;
+		}
+		
+		/**
+		 * @return The number of entries that were already up-to-date
+		 */
+		public int getUnchanged(){
+			return unchanged;
+		}
+		
+		/**
+		 * @return The number of files that were deleted because they were removed from the zip
+		 */
+		public int getRemoved(){
+			return removed;
+		}
+		
+		/** {@inheritDoc} */
+		@Override
+		public String toString(){
+			return extracted + " extracted, " + unchanged + " unchanged, " + removed + " removed";
+		}
+	}
+	
+	/** The default name of the manifest file */
+	public static final String DEFAULT_MANIFEST_NAME = "manifest.properties";
+	
+	/** The key used for the release tag that was last extracted */
+	private static final String RELEASE_TAG = "release-tag";
+	/** The prefix used for the keys of entries in the manifest */
+	private static final String ENTRY_PREFIX = "entry.";
+	
+	/** The folder to extract to */
+	private final Path folder;
+	/** The {@link Path} of the manifest file */
+	private final Path manifestPath;
+	
+	/**
+	 * Creates a new Incremental Extractor for the given folder, using the default manifest name
+	 *
+	 * @param folder The folder to extract to
+	 */
+	public IncrementalExtractor(Path folder){
+		this(folder, folder.resolve(DEFAULT_MANIFEST_NAME));
+	}
+	
+	/**
+	 * Creates a new Incremental Extractor for the given folder and manifest
+	 *
+	 * @param folder The folder to extract to
+	 * @param manifestPath The {@link Path} of the manifest file
+	 */
+	public IncrementalExtractor(Path folder, Path manifestPath){
+		this.folder = folder;
+		this.manifestPath = manifestPath;
+	}
+	
+	/**
+	 * @return The folder to extract to
+	 */
+	public Path getFolder(){
+		return folder;
+	}
+	
+	/**
+	 * @return The {@link Path} of the manifest file
+	 */
+	public Path getManifestPath(){
+		return manifestPath;
+	}
+	
+	/**
+	 * @return The release tag that was last extracted, or null if nothing has been extracted yet
+	 */
+	public String getReleaseTag(){
+		return loadManifest().getProperty(RELEASE_TAG);
+	}
+	
+	/**
+	 * Checks whether the given release tag was the last one extracted (in which case there's nothing to do)
+	 *
+	 * @param releaseTag The release tag to check
+	 * @return Whether the folder is already up-to-date with the given release
+	 */
+	public boolean isUpToDate(String releaseTag){
+		return releaseTag != null && releaseTag.equals(getReleaseTag());
+	}
+	
+	/**
+	 * Brings the folder up-to-date with the given zip, extracting only the entries that are new or changed and
+	 * deleting the ones that were removed
+	 *
+	 * @param zip The {@link RemoteZip} to extract from
+	 * @param releaseTag The release tag of the zip (may be null)
+	 * @return An {@link IncrementalExtractorResult} with the counts of what happened
+	 * @throws IOException If anything goes wrong in downloading or extracting
+	 */
+	public IncrementalExtractorResult update(RemoteZip zip, String releaseTag) throws IOException{
+		return update(zip, releaseTag, null);
+	}
+	
+	/**
+	 * Brings the folder up-to-date with the given zip, extracting only the entries that are new or changed and
+	 * deleting the ones that were removed
+	 *
+	 * @param zip The {@link RemoteZip} to extract from
+	 * @param releaseTag The release tag of the zip (may be null)
+	 * @param listener The {@link StreamingUnzipper.EntryListener} to tell about each extracted entry (may be null)
+	 * @return An {@link IncrementalExtractorResult} with the counts of what happened
+	 * @throws IOException If anything goes wrong in downloading or extracting
+	 */
+	public IncrementalExtractorResult update(
+			RemoteZip zip, String releaseTag, StreamingUnzipper.EntryListener listener) throws IOException{
+		// If the whole zip had to be downloaded anyway, extract it all at once from the local copy
+		if(zip.isFullyDownloaded()){
+			return update(zip.getLocalCopy(), releaseTag, listener);
+		}
+		
+		Files.createDirectories(folder);
+		Path normalizedFolder = folder.toAbsolutePath().normalize();
+		Path normalizedManifest = manifestPath.toAbsolutePath().normalize();
+		Properties oldManifest = loadManifest();
+		Properties newManifest = new Properties();
+		Set<String> names = new HashSet<>();
+		int extracted = 0, unchanged = 0;
+		
+		for(RemoteZip.RemoteZipEntry entry: zip.getEntries()){
+			if(entry.isDirectory()){
+				continue;
+			}
+			Path destination = normalizedFolder.resolve(entry.getName()).normalize();
+			if(!destination.startsWith(normalizedFolder) || destination.equals(normalizedManifest)){
+				throw new IOException("Bad entry name in " + zip.getURL() + ": " + entry.getName());
+			}
+			String version = Long.toHexString(entry.getCrc()) + ":" + entry.getSize();
+			String key = ENTRY_PREFIX + entry.getName();
+			names.add(key);
+			newManifest.setProperty(key, version);
+			
+			if(version.equals(oldManifest.getProperty(key)) && Files.isRegularFile(destination) &&
+					Files.size(destination) == entry.getSize()){
+				unchanged++;
+			}else{
+				zip.extractEntry(entry, destination);
+				extracted++;
+				if(listener != null){
+					listener.entryExtracted(entry.getName(), destination);
+				}
+			}
+		}
+		
+		int removed = finishUpdate(oldManifest, newManifest, names, releaseTag);
+		return new IncrementalExtractorResult(extracted, unchanged, removed);
+	}
+	
+	/**
+	 * Brings the folder up-to-date with the zip in the given stream, extracting every entry as the stream is read
+	 * (with a {@link StreamingUnzipper}) and deleting the ones that were removed. Since every entry is downloaded
+	 * this way, it's meant for when nothing (or nearly nothing) is extracted yet - the whole zip comes in a single
+	 * request, and is never stored.
+	 *
+	 * @param zipStream An {@link InputStream} of the zip (it's read, but not closed)
+	 * @param releaseTag The release tag of the zip (may be null)
+	 * @param listener The {@link StreamingUnzipper.EntryListener} to tell about each extracted entry as soon as
+	 * it's done (may be null)
+	 * @return An {@link IncrementalExtractorResult} with the counts of what happened
+	 * @throws IOException If anything goes wrong in reading or extracting
+	 */
+	public IncrementalExtractorResult update(
+			InputStream zipStream, String releaseTag, StreamingUnzipper.EntryListener listener) throws IOException{
+		Properties oldManifest = loadManifest();
+		Properties newManifest = new Properties();
+		Set<String> names = new HashSet<>();
+		List<ZipEntry> entries = new StreamingUnzipper(folder, List.of(manifestPath)).extract(zipStream, listener);
+		for(ZipEntry entry: entries){
+			String key = ENTRY_PREFIX + entry.getName();
+			names.add(key);
+			newManifest.setProperty(key, Long.toHexString(entry.getCrc()) + ":" + entry.getSize());
+		}
+		
+		int removed = finishUpdate(oldManifest, newManifest, names, releaseTag);
+		return new IncrementalExtractorResult(entries.size(), 0, removed);
+	}
+	
+	/**
+	 * Brings the folder up-to-date with the given zip file on disk, using a {@link ParallelZipExtractor} to extract
+	 * the entries whose files don't already match them (checked against the files themselves, so it doesn't matter
+	 * what the manifest says), and deleting the ones that were removed
+	 *
+	 * @param zipFile The {@link Path} of the zip to extract
+	 * @param releaseTag The release tag of the zip (may be null)
+	 * @param listener The {@link StreamingUnzipper.EntryListener} to tell about each extracted entry (may be null,
+	 * and is called from several threads at once)
+	 * @return An {@link IncrementalExtractorResult} with the counts of what happened
+	 * @throws IOException If anything goes wrong in reading or extracting
+	 */
+	public IncrementalExtractorResult update(
+			Path zipFile, String releaseTag, StreamingUnzipper.EntryListener listener) throws IOException{
+		Properties oldManifest = loadManifest();
+		Properties newManifest = new Properties();
+		Set<String> names = new HashSet<>();
+		ParallelZipExtractor.ParallelZipExtractorResult result = ParallelZipExtractor.builder()
+				.folder(folder)
+				.reservedFiles(List.of(manifestPath))
+				.listener(listener)
+				.build()
+				.extract(zipFile);
+		for(ZipEntry entry: result.getEntries()){
+			String key = ENTRY_PREFIX + entry.getName();
+			names.add(key);
+			newManifest.setProperty(key, Long.toHexString(entry.getCrc()) + ":" + entry.getSize());
+		}
+		
+		int removed = finishUpdate(oldManifest, newManifest, names, releaseTag);
+		return new IncrementalExtractorResult(result.getExtracted(), result.getUnchanged(), removed);
+	}
+	
+	/**
+	 * Deletes anything that was extracted before that's no longer in the zip, and saves the new manifest
+	 *
+	 * @param oldManifest The manifest from before the update
+	 * @param newManifest The manifest of the entries in the zip
+	 * @param names The manifest keys of the entries in the zip
+	 * @param releaseTag The release tag of the zip (may be null)
+	 * @return The number of files that were deleted
+	 * @throws IOException If anything goes wrong in saving the manifest
+	 */
+	private int finishUpdate(Properties oldManifest, Properties newManifest, Set<String> names, String releaseTag)
+			throws IOException{
+		Path normalizedFolder = folder.toAbsolutePath().normalize();
+		int removed = 0;
+		for(String key: oldManifest.stringPropertyNames()){
+			if(key.startsWith(ENTRY_PREFIX) && !names.contains(key)){
+				Path oldFile = normalizedFolder.resolve(key.substring(ENTRY_PREFIX.length())).normalize();
+				if(oldFile.startsWith(normalizedFolder) && Files.deleteIfExists(oldFile)){
+					removed++;
+				}
+			}
+		}
+		
+		if(releaseTag != null){
+			newManifest.setProperty(RELEASE_TAG, releaseTag);
+		}
+		saveManifest(newManifest);
+		return removed;
+	}
+	
+	/**
+	 * @return The manifest (empty if there isn't one yet, or it's broken)
+	 */
+	private Properties loadManifest(){
+		Properties manifest = new Properties();
+		if(Files.isRegularFile(manifestPath)){
+			try(Reader reader = Files.newBufferedReader(manifestPath, StandardCharsets.UTF_8)){
+				manifest.load(reader);
+			}catch(IOException | IllegalArgumentException e){
+				// A broken manifest is the same as no manifest - everything just gets extracted again
+				return new Properties();
+			}
+		}
+		return manifest;
+	}
+	
+	/**
+	 * Saves the manifest, through a temporary file so a crash while saving never leaves a half-written one behind
+	 *
+	 * @param manifest The manifest to save
+	 * @throws IOException If anything goes wrong in saving the manifest
+	 */
+	private void saveManifest(Properties manifest) throws IOException{
+		Path tempPath = manifestPath.resolveSibling(manifestPath.getFileName() + ".tmp");
+		try(Writer writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)){
+			manifest.store(writer, null);
+		}
+		try{
+			Files.move(tempPath, manifestPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}catch(AtomicMoveNotSupportedException e){
+			Files.move(tempPath, manifestPath, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+}
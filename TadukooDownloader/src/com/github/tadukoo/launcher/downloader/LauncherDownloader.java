@@ -1,18 +1,15 @@
 package com.github.tadukoo.launcher.downloader;
 
-import javax.net.ssl.HttpsURLConnection;
 import javax.swing.*;
 import java.io.BufferedReader;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
+import java.net.URISyntaxException;
 import java.net.URL;
-import java.nio.channels.Channels;
-import java.nio.channels.FileChannel;
-import java.nio.channels.ReadableByteChannel;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
 
 /**
  * This class downloads the Tadukoo Launcher installer exe from GitHub (showing download
@@ -23,55 +20,26 @@ import java.util.regex.Pattern;
  */
 public class LauncherDownloader{
 	/**
-	 * This pattern is used to grab the file size and download URL of the TadukooLauncher exe to
-	 * install the Tadukoo Launcher. This pattern matches against the JSON returned by GitHub's
-	 * "latest release" endpoint. This is kinda a cheaty way to handle this, but I don't want
-	 * to actually handle the JSON, as I'm trying to produce a smaller jar
+	 * This is used to grab the file size and download URL of the TadukooLauncher exe to install the Tadukoo
+	 * Launcher out of the JSON returned by GitHub's "latest release" endpoint. It only reads as much of the
+	 * JSON as it needs to, so we don't need a JSON library and can keep the jar small
 	 */
-	private static final Pattern githubPattern = Pattern.compile(
-			"[\\s\\S]*\"assets\":" +
-			"\\s*\\[[\\s\\S]*\\{\\s*" +
-			"\"url\":\\s*\"[^\"]*\",\\s*" +
-			"\"id\":\\s*\\d*,\\s*" +
-			"\"node_id\":\\s*\"[^\"]*\",\\s*" +
-			"\"name\":\\s*\"TadukooLauncher-[^\"]*.exe\",\\s*" +
-			"\"label\":\\s*[^{}]*,\\s*" +
-			"\"uploader\":\\s*\\{\\s*" +
-			"\"login\":\\s*\"[^\"]*\",\\s*" +
-			"\"id\":\\s*\\d*,\\s*" +
-			"\"node_id\":\\s*\"[^\"]*\",\\s*" +
-			"\"avatar_url\":\\s*\"[^\"]*\",\\s*" +
-			"\"gravatar_id\":\\s*\"[^\"]*\",\\s*" +
-			"\"url\":\\s*\"[^\"]*\",\\s*" +
-			"\"html_url\":\\s*\"[^\"]*\",\\s*" +
-			"\"followers_url\":\\s*\"[^\"]*\",\\s*" +
-			"\"following_url\":\\s*\"[^\"]*\",\\s*" +
-			"\"gists_url\":\\s*\"[^\"]*\",\\s*" +
-			"\"starred_url\":\\s*\"[^\"]*\",\\s*" +
-			"\"subscriptions_url\":\\s*\"[^\"]*\",\\s*" +
-			"\"organizations_url\":\\s*\"[^\"]*\",\\s*" +
-			"\"repos_url\":\\s*\"[^\"]*\",\\s*" +
-			"\"events_url\":\\s*\"[^\"]*\",\\s*" +
-			"\"received_events_url\":\\s*\"[^\"]*\",\\s*" +
-			"\"type\":\\s*\"[^\"]*\",\\s*" +
-			"\"site_admin\":\\s*(?:true|false)\\s*},\\s*" +
-			"\"content_type\":\\s*\"[^\"]*\",\\s*" +
-			"\"state\":\\s*\"[^\"]*\",\\s*" +
-			"\"size\":\\s*(\\d*),\\s*" +
-			"\"download_count\":\\s*\\d*,\\s*" +
-			"\"created_at\":\\s*\"[^\"]*\",\\s*" +
-			"\"updated_at\":\\s*\"[^\"]*\",\\s*" +
-			"\"browser_download_url\":\\s*\"([^\"]*)\"\\s*}[\\s\\S]*\\s*],\\s*" +
-			"\"tarball_url\":\\s*\"[^\"]*\",\\s*" +
-			"\"zipball_url\":\\s*\"[^\"]*\",\\s*" +
-			"\"body\":\\s*\"[\\s\\S]*\"\\s*}");
+	private static final ReleaseAssetExtractor assetExtractor = new ReleaseAssetExtractor(
+			name -> name.startsWith("TadukooLauncher-") && name.endsWith(".exe"));
 	
-	/** The amount of bytes in a kilobyte */
-	private static final long bytesInKB = 1024;
-	/** The amount of bytes in a megabyte */
-	private static final long bytesInMB = bytesInKB * 1024;
-	/** The amount of bytes in a gigabyte */
-	private static final long bytesInGB = bytesInMB * 1024;
+	/** The name of the cache folder (the same one the Launcher uses), kept next to the downloader */
+	private static final String CACHE_FOLDER = "cache/";
+	
+	/**
+	 * Cache for GitHub's "latest release" response, so running the downloader again (e.g. to resume a download)
+	 * doesn't have to hit GitHub's API again
+	 */
+	private static final HttpMetadataCache releaseCache = HttpMetadataCache.builder()
+			.cacheFolder(getInstallFolder().resolve(CACHE_FOLDER))
+			.build();
+	
+	/** The {@link RetryPolicy} for looking up the latest release, so a hiccup on GitHub's end doesn't stop us */
+	private static final RetryPolicy lookupRetryPolicy = RetryPolicy.builder().build();
 	
 	/** The progress bar to show progress to the user */
 	private static JProgressBar progressBar;
@@ -84,13 +52,14 @@ public class LauncherDownloader{
 	
 	/**
 	 * Sets up the frame to show the user, retrieves the necessary download info from GitHub, downloads the
-	 * installer, tells it to run, and then exits.
+	 * installer, tells it to run, and then exits. Connections to GitHub are started right away, so they're
+	 * ready by the time we need them.
 	 *
 	 * @param args Not used
 	 * @throws IOException If something goes wrong in retrieving info from GitHub
 	 */
 	public static void main(String[] args) throws IOException{
-		System.out.println(githubPattern.pattern());
+		HttpTransport.shared().preconnect(HttpTransport.GITHUB_HOSTS);
 		setupFrame();
 		retrieveInfoFromGitHub();
 		downloadFile();
@@ -99,6 +68,29 @@ public class LauncherDownloader{
 		System.exit(0);
 	}
 	
+	/**
+	 * Finds the folder the downloader is installed in (the folder its jar is in), so the cache ends up in the same
+	 * place no matter which folder the downloader was started from. The launcher's jars are installed in the same
+	 * folder, so it uses this for its cache too. If that can't be figured out (e.g. running from classes in an IDE),
+	 * the current folder is used.
+	 *
+	 * @return The {@link Path} of the folder the downloader is installed in
+	 */
+	public static Path getInstallFolder(){
+		CodeSource codeSource = LauncherDownloader.class.getProtectionDomain().getCodeSource();
+		if(codeSource != null && codeSource.getLocation() != null){
+			try{
+				Path location = Paths.get(codeSource.getLocation().toURI());
+				if(Files.isRegularFile(location) && location.getParent() != null){
+					return location.getParent();
+				}
+			}catch(URISyntaxException | IllegalArgumentException e){
+				// Fall back to the current folder below
+			}
+		}
+		return Paths.get("").toAbsolutePath();
+	}
+	
 	/**
 	 * Creates a window with the progress bar and some info about what we're downloading
 	 */
@@ -158,89 +150,60 @@ public class LauncherDownloader{
 	}
 	
 	/**
-	 * Retrieves the file URL and size from GitHub
+	 * Retrieves the file URL and size from GitHub (using the {@link #releaseCache}). Failed lookups are tried
+	 * again a few times (waiting a bit longer each time) before giving up.
 	 *
-	 * @throws IOException If most anything goes wrong
+	 * @throws IOException If the lookup keeps failing, or the installer isn't in the latest release
 	 */
 	private static void retrieveInfoFromGitHub() throws IOException{
-		// Grab latest release off GitHub
-		URL url = new URL("https://api.github.com/repos/Tadukoo/TadukooEngine/releases/latest");
-		HttpsURLConnection connection = (HttpsURLConnection) url.openConnection();
-		connection.setRequestMethod("GET");
-		connection.connect();
-		BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-		String inputLine;
-		StringBuilder contentBuffer = new StringBuilder();
-		while((inputLine = in.readLine()) != null){
-			contentBuffer.append(inputLine);
-		}
-		in.close();
-		connection.disconnect();
+		// Grab latest release off GitHub (or out of the cache, if we checked recently or it hasn't changed)
+		URL releaseURL = new URL("https://api.github.com/repos/Tadukoo/TadukooEngine/releases/latest");
+		Path releaseJSON = lookupRetryPolicy.run(() -> releaseCache.fetch(releaseURL));
 		
 		// Parse the content to get the download information
-		String content = contentBuffer.toString();
-		Matcher matcher = githubPattern.matcher(content);
-		if(matcher.matches()){
-			fileSize = Long.parseLong(matcher.group(1));
-			fileURL = new URL(matcher.group(2));
+		ReleaseAssetExtractor.ReleaseAsset asset;
+		try(BufferedReader in = Files.newBufferedReader(releaseJSON, StandardCharsets.UTF_8)){
+			asset = assetExtractor.extract(in);
+		}
+		if(asset != null){
+			fileSize = asset.getSize();
+			fileURL = new URL(asset.getBrowserDownloadURL());
 		}else{
 			// TODO: Write error log
-			throw new IllegalStateException("Failed to get info from GitHub");
+			throw new IOException("Failed to find the installer in the latest release on GitHub");
 		}
 	}
 	
 	/**
-	 * Updates the progress in the progress bar using the current progress and how much has been
-	 * downloaded so far
-	 *
-	 * @param progress The current progress out of 100
-	 * @param readSoFar How many bytes have been read so far
-	 * @param expectedSize How many total bytes there are to read
-	 */
-	public static void progressUpdate(double progress, long readSoFar, long expectedSize){
-		if(progress > 100.0){
-			progress = 100.0;
-			readSoFar = expectedSize;
-		}
-		
-		// Unit conversion
-		String units = "bytes";
-		long realReadSoFar = readSoFar;
-		long realExpectedSize = expectedSize;
-		if(realExpectedSize >= bytesInGB){
-			realReadSoFar = realReadSoFar/bytesInGB;
-			realExpectedSize = realExpectedSize/bytesInGB;
-			units = "GB";
-		}else if(realExpectedSize >= bytesInMB){
-			realReadSoFar = realReadSoFar/bytesInMB;
-			realExpectedSize = realExpectedSize/bytesInMB;
-			units = "MB";
-		}else if(realExpectedSize >= bytesInKB){
-			realReadSoFar = realReadSoFar/bytesInKB;
-			realExpectedSize = realExpectedSize/bytesInKB;
-			units = "KB";
-		}
-		
-		progressBar.setValue((int) progress);
-		progressBar.setString(progress + "% - " + realReadSoFar + "/" + realExpectedSize + " " + units);
-	}
-	
-	/**
-	 * Download the file from GitHub, using the {@link ProgressReadableByteChannelWrapper} so
-	 * that we can update the progress bar.
+	 * Download the file from GitHub, using the {@link ParallelFileDownloader} to download it over several
+	 * connections at once (falling back to a single stream if GitHub doesn't support it), so that we can
+	 * update the progress bar with the combined progress. The download is resumable, so if it gets
+	 * interrupted, running the downloader again picks up where it left off.
+	 * <br><br>
+	 * Progress goes through a {@link ProgressTracker}, so the progress bar is updated at a steady frame rate
+	 * on the event dispatch thread (with the download speed and time left), rather than on every read.
 	 *
 	 * @throws IOException If basically anything goes wrong
 	 */
 	private static void downloadFile() throws IOException{
 		progressBar.setValue(0);
-		ReadableByteChannel fileDownload = new ProgressReadableByteChannelWrapper(
-				Channels.newChannel(fileURL.openStream()), fileSize);
-		HttpURLConnection.setFollowRedirects(true);
-		FileOutputStream fileOutputStream = new FileOutputStream(fileName);
-		FileChannel fileChannel = fileOutputStream.getChannel();
-		fileChannel.transferFrom(fileDownload, 0, Long.MAX_VALUE);
-		fileDownload.close();
-		fileChannel.close();
-		fileOutputStream.close();
+		ProgressTracker tracker = ProgressTracker.builder()
+				.view(snapshot -> {
+					progressBar.setValue((int) Math.max(0, snapshot.getProgress()));
+					progressBar.setString(snapshot.describe());
+				})
+				.build();
+		ProgressTracker.Transfer transfer = tracker.startTransfer(fileSize);
+		try{
+			ParallelFileDownloader.builder()
+					.url(fileURL)
+					.destination(Paths.get(fileName))
+					.resumable(true)
+					.progressListener(transfer)
+					.build()
+					.download();
+		}finally{
+			transfer.finish();
+		}
 	}
 }
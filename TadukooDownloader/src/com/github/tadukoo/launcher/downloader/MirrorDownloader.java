@@ -0,0 +1,364 @@
+package com.github.tadukoo.launcher.downloader;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mirror Downloader downloads a file that's available from several mirrors, so one slow or dead host doesn't
+ * hold everything up. The mirrors are tried in order, with the ones whose circuits are open in the
+ * {@link MirrorHealth} pushed to the back. A mirror that fails (or takes longer than the response timeout to
+ * answer) is given up on right away for the next one, and if a mirror fails partway through the file, the next
+ * one picks up from the byte it stopped at with a range request (if a mirror doesn't support range requests, the
+ * bytes we already have are skipped). If every mirror fails, the whole round is tried again after a while,
+ * following the {@link RetryPolicy}.
+ * <br><br>
+ * Since a file can end up stitched together from more than one mirror, the mirrors have to serve exactly the same
+ * bytes - the caller should check a digest of the result when it has one. A mirror that says it doesn't have the
+ * file (404 or 410) isn't counted against its health, and if none of them have it, it isn't retried.
+ * <br><br>
+ * Locations that aren't HTTP(S) (like file locations) are read as a {@link java.net.URL}.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class MirrorDownloader{
+	
+	/**
+	 * Mirror Downloader Builder is used to build a new {@link MirrorDownloader}. It has the following parameters:
+	 *
+	 * <table>
+	 *     <caption>Mirror Downloader Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>transport</td>
+	 *         <td>The {@link HttpTransport} to download with</td>
+	 *         <td>Defaults to the {@link HttpTransport#shared() shared} transport</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>health</td>
+	 *         <td>The {@link MirrorHealth} to track the health of the mirrors in</td>
+	 *         <td>Defaults to the {@link MirrorHealth#shared() shared} Mirror Health</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>retryPolicy</td>
+	 *         <td>The {@link RetryPolicy} to use when every mirror fails</td>
+	 *         <td>Defaults to a {@link RetryPolicy} with the default parameters</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>responseTimeout</td>
+	 *         <td>The longest to wait for a mirror to start responding before moving on to the next one</td>
+	 *         <td>Defaults to {@link #DEFAULT_RESPONSE_TIMEOUT}</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class MirrorDownloaderBuilder{
+		/** The {@link HttpTransport} to download with */
+		private HttpTransport transport = HttpTransport.shared();
+		/** The {@link MirrorHealth} to track the health of the mirrors in */
+		private MirrorHealth health = MirrorHealth.shared();
+		/** The {@link RetryPolicy} to use when every mirror fails */
+		private RetryPolicy retryPolicy = RetryPolicy.builder().build();
+		/** The longest to wait for a mirror to start responding before moving on to the next one */
+		private Duration responseTimeout = DEFAULT_RESPONSE_TIMEOUT;
+		
+		// Not allowed to create Mirror Downloader Builder outside of Mirror Downloader
+		private MirrorDownloaderBuilder(){ }
+		
+		/**
+		 * @param transport The {@link HttpTransport} to download with
+		 * @return this, to continue building
+		 */
+		public MirrorDownloaderBuilder transport(HttpTransport transport){
+			this.transport = transport;
+			return this;
+		}
+		
+		/**
+		 * @param health The {@link MirrorHealth} to track the health of the mirrors in
+		 * @return this, to continue building
+		 */
+		public MirrorDownloaderBuilder health(MirrorHealth health){
+			this.health = health;
+			return this;
+		}
+		
+		/**
+		 * @param retryPolicy The {@link RetryPolicy} to use when every mirror fails
+		 * @return this, to continue building
+		 */
+		public MirrorDownloaderBuilder retryPolicy(RetryPolicy retryPolicy){
+			this.retryPolicy = retryPolicy;
+			return this;
+		}
+		
+		/**
+		 * @param responseTimeout The longest to wait for a mirror to start responding before moving on to the next
+		 * one
+		 * @return this, to continue building
+		 */
+		public MirrorDownloaderBuilder responseTimeout(Duration responseTimeout){
+			this.responseTimeout = responseTimeout;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// Transport is required
+			if(transport == null){
+				errors.add("transport is required");
+			}
+			
+			// Health is required
+			if(health == null){
+				errors.add("health is required");
+			}
+			
+			// Retry Policy is required
+			if(retryPolicy == null){
+				errors.add("retryPolicy is required");
+			}
+			
+			// Response timeout must be positive
+			if(responseTimeout == null || responseTimeout.isNegative() || responseTimeout.isZero()){
+				errors.add("responseTimeout must be positive");
+			}
+			
+			// If we find errors, throw an exception
+			if(!errors.isEmpty()){
+				throw new IllegalArgumentException("The following errors happened in building a " +
+						"MirrorDownloader: \n" + String.join("\n", errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link MirrorDownloader} with the set parameters
+		 *
+		 * @return The newly built {@link MirrorDownloader}
+		 */
+		public MirrorDownloader build(){
+			checkForErrors();
+			return new MirrorDownloader(transport, health, retryPolicy, responseTimeout);
+		}
+	}
+	
+	/**
+	 * Transfer keeps track of how much of the file has been written, across every mirror it comes from
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	private static class Transfer{
+		/** Where the file is being written to */
+		private final OutputStream out;
+		/** The number of bytes written so far */
+		private long offset = 0;
+		
+		/**
+		 * Creates a new Transfer to the given {@link OutputStream}
+		 *
+		 * @param out Where the file is being written to
+		 */
+		private Transfer(OutputStream out){
+			this.out = out;
+		}
+	}
+	
+	/** The default for the longest to wait for a mirror to start responding */
+	public static final Duration DEFAULT_RESPONSE_TIMEOUT = Duration.ofSeconds(10);
+	/** The size of the buffer used when copying */
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
+	/** The {@link HttpTransport} to download with */
+	private final HttpTransport transport;
+	/** The {@link MirrorHealth} to track the health of the mirrors in */
+	private final MirrorHealth health;
+	/** The {@link RetryPolicy} to use when every mirror fails */
+	private final RetryPolicy retryPolicy;
+	/** The longest to wait for a mirror to start responding before moving on to the next one */
+	private final Duration responseTimeout;
+	
+	/**
+	 * Creates a new Mirror Downloader with the given parameters
+	 *
+	 * @param transport The {@link HttpTransport} to download with
+	 * @param health The {@link MirrorHealth} to track the health of the mirrors in
+	 * @param retryPolicy The {@link RetryPolicy} to use when every mirror fails
+	 * @param responseTimeout The longest to wait for a mirror to start responding before moving on to the next one
+	 */
+	private MirrorDownloader(
+			HttpTransport transport, MirrorHealth health, RetryPolicy retryPolicy, Duration responseTimeout){
+		this.transport = transport;
+		this.health = health;
+		this.retryPolicy = retryPolicy;
+		this.responseTimeout = responseTimeout;
+	}
+	
+	/**
+	 * @return A new {@link MirrorDownloaderBuilder} to use to build a {@link MirrorDownloader}
+	 */
+	public static MirrorDownloaderBuilder builder(){
+		return new MirrorDownloaderBuilder();
+	}
+	
+	/**
+	 * @return The {@link HttpTransport} to download with
+	 */
+	public HttpTransport getTransport(){
+		return transport;
+	}
+	
+	/**
+	 * @return The {@link MirrorHealth} to track the health of the mirrors in
+	 */
+	public MirrorHealth getHealth(){
+		return health;
+	}
+	
+	/**
+	 * @return The {@link RetryPolicy} to use when every mirror fails
+	 */
+	public RetryPolicy getRetryPolicy(){
+		return retryPolicy;
+	}
+	
+	/**
+	 * @return The longest to wait for a mirror to start responding before moving on to the next one
+	 */
+	public Duration getResponseTimeout(){
+		return responseTimeout;
+	}
+	
+	/**
+	 * Downloads the file from the given mirrors into the given {@link OutputStream}
+	 *
+	 * @param mirrors The locations of the file, in the order they're preferred
+	 * @param out The {@link OutputStream} to write the file to (it's not closed)
+	 * @return The size of the file
+	 * @throws IOException If every mirror failed on every try (the last failure is thrown, with the others
+	 * suppressed in it)
+	 */
+	public long download(List<URI> mirrors, OutputStream out) throws IOException{
+		if(mirrors.isEmpty()){
+			throw new IOException("No locations to download from");
+		}
+		Transfer transfer = new Transfer(out);
+		return retryPolicy.run(() -> {
+			List<IOException> failures = new ArrayList<>();
+			boolean allMissing = true;
+			for(URI mirror: health.order(mirrors)){
+				try{
+					transfer(mirror, transfer);
+					health.recordSuccess(mirror);
+					return transfer.offset;
+				}catch(FileNotFoundException e){
+					failures.add(e);
+				}catch(IOException e){
+					health.recordFailure(mirror);
+					failures.add(e);
+					allMissing = false;
+				}
+			}
+			IOException failure = allMissing ? new FileNotFoundException("No mirror has " + mirrors.get(0)):
+					new IOException("Every mirror failed for " + mirrors.get(0));
+			for(IOException e: failures){
+				failure.addSuppressed(e);
+			}
+			throw failure;
+		});
+	}
+	
+	/**
+	 * Downloads the rest of the file (from the transfer's offset) from the given mirror
+	 *
+	 * @param mirror The location to download from
+	 * @param transfer The {@link Transfer} to continue
+	 * @throws IOException If anything goes wrong (a {@link FileNotFoundException} if the mirror doesn't have it)
+	 */
+	private void transfer(URI mirror, Transfer transfer) throws IOException{
+		try(InputStream in = open(mirror, transfer.offset)){
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int read;
+			while((read = in.read(buffer)) != -1){
+				transfer.out.write(buffer, 0, read);
+				transfer.offset += read;
+			}
+		}
+	}
+	
+	/**
+	 * Opens the given mirror for reading, from the given offset
+	 *
+	 * @param mirror The location to open
+	 * @param offset The offset to start reading from
+	 * @return An {@link InputStream} of the file, from the offset
+	 * @throws IOException If anything goes wrong in opening it (a {@link FileNotFoundException} if the mirror
+	 * doesn't have it)
+	 */
+	private InputStream open(URI mirror, long offset) throws IOException{
+		if(!"http".equalsIgnoreCase(mirror.getScheme()) && !"https".equalsIgnoreCase(mirror.getScheme())){
+			return skip(mirror.toURL().openStream(), offset);
+		}
+		HttpRequest.Builder request = transport.request(mirror).timeout(responseTimeout);
+		if(offset > 0){
+			request.header("Range", "bytes=" + offset + "-");
+		}
+		HttpResponse<InputStream> response = transport.sendStreaming(request.build());
+		InputStream in = response.body();
+		int status = response.statusCode();
+		if(status == HttpURLConnection.HTTP_PARTIAL && offset > 0){
+			String contentRange = response.headers().firstValue("Content-Range").orElse("");
+			if(!contentRange.startsWith("bytes " + offset + "-")){
+				in.close();
+				throw new IOException(mirror + " sent the wrong range: " + contentRange);
+			}
+			return in;
+		}else if(status == HttpURLConnection.HTTP_OK){
+			return skip(in, offset);
+		}
+		in.close();
+		if(status == HttpURLConnection.HTTP_NOT_FOUND || status == HttpURLConnection.HTTP_GONE){
+			throw new FileNotFoundException(mirror + " - server responded with " + status);
+		}
+		throw new IOException("Failed to download " + mirror + " - server responded with " + status);
+	}
+	
+	/**
+	 * Skips the given number of bytes of the given {@link InputStream} (the ones we already have)
+	 *
+	 * @param in The {@link InputStream} to skip bytes of
+	 * @param offset The number of bytes to skip
+	 * @return The {@link InputStream}
+	 * @throws IOException If the stream can't be skipped (or is too short)
+	 */
+	private static InputStream skip(InputStream in, long offset) throws IOException{
+		try{
+			in.skipNBytes(offset);
+			return in;
+		}catch(IOException e){
+			in.close();
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,251 @@
+package com.github.tadukoo.launcher.downloader;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Mirror Health keeps track of which mirrors (hosts) have been failing, so downloads stop waiting on a host that's
+ * down. Each host gets a circuit breaker: once it fails the threshold number of times in a row, its circuit opens
+ * and it's put behind every healthy mirror for the open duration (it's still tried if nothing else works). After
+ * that, it gets a trial: a success closes its circuit, and another failure opens it again right away.
+ * <br><br>
+ * Failures are counted by host (scheme and authority), so every file on a host that's down shares one circuit.
+ * The {@link #shared() shared} Mirror Health is used by default, so what's learned about a host in one download
+ * carries over to the rest.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class MirrorHealth{
+	
+	/**
+	 * Mirror Health Builder is used to build a new {@link MirrorHealth}. It has the following parameters:
+	 *
+	 * <table>
+	 *     <caption>Mirror Health Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>failureThreshold</td>
+	 *         <td>The number of failures in a row that opens a host's circuit</td>
+	 *         <td>Defaults to {@link #DEFAULT_FAILURE_THRESHOLD}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>openDuration</td>
+	 *         <td>How long a host's circuit stays open before it gets a trial</td>
+	 *         <td>Defaults to {@link #DEFAULT_OPEN_DURATION}</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class MirrorHealthBuilder{
+		/** The number of failures in a row that opens a host's circuit */
+		private int failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+		/** How long a host's circuit stays open before it gets a trial */
+		private Duration openDuration = DEFAULT_OPEN_DURATION;
+		
+		// Not allowed to create Mirror Health Builder outside of Mirror Health
+		private MirrorHealthBuilder(){ }
+		
+		/**
+		 * @param failureThreshold The number of failures in a row that opens a host's circuit
+		 * @return this, to continue building
+		 */
+		public MirrorHealthBuilder failureThreshold(int failureThreshold){
+			this.failureThreshold = failureThreshold;
+			return this;
+		}
+		
+		/**
+		 * @param openDuration How long a host's circuit stays open before it gets a trial
+		 * @return this, to continue building
+		 */
+		public MirrorHealthBuilder openDuration(Duration openDuration){
+			this.openDuration = openDuration;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// Failure threshold must be positive
+			if(failureThreshold < 1){
+				errors.add("failureThreshold must be at least 1");
+			}
+			
+			// Open duration must be positive
+			if(openDuration == null || openDuration.isNegative() || openDuration.isZero()){
+				errors.add("openDuration must be positive");
+			}
+			
+			// If we find errors, throw an exception
+			if(!errors.isEmpty()){
+				throw new IllegalArgumentException("The following errors happened in building a MirrorHealth: \n" +
+						String.join("\n", errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link MirrorHealth} with the set parameters
+		 *
+		 * @return The newly built {@link MirrorHealth}
+		 */
+		public MirrorHealth build(){
+			checkForErrors();
+			return new MirrorHealth(failureThreshold, openDuration);
+		}
+	}
+	
+	/**
+	 * The health of a single host
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	private static class HostHealth{
+		/** The number of failures in a row */
+		private int failures = 0;
+		/** When (in {@link System#nanoTime()}) the host's circuit closes enough for a trial (if it's open) */
+		private long openUntil = 0;
+		/** Whether the host's circuit is open */
+		private boolean open = false;
+	}
+	
+	/** The default for the number of failures in a row that opens a host's circuit */
+	public static final int DEFAULT_FAILURE_THRESHOLD = 3;
+	/** The default for how long a host's circuit stays open before it gets a trial */
+	public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+	
+	/** The shared Mirror Health, so all downloads learn from each other */
+	private static final MirrorHealth shared = builder().build();
+	
+	/** The number of failures in a row that opens a host's circuit */
+	private final int failureThreshold;
+	/** How long a host's circuit stays open before it gets a trial */
+	private final Duration openDuration;
+	/** The health of each host that has failed (hosts that are fine aren't kept) */
+	private final Map<String, HostHealth> hosts = new HashMap<>();
+	
+	/**
+	 * Creates a new Mirror Health with the given parameters
+	 *
+	 * @param failureThreshold The number of failures in a row that opens a host's circuit
+	 * @param openDuration How long a host's circuit stays open before it gets a trial
+	 */
+	private MirrorHealth(int failureThreshold, Duration openDuration){
+		this.failureThreshold = failureThreshold;
+		this.openDuration = openDuration;
+	}
+	
+	/**
+	 * @return A new {@link MirrorHealthBuilder} to use to build a {@link MirrorHealth}
+	 */
+	public static MirrorHealthBuilder builder(){
+		return new MirrorHealthBuilder();
+	}
+	
+	/**
+	 * @return The shared {@link MirrorHealth}
+	 */
+	public static MirrorHealth shared(){
+		return shared;
+	}
+	
+	/**
+	 * @return The number of failures in a row that opens a host's circuit
+	 */
+	public int getFailureThreshold(){
+		return failureThreshold;
+	}
+	
+	/**
+	 * @return How long a host's circuit stays open before it gets a trial
+	 */
+	public Duration getOpenDuration(){
+		return openDuration;
+	}
+	
+	/**
+	 * @param mirror A mirror location
+	 * @return The key of the mirror's host (its scheme and authority)
+	 */
+	private static String hostKey(URI mirror){
+		String scheme = mirror.getScheme() != null ? mirror.getScheme():"";
+		String authority = mirror.getRawAuthority() != null ? mirror.getRawAuthority():"";
+		return (scheme + "://" + authority).toLowerCase(Locale.ROOT);
+	}
+	
+	/**
+	 * @param mirror A mirror location
+	 * @return Whether the mirror's host is worth trying (its circuit is closed, or it's due for a trial)
+	 */
+	public synchronized boolean isAvailable(URI mirror){
+		HostHealth health = hosts.get(hostKey(mirror));
+		return health == null || !health.open || System.nanoTime() - health.openUntil >= 0;
+	}
+	
+	/**
+	 * @param mirror A mirror location
+	 * @return The number of times in a row the mirror's host has failed
+	 */
+	public synchronized int getFailures(URI mirror){
+		HostHealth health = hosts.get(hostKey(mirror));
+		return health != null ? health.failures:0;
+	}
+	
+	/**
+	 * Records that a download from the given mirror worked, closing its host's circuit
+	 *
+	 * @param mirror The mirror location
+	 */
+	public synchronized void recordSuccess(URI mirror){
+		hosts.remove(hostKey(mirror));
+	}
+	
+	/**
+	 * Records that a download from the given mirror failed, opening its host's circuit if it's failed too many
+	 * times in a row
+	 *
+	 * @param mirror The mirror location
+	 */
+	public synchronized void recordFailure(URI mirror){
+		HostHealth health = hosts.computeIfAbsent(hostKey(mirror), key -> new HostHealth());
+		health.failures++;
+		if(health.failures >= failureThreshold){
+			health.open = true;
+			health.openUntil = System.nanoTime() + openDuration.toNanos();
+		}
+	}
+	
+	/**
+	 * Orders the given mirrors to try them in: the available ones first, then the ones whose circuits are open
+	 * (each group keeps the given order)
+	 *
+	 * @param mirrors The mirror locations, in the order they're preferred
+	 * @return The mirror locations in the order to try them
+	 */
+	public synchronized List<URI> order(List<URI> mirrors){
+		List<URI> ordered = new ArrayList<>(mirrors.size());
+		List<URI> open = new ArrayList<>();
+		for(URI mirror: mirrors){
+			(isAvailable(mirror) ? ordered:open).add(mirror);
+		}
+		ordered.addAll(open);
+		return ordered;
+	}
+}
@@ -0,0 +1,605 @@
+package com.github.tadukoo.launcher.downloader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parallel File Downloader is used to download a file over HTTP using several connections at once. The file is
+ * split into HTTP Range segments that are fetched concurrently on a bounded executor, and each segment is written
+ * into its own position of a preallocated {@link FileChannel}. Progress of all the segments is combined and sent
+ * to a {@link ProgressListener} through {@link ProgressReadableByteChannelWrapper}s. All the requests go through
+ * an {@link HttpTransport}, so the segments reuse pooled connections (or share one HTTP/2 connection).
+ * <br><br>
+ * If the server does not support Range requests (or doesn't tell us the size of the file), the download falls
+ * back to a single stream.
+ * <br><br>
+ * When resumable, a {@link DownloadJournal} is kept next to the file while it's being downloaded, so that an
+ * interrupted download can pick up from the last confirmed bytes instead of starting over.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class ParallelFileDownloader{
+	
+	/**
+	 * Parallel File Downloader Builder is used to build a new {@link ParallelFileDownloader}. It has the following
+	 * parameters:
+	 *
+	 * <table>
+	 *     <caption>Parallel File Downloader Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>url</td>
+	 *         <td>The URL of the file to be downloaded</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>destination</td>
+	 *         <td>The {@link Path} to save the downloaded file to</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>segments</td>
+	 *         <td>The maximum number of segments (and connections) to download at once</td>
+	 *         <td>Defaults to {@link #DEFAULT_SEGMENTS}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>minSegmentSize</td>
+	 *         <td>The smallest size (in bytes) a segment is allowed to be - small files use fewer segments</td>
+	 *         <td>Defaults to {@link #DEFAULT_MIN_SEGMENT_SIZE}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>resumable</td>
+	 *         <td>Whether to keep a {@link DownloadJournal} next to the file so an interrupted download can
+	 *         be resumed</td>
+	 *         <td>Defaults to false</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>progressListener</td>
+	 *         <td>The {@link ProgressListener} to send combined progress updates to</td>
+	 *         <td>Defaults to a listener that does nothing</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>transport</td>
+	 *         <td>The {@link HttpTransport} to make the requests with</td>
+	 *         <td>Defaults to the {@link HttpTransport#shared() shared} transport</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class ParallelFileDownloaderBuilder{
+		/** The URL of the file to be downloaded */
+		private URL url;
+		/** The {@link Path} to save the downloaded file to */
+		private Path destination;
+		/** The maximum number of segments (and connections) to download at once */
+		private int segments = DEFAULT_SEGMENTS;
+		/** The smallest size (in bytes) a segment is allowed to be */
+		private long minSegmentSize = DEFAULT_MIN_SEGMENT_SIZE;
+		/** Whether to keep a {@link DownloadJournal} next to the file so an interrupted download can be resumed */
+		private boolean resumable = false;
+		/** The {@link ProgressListener} to send combined progress updates to */
+		private ProgressListener progressListener = (progress, readSoFar, expectedSize) -> { };
+		/** The {@link HttpTransport} to make the requests with */
+		private HttpTransport transport = HttpTransport.shared();
+		
+		// Not allowed to create Parallel File Downloader Builder outside of Parallel File Downloader
+		private ParallelFileDownloaderBuilder(){ }
+		
+		/**
+		 * @param url The URL of the file to be downloaded
+		 * @return this, to continue building
+		 */
+		public ParallelFileDownloaderBuilder url(URL url){
+			this.url = url;
+			return this;
+		}
+		
+		/**
+		 * @param destination The {@link Path} to save the downloaded file to
+		 * @return this, to continue building
+		 */
+		public ParallelFileDownloaderBuilder destination(Path destination){
+			this.destination = destination;
+			return this;
+		}
+		
+		/**
+		 * @param segments The maximum number of segments (and connections) to download at once
+		 * @return this, to continue building
+		 */
+		public ParallelFileDownloaderBuilder segments(int segments){
+			this.segments = segments;
+			return this;
+		}
+		
+		/**
+		 * @param minSegmentSize The smallest size (in bytes) a segment is allowed to be
+		 * @return this, to continue building
+		 */
+		public ParallelFileDownloaderBuilder minSegmentSize(long minSegmentSize){
+			this.minSegmentSize = minSegmentSize;
+			return this;
+		}
+		
+		/**
+		 * @param resumable Whether to keep a {@link DownloadJournal} next to the file so an interrupted download
+		 *                  can be resumed
+		 * @return this, to continue building
+		 */
+		public ParallelFileDownloaderBuilder resumable(boolean resumable){
+			this.resumable = resumable;
+			return this;
+		}
+		
+		/**
+		 * @param progressListener The {@link ProgressListener} to send combined progress updates to
+		 * @return this, to continue building
+		 */
+		public ParallelFileDownloaderBuilder progressListener(ProgressListener progressListener){
+			this.progressListener = progressListener;
+			return this;
+		}
+		
+		/**
+		 * @param transport The {@link HttpTransport} to make the requests with
+		 * @return this, to continue building
+		 */
+		public ParallelFileDownloaderBuilder transport(HttpTransport transport){
+			this.transport = transport;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// URL is required
+			if(url == null){
+				errors.add("url is required");
+			}
+			// Destination is required
+			if(destination == null){
+				errors.add("destination is required");
+			}
+			// Need at least 1 segment
+			if(segments < 1){
+				errors.add("segments must be at least 1");
+			}
+			// Need a positive segment size
+			if(minSegmentSize < 1){
+				errors.add("minSegmentSize must be at least 1");
+			}
+			// Need a progress listener
+			if(progressListener == null){
+				errors.add("progressListener is required");
+			}
+			// Need a transport
+			if(transport == null){
+				errors.add("transport is required");
+			}
+			
+			// If we find errors, throw an exception
+			if(!errors.isEmpty()){
+				throw new IllegalArgumentException("The following errors happened in building a " +
+						"ParallelFileDownloader: \n" + String.join("\n", errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link ParallelFileDownloader} with the set parameters
+		 *
+		 * @return The newly built {@link ParallelFileDownloader}
+		 */
+		public ParallelFileDownloader build(){
+			checkForErrors();
+			return new ParallelFileDownloader(url, destination, segments, minSegmentSize, resumable,
+					progressListener, transport);
+		}
+	}
+	
+	/** The default number of segments to download at once */
+	public static final int DEFAULT_SEGMENTS = 4;
+	/** The default smallest size (in bytes) of a segment */
+	public static final long DEFAULT_MIN_SEGMENT_SIZE = 256 * 1024;
+	/** The size of the buffer used by each segment when copying bytes into the file */
+	private static final int BUFFER_SIZE = 64 * 1024;
+	/** How many bytes a segment writes before flushing them and recording them in the {@link DownloadJournal} */
+	private static final long CHECKPOINT_SIZE = 1024 * 1024;
+	/** Pattern used to grab the total size out of a Content-Range header (e.g. "bytes 0-0/1234") */
+	private static final Pattern contentRangePattern = Pattern.compile("bytes\\s+\\d+-\\d+/(\\d+)");
+	
+	/** The URL of the file to be downloaded */
+	private final URL url;
+	/** The {@link Path} to save the downloaded file to */
+	private final Path destination;
+	/** The maximum number of segments (and connections) to download at once */
+	private final int segments;
+	/** The smallest size (in bytes) a segment is allowed to be */
+	private final long minSegmentSize;
+	/** Whether to keep a {@link DownloadJournal} next to the file so an interrupted download can be resumed */
+	private final boolean resumable;
+	/** The {@link ProgressListener} to send combined progress updates to */
+	private final ProgressListener progressListener;
+	/** The {@link HttpTransport} to make the requests with */
+	private final HttpTransport transport;
+	
+	/**
+	 * Creates a new Parallel File Downloader with the given parameters
+	 *
+	 * @param url The URL of the file to be downloaded
+	 * @param destination The {@link Path} to save the downloaded file to
+	 * @param segments The maximum number of segments (and connections) to download at once
+	 * @param minSegmentSize The smallest size (in bytes) a segment is allowed to be
+	 * @param resumable Whether to keep a {@link DownloadJournal} next to the file so an interrupted download
+	 *                  can be resumed
+	 * @param progressListener The {@link ProgressListener} to send combined progress updates to
+	 * @param transport The {@link HttpTransport} to make the requests with
+	 */
+	private ParallelFileDownloader(
+			URL url, Path destination, int segments, long minSegmentSize, boolean resumable,
+			ProgressListener progressListener, HttpTransport transport){
+		this.url = url;
+		this.destination = destination;
+		this.segments = segments;
+		this.minSegmentSize = minSegmentSize;
+		this.resumable = resumable;
+		this.progressListener = progressListener;
+		this.transport = transport;
+	}
+	
+	/**
+	 * @return A new {@link ParallelFileDownloaderBuilder} to use to build a {@link ParallelFileDownloader}
+	 */
+	public static ParallelFileDownloaderBuilder builder(){
+		return new ParallelFileDownloaderBuilder();
+	}
+	
+	/**
+	 * @return The URL of the file to be downloaded
+	 */
+	public URL getUrl(){
+		return url;
+	}
+	
+	/**
+	 * @return The {@link Path} to save the downloaded file to
+	 */
+	public Path getDestination(){
+		return destination;
+	}
+	
+	/**
+	 * @return The maximum number of segments (and connections) to download at once
+	 */
+	public int getSegments(){
+		return segments;
+	}
+	
+	/**
+	 * @return The smallest size (in bytes) a segment is allowed to be
+	 */
+	public long getMinSegmentSize(){
+		return minSegmentSize;
+	}
+	
+	/**
+	 * @return Whether a {@link DownloadJournal} is kept next to the file so an interrupted download can be resumed
+	 */
+	public boolean isResumable(){
+		return resumable;
+	}
+	
+	/**
+	 * @return The {@link HttpTransport} to make the requests with
+	 */
+	public HttpTransport getTransport(){
+		return transport;
+	}
+	
+	/**
+	 * Downloads the file to the destination. A probe request for the first byte of the file is used to find
+	 * out whether the server supports Range requests and how big the file is. If it does, the file is downloaded
+	 * in parallel segments, otherwise the response to the probe is used to download it in a single stream.
+	 * <br><br>
+	 * If this downloader is {@link #isResumable() resumable} and a {@link DownloadJournal} from an earlier
+	 * attempt matches the file on the server, only the byte ranges the journal doesn't have are downloaded.
+	 *
+	 * @return The number of bytes downloaded (during this call)
+	 * @throws IOException If anything goes wrong in downloading the file
+	 */
+	public long download() throws IOException{
+		HttpResponse<InputStream> probe = transport.sendStreaming(transport.request(url)
+				.header("Range", "bytes=0-0")
+				.build());
+		int responseCode = probe.statusCode();
+		
+		// If the server gave us a partial response, we can use ranges
+		long totalSize = -1;
+		if(responseCode == HttpURLConnection.HTTP_PARTIAL){
+			Matcher matcher = contentRangePattern.matcher(
+					probe.headers().firstValue("Content-Range").orElse(""));
+			if(matcher.matches()){
+				totalSize = Long.parseLong(matcher.group(1));
+			}
+		}else if(responseCode != HttpURLConnection.HTTP_OK){
+			probe.body().close();
+			throw new IOException("Failed to download " + url + " - server responded with " + responseCode);
+		}
+		
+		// Fallback to a single stream when ranges aren't supported
+		if(totalSize < 0){
+			// Can't resume without ranges, so any old journal is useless
+			try{
+				Files.deleteIfExists(DownloadJournal.journalPathFor(destination));
+			}catch(IOException e){
+				probe.body().close();
+				throw e;
+			}
+			if(responseCode == HttpURLConnection.HTTP_OK){
+				return downloadSingleStream(probe, probe.headers().firstValueAsLong("Content-Length").orElse(-1));
+			}
+			// Got a partial response we can't make sense of, so start over without ranges
+			probe.body().close();
+			return downloadSingleStream(transport.sendStreaming(transport.request(url).build()), -1);
+		}
+		
+		// Use the URI we ended up at (after redirects) for the segments, so they don't all redirect again
+		URI resolvedURI = probe.uri();
+		String eTag = probe.headers().firstValue("ETag").orElse(null);
+		String lastModified = probe.headers().firstValue("Last-Modified").orElse(null);
+		probe.body().close();
+		return downloadSegments(resolvedURI, totalSize, eTag, lastModified);
+	}
+	
+	/**
+	 * Downloads the whole file in a single stream, using the given response
+	 *
+	 * @param response The {@link HttpResponse} whose body is the whole file
+	 * @param expectedSize The expected size of the file (or -1 if unknown)
+	 * @return The number of bytes downloaded
+	 * @throws IOException If anything goes wrong in downloading the file
+	 */
+	private long downloadSingleStream(HttpResponse<InputStream> response, long expectedSize) throws IOException{
+		try(InputStream in = response.body();
+			ReadableByteChannel fileDownload = new ProgressReadableByteChannelWrapper(
+					Channels.newChannel(in), expectedSize, new AtomicLong(), progressListener);
+			FileChannel fileChannel = FileChannel.open(destination, StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+			return fileChannel.transferFrom(fileDownload, 0, Long.MAX_VALUE);
+		}
+	}
+	
+	/**
+	 * Finds the {@link DownloadJournal} to use for resuming a download of the file, if there's a matching one
+	 * and the partial file it belongs to is still there
+	 *
+	 * @param totalSize The total size of the file
+	 * @param eTag The ETag the server gave for the file (may be null)
+	 * @param lastModified The Last-Modified date the server gave for the file (may be null)
+	 * @return The matching {@link DownloadJournal}, or null if the download can't be resumed
+	 * @throws IOException If anything goes wrong in checking the partial file
+	 */
+	private DownloadJournal findResumableJournal(long totalSize, String eTag, String lastModified)
+			throws IOException{
+		DownloadJournal journal = DownloadJournal.load(DownloadJournal.journalPathFor(destination));
+		if(journal != null && journal.matches(totalSize, eTag, lastModified) &&
+				Files.isRegularFile(destination) && Files.size(destination) == totalSize){
+			return journal;
+		}
+		return null;
+	}
+	
+	/**
+	 * Downloads the file in parallel segments into a preallocated {@link FileChannel}
+	 *
+	 * @param resolvedURI The URI to download the segments from
+	 * @param totalSize The total size of the file
+	 * @param eTag The ETag the server gave for the file (may be null)
+	 * @param lastModified The Last-Modified date the server gave for the file (may be null)
+	 * @return The number of bytes downloaded
+	 * @throws IOException If anything goes wrong in downloading the file
+	 */
+	private long downloadSegments(URI resolvedURI, long totalSize, String eTag, String lastModified)
+			throws IOException{
+		// Figure out if we're resuming an earlier download
+		DownloadJournal journal = null;
+		boolean resuming = false;
+		if(resumable){
+			journal = findResumableJournal(totalSize, eTag, lastModified);
+			resuming = journal != null;
+			if(!resuming){
+				journal = new DownloadJournal(DownloadJournal.journalPathFor(destination),
+						totalSize, eTag, lastModified);
+			}
+		}
+		List<long[]> ranges = resuming ? journal.getMissingRanges():List.of(new long[]{0, totalSize});
+		long missingBytes = 0;
+		for(long[] range: ranges){
+			missingBytes += range[1] - range[0];
+		}
+		AtomicLong readSoFar = new AtomicLong(totalSize - missingBytes);
+		
+		// Figure out how many segments to actually use (small files don't need many)
+		int numSegments = (int) Math.max(1, Math.min(segments, missingBytes/minSegmentSize));
+		long segmentSize = Math.max(1, (missingBytes + numSegments - 1)/numSegments);
+		
+		// Use If-Range, so that if the file changes in the middle of this, we don't get pieces of a different file
+		String validator = eTag != null && !eTag.startsWith("W/") ? eTag:lastModified;
+		
+		try(FileChannel fileChannel = resuming ?
+				FileChannel.open(destination, StandardOpenOption.WRITE, StandardOpenOption.READ):
+				FileChannel.open(destination, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+						StandardOpenOption.READ, StandardOpenOption.TRUNCATE_EXISTING)){
+			// Preallocate the file, so each segment can write into its own position
+			if(!resuming && totalSize > 0){
+				fileChannel.write(ByteBuffer.allocate(1), totalSize - 1);
+			}
+			if(journal != null && !resuming){
+				journal.save();
+			}
+			
+			ExecutorService executor = Executors.newFixedThreadPool(numSegments, runnable -> {
+				Thread thread = new Thread(runnable, "ParallelFileDownloader-" + destination.getFileName());
+				thread.setDaemon(true);
+				return thread;
+			});
+			try{
+				List<Future<Long>> futures = new ArrayList<>();
+				DownloadJournal segmentJournal = journal;
+				for(long[] range: ranges){
+					for(long start = range[0]; start < range[1]; start += segmentSize){
+						long segmentStart = start;
+						long segmentEnd = Math.min(start + segmentSize, range[1]) - 1;
+						futures.add(executor.submit(() -> downloadSegment(resolvedURI, validator, fileChannel,
+								segmentStart, segmentEnd, totalSize, readSoFar, segmentJournal)));
+					}
+				}
+				
+				long downloaded = 0;
+				for(Future<Long> future: futures){
+					downloaded += future.get();
+				}
+				
+				// We're done, so the journal isn't needed anymore
+				if(journal != null){
+					journal.delete();
+				}
+				return downloaded;
+			}catch(InterruptedException e){
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while downloading " + resolvedURI, e);
+			}catch(ExecutionException e){
+				if(e.getCause() instanceof IOException ioException){
+					throw ioException;
+				}
+				throw new IOException("Failed to download " + resolvedURI, e.getCause());
+			}finally{
+				executor.shutdownNow();
+			}
+		}
+	}
+	
+	/**
+	 * Downloads a single segment of the file and writes it into its position in the given {@link FileChannel}.
+	 * If a {@link DownloadJournal} is given, the bytes written are flushed to disk and recorded in it every
+	 * {@link #CHECKPOINT_SIZE} bytes and when the segment stops (whether it finished or failed).
+	 *
+	 * @param resolvedURI The URI to download the segment from
+	 * @param validator The ETag or Last-Modified date to send in an If-Range header (may be null)
+	 * @param fileChannel The {@link FileChannel} to write the segment into
+	 * @param start The first byte of the segment
+	 * @param end The last byte of the segment (inclusive)
+	 * @param totalSize The total size of the file (used for progress)
+	 * @param readSoFar The shared counter of bytes read so far (used for progress)
+	 * @param journal The {@link DownloadJournal} to record completed bytes in (may be null)
+	 * @return The number of bytes downloaded for this segment
+	 * @throws IOException If anything goes wrong in downloading the segment
+	 */
+	private long downloadSegment(
+			URI resolvedURI, String validator, FileChannel fileChannel, long start, long end,
+			long totalSize, AtomicLong readSoFar, DownloadJournal journal) throws IOException{
+		HttpRequest.Builder request = transport.request(resolvedURI)
+				.header("Range", "bytes=" + start + "-" + end);
+		if(validator != null){
+			request.header("If-Range", validator);
+		}
+		long position = start;
+		long confirmed = start;
+		try{
+			HttpResponse<InputStream> response = transport.sendStreaming(request.build());
+			int responseCode = response.statusCode();
+			if(responseCode != HttpURLConnection.HTTP_PARTIAL){
+				response.body().close();
+				throw new IOException("Expected a partial response for bytes " + start + "-" + end + " of " +
+						resolvedURI + ", but got " + responseCode);
+			}
+			
+			try(InputStream in = response.body();
+				ReadableByteChannel segmentChannel = new ProgressReadableByteChannelWrapper(
+						Channels.newChannel(in), totalSize, readSoFar, progressListener)){
+				ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+				long remaining = end - start + 1;
+				while(remaining > 0){
+					buffer.clear();
+					if(buffer.capacity() > remaining){
+						buffer.limit((int) remaining);
+					}
+					if(segmentChannel.read(buffer) < 0){
+						throw new IOException("Connection closed early for bytes " + start + "-" + end + " of " +
+								resolvedURI + " (" + remaining + " bytes missing)");
+					}
+					buffer.flip();
+					while(buffer.hasRemaining()){
+						int written = fileChannel.write(buffer, position);
+						position += written;
+						remaining -= written;
+					}
+					
+					// Every so often, confirm what we've written so far
+					if(journal != null && position - confirmed >= CHECKPOINT_SIZE){
+						checkpoint(fileChannel, journal, confirmed, position);
+						confirmed = position;
+					}
+				}
+				return end - start + 1;
+			}
+		}finally{
+			if(journal != null && position > confirmed){
+				try{
+					checkpoint(fileChannel, journal, confirmed, position);
+				}catch(IOException ignored){
+					// We're already failing or done - the worst case is re-downloading these bytes later
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Flushes the given {@link FileChannel} to disk and records the given range as completed in the
+	 * given {@link DownloadJournal}
+	 *
+	 * @param fileChannel The {@link FileChannel} being written to
+	 * @param journal The {@link DownloadJournal} to record the range in
+	 * @param start The first byte of the range
+	 * @param end The end of the range (exclusive)
+	 * @throws IOException If anything goes wrong in flushing the file or saving the journal
+	 */
+	private static void checkpoint(FileChannel fileChannel, DownloadJournal journal, long start, long end)
+			throws IOException{
+		fileChannel.force(false);
+		journal.markCompleted(start, end);
+		journal.save();
+	}
+}
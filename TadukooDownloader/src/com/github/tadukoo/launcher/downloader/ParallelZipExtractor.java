@@ -0,0 +1,718 @@
+package com.github.tadukoo.launcher.downloader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Parallel Zip Extractor extracts a zip file that's already on disk, using every core instead of going through
+ * the zip one entry at a time. The zip is memory-mapped and its central directory is read straight out of the
+ * mapping, so nothing is copied just to find the entries. The entries are then inflated in parallel on a
+ * {@link ForkJoinPool} (biggest first, so one huge entry doesn't hold everything up at the end), straight from the
+ * mapping into a {@link FileChannel} for each file, which is set to its full size before it's written.
+ * <br><br>
+ * Spreading the entries over threads only pays off when there's enough to inflate: for a small zip, or with only
+ * one thread, starting up a pool costs more than it saves. So a zip whose entries add up to less than the min
+ * parallel size (or any zip when the parallelism is 1) is extracted one entry at a time on the calling thread,
+ * the same way otherwise.
+ * <br><br>
+ * Entries whose file on disk already has the same size and CRC-32 are skipped, so extracting the same zip again
+ * (or a new version of it where only some entries changed) only writes what actually changed. Checking a file is
+ * much cheaper than inflating and writing it again.
+ * <br><br>
+ * Each entry is written to a temporary file next to its destination first, so a failed extract never leaves a
+ * half-written file behind. Like {@link RemoteZip}, ZIP64 zips (over 4 GB or 65,535 entries) aren't supported.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class ParallelZipExtractor{
+	
+	/**
+	 * Parallel Zip Extractor Builder is used to build a new {@link ParallelZipExtractor}. It has the following
+	 * parameters:
+	 *
+	 * <table>
+	 *     <caption>Parallel Zip Extractor Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>folder</td>
+	 *         <td>The folder to extract to</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>parallelism</td>
+	 *         <td>The number of entries to extract at once</td>
+	 *         <td>Defaults to the number of available processors</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>minParallelSize</td>
+	 *         <td>The least number of (uncompressed) bytes in the zip's entries to extract them in parallel
+	 *         (smaller zips are extracted one entry at a time)</td>
+	 *         <td>Defaults to {@link #DEFAULT_MIN_PARALLEL_SIZE}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>skipUnchanged</td>
+	 *         <td>Whether to skip entries whose file already has the same size and CRC-32</td>
+	 *         <td>Defaults to true</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>reservedFiles</td>
+	 *         <td>Files in the folder that entries aren't allowed to be extracted to (like a manifest)</td>
+	 *         <td>Defaults to an empty list</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>listener</td>
+	 *         <td>The {@link StreamingUnzipper.EntryListener} to tell about each extracted entry (it's called
+	 *         from the threads doing the extracting, so it has to be thread-safe)</td>
+	 *         <td>Defaults to null</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class ParallelZipExtractorBuilder{
+		/** The folder to extract to */
+		private Path folder = null;
+		/** The number of entries to extract at once */
+		private int parallelism = Runtime.getRuntime().availableProcessors();
+		/** The least number of bytes in the zip's entries to extract them in parallel */
+		private long minParallelSize = DEFAULT_MIN_PARALLEL_SIZE;
+		/** Whether to skip entries whose file already has the same size and CRC-32 */
+		private boolean skipUnchanged = true;
+		/** Files in the folder that entries aren't allowed to be extracted to */
+		private Collection<Path> reservedFiles = Collections.emptyList();
+		/** The {@link StreamingUnzipper.EntryListener} to tell about each extracted entry */
+		private StreamingUnzipper.EntryListener listener = null;
+		
+		// Not allowed to create Parallel Zip Extractor Builder outside of Parallel Zip Extractor
+		private ParallelZipExtractorBuilder(){ }
+		
+		/**
+		 * @param folder The folder to extract to
+		 * @return this, to continue building
+		 */
+		public ParallelZipExtractorBuilder folder(Path folder){
+			this.folder = folder;
+			return this;
+		}
+		
+		/**
+		 * @param parallelism The number of entries to extract at once
+		 * @return this, to continue building
+		 */
+		public ParallelZipExtractorBuilder parallelism(int parallelism){
+			this.parallelism = parallelism;
+			return this;
+		}
+		
+		/**
+		 * @param minParallelSize The least number of (uncompressed) bytes in the zip's entries to extract them in
+		 * parallel
+		 * @return this, to continue building
+		 */
+		public ParallelZipExtractorBuilder minParallelSize(long minParallelSize){
+			this.minParallelSize = minParallelSize;
+			return this;
+		}
+		
+		/**
+		 * @param skipUnchanged Whether to skip entries whose file already has the same size and CRC-32
+		 * @return this, to continue building
+		 */
+		public ParallelZipExtractorBuilder skipUnchanged(boolean skipUnchanged){
+			this.skipUnchanged = skipUnchanged;
+			return this;
+		}
+		
+		/**
+		 * @param reservedFiles Files in the folder that entries aren't allowed to be extracted to
+		 * @return this, to continue building
+		 */
+		public ParallelZipExtractorBuilder reservedFiles(Collection<Path> reservedFiles){
+			this.reservedFiles = reservedFiles;
+			return this;
+		}
+		
+		/**
+		 * @param listener The {@link StreamingUnzipper.EntryListener} to tell about each extracted entry
+		 * @return this, to continue building
+		 */
+		public ParallelZipExtractorBuilder listener(StreamingUnzipper.EntryListener listener){
+			this.listener = listener;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// Folder is required
+			if(folder == null){
+				errors.add("folder is required");
+			}
+			
+			// Parallelism must be positive
+			if(parallelism < 1){
+				errors.add("parallelism must be at least 1");
+			}
+			
+			// Min parallel size can't be negative
+			if(minParallelSize < 0){
+				errors.add("minParallelSize can't be negative");
+			}
+			
+			// Reserved files are required
+			if(reservedFiles == null){
+				errors.add("reservedFiles is required");
+			}
+			
+			// If we find errors, throw an exception
+			if(!errors.isEmpty()){
+				throw new IllegalArgumentException("The following errors happened in building a " +
+						"ParallelZipExtractor: \n" + String.join("\n", errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link ParallelZipExtractor} with the set parameters
+		 *
+		 * @return The newly built {@link ParallelZipExtractor}
+		 */
+		public ParallelZipExtractor build(){
+			checkForErrors();
+			return new ParallelZipExtractor(folder, parallelism, minParallelSize, skipUnchanged, reservedFiles,
+					listener);
+		}
+	}
+	
+	/**
+	 * Parallel Zip Extractor Result holds what happened in extracting a zip.
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class ParallelZipExtractorResult{
+		/** The file entries of the zip (with their CRC-32s and sizes), in the order they were in the zip */
+		private final List<ZipEntry> entries;
+		/** The number of entries that were extracted */
+		private final int extracted;
+		/** The number of entries that were skipped because their file was already up-to-date */
+		private final int unchanged;
+		/** The number of bytes that were written */
+		private final long bytesWritten;
+		
+		/**
+		 * Creates a new Parallel Zip Extractor Result with the given parameters
+		 *
+		 * @param entries The file entries of the zip, in the order they were in the zip
+		 * @param extracted The number of entries that were extracted
+		 * @param unchanged The number of entries that were skipped because their file was already up-to-date
+		 * @param bytesWritten The number of bytes that were written
+		 */
+		private ParallelZipExtractorResult(List<ZipEntry> entries, int extracted, int unchanged, long bytesWritten){
+			this.entries = entries;
+			this.extracted = extracted;
+			this.unchanged = unchanged;
+			this.bytesWritten = bytesWritten;
+		}
+		
+		/**
+		 * @return The file entries of the zip (with their CRC-32s and sizes), in the order they were in the zip
+		 */
+		public List<ZipEntry> getEntries(){
+			return entries;
+		}
+		
+		/**
+		 * @return The number of entries that were extracted
+		 */
+		public int getExtracted(){
+			return extracted;
+		}
+		
+		/**
+		 * @return The number of entries that were skipped because their file was already up-to-date
+		 */
+		public int getUnchanged(){
+			return unchanged;
+		}
+		
+		/**
+		 * @return The number of bytes that were written
+		 */
+		public long getBytesWritten(){
+			return bytesWritten;
+		}
+		
+		/** {@inheritDoc} */
+		@Override
+		public String toString(){
+			return extracted + " extracted, " + unchanged + " unchanged, " + bytesWritten + " bytes written";
+		}
+	}
+	
+	/**
+	 * An entry from the zip's central directory
+	 *
+	 * @param name The name of the entry
+	 * @param method The compression method of the entry
+	 * @param crc The CRC-32 of the entry's (uncompressed) contents
+	 * @param compressedSize The compressed size of the entry
+	 * @param size The uncompressed size of the entry
+	 * @param localHeaderOffset The offset of the entry's local header in the zip
+	 */
+	private record Entry(String name, int method, long crc, long compressedSize, long size, long localHeaderOffset){
+		
+		/**
+		 * @return Whether the entry is a directory
+		 */
+		private boolean isDirectory(){
+			return name.endsWith("/");
+		}
+	}
+	
+	/** The default for the least number of bytes in the zip's entries to extract them in parallel */
+	public static final long DEFAULT_MIN_PARALLEL_SIZE = 8 * 1024 * 1024;
+	
+	/** The signature of the end of central directory record */
+	private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+	/** The signature of a central directory file header */
+	private static final int CENTRAL_DIRECTORY_HEADER = 0x02014b50;
+	/** The signature of a local file header */
+	private static final int LOCAL_FILE_HEADER = 0x04034b50;
+	/** The size of the end of central directory record (without its comment) */
+	private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+	/** The size of a local file header (without its name and extra field) */
+	private static final int LOCAL_FILE_HEADER_SIZE = 30;
+	/** The most bytes from the end of the zip the end of central directory record can be (with a max comment) */
+	private static final int MAX_END_OF_CENTRAL_DIRECTORY_SEARCH = END_OF_CENTRAL_DIRECTORY_SIZE + 0xFFFF;
+	/** The compression method for stored entries */
+	private static final int STORED = 0;
+	/** The compression method for deflated entries */
+	private static final int DEFLATED = 8;
+	/** The size of the buffer each thread inflates into */
+	private static final int BUFFER_SIZE = 256 * 1024;
+	/** The buffer each thread inflates into (direct, so it can be written to a {@link FileChannel} as-is) */
+	private static final ThreadLocal<ByteBuffer> INFLATE_BUFFER =
+			ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+	
+	/** The folder to extract to */
+	private final Path folder;
+	/** The number of entries to extract at once */
+	private final int parallelism;
+	/** The least number of bytes in the zip's entries to extract them in parallel */
+	private final long minParallelSize;
+	/** Whether to skip entries whose file already has the same size and CRC-32 */
+	private final boolean skipUnchanged;
+	/** Files in the folder that entries aren't allowed to be extracted to */
+	private final Set<Path> reservedFiles = new HashSet<>();
+	/** The {@link StreamingUnzipper.EntryListener} to tell about each extracted entry */
+	private final StreamingUnzipper.EntryListener listener;
+	
+	/**
+	 * Creates a new Parallel Zip Extractor with the given parameters
+	 *
+	 * @param folder The folder to extract to
+	 * @param parallelism The number of entries to extract at once
+	 * @param minParallelSize The least number of bytes in the zip's entries to extract them in parallel
+	 * @param skipUnchanged Whether to skip entries whose file already has the same size and CRC-32
+	 * @param reservedFiles Files in the folder that entries aren't allowed to be extracted to
+	 * @param listener The {@link StreamingUnzipper.EntryListener} to tell about each extracted entry
+	 */
+	private ParallelZipExtractor(
+			Path folder, int parallelism, long minParallelSize, boolean skipUnchanged, Collection<Path> reservedFiles,
+			StreamingUnzipper.EntryListener listener){
+		this.folder = folder.toAbsolutePath().normalize();
+		this.parallelism = parallelism;
+		this.minParallelSize = minParallelSize;
+		this.skipUnchanged = skipUnchanged;
+		for(Path reservedFile: reservedFiles){
+			this.reservedFiles.add(reservedFile.toAbsolutePath().normalize());
+		}
+		this.listener = listener;
+	}
+	
+	/**
+	 * @return A new {@link ParallelZipExtractorBuilder} to use to build a {@link ParallelZipExtractor}
+	 */
+	public static ParallelZipExtractorBuilder builder(){
+		return new ParallelZipExtractorBuilder();
+	}
+	
+	/**
+	 * @return The folder to extract to
+	 */
+	public Path getFolder(){
+		return folder;
+	}
+	
+	/**
+	 * @return The number of entries to extract at once
+	 */
+	public int getParallelism(){
+		return parallelism;
+	}
+	
+	/**
+	 * @return The least number of (uncompressed) bytes in the zip's entries to extract them in parallel
+	 */
+	public long getMinParallelSize(){
+		return minParallelSize;
+	}
+	
+	/**
+	 * @return Whether to skip entries whose file already has the same size and CRC-32
+	 */
+	public boolean isSkipUnchanged(){
+		return skipUnchanged;
+	}
+	
+	/**
+	 * Extracts every file entry of the given zip into the folder. Every entry name is checked before anything is
+	 * written, so a zip with a bad name doesn't extract anything.
+	 *
+	 * @param zipFile The {@link Path} of the zip to extract
+	 * @return The {@link ParallelZipExtractorResult} of the extract
+	 * @throws IOException If the zip is bad, an entry's name would put it outside the folder, or anything goes
+	 * wrong in reading or writing
+	 */
+	public ParallelZipExtractorResult extract(Path zipFile) throws IOException{
+		Files.createDirectories(folder);
+		try(FileChannel channel = FileChannel.open(zipFile, StandardOpenOption.READ)){
+			long zipSize = channel.size();
+			// Map the whole zip at once when it fits in a single mapping (otherwise each part is mapped as needed)
+			MappedByteBuffer mapping = zipSize <= Integer.MAX_VALUE ?
+					channel.map(FileChannel.MapMode.READ_ONLY, 0, zipSize):null;
+			List<Entry> entries = readCentralDirectory(zipFile, channel, mapping, zipSize);
+			
+			// Check every name before writing anything
+			List<ZipEntry> zipEntries = new ArrayList<>();
+			List<Entry> fileEntries = new ArrayList<>();
+			long totalSize = 0;
+			for(Entry entry: entries){
+				if(!entry.isDirectory()){
+					resolve(entry.name());
+					fileEntries.add(entry);
+					totalSize += entry.size();
+					ZipEntry zipEntry = new ZipEntry(entry.name());
+					zipEntry.setCrc(entry.crc());
+					zipEntry.setSize(entry.size());
+					zipEntry.setCompressedSize(entry.compressedSize());
+					zipEntries.add(zipEntry);
+				}
+			}
+			
+			AtomicLong bytesWritten = new AtomicLong();
+			if(parallelism == 1 || fileEntries.size() < 2 || totalSize < minParallelSize){
+				// Not worth a pool, so go through the entries in order on this thread
+				int extracted = 0;
+				for(Entry entry: fileEntries){
+					if(extractEntry(zipFile, channel, mapping, zipSize, entry, bytesWritten)){
+						extracted++;
+					}
+				}
+				return new ParallelZipExtractorResult(zipEntries, extracted, fileEntries.size() - extracted,
+						bytesWritten.get());
+			}
+			
+			// Start on the biggest entries first, so the small ones fill in around them
+			fileEntries.sort(Comparator.comparingLong(Entry::size).reversed());
+			List<Callable<Boolean>> tasks = new ArrayList<>();
+			for(Entry entry: fileEntries){
+				tasks.add(() -> extractEntry(zipFile, channel, mapping, zipSize, entry, bytesWritten));
+			}
+			
+			ForkJoinPool pool = new ForkJoinPool(parallelism);
+			int extracted = 0;
+			try{
+				for(Future<Boolean> future: pool.invokeAll(tasks)){
+					if(future.get()){
+						extracted++;
+					}
+				}
+			}catch(InterruptedException e){
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while extracting " + zipFile, e);
+			}catch(ExecutionException e){
+				// The fork-join pool wraps the exceptions thrown by the tasks, so dig the original out
+				for(Throwable cause = e.getCause(); cause != null; cause = cause.getCause()){
+					if(cause instanceof IOException ioException){
+						throw ioException;
+					}
+				}
+				throw new IOException("Failed to extract " + zipFile, e.getCause());
+			}finally{
+				pool.shutdownNow();
+			}
+			return new ParallelZipExtractorResult(zipEntries, extracted, fileEntries.size() - extracted,
+					bytesWritten.get());
+		}
+	}
+	
+	/**
+	 * Reads the central directory of the zip
+	 *
+	 * @param zipFile The {@link Path} of the zip (for error messages)
+	 * @param channel The {@link FileChannel} of the zip
+	 * @param mapping The mapping of the whole zip (or null if it's too big for one)
+	 * @param zipSize The size of the zip
+	 * @return The entries of the zip
+	 * @throws IOException If the central directory can't be read
+	 */
+	private static List<Entry> readCentralDirectory(
+			Path zipFile, FileChannel channel, MappedByteBuffer mapping, long zipSize) throws IOException{
+		long tailStart = Math.max(0, zipSize - MAX_END_OF_CENTRAL_DIRECTORY_SEARCH);
+		ByteBuffer tail = map(channel, mapping, zipSize, tailStart, zipSize - tailStart);
+		int eocd = -1;
+		for(int i = tail.limit() - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--){
+			if(tail.getInt(i) == END_OF_CENTRAL_DIRECTORY){
+				eocd = i;
+				break;
+			}
+		}
+		if(eocd == -1){
+			throw new ZipException("Couldn't find the end of the central directory in " + zipFile);
+		}
+		int entryCount = Short.toUnsignedInt(tail.getShort(eocd + 10));
+		long directorySize = Integer.toUnsignedLong(tail.getInt(eocd + 12));
+		long directoryOffset = Integer.toUnsignedLong(tail.getInt(eocd + 16));
+		ByteBuffer directory = map(channel, mapping, zipSize, directoryOffset, directorySize);
+		
+		List<Entry> entries = new ArrayList<>(entryCount);
+		int position = 0;
+		for(int i = 0; i < entryCount; i++){
+			if(position + 46 > directory.limit() || directory.getInt(position) != CENTRAL_DIRECTORY_HEADER){
+				throw new ZipException("Bad central directory header in " + zipFile);
+			}
+			int method = Short.toUnsignedInt(directory.getShort(position + 10));
+			long crc = Integer.toUnsignedLong(directory.getInt(position + 16));
+			long compressedSize = Integer.toUnsignedLong(directory.getInt(position + 20));
+			long size = Integer.toUnsignedLong(directory.getInt(position + 24));
+			int nameLength = Short.toUnsignedInt(directory.getShort(position + 28));
+			int extraLength = Short.toUnsignedInt(directory.getShort(position + 30));
+			int commentLength = Short.toUnsignedInt(directory.getShort(position + 32));
+			long localHeaderOffset = Integer.toUnsignedLong(directory.getInt(position + 42));
+			byte[] nameBytes = new byte[nameLength];
+			directory.get(position + 46, nameBytes);
+			entries.add(new Entry(new String(nameBytes, StandardCharsets.UTF_8), method, crc, compressedSize, size,
+					localHeaderOffset));
+			position += 46 + nameLength + extraLength + commentLength;
+		}
+		return entries;
+	}
+	
+	/**
+	 * Extracts a single entry, unless its file is already up-to-date
+	 *
+	 * @param zipFile The {@link Path} of the zip (for error messages)
+	 * @param channel The {@link FileChannel} of the zip
+	 * @param mapping The mapping of the whole zip (or null if it's too big for one)
+	 * @param zipSize The size of the zip
+	 * @param entry The entry to extract
+	 * @param bytesWritten The count of bytes written, to add to
+	 * @return Whether the entry was extracted (false if it was already up-to-date)
+	 * @throws IOException If the entry is bad or anything goes wrong in writing it
+	 */
+	private boolean extractEntry(
+			Path zipFile, FileChannel channel, MappedByteBuffer mapping, long zipSize, Entry entry,
+			AtomicLong bytesWritten) throws IOException{
+		Path destination = resolve(entry.name());
+		if(skipUnchanged && isUnchanged(destination, entry)){
+			return false;
+		}
+		
+		// Find where the entry's data starts from its local header
+		ByteBuffer localHeader = map(channel, mapping, zipSize, entry.localHeaderOffset(), LOCAL_FILE_HEADER_SIZE);
+		if(localHeader.getInt(0) != LOCAL_FILE_HEADER){
+			throw new ZipException("Bad local header for " + entry.name() + " in " + zipFile);
+		}
+		long dataStart = entry.localHeaderOffset() + LOCAL_FILE_HEADER_SIZE +
+				Short.toUnsignedInt(localHeader.getShort(26)) + Short.toUnsignedInt(localHeader.getShort(28));
+		ByteBuffer data = map(channel, mapping, zipSize, dataStart, entry.compressedSize());
+		
+		if(destination.getParent() != null){
+			Files.createDirectories(destination.getParent());
+		}
+		Path tempPath = destination.resolveSibling(destination.getFileName() + ".part");
+		try{
+			CRC32 crc = new CRC32();
+			long written;
+			try(FileChannel out = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING)){
+				// Preallocate the file, so it isn't grown bit by bit as it's written
+				if(entry.size() > 0){
+					out.write(ByteBuffer.allocate(1), entry.size() - 1);
+				}
+				if(entry.method() == STORED){
+					written = write(out, data, 0, crc);
+				}else if(entry.method() == DEFLATED){
+					written = inflate(out, data, crc, entry);
+				}else{
+					throw new ZipException("Unsupported compression method " + entry.method() + " for " +
+							entry.name());
+				}
+			}
+			if(written != entry.size()){
+				throw new ZipException("Size mismatch for " + entry.name() + ": expected " + entry.size() +
+						", but got " + written);
+			}
+			if(crc.getValue() != entry.crc()){
+				throw new ZipException("CRC-32 mismatch for " + entry.name());
+			}
+			Files.move(tempPath, destination, StandardCopyOption.REPLACE_EXISTING);
+		}finally{
+			Files.deleteIfExists(tempPath);
+		}
+		
+		bytesWritten.addAndGet(entry.size());
+		if(listener != null){
+			listener.entryExtracted(entry.name(), destination);
+		}
+		return true;
+	}
+	
+	/**
+	 * Inflates the given deflated data into the given {@link FileChannel}
+	 *
+	 * @param out The {@link FileChannel} to write to
+	 * @param data The deflated data
+	 * @param crc The {@link CRC32} to update with the inflated bytes
+	 * @param entry The entry being inflated (for error messages)
+	 * @return The number of bytes written
+	 * @throws IOException If the data is bad or anything goes wrong in writing
+	 */
+	private static long inflate(FileChannel out, ByteBuffer data, CRC32 crc, Entry entry) throws IOException{
+		ByteBuffer buffer = INFLATE_BUFFER.get();
+		Inflater inflater = new Inflater(true);
+		try{
+			inflater.setInput(data);
+			long position = 0;
+			boolean paddedInput = false;
+			while(!inflater.finished()){
+				buffer.clear();
+				int inflated = inflater.inflate(buffer);
+				if(inflated == 0 && inflater.needsInput() && !paddedInput){
+					// Without the zlib wrapper, the inflater can need one extra byte past the end to finish
+					inflater.setInput(new byte[1]);
+					paddedInput = true;
+				}else if(inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())){
+					throw new ZipException("Unexpected end of data for " + entry.name());
+				}
+				buffer.flip();
+				position += write(out, buffer, position, crc);
+			}
+			return position;
+		}catch(DataFormatException e){
+			throw new ZipException("Bad data for " + entry.name() + ": " + e.getMessage());
+		}finally{
+			inflater.end();
+		}
+	}
+	
+	/**
+	 * Writes all of the given buffer to the given {@link FileChannel}
+	 *
+	 * @param out The {@link FileChannel} to write to
+	 * @param buffer The bytes to write
+	 * @param position The position in the file to write them at
+	 * @param crc The {@link CRC32} to update with the bytes
+	 * @return The number of bytes written
+	 * @throws IOException If anything goes wrong in writing
+	 */
+	private static long write(FileChannel out, ByteBuffer buffer, long position, CRC32 crc) throws IOException{
+		crc.update(buffer.duplicate());
+		long length = buffer.remaining();
+		while(buffer.hasRemaining()){
+			position += out.write(buffer, position);
+		}
+		return length;
+	}
+	
+	/**
+	 * @param destination The {@link Path} an entry would be extracted to
+	 * @param entry The entry
+	 * @return Whether the file is already there with the entry's size and CRC-32
+	 * @throws IOException If anything goes wrong in reading the file
+	 */
+	private static boolean isUnchanged(Path destination, Entry entry) throws IOException{
+		if(!Files.isRegularFile(destination) || Files.size(destination) != entry.size()){
+			return false;
+		}
+		CRC32 crc = new CRC32();
+		try(FileChannel channel = FileChannel.open(destination, StandardOpenOption.READ)){
+			for(long position = 0; position < entry.size(); position += Integer.MAX_VALUE){
+				crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position,
+						Math.min(Integer.MAX_VALUE, entry.size() - position)));
+			}
+		}
+		return crc.getValue() == entry.crc();
+	}
+	
+	/**
+	 * Grabs the given part of the zip, as a slice of the mapping of the whole zip or as its own mapping
+	 *
+	 * @param channel The {@link FileChannel} of the zip
+	 * @param mapping The mapping of the whole zip (or null if it's too big for one)
+	 * @param zipSize The size of the zip
+	 * @param start The first byte of the part
+	 * @param length The length of the part
+	 * @return A little-endian {@link ByteBuffer} of the part
+	 * @throws IOException If the part goes past the end of the zip, or can't be mapped
+	 */
+	private static ByteBuffer map(
+			FileChannel channel, MappedByteBuffer mapping, long zipSize, long start, long length) throws IOException{
+		if(start < 0 || length < 0 || start + length > zipSize || length > Integer.MAX_VALUE){
+			throw new ZipException("Part of the zip goes past its end");
+		}
+		ByteBuffer part = mapping != null ? mapping.slice((int) start, (int) length):
+				channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+		return part.order(ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	/**
+	 * @param name The name of an entry
+	 * @return The {@link Path} the entry should be extracted to
+	 * @throws IOException If the name would put it outside the folder, or on a reserved file
+	 */
+	private Path resolve(String name) throws IOException{
+		Path destination = folder.resolve(name).normalize();
+		if(!destination.startsWith(folder) || destination.equals(folder) || reservedFiles.contains(destination)){
+			throw new IOException("Bad entry name: " + name);
+		}
+		return destination;
+	}
+}
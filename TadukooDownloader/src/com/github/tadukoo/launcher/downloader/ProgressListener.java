@@ -0,0 +1,21 @@
+package com.github.tadukoo.launcher.downloader;
+
+/**
+ * Progress Listener is used to receive progress updates from downloads (e.g. from
+ * {@link ProgressReadableByteChannelWrapper}).
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+@FunctionalInterface
+public interface ProgressListener{
+	
+	/**
+	 * Called when progress has been made on a download
+	 *
+	 * @param progress The current progress out of 100 (or -1 if the expected size is unknown)
+	 * @param readSoFar How many bytes have been read so far
+	 * @param expectedSize How many total bytes there are to read
+	 */
+	void progressUpdate(double progress, long readSoFar, long expectedSize);
+}
@@ -3,10 +3,14 @@ package com.github.tadukoo.launcher.downloader;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Progress Readable Byte Channel Wrapper is a wrapper around {@link ReadableByteChannel} that will send
- * progress updates to {@link LauncherDownloader}, which is keeping track of progress.
+ * progress updates to a {@link ProgressListener}, which is keeping track of progress. A shared read counter can
+ * also be given, so that several wrapped channels (e.g. the segments of a {@link ParallelFileDownloader}) can
+ * report their combined progress. Updates are sent on every read, so the listener should be cheap (like a
+ * {@link ProgressTracker.Transfer}, which only stores the counts and leaves updating the UI to its tracker).
  *
  * @author Logan Ferree (Tadukoo)
  * @version Alpha v.0.1
@@ -16,19 +20,41 @@ public class ProgressReadableByteChannelWrapper implements ReadableByteChannel{
 	private final ReadableByteChannel byteChannel;
 	/** The expected total size in bytes to be read */
 	private final long expectedSize;
-	/** The amount of bytes read so far */
-	private long readSoFar;
+	/** The amount of bytes read so far (possibly shared with other wrappers) */
+	private final AtomicLong readSoFar;
+	/** The {@link ProgressListener} to send progress updates to */
+	private final ProgressListener progressListener;
 	
 	/**
-	 * Wraps the given {@link ReadableByteChannel} so we can send progress updates to {@link LauncherDownloader},
-	 * which is keeping track of progress
+	 * Wraps the given {@link ReadableByteChannel} so we can send progress updates to the given
+	 * {@link ProgressListener}, which is keeping track of progress
 	 *
 	 * @param byteChannel The underlying {@link ReadableByteChannel} to be wrapped
 	 * @param expectedSize The expected total size in bytes to be read
+	 * @param progressListener The {@link ProgressListener} to send progress updates to
 	 */
-	public ProgressReadableByteChannelWrapper(ReadableByteChannel byteChannel, long expectedSize){
+	public ProgressReadableByteChannelWrapper(
+			ReadableByteChannel byteChannel, long expectedSize, ProgressListener progressListener){
+		this(byteChannel, expectedSize, new AtomicLong(), progressListener);
+	}
+	
+	/**
+	 * Wraps the given {@link ReadableByteChannel} so we can send progress updates to the given
+	 * {@link ProgressListener}. The given read counter may be shared between several wrappers, in which
+	 * case the progress reported is the combined progress of all of them.
+	 *
+	 * @param byteChannel The underlying {@link ReadableByteChannel} to be wrapped
+	 * @param expectedSize The expected total size in bytes to be read
+	 * @param readSoFar The counter of bytes read so far
+	 * @param progressListener The {@link ProgressListener} to send progress updates to
+	 */
+	public ProgressReadableByteChannelWrapper(
+			ReadableByteChannel byteChannel, long expectedSize,
+			AtomicLong readSoFar, ProgressListener progressListener){
 		this.byteChannel = byteChannel;
 		this.expectedSize = expectedSize;
+		this.readSoFar = readSoFar;
+		this.progressListener = progressListener;
 	}
 	
 	/**
@@ -51,7 +77,7 @@ public class ProgressReadableByteChannelWrapper implements ReadableByteChannel{
 	
 	/**
 	 * Reads bytes from the underlying {@link #byteChannel} into the given {@link ByteBuffer} and
-	 * will send a progress update to the LauncherDownloader, which is keeping track of progress
+	 * will send a progress update to the {@link #progressListener}, which is keeping track of progress
 	 *
 	 * @param bb The {@link ByteBuffer} to be read into
 	 * @return The number of bytes read, possibly 0 or -1 if we're at the end of stream
@@ -63,9 +89,9 @@ public class ProgressReadableByteChannelWrapper implements ReadableByteChannel{
 		double progress;
 		
 		if((n = byteChannel.read(bb)) > 0){
-			readSoFar += n;
-			progress = expectedSize > 0 ? (double) readSoFar/(double) expectedSize * 100.0:-1.0;
-			LauncherDownloader.progressUpdate(progress, readSoFar, expectedSize);
+			long totalRead = readSoFar.addAndGet(n);
+			progress = expectedSize > 0 ? (double) totalRead/(double) expectedSize * 100.0:-1.0;
+			progressListener.progressUpdate(progress, totalRead, expectedSize);
 		}
 		
 		return n;
@@ -0,0 +1,161 @@
+package com.github.tadukoo.launcher.downloader;
+
+import java.time.Duration;
+
+/**
+ * Progress Snapshot is the combined progress of the transfers of a {@link ProgressTracker} at one point in time,
+ * which is what gets shown to the user.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class ProgressSnapshot{
+	/** The amount of bytes in a kilobyte */
+	private static final long bytesInKB = 1024;
+	/** The amount of bytes in a megabyte */
+	private static final long bytesInMB = bytesInKB * 1024;
+	/** The amount of bytes in a gigabyte */
+	private static final long bytesInGB = bytesInMB * 1024;
+	
+	/** How many bytes have been read so far */
+	private final long readSoFar;
+	/** How many total bytes there are to read (or -1 if it's unknown) */
+	private final long expectedSize;
+	/** How many bytes are being read per second (averaged over the tracker's rate window) */
+	private final double bytesPerSecond;
+	/** About how long is left (or null if it can't be told) */
+	private final Duration timeLeft;
+	/** How many transfers are still going */
+	private final int activeTransfers;
+	
+	/**
+	 * Creates a new Progress Snapshot with the given parameters
+	 *
+	 * @param readSoFar How many bytes have been read so far
+	 * @param expectedSize How many total bytes there are to read (or -1 if it's unknown)
+	 * @param bytesPerSecond How many bytes are being read per second
+	 * @param timeLeft About how long is left (or null if it can't be told)
+	 * @param activeTransfers How many transfers are still going
+	 */
+	public ProgressSnapshot(
+			long readSoFar, long expectedSize, double bytesPerSecond, Duration timeLeft, int activeTransfers){
+		this.readSoFar = readSoFar;
+		this.expectedSize = expectedSize;
+		this.bytesPerSecond = bytesPerSecond;
+		this.timeLeft = timeLeft;
+		this.activeTransfers = activeTransfers;
+	}
+	
+	/**
+	 * @return How many bytes have been read so far
+	 */
+	public long getReadSoFar(){
+		return readSoFar;
+	}
+	
+	/**
+	 * @return How many total bytes there are to read (or -1 if it's unknown)
+	 */
+	public long getExpectedSize(){
+		return expectedSize;
+	}
+	
+	/**
+	 * @return The progress out of 100 (capped at 100), or -1 if the expected size is unknown
+	 */
+	public double getProgress(){
+		if(expectedSize <= 0){
+			return -1;
+		}
+		return Math.min(100.0, (double) readSoFar/(double) expectedSize * 100.0);
+	}
+	
+	/**
+	 * @return How many bytes are being read per second (averaged over the tracker's rate window)
+	 */
+	public double getBytesPerSecond(){
+		return bytesPerSecond;
+	}
+	
+	/**
+	 * @return About how long is left (or null if it can't be told)
+	 */
+	public Duration getTimeLeft(){
+		return timeLeft;
+	}
+	
+	/**
+	 * @return How many transfers are still going
+	 */
+	public int getActiveTransfers(){
+		return activeTransfers;
+	}
+	
+	/**
+	 * @return A description of the progress to show the user, e.g. "42% - 3/10 MB - 1.5 MB/s - 5s left"
+	 */
+	public String describe(){
+		StringBuilder description = new StringBuilder();
+		double progress = getProgress();
+		if(progress >= 0){
+			description.append((int) progress).append("% - ");
+		}
+		
+		// Unit conversion (based on the expected size, so both numbers use the same units)
+		long unitSize = 1;
+		String units = "bytes";
+		long sizeForUnits = expectedSize > 0 ? expectedSize:readSoFar;
+		if(sizeForUnits >= bytesInGB){
+			unitSize = bytesInGB;
+			units = "GB";
+		}else if(sizeForUnits >= bytesInMB){
+			unitSize = bytesInMB;
+			units = "MB";
+		}else if(sizeForUnits >= bytesInKB){
+			unitSize = bytesInKB;
+			units = "KB";
+		}
+		description.append(Math.min(readSoFar, expectedSize > 0 ? expectedSize:readSoFar)/unitSize);
+		if(expectedSize > 0){
+			description.append('/').append(expectedSize/unitSize);
+		}
+		description.append(' ').append(units);
+		
+		if(bytesPerSecond > 0){
+			description.append(" - ").append(describeRate(bytesPerSecond));
+		}
+		if(timeLeft != null){
+			description.append(" - ").append(describeTime(timeLeft)).append(" left");
+		}
+		return description.toString();
+	}
+	
+	/**
+	 * @param bytesPerSecond A transfer rate in bytes per second
+	 * @return The rate in the biggest units that make sense, e.g. "1.5 MB/s"
+	 */
+	private static String describeRate(double bytesPerSecond){
+		if(bytesPerSecond >= bytesInGB){
+			return String.format("%.1f GB/s", bytesPerSecond/bytesInGB);
+		}else if(bytesPerSecond >= bytesInMB){
+			return String.format("%.1f MB/s", bytesPerSecond/bytesInMB);
+		}else if(bytesPerSecond >= bytesInKB){
+			return String.format("%.1f KB/s", bytesPerSecond/bytesInKB);
+		}
+		return (long) bytesPerSecond + " bytes/s";
+	}
+	
+	/**
+	 * @param time An amount of time
+	 * @return The time in hours, minutes, and seconds (leaving off the bigger units when they're 0), e.g. "2m 5s"
+	 */
+	private static String describeTime(Duration time){
+		long seconds = Math.max(0, time.toSeconds());
+		if(seconds >= 3600){
+			return seconds/3600 + "h " + (seconds % 3600)/60 + "m";
+		}else if(seconds >= 60){
+			return seconds/60 + "m " + seconds % 60 + "s";
+		}
+		return seconds + "s";
+	}
+}
@@ -0,0 +1,390 @@
+package com.github.tadukoo.launcher.downloader;
+
+import javax.swing.*;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress Tracker combines the progress of any number of transfers (e.g. several downloads going at once) into
+ * one view, and keeps that view from being updated any more often than it needs to be. Transfers only store their
+ * byte counts in atomic counters as they read (see {@link Transfer}), which is cheap enough to do on every read.
+ * A Swing {@link Timer} then takes a {@link ProgressSnapshot} at a fixed frame rate and hands it to the
+ * {@link ProgressView} on the event dispatch thread, so the view never has to deal with other threads and the event
+ * dispatch thread never gets flooded with updates.
+ * <br><br>
+ * The transfer rate is a moving average over the rate window, and the time left is based on it.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class ProgressTracker{
+	
+	/**
+	 * Progress View shows the combined progress of a {@link ProgressTracker} to the user (e.g. in a progress bar).
+	 * It's always called on the event dispatch thread.
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	@FunctionalInterface
+	public interface ProgressView{
+		
+		/**
+		 * Shows the given progress
+		 *
+		 * @param snapshot The {@link ProgressSnapshot} of the combined progress
+		 */
+		void showProgress(ProgressSnapshot snapshot);
+	}
+	
+	/**
+	 * Transfer is a single transfer (e.g. a download) that's part of a {@link ProgressTracker}. It's a
+	 * {@link ProgressListener}, so it can be given to anything that reports progress (like a
+	 * {@link ProgressReadableByteChannelWrapper} or {@link ParallelFileDownloader}), and all it does with an
+	 * update is store the counts.
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public class Transfer implements ProgressListener{
+		/** How many bytes have been read so far */
+		private final AtomicLong readSoFar = new AtomicLong();
+		/** How many total bytes there are to read (or -1 if it's unknown) */
+		private final AtomicLong expectedSize;
+		/** Whether the transfer is done */
+		private volatile boolean finished = false;
+		
+		/**
+		 * Creates a new Transfer
+		 *
+		 * @param expectedSize How many total bytes there are to read (or -1 if it's unknown)
+		 */
+		private Transfer(long expectedSize){
+			this.expectedSize = new AtomicLong(expectedSize);
+		}
+		
+		/**
+		 * Stores the counts of the transfer (the progress is worked out later from them)
+		 *
+		 * @param progress Not used
+		 * @param readSoFar How many bytes have been read so far
+		 * @param expectedSize How many total bytes there are to read
+		 */
+		@Override
+		public void progressUpdate(double progress, long readSoFar, long expectedSize){
+			this.readSoFar.accumulateAndGet(readSoFar, Math::max);
+			if(expectedSize > 0){
+				this.expectedSize.set(expectedSize);
+			}
+		}
+		
+		/**
+		 * @return How many bytes have been read so far
+		 */
+		public long getReadSoFar(){
+			return readSoFar.get();
+		}
+		
+		/**
+		 * @return How many total bytes there are to read (or -1 if it's unknown)
+		 */
+		public long getExpectedSize(){
+			return expectedSize.get();
+		}
+		
+		/**
+		 * @return Whether the transfer is done
+		 */
+		public boolean isFinished(){
+			return finished;
+		}
+		
+		/**
+		 * Marks the transfer as done (whether it worked or not). Once every transfer is done, the view gets one
+		 * last update and the tracker stops updating it.
+		 */
+		public void finish(){
+			finished = true;
+			transferFinished();
+		}
+	}
+	
+	/**
+	 * Progress Tracker Builder is used to build a new {@link ProgressTracker}. It has the following parameters:
+	 *
+	 * <table>
+	 *     <caption>Progress Tracker Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>view</td>
+	 *         <td>The {@link ProgressView} to show the combined progress in</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>frameRate</td>
+	 *         <td>How many times a second to update the view</td>
+	 *         <td>Defaults to {@link #DEFAULT_FRAME_RATE}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>rateWindow</td>
+	 *         <td>How far back the transfer rate is averaged over</td>
+	 *         <td>Defaults to {@link #DEFAULT_RATE_WINDOW}</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class ProgressTrackerBuilder{
+		/** The {@link ProgressView} to show the combined progress in */
+		private ProgressView view;
+		/** How many times a second to update the view */
+		private int frameRate = DEFAULT_FRAME_RATE;
+		/** How far back the transfer rate is averaged over */
+		private Duration rateWindow = DEFAULT_RATE_WINDOW;
+		
+		// Not allowed to create Progress Tracker Builder outside of Progress Tracker
+		private ProgressTrackerBuilder(){ }
+		
+		/**
+		 * @param view The {@link ProgressView} to show the combined progress in
+		 * @return this, to continue building
+		 */
+		public ProgressTrackerBuilder view(ProgressView view){
+			this.view = view;
+			return this;
+		}
+		
+		/**
+		 * @param frameRate How many times a second to update the view
+		 * @return this, to continue building
+		 */
+		public ProgressTrackerBuilder frameRate(int frameRate){
+			this.frameRate = frameRate;
+			return this;
+		}
+		
+		/**
+		 * @param rateWindow How far back the transfer rate is averaged over
+		 * @return this, to continue building
+		 */
+		public ProgressTrackerBuilder rateWindow(Duration rateWindow){
+			this.rateWindow = rateWindow;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// View is required
+			if(view == null){
+				errors.add("view is required");
+			}
+			// Frame Rate must be between 1 and 1000
+			if(frameRate < 1 || frameRate > 1000){
+				errors.add("frameRate must be between 1 and 1000");
+			}
+			// Rate Window must be positive
+			if(rateWindow == null || rateWindow.isNegative() || rateWindow.isZero()){
+				errors.add("rateWindow must be positive");
+			}
+			
+			// If we find errors, throw an exception
+			if(!errors.isEmpty()){
+				throw new IllegalArgumentException("The following errors happened in building a " +
+						"ProgressTracker: \n" + String.join("\n", errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link ProgressTracker} with the set parameters
+		 *
+		 * @return The newly built {@link ProgressTracker}
+		 */
+		public ProgressTracker build(){
+			checkForErrors();
+			return new ProgressTracker(view, frameRate, rateWindow);
+		}
+	}
+	
+	/** The default for how many times a second to update the view */
+	public static final int DEFAULT_FRAME_RATE = 20;
+	/** The default for how far back the transfer rate is averaged over */
+	public static final Duration DEFAULT_RATE_WINDOW = Duration.ofSeconds(5);
+	
+	/**
+	 * A sample of the combined bytes read at a point in time, used for the moving average of the transfer rate
+	 *
+	 * @param nanos When the sample was taken (from {@link System#nanoTime()})
+	 * @param bytes The combined bytes read at the time
+	 */
+	private record Sample(long nanos, long bytes){ }
+	
+	/** The {@link ProgressView} to show the combined progress in */
+	private final ProgressView view;
+	/** How many times a second to update the view */
+	private final int frameRate;
+	/** How far back the transfer rate is averaged over */
+	private final Duration rateWindow;
+	/** The {@link Transfer Transfers} that are part of this tracker */
+	private final List<Transfer> transfers = new CopyOnWriteArrayList<>();
+	/** The samples in the rate window, oldest first (only used on the event dispatch thread) */
+	private final Deque<Sample> samples = new ArrayDeque<>();
+	/** The {@link Timer} that updates the view */
+	private final Timer timer;
+	
+	/**
+	 * Creates a new Progress Tracker with the given parameters
+	 *
+	 * @param view The {@link ProgressView} to show the combined progress in
+	 * @param frameRate How many times a second to update the view
+	 * @param rateWindow How far back the transfer rate is averaged over
+	 */
+	private ProgressTracker(ProgressView view, int frameRate, Duration rateWindow){
+		this.view = view;
+		this.frameRate = frameRate;
+		this.rateWindow = rateWindow;
+		timer = new Timer(1000/frameRate, e -> update(System.nanoTime()));
+		timer.setCoalesce(true);
+	}
+	
+	/**
+	 * @return A new {@link ProgressTrackerBuilder} to use to build a {@link ProgressTracker}
+	 */
+	public static ProgressTrackerBuilder builder(){
+		return new ProgressTrackerBuilder();
+	}
+	
+	/**
+	 * @return The {@link ProgressView} to show the combined progress in
+	 */
+	public ProgressView getView(){
+		return view;
+	}
+	
+	/**
+	 * @return How many times a second to update the view
+	 */
+	public int getFrameRate(){
+		return frameRate;
+	}
+	
+	/**
+	 * @return How far back the transfer rate is averaged over
+	 */
+	public Duration getRateWindow(){
+		return rateWindow;
+	}
+	
+	/**
+	 * Starts a new {@link Transfer} whose expected size isn't known yet (it'll be taken from its progress updates)
+	 *
+	 * @return The new {@link Transfer}
+	 */
+	public Transfer startTransfer(){
+		return startTransfer(-1);
+	}
+	
+	/**
+	 * Starts a new {@link Transfer}, and starts updating the view if it's not being updated already
+	 *
+	 * @param expectedSize How many total bytes there are to read (or -1 if it's unknown)
+	 * @return The new {@link Transfer}
+	 */
+	public Transfer startTransfer(long expectedSize){
+		Transfer transfer = new Transfer(expectedSize);
+		transfers.add(transfer);
+		timer.start();
+		return transfer;
+	}
+	
+	/**
+	 * Called when a {@link Transfer} finishes: once they're all done, stops updating the view (after one last
+	 * update, so it shows where they ended)
+	 */
+	private void transferFinished(){
+		if(transfers.stream().allMatch(Transfer::isFinished)){
+			SwingUtilities.invokeLater(() -> {
+				// Another transfer may have started in the meantime
+				if(transfers.stream().allMatch(Transfer::isFinished)){
+					timer.stop();
+				}
+				update(System.nanoTime());
+			});
+		}
+	}
+	
+	/**
+	 * @return Whether the view is being updated (which is while any transfer is going)
+	 */
+	public boolean isRunning(){
+		return timer.isRunning();
+	}
+	
+	/**
+	 * Takes a {@link ProgressSnapshot} of the combined progress of the transfers and shows it in the view. This is
+	 * called by the {@link Timer} on the event dispatch thread.
+	 *
+	 * @param nanos The current time (from {@link System#nanoTime()})
+	 * @return The {@link ProgressSnapshot} that was shown
+	 */
+	ProgressSnapshot update(long nanos){
+		long readSoFar = 0;
+		long expectedSize = 0;
+		int activeTransfers = 0;
+		for(Transfer transfer: transfers){
+			readSoFar += transfer.getReadSoFar();
+			long transferSize = transfer.getExpectedSize();
+			if(transferSize < 0 || expectedSize < 0){
+				// If any size is unknown, so is the total
+				expectedSize = -1;
+			}else{
+				expectedSize += transferSize;
+			}
+			if(!transfer.isFinished()){
+				activeTransfers++;
+			}
+		}
+		
+		// Moving average of the rate over the window (keeping the newest sample that's older than the window, so
+		// the average always covers the whole window once there's enough history)
+		samples.addLast(new Sample(nanos, readSoFar));
+		long windowStart = nanos - rateWindow.toNanos();
+		while(samples.size() > 2){
+			var iterator = samples.iterator();
+			iterator.next();
+			if(iterator.next().nanos() > windowStart){
+				break;
+			}
+			samples.removeFirst();
+		}
+		Sample oldest = samples.getFirst();
+		double bytesPerSecond = 0;
+		if(nanos > oldest.nanos()){
+			bytesPerSecond = (readSoFar - oldest.bytes()) * 1_000_000_000.0/(nanos - oldest.nanos());
+		}
+		Duration timeLeft = null;
+		if(bytesPerSecond > 0 && expectedSize > 0 && activeTransfers > 0){
+			timeLeft = Duration.ofMillis((long) (Math.max(0, expectedSize - readSoFar) * 1000.0/bytesPerSecond));
+		}
+		
+		ProgressSnapshot snapshot = new ProgressSnapshot(readSoFar, expectedSize, bytesPerSecond, timeLeft,
+				activeTransfers);
+		view.showProgress(snapshot);
+		return snapshot;
+	}
+}
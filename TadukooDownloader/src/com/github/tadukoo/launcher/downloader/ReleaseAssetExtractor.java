@@ -0,0 +1,412 @@
+package com.github.tadukoo.launcher.downloader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Predicate;
+
+/**
+ * Release Asset Extractor reads the JSON returned by GitHub's "latest release" endpoint as it arrives and pulls
+ * out the size and download URL of the first asset whose name matches (along with the release's tag). It only
+ * understands as much JSON as it needs to: fields can come in any order, anything it doesn't care about (like the
+ * release body or the uploader info) is skipped without being stored, and it stops reading as soon as it has found
+ * the asset and the tag.
+ * <br><br>
+ * This keeps the downloader jar small (no JSON library needed) without having to match a pattern against the
+ * whole response.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class ReleaseAssetExtractor{
+	
+	/**
+	 * Release Asset holds the info about an asset on a GitHub release that we care about for downloading it.
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class ReleaseAsset{
+		/** The name of the asset */
+		private final String name;
+		/** The size of the asset in bytes */
+		private final long size;
+		/** The URL to download the asset from */
+		private final String browserDownloadURL;
+		/** The tag of the release the asset is on (may be null) */
+		private final String tagName;
+		
+		/**
+		 * Creates a new Release Asset with the given parameters (and no release tag)
+		 *
+		 * @param name The name of the asset
+		 * @param size The size of the asset in bytes
+		 * @param browserDownloadURL The URL to download the asset from
+		 */
+		public ReleaseAsset(String name, long size, String browserDownloadURL){
+			this(name, size, browserDownloadURL, null);
+		}
+		
+		/**
+		 * Creates a new Release Asset with the given parameters
+		 *
+		 * @param name The name of the asset
+		 * @param size The size of the asset in bytes
+		 * @param browserDownloadURL The URL to download the asset from
+		 * @param tagName The tag of the release the asset is on (may be null)
+		 */
+		public ReleaseAsset(String name, long size, String browserDownloadURL, String tagName){
+			this.name = name;
+			this.size = size;
+			this.browserDownloadURL = browserDownloadURL;
+			this.tagName = tagName;
+		}
+		
+		/**
+		 * @return The name of the asset
+		 */
+		public String getName(){
+			return name;
+		}
+		
+		/**
+		 * @return The size of the asset in bytes
+		 */
+		public long getSize(){
+			return size;
+		}
+		
+		/**
+		 * @return The URL to download the asset from
+		 */
+		public String getBrowserDownloadURL(){
+			return browserDownloadURL;
+		}
+		
+		/**
+		 * @return The tag of the release the asset is on (may be null)
+		 */
+		public String getTagName(){
+			return tagName;
+		}
+	}
+	
+	/** The key used for the tag of a release */
+	private static final String TAG_NAME = "tag_name";
+	/** The key used for the list of assets on a release */
+	private static final String ASSETS = "assets";
+	/** The key used for the name of an asset */
+	private static final String NAME = "name";
+	/** The key used for the size of an asset */
+	private static final String SIZE = "size";
+	/** The key used for the download URL of an asset */
+	private static final String BROWSER_DOWNLOAD_URL = "browser_download_url";
+	
+	/** Used to tell whether an asset is the one we're looking for, based on its name */
+	private final Predicate<String> assetNameMatcher;
+	/** The {@link Reader} currently being read from */
+	private Reader reader;
+	/** A character that was read but not used yet (or -2 if there isn't one) */
+	private int peeked = -2;
+	
+	/**
+	 * Creates a new Release Asset Extractor that looks for an asset whose name matches the given {@link Predicate}
+	 *
+	 * @param assetNameMatcher Used to tell whether an asset is the one we're looking for, based on its name
+	 */
+	public ReleaseAssetExtractor(Predicate<String> assetNameMatcher){
+		this.assetNameMatcher = assetNameMatcher;
+	}
+	
+	/**
+	 * Reads the given release JSON until it finds the asset we're looking for. The {@link Reader} is not closed,
+	 * and is left wherever we stopped reading.
+	 *
+	 * @param reader The {@link Reader} of the release JSON
+	 * @return The {@link ReleaseAsset} that was found, or null if there was no matching asset
+	 * @throws IOException If anything goes wrong in reading, or if the JSON is broken
+	 */
+	public synchronized ReleaseAsset extract(Reader reader) throws IOException{
+		this.reader = reader;
+		peeked = -2;
+		try{
+			expect('{');
+			if(peekNonWhitespace() == '}'){
+				return null;
+			}
+			String tagName = null;
+			ReleaseAsset asset = null;
+			do{
+				String key = readString();
+				expect(':');
+				if(TAG_NAME.equals(key) && peekNonWhitespace() == '"'){
+					tagName = readString();
+				}else if(asset == null && ASSETS.equals(key) && peekNonWhitespace() == '['){
+					asset = readAssets();
+					if(asset != null && tagName == null){
+						// Still need the tag, so skip the rest of the assets to keep going
+						while(readSeparator(']')){
+							skipValue();
+						}
+					}
+				}else{
+					skipValue();
+				}
+			}while((asset == null || tagName == null) && readSeparator('}'));
+			return asset == null ? null:new ReleaseAsset(asset.getName(), asset.getSize(),
+					asset.getBrowserDownloadURL(), tagName);
+		}finally{
+			this.reader = null;
+		}
+	}
+	
+	/**
+	 * Reads the assets array until it finds a matching asset
+	 *
+	 * @return The matching {@link ReleaseAsset}, or null if none of them matched
+	 * @throws IOException If anything goes wrong in reading, or if the JSON is broken
+	 */
+	private ReleaseAsset readAssets() throws IOException{
+		expect('[');
+		if(peekNonWhitespace() == ']'){
+			next();
+			return null;
+		}
+		do{
+			ReleaseAsset asset = readAsset();
+			if(asset != null && asset.getName() != null && asset.getBrowserDownloadURL() != null &&
+					assetNameMatcher.test(asset.getName())){
+				return asset;
+			}
+		}while(readSeparator(']'));
+		return null;
+	}
+	
+	/**
+	 * Reads a single asset object, grabbing the fields we care about
+	 *
+	 * @return The {@link ReleaseAsset} that was read, or null if the asset wasn't an object
+	 * @throws IOException If anything goes wrong in reading, or if the JSON is broken
+	 */
+	private ReleaseAsset readAsset() throws IOException{
+		if(peekNonWhitespace() != '{'){
+			skipValue();
+			return null;
+		}
+		next();
+		String name = null;
+		long size = -1;
+		String browserDownloadURL = null;
+		if(peekNonWhitespace() == '}'){
+			next();
+			return null;
+		}
+		do{
+			String key = readString();
+			expect(':');
+			if(NAME.equals(key) && peekNonWhitespace() == '"'){
+				name = readString();
+			}else if(SIZE.equals(key) && peekNonWhitespace() != '"'){
+				String literal = readLiteral();
+				try{
+					size = Long.parseLong(literal);
+				}catch(NumberFormatException e){
+					throw new IOException("Bad asset size in release JSON: " + literal, e);
+				}
+			}else if(BROWSER_DOWNLOAD_URL.equals(key) && peekNonWhitespace() == '"'){
+				browserDownloadURL = readString();
+			}else{
+				skipValue();
+			}
+		}while(readSeparator('}'));
+		return new ReleaseAsset(name, size, browserDownloadURL);
+	}
+	
+	/**
+	 * Skips over the next value (of any type) without storing it
+	 *
+	 * @throws IOException If anything goes wrong in reading, or if the JSON is broken
+	 */
+	private void skipValue() throws IOException{
+		int c = peekNonWhitespace();
+		switch(c){
+			case '"' -> skipString();
+			case '{' -> {
+				next();
+				if(peekNonWhitespace() == '}'){
+					next();
+					return;
+				}
+				do{
+					skipString();
+					expect(':');
+					skipValue();
+				}while(readSeparator('}'));
+			}
+			case '[' -> {
+				next();
+				if(peekNonWhitespace() == ']'){
+					next();
+					return;
+				}
+				do{
+					skipValue();
+				}while(readSeparator(']'));
+			}
+			default -> readLiteral();
+		}
+	}
+	
+	/**
+	 * Reads a string value (handling escapes)
+	 *
+	 * @return The string that was read
+	 * @throws IOException If anything goes wrong in reading, or if the JSON is broken
+	 */
+	private String readString() throws IOException{
+		expect('"');
+		StringBuilder builder = new StringBuilder();
+		int c;
+		while((c = next()) != '"'){
+			if(c == '\\'){
+				c = next();
+				switch(c){
+					case 'b' -> builder.append('\b');
+					case 'f' -> builder.append('\f');
+					case 'n' -> builder.append('\n');
+					case 'r' -> builder.append('\r');
+					case 't' -> builder.append('\t');
+					case 'u' -> {
+						// next() throws if the JSON ends partway through the escape
+						int value = 0;
+						for(int i = 0; i < 4; i++){
+							int hex = next();
+							int digit = Character.digit(hex, 16);
+							if(digit == -1){
+								throw new IOException("Bad \\u escape in release JSON: " + describe(hex));
+							}
+							value = value * 16 + digit;
+						}
+						builder.append((char) value);
+					}
+					default -> builder.append((char) c);
+				}
+			}else{
+				builder.append((char) c);
+			}
+		}
+		return builder.toString();
+	}
+	
+	/**
+	 * Skips over a string value without storing it
+	 *
+	 * @throws IOException If anything goes wrong in reading, or if the JSON is broken
+	 */
+	private void skipString() throws IOException{
+		expect('"');
+		int c;
+		while((c = next()) != '"'){
+			if(c == '\\'){
+				// None of the escaped characters can end the string, so just skip whatever comes next
+				next();
+			}
+		}
+	}
+	
+	/**
+	 * Reads a literal value (a number, true, false, or null)
+	 *
+	 * @return The text of the literal
+	 * @throws IOException If anything goes wrong in reading, or if the JSON is broken
+	 */
+	private String readLiteral() throws IOException{
+		peekNonWhitespace();
+		StringBuilder builder = new StringBuilder();
+		int c;
+		while((c = peek()) != -1 && (Character.isLetterOrDigit(c) || c == '-' || c == '+' || c == '.')){
+			builder.append((char) next());
+		}
+		if(builder.length() == 0){
+			throw new IOException("Unexpected character in release JSON: " + describe(c));
+		}
+		return builder.toString();
+	}
+	
+	/**
+	 * Reads the separator after a value in an object or array
+	 *
+	 * @param end The character that ends the object or array
+	 * @return true if there's another value coming (a comma was read), false if the end was reached
+	 * @throws IOException If anything goes wrong in reading, or if the JSON is broken
+	 */
+	private boolean readSeparator(char end) throws IOException{
+		int c = peekNonWhitespace();
+		next();
+		if(c == ','){
+			return true;
+		}else if(c == end){
+			return false;
+		}
+		throw new IOException("Expected ',' or '" + end + "' in release JSON, but found " + describe(c));
+	}
+	
+	/**
+	 * Reads the next non-whitespace character and makes sure it's the one we expect
+	 *
+	 * @param expected The character we expect
+	 * @throws IOException If anything goes wrong in reading, or if the character is not the expected one
+	 */
+	private void expect(char expected) throws IOException{
+		int c = peekNonWhitespace();
+		next();
+		if(c != expected){
+			throw new IOException("Expected '" + expected + "' in release JSON, but found " + describe(c));
+		}
+	}
+	
+	/**
+	 * Skips any whitespace and peeks at the character after it
+	 *
+	 * @return The next non-whitespace character (not consumed), or -1 at the end of the stream
+	 * @throws IOException If anything goes wrong in reading
+	 */
+	private int peekNonWhitespace() throws IOException{
+		int c;
+		while((c = peek()) != -1 && Character.isWhitespace(c)){
+			next();
+		}
+		return c;
+	}
+	
+	/**
+	 * @return The next character (not consumed), or -1 at the end of the stream
+	 * @throws IOException If anything goes wrong in reading
+	 */
+	private int peek() throws IOException{
+		if(peeked == -2){
+			peeked = reader.read();
+		}
+		return peeked;
+	}
+	
+	/**
+	 * @return The next character (consumed)
+	 * @throws IOException If anything goes wrong in reading, or if the stream ended
+	 */
+	private int next() throws IOException{
+		int c = peek();
+		peeked = -2;
+		if(c == -1){
+			throw new IOException("Release JSON ended unexpectedly");
+		}
+		return c;
+	}
+	
+	/**
+	 * @param c A character (or -1 for the end of the stream)
+	 * @return A description of the character to use in error messages
+	 */
+	private static String describe(int c){
+		return c == -1 ? "the end of the response":"'" + (char) c + "'";
+	}
+}
@@ -0,0 +1,443 @@
+package com.github.tadukoo.launcher.downloader;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Remote Zip reads a zip file on a server without downloading all of it. It uses HTTP range requests to grab the
+ * end of the zip (where its central directory is), which lists every entry along with its CRC-32 and sizes, and
+ * then grabs only the bytes of the entries that are actually read. This makes it cheap to check what's in a zip,
+ * and to pull out just the entries that changed.
+ * <br><br>
+ * If the server doesn't support range requests, the whole zip is downloaded to a temporary file the first time
+ * and everything is read from there instead. ZIP64 zips (over 4 GB or 65,535 entries) aren't supported.
+ * <br><br>
+ * The range requests go through an {@link HttpTransport}, so reading several entries reuses the same connection.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class RemoteZip implements Closeable{
+	
+	/**
+	 * Remote Zip Entry holds the info about an entry in a {@link RemoteZip}, from the zip's central directory.
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class RemoteZipEntry{
+		/** The name of the entry */
+		private final String name;
+		/** The CRC-32 of the entry's (uncompressed) contents */
+		private final long crc;
+		/** The compressed size of the entry */
+		private final long compressedSize;
+		/** The uncompressed size of the entry */
+		private final long size;
+		/** The compression method of the entry */
+		private final int method;
+		/** The offset of the entry's local header in the zip */
+		private final long localHeaderOffset;
+		
+		/**
+		 * Creates a new Remote Zip Entry with the given parameters
+		 *
+		 * @param name The name of the entry
+		 * @param crc The CRC-32 of the entry's (uncompressed) contents
+		 * @param compressedSize The compressed size of the entry
+		 * @param size The uncompressed size of the entry
+		 * @param method The compression method of the entry
+		 * @param localHeaderOffset The offset of the entry's local header in the zip
+		 */
+		private RemoteZipEntry(
+				String name, long crc, long compressedSize, long size, int method, long localHeaderOffset){
+			this.name = name;
+			this.crc = crc;
+			this.compressedSize = compressedSize;
+			this.size = size;
+			this.method = method;
+			this.localHeaderOffset = localHeaderOffset;
+		}
+		
+		/**
+		 * @return The name of the entry
+		 */
+		public String getName(){
+			return name;
+		}
+		
+		/**
+		 * @return The CRC-32 of the entry's (uncompressed) contents
+		 */
+		public long getCrc(){
+			return crc;
+		}
+		
+		/**
+		 * @return The compressed size of the entry
+		 */
+		public long getCompressedSize(){
+			return compressedSize;
+		}
+		
+		/**
+		 * @return The uncompressed size of the entry
+		 */
+		public long getSize(){
+			return size;
+		}
+		
+		/**
+		 * @return Whether the entry is a directory
+		 */
+		public boolean isDirectory(){
+			return name.endsWith("/");
+		}
+	}
+	
+	/** The signature of the end of central directory record */
+	private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+	/** The signature of a central directory file header */
+	private static final int CENTRAL_DIRECTORY_HEADER = 0x02014b50;
+	/** The signature of a local file header */
+	private static final int LOCAL_FILE_HEADER = 0x04034b50;
+	/** The size of the end of central directory record (without its comment) */
+	private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+	/** The size of a local file header (without its name and extra field) */
+	private static final int LOCAL_FILE_HEADER_SIZE = 30;
+	/** The most bytes from the end of the zip the end of central directory record can be (with a max comment) */
+	private static final int MAX_END_OF_CENTRAL_DIRECTORY_SEARCH = END_OF_CENTRAL_DIRECTORY_SIZE + 0xFFFF;
+	/** The compression method for entries that are stored as is */
+	private static final int STORED = 0;
+	/** The compression method for entries that are deflated */
+	private static final int DEFLATED = 8;
+	
+	/** The URL of the zip */
+	private final URL url;
+	/** The {@link HttpTransport} to make the range requests with */
+	private final HttpTransport transport;
+	/** The entries of the zip, in central directory order */
+	private final List<RemoteZipEntry> entries;
+	/** The total size of the zip */
+	private long totalSize;
+	/** A local copy of the whole zip (only used if the server doesn't support range requests) */
+	private Path localCopy = null;
+	/** The number of bytes downloaded so far */
+	private long bytesDownloaded = 0;
+	
+	/**
+	 * Creates a new Remote Zip for the zip at the given URL, reading its central directory (using the
+	 * {@link HttpTransport#shared() shared} {@link HttpTransport})
+	 *
+	 * @param url The URL of the zip
+	 * @throws IOException If the central directory can't be read
+	 */
+	public RemoteZip(URL url) throws IOException{
+		this(url, HttpTransport.shared());
+	}
+	
+	/**
+	 * Creates a new Remote Zip for the zip at the given URL, reading its central directory
+	 *
+	 * @param url The URL of the zip
+	 * @param transport The {@link HttpTransport} to make the range requests with
+	 * @throws IOException If the central directory can't be read
+	 */
+	public RemoteZip(URL url, HttpTransport transport) throws IOException{
+		this.url = url;
+		this.transport = transport;
+		try{
+			entries = Collections.unmodifiableList(readCentralDirectory());
+		}catch(IOException e){
+			close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * @return The URL of the zip
+	 */
+	public URL getURL(){
+		return url;
+	}
+	
+	/**
+	 * @return The entries of the zip, in central directory order
+	 */
+	public List<RemoteZipEntry> getEntries(){
+		return entries;
+	}
+	
+	/**
+	 * @return The total size of the zip
+	 */
+	public long getTotalSize(){
+		return totalSize;
+	}
+	
+	/**
+	 * @return The number of bytes downloaded so far
+	 */
+	public synchronized long getBytesDownloaded(){
+		return bytesDownloaded;
+	}
+	
+	/**
+	 * @return Whether the whole zip had to be downloaded because the server doesn't support range requests
+	 */
+	public boolean isFullyDownloaded(){
+		return localCopy != null;
+	}
+	
+	/**
+	 * @return The local copy of the zip, if the whole zip had to be downloaded (otherwise null)
+	 */
+	Path getLocalCopy(){
+		return localCopy;
+	}
+	
+	/**
+	 * Opens the (uncompressed) contents of the given entry. Only the bytes of the entry are downloaded, and the
+	 * CRC-32 is checked once the stream has been read to the end.
+	 *
+	 * @param entry The {@link RemoteZipEntry} to open
+	 * @return An {@link InputStream} of the contents of the entry
+	 * @throws IOException If the entry can't be downloaded, or uses a compression method we don't support
+	 */
+	public InputStream openEntry(RemoteZipEntry entry) throws IOException{
+		ByteBuffer localHeader = readRange(entry.localHeaderOffset, entry.localHeaderOffset + LOCAL_FILE_HEADER_SIZE);
+		if(localHeader.getInt(0) != LOCAL_FILE_HEADER){
+			throw new ZipException("Bad local header for " + entry.name);
+		}
+		long dataStart = entry.localHeaderOffset + LOCAL_FILE_HEADER_SIZE +
+				Short.toUnsignedInt(localHeader.getShort(26)) + Short.toUnsignedInt(localHeader.getShort(28));
+		ByteBuffer data = readRange(dataStart, dataStart + entry.compressedSize);
+		InputStream in = new ByteArrayInputStream(data.array(), data.arrayOffset(), data.remaining());
+		if(entry.method == DEFLATED){
+			in = new InflaterInputStream(in, new Inflater(true));
+		}else if(entry.method != STORED){
+			throw new ZipException("Unsupported compression method " + entry.method + " for " + entry.name);
+		}
+		return new CheckedInputStream(in, new CRC32()){
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException{
+				int read = super.read(b, off, len);
+				if(read == -1 && getChecksum().getValue() != entry.crc){
+					throw new ZipException("CRC-32 mismatch for " + entry.name);
+				}
+				return read;
+			}
+		};
+	}
+	
+	/**
+	 * Extracts the given entry to the given file (through a temporary file, so a failed extract never leaves a
+	 * half-written file behind)
+	 *
+	 * @param entry The {@link RemoteZipEntry} to extract
+	 * @param destination The {@link Path} to extract it to
+	 * @throws IOException If anything goes wrong in downloading or writing the entry
+	 */
+	public void extractEntry(RemoteZipEntry entry, Path destination) throws IOException{
+		if(destination.getParent() != null){
+			Files.createDirectories(destination.getParent());
+		}
+		Path tempPath = destination.resolveSibling(destination.getFileName() + ".part");
+		try(InputStream in = openEntry(entry)){
+			Files.copy(in, tempPath, StandardCopyOption.REPLACE_EXISTING);
+			Files.move(tempPath, destination, StandardCopyOption.REPLACE_EXISTING);
+		}finally{
+			Files.deleteIfExists(tempPath);
+		}
+	}
+	
+	/**
+	 * Reads the central directory of the zip
+	 *
+	 * @return The entries of the zip
+	 * @throws IOException If the central directory can't be read
+	 */
+	private List<RemoteZipEntry> readCentralDirectory() throws IOException{
+		// Grab the end of the zip, which has the end of central directory record (and likely the whole directory)
+		ByteBuffer tail = readTail();
+		int eocd = -1;
+		for(int i = tail.limit() - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--){
+			if(tail.getInt(i) == END_OF_CENTRAL_DIRECTORY){
+				eocd = i;
+				break;
+			}
+		}
+		if(eocd == -1){
+			throw new ZipException("Couldn't find the end of the central directory in " + url);
+		}
+		int entryCount = Short.toUnsignedInt(tail.getShort(eocd + 10));
+		long directorySize = Integer.toUnsignedLong(tail.getInt(eocd + 12));
+		long directoryOffset = Integer.toUnsignedLong(tail.getInt(eocd + 16));
+		
+		// Use the directory from the tail if it's all in there, otherwise grab it
+		long tailStart = totalSize - tail.limit();
+		ByteBuffer directory;
+		if(directoryOffset >= tailStart){
+			directory = tail.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+			directory.position((int) (directoryOffset - tailStart));
+			directory = directory.slice().order(ByteOrder.LITTLE_ENDIAN);
+		}else{
+			directory = readRange(directoryOffset, directoryOffset + directorySize);
+		}
+		
+		List<RemoteZipEntry> zipEntries = new ArrayList<>(entryCount);
+		int position = 0;
+		for(int i = 0; i < entryCount; i++){
+			if(directory.getInt(position) != CENTRAL_DIRECTORY_HEADER){
+				throw new ZipException("Bad central directory header in " + url);
+			}
+			int method = Short.toUnsignedInt(directory.getShort(position + 10));
+			long crc = Integer.toUnsignedLong(directory.getInt(position + 16));
+			long compressedSize = Integer.toUnsignedLong(directory.getInt(position + 20));
+			long size = Integer.toUnsignedLong(directory.getInt(position + 24));
+			int nameLength = Short.toUnsignedInt(directory.getShort(position + 28));
+			int extraLength = Short.toUnsignedInt(directory.getShort(position + 30));
+			int commentLength = Short.toUnsignedInt(directory.getShort(position + 32));
+			long localHeaderOffset = Integer.toUnsignedLong(directory.getInt(position + 42));
+			byte[] nameBytes = new byte[nameLength];
+			directory.get(position + 46, nameBytes);
+			zipEntries.add(new RemoteZipEntry(new String(nameBytes, StandardCharsets.UTF_8), crc, compressedSize,
+					size, method, localHeaderOffset));
+			position += 46 + nameLength + extraLength + commentLength;
+		}
+		return zipEntries;
+	}
+	
+	/**
+	 * Grabs the end of the zip (up to the longest the end of central directory record could be from the end),
+	 * learning the total size of the zip along the way. If the server ignores the range request, the whole zip is
+	 * saved as a local copy instead.
+	 *
+	 * @return The end of the zip
+	 * @throws IOException If anything goes wrong in downloading
+	 */
+	private ByteBuffer readTail() throws IOException{
+		HttpResponse<InputStream> response = transport.sendStreaming(transport.request(url)
+				.header("Range", "bytes=-" + MAX_END_OF_CENTRAL_DIRECTORY_SEARCH)
+				.build());
+		try(InputStream in = response.body()){
+			int responseCode = response.statusCode();
+			if(responseCode == HttpURLConnection.HTTP_PARTIAL){
+				String contentRange = response.headers().firstValue("Content-Range").orElse(null);
+				if(contentRange == null || contentRange.indexOf('/') == -1){
+					throw new IOException("Missing Content-Range for " + url);
+				}
+				totalSize = Long.parseLong(contentRange.substring(contentRange.indexOf('/') + 1).strip());
+				return countAndWrap(in.readAllBytes());
+			}else if(responseCode == HttpURLConnection.HTTP_OK){
+				// No range support, so we have to take all of it
+				localCopy = Files.createTempFile("remote-zip", ".zip");
+				Files.copy(in, localCopy, StandardCopyOption.REPLACE_EXISTING);
+				totalSize = Files.size(localCopy);
+				synchronized(this){
+					bytesDownloaded += totalSize;
+				}
+				return readLocal(Math.max(0, totalSize - MAX_END_OF_CENTRAL_DIRECTORY_SEARCH), totalSize);
+			}
+			throw new IOException("Failed to read " + url + " - server responded with " + responseCode);
+		}
+	}
+	
+	/**
+	 * Reads the given range of bytes of the zip
+	 *
+	 * @param start The first byte to read
+	 * @param end The end of the range (exclusive)
+	 * @return The bytes that were read
+	 * @throws IOException If anything goes wrong in reading
+	 */
+	private ByteBuffer readRange(long start, long end) throws IOException{
+		if(end > totalSize){
+			throw new ZipException("Entry goes past the end of " + url);
+		}
+		if(end <= start){
+			return ByteBuffer.allocate(0).order(ByteOrder.LITTLE_ENDIAN);
+		}
+		if(localCopy != null){
+			return readLocal(start, end);
+		}
+		HttpResponse<InputStream> response = transport.sendStreaming(transport.request(url)
+				.header("Range", "bytes=" + start + "-" + (end - 1))
+				.build());
+		try(InputStream in = response.body()){
+			int responseCode = response.statusCode();
+			if(responseCode != HttpURLConnection.HTTP_PARTIAL){
+				throw new IOException("Failed to read part of " + url + " - server responded with " + responseCode);
+			}
+			byte[] bytes = in.readNBytes((int) (end - start));
+			if(bytes.length != end - start){
+				throw new IOException("Response for part of " + url + " ended early");
+			}
+			return countAndWrap(bytes);
+		}
+	}
+	
+	/**
+	 * Reads the given range of bytes from the local copy of the zip
+	 *
+	 * @param start The first byte to read
+	 * @param end The end of the range (exclusive)
+	 * @return The bytes that were read
+	 * @throws IOException If anything goes wrong in reading
+	 */
+	private ByteBuffer readLocal(long start, long end) throws IOException{
+		ByteBuffer buffer = ByteBuffer.allocate((int) (end - start)).order(ByteOrder.LITTLE_ENDIAN);
+		try(FileChannel channel = FileChannel.open(localCopy, StandardOpenOption.READ)){
+			while(buffer.hasRemaining()){
+				if(channel.read(buffer, start + buffer.position()) == -1){
+					throw new IOException("Local copy of " + url + " ended early");
+				}
+			}
+		}
+		return buffer.flip();
+	}
+	
+	/**
+	 * @param bytes Bytes that were downloaded
+	 * @return The bytes wrapped in a little-endian {@link ByteBuffer} (after counting them as downloaded)
+	 */
+	private ByteBuffer countAndWrap(byte[] bytes){
+		synchronized(this){
+			bytesDownloaded += bytes.length;
+		}
+		return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	/**
+	 * Deletes the local copy of the zip, if one had to be made
+	 *
+	 * @throws IOException If anything goes wrong in deleting the local copy
+	 */
+	@Override
+	public void close() throws IOException{
+		if(localCopy != null){
+			Files.deleteIfExists(localCopy);
+		}
+	}
+}
@@ -0,0 +1,309 @@
+package com.github.tadukoo.launcher.downloader;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry Policy retries something that can fail for a moment (like a request to a server that's having a bad
+ * second) a bounded number of times, waiting longer after each failure. The wait doubles each time, starting at
+ * the base delay and never going past the max delay, and is jittered to somewhere between half and all of that,
+ * so many clients that failed at the same time don't all come back at the same moment.
+ * <br><br>
+ * A {@link FileNotFoundException} isn't retried, since a missing file won't show up by asking again.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class RetryPolicy{
+	
+	/**
+	 * Retry Policy Builder is used to build a new {@link RetryPolicy}. It has the following parameters:
+	 *
+	 * <table>
+	 *     <caption>Retry Policy Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>maxAttempts</td>
+	 *         <td>The most times to try (including the first time)</td>
+	 *         <td>Defaults to {@link #DEFAULT_MAX_ATTEMPTS}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>baseDelay</td>
+	 *         <td>How long to wait after the first failure (before jitter)</td>
+	 *         <td>Defaults to {@link #DEFAULT_BASE_DELAY}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>maxDelay</td>
+	 *         <td>The longest to ever wait between attempts</td>
+	 *         <td>Defaults to {@link #DEFAULT_MAX_DELAY}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>sleeper</td>
+	 *         <td>The {@link Sleeper} used to wait between attempts</td>
+	 *         <td>Defaults to {@link #DEFAULT_SLEEPER}</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class RetryPolicyBuilder{
+		/** The most times to try (including the first time) */
+		private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+		/** How long to wait after the first failure (before jitter) */
+		private Duration baseDelay = DEFAULT_BASE_DELAY;
+		/** The longest to ever wait between attempts */
+		private Duration maxDelay = DEFAULT_MAX_DELAY;
+		/** The {@link Sleeper} used to wait between attempts */
+		private Sleeper sleeper = DEFAULT_SLEEPER;
+		
+		// Not allowed to create Retry Policy Builder outside of Retry Policy
+		private RetryPolicyBuilder(){ }
+		
+		/**
+		 * @param maxAttempts The most times to try (including the first time)
+		 * @return this, to continue building
+		 */
+		public RetryPolicyBuilder maxAttempts(int maxAttempts){
+			this.maxAttempts = maxAttempts;
+			return this;
+		}
+		
+		/**
+		 * @param baseDelay How long to wait after the first failure (before jitter)
+		 * @return this, to continue building
+		 */
+		public RetryPolicyBuilder baseDelay(Duration baseDelay){
+			this.baseDelay = baseDelay;
+			return this;
+		}
+		
+		/**
+		 * @param maxDelay The longest to ever wait between attempts
+		 * @return this, to continue building
+		 */
+		public RetryPolicyBuilder maxDelay(Duration maxDelay){
+			this.maxDelay = maxDelay;
+			return this;
+		}
+		
+		/**
+		 * @param sleeper The {@link Sleeper} used to wait between attempts
+		 * @return this, to continue building
+		 */
+		public RetryPolicyBuilder sleeper(Sleeper sleeper){
+			this.sleeper = sleeper;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// Max attempts must be positive
+			if(maxAttempts < 1){
+				errors.add("maxAttempts must be at least 1");
+			}
+			
+			// Base delay is required and can't be negative
+			if(baseDelay == null || baseDelay.isNegative()){
+				errors.add("baseDelay can't be null or negative");
+			}
+			
+			// Max delay is required and can't be less than the base delay
+			if(maxDelay == null || (baseDelay != null && maxDelay.compareTo(baseDelay) < 0)){
+				errors.add("maxDelay can't be null or less than baseDelay");
+			}
+			
+			// Sleeper is required
+			if(sleeper == null){
+				errors.add("sleeper is required");
+			}
+			
+			// If we find errors, throw an exception
+			if(!errors.isEmpty()){
+				throw new IllegalArgumentException("The following errors happened in building a RetryPolicy: \n" +
+						String.join("\n", errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link RetryPolicy} with the set parameters
+		 *
+		 * @return The newly built {@link RetryPolicy}
+		 */
+		public RetryPolicy build(){
+			checkForErrors();
+			return new RetryPolicy(maxAttempts, baseDelay, maxDelay, sleeper);
+		}
+	}
+	
+	/**
+	 * Attempt is something to try (and maybe retry) with a {@link RetryPolicy}.
+	 *
+	 * @param <T> The type of result
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	@FunctionalInterface
+	public interface Attempt<T>{
+		/**
+		 * Tries it once
+		 *
+		 * @return The result
+		 * @throws IOException If it failed
+		 */
+		T attempt() throws IOException;
+	}
+	
+	/**
+	 * Sleeper waits between attempts for a {@link RetryPolicy}.
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	@FunctionalInterface
+	public interface Sleeper{
+		/**
+		 * Waits for the given delay
+		 *
+		 * @param delay How long to wait
+		 * @throws InterruptedException If interrupted while waiting
+		 */
+		void sleep(Duration delay) throws InterruptedException;
+	}
+	
+	/** The default for the most times to try */
+	public static final int DEFAULT_MAX_ATTEMPTS = 3;
+	/** The default for how long to wait after the first failure */
+	public static final Duration DEFAULT_BASE_DELAY = Duration.ofMillis(250);
+	/** The default for the longest to ever wait between attempts */
+	public static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(5);
+	/** The default {@link Sleeper}, which sleeps the current thread */
+	public static final Sleeper DEFAULT_SLEEPER = delay -> Thread.sleep(delay.toMillis());
+	
+	/** The most times to try (including the first time) */
+	private final int maxAttempts;
+	/** How long to wait after the first failure (before jitter) */
+	private final Duration baseDelay;
+	/** The longest to ever wait between attempts */
+	private final Duration maxDelay;
+	/** The {@link Sleeper} used to wait between attempts */
+	private final Sleeper sleeper;
+	
+	/**
+	 * Creates a new Retry Policy with the given parameters
+	 *
+	 * @param maxAttempts The most times to try (including the first time)
+	 * @param baseDelay How long to wait after the first failure (before jitter)
+	 * @param maxDelay The longest to ever wait between attempts
+	 * @param sleeper The {@link Sleeper} used to wait between attempts
+	 */
+	private RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay, Sleeper sleeper){
+		this.maxAttempts = maxAttempts;
+		this.baseDelay = baseDelay;
+		this.maxDelay = maxDelay;
+		this.sleeper = sleeper;
+	}
+	
+	/**
+	 * @return A new {@link RetryPolicyBuilder} to use to build a {@link RetryPolicy}
+	 */
+	public static RetryPolicyBuilder builder(){
+		return new RetryPolicyBuilder();
+	}
+	
+	/**
+	 * @return The most times to try (including the first time)
+	 */
+	public int getMaxAttempts(){
+		return maxAttempts;
+	}
+	
+	/**
+	 * @return How long to wait after the first failure (before jitter)
+	 */
+	public Duration getBaseDelay(){
+		return baseDelay;
+	}
+	
+	/**
+	 * @return The longest to ever wait between attempts
+	 */
+	public Duration getMaxDelay(){
+		return maxDelay;
+	}
+	
+	/**
+	 * @return The {@link Sleeper} used to wait between attempts
+	 */
+	public Sleeper getSleeper(){
+		return sleeper;
+	}
+	
+	/**
+	 * Figures out how long to wait after the given number of failures: the base delay doubled for each failure
+	 * after the first (up to the max delay), jittered to somewhere between half and all of that
+	 *
+	 * @param failures The number of failures so far (at least 1)
+	 * @return How long to wait before trying again
+	 */
+	public Duration getDelay(int failures){
+		long maxNanos = maxDelay.toNanos();
+		long nanos = baseDelay.toNanos();
+		for(int i = 1; i < failures && nanos < maxNanos; i++){
+			nanos *= 2;
+		}
+		nanos = Math.min(nanos, maxNanos);
+		return Duration.ofNanos(nanos / 2 + ThreadLocalRandom.current().nextLong(nanos / 2 + 1));
+	}
+	
+	/**
+	 * Tries the given {@link Attempt} until it works, up to the max attempts, waiting {@link #getDelay a while}
+	 * (with the {@link Sleeper}) after each failure
+	 *
+	 * @param attempt The {@link Attempt} to try
+	 * @param <T> The type of result
+	 * @return The result of the first attempt that worked
+	 * @throws IOException The last failure (with the earlier ones suppressed in it) if no attempt worked, or a
+	 * {@link FileNotFoundException} right away
+	 */
+	public <T> T run(Attempt<T> attempt) throws IOException{
+		List<IOException> failures = new ArrayList<>();
+		while(true){
+			try{
+				return attempt.attempt();
+			}catch(IOException e){
+				if(e instanceof FileNotFoundException || failures.size() + 1 >= maxAttempts){
+					for(IOException failure: failures){
+						e.addSuppressed(failure);
+					}
+					throw e;
+				}
+				failures.add(e);
+			}
+			try{
+				sleeper.sleep(getDelay(failures.size()));
+			}catch(InterruptedException e){
+				Thread.currentThread().interrupt();
+				IOException interrupted = new IOException("Interrupted while waiting to try again", e);
+				for(IOException failure: failures){
+					interrupted.addSuppressed(failure);
+				}
+				throw interrupted;
+			}
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package com.github.tadukoo.launcher.downloader;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Streaming Unzipper extracts a zip straight from a stream (like a download that's still arriving), instead of
+ * saving the whole zip first and extracting it after. The entries are read in the order they're stored in, and
+ * each one is decompressed and written to its file as its bytes come in. As soon as an entry is complete (and its
+ * CRC-32 has been checked), it's moved into place and handed to the {@link EntryListener}, so something like a
+ * font loader can start on it while the rest of the zip is still downloading. The zip itself is never stored.
+ * <br><br>
+ * Each entry is written to a temporary file next to its destination first, so a failed extract never leaves a
+ * half-written file behind.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class StreamingUnzipper{
+	
+	/**
+	 * Entry Listener is told about each entry of the zip as soon as it's been extracted.
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	@FunctionalInterface
+	public interface EntryListener{
+		/**
+		 * Called once the given entry has been extracted (on the thread doing the extracting, so this shouldn't
+		 * take long - hand anything slow off to another thread)
+		 *
+		 * @param name The name of the entry that was extracted
+		 * @param file The {@link Path} it was extracted to
+		 * @throws IOException If anything goes wrong in handling the file
+		 */
+		void entryExtracted(String name, Path file) throws IOException;
+	}
+	
+	/** The size of the buffer used when reading the stream */
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
+	/** The folder to extract to */
+	private final Path folder;
+	/** Files in the folder that entries aren't allowed to be extracted to */
+	private final Set<Path> reservedFiles = new HashSet<>();
+	
+	/**
+	 * Creates a new Streaming Unzipper for the given folder
+	 *
+	 * @param folder The folder to extract to
+	 */
+	public StreamingUnzipper(Path folder){
+		this(folder, List.of());
+	}
+	
+	/**
+	 * Creates a new Streaming Unzipper for the given folder
+	 *
+	 * @param folder The folder to extract to
+	 * @param reservedFiles Files in the folder that entries aren't allowed to be extracted to (like a manifest)
+	 */
+	public StreamingUnzipper(Path folder, Collection<Path> reservedFiles){
+		this.folder = folder.toAbsolutePath().normalize();
+		for(Path reservedFile: reservedFiles){
+			this.reservedFiles.add(reservedFile.toAbsolutePath().normalize());
+		}
+	}
+	
+	/**
+	 * @return The folder to extract to
+	 */
+	public Path getFolder(){
+		return folder;
+	}
+	
+	/**
+	 * Extracts every file entry of the zip in the given stream, as it's read
+	 *
+	 * @param in An {@link InputStream} of the zip (it's read to the end of the last entry, but not closed)
+	 * @param listener The {@link EntryListener} to tell about each extracted entry (may be null)
+	 * @return The {@link ZipEntry}s that were extracted (with their CRC-32s and sizes), in the order they were in
+	 * the zip
+	 * @throws IOException If the zip is bad, an entry's name would put it outside the folder, or anything goes
+	 * wrong in reading or writing
+	 */
+	public List<ZipEntry> extract(InputStream in, EntryListener listener) throws IOException{
+		Files.createDirectories(folder);
+		List<ZipEntry> extracted = new ArrayList<>();
+		ZipInputStream zip = new ZipInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+		ZipEntry entry;
+		while((entry = zip.getNextEntry()) != null){
+			if(entry.isDirectory()){
+				continue;
+			}
+			Path destination = resolve(entry.getName());
+			if(destination.getParent() != null){
+				Files.createDirectories(destination.getParent());
+			}
+			Path tempPath = destination.resolveSibling(destination.getFileName() + ".part");
+			try{
+				// The ZipInputStream stops at the end of the entry, and checks its CRC-32 there
+				Files.copy(zip, tempPath, StandardCopyOption.REPLACE_EXISTING);
+				Files.move(tempPath, destination, StandardCopyOption.REPLACE_EXISTING);
+			}finally{
+				Files.deleteIfExists(tempPath);
+			}
+			extracted.add(entry);
+			if(listener != null){
+				listener.entryExtracted(entry.getName(), destination);
+			}
+		}
+		return extracted;
+	}
+	
+	/**
+	 * @param name The name of an entry
+	 * @return The {@link Path} the entry should be extracted to
+	 * @throws IOException If the name would put it outside the folder, or on a reserved file
+	 */
+	private Path resolve(String name) throws IOException{
+		Path destination = folder.resolve(name).normalize();
+		if(!destination.startsWith(folder) || destination.equals(folder) || reservedFiles.contains(destination)){
+			throw new IOException("Bad entry name: " + name);
+		}
+		return destination;
+	}
+}
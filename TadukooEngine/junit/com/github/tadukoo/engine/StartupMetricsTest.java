@@ -0,0 +1,111 @@
+package com.github.tadukoo.engine;
+
+import com.github.tadukoo.util.logger.EasyLogger;
+import com.github.tadukoo.view.form.main.MainForm;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StartupMetricsTest{
+	private final StartupMetrics metrics = new StartupMetrics();
+	
+	@Test
+	public void testRecord(){
+		metrics.record("load", Duration.ofMillis(5));
+		metrics.record("classload", Duration.ofMillis(2));
+		metrics.record("load", Duration.ofMillis(3));
+		assertEquals(Duration.ofMillis(8), metrics.getPhase("load"));
+		assertEquals(List.of("load", "classload"), List.copyOf(metrics.getPhases().keySet()));
+		assertNull(metrics.getPhase("run"));
+	}
+	
+	@Test
+	public void testTime() throws Throwable{
+		assertEquals("done", metrics.time("work", () -> {
+			Thread.sleep(20);
+			return "done";
+		}));
+		assertTrue(metrics.getPhase("work").toMillis() >= 20);
+	}
+	
+	@Test
+	public void testTimeRecordsFailures(){
+		assertThrows(IOException.class, () -> metrics.time("work", () -> {
+			throw new IOException("Failed");
+		}));
+		assertTrue(metrics.getPhases().containsKey("work"));
+	}
+	
+	@Test
+	public void testFirstFrameShown(){
+		assertFalse(metrics.getFirstFrame().isDone());
+		metrics.firstFrameShown(Duration.ofMillis(40));
+		metrics.firstFrameShown(Duration.ofMillis(90));
+		assertTrue(metrics.getFirstFrame().isDone());
+		assertEquals(Duration.ofMillis(40), metrics.getPhase(StartupMetrics.FIRST_FRAME));
+	}
+	
+	@Test
+	public void testContextSubmit() throws Throwable{
+		Executor executor = Runnable::run;
+		ProgramLoadContext context = new ProgramLoadContext(null, executor, metrics);
+		assertEquals(executor, context.getExecutor());
+		assertEquals(metrics, context.getMetrics());
+		assertNull(context.getLogger());
+		assertEquals(Integer.valueOf(5), context.submit("task", () -> 5).get());
+		assertTrue(metrics.getPhases().containsKey("load:task"));
+		
+		ExecutionException e = assertThrows(ExecutionException.class, () -> context.submit("broken", () -> {
+			throw new IOException("Failed");
+		}).get());
+		assertEquals("Failed", e.getCause().getMessage());
+		assertTrue(metrics.getPhases().containsKey("load:broken"));
+	}
+	
+	@Test
+	public void testProgramContextDefaults(){
+		AtomicBoolean loaded = new AtomicBoolean(false);
+		AtomicBoolean ran = new AtomicBoolean(false);
+		Program program = new Program(){
+			@Override
+			public String getTitle(){
+				return "Test";
+			}
+			
+			@Override
+			public boolean load(EasyLogger logger){
+				loaded.set(true);
+				return true;
+			}
+			
+			@Override
+			public MainForm getMainForm(){
+				return null;
+			}
+			
+			@Override
+			public void run(){
+				ran.set(true);
+			}
+		};
+		ProgramLoadContext context = new ProgramLoadContext(null, Runnable::run, metrics);
+		assertTrue(program.load(context));
+		assertTrue(loaded.get());
+		
+		// The program has its own run, so that's used (and the main form is never made)
+		program.run(context);
+		assertTrue(ran.get());
+		assertNull(metrics.getPhase(StartupMetrics.MAIN_FORM));
+	}
+}
@@ -0,0 +1,74 @@
+package com.github.tadukoo.engine.browser;
+
+import com.github.tadukoo.engine.info.InfoType;
+import com.github.tadukoo.engine.info.ShortInfo;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CatalogListModelTest{
+	
+	private static ShortInfo program(int index){
+		return new ShortInfo(InfoType.PROGRAM, "Program " + index, "program" + index + ".json", "nowhere");
+	}
+	
+	@Test
+	public void testSizeAndElements(){
+		CatalogListModel model = new CatalogListModel(List.of(program(0), program(1)));
+		assertEquals(2, model.getSize());
+		assertEquals(program(0), model.getElementAt(0));
+		assertEquals(program(1), model.getElementAt(1));
+	}
+	
+	@Test
+	public void testOnlyGrabsRequestedEntries(){
+		List<Integer> grabbed = new ArrayList<>();
+		List<ShortInfo> catalog = new AbstractList<>(){
+			@Override
+			public ShortInfo get(int index){
+				grabbed.add(index);
+				return program(index);
+			}
+			
+			@Override
+			public int size(){
+				return 100000;
+			}
+		};
+		CatalogListModel model = new CatalogListModel(catalog);
+		assertEquals(100000, model.getSize());
+		assertEquals(0, grabbed.size());
+		assertEquals(program(5000), model.getElementAt(5000));
+		assertEquals(List.of(5000), grabbed);
+	}
+	
+	@Test
+	public void testAdd(){
+		CatalogListModel model = new CatalogListModel(List.of(program(0)));
+		List<ListDataEvent> events = new ArrayList<>();
+		model.addListDataListener(new ListDataListener(){
+			@Override
+			public void intervalAdded(ListDataEvent e){
+				events.add(e);
+			}
+			
+			@Override
+			public void intervalRemoved(ListDataEvent e){ }
+			
+			@Override
+			public void contentsChanged(ListDataEvent e){ }
+		});
+		model.add(program(1));
+		assertEquals(2, model.getSize());
+		assertEquals(program(1), model.getElementAt(1));
+		assertEquals(1, events.size());
+		assertEquals(1, events.get(0).getIndex0());
+		assertEquals(1, events.get(0).getIndex1());
+	}
+}
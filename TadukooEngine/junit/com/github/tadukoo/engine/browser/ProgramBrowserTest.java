@@ -0,0 +1,132 @@
+package com.github.tadukoo.engine.browser;
+
+import com.github.tadukoo.engine.info.InfoType;
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.info.ShortInfo;
+import com.github.tadukoo.util.junit.logger.JUnitEasyLogger;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class ProgramBrowserTest{
+	private final AtomicInteger formsBuilt = new AtomicInteger();
+	
+	private static ShortInfo program(int index){
+		return new ShortInfo(InfoType.PROGRAM, "Program " + index, "program" + index + ".json", "nowhere");
+	}
+	
+	private static List<ShortInfo> catalog(int size){
+		return new AbstractList<>(){
+			@Override
+			public ShortInfo get(int index){
+				return program(index);
+			}
+			
+			@Override
+			public int size(){
+				return size;
+			}
+		};
+	}
+	
+	private ProgramBrowser browser(int catalogSize) throws Throwable{
+		ProgramBrowser[] browser = new ProgramBrowser[1];
+		SwingUtilities.invokeAndWait(() -> browser[0] = ProgramBrowser.builder()
+				.catalog(catalog(catalogSize))
+				.programFormLoader(info -> {
+					formsBuilt.incrementAndGet();
+					return ProgramInfo.builder()
+							.title(info.getTitle()).description("About " + info.getTitle());
+				})
+				.maxForms(2)
+				.build());
+		return browser[0];
+	}
+	
+	private static ProgramInfo select(ProgramBrowser browser, int index) throws Throwable{
+		SwingUtilities.invokeAndWait(() -> browser.getList().setSelectedIndex(index));
+		ProgramInfo form = browser.showProgram(index).get(10, TimeUnit.SECONDS);
+		// Let the form get put on screen
+		SwingUtilities.invokeAndWait(() -> { });
+		return form;
+	}
+	
+	@Test
+	public void testBuilderDefaults() throws Throwable{
+		ProgramBrowser browser = browser(10);
+		assertNull(browser.getLogger());
+		assertNull(browser.getFontRegistry());
+		assertEquals(10, browser.getModel().getSize());
+		assertEquals(2, browser.getFormCache().getMaxForms());
+		assertNull(browser.getShownForm());
+	}
+	
+	@Test
+	public void testBuilderSetLogger() throws Throwable{
+		JUnitEasyLogger logger = new JUnitEasyLogger();
+		ProgramBrowser browser = ProgramBrowser.builder()
+				.logger(logger)
+				.catalog(catalog(1))
+				.programFormLoader(info -> null)
+				.build();
+		assertEquals(logger, browser.getLogger());
+		assertEquals(ProgramBrowser.DEFAULT_MAX_FORMS, browser.getFormCache().getMaxForms());
+	}
+	
+	@Test
+	public void testBuilderMissingEverything(){
+		try{
+			ProgramBrowser.builder().maxForms(0).build();
+			fail();
+		}catch(IllegalArgumentException e){
+			assertEquals("""
+					The following errors happened in building a ProgramBrowser:\s
+					catalog is required
+					programFormLoader is required
+					maxForms must be at least 1""", e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testNoFormsBuiltUpFront() throws Throwable{
+		browser(1000000);
+		assertEquals(0, formsBuilt.get());
+	}
+	
+	@Test
+	public void testSelectShowsForm() throws Throwable{
+		ProgramBrowser browser = browser(100);
+		ProgramInfo form = select(browser, 42);
+		assertEquals("Program 42", form.getTitle());
+		assertSame(form, browser.getShownForm());
+		assertEquals(1, formsBuilt.get());
+	}
+	
+	@Test
+	public void testReselectUsesCachedForm() throws Throwable{
+		ProgramBrowser browser = browser(100);
+		ProgramInfo form = select(browser, 1);
+		select(browser, 2);
+		assertSame(form, select(browser, 1));
+		assertEquals(2, formsBuilt.get());
+	}
+	
+	@Test
+	public void testFormsHeldStayBounded() throws Throwable{
+		ProgramBrowser browser = browser(100);
+		for(int i = 0; i < 10; i++){
+			select(browser, i);
+		}
+		assertEquals(10, formsBuilt.get());
+		assertEquals(2, browser.getFormCache().size());
+	}
+}
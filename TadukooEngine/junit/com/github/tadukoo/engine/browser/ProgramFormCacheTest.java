@@ -0,0 +1,126 @@
+package com.github.tadukoo.engine.browser;
+
+import com.github.tadukoo.engine.info.InfoType;
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.info.ShortInfo;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProgramFormCacheTest{
+	private final ProgramFormCache cache = new ProgramFormCache(info -> ProgramInfo.builder()
+			.title(info.getTitle()).description("About " + info.getTitle()), 2);
+	
+	private static ShortInfo program(String title){
+		return new ShortInfo(InfoType.PROGRAM, title, title + ".json", "nowhere");
+	}
+	
+	private static ProgramInfo get(ProgramFormCache cache, String title) throws Exception{
+		return cache.getForm(program(title)).get(10, TimeUnit.SECONDS);
+	}
+	
+	@Test
+	public void testGetMaxForms(){
+		assertEquals(2, cache.getMaxForms());
+	}
+	
+	@Test
+	public void testGetFormBuildsOnce() throws Exception{
+		ProgramInfo form = get(cache, "A");
+		assertEquals("A", form.getTitle());
+		assertSame(form, get(cache, "A"));
+		assertEquals(1, cache.getFormsBuilt());
+		assertEquals(1, cache.size());
+	}
+	
+	@Test
+	public void testLoadsOffEventThreadAndBuildsOnIt() throws Exception{
+		AtomicBoolean loadedOnEventThread = new AtomicBoolean(true);
+		AtomicBoolean builtOnEventThread = new AtomicBoolean(false);
+		ProgramFormCache threadCache = new ProgramFormCache(new ProgramFormLoader(){
+			@Override
+			public ProgramInfo.ProgramInfoBuilder loadForm(ShortInfo programInfoInfo){
+				loadedOnEventThread.set(SwingUtilities.isEventDispatchThread());
+				return ProgramInfo.builder().title(programInfoInfo.getTitle()).description("Threads");
+			}
+			
+			@Override
+			public ProgramInfo buildForm(ProgramInfo.ProgramInfoBuilder loadedForm) throws Throwable{
+				builtOnEventThread.set(SwingUtilities.isEventDispatchThread());
+				return loadedForm.build();
+			}
+		}, 2);
+		assertEquals("A", get(threadCache, "A").getTitle());
+		assertFalse(loadedOnEventThread.get());
+		assertTrue(builtOnEventThread.get());
+	}
+	
+	@Test
+	public void testEvictsLeastRecentlyUsed() throws Exception{
+		get(cache, "A");
+		get(cache, "B");
+		// Use A again, so B is the least recently used
+		get(cache, "A");
+		get(cache, "C");
+		assertEquals(2, cache.size());
+		assertTrue(cache.contains(program("A")));
+		assertFalse(cache.contains(program("B")));
+		assertTrue(cache.contains(program("C")));
+		assertEquals(3, cache.getFormsBuilt());
+	}
+	
+	@Test
+	public void testGetFormWhileBuildingWaits() throws Exception{
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger();
+		ProgramFormCache slowCache = new ProgramFormCache(info -> {
+			loads.incrementAndGet();
+			started.countDown();
+			release.await();
+			return ProgramInfo.builder().title(info.getTitle()).description("Slow");
+		}, 2);
+		CompletableFuture<ProgramInfo> first = slowCache.getForm(program("A"));
+		started.await();
+		CompletableFuture<ProgramInfo> second = slowCache.getForm(program("A"));
+		release.countDown();
+		assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+		assertEquals(1, loads.get());
+		assertEquals(1, slowCache.getFormsBuilt());
+	}
+	
+	@Test
+	public void testLoadFailure() throws Exception{
+		ProgramFormCache failingCache = new ProgramFormCache(info -> {
+			throw new IllegalStateException("No info for " + info.getTitle());
+		}, 2);
+		ExecutionException e = assertThrows(ExecutionException.class,
+				() -> failingCache.getForm(program("A")).get(10, TimeUnit.SECONDS));
+		assertEquals("No info for A", e.getCause().getMessage());
+		assertEquals(0, failingCache.size());
+		
+		// A failed form isn't remembered, so it's tried again
+		assertThrows(ExecutionException.class, () -> failingCache.getForm(program("A")).get(10, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	public void testClear() throws Exception{
+		get(cache, "A");
+		cache.clear();
+		assertEquals(0, cache.size());
+		get(cache, "A");
+		assertEquals(2, cache.getFormsBuilt());
+	}
+}
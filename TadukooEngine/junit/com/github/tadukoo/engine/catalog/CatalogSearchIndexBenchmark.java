@@ -0,0 +1,37 @@
+package com.github.tadukoo.engine.catalog;
+
+import java.util.List;
+
+/**
+ * Compares searching a catalog of 100,000 random programs with the {@link CatalogSearchIndex} against a linear
+ * scan with the same matching rules, using queries typed out one letter at a time. It's run by hand, not as part of
+ * the tests, since timings depend on the machine.
+ */
+public class CatalogSearchIndexBenchmark{
+	
+	public static void main(String[] args){
+		CatalogSearchIndexTest.RandomCatalog catalog = CatalogSearchIndexTest.randomCatalog(15, 100000);
+		List<String> queries = catalog.queries();
+		
+		// Warm up, then time
+		for(String query: queries){
+			catalog.index().search(query, 50);
+		}
+		long start = System.nanoTime();
+		for(String query: queries){
+			catalog.index().search(query, 50);
+		}
+		double indexedMicros = (System.nanoTime() - start) / 1000.0 / queries.size();
+		
+		// The linear scan is slow enough that a few queries are plenty
+		List<String> linearQueries = queries.subList(0, 10);
+		start = System.nanoTime();
+		for(String query: linearQueries){
+			CatalogSearchIndexTest.linearSearch(catalog, query, 50);
+		}
+		double linearMicros = (System.nanoTime() - start) / 1000.0 / linearQueries.size();
+		
+		System.out.printf("Searching 100,000 programs: the index took %.1f us per query, and a linear scan took " +
+				"%.1f us per query%n", indexedMicros, linearMicros);
+	}
+}
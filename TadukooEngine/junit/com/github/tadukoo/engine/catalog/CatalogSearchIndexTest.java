@@ -0,0 +1,211 @@
+package com.github.tadukoo.engine.catalog;
+
+import com.github.tadukoo.engine.info.InfoType;
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.info.ShortInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CatalogSearchIndexTest{
+	private CatalogSearchIndex index;
+	private final ShortInfo genealogy = program("Tadukoo Genealogy");
+	private final ShortInfo lookAndFeel = program("Tadukoo Look & Feel Test");
+	private final ShortInfo stratego = program("Stratego");
+	private final ShortInfo pojoMaker = program("Tadukoo Pojo Maker");
+	
+	private static ShortInfo program(String title){
+		return new ShortInfo(InfoType.PROGRAM, title, title.replace(" ", "") + ".json", "nowhere");
+	}
+	
+	@BeforeEach
+	public void setup(){
+		index = new CatalogSearchIndex();
+		index.add(genealogy);
+		index.add(lookAndFeel);
+		index.add(stratego);
+		index.add(pojoMaker);
+		index.setDescription(genealogy, "Keep track of your family tree");
+		index.setDescription(stratego, "Play the classic board game");
+		index.setDescription(pojoMaker, "Make Pojos for your Tadukoo Look & Feel");
+	}
+	
+	@Test
+	public void testTokenize(){
+		assertEquals(List.of("tadukoo", "look", "feel", "test"), CatalogSearchIndex.tokenize("Tadukoo Look & Feel Test"));
+		assertEquals(List.of("a", "b"), CatalogSearchIndex.tokenize(" A-b, a "));
+		assertEquals(List.of(), CatalogSearchIndex.tokenize(null));
+	}
+	
+	@Test
+	public void testSize(){
+		assertEquals(4, index.size());
+		index.add(genealogy);
+		assertEquals(4, index.size());
+	}
+	
+	@Test
+	public void testSearchShortPrefix(){
+		assertEquals(List.of(stratego), index.search("st", 10));
+	}
+	
+	@Test
+	public void testSearchInsideWord(){
+		assertEquals(List.of(genealogy), index.search("alog", 10));
+	}
+	
+	@Test
+	public void testSearchCaseInsensitive(){
+		assertEquals(List.of(stratego), index.search("STRAT", 10));
+	}
+	
+	@Test
+	public void testSearchEveryWordMustMatch(){
+		assertEquals(List.of(lookAndFeel, pojoMaker), index.search("tadukoo fe", 10));
+		assertEquals(List.of(), index.search("tadukoo stratego", 10));
+	}
+	
+	@Test
+	public void testSearchTitleMatchesFirst(){
+		// The Pojo Maker only mentions Look & Feel in its description, so it comes after the real one
+		assertEquals(List.of(lookAndFeel, pojoMaker), index.search("look feel", 10));
+	}
+	
+	@Test
+	public void testSearchDescription(){
+		assertEquals(List.of(stratego), index.search("board", 10));
+		assertEquals(List.of(genealogy, pojoMaker), index.search("your", 10));
+	}
+	
+	@Test
+	public void testSearchLimit(){
+		assertEquals(List.of(genealogy, lookAndFeel), index.search("tadukoo", 2));
+	}
+	
+	@Test
+	public void testSearchNoWords(){
+		assertEquals(List.of(), index.search(" & ", 10));
+	}
+	
+	@Test
+	public void testSearchNoMatch(){
+		assertEquals(List.of(), index.search("zebra", 10));
+	}
+	
+	@Test
+	public void testSetDescriptionReplaces(){
+		index.setDescription(stratego, "Capture the flag");
+		assertEquals(List.of(), index.search("board", 10));
+		assertEquals(List.of(stratego), index.search("flag", 10));
+	}
+	
+	@Test
+	public void testCrawlerListener() throws Throwable{
+		CatalogSearchIndex crawled = new CatalogSearchIndex();
+		ShortInfo chess = program("Chess");
+		crawled.programFound(chess);
+		assertEquals(List.of(chess), crawled.search("che", 10));
+		crawled.programLoaded(chess, ProgramInfo.builder().title("Chess").description("Checkmate").build());
+		assertEquals(List.of(chess), crawled.search("mate", 10));
+	}
+	
+	/**
+	 * A catalog of random programs (with random descriptions) and a {@link CatalogSearchIndex} of it, along with
+	 * queries made by typing out a few of its words one letter at a time, like a user would
+	 */
+	record RandomCatalog(List<ShortInfo> entries, List<String> descriptions, CatalogSearchIndex index,
+	                     List<String> queries){ }
+	
+	static RandomCatalog randomCatalog(long seed, int size){
+		Random random = new Random(seed);
+		String[] vocabulary = new String[20000];
+		for(int i = 0; i < vocabulary.length; i++){
+			vocabulary[i] = randomWord(random);
+		}
+		List<ShortInfo> entries = new ArrayList<>();
+		List<String> descriptions = new ArrayList<>();
+		CatalogSearchIndex index = new CatalogSearchIndex();
+		for(int i = 0; i < size; i++){
+			ShortInfo info = new ShortInfo(InfoType.PROGRAM,
+					vocabulary[random.nextInt(vocabulary.length)] + " " + vocabulary[random.nextInt(vocabulary.length)],
+					"program" + i + ".json", "nowhere");
+			StringBuilder description = new StringBuilder();
+			for(int j = 0; j < 8; j++){
+				description.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+			}
+			entries.add(info);
+			descriptions.add(description.toString());
+			index.add(info);
+			index.setDescription(info, description.toString());
+		}
+		
+		List<String> queries = new ArrayList<>();
+		for(int i = 0; i < 20; i++){
+			String word = vocabulary[random.nextInt(vocabulary.length)];
+			for(int length = 1; length <= word.length(); length++){
+				queries.add(word.substring(0, length));
+			}
+			String second = vocabulary[random.nextInt(vocabulary.length)].substring(0, 3);
+			queries.add(word + " " + second);
+		}
+		return new RandomCatalog(entries, descriptions, index, queries);
+	}
+	
+	/*
+	 * Linear scan with the same matching rules, for comparison
+	 */
+	static List<ShortInfo> linearSearch(RandomCatalog catalog, String query, int limit){
+		List<ShortInfo> entries = catalog.entries();
+		List<String> descriptions = catalog.descriptions();
+		List<String> terms = CatalogSearchIndex.tokenize(query);
+		List<ShortInfo> titleResults = new ArrayList<>();
+		List<ShortInfo> otherResults = new ArrayList<>();
+		for(int i = 0; i < entries.size(); i++){
+			List<String> titleWords = CatalogSearchIndex.tokenize(entries.get(i).getTitle());
+			List<String> descriptionWords = CatalogSearchIndex.tokenize(descriptions.get(i));
+			boolean allTitle = true, all = true;
+			for(String term: terms){
+				boolean inTitle = matches(titleWords, term);
+				allTitle &= inTitle;
+				all &= inTitle || matches(descriptionWords, term);
+			}
+			if(allTitle){
+				titleResults.add(entries.get(i));
+			}else if(all){
+				otherResults.add(entries.get(i));
+			}
+		}
+		titleResults.addAll(otherResults);
+		return titleResults.subList(0, Math.min(limit, titleResults.size()));
+	}
+	
+	private static boolean matches(List<String> words, String term){
+		for(String word: words){
+			if(term.length() < 3 ? word.startsWith(term):word.contains(term)){
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private static String randomWord(Random random){
+		char[] word = new char[3 + random.nextInt(7)];
+		for(int i = 0; i < word.length; i++){
+			word[i] = (char) ('a' + random.nextInt(26));
+		}
+		return new String(word);
+	}
+	
+	@Test
+	public void testSearchMatchesLinearScan(){
+		RandomCatalog catalog = randomCatalog(15, 2000);
+		for(String query: catalog.queries()){
+			assertEquals(linearSearch(catalog, query, 50), catalog.index().search(query, 50), query);
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package com.github.tadukoo.engine.catalog;
+
+import com.github.tadukoo.engine.info.InfoType;
+import com.github.tadukoo.engine.info.ShortInfo;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CatalogSnapshotTest{
+	private static final String SHA = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+	private static final String OLD_SHA = "60303ae22b998861bce3b28f33eec1be758a213c86c93c076dbe9f558c11c752";
+	
+	private static final List<String> MIRRORS = List.of("https://mirror1.dummy.url/a", "https://mirror2.dummy.url/a");
+	
+	private static List<ShortInfo> infos(){
+		List<ShortInfo> infos = new ArrayList<>();
+		infos.add(ShortInfo.builder()
+				.type(InfoType.PROGRAM).title("Some Program")
+				.infoName("SomeProgram.json").infoLocation("https://dummy.url/a").sha256(SHA)
+				.mirrorLocations(MIRRORS)
+				.build());
+		infos.add(new ShortInfo(InfoType.LIB, "Tadukoo Util", "TadukooUtil.json", "https://dummy.url/b"));
+		infos.add(new ShortInfo(InfoType.LIST, "M\u00e1s Programas \u2713", "more.json", null));
+		infos.add(ShortInfo.builder()
+				.type(InfoType.PROGRAM).title("Patched Program")
+				.infoName("PatchedProgram.json").infoLocation("https://dummy.url/c").sha256(SHA)
+				.patchFromSha256(OLD_SHA).patchLocation("https://dummy.url/c.patch")
+				.mirrorLocations(MIRRORS)
+				.build());
+		return infos;
+	}
+	
+	@Test
+	public void testRoundTrip() throws IOException{
+		List<ShortInfo> infos = infos();
+		CatalogSnapshot snapshot = CatalogSnapshot.wrap(CatalogSnapshot.encode(infos, 123, 456));
+		assertEquals(4, snapshot.size());
+		assertEquals(123, snapshot.getSourceSize());
+		assertEquals(456, snapshot.getSourceModified());
+		assertEquals(infos, snapshot.asList());
+		for(int i = 0; i < infos.size(); i++){
+			assertEquals(infos.get(i), snapshot.get(i));
+		}
+	}
+	
+	@Test
+	public void testRoundTripPatch() throws IOException{
+		CatalogSnapshot snapshot = CatalogSnapshot.wrap(CatalogSnapshot.encode(infos(), 0, 0));
+		ShortInfo patched = snapshot.get(3);
+		assertEquals(OLD_SHA, patched.getPatchFromSha256());
+		assertEquals("https://dummy.url/c.patch", patched.getPatchLocation());
+		assertTrue(patched.hasPatch());
+		
+		ShortInfo unpatched = snapshot.get(0);
+		assertNull(unpatched.getPatchFromSha256());
+		assertNull(unpatched.getPatchLocation());
+		assertFalse(unpatched.hasPatch());
+	}
+	
+	@Test
+	public void testRoundTripMirrors() throws IOException{
+		CatalogSnapshot snapshot = CatalogSnapshot.wrap(CatalogSnapshot.encode(infos(), 0, 0));
+		assertEquals(MIRRORS, snapshot.get(0).getMirrorLocations());
+		assertEquals(MIRRORS, snapshot.get(3).getMirrorLocations());
+		assertTrue(snapshot.get(1).getMirrorLocations().isEmpty());
+		assertEquals(MIRRORS, snapshot.getMirrorLocations(0));
+		assertTrue(snapshot.getMirrorLocations(2).isEmpty());
+		
+		// The same list of mirrors is only stored once
+		assertEquals(1, snapshot.getStringListCount());
+	}
+	
+	@Test
+	public void testFieldAccessors() throws IOException{
+		CatalogSnapshot snapshot = CatalogSnapshot.wrap(CatalogSnapshot.encode(infos(), 0, 0));
+		assertEquals(InfoType.PROGRAM, snapshot.getType(0));
+		assertEquals("Some Program", snapshot.getTitle(0));
+		assertEquals("SomeProgram.json", snapshot.getInfoName(0));
+		assertEquals("https://dummy.url/a", snapshot.getInfoLocation(0));
+		assertEquals(SHA, snapshot.getSha256(0));
+		assertNull(snapshot.getSha256(1));
+		assertEquals("M\u00e1s Programas \u2713", snapshot.getTitle(2));
+		assertNull(snapshot.getInfoLocation(2));
+		assertEquals(OLD_SHA, snapshot.getPatchFromSha256(3));
+		assertEquals("https://dummy.url/c.patch", snapshot.getPatchLocation(3));
+		assertNull(snapshot.getPatchLocation(0));
+		assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getTitle(4));
+	}
+	
+	@Test
+	public void testStringsInterned() throws IOException{
+		List<ShortInfo> infos = new ArrayList<>();
+		for(int i = 0; i < 1000; i++){
+			infos.add(new ShortInfo(InfoType.LIB, "Library " + (i % 10), "library.json", "https://dummy.url/lib"));
+		}
+		byte[] bytes = CatalogSnapshot.encode(infos, 0, 0);
+		CatalogSnapshot snapshot = CatalogSnapshot.wrap(bytes);
+		assertEquals(12, snapshot.getStringCount());
+		assertEquals("Library 7", snapshot.getTitle(997));
+		
+		// Header, fixed-width entries, and a small string table
+		assertTrue(bytes.length < 48 + 1000 * 32 + 400);
+	}
+	
+	@Test
+	public void testEmpty() throws IOException{
+		CatalogSnapshot snapshot = CatalogSnapshot.wrap(CatalogSnapshot.encode(new ArrayList<>(), 0, 0));
+		assertEquals(0, snapshot.size());
+		assertTrue(snapshot.asList().isEmpty());
+	}
+	
+	@Test
+	public void testMatches() throws IOException{
+		CatalogSnapshot snapshot = CatalogSnapshot.wrap(CatalogSnapshot.encode(infos(), 10, 20));
+		assertTrue(snapshot.matches(10, 20));
+		assertFalse(snapshot.matches(11, 20));
+		assertFalse(snapshot.matches(10, 21));
+	}
+	
+	@Test
+	public void testBrokenSnapshots() throws IOException{
+		byte[] bytes = CatalogSnapshot.encode(infos(), 0, 0);
+		assertThrows(IOException.class, () -> CatalogSnapshot.wrap(new byte[10]));
+		
+		byte[] badMagic = bytes.clone();
+		badMagic[0] = 0;
+		assertThrows(IOException.class, () -> CatalogSnapshot.wrap(badMagic));
+		
+		byte[] badVersion = bytes.clone();
+		badVersion[7] = 99;
+		assertThrows(IOException.class, () -> CatalogSnapshot.wrap(badVersion));
+		
+		byte[] truncated = new byte[bytes.length - 5];
+		System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+		assertThrows(IOException.class, () -> CatalogSnapshot.wrap(truncated));
+	}
+}
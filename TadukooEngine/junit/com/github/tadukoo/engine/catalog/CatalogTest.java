@@ -0,0 +1,139 @@
+package com.github.tadukoo.engine.catalog;
+
+import com.github.tadukoo.engine.info.InfoList;
+import com.github.tadukoo.engine.info.InfoType;
+import com.github.tadukoo.engine.info.ShortInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class CatalogTest{
+	private Path folder;
+	private Path jsonPath;
+	private final AtomicInteger loads = new AtomicInteger();
+	private volatile List<ShortInfo> infos;
+	private Catalog catalog;
+	
+	@BeforeEach
+	public void setup() throws IOException{
+		folder = Files.createTempDirectory("catalog");
+		jsonPath = folder.resolve("catalog.json");
+		infos = entries(3);
+		writeJSON("version 1", 1000);
+		// The JSON itself isn't read here, the loader just hands back whatever the test says is in it
+		catalog = Catalog.builder()
+				.jsonPath(jsonPath)
+				.jsonLoader(path -> {
+					loads.incrementAndGet();
+					return new InfoList(infos);
+				})
+				.build();
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		try(var files = Files.walk(folder)){
+			for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+				Files.delete(file);
+			}
+		}
+	}
+	
+	private static List<ShortInfo> entries(int count){
+		List<ShortInfo> entries = new ArrayList<>();
+		for(int i = 0; i < count; i++){
+			entries.add(new ShortInfo(InfoType.PROGRAM, "Program " + i, "Program" + i + ".json",
+					"https://dummy.url/" + i));
+		}
+		return entries;
+	}
+	
+	private void writeJSON(String content, long modified) throws IOException{
+		Files.writeString(jsonPath, content);
+		Files.setLastModifiedTime(jsonPath, FileTime.fromMillis(modified));
+	}
+	
+	@Test
+	public void testBuilderDefaultSnapshotPath(){
+		assertEquals(folder.resolve("catalog.json.snapshot"), catalog.getSnapshotPath());
+	}
+	
+	@Test
+	public void testBuilderMissingEverything(){
+		try{
+			Catalog.builder().build();
+			fail();
+		}catch(IllegalArgumentException e){
+			assertEquals("""
+							The following errors happened in building a Catalog:\s
+							jsonPath is required
+							jsonLoader is required""",
+					e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testFirstLoadMakesSnapshot() throws Throwable{
+		CatalogSnapshot snapshot = catalog.load();
+		assertEquals(1, loads.get());
+		assertTrue(Files.isRegularFile(catalog.getSnapshotPath()));
+		assertEquals(infos, snapshot.asList());
+	}
+	
+	@Test
+	public void testUnchangedJSONUsesSnapshot() throws Throwable{
+		catalog.load();
+		CatalogSnapshot snapshot = catalog.load();
+		assertEquals(1, loads.get());
+		assertEquals(infos, snapshot.asList());
+	}
+	
+	@Test
+	public void testChangedJSONRebuildsSnapshot() throws Throwable{
+		catalog.load();
+		infos = entries(5);
+		writeJSON("version 2", 2000);
+		CatalogSnapshot snapshot = catalog.load();
+		assertEquals(2, loads.get());
+		assertEquals(5, snapshot.size());
+		assertEquals("Program 4", snapshot.getTitle(4));
+		
+		// Same size but a different time counts as changed too
+		writeJSON("version 3", 3000);
+		catalog.load();
+		assertEquals(3, loads.get());
+	}
+	
+	@Test
+	public void testBrokenSnapshotRebuilt() throws Throwable{
+		catalog.load();
+		Files.write(catalog.getSnapshotPath(), new byte[]{1, 2, 3});
+		CatalogSnapshot snapshot = catalog.load();
+		assertEquals(2, loads.get());
+		assertEquals(infos, snapshot.asList());
+		assertEquals(infos, CatalogSnapshot.open(catalog.getSnapshotPath()).asList());
+	}
+	
+	@Test
+	public void testLargeCatalogNotParsedAgain() throws Throwable{
+		infos = entries(10000);
+		catalog.load();
+		CatalogSnapshot snapshot = catalog.load();
+		assertEquals(1, loads.get());
+		assertEquals(10000, snapshot.size());
+		assertEquals("Program9999.json", snapshot.getInfoName(9999));
+	}
+}
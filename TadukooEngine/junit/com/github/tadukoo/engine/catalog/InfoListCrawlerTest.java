@@ -0,0 +1,262 @@
+package com.github.tadukoo.engine.catalog;
+
+import com.github.tadukoo.engine.config.InfoListsConfig;
+import com.github.tadukoo.engine.info.InfoList;
+import com.github.tadukoo.engine.info.InfoType;
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.info.ShortInfo;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class InfoListCrawlerTest{
+	private final Map<String, InfoList> lists = new ConcurrentHashMap<>();
+	private final Map<String, AtomicInteger> runningPerHost = new ConcurrentHashMap<>();
+	private final Map<String, AtomicInteger> maxPerHost = new ConcurrentHashMap<>();
+	private final AtomicInteger running = new AtomicInteger();
+	private final AtomicInteger maxRunning = new AtomicInteger();
+	private final AtomicInteger loads = new AtomicInteger();
+	private volatile long loadMillis = 0;
+	
+	private static ShortInfo list(String host, String name){
+		return new ShortInfo(InfoType.LIST, "List " + name, name + ".json", "https://" + host + "/" + name + ".json");
+	}
+	
+	private static ShortInfo program(String name){
+		return new ShortInfo(InfoType.PROGRAM, name, name + ".json", "https://programs.dummy/" + name + ".json");
+	}
+	
+	private static ShortInfo library(String name){
+		return new ShortInfo(InfoType.LIB, name, name + ".json", "https://libs.dummy/" + name + ".json");
+	}
+	
+	private void define(ShortInfo list, ShortInfo... entries){
+		lists.put(list.getInfoLocation(), new InfoList(List.of(entries)));
+	}
+	
+	private InfoList load(ShortInfo info) throws Throwable{
+		loads.incrementAndGet();
+		String host = info.getInfoLocation().split("/")[2];
+		int nowRunning = running.incrementAndGet();
+		maxRunning.accumulateAndGet(nowRunning, Math::max);
+		int hostRunning = runningPerHost.computeIfAbsent(host, h -> new AtomicInteger()).incrementAndGet();
+		maxPerHost.computeIfAbsent(host, h -> new AtomicInteger()).accumulateAndGet(hostRunning, Math::max);
+		try{
+			if(loadMillis > 0){
+				Thread.sleep(loadMillis);
+			}
+			InfoList infoList = lists.get(info.getInfoLocation());
+			if(infoList == null){
+				throw new IOException("No list at " + info.getInfoLocation());
+			}
+			return infoList;
+		}finally{
+			runningPerHost.get(host).decrementAndGet();
+			running.decrementAndGet();
+		}
+	}
+	
+	private InfoListCrawler.InfoListCrawlerBuilder crawler(){
+		return InfoListCrawler.builder().infoListLoader(this::load);
+	}
+	
+	@Test
+	public void testBuilderDefaults(){
+		InfoListCrawler crawler = crawler().build();
+		assertEquals(InfoListCrawler.DEFAULT_PARALLELISM, crawler.getParallelism());
+		assertEquals(InfoListCrawler.DEFAULT_PER_HOST_LIMIT, crawler.getPerHostLimit());
+	}
+	
+	@Test
+	public void testBuilderErrors(){
+		try{
+			InfoListCrawler.builder().listener(null).parallelism(0).perHostLimit(0).build();
+			fail();
+		}catch(IllegalArgumentException e){
+			assertEquals("""
+							The following errors happened in building an InfoListCrawler:\s
+							infoListLoader is required
+							listener is required
+							parallelism must be at least 1
+							perHostLimit must be at least 1""",
+					e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testCrawlTree() throws Throwable{
+		ShortInfo root = list("a.dummy", "root");
+		ShortInfo games = list("a.dummy", "games");
+		ShortInfo tools = list("b.dummy", "tools");
+		define(root, games, tools, program("Launcher"));
+		define(games, program("Game 1"), program("Game 2"), library("Game Lib"));
+		define(tools, program("Tool"), library("Tool Lib"));
+		
+		InfoListsConfig config = InfoListsConfig.builder().infoList(root).build();
+		InfoListCrawlResult result = crawler().build().crawl(config).get(10, TimeUnit.SECONDS);
+		assertEquals(3, result.getInfoLists().size());
+		assertEquals(4, result.getPrograms().size());
+		assertTrue(result.getPrograms().contains(program("Game 2")));
+		assertEquals(2, result.getLibraries().size());
+		assertTrue(result.getFailures().isEmpty());
+		assertEquals(0, result.getCycles());
+	}
+	
+	@Test
+	public void testDedupeByLocation() throws Throwable{
+		ShortInfo root1 = list("a.dummy", "root1");
+		ShortInfo root2 = list("a.dummy", "root2");
+		ShortInfo shared = list("a.dummy", "shared");
+		define(root1, shared, program("Game"));
+		define(root2, shared, program("Game"));
+		define(shared, library("Lib"));
+		
+		InfoListCrawlResult result = crawler().build().crawl(List.of(root1, root2)).get(10, TimeUnit.SECONDS);
+		assertEquals(3, loads.get());
+		assertEquals(1, result.getPrograms().size());
+		assertEquals(1, result.getLibraries().size());
+		assertEquals(0, result.getCycles());
+	}
+	
+	@Test
+	public void testCycles() throws Throwable{
+		ShortInfo a = list("a.dummy", "a");
+		ShortInfo b = list("a.dummy", "b");
+		define(a, b, program("A Program"));
+		define(b, a, program("B Program"));
+		List<List<ShortInfo>> cyclePaths = Collections.synchronizedList(new ArrayList<>());
+		
+		InfoListCrawlResult result = crawler()
+				.listener(new InfoListCrawlerListener(){
+					@Override
+					public void cycleFound(ShortInfo infoListInfo, List<ShortInfo> path){
+						cyclePaths.add(path);
+					}
+				})
+				.build().crawl(List.of(a)).get(10, TimeUnit.SECONDS);
+		assertEquals(2, loads.get());
+		assertEquals(1, result.getCycles());
+		assertEquals(List.of(List.of(a, b)), cyclePaths);
+		assertEquals(2, result.getPrograms().size());
+	}
+	
+	@Test
+	public void testFailuresDontStopTheCrawl() throws Throwable{
+		ShortInfo root = list("a.dummy", "root");
+		ShortInfo missing = list("a.dummy", "missing");
+		define(root, missing, program("Game"));
+		AtomicInteger failed = new AtomicInteger();
+		
+		InfoListCrawlResult result = crawler()
+				.listener(new InfoListCrawlerListener(){
+					@Override
+					public void loadFailed(ShortInfo info, Throwable t){
+						failed.incrementAndGet();
+					}
+				})
+				.build().crawl(List.of(root)).get(10, TimeUnit.SECONDS);
+		assertEquals(1, failed.get());
+		assertTrue(result.getFailures().get(missing) instanceof IOException);
+		assertEquals(1, result.getPrograms().size());
+	}
+	
+	@Test
+	public void testConcurrencyLimits() throws Throwable{
+		loadMillis = 50;
+		List<ShortInfo> rootEntries = new ArrayList<>();
+		for(int i = 0; i < 8; i++){
+			ShortInfo aList = list("a.dummy", "a" + i);
+			ShortInfo bList = list("b.dummy", "b" + i);
+			define(aList, program("A" + i));
+			define(bList, program("B" + i));
+			rootEntries.add(aList);
+			rootEntries.add(bList);
+		}
+		ShortInfo root = list("c.dummy", "root");
+		define(root, rootEntries.toArray(new ShortInfo[0]));
+		
+		InfoListCrawlResult result = crawler().parallelism(3).perHostLimit(2).build()
+				.crawl(List.of(root)).get(10, TimeUnit.SECONDS);
+		assertEquals(16, result.getPrograms().size());
+		assertTrue(maxRunning.get() <= 3);
+		assertTrue(maxPerHost.get("a.dummy").get() <= 2);
+		assertTrue(maxPerHost.get("b.dummy").get() <= 2);
+		assertTrue(maxRunning.get() > 1);
+	}
+	
+	@Test
+	public void testProgramsStreamedBeforeCrawlEnds() throws Throwable{
+		ShortInfo fast = list("a.dummy", "fast");
+		ShortInfo slow = list("b.dummy", "slow");
+		define(fast, program("Fast Game"));
+		define(slow, program("Slow Game"));
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch fastFound = new CountDownLatch(1);
+		
+		InfoListCrawler crawler = InfoListCrawler.builder()
+				.infoListLoader(info -> {
+					if(info.equals(slow)){
+						assertTrue(release.await(10, TimeUnit.SECONDS));
+					}
+					return load(info);
+				})
+				.listener(new InfoListCrawlerListener(){
+					@Override
+					public void programFound(ShortInfo programInfoInfo){
+						if(programInfoInfo.getTitle().equals("Fast Game")){
+							fastFound.countDown();
+						}
+					}
+				})
+				.build();
+		var future = crawler.crawl(List.of(slow, fast));
+		
+		// The fast list's program shows up while the slow list is still loading
+		assertTrue(fastFound.await(10, TimeUnit.SECONDS));
+		assertFalse(future.isDone());
+		release.countDown();
+		assertEquals(2, future.get(10, TimeUnit.SECONDS).getPrograms().size());
+	}
+	
+	@Test
+	public void testProgramInfosLoaded() throws Throwable{
+		ShortInfo root = list("a.dummy", "root");
+		define(root, program("Game 1"), program("Game 2"));
+		Map<String, ProgramInfo> loaded = new ConcurrentHashMap<>();
+		
+		InfoListCrawlResult result = crawler()
+				.programInfoLoader(info -> ProgramInfo.builder()
+						.title(info.getTitle()).description("A game")
+						.build())
+				.listener(new InfoListCrawlerListener(){
+					@Override
+					public void programLoaded(ShortInfo programInfoInfo, ProgramInfo programInfo){
+						loaded.put(programInfoInfo.getTitle(), programInfo);
+					}
+				})
+				.build().crawl(List.of(root)).get(10, TimeUnit.SECONDS);
+		assertEquals(2, result.getProgramInfos().size());
+		assertNotNull(result.getProgramInfos().get(program("Game 1")));
+		assertEquals("Game 2", loaded.get("Game 2").getTitle());
+	}
+	
+	@Test
+	public void testEmpty() throws Throwable{
+		InfoListCrawlResult result = crawler().build().crawl(List.of()).get(10, TimeUnit.SECONDS);
+		assertTrue(result.getPrograms().isEmpty());
+	}
+}
@@ -6,7 +6,6 @@ import com.github.tadukoo.parsing.json.JSONArrayList;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,8 +22,7 @@ public class InfoListsConfigTest{
 	}
 	
 	@Test
-	public void testBuilderDefaultInfoList()
-			throws InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException{
+	public void testBuilderDefaultInfoList(){
 		List<ShortInfo> infos = config.getInfoLists();
 		assertTrue(infos instanceof JSONArrayList);
 		assertTrue(infos.isEmpty());
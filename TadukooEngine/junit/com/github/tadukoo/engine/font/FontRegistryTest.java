@@ -0,0 +1,282 @@
+package com.github.tadukoo.engine.font;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.UIManager;
+import javax.swing.plaf.FontUIResource;
+import java.awt.Font;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class FontRegistryTest{
+	/** Places fonts might be found on the machine running the tests */
+	private static final List<Path> SYSTEM_FONT_FOLDERS = List.of(
+			Paths.get("/usr/share/fonts"), Paths.get("/Library/Fonts"), Paths.get("/System/Library/Fonts"),
+			Paths.get("C:/Windows/Fonts"));
+	private Path folder;
+	private Path fontsZip;
+	private List<Path> fontFiles;
+	private final List<Font> registered = Collections.synchronizedList(new ArrayList<>());
+	private FontRegistry registry;
+	
+	@BeforeEach
+	public void setup() throws IOException{
+		fontFiles = findSystemFonts();
+		assumeTrue(!fontFiles.isEmpty(), "No TrueType fonts found on this machine to test with");
+		folder = Files.createTempDirectory("font-registry");
+		fontsZip = folder.resolve("fonts.zip");
+		try(ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(fontsZip))){
+			for(Path fontFile: fontFiles){
+				out.putNextEntry(new ZipEntry("fonts/" + fontFile.getFileName()));
+				Files.copy(fontFile, out);
+				out.closeEntry();
+			}
+		}
+		registry = FontRegistry.builder()
+				.fontRegistrar(registered::add)
+				.build();
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		if(registry != null){
+			registry.close();
+		}
+		if(folder != null){
+			try(var files = Files.walk(folder)){
+				for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+					Files.delete(file);
+				}
+			}
+		}
+	}
+	
+	private static List<Path> findSystemFonts() throws IOException{
+		List<Path> fonts = new ArrayList<>();
+		for(Path systemFolder: SYSTEM_FONT_FOLDERS){
+			if(Files.isDirectory(systemFolder)){
+				try(Stream<Path> files = Files.walk(systemFolder, 3)){
+					files.filter(file -> file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".ttf"))
+							.sorted()
+							.limit(8)
+							.forEach(fonts::add);
+				}
+			}
+			if(!fonts.isEmpty()){
+				break;
+			}
+		}
+		return fonts;
+	}
+	
+	private static String familyOf(Path fontFile) throws Exception{
+		return Font.createFont(Font.TRUETYPE_FONT, fontFile.toFile()).getFamily(Locale.ROOT);
+	}
+	
+	@Test
+	public void testAddSourceOnlyIndexes() throws IOException{
+		assertEquals(fontFiles.size(), registry.addSource(fontsZip));
+		assertEquals(0, registry.getParsedFileCount());
+		assertEquals(fontFiles.size(), registry.getUnparsedFileCount());
+		assertTrue(registered.isEmpty());
+	}
+	
+	@Test
+	public void testRequestFamily() throws Exception{
+		registry.addSource(fontsZip);
+		String family = familyOf(fontFiles.get(0));
+		List<Font> fonts = registry.requestFamily(family).get();
+		assertFalse(fonts.isEmpty());
+		for(Font font: fonts){
+			assertEquals(family, font.getFamily(Locale.ROOT));
+		}
+		assertTrue(registry.isRegistered(family));
+		assertTrue(registered.containsAll(fonts));
+		assertEquals(fontFiles.size(), registry.getParsedFileCount() + registry.getUnparsedFileCount());
+	}
+	
+	@Test
+	public void testRequestFamilyOnlyOnce() throws Exception{
+		registry.addSource(fontsZip);
+		String family = familyOf(fontFiles.get(0));
+		CompletableFuture<List<Font>> fonts = registry.requestFamily(family);
+		fonts.get();
+		int registeredCount = registered.size();
+		int parsedCount = registry.getParsedFileCount();
+		assertSame(fonts, registry.requestFamily(family.toUpperCase(Locale.ROOT)));
+		assertEquals(registeredCount, registered.size());
+		assertEquals(parsedCount, registry.getParsedFileCount());
+	}
+	
+	@Test
+	public void testRequestUnknownFamily() throws Exception{
+		registry.addSource(fontsZip);
+		assertTrue(registry.requestFamily("No Such Family").get().isEmpty());
+		assertEquals(0, registry.getUnparsedFileCount());
+		assertFalse(registry.isRegistered("No Such Family"));
+	}
+	
+	@Test
+	public void testRequestFamilies() throws Exception{
+		registry.addSource(fontsZip);
+		String family = familyOf(fontFiles.get(0));
+		assertEquals(List.of(family), registry.requestFamilies(List.of(family, "No Such Family")).get());
+	}
+	
+	@Test
+	public void testGetFontRequestsFamily() throws Exception{
+		registry.addSource(fontsZip);
+		String family = familyOf(fontFiles.get(0));
+		assertFalse(registry.isRegistered(family));
+		
+		// The family is only loaded once a font of it is asked for
+		Font font = registry.getFont(family, Font.PLAIN, 20f).get();
+		assertEquals(family, font.getFamily(Locale.ROOT));
+		assertEquals(20f, font.getSize2D());
+		assertTrue(registry.isRegistered(family));
+		
+		Font bold = registry.getFont(family, Font.BOLD, 12f).get();
+		assertEquals(family, bold.getFamily(Locale.ROOT));
+		assertEquals(12f, bold.getSize2D());
+	}
+	
+	@Test
+	public void testGetFontUnknownFamily() throws Exception{
+		registry.addSource(fontsZip);
+		Font font = registry.getFont("No Such Family", Font.ITALIC, 14f).get();
+		assertEquals("No Such Family", font.getName());
+		assertEquals(Font.ITALIC, font.getStyle());
+		assertEquals(14, font.getSize());
+		assertFalse(registry.isRegistered("No Such Family"));
+	}
+	
+	@Test
+	public void testFolderSource() throws Exception{
+		Path fontsFolder = folder.resolve("fonts");
+		Files.createDirectories(fontsFolder);
+		Files.copy(fontFiles.get(0), fontsFolder.resolve(fontFiles.get(0).getFileName()));
+		Files.writeString(fontsFolder.resolve("readme.txt"), "Not a font");
+		assertEquals(1, registry.addSource(fontsFolder));
+		assertFalse(registry.requestFamily(familyOf(fontFiles.get(0))).get().isEmpty());
+	}
+	
+	@Test
+	public void testAddFile() throws Exception{
+		Path fontsFolder = Files.createDirectories(folder.resolve("fonts"));
+		Path fontFile = Files.copy(fontFiles.get(0), fontsFolder.resolve(fontFiles.get(0).getFileName()));
+		
+		// It's only indexed, not parsed
+		assertTrue(registry.addFile(fontFile));
+		assertEquals(0, registry.getParsedFileCount());
+		assertEquals(1, registry.getUnparsedFileCount());
+		assertTrue(registered.isEmpty());
+		
+		// Adding it again (or its folder) doesn't index it twice
+		assertFalse(registry.addFile(fontFile));
+		assertEquals(0, registry.addSource(fontsFolder));
+		List<Font> fonts = registry.requestFamily(familyOf(fontFiles.get(0))).get();
+		assertEquals(1, fonts.size());
+		assertEquals(1, registry.getParsedFileCount());
+		assertEquals(fonts, registered);
+	}
+	
+	@Test
+	public void testAddFileNotFont() throws IOException{
+		Path readme = Files.writeString(folder.resolve("readme.txt"), "Not a font");
+		assertFalse(registry.addFile(readme));
+		assertEquals(0, registry.getUnparsedFileCount());
+	}
+	
+	@Test
+	public void testAddFileAfterMissedRequest() throws Exception{
+		String family = familyOf(fontFiles.get(0));
+		assertTrue(registry.requestFamily(family).get().isEmpty());
+		
+		// Once a new file is added, the family is looked for again
+		Path fontFile = Files.copy(fontFiles.get(0), folder.resolve(fontFiles.get(0).getFileName()));
+		registry.addFile(fontFile);
+		assertFalse(registry.requestFamily(family).get().isEmpty());
+		assertTrue(registry.isRegistered(family));
+	}
+	
+	@Test
+	public void testApplyToRegistersOnFirstUse() throws Exception{
+		registry.addSource(fontsZip);
+		String family = familyOf(fontFiles.get(0));
+		JPanel form = new JPanel();
+		JLabel label = new JLabel("Hello");
+		label.setFont(new Font(family, Font.BOLD, 17));
+		form.add(label);
+		
+		// Nothing is registered until the form uses the family
+		assertFalse(registry.isRegistered(family));
+		assertTrue(registered.isEmpty());
+		registry.applyTo(form).get();
+		assertTrue(registry.isRegistered(family));
+		assertFalse(registered.isEmpty());
+		
+		// And the label now uses the registry's font
+		Font font = label.getFont();
+		assertEquals(family, font.getFamily(Locale.ROOT));
+		assertTrue(registered.stream().anyMatch(registeredFont ->
+				registeredFont.getFontName(Locale.ROOT).equals(font.getFontName(Locale.ROOT))));
+		assertEquals(17f, font.getSize2D());
+	}
+	
+	@Test
+	public void testApplyToLookAndFeel() throws Exception{
+		registry.addSource(fontsZip);
+		String family = familyOf(fontFiles.get(0));
+		String key = "FontRegistryTest.font";
+		UIManager.getLookAndFeelDefaults().put(key, new FontUIResource(family, Font.PLAIN, 15));
+		try{
+			assertFalse(registry.isRegistered(family));
+			registry.applyToLookAndFeel().get();
+			assertTrue(registry.isRegistered(family));
+			
+			Font font = UIManager.getFont(key);
+			assertTrue(font instanceof FontUIResource);
+			assertTrue(registered.stream().anyMatch(registeredFont ->
+					registeredFont.getFontName(Locale.ROOT).equals(font.getFontName(Locale.ROOT))));
+			assertEquals(15f, font.getSize2D());
+		}finally{
+			UIManager.getLookAndFeelDefaults().remove(key);
+		}
+	}
+	
+	@Test
+	public void testBrokenFontSkipped() throws Exception{
+		Path brokenZip = folder.resolve("broken.zip");
+		try(ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(brokenZip))){
+			out.putNextEntry(new ZipEntry("Broken-Regular.ttf"));
+			out.write("Not really a font".getBytes(StandardCharsets.UTF_8));
+			out.closeEntry();
+		}
+		registry.addSource(brokenZip);
+		assertTrue(registry.requestFamily("Broken").get().isEmpty());
+		assertEquals(0, registry.getParsedFileCount());
+	}
+}
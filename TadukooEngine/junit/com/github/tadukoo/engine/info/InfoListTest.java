@@ -4,7 +4,6 @@ import com.github.tadukoo.util.ListUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -26,8 +25,7 @@ public class InfoListTest{
 	}
 	
 	@Test
-	public void testListConstructor()
-			throws InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException{
+	public void testListConstructor(){
 		List<ShortInfo> list = infoList.getList();
 		assertEquals(2, list.size());
 		assertEquals(info, list.get(0));
@@ -35,8 +33,7 @@ public class InfoListTest{
 	}
 	
 	@Test
-	public void testMappedPojoConstructor()
-			throws InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException{
+	public void testMappedPojoConstructor(){
 		InfoList otherInfoList = new InfoList(theList);
 		infoList = new InfoList(otherInfoList);
 		List<ShortInfo> list = infoList.getList();
@@ -0,0 +1,32 @@
+package com.github.tadukoo.engine.info;
+
+/**
+ * Compares repeated {@link InfoList#getList()} calls (which go through a {@link JSONArrayCache}) against converting
+ * the list with reflection every time, on lists of 10, 1,000, and 100,000 infos. JMH isn't part of the build, so
+ * it's a rough comparison. It's run by hand, not as part of the tests, since timings depend on the machine.
+ */
+public class JSONArrayCacheBenchmark{
+	
+	public static void main(String[] args) throws Exception{
+		for(int size: new int[]{10, 1000, 100000}){
+			InfoList infoList = new InfoList(JSONArrayCacheTest.plainPojo(InfoType.KEY, "list", "list",
+					JSONArrayCacheTest.plainInfos(size)));
+			int calls = Math.max(5, 1000000 / size);
+			
+			long start = System.nanoTime();
+			for(int i = 0; i < calls; i++){
+				infoList.getJSONArrayItem("list", ShortInfo.class);
+			}
+			long reflectionNanos = (System.nanoTime() - start) / calls;
+			
+			start = System.nanoTime();
+			for(int i = 0; i < calls; i++){
+				infoList.getList();
+			}
+			long cachedNanos = (System.nanoTime() - start) / calls;
+			
+			System.out.println("A list of " + size + " infos (" + calls + " calls): reflection took " +
+					reflectionNanos + " ns per call, and the cache took " + cachedNanos + " ns per call");
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.github.tadukoo.engine.info;
+
+import com.github.tadukoo.parsing.json.AbstractOrderedJSONClass;
+import com.github.tadukoo.parsing.json.JSONArrayList;
+import com.github.tadukoo.util.ListUtil;
+import com.github.tadukoo.util.pojo.MappedPojo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JSONArrayCacheTest{
+	
+	/**
+	 * Makes a plain pojo, like the ones parsed JSON is made of
+	 */
+	static MappedPojo plainPojo(Object... keysAndValues){
+		MappedPojo pojo = new AbstractOrderedJSONClass(){
+			@Override
+			public List<String> getKeyOrder(){
+				return ListUtil.createList();
+			}
+		};
+		for(int i = 0; i < keysAndValues.length; i += 2){
+			pojo.setItem((String) keysAndValues[i], keysAndValues[i + 1]);
+		}
+		return pojo;
+	}
+	
+	static List<MappedPojo> plainInfos(int count){
+		List<MappedPojo> infos = new JSONArrayList<>();
+		for(int i = 0; i < count; i++){
+			infos.add(plainPojo(InfoType.KEY, "lib", "title", "Library " + i, "info-name", "Library" + i + ".json"));
+		}
+		return infos;
+	}
+	
+	@Test
+	public void testConvertsPlainPojos(){
+		MappedPojo infoList = plainPojo(InfoType.KEY, "list", "list", plainInfos(3));
+		JSONArrayCache<ShortInfo> cache = new JSONArrayCache<>("list", ShortInfo.class, ShortInfo::new);
+		List<ShortInfo> infos = cache.get(infoList);
+		assertTrue(infos instanceof JSONArrayList);
+		assertEquals(3, infos.size());
+		assertEquals(new ShortInfo(InfoType.LIB, "Library 1", "Library1.json", null), infos.get(1));
+	}
+	
+	@Test
+	public void testCachedUntilChanged(){
+		MappedPojo infoList = plainPojo("list", plainInfos(3));
+		JSONArrayCache<ShortInfo> cache = new JSONArrayCache<>("list", ShortInfo.class, ShortInfo::new);
+		List<ShortInfo> infos = cache.get(infoList);
+		assertSame(infos, cache.get(infoList));
+		assertSame(infos.get(0), cache.get(infoList).get(0));
+		
+		// Adding to the list in the pojo is noticed
+		@SuppressWarnings("unchecked")
+		List<MappedPojo> rawList = (List<MappedPojo>) infoList.getItem("list");
+		rawList.add(plainPojo("title", "New"));
+		assertEquals(4, cache.get(infoList).size());
+		
+		// So is swapping the list out
+		infoList.setItem("list", plainInfos(2));
+		assertEquals(2, cache.get(infoList).size());
+		
+		// And invalidating
+		List<ShortInfo> beforeInvalidate = cache.get(infoList);
+		cache.invalidate();
+		assertNotSame(beforeInvalidate, cache.get(infoList));
+	}
+	
+	@Test
+	public void testMissingItem(){
+		JSONArrayCache<ShortInfo> cache = new JSONArrayCache<>("list", ShortInfo.class, ShortInfo::new);
+		assertNull(cache.get(plainPojo()));
+	}
+	
+	@Test
+	public void testInfoListSetItemInvalidates(){
+		InfoList infoList = new InfoList(new ArrayList<>());
+		List<ShortInfo> empty = infoList.getList();
+		assertSame(empty, infoList.getList());
+		infoList.setItem("list", plainInfos(5));
+		assertEquals(5, infoList.getList().size());
+		assertEquals("Library 4", infoList.getList().get(4).getTitle());
+	}
+}
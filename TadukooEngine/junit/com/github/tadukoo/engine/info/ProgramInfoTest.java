@@ -1,7 +1,9 @@
 package com.github.tadukoo.engine.info;
 
 import com.github.tadukoo.engine.ProgramHandler;
+import com.github.tadukoo.parsing.json.AbstractOrderedJSONClass;
 import com.github.tadukoo.parsing.json.JSONArrayList;
+import com.github.tadukoo.util.ListUtil;
 import com.github.tadukoo.util.junit.logger.JUnitEasyLogger;
 import com.github.tadukoo.util.pojo.MappedPojo;
 import org.junit.jupiter.api.BeforeEach;
@@ -77,6 +79,52 @@ public class ProgramInfoTest{
 		assertEquals(jarName, programInfo.getProgramJarName());
 	}
 	
+	@Test
+	public void testBuilderDefaultProgramJar(){
+		assertNull(programInfo.getProgramJar());
+	}
+	
+	@Test
+	public void testBuilderSetProgramJar() throws Throwable{
+		ShortInfo programJar = ShortInfo.builder()
+				.type(InfoType.PROGRAM).title(title)
+				.infoName("Test.jar").infoLocation("https://dummy.url/Test.jar")
+				.sha256("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+				.patchFromSha256("2c26b46b68ffc68ff99b453c1d30413413422d706483bfa0f98a5e886266e7ae")
+				.patchLocation("https://dummy.url/Test.patch")
+				.build();
+		programInfo = ProgramInfo.builder()
+				.title(title).description(description)
+				.programJar(programJar)
+				.build();
+		assertEquals(programJar, programInfo.getProgramJar());
+	}
+	
+	@Test
+	public void testProgramJarFromMappedPojo() throws Throwable{
+		ShortInfo programJar = ShortInfo.builder()
+				.type(InfoType.PROGRAM).title(title)
+				.infoName("Test.jar").infoLocation("https://dummy.url/Test.jar")
+				.sha256("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+				.patchFromSha256("2c26b46b68ffc68ff99b453c1d30413413422d706483bfa0f98a5e886266e7ae")
+				.patchLocation("https://dummy.url/Test.patch")
+				.build();
+		// Parsed JSON leaves it as a plain pojo
+		MappedPojo pojo = new AbstractOrderedJSONClass(){
+			@Override
+			public List<String> getKeyOrder(){
+				return ListUtil.createList();
+			}
+		};
+		for(String key: programJar.getKeyOrder()){
+			pojo.setItem(key, programJar.getItem(key));
+		}
+		programInfo.setItem("program-jar", pojo);
+		ShortInfo parsed = programInfo.getProgramJar();
+		assertEquals(programJar, parsed);
+		assertEquals("https://dummy.url/Test.patch", parsed.getPatchLocation());
+	}
+	
 	@Test
 	public void testBuilderDefaultLibraries(){
 		List<ShortInfo> libraries = programInfo.getLibraries();
@@ -146,6 +194,18 @@ public class ProgramInfoTest{
 		assertEquals(infoLocation, library.getInfoLocation());
 	}
 	
+	@Test
+	public void testBuilderSingleLibraryPiecesWithSha256() throws Throwable{
+		String sha256 = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+		programInfo = ProgramInfo.builder()
+				.title(title).description(description)
+				.library("Test", "test.jar", "nowhere", sha256)
+				.build();
+		List<ShortInfo> libraries = programInfo.getLibraries();
+		assertEquals(1, libraries.size());
+		assertEquals(new ShortInfo(InfoType.LIB, "Test", "test.jar", "nowhere", sha256), libraries.get(0));
+	}
+	
 	@Test
 	public void testBuilderSetProgramHandler() throws Throwable{
 		ProgramHandler progHand = programInfo -> {
@@ -284,11 +344,12 @@ public class ProgramInfoTest{
 	@Test
 	public void testGetKeyOrder(){
 		List<String> keys = programInfo.getKeyOrder();
-		assertEquals(4, keys.size());
+		assertEquals(5, keys.size());
 		assertEquals("title", keys.get(0));
 		assertEquals("description", keys.get(1));
 		assertEquals("program-jar-name", keys.get(2));
-		assertEquals("libraries", keys.get(3));
+		assertEquals("program-jar", keys.get(3));
+		assertEquals("libraries", keys.get(4));
 	}
 	
 	@Test
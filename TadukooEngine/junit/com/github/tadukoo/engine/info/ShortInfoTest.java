@@ -7,7 +7,11 @@ import org.junit.jupiter.api.Test;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
 public class ShortInfoTest{
 	private ShortInfo info;
@@ -15,6 +19,11 @@ public class ShortInfoTest{
 	private final String title = "Test Program";
 	private final String name = "TestName.json";
 	private final String location = "https://dummy.url/TestName.json";
+	private final String sha256 = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+	private final String patchFrom = "2c26b46b68ffc68ff99b453c1d30413413422d706483bfa0f98a5e886266e7ae";
+	private final String patchLocation = "https://dummy.url/TestName.patch";
+	private final List<String> mirrors = List.of(
+			"https://mirror.one/TestName.json", "https://mirror.two/TestName.json");
 	
 	@BeforeEach
 	public void setup(){
@@ -41,6 +50,96 @@ public class ShortInfoTest{
 		assertEquals(location, info.getInfoLocation());
 	}
 	
+	@Test
+	public void testGetSha256Default(){
+		assertNull(info.getSha256());
+	}
+	
+	@Test
+	public void testGetSha256(){
+		info = new ShortInfo(type, title, name, location, sha256);
+		assertEquals(sha256, info.getSha256());
+	}
+	
+	@Test
+	public void testGetPatchDefault(){
+		assertNull(info.getPatchFromSha256());
+		assertNull(info.getPatchLocation());
+		assertFalse(info.hasPatch());
+	}
+	
+	@Test
+	public void testGetPatch(){
+		info = ShortInfo.builder()
+				.type(type).title(title).infoName(name).infoLocation(location)
+				.sha256(sha256).patchFromSha256(patchFrom).patchLocation(patchLocation)
+				.build();
+		assertEquals(patchFrom, info.getPatchFromSha256());
+		assertEquals(patchLocation, info.getPatchLocation());
+		assertTrue(info.hasPatch());
+	}
+	
+	@Test
+	public void testHasPatchNeedsSha256(){
+		info = ShortInfo.builder()
+				.type(type).title(title).infoName(name).infoLocation(location)
+				.patchFromSha256(patchFrom).patchLocation(patchLocation)
+				.build();
+		assertFalse(info.hasPatch());
+	}
+	
+	@Test
+	public void testBuilderDefaults(){
+		info = ShortInfo.builder().type(type).title(title).build();
+		assertEquals(type, info.getType());
+		assertEquals(title, info.getTitle());
+		assertNull(info.getInfoName());
+		assertNull(info.getInfoLocation());
+		assertNull(info.getSha256());
+		assertNull(info.getPatchFromSha256());
+		assertNull(info.getPatchLocation());
+		assertEquals(List.of(), info.getMirrorLocations());
+	}
+	
+	@Test
+	public void testBuilderMissingEverything(){
+		try{
+			info = ShortInfo.builder().build();
+			fail();
+		}catch(IllegalArgumentException e){
+			assertEquals("""
+							The following errors happened in building a ShortInfo:\s
+							type is required
+							title is required""",
+					e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testGetMirrorLocationsDefault(){
+		assertEquals(List.of(), info.getMirrorLocations());
+		assertEquals(List.of(location), info.getInfoLocations());
+	}
+	
+	@Test
+	public void testGetMirrorLocations(){
+		info = ShortInfo.builder()
+				.type(type).title(title).infoName(name).infoLocation(location)
+				.sha256(sha256).mirrorLocations(mirrors)
+				.build();
+		assertEquals(mirrors, info.getMirrorLocations());
+		assertEquals(List.of(location, mirrors.get(0), mirrors.get(1)), info.getInfoLocations());
+	}
+	
+	@Test
+	public void testGetInfoLocationsSkipsBlankAndRepeated(){
+		info = ShortInfo.builder()
+				.type(type).title(title).infoName(name)
+				.sha256(sha256).mirrorLocations(List.of(mirrors.get(0), "", mirrors.get(0), mirrors.get(1)))
+				.build();
+		assertEquals(mirrors, info.getInfoLocations());
+	}
+	
 	@Test
 	public void testMappedPojoConstructor(){
 		ShortInfo otherInfo = new ShortInfo(type, title, name, location);
@@ -51,14 +150,46 @@ public class ShortInfoTest{
 		assertEquals(location, info.getInfoLocation());
 	}
 	
+	@Test
+	public void testMappedPojoConstructorSha256(){
+		ShortInfo otherInfo = new ShortInfo(type, title, name, location, sha256);
+		info = new ShortInfo(otherInfo);
+		assertEquals(sha256, info.getSha256());
+	}
+	
+	@Test
+	public void testMappedPojoConstructorPatch(){
+		ShortInfo otherInfo = ShortInfo.builder()
+				.type(type).title(title).infoName(name).infoLocation(location)
+				.sha256(sha256).patchFromSha256(patchFrom).patchLocation(patchLocation)
+				.build();
+		info = new ShortInfo(otherInfo);
+		assertEquals(patchFrom, info.getPatchFromSha256());
+		assertEquals(patchLocation, info.getPatchLocation());
+	}
+	
+	@Test
+	public void testMappedPojoConstructorMirrors(){
+		ShortInfo otherInfo = ShortInfo.builder()
+				.type(type).title(title).infoName(name).infoLocation(location)
+				.sha256(sha256).mirrorLocations(mirrors)
+				.build();
+		info = new ShortInfo(otherInfo);
+		assertEquals(mirrors, info.getMirrorLocations());
+	}
+	
 	@Test
 	public void testGetKeyOrder(){
 		List<String> keys = info.getKeyOrder();
-		assertEquals(4, keys.size());
+		assertEquals(8, keys.size());
 		assertEquals(InfoType.KEY, keys.get(0));
 		assertEquals("title", keys.get(1));
 		assertEquals("info-name", keys.get(2));
 		assertEquals("info-location", keys.get(3));
+		assertEquals("sha-256", keys.get(4));
+		assertEquals("patch-from-sha-256", keys.get(5));
+		assertEquals("patch-location", keys.get(6));
+		assertEquals("mirror-locations", keys.get(7));
 	}
 	
 	@Test
@@ -92,6 +223,39 @@ public class ShortInfoTest{
 		assertNotEquals(info, new ShortInfo(type, title, name, "Other Location"));
 	}
 	
+	@Test
+	public void testEqualsIgnoresPatch(){
+		info = new ShortInfo(type, title, name, location, sha256);
+		ShortInfo patched = ShortInfo.builder()
+				.type(type).title(title).infoName(name).infoLocation(location)
+				.sha256(sha256).patchFromSha256(patchFrom).patchLocation(patchLocation)
+				.build();
+		assertEquals(info, patched);
+		assertEquals(info.hashCode(), patched.hashCode());
+	}
+	
+	@Test
+	public void testEqualsIgnoresMirrors(){
+		info = new ShortInfo(type, title, name, location, sha256);
+		ShortInfo mirrored = ShortInfo.builder()
+				.type(type).title(title).infoName(name).infoLocation(location)
+				.sha256(sha256).mirrorLocation(mirrors.get(0)).mirrorLocation(mirrors.get(1))
+				.build();
+		assertEquals(info, mirrored);
+		assertEquals(info.hashCode(), mirrored.hashCode());
+	}
+	
+	@Test
+	public void testEqualsSha256IgnoresCase(){
+		info = new ShortInfo(type, title, name, location, sha256);
+		assertEquals(info, new ShortInfo(type, title, name, location, sha256.toUpperCase()));
+	}
+	
+	@Test
+	public void testEqualsDifferentSha256(){
+		assertNotEquals(info, new ShortInfo(type, title, name, location, sha256));
+	}
+	
 	@Test
 	public void testEqualsDifferentEverything(){
 		assertNotEquals(info, new ShortInfo(InfoType.LIB, "Other Title", "Other Name",
@@ -0,0 +1,248 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.engine.info.InfoList;
+import com.github.tadukoo.engine.info.InfoType;
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.info.ShortInfo;
+import com.github.tadukoo.engine.store.LibraryStore;
+import com.github.tadukoo.launcher.downloader.BinaryDelta;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class DependencyResolverTest{
+	private static final long DELAY_MILLIS = 300;
+	private final AtomicInteger requestCount = new AtomicInteger();
+	private HttpServer server;
+	private String baseURL;
+	private Path folder;
+	private LibraryStore store;
+	
+	@BeforeEach
+	public void setup() throws IOException{
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/", this::handle);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		baseURL = "http://localhost:" + server.getAddress().getPort() + "/";
+		folder = Files.createTempDirectory("dependency-resolver");
+		store = LibraryStore.builder()
+				.storeFolder(folder.resolve("store"))
+				.libsFolder(folder.resolve("libs"))
+				.build();
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		server.stop(0);
+		try(var files = Files.walk(folder)){
+			for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+				Files.delete(file);
+			}
+		}
+	}
+	
+	private void handle(HttpExchange exchange) throws IOException{
+		requestCount.incrementAndGet();
+		try{
+			Thread.sleep(DELAY_MILLIS);
+		}catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+		}
+		byte[] content = contentFor(exchange.getRequestURI().getPath().substring(1));
+		exchange.sendResponseHeaders(200, content.length);
+		try(OutputStream out = exchange.getResponseBody()){
+			out.write(content);
+		}
+		exchange.close();
+	}
+	
+	private static byte[] contentFor(String name){
+		return ("Content of " + name).getBytes(StandardCharsets.UTF_8);
+	}
+	
+	private ShortInfo library(String name) throws Exception{
+		String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(contentFor(name)));
+		return new ShortInfo(InfoType.LIB, name, name, baseURL + name, sha256);
+	}
+	
+	private DependencyResolver resolver(int parallelism, InfoListLoader infoListLoader){
+		return DependencyResolver.builder()
+				.libraryStore(store)
+				.parallelism(parallelism)
+				.infoListLoader(infoListLoader)
+				.build();
+	}
+	
+	@Test
+	public void testBuilderDefaults(){
+		DependencyResolver resolver = DependencyResolver.builder().libraryStore(store).build();
+		assertEquals(store, resolver.getLibraryStore());
+		assertEquals(DependencyResolver.DEFAULT_PARALLELISM, resolver.getParallelism());
+		assertNull(resolver.getInfoListLoader());
+		assertNull(resolver.getProgramsFolder());
+	}
+	
+	@Test
+	public void testBuilderMissingEverything(){
+		try{
+			DependencyResolver.builder().parallelism(0).build();
+			fail();
+		}catch(IllegalArgumentException e){
+			assertEquals("""
+							The following errors happened in building a DependencyResolver:\s
+							libraryStore is required
+							parallelism must be at least 1""",
+					e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testResolveFetchesInParallel() throws Throwable{
+		ProgramInfo programInfo = ProgramInfo.builder()
+				.title("Program").description("Test")
+				.library(library("a.jar")).library(library("b.jar"))
+				.library(library("c.jar")).library(library("d.jar"))
+				.build();
+		ResolvedDependencies resolved = resolver(4, null).resolve(programInfo);
+		assertEquals(4, requestCount.get());
+		assertEquals(4, resolved.getLibraryPaths().size());
+		assertEquals(folder.resolve("libs").resolve("c.jar"), resolved.getLibraryPaths().get(2));
+		// All four at once should take about one delay, not four of them added together
+		assertTrue(resolved.getTotalTime().toMillis() < DELAY_MILLIS * 3,
+				"Took " + resolved.getTotalTime().toMillis() + " ms");
+		for(ArtifactTiming timing: resolved.getTimings()){
+			assertTrue(timing.isDownloaded());
+			assertTrue(timing.getFetchTime().toMillis() >= DELAY_MILLIS);
+		}
+	}
+	
+	@Test
+	public void testResolveParallelismLimit() throws Throwable{
+		ProgramInfo programInfo = ProgramInfo.builder()
+				.title("Program").description("Test")
+				.library(library("a.jar")).library(library("b.jar"))
+				.build();
+		ResolvedDependencies resolved = resolver(1, null).resolve(programInfo);
+		assertTrue(resolved.getTotalTime().toMillis() >= DELAY_MILLIS * 2);
+		assertTrue(resolved.getTimings().get(0).getQueueTime().toMillis() < DELAY_MILLIS ||
+				resolved.getTimings().get(1).getQueueTime().toMillis() < DELAY_MILLIS);
+	}
+	
+	@Test
+	public void testResolvePatchesProgramJar() throws Throwable{
+		byte[] oldJar = new byte[50_000];
+		new Random(1).nextBytes(oldJar);
+		byte[] newJar = oldJar.clone();
+		newJar[1000] ^= 1;
+		Path server = Files.createDirectories(folder.resolve("server"));
+		Path newPath = Files.write(server.resolve("Program-2.jar"), newJar);
+		Path patchPath = server.resolve("Program-2.patch");
+		Path programsFolder = Files.createDirectories(folder.resolve("programs"));
+		Path installed = Files.write(programsFolder.resolve("Program.jar"), oldJar);
+		BinaryDelta.createPatch(installed, newPath, patchPath);
+		ShortInfo programJar = ShortInfo.builder()
+				.type(InfoType.PROGRAM).title("Program")
+				.infoName("Program.jar").infoLocation(newPath.toUri().toString())
+				.sha256(LibraryStore.sha256(newPath)).patchFromSha256(LibraryStore.sha256(installed))
+				.patchLocation(patchPath.toUri().toString())
+				.build();
+		// Delete the full jar from the "server", so it can only be made from the patch
+		Files.delete(newPath);
+		
+		ProgramInfo programInfo = ProgramInfo.builder()
+				.title("Program").description("Test")
+				.programJar(programJar)
+				.library(library("a.jar"))
+				.build();
+		DependencyResolver resolver = DependencyResolver.builder()
+				.libraryStore(store)
+				.programsFolder(programsFolder)
+				.build();
+		assertEquals(programsFolder, resolver.getProgramsFolder());
+		resolver.resolve(programInfo);
+		assertArrayEquals(newJar, Files.readAllBytes(installed));
+		assertEquals(1, requestCount.get());
+	}
+	
+	@Test
+	public void testResolveAlreadyAvailable() throws Throwable{
+		ProgramInfo programInfo = ProgramInfo.builder()
+				.title("Program").description("Test")
+				.library(library("a.jar"))
+				.build();
+		resolver(4, null).resolve(programInfo);
+		ResolvedDependencies resolved = resolver(4, null).resolve(programInfo);
+		assertEquals(1, requestCount.get());
+		assertFalse(resolved.getTimings().get(0).isDownloaded());
+	}
+	
+	@Test
+	public void testResolveExpandsInfoListsAndDedupes() throws Throwable{
+		ShortInfo infoListInfo = new ShortInfo(InfoType.LIST, "Shared", "shared.json", "shared-list");
+		InfoList infoList = new InfoList(List.of(library("a.jar"), library("b.jar"), infoListInfo));
+		ProgramInfo programInfo = ProgramInfo.builder()
+				.title("Program").description("Test")
+				.library(library("a.jar"))
+				.library(infoListInfo)
+				.build();
+		AtomicInteger loads = new AtomicInteger();
+		DependencyResolver resolver = resolver(4, info -> {
+			loads.incrementAndGet();
+			assertEquals("shared-list", info.getInfoLocation());
+			return infoList;
+		});
+		List<ShortInfo> libraries = resolver.collectLibraries(programInfo);
+		assertEquals(List.of(library("a.jar"), library("b.jar")), libraries);
+		assertEquals(1, loads.get());
+		
+		resolver.resolve(programInfo);
+		assertEquals(2, requestCount.get());
+		assertTrue(store.getReferencedDigests().contains(library("b.jar").getSha256()));
+	}
+	
+	@Test
+	public void testResolveInfoListWithoutLoader() throws Throwable{
+		ProgramInfo programInfo = ProgramInfo.builder()
+				.title("Program").description("Test")
+				.library(new ShortInfo(InfoType.LIST, "Shared", "shared.json", "shared-list"))
+				.build();
+		assertThrows(IOException.class, () -> resolver(4, null).resolve(programInfo));
+	}
+	
+	@Test
+	public void testResolveFailure() throws Throwable{
+		ShortInfo badLibrary = new ShortInfo(InfoType.LIB, "bad.jar", "bad.jar", baseURL + "bad.jar",
+				"0".repeat(64));
+		ProgramInfo programInfo = ProgramInfo.builder()
+				.title("Program").description("Test")
+				.library(library("a.jar")).library(badLibrary)
+				.build();
+		assertThrows(IOException.class, () -> resolver(4, null).resolve(programInfo));
+	}
+}
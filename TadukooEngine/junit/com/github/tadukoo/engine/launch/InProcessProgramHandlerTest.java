@@ -0,0 +1,227 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.store.LibraryStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class InProcessProgramHandlerTest{
+	private static final String PROGRAM_SOURCE = """
+			package generated;
+			
+			import com.github.tadukoo.engine.launch.InProcessProgramHandlerTest;
+			
+			public class RecordingProgram implements com.github.tadukoo.engine.Program{
+				public String getTitle(){
+					return "Recording Program";
+				}
+				
+				public boolean load(com.github.tadukoo.engine.ProgramLoadContext context){
+					try{
+						context.submit("task", () -> {
+							InProcessProgramHandlerTest.record("task on event thread: " +
+									javax.swing.SwingUtilities.isEventDispatchThread());
+							return null;
+						}).get();
+					}catch(Exception e){
+						return false;
+					}
+					return load(context.getLogger());
+				}
+				
+				public boolean load(com.github.tadukoo.util.logger.EasyLogger logger){
+					InProcessProgramHandlerTest.record("load on event thread: " +
+							javax.swing.SwingUtilities.isEventDispatchThread());
+					return true;
+				}
+				
+				public com.github.tadukoo.view.form.main.MainForm getMainForm(){
+					return null;
+				}
+				
+				public void run(){
+					InProcessProgramHandlerTest.record("run on event thread: " +
+							javax.swing.SwingUtilities.isEventDispatchThread());
+				}
+			}
+			""";
+	/** What the generated program did (it's loaded by another class loader, but shares this class) */
+	private static final List<String> RECORDED = Collections.synchronizedList(new ArrayList<>());
+	private Path folder;
+	private Path programsFolder;
+	private InProcessProgramHandler programHandler;
+	private ProgramClassLoaderCache classLoaderCache;
+	
+	public static void record(String event){
+		RECORDED.add(event);
+	}
+	
+	@BeforeEach
+	public void setup() throws IOException{
+		RECORDED.clear();
+		folder = Files.createTempDirectory("in-process-program-handler");
+		programsFolder = folder.resolve("programs");
+		Files.createDirectories(programsFolder);
+		LibraryStore store = LibraryStore.builder()
+				.storeFolder(folder.resolve("store"))
+				.libsFolder(folder.resolve("libs"))
+				.build();
+		classLoaderCache = new ProgramClassLoaderCache();
+		programHandler = InProcessProgramHandler.builder()
+				.dependencyResolver(DependencyResolver.builder().libraryStore(store).build())
+				.classLoaderCache(classLoaderCache)
+				.programsFolder(programsFolder)
+				.firstFrameTimeout(Duration.ofMillis(50))
+				.build();
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		classLoaderCache.close();
+		try(var files = Files.walk(folder)){
+			for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+				Files.delete(file);
+			}
+		}
+	}
+	
+	private void writeProgramJar(String jarName) throws IOException{
+		TestJars.writeProgramJar(programsFolder.resolve(jarName), folder, "RecordingProgram", PROGRAM_SOURCE);
+	}
+	
+	private ProgramInfo programInfo() throws Throwable{
+		return ProgramInfo.builder()
+				.title("Recording").description("Records what happens")
+				.programJarName("Recording.jar")
+				.build();
+	}
+	
+	@Test
+	public void testGetters(){
+		assertEquals(classLoaderCache, programHandler.getClassLoaderCache());
+		assertEquals(programsFolder, programHandler.getProgramsFolder());
+		assertNotNull(programHandler.getLoadExecutor());
+		assertNull(programHandler.getStartupHistoryFolder());
+		assertEquals(Duration.ofMillis(50), programHandler.getFirstFrameTimeout());
+	}
+	
+	@Test
+	public void testBuilderDefaults(){
+		programHandler = InProcessProgramHandler.builder()
+				.dependencyResolver(programHandler.getDependencyResolver())
+				.classLoaderCache(classLoaderCache)
+				.programsFolder(programsFolder)
+				.build();
+		assertNotNull(programHandler.getLoadExecutor());
+		assertNull(programHandler.getStartupHistoryFolder());
+		assertEquals(InProcessProgramHandler.DEFAULT_FIRST_FRAME_TIMEOUT, programHandler.getFirstFrameTimeout());
+	}
+	
+	@Test
+	public void testBuilderMissingEverything(){
+		try{
+			InProcessProgramHandler.builder().firstFrameTimeout(Duration.ZERO).build();
+			fail();
+		}catch(IllegalArgumentException e){
+			assertEquals("""
+							The following errors happened in building an InProcessProgramHandler:\s
+							dependencyResolver is required
+							classLoaderCache is required
+							programsFolder is required
+							firstFrameTimeout must be positive""",
+					e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testLaunchProgramAsyncStages() throws Throwable{
+		writeProgramJar("Recording.jar");
+		List<LaunchStage> stages = Collections.synchronizedList(new ArrayList<>());
+		LaunchHandle handle = programHandler.launchProgramAsync(programInfo(), new LaunchListener(){
+			@Override
+			public void stageFinished(ProgramInfo programInfo, LaunchStage stage, Duration time){
+				stages.add(stage);
+			}
+		});
+		handle.getFuture().get(30, TimeUnit.SECONDS);
+		assertEquals(List.of(LaunchStage.RESOLVE, LaunchStage.DOWNLOAD, LaunchStage.VERIFY, LaunchStage.CLASSLOAD,
+				LaunchStage.LOAD, LaunchStage.RUN), stages);
+		assertEquals(List.of("task on event thread: false", "load on event thread: false",
+				"run on event thread: true"), RECORDED);
+	}
+	
+	@Test
+	public void testLaunchProgramAsyncStartupMeasured() throws Throwable{
+		writeProgramJar("Recording.jar");
+		Executor loadExecutor = Runnable::run;
+		programHandler = InProcessProgramHandler.builder()
+				.dependencyResolver(programHandler.getDependencyResolver())
+				.classLoaderCache(classLoaderCache)
+				.programsFolder(programsFolder)
+				.loadExecutor(loadExecutor)
+				.startupHistoryFolder(folder.resolve("history"))
+				.firstFrameTimeout(Duration.ofMillis(50))
+				.build();
+		assertEquals(loadExecutor, programHandler.getLoadExecutor());
+		assertEquals(folder.resolve("history"), programHandler.getStartupHistoryFolder());
+		CompletableFuture<Map<String, Duration>> measured = new CompletableFuture<>();
+		LaunchHandle handle = programHandler.launchProgramAsync(programInfo(), new LaunchListener(){
+			@Override
+			public void startupMeasured(
+					ProgramInfo programInfo, Map<String, Duration> phases, List<String> regressions){
+				assertTrue(regressions.isEmpty());
+				measured.complete(phases);
+			}
+		});
+		handle.getFuture().get(30, TimeUnit.SECONDS);
+		Map<String, Duration> phases = measured.get(30, TimeUnit.SECONDS);
+		assertEquals(List.of("classload", "load:task", "load"), new ArrayList<>(phases.keySet()));
+		
+		// The startup was kept in the program's history
+		StartupHistory history = StartupHistory.load(folder.resolve("history/Recording.jar.history"));
+		assertEquals(1, history.getEntries().size());
+		assertEquals(phases.keySet(), history.getEntries().get(0).phases().keySet());
+	}
+	
+	@Test
+	public void testLaunchProgramAsyncMissingJar() throws Throwable{
+		LaunchHandle handle = programHandler.launchProgramAsync(programInfo());
+		ExecutionException e = assertThrows(ExecutionException.class,
+				() -> handle.getFuture().get(30, TimeUnit.SECONDS));
+		assertTrue(e.getCause().getMessage().startsWith("Program jar "));
+		assertEquals(LaunchStage.VERIFY, handle.getStage());
+		assertTrue(RECORDED.isEmpty());
+	}
+	
+	@Test
+	public void testLaunchProgram() throws Throwable{
+		writeProgramJar("Recording.jar");
+		programHandler.launchProgram(programInfo());
+		// Run is passed to the event thread, so wait for it
+		javax.swing.SwingUtilities.invokeAndWait(() -> { });
+		assertEquals(List.of("task on event thread: false", "load on event thread: false",
+				"run on event thread: true"), RECORDED);
+	}
+}
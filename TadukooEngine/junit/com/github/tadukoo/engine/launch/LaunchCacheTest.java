@@ -0,0 +1,147 @@
+package com.github.tadukoo.engine.launch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class LaunchCacheTest{
+	private Path folder;
+	private Path programJar;
+	private Path libraryJar;
+	private LaunchCache cache;
+	
+	@BeforeEach
+	public void setup() throws IOException{
+		folder = Files.createTempDirectory("launch-cache");
+		programJar = folder.resolve("program.jar");
+		libraryJar = folder.resolve("library.jar");
+		TestJars.writeJar(programJar, null, Map.of(
+				"generated/It.class", TestJars.classBytes("generated/It", "com/github/tadukoo/engine/Program")));
+		TestJars.writeJar(libraryJar, null, Map.of(
+				"generated/lib/Library.class", TestJars.classBytes("generated/lib/Library", null)));
+		cache = LaunchCache.builder().cacheFolder(folder.resolve("cache")).build();
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		try(var files = Files.walk(folder)){
+			for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+				Files.delete(file);
+			}
+		}
+	}
+	
+	@Test
+	public void testBuilderMissingCacheFolder(){
+		try{
+			LaunchCache.builder().build();
+			fail();
+		}catch(IllegalArgumentException e){
+			assertEquals("The following errors happened in building a LaunchCache: \ncacheFolder is required",
+					e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testEntryKeyedByJars() throws IOException{
+		LaunchCacheEntry entry = cache.getEntry(programJar, List.of(libraryJar));
+		assertEquals(entry.getFolder(), cache.getEntry(programJar, List.of(libraryJar)).getFolder());
+		assertNotEquals(entry.getFolder(), cache.getEntry(programJar, List.of()).getFolder());
+		assertEquals(List.of(programJar.toAbsolutePath(), libraryJar.toAbsolutePath()), entry.getJars());
+	}
+	
+	@Test
+	public void testJarChangeInvalidates() throws IOException{
+		LaunchCacheEntry entry = cache.getEntry(programJar, List.of(libraryJar));
+		Files.writeString(entry.getArchivePath(), "archive");
+		entry.buildClassLoader().close();
+		
+		// Nothing changed, so the archive and index are kept
+		entry = cache.getEntry(programJar, List.of(libraryJar));
+		assertTrue(entry.hasArchive());
+		assertEquals("generated.It", entry.getProgramClassName());
+		
+		// A library changed, so they're thrown away
+		Files.setLastModifiedTime(libraryJar, FileTime.fromMillis(Files.getLastModifiedTime(libraryJar).toMillis()
+				- 60_000));
+		entry = cache.getEntry(programJar, List.of(libraryJar));
+		assertFalse(entry.hasArchive());
+		assertNull(entry.getProgramClassName());
+	}
+	
+	@Test
+	public void testClassIndexSavedAndReused() throws Exception{
+		LaunchCacheEntry entry = cache.getEntry(programJar, List.of(libraryJar));
+		assertNull(entry.loadClassIndex());
+		Map<String, Integer> index;
+		try(ProgramClassLoader loader = entry.buildClassLoader()){
+			index = loader.getIndex();
+		}
+		assertEquals("generated.It", entry.getProgramClassName());
+		assertEquals(index, entry.loadClassIndex());
+		assertEquals(Integer.valueOf(1), index.get("generated/lib/Library.class"));
+		
+		try(ProgramClassLoader loader = entry.buildClassLoader()){
+			assertEquals(index, loader.getIndex());
+			assertEquals(loader, loader.loadClass("generated.lib.Library").getClassLoader());
+		}
+	}
+	
+	@Test
+	public void testBuildCommand() throws IOException{
+		LaunchCacheEntry entry = cache.getEntry(programJar, List.of(libraryJar));
+		Path java = Path.of("java");
+		List<String> command = entry.buildCommand(java, List.of(Path.of("engine.jar")), "generated.It");
+		assertEquals("java", command.get(0));
+		assertEquals("-XX:ArchiveClassesAtExit=" + entry.getArchivePath(), command.get(1));
+		assertTrue(command.contains("-D" + ProgramMain.CACHED_PROPERTY + "=false"));
+		assertTrue(command.contains("-D" + ProgramMain.REPORT_PROPERTY + "=" + entry.getStartupTimesPath()));
+		assertTrue(command.contains("-D" + ProgramMain.HISTORY_PROPERTY + "=" + entry.getStartupHistoryPath()));
+		String separator = System.getProperty("path.separator");
+		assertEquals(programJar.toAbsolutePath() + separator + libraryJar.toAbsolutePath() + separator +
+				"engine.jar", command.get(command.indexOf("-cp") + 1));
+		assertEquals(List.of(ProgramMain.class.getName(), "generated.It"),
+				command.subList(command.size() - 2, command.size()));
+		
+		Files.writeString(entry.getArchivePath(), "archive");
+		command = entry.buildCommand(java, List.of(), "generated.It");
+		assertEquals("-XX:SharedArchiveFile=" + entry.getArchivePath(), command.get(1));
+		assertTrue(command.contains("-D" + ProgramMain.CACHED_PROPERTY + "=true"));
+	}
+	
+	@Test
+	public void testStartupReport() throws IOException{
+		LaunchCacheEntry entry = cache.getEntry(programJar, List.of());
+		StartupReport report = entry.getStartupReport();
+		assertEquals(0, report.getCachedLaunches());
+		assertEquals(-1, report.getSpeedup());
+		
+		StartupReport.record(entry.getStartupTimesPath(), false, 900);
+		StartupReport.record(entry.getStartupTimesPath(), false, 1100);
+		StartupReport.record(entry.getStartupTimesPath(), true, 250);
+		Files.writeString(entry.getStartupTimesPath(), "mangled\n", StandardOpenOption.APPEND);
+		report = entry.getStartupReport();
+		assertEquals(2, report.getUncachedLaunches());
+		assertEquals(1, report.getCachedLaunches());
+		assertEquals(1000.0, report.getAverageUncachedMillis());
+		assertEquals(250.0, report.getAverageCachedMillis());
+		assertEquals(4.0, report.getSpeedup());
+		assertTrue(report.toString().contains("4.00x"));
+	}
+}
@@ -0,0 +1,199 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.engine.ProgramHandler;
+import com.github.tadukoo.engine.info.ProgramInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LaunchHandleTest{
+	private ProgramInfo programInfo;
+	private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+	private final LaunchListener listener = new LaunchListener(){
+		@Override
+		public void stageStarted(ProgramInfo programInfo, LaunchStage stage){
+			events.add("started " + stage);
+		}
+		
+		@Override
+		public void stageFinished(ProgramInfo programInfo, LaunchStage stage, Duration time){
+			events.add("finished " + stage);
+		}
+		
+		@Override
+		public void launchFinished(ProgramInfo programInfo){
+			events.add("launch finished");
+		}
+		
+		@Override
+		public void launchFailed(ProgramInfo programInfo, LaunchStage stage, Throwable t){
+			events.add("launch failed in " + stage + ": " + t.getMessage());
+		}
+		
+		@Override
+		public void launchCancelled(ProgramInfo programInfo, LaunchStage stage){
+			events.add("launch cancelled in " + stage);
+		}
+	};
+	
+	@BeforeEach
+	public void setup() throws Throwable{
+		programInfo = ProgramInfo.builder()
+				.title("Test").description("A test program")
+				.build();
+	}
+	
+	@Test
+	public void testStagesReported() throws Throwable{
+		LaunchHandle handle = LaunchHandle.start(programInfo, listener, launch -> {
+			assertEquals("one", launch.runStage(LaunchStage.RESOLVE, () -> "one"));
+			launch.runStage(LaunchStage.DOWNLOAD, () -> null);
+		});
+		handle.getFuture().get(10, TimeUnit.SECONDS);
+		assertEquals(List.of("started RESOLVE", "finished RESOLVE", "started DOWNLOAD", "finished DOWNLOAD",
+				"launch finished"), events);
+		assertEquals(LaunchStage.DOWNLOAD, handle.getStage());
+		assertTrue(handle.isDone());
+		assertFalse(handle.isCancelled());
+		assertEquals(programInfo, handle.getProgramInfo());
+	}
+	
+	@Test
+	public void testStagesRunInBackground() throws Throwable{
+		AtomicBoolean onEventThread = new AtomicBoolean(true);
+		LaunchHandle handle = LaunchHandle.start(programInfo, listener, launch ->
+				launch.runStage(LaunchStage.RESOLVE, () -> {
+					onEventThread.set(SwingUtilities.isEventDispatchThread());
+					return null;
+				}));
+		handle.getFuture().get(10, TimeUnit.SECONDS);
+		assertFalse(onEventThread.get());
+	}
+	
+	@Test
+	public void testRunStageOnEventThread() throws Throwable{
+		AtomicBoolean onEventThread = new AtomicBoolean(false);
+		LaunchHandle handle = LaunchHandle.start(programInfo, listener, launch ->
+				launch.runStageOnEventThread(LaunchStage.RUN,
+						() -> onEventThread.set(SwingUtilities.isEventDispatchThread())));
+		handle.getFuture().get(10, TimeUnit.SECONDS);
+		assertTrue(onEventThread.get());
+		assertEquals(List.of("started RUN", "finished RUN", "launch finished"), events);
+	}
+	
+	@Test
+	public void testFailure(){
+		LaunchHandle handle = LaunchHandle.start(programInfo, listener, launch -> {
+			launch.runStage(LaunchStage.RESOLVE, () -> null);
+			launch.runStage(LaunchStage.DOWNLOAD, () -> {
+				throw new IOException("No network");
+			});
+			launch.runStage(LaunchStage.VERIFY, () -> null);
+		});
+		ExecutionException e = assertThrows(ExecutionException.class,
+				() -> handle.getFuture().get(10, TimeUnit.SECONDS));
+		assertEquals("No network", e.getCause().getMessage());
+		assertEquals(List.of("started RESOLVE", "finished RESOLVE", "started DOWNLOAD",
+				"launch failed in DOWNLOAD: No network"), events);
+	}
+	
+	@Test
+	public void testCancelInterruptsStage() throws Throwable{
+		CountDownLatch started = new CountDownLatch(1);
+		AtomicBoolean interrupted = new AtomicBoolean(false);
+		AtomicBoolean laterStageRan = new AtomicBoolean(false);
+		LaunchHandle handle = LaunchHandle.start(programInfo, listener, launch -> {
+			launch.runStage(LaunchStage.DOWNLOAD, () -> {
+				started.countDown();
+				try{
+					Thread.sleep(10000);
+				}catch(InterruptedException e){
+					interrupted.set(true);
+				}
+				return null;
+			});
+			launch.runStage(LaunchStage.VERIFY, () -> {
+				laterStageRan.set(true);
+				return null;
+			});
+		});
+		started.await();
+		assertTrue(handle.cancel());
+		assertThrows(CancellationException.class, () -> handle.getFuture().get(10, TimeUnit.SECONDS));
+		assertTrue(handle.isCancelled());
+		
+		// Give the launch a moment to notice
+		for(int i = 0; i < 100 && !interrupted.get(); i++){
+			Thread.sleep(10);
+		}
+		Thread.sleep(50);
+		assertTrue(interrupted.get());
+		assertFalse(laterStageRan.get());
+		assertEquals("launch cancelled in DOWNLOAD", events.get(1));
+		assertFalse(events.contains("started VERIFY"));
+		assertFalse(handle.cancel());
+	}
+	
+	@Test
+	public void testCancelBeforeStart() throws Throwable{
+		CountDownLatch release = new CountDownLatch(1);
+		LaunchHandle handle = LaunchHandle.start(programInfo, listener, launch -> {
+			release.await();
+			launch.runStage(LaunchStage.RESOLVE, () -> null);
+		});
+		assertTrue(handle.cancel());
+		release.countDown();
+		assertThrows(CancellationException.class, () -> handle.getFuture().get(10, TimeUnit.SECONDS));
+		assertNull(handle.getStage());
+		assertEquals(List.of("launch cancelled in null"), events);
+	}
+	
+	@Test
+	public void testSeveralLaunchesAtOnce() throws Throwable{
+		int launches = 4;
+		CountDownLatch allRunning = new CountDownLatch(launches);
+		List<LaunchHandle> handles = new ArrayList<>();
+		for(int i = 0; i < launches; i++){
+			handles.add(LaunchHandle.start(programInfo, listener, launch ->
+					launch.runStage(LaunchStage.DOWNLOAD, () -> {
+						// Only finishes if every launch is running at the same time
+						allRunning.countDown();
+						if(!allRunning.await(10, TimeUnit.SECONDS)){
+							throw new IOException("Launches didn't run at the same time");
+						}
+						return null;
+					})));
+		}
+		for(LaunchHandle handle: handles){
+			handle.getFuture().get(20, TimeUnit.SECONDS);
+		}
+	}
+	
+	@Test
+	public void testDefaultLaunchProgramAsync() throws Throwable{
+		AtomicBoolean onEventThread = new AtomicBoolean(true);
+		ProgramHandler programHandler = programInfo -> onEventThread.set(SwingUtilities.isEventDispatchThread());
+		LaunchHandle[] handle = new LaunchHandle[1];
+		SwingUtilities.invokeAndWait(() -> handle[0] = programHandler.launchProgramAsync(programInfo, listener));
+		handle[0].getFuture().get(10, TimeUnit.SECONDS);
+		assertFalse(onEventThread.get());
+		assertEquals(List.of("started RUN", "finished RUN", "launch finished"), events);
+	}
+}
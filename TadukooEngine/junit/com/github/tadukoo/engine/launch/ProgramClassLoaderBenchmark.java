@@ -0,0 +1,72 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.engine.Program;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.jar.JarFile;
+
+/**
+ * Compares the old way of finding the {@link Program} class (load every class in the jar and check its interfaces)
+ * with the {@link ProgramClassLoader} on a jar of 10,000 classes. It's run by hand, not as part of the tests, since
+ * timings depend on the machine.
+ */
+public class ProgramClassLoaderBenchmark{
+	
+	private static Class<?> findProgramClassTheOldWay(Path jar) throws IOException, ClassNotFoundException{
+		Class<?> programClass = null;
+		try(URLClassLoader urlLoader = new URLClassLoader(new URL[]{jar.toUri().toURL()},
+				Program.class.getClassLoader()); JarFile jarFile = new JarFile(jar.toFile())){
+			List<String> classNames = new ArrayList<>();
+			jarFile.stream().forEach(entry -> {
+				if(entry.getName().endsWith(".class")){
+					classNames.add(entry.getName().replace('/', '.').replace(".class", ""));
+				}
+			});
+			for(String className: classNames){
+				Class<?> clazz = urlLoader.loadClass(className);
+				for(Class<?> anInterface: clazz.getInterfaces()){
+					if(anInterface == Program.class){
+						programClass = clazz;
+					}
+				}
+			}
+		}
+		return programClass;
+	}
+	
+	public static void main(String[] args) throws Throwable{
+		Path folder = Files.createTempDirectory("program-class-loader-benchmark");
+		try{
+			Path jar = folder.resolve("big.jar");
+			TestJars.writeBigProgramJar(jar, folder, 10_000);
+			
+			long start = System.nanoTime();
+			Class<?> programClass = findProgramClassTheOldWay(jar);
+			long oldMillis = (System.nanoTime() - start) / 1_000_000;
+			
+			start = System.nanoTime();
+			Program program;
+			try(ProgramClassLoader loader = ProgramClassLoader.builder().programJar(jar).build()){
+				program = loader.newProgram();
+			}
+			long newMillis = (System.nanoTime() - start) / 1_000_000;
+			
+			System.out.println("Finding " + programClass.getName() + " in 10,000 classes: loading every class took " +
+					oldMillis + " ms, and the Program Class Loader took " + newMillis + " ms to make \"" +
+					program.getTitle() + "\"");
+		}finally{
+			try(var files = Files.walk(folder)){
+				for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+					Files.delete(file);
+				}
+			}
+		}
+	}
+}
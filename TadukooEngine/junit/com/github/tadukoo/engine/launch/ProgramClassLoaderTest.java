@@ -0,0 +1,191 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.engine.Program;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class ProgramClassLoaderTest{
+	private Path folder;
+	
+	@BeforeEach
+	public void setup() throws IOException{
+		folder = Files.createTempDirectory("program-class-loader");
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		try(var files = Files.walk(folder)){
+			for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+				Files.delete(file);
+			}
+		}
+	}
+	
+	@Test
+	public void testBuilderMissingProgramJar() throws IOException{
+		try{
+			ProgramClassLoader.builder().build();
+			fail();
+		}catch(IllegalArgumentException e){
+			assertEquals("The following errors happened in building a ProgramClassLoader: \n" +
+					"programJar is required", e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testFindProgramClassNameFromService() throws IOException{
+		Path jar = folder.resolve("program.jar");
+		Map<String, byte[]> entries = new LinkedHashMap<>();
+		entries.put("META-INF/services/com.github.tadukoo.engine.Program",
+				"# The program\n  generated.FromService  \n".getBytes(StandardCharsets.UTF_8));
+		TestJars.writeJar(jar, null, entries);
+		try(ProgramClassLoader loader = ProgramClassLoader.builder().programJar(jar).build()){
+			assertEquals("generated.FromService", loader.findProgramClassName());
+		}
+	}
+	
+	@Test
+	public void testFindProgramClassNameFromManifest() throws IOException{
+		Path jar = folder.resolve("program.jar");
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().putValue(ProgramClassLoader.PROGRAM_CLASS_ATTRIBUTE, "generated.FromManifest");
+		TestJars.writeJar(jar, manifest, Map.of());
+		try(ProgramClassLoader loader = ProgramClassLoader.builder().programJar(jar).build()){
+			assertEquals("generated.FromManifest", loader.findProgramClassName());
+		}
+	}
+	
+	@Test
+	public void testFindProgramClassNameFromClassHeaders() throws IOException{
+		Path jar = folder.resolve("program.jar");
+		Map<String, byte[]> entries = new LinkedHashMap<>();
+		entries.put("generated/NotIt.class", TestJars.classBytes("generated/NotIt", "java/lang/Runnable"));
+		entries.put("generated/It.class", TestJars.classBytes("generated/It", "com/github/tadukoo/engine/Program"));
+		TestJars.writeJar(jar, null, entries);
+		try(ProgramClassLoader loader = ProgramClassLoader.builder().programJar(jar).build()){
+			assertEquals("generated.It", loader.findProgramClassName());
+		}
+	}
+	
+	@Test
+	public void testFindProgramClassNameMissing() throws IOException{
+		Path jar = folder.resolve("program.jar");
+		TestJars.writeJar(jar, null, Map.of("generated/NotIt.class", TestJars.classBytes("generated/NotIt", null)));
+		try(ProgramClassLoader loader = ProgramClassLoader.builder().programJar(jar).build()){
+			assertThrows(IOException.class, loader::findProgramClassName);
+		}
+	}
+	
+	@Test
+	public void testChildFirstAndSharedPackages() throws Exception{
+		Path programJar = folder.resolve("program.jar");
+		Path libraryJar = folder.resolve("library.jar");
+		TestJars.writeJar(programJar, null, Map.of(
+				"org/junit/jupiter/api/Assertions.class", TestJars.classBytes("org/junit/jupiter/api/Assertions", null),
+				"com/github/tadukoo/engine/Program.class",
+				TestJars.classBytes("com/github/tadukoo/engine/Program", null)));
+		TestJars.writeJar(libraryJar, null, Map.of(
+				"generated/lib/Library.class", TestJars.classBytes("generated/lib/Library", null),
+				"generated/lib/resource.txt", "Hello".getBytes(StandardCharsets.UTF_8)));
+		try(ProgramClassLoader loader = ProgramClassLoader.builder()
+				.programJar(programJar).libraryJar(libraryJar)
+				.build()){
+			assertEquals(4, loader.getIndexSize());
+			
+			// The program's own copy wins over the parent's
+			Class<?> assertions = loader.loadClass("org.junit.jupiter.api.Assertions");
+			assertNotEquals(Assertions.class, assertions);
+			assertSame(loader, assertions.getClassLoader());
+			
+			// But shared packages always come from the parent
+			assertSame(Program.class, loader.loadClass("com.github.tadukoo.engine.Program"));
+			
+			// Library classes and resources are found too, and classes are only defined once
+			Class<?> library = loader.loadClass("generated.lib.Library");
+			assertSame(library, loader.loadClass("generated.lib.Library"));
+			assertEquals("generated.lib", library.getPackageName());
+			try(InputStream in = loader.getResourceAsStream("generated/lib/resource.txt")){
+				assertEquals("Hello", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+			}
+			assertNotNull(loader.getResource("generated/lib/resource.txt"));
+			
+			// Anything else comes from the parent
+			assertSame(String.class, loader.loadClass("java.lang.String"));
+			assertThrows(ClassNotFoundException.class, () -> loader.loadClass("generated.Missing"));
+		}
+	}
+	
+	@Test
+	public void testNewProgram() throws Throwable{
+		Path jar = folder.resolve("program.jar");
+		TestJars.writeBigProgramJar(jar, folder, 10);
+		try(ProgramClassLoader loader = ProgramClassLoader.builder().programJar(jar).build()){
+			Program program = loader.newProgram();
+			assertEquals("Big Program", program.getTitle());
+			assertSame(loader, program.getClass().getClassLoader());
+		}
+	}
+	
+	@Test
+	public void testNewProgramOnlyLoadsProgramClass() throws Throwable{
+		Path jar = folder.resolve("big.jar");
+		TestJars.writeBigProgramJar(jar, folder, 1000);
+		try(ProgramClassLoader loader = ProgramClassLoader.builder().programJar(jar).build()){
+			assertEquals(1002, loader.getIndexSize());
+			loader.newProgram();
+			
+			// None of the filler classes were needed, so their package was never defined
+			assertNotNull(loader.getDefinedPackage("generated"));
+			assertNull(loader.getDefinedPackage("generated.filler"));
+		}
+	}
+	
+	@Test
+	public void testCacheReusesLoader() throws IOException{
+		Path jar = folder.resolve("program.jar");
+		TestJars.writeJar(jar, null, Map.of("generated/It.class", TestJars.classBytes("generated/It", null)));
+		try(ProgramClassLoaderCache cache = new ProgramClassLoaderCache()){
+			ProgramClassLoader loader = cache.getLoader(jar, List.of());
+			assertSame(loader, cache.getLoader(jar, List.of()));
+			assertEquals(1, cache.size());
+		}
+	}
+	
+	@Test
+	public void testCacheReplacesChangedLoader() throws IOException{
+		Path jar = folder.resolve("program.jar");
+		TestJars.writeJar(jar, null, Map.of("generated/It.class", TestJars.classBytes("generated/It", null)));
+		Files.setLastModifiedTime(jar, FileTime.fromMillis(1000));
+		try(ProgramClassLoaderCache cache = new ProgramClassLoaderCache()){
+			ProgramClassLoader loader = cache.getLoader(jar, List.of());
+			TestJars.writeJar(jar, null, Map.of("generated/It2.class", TestJars.classBytes("generated/It2", null)));
+			assertNotSame(loader, cache.getLoader(jar, List.of()));
+			assertEquals(1, cache.size());
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.github.tadukoo.engine.launch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StartupHistoryTest{
+	private Path folder;
+	private Path historyPath;
+	
+	@BeforeEach
+	public void setup() throws IOException{
+		folder = Files.createTempDirectory("startup-history");
+		historyPath = folder.resolve("Test.jar.history");
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		try(var files = Files.walk(folder)){
+			for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+				Files.delete(file);
+			}
+		}
+	}
+	
+	private static Map<String, Duration> phases(long classload, long load){
+		Map<String, Duration> phases = new LinkedHashMap<>();
+		phases.put("classload", Duration.ofMillis(classload));
+		phases.put("load", Duration.ofMillis(load));
+		return phases;
+	}
+	
+	@Test
+	public void testLoadMissingFile() throws IOException{
+		StartupHistory history = StartupHistory.load(historyPath);
+		assertTrue(history.getEntries().isEmpty());
+		assertEquals(historyPath, history.getHistoryPath());
+		assertEquals(StartupHistory.DEFAULT_MAX_ENTRIES, history.getMaxEntries());
+		assertNull(history.getAverage("load"));
+	}
+	
+	@Test
+	public void testRecordAndLoad() throws IOException{
+		StartupHistory history = StartupHistory.load(historyPath);
+		history.record(phases(10, 100));
+		history.record(phases(20, 300));
+		
+		StartupHistory loaded = StartupHistory.load(historyPath);
+		assertEquals(2, loaded.getEntries().size());
+		assertEquals(phases(10, 100), loaded.getEntries().get(0).phases());
+		assertEquals(List.of("classload", "load"), List.copyOf(loaded.getEntries().get(1).phases().keySet()));
+		assertEquals(Duration.ofMillis(15), loaded.getAverage("classload"));
+		assertEquals(Duration.ofMillis(200), loaded.getAverage("load"));
+	}
+	
+	@Test
+	public void testRecordTrims() throws IOException{
+		StartupHistory history = StartupHistory.load(historyPath, 2);
+		history.record(phases(1, 1));
+		history.record(phases(2, 2));
+		history.record(phases(3, 3));
+		assertEquals(List.of(phases(2, 2), phases(3, 3)),
+				history.getEntries().stream().map(StartupHistory.StartupEntry::phases).toList());
+		assertEquals(2, StartupHistory.load(historyPath).getEntries().size());
+	}
+	
+	@Test
+	public void testLoadSkipsBrokenLines() throws IOException{
+		Files.writeString(historyPath, "garbage\n1000 load=abc\n2000 load=5 classload=1\n");
+		StartupHistory history = StartupHistory.load(historyPath);
+		assertEquals(1, history.getEntries().size());
+		assertEquals(2000, history.getEntries().get(0).recordedAt());
+	}
+	
+	@Test
+	public void testNoRegressionsWithoutEnoughHistory() throws IOException{
+		StartupHistory history = StartupHistory.load(historyPath);
+		history.record(phases(10, 100));
+		history.record(phases(10, 100));
+		assertTrue(history.record(phases(100, 1000)).isEmpty());
+	}
+	
+	@Test
+	public void testRegressions() throws IOException{
+		StartupHistory history = StartupHistory.load(historyPath);
+		for(int i = 0; i < 3; i++){
+			history.record(phases(10, 100));
+		}
+		assertEquals(List.of("load"), history.findRegressions(phases(12, 400)));
+		assertEquals("load took 400 ms (usually 100 ms)", history.describeRegression("load", Duration.ofMillis(400)));
+		assertEquals(List.of("load"), history.record(phases(12, 400)));
+		assertTrue(history.findRegressions(phases(10, 100)).isEmpty());
+	}
+}
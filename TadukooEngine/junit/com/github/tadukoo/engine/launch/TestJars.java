@@ -0,0 +1,135 @@
+package com.github.tadukoo.engine.launch;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Helpers for making jars to test loading programs with
+ */
+final class TestJars{
+	private static final String BIG_PROGRAM_SOURCE = """
+			package generated;
+			
+			public class BigProgram implements com.github.tadukoo.engine.Program{
+				public String getTitle(){
+					return "Big Program";
+				}
+				
+				public boolean load(com.github.tadukoo.util.logger.EasyLogger logger){
+					return true;
+				}
+				
+				public com.github.tadukoo.view.form.main.MainForm getMainForm(){
+					return null;
+				}
+			}
+			""";
+	
+	private TestJars(){ }
+	
+	/**
+	 * Builds the bytes of a minimal (but valid) class file with no fields or methods
+	 */
+	static byte[] classBytes(String internalName, String interfaceName) throws IOException{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(0xCAFEBABE);
+		out.writeShort(0);
+		out.writeShort(52);
+		out.writeShort(interfaceName == null ? 5:7);
+		out.writeByte(1);
+		out.writeUTF(internalName);
+		out.writeByte(7);
+		out.writeShort(1);
+		out.writeByte(1);
+		out.writeUTF("java/lang/Object");
+		out.writeByte(7);
+		out.writeShort(3);
+		if(interfaceName != null){
+			out.writeByte(1);
+			out.writeUTF(interfaceName);
+			out.writeByte(7);
+			out.writeShort(5);
+		}
+		out.writeShort(0x0021);
+		out.writeShort(2);
+		out.writeShort(4);
+		if(interfaceName == null){
+			out.writeShort(0);
+		}else{
+			out.writeShort(1);
+			out.writeShort(6);
+		}
+		out.writeShort(0);
+		out.writeShort(0);
+		out.writeShort(0);
+		return bytes.toByteArray();
+	}
+	
+	static void writeJar(Path jar, Manifest manifest, Map<String, byte[]> entries) throws IOException{
+		try(OutputStream fileOut = Files.newOutputStream(jar);
+		    JarOutputStream out = manifest == null ? new JarOutputStream(fileOut):
+				    new JarOutputStream(fileOut, manifest)){
+			for(Map.Entry<String, byte[]> entry: entries.entrySet()){
+				out.putNextEntry(new JarEntry(entry.getKey()));
+				out.write(entry.getValue());
+				out.closeEntry();
+			}
+		}
+	}
+	
+	/**
+	 * Compiles a class (in the "generated" package) against the test class path and returns its bytes
+	 */
+	static byte[] compileClass(Path workFolder, String simpleName, String source) throws IOException{
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		assertNotNull(compiler, "These tests need to run on a JDK");
+		Path sourceFolder = workFolder.resolve("src/generated");
+		Files.createDirectories(sourceFolder);
+		Path sourceFile = sourceFolder.resolve(simpleName + ".java");
+		Files.writeString(sourceFile, source);
+		Path outFolder = workFolder.resolve("classes");
+		int result = compiler.run(null, null, null, "-d", outFolder.toString(),
+				"-cp", System.getProperty("java.class.path"), sourceFile.toString());
+		assertEquals(0, result);
+		return Files.readAllBytes(outFolder.resolve("generated/" + simpleName + ".class"));
+	}
+	
+	/**
+	 * Compiles a program class (in the "generated" package) against the test class path and puts it in a jar
+	 */
+	static void writeProgramJar(Path jar, Path workFolder, String simpleName, String source) throws IOException{
+		writeJar(jar, null, Map.of("generated/" + simpleName + ".class", compileClass(workFolder, simpleName, source)));
+	}
+	
+	/**
+	 * Writes a jar with the given number of empty filler classes (in "generated.filler"), followed by a
+	 * "generated.BigProgram" program titled "Big Program" that's named in the jar's service file
+	 */
+	static void writeBigProgramJar(Path jar, Path workFolder, int fillerClasses) throws IOException{
+		Map<String, byte[]> entries = new LinkedHashMap<>();
+		for(int i = 0; i < fillerClasses; i++){
+			String name = "generated/filler/Filler" + i;
+			entries.put(name + ".class", classBytes(name, null));
+		}
+		entries.put("generated/BigProgram.class", compileClass(workFolder, "BigProgram", BIG_PROGRAM_SOURCE));
+		entries.put("META-INF/services/com.github.tadukoo.engine.Program",
+				"generated.BigProgram".getBytes(StandardCharsets.UTF_8));
+		writeJar(jar, null, entries);
+	}
+}
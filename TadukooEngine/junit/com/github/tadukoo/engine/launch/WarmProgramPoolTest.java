@@ -0,0 +1,242 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.store.LibraryStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class WarmProgramPoolTest{
+	private static final String PROGRAM_SOURCE = """
+			package generated;
+			
+			import com.github.tadukoo.engine.launch.WarmProgramPoolTest;
+			
+			public class WarmProgram implements com.github.tadukoo.engine.Program{
+				public String getTitle(){
+					return "Warm Program";
+				}
+				
+				public boolean load(com.github.tadukoo.util.logger.EasyLogger logger){
+					WarmProgramPoolTest.record("load");
+					return true;
+				}
+				
+				public com.github.tadukoo.view.form.main.MainForm getMainForm(){
+					return null;
+				}
+				
+				public void run(){
+					WarmProgramPoolTest.record("run");
+				}
+			}
+			""";
+	/** What the generated programs did (they're loaded by other class loaders, but share this class) */
+	private static final List<String> RECORDED = Collections.synchronizedList(new ArrayList<>());
+	private Path folder;
+	private Path programsFolder;
+	private ProgramClassLoaderCache classLoaderCache;
+	private InProcessProgramHandler programHandler;
+	private WarmProgramPool pool;
+	private ProgramInfo programA;
+	private ProgramInfo programB;
+	
+	public static void record(String event){
+		RECORDED.add(event);
+	}
+	
+	@BeforeEach
+	public void setup() throws Throwable{
+		RECORDED.clear();
+		folder = Files.createTempDirectory("warm-program-pool");
+		programsFolder = folder.resolve("programs");
+		Files.createDirectories(programsFolder);
+		TestJars.writeProgramJar(programsFolder.resolve("A.jar"), folder, "WarmProgram", PROGRAM_SOURCE);
+		Files.copy(programsFolder.resolve("A.jar"), programsFolder.resolve("B.jar"));
+		LibraryStore store = LibraryStore.builder()
+				.storeFolder(folder.resolve("store"))
+				.libsFolder(folder.resolve("libs"))
+				.build();
+		classLoaderCache = new ProgramClassLoaderCache();
+		programHandler = InProcessProgramHandler.builder()
+				.dependencyResolver(DependencyResolver.builder().libraryStore(store).build())
+				.classLoaderCache(classLoaderCache)
+				.programsFolder(programsFolder)
+				.firstFrameTimeout(Duration.ofMillis(50))
+				.build();
+		pool = buildPool(WarmProgramPool.DEFAULT_MAX_WARM_BYTES, null);
+		programA = ProgramInfo.builder()
+				.title("A").description("Program A")
+				.programJarName("A.jar")
+				.build();
+		programB = ProgramInfo.builder()
+				.title("B").description("Program B")
+				.programJarName("B.jar")
+				.build();
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		pool.close();
+		classLoaderCache.close();
+		try(var files = Files.walk(folder)){
+			for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+				Files.delete(file);
+			}
+		}
+	}
+	
+	/**
+	 * Builds a pool that never warms up on its own (so the tests can call warmUp when they want)
+	 */
+	private WarmProgramPool buildPool(long maxWarmBytes, Path launchHistoryPath) throws IOException{
+		return WarmProgramPool.builder()
+				.programHandler(programHandler)
+				.launchHistoryPath(launchHistoryPath)
+				.maxWarmBytes(maxWarmBytes)
+				.idleDelay(Duration.ofHours(1))
+				.build();
+	}
+	
+	private void launch(ProgramInfo programInfo) throws Throwable{
+		pool.launchProgram(programInfo);
+		// Run is passed to the event thread, so wait for it
+		SwingUtilities.invokeAndWait(() -> { });
+	}
+	
+	@Test
+	public void testBuilderDefaults(){
+		assertNull(pool.getLogger());
+		assertEquals(programHandler, pool.getProgramHandler());
+		assertNull(pool.getLaunchHistoryPath());
+		assertEquals(WarmProgramPool.DEFAULT_MAX_WARM_BYTES, pool.getMaxWarmBytes());
+		assertEquals(WarmProgramPool.DEFAULT_MAX_WARM_PROGRAMS, pool.getMaxWarmPrograms());
+		assertEquals(WarmProgramPool.DEFAULT_MIN_LAUNCHES, pool.getMinLaunches());
+	}
+	
+	@Test
+	public void testBuilderMissingEverything() throws IOException{
+		try{
+			WarmProgramPool.builder()
+					.maxWarmBytes(-1).maxWarmPrograms(-1).minLaunches(0).idleDelay(Duration.ofSeconds(-1))
+					.build();
+			fail();
+		}catch(IllegalArgumentException e){
+			assertEquals("""
+							The following errors happened in building a WarmProgramPool:\s
+							programHandler is required
+							maxWarmBytes can't be negative
+							maxWarmPrograms can't be negative
+							minLaunches must be at least 1
+							idleDelay can't be negative""",
+					e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testWarmProgramOnlyRuns() throws Throwable{
+		launch(programA);
+		launch(programA);
+		assertEquals(2, pool.getLaunchRecord("A").launches());
+		assertFalse(pool.isWarm("A"));
+		
+		pool.warmUp();
+		assertTrue(pool.isWarm("A"));
+		assertEquals(Files.size(programsFolder.resolve("A.jar")), pool.getWarmBytes());
+		assertEquals(List.of("load", "run", "load", "run", "load"), RECORDED);
+		
+		// Launching it now only runs it, and uses it up
+		launch(programA);
+		assertEquals(List.of("load", "run", "load", "run", "load", "run"), RECORDED);
+		assertFalse(pool.isWarm("A"));
+		assertEquals(3, pool.getLaunchRecord("A").launches());
+	}
+	
+	@Test
+	public void testNotWarmedWithoutEnoughLaunches() throws Throwable{
+		launch(programA);
+		pool.warmUp();
+		assertFalse(pool.isWarm("A"));
+		assertNull(pool.getLaunchRecord("B"));
+	}
+	
+	@Test
+	public void testEvictsLeastRecentlyLaunched() throws Throwable{
+		pool.close();
+		pool = buildPool(Files.size(programsFolder.resolve("A.jar")) + 1, null);
+		launch(programA);
+		launch(programA);
+		launch(programB);
+		launch(programB);
+		pool.warmUp();
+		assertEquals(List.of("B"), pool.getWarmPrograms());
+	}
+	
+	@Test
+	public void testLaunchHistoryKept() throws Throwable{
+		Path historyPath = folder.resolve("history/launches.txt");
+		pool.close();
+		pool = buildPool(WarmProgramPool.DEFAULT_MAX_WARM_BYTES, historyPath);
+		launch(programA);
+		launch(programA);
+		pool.close();
+		
+		pool = buildPool(WarmProgramPool.DEFAULT_MAX_WARM_BYTES, historyPath);
+		assertEquals(2, pool.getLaunchRecord("A").launches());
+		// It needs the Program Info of A before it can prepare it
+		pool.warmUp();
+		assertFalse(pool.isWarm("A"));
+		pool.addProgram(programA);
+		pool.warmUp();
+		assertTrue(pool.isWarm("A"));
+	}
+	
+	@Test
+	public void testLaunchAsyncWarmProgramOnlyHasRunStage() throws Throwable{
+		launch(programA);
+		launch(programA);
+		pool.warmUp();
+		List<LaunchStage> stages = Collections.synchronizedList(new ArrayList<>());
+		LaunchHandle handle = pool.launchProgramAsync(programA, new LaunchListener(){
+			@Override
+			public void stageFinished(ProgramInfo programInfo, LaunchStage stage, Duration time){
+				stages.add(stage);
+			}
+		});
+		handle.getFuture().get(30, TimeUnit.SECONDS);
+		assertEquals(List.of(LaunchStage.RUN), stages);
+		assertEquals("run", RECORDED.get(RECORDED.size() - 1));
+	}
+	
+	@Test
+	public void testWarmsUpWhenIdle() throws Throwable{
+		pool.close();
+		pool = WarmProgramPool.builder()
+				.programHandler(programHandler)
+				.idleDelay(Duration.ofMillis(10))
+				.build();
+		pool.launchProgramAsync(programA).getFuture().get(30, TimeUnit.SECONDS);
+		pool.launchProgramAsync(programA).getFuture().get(30, TimeUnit.SECONDS);
+		for(int i = 0; i < 1000 && !pool.isWarm("A"); i++){
+			Thread.sleep(10);
+		}
+		assertTrue(pool.isWarm("A"));
+	}
+}
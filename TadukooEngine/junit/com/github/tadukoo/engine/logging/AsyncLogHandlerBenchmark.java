@@ -0,0 +1,72 @@
+package com.github.tadukoo.engine.logging;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.logging.FileHandler;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+
+/**
+ * Compares how long each log call takes during a burst of messages when writing straight to a {@link FileHandler}
+ * against going through an {@link AsyncLogHandler} in front of one (with each {@link BackPressurePolicy}), for a
+ * burst that fits in the buffer and one that's much bigger than it. It's run by hand, not as part of the tests,
+ * since timings depend on the machine.
+ */
+public class AsyncLogHandlerBenchmark{
+	
+	private static FileHandler fileHandler(Path folder, String name) throws IOException{
+		FileHandler fileHandler = new FileHandler(folder.resolve(name + ".log").toString());
+		fileHandler.setFormatter(new SimpleFormatter());
+		return fileHandler;
+	}
+	
+	private static void benchmark(String description, Handler handler, int burst){
+		// Warm up, then time each call
+		for(int i = 0; i < 1000; i++){
+			handler.publish(new LogRecord(Level.INFO, "Warming up " + i));
+		}
+		handler.flush();
+		long[] nanos = new long[burst];
+		long burstStart = System.nanoTime();
+		for(int i = 0; i < burst; i++){
+			LogRecord record = new LogRecord(Level.INFO, "Message " + i + " of the burst");
+			long start = System.nanoTime();
+			handler.publish(record);
+			nanos[i] = System.nanoTime() - start;
+		}
+		long burstMillis = (System.nanoTime() - burstStart) / 1_000_000;
+		handler.close();
+		
+		Arrays.sort(nanos);
+		System.out.println(description + ", " + burst + " messages: " + burstMillis + " ms for the burst, " +
+				"median " + nanos[burst / 2] + " ns, p99 " + nanos[burst * 99 / 100] + " ns, max " +
+				nanos[burst - 1] + " ns per call");
+	}
+	
+	public static void main(String[] args) throws IOException{
+		Path folder = Files.createTempDirectory("async-log-handler-benchmark");
+		try{
+			for(int burst: new int[]{AsyncLogHandler.DEFAULT_CAPACITY / 2, AsyncLogHandler.DEFAULT_CAPACITY * 16}){
+				benchmark("FileHandler", fileHandler(folder, "sync-" + burst), burst);
+				for(BackPressurePolicy policy: BackPressurePolicy.values()){
+					AsyncLogHandler handler = AsyncLogHandler.builder()
+							.target(fileHandler(folder, policy + "-" + burst))
+							.backPressurePolicy(policy)
+							.build();
+					benchmark("AsyncLogHandler (" + policy + ")", handler, burst);
+				}
+			}
+		}finally{
+			try(var files = Files.walk(folder)){
+				for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+					Files.delete(file);
+				}
+			}
+		}
+	}
+}
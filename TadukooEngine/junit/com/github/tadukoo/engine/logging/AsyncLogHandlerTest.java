@@ -0,0 +1,303 @@
+package com.github.tadukoo.engine.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.FileHandler;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class AsyncLogHandlerTest{
+	private Path folder;
+	private final RecordingHandler target = new RecordingHandler();
+	private AsyncLogHandler handler;
+	
+	/**
+	 * Keeps the messages it's given, and can be made to hold up the writer thread on a message
+	 */
+	private static class RecordingHandler extends Handler{
+		private final List<LogRecord> records = Collections.synchronizedList(new ArrayList<>());
+		private final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+		private final CountDownLatch release = new CountDownLatch(1);
+		private final CountDownLatch blocked = new CountDownLatch(1);
+		private volatile String blockOn = null;
+		private volatile boolean closed = false;
+		
+		@Override
+		public void publish(LogRecord record){
+			if(record.getMessage().equals(blockOn)){
+				blocked.countDown();
+				try{
+					release.await();
+				}catch(InterruptedException e){
+					Thread.currentThread().interrupt();
+				}
+			}
+			records.add(record);
+			threads.add(Thread.currentThread().getName());
+		}
+		
+		@Override
+		public void flush(){ }
+		
+		@Override
+		public void close(){
+			closed = true;
+		}
+		
+		List<String> messages(){
+			synchronized(records){
+				return records.stream().map(LogRecord::getMessage).toList();
+			}
+		}
+	}
+	
+	@BeforeEach
+	public void setup() throws IOException{
+		folder = Files.createTempDirectory("async-log-handler");
+		handler = AsyncLogHandler.builder().target(target).build();
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		target.release.countDown();
+		handler.close();
+		try(var files = Files.walk(folder)){
+			for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+				Files.delete(file);
+			}
+		}
+	}
+	
+	private static LogRecord record(String message){
+		return new LogRecord(Level.INFO, message);
+	}
+	
+	@Test
+	public void testBuilderDefaults(){
+		assertEquals(target, handler.getTarget());
+		assertEquals(AsyncLogHandler.DEFAULT_CAPACITY, handler.getCapacity());
+		assertEquals(BackPressurePolicy.BLOCK, handler.getBackPressurePolicy());
+		assertEquals(AsyncLogHandler.DEFAULT_BATCH_SIZE, handler.getBatchSize());
+		assertEquals(AsyncLogHandler.DEFAULT_FLUSH_INTERVAL, handler.getFlushInterval());
+		assertEquals(0, handler.getDroppedCount());
+	}
+	
+	@Test
+	public void testBuilderCapacityRoundedUp(){
+		AsyncLogHandler other = AsyncLogHandler.builder().target(target).capacity(100).build();
+		assertEquals(128, other.getCapacity());
+		other.close();
+	}
+	
+	@Test
+	public void testBuilderMissingEverything(){
+		try{
+			AsyncLogHandler.builder().capacity(1).backPressurePolicy(null).batchSize(0).flushInterval(Duration.ZERO)
+					.build();
+			fail();
+		}catch(IllegalArgumentException e){
+			assertEquals("""
+							The following errors happened in building an AsyncLogHandler:\s
+							target is required
+							capacity must be between 2 and 1073741824
+							backPressurePolicy is required
+							batchSize must be at least 1
+							flushInterval must be positive""",
+					e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testWrittenOnWriterThread(){
+		handler.publish(record("Hello"));
+		handler.flush();
+		assertEquals(List.of("Hello"), target.messages());
+		assertEquals(List.of("Async Log Writer"), target.threads);
+	}
+	
+	@Test
+	public void testOrderKeptForEachThread() throws Throwable{
+		int threads = 4;
+		int perThread = 5000;
+		List<Thread> loggers = new ArrayList<>();
+		for(int t = 0; t < threads; t++){
+			int thread = t;
+			loggers.add(new Thread(() -> {
+				for(int i = 0; i < perThread; i++){
+					handler.publish(record(thread + ":" + i));
+				}
+			}));
+		}
+		loggers.forEach(Thread::start);
+		for(Thread logger: loggers){
+			logger.join();
+		}
+		handler.flush();
+		
+		List<String> messages = target.messages();
+		assertEquals(threads * perThread, messages.size());
+		int[] next = new int[threads];
+		for(String message: messages){
+			String[] pieces = message.split(":");
+			int thread = Integer.parseInt(pieces[0]);
+			assertEquals(next[thread]++, Integer.parseInt(pieces[1]));
+		}
+	}
+	
+	@Test
+	public void testCloseWritesEverything(){
+		for(int i = 0; i < 20000; i++){
+			handler.publish(record(String.valueOf(i)));
+		}
+		handler.close();
+		assertEquals(20000, target.messages().size());
+		assertTrue(target.closed);
+		
+		// Anything after closing is ignored
+		handler.publish(record("late"));
+		assertEquals(20000, target.messages().size());
+	}
+	
+	@Test
+	public void testDropPolicy() throws Throwable{
+		handler.close();
+		handler = AsyncLogHandler.builder().target(target).capacity(4).backPressurePolicy(BackPressurePolicy.DROP)
+				.build();
+		target.blockOn = "first";
+		handler.publish(record("first"));
+		assertTrue(target.blocked.await(10, TimeUnit.SECONDS));
+		for(int i = 0; i < 10; i++){
+			handler.publish(record(String.valueOf(i)));
+		}
+		assertEquals(6, handler.getDroppedCount());
+		
+		target.release.countDown();
+		handler.flush();
+		assertEquals(List.of("first", "0", "1", "2", "3",
+				"Dropped 6 log messages because the log buffer was full"), target.messages());
+	}
+	
+	@Test
+	public void testBlockPolicy() throws Throwable{
+		handler.close();
+		handler = AsyncLogHandler.builder().target(target).capacity(2).build();
+		target.blockOn = "first";
+		handler.publish(record("first"));
+		assertTrue(target.blocked.await(10, TimeUnit.SECONDS));
+		
+		AtomicBoolean done = new AtomicBoolean(false);
+		Thread logger = new Thread(() -> {
+			for(int i = 0; i < 5; i++){
+				handler.publish(record(String.valueOf(i)));
+			}
+			done.set(true);
+		});
+		logger.start();
+		Thread.sleep(100);
+		assertFalse(done.get());
+		
+		target.release.countDown();
+		logger.join(10000);
+		assertTrue(done.get());
+		handler.flush();
+		assertEquals(List.of("first", "0", "1", "2", "3", "4"), target.messages());
+		assertEquals(0, handler.getDroppedCount());
+	}
+	
+	@Test
+	public void testCallerWritesPolicy() throws Throwable{
+		handler.close();
+		handler = AsyncLogHandler.builder().target(target).capacity(2)
+				.backPressurePolicy(BackPressurePolicy.CALLER_WRITES).build();
+		target.blockOn = "first";
+		handler.publish(record("first"));
+		assertTrue(target.blocked.await(10, TimeUnit.SECONDS));
+		for(int i = 0; i < 4; i++){
+			handler.publish(record(String.valueOf(i)));
+		}
+		// The buffer holds 2, so the other 2 were written by this thread
+		assertEquals(List.of(Thread.currentThread().getName(), Thread.currentThread().getName()), target.threads);
+		
+		target.release.countDown();
+		handler.flush();
+		assertEquals(5, target.messages().size());
+	}
+	
+	@Test
+	public void testSameFormatAndCaller() throws IOException{
+		Logger logger = Logger.getLogger("AsyncLogHandlerTest.testSameFormatAndCaller");
+		logger.setUseParentHandlers(false);
+		Path directLog = folder.resolve("direct.log");
+		Path asyncLog = folder.resolve("async.log");
+		FileHandler directHandler = new FileHandler(directLog.toString());
+		directHandler.setFormatter(new SimpleFormatter());
+		FileHandler asyncTarget = new FileHandler(asyncLog.toString());
+		asyncTarget.setFormatter(new SimpleFormatter());
+		logger.addHandler(directHandler);
+		logger.addHandler(asyncTarget);
+		
+		// Swap the second file's handler for an async one
+		logger.removeHandler(directHandler);
+		List<AsyncLogHandler> asyncHandlers = AsyncLogHandler.wrapHandlers(logger, BackPressurePolicy.BLOCK);
+		logger.addHandler(directHandler);
+		assertEquals(1, asyncHandlers.size());
+		assertEquals(asyncTarget, asyncHandlers.get(0).getTarget());
+		
+		logger.info("Font Loaded: Test");
+		for(Handler logHandler: logger.getHandlers()){
+			logger.removeHandler(logHandler);
+			logHandler.close();
+		}
+		
+		String direct = Files.readString(directLog);
+		assertTrue(direct.contains(AsyncLogHandlerTest.class.getName() + " testSameFormatAndCaller"));
+		assertEquals(direct, Files.readString(asyncLog));
+	}
+	
+	@Test
+	public void testBurst() throws IOException{
+		int messages = 50000;
+		Path syncLog = folder.resolve("sync.log");
+		Path asyncLog = folder.resolve("async.log");
+		FileHandler syncHandler = new FileHandler(syncLog.toString());
+		syncHandler.setFormatter(new SimpleFormatter());
+		FileHandler asyncTarget = new FileHandler(asyncLog.toString());
+		asyncTarget.setFormatter(new SimpleFormatter());
+		AsyncLogHandler asyncHandler = AsyncLogHandler.builder().target(asyncTarget).build();
+		
+		burst(syncHandler, messages);
+		burst(asyncHandler, messages);
+		asyncHandler.close();
+		syncHandler.close();
+		
+		// Everything in the burst was written by the time close returned
+		assertEquals(Files.readAllLines(syncLog).size(), Files.readAllLines(asyncLog).size());
+	}
+	
+	private static void burst(Handler logHandler, int messages){
+		for(int i = 0; i < messages; i++){
+			logHandler.publish(record("Font Loaded: Font " + i));
+		}
+	}
+}
@@ -0,0 +1,231 @@
+package com.github.tadukoo.engine.store;
+
+import com.github.tadukoo.engine.info.InfoType;
+import com.github.tadukoo.engine.info.ShortInfo;
+import com.github.tadukoo.launcher.downloader.BinaryDelta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class JarUpdaterTest{
+	private Path folder;
+	private Path installed;
+	private byte[] oldJar;
+	private byte[] newJar;
+	private String oldSha256;
+	private String newSha256;
+	private String jarLocation;
+	private String patchLocation;
+	private long patchSize;
+	private JarUpdater updater;
+	
+	/**
+	 * Makes a jar of 100 classes, where the first few change between versions
+	 */
+	private static byte[] makeJar(int version) throws IOException{
+		ByteArrayOutputStream jar = new ByteArrayOutputStream();
+		try(ZipOutputStream zip = new ZipOutputStream(jar)){
+			for(int i = 0; i < 100; i++){
+				ZipEntry entry = new ZipEntry("com/example/Class" + i + ".class");
+				entry.setTime(0);
+				zip.putNextEntry(entry);
+				Random random = new Random(i < 2 ? 1_000_000L * version + i:i);
+				byte[] contents = new byte[8000 + random.nextInt(8000)];
+				for(int j = 0; j < contents.length; j++){
+					contents[j] = (byte) ('a' + random.nextInt(16));
+				}
+				zip.write(contents);
+				zip.closeEntry();
+			}
+		}
+		return jar.toByteArray();
+	}
+	
+	@BeforeEach
+	public void setup() throws IOException{
+		folder = Files.createTempDirectory("jar-updater");
+		Path server = Files.createDirectories(folder.resolve("server"));
+		oldJar = makeJar(1);
+		newJar = makeJar(2);
+		Path oldPath = Files.write(server.resolve("old.jar"), oldJar);
+		Path newPath = Files.write(server.resolve("new.jar"), newJar);
+		Path patchPath = server.resolve("new.patch");
+		BinaryDelta.createPatch(oldPath, newPath, patchPath);
+		oldSha256 = LibraryStore.sha256(oldPath);
+		newSha256 = LibraryStore.sha256(newPath);
+		jarLocation = newPath.toUri().toString();
+		patchLocation = patchPath.toUri().toString();
+		patchSize = Files.size(patchPath);
+		
+		installed = Files.createDirectories(folder.resolve("programs")).resolve("Program.jar");
+		Files.write(installed, oldJar);
+		updater = JarUpdater.builder().build();
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		try(var files = Files.walk(folder)){
+			for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+				Files.delete(file);
+			}
+		}
+	}
+	
+	private ShortInfo newVersion(String patchFrom, String patch){
+		return ShortInfo.builder()
+				.type(InfoType.PROGRAM).title("Program").infoName("Program.jar").infoLocation(jarLocation)
+				.sha256(newSha256).patchFromSha256(patchFrom).patchLocation(patch)
+				.build();
+	}
+	
+	@Test
+	public void testBuilderMissingTransport(){
+		try{
+			JarUpdater.builder().transport(null).build();
+			fail();
+		}catch(IllegalArgumentException e){
+			assertEquals("""
+							The following errors happened in building a JarUpdater:\s
+							transport is required""",
+					e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testBuilderDefaultDownloader(){
+		assertEquals(updater.getTransport(), updater.getDownloader().getTransport());
+	}
+	
+	@Test
+	public void testPatched() throws IOException{
+		JarUpdater.UpdateResult result = updater.update(newVersion(oldSha256, patchLocation), installed, installed);
+		assertEquals(JarUpdater.UpdateMethod.PATCHED, result.method());
+		assertEquals(installed, result.path());
+		assertEquals(patchSize, result.bytesDownloaded());
+		assertArrayEquals(newJar, Files.readAllBytes(installed));
+		
+		// Only the patch was downloaded, which is far smaller than the jar
+		assertTrue(result.bytesDownloaded() * 10 < newJar.length);
+	}
+	
+	@Test
+	public void testUpToDate() throws IOException{
+		Files.write(installed, newJar);
+		JarUpdater.UpdateResult result = updater.update(newVersion(oldSha256, patchLocation), installed, installed);
+		assertEquals(JarUpdater.UpdateMethod.UP_TO_DATE, result.method());
+		assertEquals(0, result.bytesDownloaded());
+	}
+	
+	@Test
+	public void testNoPatch() throws IOException{
+		JarUpdater.UpdateResult result = updater.update(newVersion(null, null), installed, installed);
+		assertEquals(JarUpdater.UpdateMethod.DOWNLOADED, result.method());
+		assertEquals(newJar.length, result.bytesDownloaded());
+		assertArrayEquals(newJar, Files.readAllBytes(installed));
+	}
+	
+	@Test
+	public void testPatchForOtherVersion() throws IOException{
+		// The installed jar isn't the version the patch is for, so the patch isn't even downloaded
+		Files.write(installed, makeJar(3));
+		JarUpdater.UpdateResult result = updater.update(newVersion(oldSha256, patchLocation), installed, installed);
+		assertEquals(JarUpdater.UpdateMethod.DOWNLOADED, result.method());
+		assertEquals(newJar.length, result.bytesDownloaded());
+		assertArrayEquals(newJar, Files.readAllBytes(installed));
+	}
+	
+	@Test
+	public void testNothingInstalled() throws IOException{
+		Path target = folder.resolve("programs").resolve("Other.jar");
+		JarUpdater.UpdateResult result = updater.update(newVersion(oldSha256, patchLocation), target, target);
+		assertEquals(JarUpdater.UpdateMethod.DOWNLOADED, result.method());
+		assertArrayEquals(newJar, Files.readAllBytes(target));
+	}
+	
+	@Test
+	public void testBadPatchFallsBack() throws IOException{
+		// A patch that makes the wrong jar fails the digest check, so the whole jar is downloaded
+		Path badPatch = folder.resolve("server").resolve("bad.patch");
+		Files.write(folder.resolve("server").resolve("other.jar"), makeJar(3));
+		BinaryDelta.createPatch(installed, folder.resolve("server").resolve("other.jar"), badPatch);
+		JarUpdater.UpdateResult result = updater.update(newVersion(oldSha256, badPatch.toUri().toString()),
+				installed, installed);
+		assertEquals(JarUpdater.UpdateMethod.DOWNLOADED, result.method());
+		assertEquals(Files.size(badPatch) + newJar.length, result.bytesDownloaded());
+		assertArrayEquals(newJar, Files.readAllBytes(installed));
+	}
+	
+	@Test
+	public void testMissingPatchFallsBack() throws IOException{
+		String missing = folder.resolve("server").resolve("missing.patch").toUri().toString();
+		JarUpdater.UpdateResult result = updater.update(newVersion(oldSha256, missing), installed, installed);
+		assertEquals(JarUpdater.UpdateMethod.DOWNLOADED, result.method());
+		assertArrayEquals(newJar, Files.readAllBytes(installed));
+	}
+	
+	@Test
+	public void testMirrorLocations() throws IOException{
+		// The main location doesn't have the jar, so it comes from the first mirror that does
+		String missing = folder.resolve("server").resolve("missing.jar").toUri().toString();
+		String otherMissing = folder.resolve("server").resolve("other-missing.jar").toUri().toString();
+		ShortInfo mirrored = ShortInfo.builder()
+				.type(InfoType.PROGRAM).title("Program").infoName("Program.jar").infoLocation(missing)
+				.sha256(newSha256).mirrorLocations(List.of(otherMissing, jarLocation))
+				.build();
+		JarUpdater.UpdateResult result = updater.update(mirrored, installed, installed);
+		assertEquals(JarUpdater.UpdateMethod.DOWNLOADED, result.method());
+		assertEquals(newJar.length, result.bytesDownloaded());
+		assertArrayEquals(newJar, Files.readAllBytes(installed));
+	}
+	
+	@Test
+	public void testNoLocationHasJar() throws IOException{
+		String missing = folder.resolve("server").resolve("missing.jar").toUri().toString();
+		ShortInfo mirrored = ShortInfo.builder()
+				.type(InfoType.PROGRAM).title("Program").infoName("Program.jar").infoLocation(missing)
+				.sha256(newSha256).mirrorLocation(missing.replace("missing", "other-missing"))
+				.build();
+		assertThrows(IOException.class, () -> updater.update(mirrored, installed, installed));
+		assertArrayEquals(oldJar, Files.readAllBytes(installed));
+	}
+	
+	@Test
+	public void testSha256MismatchLeavesInstalledJar() throws IOException{
+		ShortInfo wrong = ShortInfo.builder()
+				.type(InfoType.PROGRAM).title("Program").infoName("Program.jar").infoLocation(jarLocation)
+				.sha256("0".repeat(64)).patchFromSha256(oldSha256).patchLocation(patchLocation)
+				.build();
+		assertThrows(IOException.class, () -> updater.update(wrong, installed, installed));
+		assertArrayEquals(oldJar, Files.readAllBytes(installed));
+		try(var files = Files.list(folder.resolve("programs"))){
+			assertEquals(1, files.count());
+		}
+	}
+	
+	@Test
+	public void testWithoutSha256() throws IOException{
+		ShortInfo noDigest = new ShortInfo(InfoType.PROGRAM, "Program", "Program.jar", jarLocation);
+		assertEquals(JarUpdater.UpdateMethod.UP_TO_DATE, updater.update(noDigest, installed, installed).method());
+		assertArrayEquals(oldJar, Files.readAllBytes(installed));
+		
+		Path target = folder.resolve("programs").resolve("Other.jar");
+		assertEquals(JarUpdater.UpdateMethod.DOWNLOADED, updater.update(noDigest, null, target).method());
+		assertArrayEquals(newJar, Files.readAllBytes(target));
+	}
+}
@@ -0,0 +1,228 @@
+package com.github.tadukoo.engine.store;
+
+import com.github.tadukoo.engine.info.InfoType;
+import com.github.tadukoo.engine.info.ShortInfo;
+import com.github.tadukoo.launcher.downloader.BinaryDelta;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class LibraryStoreTest{
+	private final byte[] content = "Some library content".getBytes(StandardCharsets.UTF_8);
+	private final AtomicInteger requestCount = new AtomicInteger();
+	private HttpServer server;
+	private String location;
+	private String sha256;
+	private Path folder;
+	private LibraryStore store;
+	
+	@BeforeEach
+	public void setup() throws Exception{
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/lib.jar", this::handle);
+		server.start();
+		location = "http://localhost:" + server.getAddress().getPort() + "/lib.jar";
+		sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+		folder = Files.createTempDirectory("library-store");
+		store = LibraryStore.builder()
+				.storeFolder(folder.resolve("store"))
+				.libsFolder(folder.resolve("libs"))
+				.build();
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException{
+		server.stop(0);
+		try(var files = Files.walk(folder)){
+			for(Path file: files.sorted(Comparator.reverseOrder()).toList()){
+				Files.delete(file);
+			}
+		}
+	}
+	
+	private void handle(HttpExchange exchange) throws IOException{
+		requestCount.incrementAndGet();
+		exchange.sendResponseHeaders(200, content.length);
+		try(OutputStream out = exchange.getResponseBody()){
+			out.write(content);
+		}
+		exchange.close();
+	}
+	
+	@Test
+	public void testBuilderMissingEverything() throws IOException{
+		try{
+			LibraryStore.builder().build();
+			fail();
+		}catch(IllegalArgumentException e){
+			assertEquals("""
+							The following errors happened in building a LibraryStore:\s
+							storeFolder is required
+							libsFolder is required""",
+					e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testFetch() throws IOException{
+		Path lib = store.fetch(new ShortInfo(InfoType.LIB, "Lib", "lib.jar", location, sha256));
+		assertEquals(folder.resolve("libs").resolve("lib.jar"), lib);
+		assertArrayEquals(content, Files.readAllBytes(lib));
+		assertTrue(store.contains(sha256));
+		assertEquals(sha256, LibraryStore.sha256(store.getBlobPath(sha256)));
+	}
+	
+	@Test
+	public void testFetchSameContentOnlyDownloadsOnce() throws IOException{
+		Path lib1 = store.fetch(new ShortInfo(InfoType.LIB, "Lib", "lib-1.0.jar", location, sha256));
+		Path lib2 = store.fetch(new ShortInfo(InfoType.LIB, "Lib", "lib.jar", location, sha256.toUpperCase()));
+		store.fetch(new ShortInfo(InfoType.LIB, "Lib", "lib.jar", location, sha256));
+		assertEquals(1, requestCount.get());
+		assertArrayEquals(content, Files.readAllBytes(lib1));
+		assertArrayEquals(content, Files.readAllBytes(lib2));
+	}
+	
+	@Test
+	public void testFetchPatchesStoredVersion() throws IOException{
+		// Version 1 of the library is stored, and version 2 changes a few bytes of it
+		byte[] oldContent = new byte[50_000];
+		new Random(1).nextBytes(oldContent);
+		byte[] newContent = oldContent.clone();
+		newContent[25_000] ^= 1;
+		Path server = Files.createDirectories(folder.resolve("server"));
+		Path oldPath = Files.write(server.resolve("lib-1.jar"), oldContent);
+		Path newPath = Files.write(server.resolve("lib-2.jar"), newContent);
+		Path patchPath = server.resolve("lib-2.patch");
+		BinaryDelta.createPatch(oldPath, newPath, patchPath);
+		String oldSha256 = LibraryStore.sha256(oldPath);
+		String newSha256 = LibraryStore.sha256(newPath);
+		store.fetch(new ShortInfo(InfoType.LIB, "Lib", "lib-1.jar", oldPath.toUri().toString(), oldSha256));
+		
+		// Delete version 2 from the "server", so it can only be made from the patch
+		Files.delete(newPath);
+		Path lib = store.fetch(ShortInfo.builder()
+				.type(InfoType.LIB).title("Lib").infoName("lib-2.jar").infoLocation(newPath.toUri().toString())
+				.sha256(newSha256).patchFromSha256(oldSha256).patchLocation(patchPath.toUri().toString())
+				.build());
+		assertArrayEquals(newContent, Files.readAllBytes(lib));
+		assertTrue(store.contains(newSha256));
+		assertTrue(store.contains(oldSha256));
+	}
+	
+	@Test
+	public void testFetchWithoutSha256() throws IOException{
+		Path lib = store.fetch(new ShortInfo(InfoType.LIB, "Lib", "lib.jar", location));
+		store.fetch(new ShortInfo(InfoType.LIB, "Lib", "lib.jar", location));
+		assertEquals(1, requestCount.get());
+		assertArrayEquals(content, Files.readAllBytes(lib));
+		assertFalse(store.contains(sha256));
+	}
+	
+	@Test
+	public void testFetchSha256Mismatch(){
+		String wrongSha256 = "0".repeat(64);
+		assertThrows(IOException.class,
+				() -> store.fetch(new ShortInfo(InfoType.LIB, "Lib", "lib.jar", location, wrongSha256)));
+		assertFalse(store.contains(wrongSha256));
+		assertFalse(Files.exists(folder.resolve("libs").resolve("lib.jar")));
+	}
+	
+	@Test
+	public void testFetchBadName(){
+		String absolute = folder.resolve("evil.jar").toAbsolutePath().toString();
+		for(String name: List.of("../evil.jar", "../../evil.jar", "sub/../../evil.jar", "", absolute)){
+			IOException e = assertThrows(IOException.class,
+					() -> store.fetch(new ShortInfo(InfoType.LIB, "Lib", name, location, sha256)));
+			assertEquals("Bad library name: " + name, e.getMessage());
+		}
+		assertFalse(Files.exists(folder.resolve("evil.jar")));
+		assertEquals(0, requestCount.get());
+	}
+	
+	@Test
+	public void testFetchBadSha256(){
+		for(String badSha256: List.of("a", "../../" + "0".repeat(58), "g".repeat(64))){
+			assertThrows(IOException.class,
+					() -> store.fetch(new ShortInfo(InfoType.LIB, "Lib", "lib.jar", location, badSha256)));
+			assertThrows(IllegalArgumentException.class, () -> store.getBlobPath(badSha256));
+			assertFalse(store.contains(badSha256));
+		}
+		assertEquals(0, requestCount.get());
+	}
+	
+	@Test
+	public void testCollectGarbageKeepsReferenced() throws IOException{
+		ShortInfo library = new ShortInfo(InfoType.LIB, "Lib", "lib.jar", location, sha256);
+		store.fetch(library);
+		store.register("Program", List.of(library));
+		assertEquals(0, store.collectGarbage().size());
+		assertTrue(store.contains(sha256));
+	}
+	
+	@Test
+	public void testCollectGarbageRemovesUnreferenced() throws IOException{
+		ShortInfo library = new ShortInfo(InfoType.LIB, "Lib", "lib.jar", location, sha256);
+		Path lib = store.fetch(library);
+		store.register("Program", List.of(library));
+		store.unregister("Program");
+		assertEquals(List.of(sha256), store.collectGarbage());
+		assertFalse(store.contains(sha256));
+		assertFalse(Files.exists(lib));
+	}
+	
+	@Test
+	public void testCollectGarbageRemovesCopies() throws IOException{
+		// Where hard links aren't possible, the library is a copy of the blob rather than a link to it
+		ShortInfo library = new ShortInfo(InfoType.LIB, "Lib", "lib.jar", location, sha256);
+		Path lib = store.fetch(library);
+		Path copy = folder.resolve("copy.jar");
+		Files.copy(store.getBlobPath(sha256), copy);
+		Files.move(copy, lib, StandardCopyOption.REPLACE_EXISTING);
+		assertFalse(Files.isSameFile(lib, store.getBlobPath(sha256)));
+		
+		// Another file in the libs folder that isn't from the store is left alone
+		Path other = Files.writeString(folder.resolve("libs").resolve("other.jar"), "Other library content");
+		store.register("Program", List.of(library));
+		store.unregister("Program");
+		assertEquals(List.of(sha256), store.collectGarbage());
+		assertFalse(Files.exists(lib));
+		assertTrue(Files.exists(other));
+	}
+	
+	@Test
+	public void testManifestIsReloaded() throws IOException{
+		ShortInfo library = new ShortInfo(InfoType.LIB, "Lib", "lib.jar", location, sha256);
+		store.fetch(library);
+		store.register("Program", List.of(library));
+		LibraryStore reloaded = LibraryStore.builder()
+				.storeFolder(store.getStoreFolder())
+				.libsFolder(store.getLibsFolder())
+				.build();
+		assertTrue(reloaded.getReferencedDigests().contains(sha256));
+		assertEquals(0, reloaded.collectGarbage().size());
+	}
+}
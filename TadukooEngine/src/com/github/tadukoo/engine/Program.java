@@ -4,10 +4,18 @@ import com.github.tadukoo.util.logger.EasyLogger;
 import com.github.tadukoo.view.form.main.MainForm;
 
 import javax.swing.*;
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.time.Duration;
 
 /**
  * Program is an interface used for Programs made for the engine. It serves as the main class for these programs,
  * and provides information, loading, and launching for the programs.
+ * <br><br>
+ * The engine starts a Program through {@link #load(ProgramLoadContext)} and {@link #run(ProgramLoadContext)}. By
+ * default these just call {@link #load(EasyLogger)} and launch the {@link #getMainForm() MainForm} (timing it), so
+ * a Program only needs to override them to use the shared executor or record its own startup phases.
  *
  * @author Logan Ferree (Tadukoo)
  * @version Alpha v.0.1
@@ -27,6 +35,18 @@ public interface Program{
 	 */
 	boolean load(EasyLogger logger);
 	
+	/**
+	 * Loads the Program with a {@link ProgramLoadContext}, which also gives it a shared executor to load things
+	 * in parallel on (see {@link ProgramLoadContext#submit}) and the {@link StartupMetrics} to record its own
+	 * startup phases in. The default behavior is to call {@link #load(EasyLogger)} with the context's logger.
+	 *
+	 * @param context The {@link ProgramLoadContext} for this startup
+	 * @return Whether the Program loaded successfully or not
+	 */
+	default boolean load(ProgramLoadContext context){
+		return load(context.getLogger());
+	}
+	
 	/**
 	 * @return The {@link MainForm} to be used in this Program. It will be launched in the {@link #run()} method
 	 */
@@ -39,4 +59,56 @@ public interface Program{
 	default void run(){
 		SwingUtilities.invokeLater(() -> getMainForm().launch());
 	}
+	
+	/**
+	 * Launches the Program, recording startup phases in the given context's {@link StartupMetrics}. If the
+	 * Program overrides {@link #run()}, that's called instead. Otherwise, the {@link #getMainForm() MainForm} is
+	 * made and launched on the event dispatch thread, recording the time to make it
+	 * ({@link StartupMetrics#MAIN_FORM}) and, if it's a {@link Window}, the time until it's first visible
+	 * ({@link StartupMetrics#FIRST_FRAME}).
+	 *
+	 * @param context The {@link ProgramLoadContext} for this startup
+	 */
+	default void run(ProgramLoadContext context){
+		if(overridesRun()){
+			run();
+			return;
+		}
+		
+		StartupMetrics metrics = context.getMetrics();
+		long start = System.nanoTime();
+		Runnable launch = () -> {
+			long formStart = System.nanoTime();
+			MainForm mainForm = getMainForm();
+			metrics.record(StartupMetrics.MAIN_FORM, Duration.ofNanos(System.nanoTime() - formStart));
+			if(mainForm instanceof Window window){
+				window.addWindowListener(new WindowAdapter(){
+					@Override
+					public void windowOpened(WindowEvent e){
+						window.removeWindowListener(this);
+						metrics.firstFrameShown(Duration.ofNanos(System.nanoTime() - start));
+					}
+				});
+			}
+			mainForm.launch();
+		};
+		if(SwingUtilities.isEventDispatchThread()){
+			launch.run();
+		}else{
+			SwingUtilities.invokeLater(launch);
+		}
+	}
+	
+	/**
+	 * @return Whether this Program has its own {@link #run()} (which then has to be used in place of the default
+	 * {@link #run(ProgramLoadContext)})
+	 */
+	private boolean overridesRun(){
+		try{
+			return getClass().getMethod("run").getDeclaringClass() != Program.class;
+		}catch(NoSuchMethodException e){
+			// Can't happen, since Program has it
+			return false;
+		}
+	}
 }
@@ -1,6 +1,9 @@
 package com.github.tadukoo.engine;
 
 import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.launch.LaunchHandle;
+import com.github.tadukoo.engine.launch.LaunchListener;
+import com.github.tadukoo.engine.launch.LaunchStage;
 
 /**
  * Program Handler is used to handle actions necessary for Programs, such as launching them or downloading files.
@@ -11,9 +14,38 @@ import com.github.tadukoo.engine.info.ProgramInfo;
 public interface ProgramHandler{
 	
 	/**
-	 * Launches the Program specified by the given {@link ProgramInfo}.
+	 * Launches the Program specified by the given {@link ProgramInfo}. This does all the work on the calling thread,
+	 * so it shouldn't be called from the event dispatch thread - see {@link #launchProgramAsync(ProgramInfo)}.
 	 *
 	 * @param programInfo The {@link ProgramInfo} for the program to be launched
 	 */
 	void launchProgram(ProgramInfo programInfo);
+	
+	/**
+	 * Launches the Program specified by the given {@link ProgramInfo} in the background. By default, this just runs
+	 * {@link #launchProgram(ProgramInfo)} as a single {@link LaunchStage#RUN RUN} stage on a background thread;
+	 * handlers that know more about their stages (like
+	 * {@link com.github.tadukoo.engine.launch.ResolvingProgramHandler ResolvingProgramHandler}) report each of them.
+	 *
+	 * @param programInfo The {@link ProgramInfo} for the program to be launched
+	 * @param listener The {@link LaunchListener} to notify of the launch's progress
+	 * @return The {@link LaunchHandle} used to follow or cancel the launch
+	 */
+	default LaunchHandle launchProgramAsync(ProgramInfo programInfo, LaunchListener listener){
+		return LaunchHandle.start(programInfo, listener, handle -> handle.runStage(LaunchStage.RUN, () -> {
+			launchProgram(programInfo);
+			return null;
+		}));
+	}
+	
+	/**
+	 * Launches the Program specified by the given {@link ProgramInfo} in the background, without listening to its
+	 * progress
+	 *
+	 * @param programInfo The {@link ProgramInfo} for the program to be launched
+	 * @return The {@link LaunchHandle} used to follow or cancel the launch
+	 */
+	default LaunchHandle launchProgramAsync(ProgramInfo programInfo){
+		return launchProgramAsync(programInfo, new LaunchListener(){ });
+	}
 }
@@ -0,0 +1,82 @@
+package com.github.tadukoo.engine;
+
+import com.github.tadukoo.util.logger.EasyLogger;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Program Load Context is given to a {@link Program} while it's being started (see
+ * {@link Program#load(ProgramLoadContext)}). Along with the {@link EasyLogger logger}, it gives the program a
+ * shared {@link Executor} to load things in parallel on, and the {@link StartupMetrics} used to record how long the
+ * program takes to start.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class ProgramLoadContext{
+	/** The {@link EasyLogger} to be used for logging by the program */
+	private final EasyLogger logger;
+	/** The shared {@link Executor} to run loading tasks on */
+	private final Executor executor;
+	/** The {@link StartupMetrics} of the program's startup */
+	private final StartupMetrics metrics;
+	
+	/**
+	 * Creates a new Program Load Context with the given parameters
+	 *
+	 * @param logger The {@link EasyLogger} to be used for logging by the program
+	 * @param executor The shared {@link Executor} to run loading tasks on
+	 * @param metrics The {@link StartupMetrics} of the program's startup
+	 */
+	public ProgramLoadContext(EasyLogger logger, Executor executor, StartupMetrics metrics){
+		this.logger = logger;
+		this.executor = executor;
+		this.metrics = metrics;
+	}
+	
+	/**
+	 * @return The {@link EasyLogger} to be used for logging by the program
+	 */
+	public EasyLogger getLogger(){
+		return logger;
+	}
+	
+	/**
+	 * @return The shared {@link Executor} to run loading tasks on (it's shared with other programs, so tasks
+	 * shouldn't block on each other)
+	 */
+	public Executor getExecutor(){
+		return executor;
+	}
+	
+	/**
+	 * @return The {@link StartupMetrics} of the program's startup
+	 */
+	public StartupMetrics getMetrics(){
+		return metrics;
+	}
+	
+	/**
+	 * Runs the given loading task on the shared {@link Executor}, recording its time in the {@link StartupMetrics}
+	 * as "{@link StartupMetrics#LOAD load}:name"
+	 *
+	 * @param name The name of the task
+	 * @param task The task to run
+	 * @param <T> The type of result the task gives
+	 * @return A {@link CompletableFuture} of the task's result
+	 */
+	public <T> CompletableFuture<T> submit(String name, Callable<T> task){
+		return CompletableFuture.supplyAsync(() -> {
+			try{
+				return metrics.time(StartupMetrics.LOAD + ":" + name, task::call);
+			}catch(RuntimeException e){
+				throw e;
+			}catch(Throwable t){
+				throw new CompletionException(t);
+			}
+		}, executor);
+	}
+}
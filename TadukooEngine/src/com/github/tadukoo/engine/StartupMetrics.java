@@ -0,0 +1,117 @@
+package com.github.tadukoo.engine;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Startup Metrics records how long each phase of starting a {@link Program} took, so the launcher can show where
+ * the time goes (and notice when it gets worse). The engine records the standard phases ({@link #CLASSLOAD},
+ * {@link #LOAD}, {@link #MAIN_FORM}, and {@link #FIRST_FRAME}); programs can record their own as well (e.g. the
+ * parallel tasks they {@link ProgramLoadContext#submit submit} while loading).
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class StartupMetrics{
+	
+	/**
+	 * Timed Work is a piece of work whose time is recorded as a phase.
+	 *
+	 * @param <T> The type of result the work gives
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	@FunctionalInterface
+	public interface TimedWork<T>{
+		
+		/**
+		 * Does the work
+		 *
+		 * @return The result of the work
+		 * @throws Throwable If anything goes wrong in the work
+		 */
+		T run() throws Throwable;
+	}
+	
+	/** The phase of finding and creating the {@link Program} class */
+	public static final String CLASSLOAD = "classload";
+	/** The phase of {@link Program#load loading} the program */
+	public static final String LOAD = "load";
+	/** The phase of making the program's {@link Program#getMainForm() main form} */
+	public static final String MAIN_FORM = "main-form";
+	/** The time from the program being run until its first frame is visible */
+	public static final String FIRST_FRAME = "first-frame";
+	
+	/** The time of each phase, in the order they were first recorded */
+	private final Map<String, Duration> phases = new LinkedHashMap<>();
+	/** Completed once the first frame of the program is visible */
+	private final CompletableFuture<Void> firstFrame = new CompletableFuture<>();
+	
+	/**
+	 * Records the time of a phase (adding to it, if the phase was already recorded)
+	 *
+	 * @param phase The name of the phase
+	 * @param time How long the phase took
+	 */
+	public synchronized void record(String phase, Duration time){
+		phases.merge(phase, time, Duration::plus);
+	}
+	
+	/**
+	 * Does the given work, recording how long it took as the given phase (even if it fails)
+	 *
+	 * @param phase The name of the phase
+	 * @param work The {@link TimedWork} to do
+	 * @param <T> The type of result the work gives
+	 * @return The result of the work
+	 * @throws Throwable If anything goes wrong in the work
+	 */
+	public <T> T time(String phase, TimedWork<T> work) throws Throwable{
+		long start = System.nanoTime();
+		try{
+			return work.run();
+		}finally{
+			record(phase, Duration.ofNanos(System.nanoTime() - start));
+		}
+	}
+	
+	/**
+	 * @param phase The name of a phase
+	 * @return How long the phase took, or null if it wasn't recorded
+	 */
+	public synchronized Duration getPhase(String phase){
+		return phases.get(phase);
+	}
+	
+	/**
+	 * @return A copy of the time of each phase, in the order they were first recorded
+	 */
+	public synchronized Map<String, Duration> getPhases(){
+		return new LinkedHashMap<>(phases);
+	}
+	
+	/**
+	 * Records that the first frame of the program is visible
+	 *
+	 * @param sinceRun The time since the program was run
+	 */
+	public void firstFrameShown(Duration sinceRun){
+		synchronized(this){
+			if(firstFrame.isDone()){
+				return;
+			}
+			phases.put(FIRST_FRAME, sinceRun);
+		}
+		firstFrame.complete(null);
+	}
+	
+	/**
+	 * @return A {@link CompletableFuture} completed once the first frame of the program is visible (which never
+	 * happens for programs that don't show a frame)
+	 */
+	public CompletableFuture<Void> getFirstFrame(){
+		return firstFrame;
+	}
+}
@@ -0,0 +1,59 @@
+package com.github.tadukoo.engine.browser;
+
+import com.github.tadukoo.engine.info.ShortInfo;
+
+import javax.swing.AbstractListModel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Catalog List Model is a {@link javax.swing.ListModel} of the {@link ShortInfo}s in a catalog. It's backed by the
+ * catalog's list itself rather than a copy (e.g. {@link com.github.tadukoo.engine.catalog.CatalogSnapshot#asList()},
+ * which only makes a {@link ShortInfo} when one is grabbed), so a {@link javax.swing.JList} with a fixed cell height
+ * only ever touches the entries that are on screen.
+ * <br><br>
+ * More entries can be added as they're found (e.g. by an
+ * {@link com.github.tadukoo.engine.catalog.InfoListCrawler InfoListCrawler}); this has to happen on the event thread,
+ * like any other change to a Swing model.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class CatalogListModel extends AbstractListModel<ShortInfo>{
+	/** The catalog's entries */
+	private final List<ShortInfo> catalog;
+	/** Entries added after the model was made */
+	private final List<ShortInfo> added = new ArrayList<>();
+	
+	/**
+	 * Creates a new Catalog List Model backed by the given catalog entries
+	 *
+	 * @param catalog The catalog's entries (not copied)
+	 */
+	public CatalogListModel(List<ShortInfo> catalog){
+		this.catalog = catalog;
+	}
+	
+	/** {@inheritDoc} */
+	@Override
+	public int getSize(){
+		return catalog.size() + added.size();
+	}
+	
+	/** {@inheritDoc} */
+	@Override
+	public ShortInfo getElementAt(int index){
+		return index < catalog.size() ? catalog.get(index):added.get(index - catalog.size());
+	}
+	
+	/**
+	 * Adds an entry to the end of the list
+	 *
+	 * @param info The {@link ShortInfo} to add
+	 */
+	public void add(ShortInfo info){
+		added.add(info);
+		int index = getSize() - 1;
+		fireIntervalAdded(this, index, index);
+	}
+}
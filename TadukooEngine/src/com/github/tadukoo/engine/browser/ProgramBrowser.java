@@ -0,0 +1,323 @@
+package com.github.tadukoo.engine.browser;
+
+import com.github.tadukoo.engine.font.FontRegistry;
+import com.github.tadukoo.engine.info.InfoType;
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.info.ShortInfo;
+import com.github.tadukoo.util.ListUtil;
+import com.github.tadukoo.util.StringUtil;
+import com.github.tadukoo.util.logger.EasyLogger;
+
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSplitPane;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Program Browser shows the programs in a catalog as a list on the left, with the form of the selected program on
+ * the right. Unlike adding a tab with a full {@link ProgramInfo} form for every program, nothing is built for a
+ * program until it's selected: the list only draws the titles of the rows on screen (from a {@link CatalogListModel}
+ * backed by the catalog itself), and the forms are kept in a small {@link ProgramFormCache}, which loads each
+ * program's info off the event thread and builds its form on it. So the time to open the browser and the memory it
+ * holds stay flat as the catalog grows.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class ProgramBrowser extends JPanel{
+	
+	/**
+	 * Program Browser Builder is used to build a new {@link ProgramBrowser}. It has the following parameters:
+	 *
+	 * <table>
+	 *     <caption>Program Browser Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>logger</td>
+	 *         <td>The {@link EasyLogger} to use for logging</td>
+	 *         <td>Defaults to {@code null}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>catalog</td>
+	 *         <td>The catalog's entries (not copied, so e.g. a
+	 *         {@link com.github.tadukoo.engine.catalog.CatalogSnapshot#asList() CatalogSnapshot list} stays lazy)</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>programFormLoader</td>
+	 *         <td>The {@link ProgramFormLoader} used to load and build the form of the selected program</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>maxForms</td>
+	 *         <td>The most program forms to keep built at once</td>
+	 *         <td>Defaults to {@link #DEFAULT_MAX_FORMS}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>fontRegistry</td>
+	 *         <td>The {@link FontRegistry} the fonts of the forms are gotten through</td>
+	 *         <td>Defaults to {@code null} (the forms' fonts are left alone)</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class ProgramBrowserBuilder{
+		/** The {@link EasyLogger} to use for logging */
+		private EasyLogger logger = null;
+		/** The catalog's entries */
+		private List<ShortInfo> catalog;
+		/** The {@link ProgramFormLoader} used to load and build the form of the selected program */
+		private ProgramFormLoader programFormLoader;
+		/** The most program forms to keep built at once */
+		private int maxForms = DEFAULT_MAX_FORMS;
+		/** The {@link FontRegistry} the fonts of the forms are gotten through */
+		private FontRegistry fontRegistry = null;
+		
+		// Not allowed to create Program Browser Builder outside of Program Browser
+		private ProgramBrowserBuilder(){ }
+		
+		/**
+		 * @param logger The {@link EasyLogger} to use for logging
+		 * @return this, to continue building
+		 */
+		public ProgramBrowserBuilder logger(EasyLogger logger){
+			this.logger = logger;
+			return this;
+		}
+		
+		/**
+		 * @param catalog The catalog's entries (not copied)
+		 * @return this, to continue building
+		 */
+		public ProgramBrowserBuilder catalog(List<ShortInfo> catalog){
+			this.catalog = catalog;
+			return this;
+		}
+		
+		/**
+		 * @param programFormLoader The {@link ProgramFormLoader} used to load and build the form of the selected
+		 * program
+		 * @return this, to continue building
+		 */
+		public ProgramBrowserBuilder programFormLoader(ProgramFormLoader programFormLoader){
+			this.programFormLoader = programFormLoader;
+			return this;
+		}
+		
+		/**
+		 * @param maxForms The most program forms to keep built at once
+		 * @return this, to continue building
+		 */
+		public ProgramBrowserBuilder maxForms(int maxForms){
+			this.maxForms = maxForms;
+			return this;
+		}
+		
+		/**
+		 * @param fontRegistry The {@link FontRegistry} the fonts of the forms are gotten through
+		 * @return this, to continue building
+		 */
+		public ProgramBrowserBuilder fontRegistry(FontRegistry fontRegistry){
+			this.fontRegistry = fontRegistry;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// Catalog is required
+			if(catalog == null){
+				errors.add("catalog is required");
+			}
+			// Program Form Loader is required
+			if(programFormLoader == null){
+				errors.add("programFormLoader is required");
+			}
+			// Max Forms must be positive
+			if(maxForms < 1){
+				errors.add("maxForms must be at least 1");
+			}
+			
+			// If we find errors, throw an exception
+			if(ListUtil.isNotBlank(errors)){
+				throw new IllegalArgumentException("The following errors happened in building a ProgramBrowser: \n" +
+						StringUtil.buildStringWithNewLines(errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link ProgramBrowser} with the set parameters
+		 *
+		 * @return The newly built {@link ProgramBrowser}
+		 */
+		public ProgramBrowser build(){
+			checkForErrors();
+			return new ProgramBrowser(logger, new CatalogListModel(catalog),
+					new ProgramFormCache(programFormLoader, maxForms), fontRegistry);
+		}
+	}
+	
+	/** The default for the most program forms to keep built at once */
+	public static final int DEFAULT_MAX_FORMS = 8;
+	/** Used to size the rows of the list, so it never has to measure the real entries */
+	private static final ShortInfo PROTOTYPE_ENTRY = new ShortInfo(InfoType.PROGRAM,
+			"A Fairly Long Program Title", null, null);
+	
+	/** The {@link EasyLogger} to use for logging */
+	private final EasyLogger logger;
+	/** The {@link CatalogListModel} of the catalog's entries */
+	private final CatalogListModel model;
+	/** The {@link ProgramFormCache} holding the recently used forms */
+	private final ProgramFormCache formCache;
+	/** The {@link FontRegistry} the fonts of the forms are gotten through (can be null) */
+	private final FontRegistry fontRegistry;
+	/** The {@link JList} of the catalog's entries */
+	private final JList<ShortInfo> list;
+	/** The panel the selected program's form is shown in */
+	private final JPanel formPanel;
+	
+	/**
+	 * Creates a new Program Browser with the given parameters
+	 *
+	 * @param logger The {@link EasyLogger} to use for logging
+	 * @param model The {@link CatalogListModel} of the catalog's entries
+	 * @param formCache The {@link ProgramFormCache} holding the recently used forms
+	 * @param fontRegistry The {@link FontRegistry} the fonts of the forms are gotten through (can be null)
+	 */
+	private ProgramBrowser(
+			EasyLogger logger, CatalogListModel model, ProgramFormCache formCache, FontRegistry fontRegistry){
+		super(new BorderLayout());
+		this.logger = logger;
+		this.model = model;
+		this.formCache = formCache;
+		this.fontRegistry = fontRegistry;
+		
+		list = new JList<>(model);
+		list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+		list.setCellRenderer(new DefaultListCellRenderer(){
+			@Override
+			public Component getListCellRendererComponent(
+					JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus){
+				JLabel label = (JLabel) super.getListCellRendererComponent(
+						list, value, index, isSelected, cellHasFocus);
+				label.setText(((ShortInfo) value).getTitle());
+				return label;
+			}
+		});
+		// With a prototype, every row is the same size, so only the visible rows are ever grabbed from the model
+		list.setPrototypeCellValue(PROTOTYPE_ENTRY);
+		list.addListSelectionListener(e -> {
+			if(!e.getValueIsAdjusting() && list.getSelectedIndex() != -1){
+				showProgram(list.getSelectedIndex());
+			}
+		});
+		
+		formPanel = new JPanel(new BorderLayout());
+		add(new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, new JScrollPane(list), formPanel), BorderLayout.CENTER);
+	}
+	
+	/**
+	 * @return A new {@link ProgramBrowserBuilder} to use to build a {@link ProgramBrowser}
+	 */
+	public static ProgramBrowserBuilder builder(){
+		return new ProgramBrowserBuilder();
+	}
+	
+	/**
+	 * @return The {@link EasyLogger} to use for logging
+	 */
+	public EasyLogger getLogger(){
+		return logger;
+	}
+	
+	/**
+	 * @return The {@link CatalogListModel} of the catalog's entries (new entries can be added to it on the event
+	 * thread)
+	 */
+	public CatalogListModel getModel(){
+		return model;
+	}
+	
+	/**
+	 * @return The {@link ProgramFormCache} holding the recently used forms
+	 */
+	public ProgramFormCache getFormCache(){
+		return formCache;
+	}
+	
+	/**
+	 * @return The {@link FontRegistry} the fonts of the forms are gotten through (can be null)
+	 */
+	public FontRegistry getFontRegistry(){
+		return fontRegistry;
+	}
+	
+	/**
+	 * @return The {@link JList} of the catalog's entries
+	 */
+	public JList<ShortInfo> getList(){
+		return list;
+	}
+	
+	/**
+	 * Shows the form of the program at the given index. The form is grabbed from the cache (which loads the
+	 * program's info off the event thread and builds the form on it), and is only put on screen if the program is
+	 * still selected once it's ready. If there's a
+	 * {@link FontRegistry}, the form's fonts are then gotten through it (which loads their families the first time
+	 * they're used).
+	 *
+	 * @param index The index of the program in the list
+	 * @return A {@link CompletableFuture} of the program's form, completed once it's been shown (or skipped)
+	 */
+	public CompletableFuture<ProgramInfo> showProgram(int index){
+		ShortInfo info = model.getElementAt(index);
+		CompletableFuture<ProgramInfo> shown = new CompletableFuture<>();
+		formCache.getForm(info).whenComplete((form, error) -> SwingUtilities.invokeLater(() -> {
+			if(error != null){
+				if(logger != null){
+					logger.logError("Failed to load the program form for " + info.getTitle(), error);
+				}
+				shown.completeExceptionally(error);
+				return;
+			}
+			if(info.equals(list.getSelectedValue())){
+				formPanel.removeAll();
+				formPanel.add(form, BorderLayout.CENTER);
+				formPanel.revalidate();
+				formPanel.repaint();
+				if(fontRegistry != null){
+					fontRegistry.applyTo(form);
+				}
+			}
+			shown.complete(form);
+		}));
+		return shown;
+	}
+	
+	/**
+	 * @return The form currently being shown, or null if there isn't one
+	 */
+	public ProgramInfo getShownForm(){
+		return formPanel.getComponentCount() == 0 ? null:(ProgramInfo) formPanel.getComponent(0);
+	}
+}
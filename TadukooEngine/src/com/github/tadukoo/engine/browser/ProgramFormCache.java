@@ -0,0 +1,140 @@
+package com.github.tadukoo.engine.browser;
+
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.info.ShortInfo;
+
+import javax.swing.SwingUtilities;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Program Form Cache keeps the most recently used {@link ProgramInfo} forms, so switching back and forth between a
+ * few programs doesn't build their forms again, while the number of forms held at once stays at the limit no
+ * matter how big the catalog is. The least recently used form is dropped when a new one doesn't fit. A form that
+ * isn't held is loaded off the event thread and then built on the event thread (see {@link ProgramFormLoader}). If
+ * a form is asked for again while it's still being loaded or built, the second caller gets the first one rather
+ * than starting another.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class ProgramFormCache{
+	/** The {@link ProgramFormLoader} used to load and build forms */
+	private final ProgramFormLoader formLoader;
+	/** The most forms to keep */
+	private final int maxForms;
+	/** The forms, in least to most recently used order */
+	private final LinkedHashMap<ShortInfo, ProgramInfo> forms;
+	/** The forms being loaded or built right now */
+	private final Map<ShortInfo, CompletableFuture<ProgramInfo>> building = new HashMap<>();
+	/** The number of forms that were built */
+	private int formsBuilt = 0;
+	
+	/**
+	 * Creates a new Program Form Cache
+	 *
+	 * @param formLoader The {@link ProgramFormLoader} used to load and build forms
+	 * @param maxForms The most forms to keep
+	 */
+	public ProgramFormCache(ProgramFormLoader formLoader, int maxForms){
+		this.formLoader = formLoader;
+		this.maxForms = maxForms;
+		forms = new LinkedHashMap<>(16, 0.75f, true){
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<ShortInfo, ProgramInfo> eldest){
+				return size() > ProgramFormCache.this.maxForms;
+			}
+		};
+	}
+	
+	/**
+	 * @return The most forms to keep
+	 */
+	public int getMaxForms(){
+		return maxForms;
+	}
+	
+	/**
+	 * @return The number of forms held right now
+	 */
+	public synchronized int size(){
+		return forms.size();
+	}
+	
+	/**
+	 * @return The number of forms that were built (including ones that were since dropped)
+	 */
+	public synchronized int getFormsBuilt(){
+		return formsBuilt;
+	}
+	
+	/**
+	 * @param info The {@link ShortInfo} of a program
+	 * @return Whether the program's form is held right now
+	 */
+	public synchronized boolean contains(ShortInfo info){
+		return forms.containsKey(info);
+	}
+	
+	/**
+	 * Grabs the form for the given program. If it isn't held, its info is loaded off the event thread, and the
+	 * form is then built from it on the event thread.
+	 *
+	 * @param info The {@link ShortInfo} of the program
+	 * @return A {@link CompletableFuture} of the {@link ProgramInfo} form of the program (completed exceptionally
+	 * with whatever went wrong if it couldn't be loaded or built)
+	 */
+	public CompletableFuture<ProgramInfo> getForm(ShortInfo info){
+		CompletableFuture<ProgramInfo> form = new CompletableFuture<>();
+		synchronized(this){
+			ProgramInfo heldForm = forms.get(info);
+			if(heldForm != null){
+				return CompletableFuture.completedFuture(heldForm);
+			}
+			CompletableFuture<ProgramInfo> build = building.get(info);
+			if(build != null){
+				return build;
+			}
+			building.put(info, form);
+		}
+		
+		CompletableFuture.supplyAsync(() -> {
+			try{
+				return formLoader.loadForm(info);
+			}catch(Throwable t){
+				throw new CompletionException(t);
+			}
+		}).thenApplyAsync(loadedForm -> {
+			try{
+				return formLoader.buildForm(loadedForm);
+			}catch(Throwable t){
+				throw new CompletionException(t);
+			}
+		}, SwingUtilities::invokeLater).whenComplete((builtForm, error) -> {
+			synchronized(this){
+				building.remove(info);
+				if(error == null){
+					formsBuilt++;
+					forms.put(info, builtForm);
+				}
+			}
+			if(error == null){
+				form.complete(builtForm);
+			}else{
+				form.completeExceptionally(error instanceof CompletionException && error.getCause() != null ?
+						error.getCause():error);
+			}
+		});
+		return form;
+	}
+	
+	/**
+	 * Drops all the forms
+	 */
+	public synchronized void clear(){
+		forms.clear();
+	}
+}
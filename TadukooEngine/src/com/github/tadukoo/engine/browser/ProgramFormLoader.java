@@ -0,0 +1,38 @@
+package com.github.tadukoo.engine.browser;
+
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.info.ShortInfo;
+
+/**
+ * Program Form Loader is used to get the {@link ProgramInfo} form of a program in two steps. The program's info is
+ * {@link #loadForm(ShortInfo) loaded} off the event thread (since it may take a while, e.g. reading it from a
+ * file), and then the form is {@link #buildForm(ProgramInfo.ProgramInfoBuilder) built} from it on the event
+ * thread, since it's a Swing component.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+@FunctionalInterface
+public interface ProgramFormLoader{
+	
+	/**
+	 * Loads the info of the program the given {@link ShortInfo} points to. This is called off the event thread,
+	 * so it must not build any Swing components.
+	 *
+	 * @param programInfoInfo The {@link ShortInfo} for the Program Info
+	 * @return A {@link ProgramInfo.ProgramInfoBuilder} with the program's info set, to build the form with
+	 * @throws Throwable If anything goes wrong in loading the Program Info
+	 */
+	ProgramInfo.ProgramInfoBuilder loadForm(ShortInfo programInfoInfo) throws Throwable;
+	
+	/**
+	 * Builds the form from the loaded info. This is called on the event thread.
+	 *
+	 * @param loadedForm The {@link ProgramInfo.ProgramInfoBuilder} returned by {@link #loadForm(ShortInfo)}
+	 * @return The built {@link ProgramInfo} form
+	 * @throws Throwable If anything goes wrong in building the form
+	 */
+	default ProgramInfo buildForm(ProgramInfo.ProgramInfoBuilder loadedForm) throws Throwable{
+		return loadedForm.build();
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains the {@link com.github.tadukoo.engine.browser.ProgramBrowser ProgramBrowser}, a list of the programs in a
+ * catalog that only builds the form of a program when it's picked
+ */
+package com.github.tadukoo.engine.browser;
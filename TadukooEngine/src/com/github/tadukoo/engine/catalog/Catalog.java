@@ -0,0 +1,257 @@
+package com.github.tadukoo.engine.catalog;
+
+import com.github.tadukoo.engine.info.InfoList;
+import com.github.tadukoo.engine.info.ShortInfo;
+import com.github.tadukoo.util.ListUtil;
+import com.github.tadukoo.util.StringUtil;
+import com.github.tadukoo.util.logger.EasyLogger;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Catalog loads the entries of a catalog (an {@link InfoList} stored as JSON) through a {@link CatalogSnapshot}
+ * kept next to the JSON file. The JSON file is always the source of truth: the snapshot remembers the size and last
+ * modified time of the JSON it was made from, and whenever those don't match (or the snapshot is missing or
+ * broken), the JSON is loaded and the snapshot is made again. Otherwise the snapshot is just memory-mapped, and
+ * nothing is parsed at all.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class Catalog{
+	
+	/**
+	 * Catalog Builder is used to build a new {@link Catalog}. It has the following parameters:
+	 *
+	 * <table>
+	 *     <caption>Catalog Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>logger</td>
+	 *         <td>The {@link EasyLogger} to use for logging</td>
+	 *         <td>Defaults to {@code null}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>jsonPath</td>
+	 *         <td>The {@link Path} of the catalog's JSON file</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>snapshotPath</td>
+	 *         <td>The {@link Path} to keep the {@link CatalogSnapshot} at</td>
+	 *         <td>Defaults to the JSON path with {@link #SNAPSHOT_EXTENSION} added</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>jsonLoader</td>
+	 *         <td>The {@link CatalogJSONLoader} used to load the JSON when the snapshot is out-of-date</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class CatalogBuilder{
+		/** The {@link EasyLogger} to use for logging */
+		private EasyLogger logger = null;
+		/** The {@link Path} of the catalog's JSON file */
+		private Path jsonPath;
+		/** The {@link Path} to keep the {@link CatalogSnapshot} at */
+		private Path snapshotPath = null;
+		/** The {@link CatalogJSONLoader} used to load the JSON when the snapshot is out-of-date */
+		private CatalogJSONLoader jsonLoader;
+		
+		// Not allowed to create Catalog Builder outside of Catalog
+		private CatalogBuilder(){ }
+		
+		/**
+		 * @param logger The {@link EasyLogger} to use for logging
+		 * @return this, to continue building
+		 */
+		public CatalogBuilder logger(EasyLogger logger){
+			this.logger = logger;
+			return this;
+		}
+		
+		/**
+		 * @param jsonPath The {@link Path} of the catalog's JSON file
+		 * @return this, to continue building
+		 */
+		public CatalogBuilder jsonPath(Path jsonPath){
+			this.jsonPath = jsonPath;
+			return this;
+		}
+		
+		/**
+		 * @param snapshotPath The {@link Path} to keep the {@link CatalogSnapshot} at
+		 * @return this, to continue building
+		 */
+		public CatalogBuilder snapshotPath(Path snapshotPath){
+			this.snapshotPath = snapshotPath;
+			return this;
+		}
+		
+		/**
+		 * @param jsonLoader The {@link CatalogJSONLoader} used to load the JSON when the snapshot is out-of-date
+		 * @return this, to continue building
+		 */
+		public CatalogBuilder jsonLoader(CatalogJSONLoader jsonLoader){
+			this.jsonLoader = jsonLoader;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// JSON Path is required
+			if(jsonPath == null){
+				errors.add("jsonPath is required");
+			}
+			// JSON Loader is required
+			if(jsonLoader == null){
+				errors.add("jsonLoader is required");
+			}
+			
+			// If we find errors, throw an exception
+			if(ListUtil.isNotBlank(errors)){
+				throw new IllegalArgumentException("The following errors happened in building a Catalog: \n" +
+						StringUtil.buildStringWithNewLines(errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link Catalog} with the set parameters
+		 *
+		 * @return The newly built {@link Catalog}
+		 */
+		public Catalog build(){
+			checkForErrors();
+			if(snapshotPath == null){
+				snapshotPath = jsonPath.resolveSibling(jsonPath.getFileName() + SNAPSHOT_EXTENSION);
+			}
+			return new Catalog(logger, jsonPath, snapshotPath, jsonLoader);
+		}
+	}
+	
+	/** The extension added to the JSON file's name to get the name of the snapshot by default */
+	public static final String SNAPSHOT_EXTENSION = ".snapshot";
+	
+	/** The {@link EasyLogger} to use for logging */
+	private final EasyLogger logger;
+	/** The {@link Path} of the catalog's JSON file */
+	private final Path jsonPath;
+	/** The {@link Path} to keep the {@link CatalogSnapshot} at */
+	private final Path snapshotPath;
+	/** The {@link CatalogJSONLoader} used to load the JSON when the snapshot is out-of-date */
+	private final CatalogJSONLoader jsonLoader;
+	
+	/**
+	 * Creates a new Catalog with the given parameters
+	 *
+	 * @param logger The {@link EasyLogger} to use for logging
+	 * @param jsonPath The {@link Path} of the catalog's JSON file
+	 * @param snapshotPath The {@link Path} to keep the {@link CatalogSnapshot} at
+	 * @param jsonLoader The {@link CatalogJSONLoader} used to load the JSON when the snapshot is out-of-date
+	 */
+	private Catalog(EasyLogger logger, Path jsonPath, Path snapshotPath, CatalogJSONLoader jsonLoader){
+		this.logger = logger;
+		this.jsonPath = jsonPath;
+		this.snapshotPath = snapshotPath;
+		this.jsonLoader = jsonLoader;
+	}
+	
+	/**
+	 * @return A new {@link CatalogBuilder} to use to build a {@link Catalog}
+	 */
+	public static CatalogBuilder builder(){
+		return new CatalogBuilder();
+	}
+	
+	/**
+	 * @return The {@link Path} of the catalog's JSON file
+	 */
+	public Path getJsonPath(){
+		return jsonPath;
+	}
+	
+	/**
+	 * @return The {@link Path} to keep the {@link CatalogSnapshot} at
+	 */
+	public Path getSnapshotPath(){
+		return snapshotPath;
+	}
+	
+	/**
+	 * Loads the catalog, from the snapshot if it's up-to-date with the JSON, otherwise from the JSON (making the
+	 * snapshot again)
+	 *
+	 * @return The {@link CatalogSnapshot} of the catalog
+	 * @throws Throwable If the JSON has to be loaded and anything goes wrong in loading it
+	 */
+	public CatalogSnapshot load() throws Throwable{
+		long jsonSize = Files.size(jsonPath);
+		long jsonModified = Files.getLastModifiedTime(jsonPath).toMillis();
+		
+		// Use the snapshot if we can
+		if(Files.isRegularFile(snapshotPath)){
+			try{
+				CatalogSnapshot snapshot = CatalogSnapshot.open(snapshotPath);
+				if(snapshot.matches(jsonSize, jsonModified)){
+					return snapshot;
+				}
+			}catch(IOException e){
+				if(logger != null){
+					logger.logWarning("Catalog snapshot " + snapshotPath + " is broken, making it again", e);
+				}
+			}
+		}
+		
+		// Load the JSON and make the snapshot again
+		InfoList infoList = jsonLoader.loadInfoList(jsonPath);
+		List<ShortInfo> infos = infoList.getList();
+		byte[] snapshotBytes = CatalogSnapshot.encode(infos != null ? infos:new ArrayList<>(), jsonSize, jsonModified);
+		try{
+			saveSnapshot(snapshotBytes);
+			return CatalogSnapshot.open(snapshotPath);
+		}catch(IOException e){
+			// Not being able to save the snapshot just means the JSON is loaded again next time
+			if(logger != null){
+				logger.logWarning("Failed to save catalog snapshot " + snapshotPath, e);
+			}
+			return CatalogSnapshot.wrap(snapshotBytes);
+		}
+	}
+	
+	/**
+	 * Saves the snapshot, through a temporary file so a half-written snapshot is never left behind
+	 *
+	 * @param snapshotBytes The bytes of the snapshot
+	 * @throws IOException If anything goes wrong in saving it
+	 */
+	private void saveSnapshot(byte[] snapshotBytes) throws IOException{
+		Path tempPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+		Files.write(tempPath, snapshotBytes);
+		try{
+			Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}catch(AtomicMoveNotSupportedException e){
+			Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+		}finally{
+			Files.deleteIfExists(tempPath);
+		}
+	}
+}
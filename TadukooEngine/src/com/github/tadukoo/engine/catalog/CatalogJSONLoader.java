@@ -0,0 +1,25 @@
+package com.github.tadukoo.engine.catalog;
+
+import com.github.tadukoo.engine.info.InfoList;
+
+import java.nio.file.Path;
+
+/**
+ * Catalog JSON Loader is used to load the {@link InfoList} from a catalog's JSON file, which is only needed when
+ * the {@link CatalogSnapshot} of it is missing or out-of-date.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+@FunctionalInterface
+public interface CatalogJSONLoader{
+	
+	/**
+	 * Loads the {@link InfoList} from the given JSON file
+	 *
+	 * @param jsonPath The {@link Path} of the JSON file
+	 * @return The loaded {@link InfoList}
+	 * @throws Throwable If anything goes wrong in loading it
+	 */
+	InfoList loadInfoList(Path jsonPath) throws Throwable;
+}
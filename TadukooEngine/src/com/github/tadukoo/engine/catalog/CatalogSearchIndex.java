@@ -0,0 +1,373 @@
+package com.github.tadukoo.engine.catalog;
+
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.info.ShortInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Catalog Search Index is an in-memory index over the titles of the {@link ShortInfo}s in a catalog and the
+ * descriptions of their {@link ProgramInfo}s, used to answer search-as-you-type queries without scanning the whole
+ * catalog.
+ * <br><br>
+ * Text is split into lowercase words (runs of letters and digits). A query is split the same way, and an entry
+ * matches when every query word is found in its title or description: words shorter than 3 characters have to
+ * start a word of the entry (found through a sorted map of the words), while longer ones can be anywhere inside a
+ * word (found through an index of the 3-letter pieces of the words, then checked against the words themselves).
+ * Entries whose titles match every query word come first, then the rest, each in the order they were added.
+ * <br><br>
+ * Entries can be added (and descriptions set) at any time, so the index can be filled in as an
+ * {@link InfoListCrawler} finds programs - it's an {@link InfoListCrawlerListener} for that.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class CatalogSearchIndex implements InfoListCrawlerListener{
+	
+	/**
+	 * Field Index is the index of the words of a single field (title or description) of the entries.
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	private static class FieldIndex{
+		/** The words, sorted so a prefix can be looked up as a range */
+		private final TreeMap<String, Word> words = new TreeMap<>();
+		/** The words in the order they were first seen (their ids) */
+		private final List<Word> wordsById = new ArrayList<>();
+		/** The ids of the words each 3-letter piece shows up in */
+		private final Map<String, IntList> trigrams = new HashMap<>();
+		
+		/**
+		 * Adds the given words for the given entry
+		 *
+		 * @param entry The id of the entry
+		 * @param entryWords The (distinct) words of the entry's field
+		 */
+		private void add(int entry, List<String> entryWords){
+			for(String text: entryWords){
+				Word word = words.get(text);
+				if(word == null){
+					word = new Word(wordsById.size(), text);
+					words.put(text, word);
+					wordsById.add(word);
+					for(int i = 0; i + 3 <= text.length(); i++){
+						trigrams.computeIfAbsent(text.substring(i, i + 3), key -> new IntList()).addSorted(word.id);
+					}
+				}
+				word.entries.addSorted(entry);
+			}
+		}
+		
+		/**
+		 * Removes the given words for the given entry (the words themselves are kept, to keep the ids stable)
+		 *
+		 * @param entry The id of the entry
+		 * @param entryWords The (distinct) words of the entry's field
+		 */
+		private void remove(int entry, List<String> entryWords){
+			for(String text: entryWords){
+				Word word = words.get(text);
+				if(word != null){
+					word.entries.remove(entry);
+				}
+			}
+		}
+		
+		/**
+		 * Finds the entries that have a word matching the given query word
+		 *
+		 * @param term The query word
+		 * @param matches The {@link BitSet} to set the ids of the matching entries in
+		 */
+		private void find(String term, BitSet matches){
+			if(term.length() < 3){
+				// Too short for the trigrams, so it has to start a word
+				for(Word word: words.subMap(term, true, term + Character.MAX_VALUE, false).values()){
+					word.entries.setAll(matches);
+				}
+				return;
+			}
+			
+			// Only words that have every 3-letter piece of the term can have the term in them
+			IntList candidates = null;
+			for(int i = 0; i + 3 <= term.length(); i++){
+				IntList wordIds = trigrams.get(term.substring(i, i + 3));
+				if(wordIds == null){
+					return;
+				}
+				candidates = candidates == null ? wordIds:candidates.intersect(wordIds);
+				if(candidates.size == 0){
+					return;
+				}
+			}
+			for(int i = 0; i < candidates.size; i++){
+				Word word = wordsById.get(candidates.values[i]);
+				if(word.text.contains(term)){
+					word.entries.setAll(matches);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Word is a single word in a {@link FieldIndex}, with the ids of the entries it shows up in.
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	private static class Word{
+		/** The id of the word */
+		private final int id;
+		/** The word itself */
+		private final String text;
+		/** The ids of the entries the word shows up in */
+		private final IntList entries = new IntList();
+		
+		/**
+		 * Creates a new Word
+		 *
+		 * @param id The id of the word
+		 * @param text The word itself
+		 */
+		private Word(int id, String text){
+			this.id = id;
+			this.text = text;
+		}
+	}
+	
+	/**
+	 * Int List is a sorted list of distinct ints, kept in a plain array (so a large index doesn't box every id).
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	private static class IntList{
+		/** The values (only the first {@link #size} are used) */
+		private int[] values = new int[2];
+		/** The number of values */
+		private int size = 0;
+		
+		/**
+		 * Adds the given value, keeping the list sorted (this is quickest when values come in order)
+		 *
+		 * @param value The value to add
+		 */
+		private void addSorted(int value){
+			if(size > 0 && values[size - 1] >= value){
+				int index = Arrays.binarySearch(values, 0, size, value);
+				if(index >= 0){
+					return;
+				}
+				insert(-index - 1, value);
+			}else{
+				insert(size, value);
+			}
+		}
+		
+		/**
+		 * Inserts the given value at the given index
+		 *
+		 * @param index The index to insert at
+		 * @param value The value to insert
+		 */
+		private void insert(int index, int value){
+			if(size == values.length){
+				values = Arrays.copyOf(values, size * 2);
+			}
+			System.arraycopy(values, index, values, index + 1, size - index);
+			values[index] = value;
+			size++;
+		}
+		
+		/**
+		 * Removes the given value, if it's in the list
+		 *
+		 * @param value The value to remove
+		 */
+		private void remove(int value){
+			int index = Arrays.binarySearch(values, 0, size, value);
+			if(index >= 0){
+				System.arraycopy(values, index + 1, values, index, size - index - 1);
+				size--;
+			}
+		}
+		
+		/**
+		 * @param other Another Int List
+		 * @return A new Int List of the values in both lists
+		 */
+		private IntList intersect(IntList other){
+			IntList result = new IntList();
+			result.values = new int[Math.max(1, Math.min(size, other.size))];
+			int i = 0, j = 0;
+			while(i < size && j < other.size){
+				if(values[i] < other.values[j]){
+					i++;
+				}else if(values[i] > other.values[j]){
+					j++;
+				}else{
+					result.values[result.size++] = values[i];
+					i++;
+					j++;
+				}
+			}
+			return result;
+		}
+		
+		/**
+		 * Sets every value of the list in the given {@link BitSet}
+		 *
+		 * @param bits The {@link BitSet} to set the values in
+		 */
+		private void setAll(BitSet bits){
+			for(int i = 0; i < size; i++){
+				bits.set(values[i]);
+			}
+		}
+	}
+	
+	/** The entries, by id */
+	private final List<ShortInfo> entries = new ArrayList<>();
+	/** The ids of the entries */
+	private final Map<ShortInfo, Integer> ids = new HashMap<>();
+	/** The description words of each entry (by id) that has a description */
+	private final Map<Integer, List<String>> descriptionWords = new HashMap<>();
+	/** The index of the titles */
+	private final FieldIndex titles = new FieldIndex();
+	/** The index of the descriptions */
+	private final FieldIndex descriptions = new FieldIndex();
+	
+	/**
+	 * Splits the given text into distinct lowercase words (runs of letters and digits)
+	 *
+	 * @param text The text to split (may be null)
+	 * @return The distinct words of the text, in the order they first appear
+	 */
+	static List<String> tokenize(String text){
+		List<String> words = new ArrayList<>();
+		if(text == null){
+			return words;
+		}
+		String lower = text.toLowerCase(Locale.ROOT);
+		int start = -1;
+		for(int i = 0; i <= lower.length(); i++){
+			boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+			if(wordChar && start == -1){
+				start = i;
+			}else if(!wordChar && start != -1){
+				String word = lower.substring(start, i);
+				if(!words.contains(word)){
+					words.add(word);
+				}
+				start = -1;
+			}
+		}
+		return words;
+	}
+	
+	/**
+	 * @return The number of entries in the index
+	 */
+	public synchronized int size(){
+		return entries.size();
+	}
+	
+	/**
+	 * Adds the given entry to the index (by its title). Adding an entry that's already in the index does nothing.
+	 *
+	 * @param info The {@link ShortInfo} to add
+	 */
+	public synchronized void add(ShortInfo info){
+		if(ids.containsKey(info)){
+			return;
+		}
+		int id = entries.size();
+		entries.add(info);
+		ids.put(info, id);
+		titles.add(id, tokenize(info.getTitle()));
+	}
+	
+	/**
+	 * Sets the description of the given entry (replacing any it had before), adding the entry if it isn't in the
+	 * index yet
+	 *
+	 * @param info The {@link ShortInfo} of the entry
+	 * @param description The description of the entry
+	 */
+	public synchronized void setDescription(ShortInfo info, String description){
+		add(info);
+		int id = ids.get(info);
+		List<String> oldWords = descriptionWords.remove(id);
+		if(oldWords != null){
+			descriptions.remove(id, oldWords);
+		}
+		List<String> words = tokenize(description);
+		if(!words.isEmpty()){
+			descriptionWords.put(id, words);
+			descriptions.add(id, words);
+		}
+	}
+	
+	/**
+	 * Searches the index
+	 *
+	 * @param query The text typed so far
+	 * @param limit The most results to return
+	 * @return The matching entries (entries whose titles match first), or an empty list if the query has no words
+	 */
+	public synchronized List<ShortInfo> search(String query, int limit){
+		List<String> terms = tokenize(query);
+		List<ShortInfo> results = new ArrayList<>();
+		if(terms.isEmpty()){
+			return results;
+		}
+		
+		BitSet titleMatches = null, allMatches = null;
+		for(String term: terms){
+			BitSet termTitleMatches = new BitSet(entries.size());
+			titles.find(term, termTitleMatches);
+			BitSet termMatches = (BitSet) termTitleMatches.clone();
+			descriptions.find(term, termMatches);
+			if(titleMatches == null){
+				titleMatches = termTitleMatches;
+				allMatches = termMatches;
+			}else{
+				titleMatches.and(termTitleMatches);
+				allMatches.and(termMatches);
+			}
+			if(allMatches.isEmpty()){
+				return results;
+			}
+		}
+		
+		// Title matches first, then the ones that needed the description
+		for(int id = titleMatches.nextSetBit(0); id != -1 && results.size() < limit; id = titleMatches.nextSetBit(id + 1)){
+			results.add(entries.get(id));
+		}
+		allMatches.andNot(titleMatches);
+		for(int id = allMatches.nextSetBit(0); id != -1 && results.size() < limit; id = allMatches.nextSetBit(id + 1)){
+			results.add(entries.get(id));
+		}
+		return results;
+	}
+	
+	/** {@inheritDoc} */
+	@Override
+	public void programFound(ShortInfo programInfoInfo){
+		add(programInfoInfo);
+	}
+	
+	/** {@inheritDoc} */
+	@Override
+	public void programLoaded(ShortInfo programInfoInfo, ProgramInfo programInfo){
+		setDescription(programInfoInfo, programInfo.getDescription());
+	}
+}
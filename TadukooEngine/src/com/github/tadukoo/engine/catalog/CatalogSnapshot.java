@@ -0,0 +1,450 @@
+package com.github.tadukoo.engine.catalog;
+
+import com.github.tadukoo.engine.info.InfoType;
+import com.github.tadukoo.engine.info.ShortInfo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Catalog Snapshot is a compact binary copy of the {@link ShortInfo}s in a catalog (an
+ * {@link com.github.tadukoo.engine.info.InfoList InfoList}), made to be read straight out of a memory-mapped file.
+ * Nothing is parsed when it's opened: an entry's strings are only decoded when they're asked for, and a
+ * {@link ShortInfo} is only made when one is grabbed with {@link #get(int)}.
+ * <br><br>
+ * The format is (all numbers are big-endian ints unless noted):
+ * <ul>
+ *     <li>Header: the magic number {@link #MAGIC}, the format {@link #VERSION}, the size and last modified time
+ *     (longs) of the JSON file it was made from, the number of entries, the number of strings, the offsets
+ *     of the entries and the string index, the number of string lists, and the offset of the string list
+ *     index</li>
+ *     <li>Entries: fixed-width records of {@link #RECORD_SIZE} bytes - the {@link InfoType} ordinal, then the
+ *     string numbers of the title, info name, info location, SHA-256, patch-from SHA-256, and patch location (-1
+ *     for null), then the string list number of the mirror locations (-1 for none)</li>
+ *     <li>String list index: the offset of each string list (plus one more for the end of the last list)</li>
+ *     <li>String lists: every distinct list of strings once, as the string numbers in it</li>
+ *     <li>String index: the offset of each string (plus one more for the end of the last string)</li>
+ *     <li>Strings: every distinct string once, in UTF-8</li>
+ * </ul>
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class CatalogSnapshot{
+	/** The magic number at the start of every Catalog Snapshot ("TKCS") */
+	public static final int MAGIC = 0x544B4353;
+	/** The version of the format */
+	public static final int VERSION = 3;
+	/** The size of the header in bytes */
+	private static final int HEADER_SIZE = 48;
+	/** The number of fields in an entry */
+	private static final int RECORD_FIELDS = 8;
+	/** The size of an entry in bytes */
+	private static final int RECORD_SIZE = RECORD_FIELDS * Integer.BYTES;
+	/** The field of an entry holding its type */
+	private static final int TYPE = 0;
+	/** The field of an entry holding its title */
+	private static final int TITLE = 1;
+	/** The field of an entry holding its info name */
+	private static final int INFO_NAME = 2;
+	/** The field of an entry holding its info location */
+	private static final int INFO_LOCATION = 3;
+	/** The field of an entry holding its SHA-256 */
+	private static final int SHA_256 = 4;
+	/** The field of an entry holding the SHA-256 of the previous version its patch applies to */
+	private static final int PATCH_FROM_SHA_256 = 5;
+	/** The field of an entry holding its patch location */
+	private static final int PATCH_LOCATION = 6;
+	/** The field of an entry holding its mirror locations (as a string list) */
+	private static final int MIRROR_LOCATIONS = 7;
+	
+	/** The bytes of the snapshot */
+	private final ByteBuffer buffer;
+	/** The size of the JSON file the snapshot was made from */
+	private final long sourceSize;
+	/** The last modified time (in millis) of the JSON file the snapshot was made from */
+	private final long sourceModified;
+	/** The number of entries */
+	private final int entryCount;
+	/** The number of distinct strings */
+	private final int stringCount;
+	/** The offset of the entries */
+	private final int recordsOffset;
+	/** The offset of the string index */
+	private final int stringIndexOffset;
+	/** The number of distinct string lists */
+	private final int listCount;
+	/** The offset of the string list index */
+	private final int listIndexOffset;
+	/** Strings that were already decoded (filled in as they're asked for) */
+	private final String[] decodedStrings;
+	
+	/**
+	 * Creates a new Catalog Snapshot reading from the given bytes
+	 *
+	 * @param buffer The bytes of the snapshot
+	 * @throws IOException If the bytes aren't a valid Catalog Snapshot
+	 */
+	private CatalogSnapshot(ByteBuffer buffer) throws IOException{
+		this.buffer = buffer;
+		if(buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC){
+			throw new IOException("Not a catalog snapshot");
+		}
+		if(buffer.getInt(4) != VERSION){
+			throw new IOException("Unsupported catalog snapshot version " + buffer.getInt(4));
+		}
+		sourceSize = buffer.getLong(8);
+		sourceModified = buffer.getLong(16);
+		entryCount = buffer.getInt(24);
+		stringCount = buffer.getInt(28);
+		recordsOffset = buffer.getInt(32);
+		stringIndexOffset = buffer.getInt(36);
+		listCount = buffer.getInt(40);
+		listIndexOffset = buffer.getInt(44);
+		
+		// Make sure everything fits, so a broken (e.g. half-written) snapshot is caught here
+		if(entryCount < 0 || stringCount < 0 || listCount < 0 || recordsOffset < HEADER_SIZE ||
+				(long) recordsOffset + (long) entryCount * RECORD_SIZE > listIndexOffset ||
+				(long) listIndexOffset + (listCount + 1L) * Integer.BYTES > stringIndexOffset ||
+				buffer.getInt(listIndexOffset + listCount * Integer.BYTES) != stringIndexOffset ||
+				(long) stringIndexOffset + (stringCount + 1L) * Integer.BYTES > buffer.limit() ||
+				buffer.getInt(stringIndexOffset + stringCount * Integer.BYTES) != buffer.limit()){
+			throw new IOException("Catalog snapshot is broken");
+		}
+		decodedStrings = new String[stringCount];
+	}
+	
+	/**
+	 * Opens the Catalog Snapshot at the given path, memory-mapping it
+	 *
+	 * @param snapshotPath The {@link Path} of the snapshot file
+	 * @return The opened Catalog Snapshot
+	 * @throws IOException If the file can't be read or isn't a valid Catalog Snapshot
+	 */
+	public static CatalogSnapshot open(Path snapshotPath) throws IOException{
+		try(FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)){
+			// The mapping stays valid after the channel is closed
+			return new CatalogSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+	
+	/**
+	 * Reads a Catalog Snapshot from the given bytes (used when it couldn't be saved to a file)
+	 *
+	 * @param bytes The bytes of the snapshot
+	 * @return The Catalog Snapshot
+	 * @throws IOException If the bytes aren't a valid Catalog Snapshot
+	 */
+	public static CatalogSnapshot wrap(byte[] bytes) throws IOException{
+		return new CatalogSnapshot(ByteBuffer.wrap(bytes));
+	}
+	
+	/**
+	 * Encodes the given {@link ShortInfo}s as a Catalog Snapshot
+	 *
+	 * @param infos The {@link ShortInfo}s of the catalog
+	 * @param sourceSize The size of the JSON file the snapshot is made from
+	 * @param sourceModified The last modified time (in millis) of the JSON file the snapshot is made from
+	 * @return The bytes of the snapshot
+	 */
+	public static byte[] encode(List<ShortInfo> infos, long sourceSize, long sourceModified){
+		// Give every distinct string (and list of strings) a number
+		Map<String, Integer> stringNumbers = new LinkedHashMap<>();
+		Map<List<Integer>, Integer> listNumbers = new LinkedHashMap<>();
+		int[] records = new int[infos.size() * RECORD_FIELDS];
+		for(int i = 0; i < infos.size(); i++){
+			ShortInfo info = infos.get(i);
+			InfoType type = info.getType();
+			int record = i * RECORD_FIELDS;
+			records[record + TYPE] = type != null ? type.ordinal():-1;
+			records[record + TITLE] = intern(stringNumbers, info.getTitle());
+			records[record + INFO_NAME] = intern(stringNumbers, info.getInfoName());
+			records[record + INFO_LOCATION] = intern(stringNumbers, info.getInfoLocation());
+			records[record + SHA_256] = intern(stringNumbers, info.getSha256());
+			records[record + PATCH_FROM_SHA_256] = intern(stringNumbers, info.getPatchFromSha256());
+			records[record + PATCH_LOCATION] = intern(stringNumbers, info.getPatchLocation());
+			records[record + MIRROR_LOCATIONS] = internList(stringNumbers, listNumbers, info.getMirrorLocations());
+		}
+		List<byte[]> strings = new ArrayList<>(stringNumbers.size());
+		int stringsSize = 0;
+		for(String string: stringNumbers.keySet()){
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			strings.add(bytes);
+			stringsSize += bytes.length;
+		}
+		
+		int listsSize = 0;
+		for(List<Integer> list: listNumbers.keySet()){
+			listsSize += list.size() * Integer.BYTES;
+		}
+		
+		int recordsOffset = HEADER_SIZE;
+		int listIndexOffset = recordsOffset + records.length * Integer.BYTES;
+		int listsOffset = listIndexOffset + (listNumbers.size() + 1) * Integer.BYTES;
+		int stringIndexOffset = listsOffset + listsSize;
+		int stringsOffset = stringIndexOffset + (strings.size() + 1) * Integer.BYTES;
+		ByteBuffer buffer = ByteBuffer.allocate(stringsOffset + stringsSize);
+		buffer.putInt(MAGIC).putInt(VERSION).putLong(sourceSize).putLong(sourceModified)
+				.putInt(infos.size()).putInt(strings.size()).putInt(recordsOffset).putInt(stringIndexOffset)
+				.putInt(listNumbers.size()).putInt(listIndexOffset);
+		for(int field: records){
+			buffer.putInt(field);
+		}
+		int offset = listsOffset;
+		for(List<Integer> list: listNumbers.keySet()){
+			buffer.putInt(offset);
+			offset += list.size() * Integer.BYTES;
+		}
+		buffer.putInt(offset);
+		for(List<Integer> list: listNumbers.keySet()){
+			for(int stringNumber: list){
+				buffer.putInt(stringNumber);
+			}
+		}
+		offset = stringsOffset;
+		for(byte[] string: strings){
+			buffer.putInt(offset);
+			offset += string.length;
+		}
+		buffer.putInt(offset);
+		for(byte[] string: strings){
+			buffer.put(string);
+		}
+		return buffer.array();
+	}
+	
+	/**
+	 * @param stringNumbers The numbers given to strings so far
+	 * @param string The string to get the number of
+	 * @return The number of the string (-1 for null)
+	 */
+	private static int intern(Map<String, Integer> stringNumbers, String string){
+		if(string == null){
+			return -1;
+		}
+		return stringNumbers.computeIfAbsent(string, s -> stringNumbers.size());
+	}
+	
+	/**
+	 * @param stringNumbers The numbers given to strings so far
+	 * @param listNumbers The numbers given to lists of strings (as their string numbers) so far
+	 * @param strings The list of strings to get the number of
+	 * @return The number of the list of strings (-1 for an empty list)
+	 */
+	private static int internList(Map<String, Integer> stringNumbers, Map<List<Integer>, Integer> listNumbers,
+	                              List<String> strings){
+		if(strings.isEmpty()){
+			return -1;
+		}
+		List<Integer> list = new ArrayList<>(strings.size());
+		for(String string: strings){
+			list.add(intern(stringNumbers, string));
+		}
+		return listNumbers.computeIfAbsent(list, l -> listNumbers.size());
+	}
+	
+	/**
+	 * @return The size of the JSON file the snapshot was made from
+	 */
+	public long getSourceSize(){
+		return sourceSize;
+	}
+	
+	/**
+	 * @return The last modified time (in millis) of the JSON file the snapshot was made from
+	 */
+	public long getSourceModified(){
+		return sourceModified;
+	}
+	
+	/**
+	 * @param size The size of the JSON file
+	 * @param modified The last modified time (in millis) of the JSON file
+	 * @return Whether the snapshot was made from a JSON file with the given size and last modified time
+	 */
+	public boolean matches(long size, long modified){
+		return sourceSize == size && sourceModified == modified;
+	}
+	
+	/**
+	 * @return The number of entries in the catalog
+	 */
+	public int size(){
+		return entryCount;
+	}
+	
+	/**
+	 * @return The number of distinct strings in the catalog
+	 */
+	public int getStringCount(){
+		return stringCount;
+	}
+	
+	/**
+	 * @return The number of distinct lists of strings (e.g. mirror locations) in the catalog
+	 */
+	public int getStringListCount(){
+		return listCount;
+	}
+	
+	/**
+	 * @param index The index of the entry
+	 * @return The {@link InfoType} of the entry
+	 */
+	public InfoType getType(int index){
+		int ordinal = field(index, TYPE);
+		return ordinal >= 0 && ordinal < InfoType.values().length ? InfoType.values()[ordinal]:null;
+	}
+	
+	/**
+	 * @param index The index of the entry
+	 * @return The title of the entry
+	 */
+	public String getTitle(int index){
+		return string(field(index, TITLE));
+	}
+	
+	/**
+	 * @param index The index of the entry
+	 * @return The name of the info file of the entry
+	 */
+	public String getInfoName(int index){
+		return string(field(index, INFO_NAME));
+	}
+	
+	/**
+	 * @param index The index of the entry
+	 * @return The location (online) of the info file of the entry
+	 */
+	public String getInfoLocation(int index){
+		return string(field(index, INFO_LOCATION));
+	}
+	
+	/**
+	 * @param index The index of the entry
+	 * @return The SHA-256 digest (in hex) of the info file of the entry (may be null)
+	 */
+	public String getSha256(int index){
+		return string(field(index, SHA_256));
+	}
+	
+	/**
+	 * @param index The index of the entry
+	 * @return The SHA-256 digest (in hex) of the previous version the entry's patch applies to (may be null)
+	 */
+	public String getPatchFromSha256(int index){
+		return string(field(index, PATCH_FROM_SHA_256));
+	}
+	
+	/**
+	 * @param index The index of the entry
+	 * @return The location (online) of the entry's patch (may be null)
+	 */
+	public String getPatchLocation(int index){
+		return string(field(index, PATCH_LOCATION));
+	}
+	
+	/**
+	 * @param index The index of the entry
+	 * @return The other locations (online) that serve the entry's info file, in the order to try them (empty if
+	 * there aren't any)
+	 */
+	public List<String> getMirrorLocations(int index){
+		int number = field(index, MIRROR_LOCATIONS);
+		if(number < 0){
+			return new ArrayList<>();
+		}
+		int start = buffer.getInt(listIndexOffset + number * Integer.BYTES);
+		int end = buffer.getInt(listIndexOffset + (number + 1) * Integer.BYTES);
+		List<String> strings = new ArrayList<>((end - start) / Integer.BYTES);
+		for(int offset = start; offset < end; offset += Integer.BYTES){
+			strings.add(string(buffer.getInt(offset)));
+		}
+		return strings;
+	}
+	
+	/**
+	 * @param index The index of the entry
+	 * @return A new {@link ShortInfo} for the entry
+	 */
+	public ShortInfo get(int index){
+		return ShortInfo.builder()
+				.type(getType(index)).title(getTitle(index))
+				.infoName(getInfoName(index)).infoLocation(getInfoLocation(index))
+				.sha256(getSha256(index))
+				.patchFromSha256(getPatchFromSha256(index)).patchLocation(getPatchLocation(index))
+				.mirrorLocations(getMirrorLocations(index))
+				.build();
+	}
+	
+	/**
+	 * @return A read-only list view of the entries, which only makes a {@link ShortInfo} when one is grabbed
+	 */
+	public List<ShortInfo> asList(){
+		return new SnapshotList();
+	}
+	
+	/**
+	 * @param index The index of the entry
+	 * @param field The field of the entry to read
+	 * @return The value of the field
+	 */
+	private int field(int index, int field){
+		if(index < 0 || index >= entryCount){
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + entryCount + " entries");
+		}
+		return buffer.getInt(recordsOffset + index * RECORD_SIZE + field * Integer.BYTES);
+	}
+	
+	/**
+	 * @param number The number of the string (-1 for null)
+	 * @return The string (decoded the first time it's asked for)
+	 */
+	private String string(int number){
+		if(number < 0){
+			return null;
+		}
+		// Racing threads may both decode the same string, but they'll get equal strings either way
+		String string = decodedStrings[number];
+		if(string == null){
+			int start = buffer.getInt(stringIndexOffset + number * Integer.BYTES);
+			int end = buffer.getInt(stringIndexOffset + (number + 1) * Integer.BYTES);
+			byte[] bytes = new byte[end - start];
+			buffer.get(start, bytes);
+			string = new String(bytes, StandardCharsets.UTF_8);
+			decodedStrings[number] = string;
+		}
+		return string;
+	}
+	
+	/**
+	 * Snapshot List is a read-only list view of the entries of the {@link CatalogSnapshot}
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	private class SnapshotList extends AbstractList<ShortInfo> implements RandomAccess{
+		
+		/** {@inheritDoc} */
+		@Override
+		public ShortInfo get(int index){
+			return CatalogSnapshot.this.get(index);
+		}
+		
+		/** {@inheritDoc} */
+		@Override
+		public int size(){
+			return entryCount;
+		}
+	}
+}
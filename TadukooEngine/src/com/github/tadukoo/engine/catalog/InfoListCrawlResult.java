@@ -0,0 +1,94 @@
+package com.github.tadukoo.engine.catalog;
+
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.info.ShortInfo;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Info List Crawl Result holds everything an {@link InfoListCrawler} found in a crawl. Everything is in the order
+ * it was found, which can differ between crawls since Info Lists are loaded at the same time.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class InfoListCrawlResult{
+	/** The {@link ShortInfo}s of the Info Lists that were loaded */
+	private final List<ShortInfo> infoLists;
+	/** The {@link ShortInfo}s of the programs that were found */
+	private final List<ShortInfo> programs;
+	/** The {@link ProgramInfo}s that were loaded, by the {@link ShortInfo}s of their programs */
+	private final Map<ShortInfo, ProgramInfo> programInfos;
+	/** The {@link ShortInfo}s of the libraries that were found */
+	private final List<ShortInfo> libraries;
+	/** The problems that happened in loading Info Lists or Program Infos, by their {@link ShortInfo}s */
+	private final Map<ShortInfo, Throwable> failures;
+	/** The number of cycles that were found (and skipped) */
+	private final int cycles;
+	
+	/**
+	 * Creates a new Info List Crawl Result with the given parameters
+	 *
+	 * @param infoLists The {@link ShortInfo}s of the Info Lists that were loaded
+	 * @param programs The {@link ShortInfo}s of the programs that were found
+	 * @param programInfos The {@link ProgramInfo}s that were loaded, by the {@link ShortInfo}s of their programs
+	 * @param libraries The {@link ShortInfo}s of the libraries that were found
+	 * @param failures The problems that happened in loading Info Lists or Program Infos, by their
+	 * {@link ShortInfo}s
+	 * @param cycles The number of cycles that were found (and skipped)
+	 */
+	InfoListCrawlResult(
+			List<ShortInfo> infoLists, List<ShortInfo> programs, Map<ShortInfo, ProgramInfo> programInfos,
+			List<ShortInfo> libraries, Map<ShortInfo, Throwable> failures, int cycles){
+		this.infoLists = Collections.unmodifiableList(infoLists);
+		this.programs = Collections.unmodifiableList(programs);
+		this.programInfos = Collections.unmodifiableMap(programInfos);
+		this.libraries = Collections.unmodifiableList(libraries);
+		this.failures = Collections.unmodifiableMap(failures);
+		this.cycles = cycles;
+	}
+	
+	/**
+	 * @return The {@link ShortInfo}s of the Info Lists that were loaded
+	 */
+	public List<ShortInfo> getInfoLists(){
+		return infoLists;
+	}
+	
+	/**
+	 * @return The {@link ShortInfo}s of the programs that were found
+	 */
+	public List<ShortInfo> getPrograms(){
+		return programs;
+	}
+	
+	/**
+	 * @return The {@link ProgramInfo}s that were loaded, by the {@link ShortInfo}s of their programs
+	 */
+	public Map<ShortInfo, ProgramInfo> getProgramInfos(){
+		return programInfos;
+	}
+	
+	/**
+	 * @return The {@link ShortInfo}s of the libraries that were found
+	 */
+	public List<ShortInfo> getLibraries(){
+		return libraries;
+	}
+	
+	/**
+	 * @return The problems that happened in loading Info Lists or Program Infos, by their {@link ShortInfo}s
+	 */
+	public Map<ShortInfo, Throwable> getFailures(){
+		return failures;
+	}
+	
+	/**
+	 * @return The number of cycles that were found (and skipped)
+	 */
+	public int getCycles(){
+		return cycles;
+	}
+}
@@ -0,0 +1,534 @@
+package com.github.tadukoo.engine.catalog;
+
+import com.github.tadukoo.engine.config.InfoListsConfig;
+import com.github.tadukoo.engine.info.InfoList;
+import com.github.tadukoo.engine.info.InfoType;
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.info.ShortInfo;
+import com.github.tadukoo.engine.launch.InfoListLoader;
+import com.github.tadukoo.util.ListUtil;
+import com.github.tadukoo.util.StringUtil;
+import com.github.tadukoo.util.logger.EasyLogger;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Info List Crawler walks the tree of Info Lists starting from the ones in the {@link InfoListsConfig}: each
+ * {@link ShortInfo} of type {@link InfoType#LIST LIST} is loaded, and the Info Lists it references are loaded in
+ * turn, at the same time (up to the parallelism limit, and a separate limit per host so one server isn't hit with
+ * everything at once). Programs and libraries are handed to the {@link InfoListCrawlerListener} as soon as they're
+ * found, so the UI can show them while the rest of the tree is still loading.
+ * <br><br>
+ * Every info is only visited once (by its location, or its name if it has no location), and an Info List that
+ * references one of the Info Lists it came from is reported as a cycle and skipped. If a
+ * {@link ProgramInfoLoader} is set, the {@link ProgramInfo} of every program found is loaded too.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class InfoListCrawler{
+	
+	/**
+	 * Info List Crawler Builder is used to build a new {@link InfoListCrawler}. It has the following parameters:
+	 *
+	 * <table>
+	 *     <caption>Info List Crawler Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>logger</td>
+	 *         <td>The {@link EasyLogger} to use for logging</td>
+	 *         <td>Defaults to {@code null}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>infoListLoader</td>
+	 *         <td>The {@link InfoListLoader} used to load Info Lists</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>programInfoLoader</td>
+	 *         <td>The {@link ProgramInfoLoader} used to load the Program Info of programs that are found</td>
+	 *         <td>Defaults to {@code null} (Program Infos aren't loaded)</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>listener</td>
+	 *         <td>The {@link InfoListCrawlerListener} to tell about everything that's found</td>
+	 *         <td>Defaults to one that does nothing</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>parallelism</td>
+	 *         <td>The most infos to load at the same time</td>
+	 *         <td>Defaults to {@link #DEFAULT_PARALLELISM}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>perHostLimit</td>
+	 *         <td>The most infos to load from the same host at the same time</td>
+	 *         <td>Defaults to {@link #DEFAULT_PER_HOST_LIMIT}</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class InfoListCrawlerBuilder{
+		/** The {@link EasyLogger} to use for logging */
+		private EasyLogger logger = null;
+		/** The {@link InfoListLoader} used to load Info Lists */
+		private InfoListLoader infoListLoader;
+		/** The {@link ProgramInfoLoader} used to load the Program Info of programs that are found */
+		private ProgramInfoLoader programInfoLoader = null;
+		/** The {@link InfoListCrawlerListener} to tell about everything that's found */
+		private InfoListCrawlerListener listener = new InfoListCrawlerListener(){ };
+		/** The most infos to load at the same time */
+		private int parallelism = DEFAULT_PARALLELISM;
+		/** The most infos to load from the same host at the same time */
+		private int perHostLimit = DEFAULT_PER_HOST_LIMIT;
+		
+		// Not allowed to create Info List Crawler Builder outside of Info List Crawler
+		private InfoListCrawlerBuilder(){ }
+		
+		/**
+		 * @param logger The {@link EasyLogger} to use for logging
+		 * @return this, to continue building
+		 */
+		public InfoListCrawlerBuilder logger(EasyLogger logger){
+			this.logger = logger;
+			return this;
+		}
+		
+		/**
+		 * @param infoListLoader The {@link InfoListLoader} used to load Info Lists
+		 * @return this, to continue building
+		 */
+		public InfoListCrawlerBuilder infoListLoader(InfoListLoader infoListLoader){
+			this.infoListLoader = infoListLoader;
+			return this;
+		}
+		
+		/**
+		 * @param programInfoLoader The {@link ProgramInfoLoader} used to load the Program Info of programs that
+		 * are found
+		 * @return this, to continue building
+		 */
+		public InfoListCrawlerBuilder programInfoLoader(ProgramInfoLoader programInfoLoader){
+			this.programInfoLoader = programInfoLoader;
+			return this;
+		}
+		
+		/**
+		 * @param listener The {@link InfoListCrawlerListener} to tell about everything that's found
+		 * @return this, to continue building
+		 */
+		public InfoListCrawlerBuilder listener(InfoListCrawlerListener listener){
+			this.listener = listener;
+			return this;
+		}
+		
+		/**
+		 * @param parallelism The most infos to load at the same time
+		 * @return this, to continue building
+		 */
+		public InfoListCrawlerBuilder parallelism(int parallelism){
+			this.parallelism = parallelism;
+			return this;
+		}
+		
+		/**
+		 * @param perHostLimit The most infos to load from the same host at the same time
+		 * @return this, to continue building
+		 */
+		public InfoListCrawlerBuilder perHostLimit(int perHostLimit){
+			this.perHostLimit = perHostLimit;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// Info List Loader is required
+			if(infoListLoader == null){
+				errors.add("infoListLoader is required");
+			}
+			// Listener is required
+			if(listener == null){
+				errors.add("listener is required");
+			}
+			// Parallelism must be positive
+			if(parallelism < 1){
+				errors.add("parallelism must be at least 1");
+			}
+			// Per Host Limit must be positive
+			if(perHostLimit < 1){
+				errors.add("perHostLimit must be at least 1");
+			}
+			
+			// If we find errors, throw an exception
+			if(ListUtil.isNotBlank(errors)){
+				throw new IllegalArgumentException("The following errors happened in building an " +
+						"InfoListCrawler: \n" + StringUtil.buildStringWithNewLines(errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link InfoListCrawler} with the set parameters
+		 *
+		 * @return The newly built {@link InfoListCrawler}
+		 */
+		public InfoListCrawler build(){
+			checkForErrors();
+			return new InfoListCrawler(logger, infoListLoader, programInfoLoader, listener, parallelism,
+					perHostLimit);
+		}
+	}
+	
+	/** The default most infos to load at the same time */
+	public static final int DEFAULT_PARALLELISM = 8;
+	/** The default most infos to load from the same host at the same time */
+	public static final int DEFAULT_PER_HOST_LIMIT = 2;
+	
+	/** The {@link EasyLogger} to use for logging */
+	private final EasyLogger logger;
+	/** The {@link InfoListLoader} used to load Info Lists */
+	private final InfoListLoader infoListLoader;
+	/** The {@link ProgramInfoLoader} used to load the Program Info of programs that are found */
+	private final ProgramInfoLoader programInfoLoader;
+	/** The {@link InfoListCrawlerListener} to tell about everything that's found */
+	private final InfoListCrawlerListener listener;
+	/** The most infos to load at the same time */
+	private final int parallelism;
+	/** The most infos to load from the same host at the same time */
+	private final int perHostLimit;
+	
+	/**
+	 * Creates a new Info List Crawler with the given parameters
+	 *
+	 * @param logger The {@link EasyLogger} to use for logging
+	 * @param infoListLoader The {@link InfoListLoader} used to load Info Lists
+	 * @param programInfoLoader The {@link ProgramInfoLoader} used to load the Program Info of programs that are
+	 * found
+	 * @param listener The {@link InfoListCrawlerListener} to tell about everything that's found
+	 * @param parallelism The most infos to load at the same time
+	 * @param perHostLimit The most infos to load from the same host at the same time
+	 */
+	private InfoListCrawler(
+			EasyLogger logger, InfoListLoader infoListLoader, ProgramInfoLoader programInfoLoader,
+			InfoListCrawlerListener listener, int parallelism, int perHostLimit){
+		this.logger = logger;
+		this.infoListLoader = infoListLoader;
+		this.programInfoLoader = programInfoLoader;
+		this.listener = listener;
+		this.parallelism = parallelism;
+		this.perHostLimit = perHostLimit;
+	}
+	
+	/**
+	 * @return A new {@link InfoListCrawlerBuilder} to use to build an {@link InfoListCrawler}
+	 */
+	public static InfoListCrawlerBuilder builder(){
+		return new InfoListCrawlerBuilder();
+	}
+	
+	/**
+	 * @return The most infos to load at the same time
+	 */
+	public int getParallelism(){
+		return parallelism;
+	}
+	
+	/**
+	 * @return The most infos to load from the same host at the same time
+	 */
+	public int getPerHostLimit(){
+		return perHostLimit;
+	}
+	
+	/**
+	 * Starts crawling from the Info Lists in the given {@link InfoListsConfig}
+	 *
+	 * @param config The {@link InfoListsConfig} with the Info Lists to start from
+	 * @return A {@link CompletableFuture} of the {@link InfoListCrawlResult}, completed once the whole tree is
+	 * loaded (cancelling it stops the crawl)
+	 */
+	public CompletableFuture<InfoListCrawlResult> crawl(InfoListsConfig config){
+		return crawl(config.getInfoLists());
+	}
+	
+	/**
+	 * Starts crawling from the given infos (Info Lists are loaded, programs and libraries are just reported)
+	 *
+	 * @param roots The {@link ShortInfo}s to start from
+	 * @return A {@link CompletableFuture} of the {@link InfoListCrawlResult}, completed once the whole tree is
+	 * loaded (cancelling it stops the crawl)
+	 */
+	public CompletableFuture<InfoListCrawlResult> crawl(List<ShortInfo> roots){
+		Crawl crawl = new Crawl();
+		// Count the roots as pending themselves, so loads that finish quickly can't end the crawl early
+		crawl.pending.incrementAndGet();
+		crawl.visitAll(roots, new ArrayList<>());
+		if(crawl.pending.decrementAndGet() == 0){
+			crawl.finishIfDone();
+		}
+		return crawl.result;
+	}
+	
+	/**
+	 * @param info A {@link ShortInfo}
+	 * @return The key used to tell whether two infos are the same: the location if there is one, otherwise the
+	 * name
+	 */
+	private static String dedupeKey(ShortInfo info){
+		return StringUtil.isNotBlank(info.getInfoLocation()) ? "location:" + info.getInfoLocation():
+				"name:" + info.getInfoName();
+	}
+	
+	/**
+	 * @param info A {@link ShortInfo}
+	 * @return The host the info is loaded from (blank if it's not a URL with a host)
+	 */
+	private static String hostOf(ShortInfo info){
+		try{
+			String host = URI.create(info.getInfoLocation()).getHost();
+			return host != null ? host:"";
+		}catch(RuntimeException e){
+			return "";
+		}
+	}
+	
+	/**
+	 * Crawl holds the state of a single crawl
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	private class Crawl{
+		/** The result of the crawl */
+		private final CompletableFuture<InfoListCrawlResult> result = new CompletableFuture<>();
+		/** The keys of the infos that were already visited */
+		private final Set<String> visited = ConcurrentHashMap.newKeySet();
+		/** The number of infos that are waiting to load or loading */
+		private final AtomicInteger pending = new AtomicInteger();
+		/** The number of cycles found */
+		private final AtomicInteger cycles = new AtomicInteger();
+		/** The {@link ShortInfo}s of the Info Lists that were loaded */
+		private final List<ShortInfo> infoLists = Collections.synchronizedList(new ArrayList<>());
+		/** The {@link ShortInfo}s of the programs that were found */
+		private final List<ShortInfo> programs = Collections.synchronizedList(new ArrayList<>());
+		/** The {@link ProgramInfo}s that were loaded */
+		private final Map<ShortInfo, ProgramInfo> programInfos = Collections.synchronizedMap(new LinkedHashMap<>());
+		/** The {@link ShortInfo}s of the libraries that were found */
+		private final List<ShortInfo> libraries = Collections.synchronizedList(new ArrayList<>());
+		/** The problems that happened in loading */
+		private final Map<ShortInfo, Throwable> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+		/** The number of loads running for each host */
+		private final Map<String, Integer> runningPerHost = new HashMap<>();
+		/** The loads waiting on their host's limit, for each host */
+		private final Map<String, Deque<Runnable>> waitingPerHost = new HashMap<>();
+		/** The executor loads are run on */
+		private final ExecutorService executor;
+		
+		/**
+		 * Creates a new Crawl, with its own executor
+		 */
+		private Crawl(){
+			AtomicInteger threadNum = new AtomicInteger();
+			executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+				Thread thread = new Thread(runnable, "InfoListCrawler-" + threadNum.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+			result.whenComplete((crawlResult, t) -> executor.shutdownNow());
+		}
+		
+		/**
+		 * Visits the given infos, found in the Info List at the end of the given path
+		 *
+		 * @param infos The {@link ShortInfo}s to visit
+		 * @param path The {@link ShortInfo}s of the Info Lists leading to these infos
+		 */
+		private void visitAll(List<ShortInfo> infos, List<ShortInfo> path){
+			if(infos == null){
+				return;
+			}
+			for(ShortInfo info: infos){
+				if(result.isDone()){
+					return;
+				}
+				visit(info, path);
+			}
+		}
+		
+		/**
+		 * Visits the given info: an Info List is queued to be loaded, a program is reported (and its Program Info
+		 * is queued to be loaded if there's a {@link ProgramInfoLoader}), and a library is reported
+		 *
+		 * @param info The {@link ShortInfo} to visit
+		 * @param path The {@link ShortInfo}s of the Info Lists leading to this info
+		 */
+		private void visit(ShortInfo info, List<ShortInfo> path){
+			String key = dedupeKey(info);
+			InfoType type = info.getType();
+			if(type == InfoType.LIST){
+				for(ShortInfo ancestor: path){
+					if(dedupeKey(ancestor).equals(key)){
+						cycles.incrementAndGet();
+						if(logger != null){
+							logger.logWarning("Info List " + info.getTitle() + " references itself through " +
+									path.stream().map(ShortInfo::getTitle).toList());
+						}
+						listener.cycleFound(info, Collections.unmodifiableList(path));
+						return;
+					}
+				}
+			}
+			if(!visited.add(key)){
+				return;
+			}
+			
+			if(type == InfoType.LIST){
+				List<ShortInfo> childPath = new ArrayList<>(path);
+				childPath.add(info);
+				schedule(info, () -> {
+					InfoList infoList = infoListLoader.loadInfoList(info);
+					infoLists.add(info);
+					visitAll(infoList.getList(), childPath);
+				});
+			}else if(type == InfoType.PROGRAM){
+				programs.add(info);
+				listener.programFound(info);
+				if(programInfoLoader != null){
+					schedule(info, () -> {
+						ProgramInfo programInfo = programInfoLoader.loadProgramInfo(info);
+						programInfos.put(info, programInfo);
+						listener.programLoaded(info, programInfo);
+					});
+				}
+			}else{
+				libraries.add(info);
+				listener.libraryFound(info);
+			}
+		}
+		
+		/**
+		 * Queues a load, running it now if its host isn't at its limit
+		 *
+		 * @param info The {@link ShortInfo} being loaded
+		 * @param load The load to run
+		 */
+		private void schedule(ShortInfo info, Load load){
+			pending.incrementAndGet();
+			String host = hostOf(info);
+			Runnable task = () -> {
+				try{
+					if(!result.isDone()){
+						load.run();
+					}
+				}catch(Throwable t){
+					failures.put(info, t);
+					if(logger != null){
+						logger.logWarning("Failed to load " + info.getTitle() + " from " + info.getInfoLocation(), t);
+					}
+					listener.loadFailed(info, t);
+				}finally{
+					startNextFor(host);
+					if(pending.decrementAndGet() == 0){
+						finishIfDone();
+					}
+				}
+			};
+			synchronized(this){
+				int running = runningPerHost.getOrDefault(host, 0);
+				if(running >= perHostLimit){
+					waitingPerHost.computeIfAbsent(host, h -> new ArrayDeque<>()).add(task);
+					return;
+				}
+				runningPerHost.put(host, running + 1);
+			}
+			execute(task);
+		}
+		
+		/**
+		 * Called when a load for the given host finishes, to start the next one waiting on it
+		 *
+		 * @param host The host
+		 */
+		private void startNextFor(String host){
+			Runnable next;
+			synchronized(this){
+				Deque<Runnable> waiting = waitingPerHost.get(host);
+				next = waiting != null ? waiting.poll():null;
+				if(next == null){
+					runningPerHost.merge(host, -1, Integer::sum);
+				}
+			}
+			if(next != null){
+				execute(next);
+			}
+		}
+		
+		/**
+		 * Runs the given task on the executor, unless the crawl is already over
+		 *
+		 * @param task The task to run
+		 */
+		private void execute(Runnable task){
+			try{
+				if(!result.isDone()){
+					executor.execute(task);
+				}
+			}catch(RejectedExecutionException e){
+				// The crawl was cancelled and the executor shut down, so there's nothing left to do
+			}
+		}
+		
+		/**
+		 * Completes the result if nothing is left to load
+		 */
+		private void finishIfDone(){
+			if(pending.get() == 0 && !result.isDone()){
+				result.complete(new InfoListCrawlResult(new ArrayList<>(infoLists), new ArrayList<>(programs),
+						new LinkedHashMap<>(programInfos), new ArrayList<>(libraries), new LinkedHashMap<>(failures),
+						cycles.get()));
+			}
+		}
+	}
+	
+	/**
+	 * Load is a single load of an info, which may throw anything
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	@FunctionalInterface
+	private interface Load{
+		
+		/**
+		 * Runs the load
+		 *
+		 * @throws Throwable If anything goes wrong in loading
+		 */
+		void run() throws Throwable;
+	}
+}
@@ -0,0 +1,56 @@
+package com.github.tadukoo.engine.catalog;
+
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.info.ShortInfo;
+
+import java.util.List;
+
+/**
+ * Info List Crawler Listener is told about everything an {@link InfoListCrawler} finds, as soon as it's found.
+ * The methods are called from the crawler's threads, so anything touching Swing components should be handed to
+ * the event thread (e.g. with {@link javax.swing.SwingUtilities#invokeLater(Runnable)}).
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public interface InfoListCrawlerListener{
+	
+	/**
+	 * Called when a program is found in an Info List
+	 *
+	 * @param programInfoInfo The {@link ShortInfo} of the program
+	 */
+	default void programFound(ShortInfo programInfoInfo){ }
+	
+	/**
+	 * Called when the {@link ProgramInfo} of a program was loaded (only if the crawler has a
+	 * {@link ProgramInfoLoader})
+	 *
+	 * @param programInfoInfo The {@link ShortInfo} of the program
+	 * @param programInfo The loaded {@link ProgramInfo}
+	 */
+	default void programLoaded(ShortInfo programInfoInfo, ProgramInfo programInfo){ }
+	
+	/**
+	 * Called when a library is found in an Info List
+	 *
+	 * @param libraryInfo The {@link ShortInfo} of the library
+	 */
+	default void libraryFound(ShortInfo libraryInfo){ }
+	
+	/**
+	 * Called when an Info List references one of the Info Lists it came from
+	 *
+	 * @param infoListInfo The {@link ShortInfo} of the Info List that was referenced again
+	 * @param path The {@link ShortInfo}s of the Info Lists leading to the reference, starting from a root
+	 */
+	default void cycleFound(ShortInfo infoListInfo, List<ShortInfo> path){ }
+	
+	/**
+	 * Called when an Info List or Program Info fails to load
+	 *
+	 * @param info The {@link ShortInfo} of what failed to load
+	 * @param t The problem that happened
+	 */
+	default void loadFailed(ShortInfo info, Throwable t){ }
+}
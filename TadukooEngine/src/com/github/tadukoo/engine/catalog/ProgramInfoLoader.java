@@ -0,0 +1,24 @@
+package com.github.tadukoo.engine.catalog;
+
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.info.ShortInfo;
+
+/**
+ * Program Info Loader is used to load the {@link ProgramInfo} a {@link ShortInfo} (of type
+ * {@link com.github.tadukoo.engine.info.InfoType#PROGRAM PROGRAM}) points to.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+@FunctionalInterface
+public interface ProgramInfoLoader{
+	
+	/**
+	 * Loads the {@link ProgramInfo} the given {@link ShortInfo} points to
+	 *
+	 * @param programInfoInfo The {@link ShortInfo} for the Program Info
+	 * @return The loaded {@link ProgramInfo}
+	 * @throws Throwable If anything goes wrong in loading the Program Info
+	 */
+	ProgramInfo loadProgramInfo(ShortInfo programInfoInfo) throws Throwable;
+}
@@ -0,0 +1,9 @@
+/**
+ * Contains the {@link com.github.tadukoo.engine.catalog.CatalogSnapshot CatalogSnapshot}, a binary copy of an
+ * {@link com.github.tadukoo.engine.info.InfoList InfoList} that can be read without parsing its JSON, the
+ * {@link com.github.tadukoo.engine.catalog.Catalog Catalog} that keeps it up-to-date with the JSON, the
+ * {@link com.github.tadukoo.engine.catalog.InfoListCrawler InfoListCrawler} that finds everything reachable from
+ * a set of Info Lists, and the {@link com.github.tadukoo.engine.catalog.CatalogSearchIndex CatalogSearchIndex} used
+ * to search the programs found
+ */
+package com.github.tadukoo.engine.catalog;
@@ -1,26 +1,37 @@
 package com.github.tadukoo.engine.config;
 
-import com.github.tadukoo.github.pojo.GitHubRelease;
-import com.github.tadukoo.github.pojo.GitHubReleaseAsset;
-import com.github.tadukoo.github.releases.LatestReleaseEndpoint;
+import com.github.tadukoo.engine.font.FontRegistry;
+import com.github.tadukoo.launcher.downloader.HttpMetadataCache;
+import com.github.tadukoo.launcher.downloader.HttpTransport;
+import com.github.tadukoo.launcher.downloader.IncrementalExtractor;
+import com.github.tadukoo.launcher.downloader.LauncherDownloader;
+import com.github.tadukoo.launcher.downloader.ReleaseAssetExtractor;
+import com.github.tadukoo.launcher.downloader.RemoteZip;
+import com.github.tadukoo.launcher.downloader.StreamingUnzipper;
 import com.github.tadukoo.parsing.json.OrderedJSONClass;
-import com.github.tadukoo.util.FileUtil;
 import com.github.tadukoo.util.ListUtil;
 import com.github.tadukoo.util.StringUtil;
 import com.github.tadukoo.util.logger.EasyLogger;
 import com.github.tadukoo.util.map.MapUtil;
 import com.github.tadukoo.util.pojo.MappedPojo;
 import com.github.tadukoo.util.tuple.Pair;
-import com.github.tadukoo.view.font.FontFamilies;
-import com.github.tadukoo.view.font.FontResourceLoader;
 import com.github.tadukoo.view.form.AbstractSimpleForm;
-import com.github.tadukoo.view.form.components.FileDownloader;
 import com.github.tadukoo.view.form.field.ButtonFormField;
 import com.github.tadukoo.view.form.field.StringFormField;
 
-import java.awt.GraphicsEnvironment;
 import java.awt.event.ActionEvent;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Fonts Config is used for fonts settings and to manually update the fonts
@@ -50,6 +61,16 @@ public class FontsConfig extends AbstractSimpleForm implements OrderedJSONClass{
 	 *         <td>The folder to look for/store fonts</td>
 	 *         <td>Required</td>
 	 *     </tr>
+	 *     <tr>
+	 *         <td>releaseCache</td>
+	 *         <td>The {@link HttpMetadataCache} to use for looking up the latest fonts release</td>
+	 *         <td>Defaults to a cache in {@link #DEFAULT_CACHE_FOLDER} in the install folder</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>fontRegistry</td>
+	 *         <td>The {@link FontRegistry} fonts are loaded with</td>
+	 *         <td>Defaults to a new {@link FontRegistry} using the logger</td>
+	 *     </tr>
 	 * </table>
 	 *
 	 * @author Logan Ferree (Tadukoo)
@@ -60,6 +81,10 @@ public class FontsConfig extends AbstractSimpleForm implements OrderedJSONClass{
 		private EasyLogger logger = null;
 		/** The folder to look for/store fonts */
 		private String fontsFolder;
+		/** The {@link HttpMetadataCache} to use for looking up the latest fonts release */
+		private HttpMetadataCache releaseCache = null;
+		/** The {@link FontRegistry} fonts are loaded with */
+		private FontRegistry fontRegistry = null;
 		
 		// Not allowed to create Fonts Config Builder outside of Fonts Config
 		private FontsConfigBuilder(){ }
@@ -82,13 +107,31 @@ public class FontsConfig extends AbstractSimpleForm implements OrderedJSONClass{
 			return this;
 		}
 		
+		/**
+		 * @param releaseCache The {@link HttpMetadataCache} to use for looking up the latest fonts release
+		 * @return this, to continue building
+		 */
+		public FontsConfigBuilder releaseCache(HttpMetadataCache releaseCache){
+			this.releaseCache = releaseCache;
+			return this;
+		}
+		
+		/**
+		 * @param fontRegistry The {@link FontRegistry} fonts are loaded with
+		 * @return this, to continue building
+		 */
+		public FontsConfigBuilder fontRegistry(FontRegistry fontRegistry){
+			this.fontRegistry = fontRegistry;
+			return this;
+		}
+		
 		/**
 		 * Builds a new {@link FontsConfig} with the set parameters
 		 *
 		 * @return The newly built {@link FontsConfig}
 		 */
 		public FontsConfig build() throws Throwable{
-			return new FontsConfig(logger, fontsFolder);
+			return new FontsConfig(logger, fontsFolder, releaseCache, fontRegistry);
 		}
 	}
 	
@@ -96,16 +139,35 @@ public class FontsConfig extends AbstractSimpleForm implements OrderedJSONClass{
 	private static final String FONTS_FOLDER = "fonts-folder";
 	/** The key to use for the {@link EasyLogger} */
 	private static final String LOGGER = "logger";
+	/** The key to use for the {@link HttpMetadataCache} used for looking up the latest fonts release */
+	private static final String RELEASE_CACHE = "release-cache";
+	/** The key to use for the {@link FontRegistry} fonts are loaded with */
+	private static final String FONT_REGISTRY = "font-registry";
+	/** The name of the manifest (of the installed fonts release and files) kept in the fonts folder */
+	public static final String FONTS_MANIFEST = "fonts-manifest.properties";
+	/** The folder used for the {@link HttpMetadataCache} if one isn't given (in the install folder) */
+	public static final String DEFAULT_CACHE_FOLDER = "cache/";
+	/** The GitHub API URL for the latest Tadukoo Fonts release */
+	private static final String FONTS_RELEASE_URL =
+			"https://api.github.com/repos/Tadukooverse/TadukooFonts/releases/latest";
+	/** Used to find the fonts zip in the latest Tadukoo Fonts release */
+	private static final ReleaseAssetExtractor fontsZipExtractor = new ReleaseAssetExtractor(
+			name -> StringUtil.equalsIgnoreCase(name, "TadukooFonts.zip"));
 	
 	/**
 	 * Creates a new Fonts Config with the given parameters
 	 *
 	 * @param logger The {@link EasyLogger} to use for logging
 	 * @param fontsFolder The folder to look for/store fonts
+	 * @param releaseCache The {@link HttpMetadataCache} to use for looking up the latest fonts release
+	 * @param fontRegistry The {@link FontRegistry} fonts are loaded with
 	 * @throws Throwable If anything goes wrong in creating components
 	 */
-	private FontsConfig(EasyLogger logger, String fontsFolder) throws Throwable{
-		super(MapUtil.createMap(Pair.of(LOGGER, logger), Pair.of(FONTS_FOLDER, fontsFolder)));
+	private FontsConfig(
+			EasyLogger logger, String fontsFolder, HttpMetadataCache releaseCache, FontRegistry fontRegistry)
+			throws Throwable{
+		super(MapUtil.createMap(Pair.of(LOGGER, logger), Pair.of(FONTS_FOLDER, fontsFolder),
+				Pair.of(RELEASE_CACHE, releaseCache), Pair.of(FONT_REGISTRY, fontRegistry)));
 	}
 	
 	/**
@@ -176,7 +238,78 @@ public class FontsConfig extends AbstractSimpleForm implements OrderedJSONClass{
 	}
 	
 	/**
-	 * Grabs the latest fonts from the Tadukoo Fonts project on GitHub and loads them
+	 * @return The {@link HttpMetadataCache} to use for looking up the latest fonts release (a default one in
+	 * {@link #DEFAULT_CACHE_FOLDER} in the {@link LauncherDownloader#getInstallFolder() install folder} is created
+	 * if one wasn't set, so it doesn't depend on the folder we were started from)
+	 */
+	public HttpMetadataCache getReleaseCache(){
+		HttpMetadataCache releaseCache = (HttpMetadataCache) getItem(RELEASE_CACHE);
+		if(releaseCache == null){
+			releaseCache = HttpMetadataCache.builder()
+					.cacheFolder(LauncherDownloader.getInstallFolder().resolve(DEFAULT_CACHE_FOLDER))
+					.build();
+			setReleaseCache(releaseCache);
+		}
+		return releaseCache;
+	}
+	
+	/**
+	 * Sets the {@link HttpMetadataCache} to use for looking up the latest fonts release
+	 *
+	 * @param releaseCache The {@link HttpMetadataCache} to use for looking up the latest fonts release
+	 */
+	public void setReleaseCache(HttpMetadataCache releaseCache){
+		setItem(RELEASE_CACHE, releaseCache);
+	}
+	
+	/**
+	 * @return The {@link FontRegistry} fonts are loaded with (a default one is created if one wasn't set)
+	 */
+	public FontRegistry getFontRegistry(){
+		FontRegistry fontRegistry = (FontRegistry) getItem(FONT_REGISTRY);
+		if(fontRegistry == null){
+			fontRegistry = FontRegistry.builder()
+					.logger((EasyLogger) getItem(LOGGER))
+					.build();
+			setFontRegistry(fontRegistry);
+		}
+		return fontRegistry;
+	}
+	
+	/**
+	 * Sets the {@link FontRegistry} fonts are loaded with
+	 *
+	 * @param fontRegistry The {@link FontRegistry} fonts are loaded with
+	 */
+	public void setFontRegistry(FontRegistry fontRegistry){
+		setItem(FONT_REGISTRY, fontRegistry);
+	}
+	
+	/**
+	 * @return The tag of the Tadukoo Fonts release that's installed in the fonts folder (or null if there isn't one)
+	 */
+	public String getInstalledFontsRelease(){
+		if(getFontsFolder() == null){
+			return null;
+		}
+		return new IncrementalExtractor(Paths.get(getFontsFolder()), Paths.get(getFontsFolder(), FONTS_MANIFEST))
+				.getReleaseTag();
+	}
+	
+	/**
+	 * Grabs the latest fonts from the Tadukoo Fonts project on GitHub and loads them. This happens in the
+	 * background, so the event thread doesn't wait on it.
+	 * <br><br>
+	 * The release that's installed is kept in a manifest in the fonts folder, along with the CRC-32 and size of
+	 * each font file. If the latest release is the one that's installed, nothing is downloaded at all. Otherwise,
+	 * only the font files that are new or changed are pulled out of the release's fonts zip (using range requests,
+	 * so the rest of the zip is never downloaded), and font files that were removed from it are deleted. When no
+	 * release is installed yet, every font file is needed anyway, so the fonts zip is instead streamed in one
+	 * request and extracted as it downloads (the zip itself is never saved).
+	 * <br><br>
+	 * Either way, each font file is added to the {@link FontRegistry} as soon as it's been extracted. It's only
+	 * parsed once something uses its family, and the look and feel is then updated to pick up families it was
+	 * missing.
 	 *
 	 * @param event The {@link ActionEvent} (not used, but this happens on a button)
 	 */
@@ -186,44 +319,74 @@ public class FontsConfig extends AbstractSimpleForm implements OrderedJSONClass{
 		EasyLogger logger = (EasyLogger) getItem(LOGGER);
 		
 		// TODO: Let user know the result, passed or failed
-		// TODO: Store current fonts release version
-		try{
-			// TODO: Grab this via GitHub means - TODO still: simplify it from Tadukoo GitHub?
-			// Find the latest release for Tadukoo Fonts to get the fonts zip url to download
-			LatestReleaseEndpoint endpoint = new LatestReleaseEndpoint("Tadukooverse", "TadukooFonts");
-			GitHubRelease release = endpoint.runEndpoint();
-			String fontZipURL = null;
-			for(GitHubReleaseAsset asset: release.getAssets()){
-				if(StringUtil.equalsIgnoreCase(asset.getName(), "TadukooFonts.zip")){
-					fontZipURL = asset.getBrowserDownloadUrl();
+		CompletableFuture.runAsync(() -> {
+			try{
+				// Find the latest release for Tadukoo Fonts to get the fonts zip url and release tag
+				// (the release cache means we only hit GitHub when the cached release is stale, and then
+				// usually just to hear that it hasn't changed)
+				Path releaseJSON = getReleaseCache().fetch(new URL(FONTS_RELEASE_URL));
+				ReleaseAssetExtractor.ReleaseAsset fontsZip;
+				try(BufferedReader reader = Files.newBufferedReader(releaseJSON, StandardCharsets.UTF_8)){
+					fontsZip = fontsZipExtractor.extract(reader);
 				}
+				String fontZipURL = fontsZip != null ? fontsZip.getBrowserDownloadURL():null;
+				
+				// If we couldn't find the fonts zip, give up and log an error
+				if(StringUtil.isBlank(fontZipURL)){
+					logger.logError("Failed to update fonts - couldn't find fonts zip on GitHub");
+					return;
+				}
+				
+				// Only grab the font files that changed since the installed release
+				IncrementalExtractor extractor = new IncrementalExtractor(Paths.get(fontsFolder),
+						Paths.get(fontsFolder, FONTS_MANIFEST));
+				StreamingUnzipper.EntryListener fontIndexer = (name, file) -> getFontRegistry().addFile(file);
+				if(extractor.isUpToDate(fontsZip.getTagName())){
+					logger.logInfo("Fonts are already up-to-date with " + fontsZip.getTagName());
+				}else if(extractor.getReleaseTag() == null){
+					// Nothing is installed, so stream the whole zip and extract it as it arrives
+					HttpTransport transport = getReleaseCache().getTransport();
+					HttpResponse<InputStream> response = transport.sendStreaming(
+							transport.request(new URL(fontZipURL)).build());
+					try(InputStream in = response.body()){
+						if(response.statusCode() != HttpURLConnection.HTTP_OK){
+							logger.logError("Failed to update fonts - server responded with " + response.statusCode());
+							return;
+						}
+						IncrementalExtractor.IncrementalExtractorResult result =
+								extractor.update(in, fontsZip.getTagName(), fontIndexer);
+						logger.logInfo("Installed fonts from " + fontsZip.getTagName() + ": " + result);
+					}
+				}else{
+					try(RemoteZip zip = new RemoteZip(new URL(fontZipURL), getReleaseCache().getTransport())){
+						IncrementalExtractor.IncrementalExtractorResult result =
+								extractor.update(zip, fontsZip.getTagName(), fontIndexer);
+						logger.logInfo("Updated fonts to " + fontsZip.getTagName() + ": " + result + " (downloaded " +
+								zip.getBytesDownloaded() + " of " + zip.getTotalSize() + " bytes)");
+					}
+				}
+				
+				loadFonts(Paths.get(fontsFolder), logger);
+			}catch(Exception e){
+				logger.logError("Failed to update fonts", e);
 			}
-			
-			// If we couldn't find the fonts zip, give up and log an error
-			if(StringUtil.isBlank(fontZipURL)){
-				logger.logError("Failed to update fonts - couldn't find fonts zip on GitHub");
-				return;
-			}
-			
-			new FileDownloader(this, logger, ListUtil.createList(
-					Pair.of(fontZipURL, fontsFolder + "fonts.zip")));
-			FileUtil.unzipFile(fontsFolder + "fonts.zip", fontsFolder);
-			FontResourceLoader resourceLoader = new FontResourceLoader(true, logger,
-					GraphicsEnvironment.getLocalGraphicsEnvironment(), fontsFolder);
-			// TODO: Store fonts to load in config / retrieve from fonts.zip?
-			List<String> fonts = resourceLoader.loadFonts(ListUtil.createList(FontFamilies.ARIMO.getFamily(), FontFamilies.BANGERS.getFamily(),
-					FontFamilies.CALADEA.getFamily(), FontFamilies.CALLIGRASERIF.getFamily(), FontFamilies.CARLITO.getFamily(),
-					FontFamilies.COMIC_RELIEF.getFamily(), FontFamilies.COUSINE.getFamily(), FontFamilies.GELASIO.getFamily(),
-					FontFamilies.LECKERLI_ONE.getFamily(), FontFamilies.LOBSTER.getFamily(), FontFamilies.ROBOTO.getFamily(),
-					FontFamilies.ROBOTO_CONDENSED.getFamily(), FontFamilies.SATISFY.getFamily(), FontFamilies.SELAWIK.getFamily(),
-					FontFamilies.SOURCE_CODE_PRO.getFamily(), FontFamilies.TINOS.getFamily(), FontFamilies.WINE_TAHOMA.getFamily()),
-					true);
-			logger.logInfo("Loaded " + fonts.size() + " fonts");
-			for(String font: fonts){
-				logger.logInfo("Font Loaded: " + font);
-			}
-		}catch(Exception e){
-			logger.logError("Failed to update fonts", e);
-		}
+		});
+	}
+	
+	/**
+	 * Adds the fonts folder to the {@link FontRegistry} (font files that were already added as they were extracted
+	 * aren't added again). Only the names of the font files are read here: each family is loaded when a form or the
+	 * look and feel first {@link FontRegistry#getFont(String, int, float) gets a font} of it. The look and feel's
+	 * fonts are then {@link FontRegistry#applyToLookAndFeel() gotten again}, so families it was missing before the
+	 * update are used.
+	 *
+	 * @param fontsFolder The folder the fonts are in
+	 * @param logger The {@link EasyLogger} to use for logging
+	 * @throws IOException If the fonts folder can't be read
+	 */
+	private void loadFonts(Path fontsFolder, EasyLogger logger) throws IOException{
+		int found = getFontRegistry().addSource(fontsFolder);
+		logger.logInfo("Found " + found + " new font files in " + fontsFolder);
+		getFontRegistry().applyToLookAndFeel();
 	}
 }
@@ -1,5 +1,6 @@
 package com.github.tadukoo.engine.config;
 
+import com.github.tadukoo.engine.info.JSONArrayCache;
 import com.github.tadukoo.engine.info.ShortInfo;
 import com.github.tadukoo.parsing.json.JSONArrayList;
 import com.github.tadukoo.parsing.json.OrderedJSONClass;
@@ -11,7 +12,6 @@ import com.github.tadukoo.util.tuple.Pair;
 import com.github.tadukoo.view.form.AbstractSimpleForm;
 import com.github.tadukoo.view.form.field.TableFormField;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 
 /**
@@ -90,6 +90,9 @@ public class InfoListsConfig extends AbstractSimpleForm implements OrderedJSONCl
 	/** The key to be used for the {@link ShortInfo}s for info lists the launcher/engine should use */
 	private static final String INFO_LISTS = "info-lists";
 	
+	/** Caches the typed list of info lists (made lazily, since the super constructor uses it) */
+	private JSONArrayCache<ShortInfo> infoListsCache;
+	
 	/**
 	 * Creates a new Info Lists Config with the given parameters.
 	 *
@@ -137,11 +140,23 @@ public class InfoListsConfig extends AbstractSimpleForm implements OrderedJSONCl
 				.build());
 	}
 	
+	/** {@inheritDoc} */
+	@Override
+	public void setItem(String key, Object value){
+		super.setItem(key, value);
+		if(infoListsCache != null && INFO_LISTS.equals(key)){
+			infoListsCache.invalidate();
+		}
+	}
+	
 	/**
-	 * @return {@link ShortInfo}s for info lists the launcher/engine should use
+	 * @return {@link ShortInfo}s for info lists the launcher/engine should use (the same list is returned until
+	 * the info lists are set again, so don't change it)
 	 */
-	public List<ShortInfo> getInfoLists()
-			throws InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException{
-		return getJSONArrayItem(INFO_LISTS, ShortInfo.class);
+	public List<ShortInfo> getInfoLists(){
+		if(infoListsCache == null){
+			infoListsCache = new JSONArrayCache<>(INFO_LISTS, ShortInfo.class, ShortInfo::new);
+		}
+		return infoListsCache.get(this);
 	}
 }
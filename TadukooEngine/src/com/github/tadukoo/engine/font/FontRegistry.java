@@ -0,0 +1,661 @@
+package com.github.tadukoo.engine.font;
+
+import com.github.tadukoo.util.logger.EasyLogger;
+
+import javax.swing.SwingUtilities;
+import javax.swing.UIDefaults;
+import javax.swing.UIManager;
+import javax.swing.plaf.FontUIResource;
+import javax.swing.plaf.UIResource;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.GraphicsEnvironment;
+import java.awt.Window;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Font Registry loads fonts from a fonts zip (read in place, without extracting it) or a fonts folder, only when
+ * they're asked for. Adding a source just indexes the names of the font files in it. When a family is
+ * {@link #requestFamily(String) requested}, the files whose names look like they belong to it are parsed at the
+ * same time on a background executor, and the fonts are then registered (with the {@link GraphicsEnvironment} by
+ * default). Each family is only loaded once, and each file is only ever parsed once.
+ * <br><br>
+ * The {@link #applyToLookAndFeel() look and feel} and {@link #applyTo(Component) forms} get their fonts through
+ * the registry ({@link #getFont(String, int, float)}), which is what requests a family the first time it's used.
+ * Only fonts that Java can't find on its own, or that the registry has font files for, are looked up. Since
+ * everything happens in the background and is handed back as a {@link CompletableFuture}, the Swing event thread
+ * never waits on fonts, and fonts nobody asks for cost nothing.
+ * <br><br>
+ * Font files can also be {@link #addFile(Path) added} one at a time (e.g. as each one comes out of a fonts zip
+ * that's still downloading), which indexes them the same way. Families that were requested but not found are
+ * looked for again once new font files are added.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class FontRegistry implements Closeable{
+	
+	/**
+	 * Font Registry Builder is used to build a new {@link FontRegistry}. It has the following parameters:
+	 *
+	 * <table>
+	 *     <caption>Font Registry Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>logger</td>
+	 *         <td>The {@link EasyLogger} to use for logging</td>
+	 *         <td>Defaults to {@code null}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>parallelism</td>
+	 *         <td>The most font files to parse at the same time</td>
+	 *         <td>Defaults to {@link #DEFAULT_PARALLELISM}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>fontRegistrar</td>
+	 *         <td>Used to register each loaded {@link Font}</td>
+	 *         <td>Defaults to registering with the local {@link GraphicsEnvironment}</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class FontRegistryBuilder{
+		/** The {@link EasyLogger} to use for logging */
+		private EasyLogger logger = null;
+		/** The most font files to parse at the same time */
+		private int parallelism = DEFAULT_PARALLELISM;
+		/** Used to register each loaded {@link Font} */
+		private Consumer<Font> fontRegistrar = font -> GraphicsEnvironment.getLocalGraphicsEnvironment()
+				.registerFont(font);
+		
+		// Not allowed to create Font Registry Builder outside of Font Registry
+		private FontRegistryBuilder(){ }
+		
+		/**
+		 * @param logger The {@link EasyLogger} to use for logging
+		 * @return this, to continue building
+		 */
+		public FontRegistryBuilder logger(EasyLogger logger){
+			this.logger = logger;
+			return this;
+		}
+		
+		/**
+		 * @param parallelism The most font files to parse at the same time
+		 * @return this, to continue building
+		 */
+		public FontRegistryBuilder parallelism(int parallelism){
+			this.parallelism = parallelism;
+			return this;
+		}
+		
+		/**
+		 * @param fontRegistrar Used to register each loaded {@link Font}
+		 * @return this, to continue building
+		 */
+		public FontRegistryBuilder fontRegistrar(Consumer<Font> fontRegistrar){
+			this.fontRegistrar = fontRegistrar;
+			return this;
+		}
+		
+		/**
+		 * Builds a new {@link FontRegistry} with the set parameters
+		 *
+		 * @return The newly built {@link FontRegistry}
+		 */
+		public FontRegistry build(){
+			return new FontRegistry(logger, Math.max(1, parallelism), fontRegistrar);
+		}
+	}
+	
+	/**
+	 * Font File is a font file in one of the sources, which is either an entry in a fonts zip or a file in a
+	 * fonts folder.
+	 *
+	 * @param zipFile The {@link ZipFile} the font is in (null if it's a file in a folder)
+	 * @param name The name of the zip entry, or the path of the file
+	 */
+	private record FontFile(ZipFile zipFile, String name){
+		
+		/**
+		 * @return An {@link InputStream} of the font file
+		 * @throws IOException If the file can't be opened
+		 */
+		InputStream open() throws IOException{
+			return zipFile != null ? zipFile.getInputStream(zipFile.getEntry(name)):
+					Files.newInputStream(Path.of(name));
+		}
+		
+		/**
+		 * @return The name of the font file (without any folders or its extension), used to guess its family
+		 */
+		String baseName(){
+			String baseName = name.replace('\\', '/');
+			baseName = baseName.substring(baseName.lastIndexOf('/') + 1);
+			int dot = baseName.lastIndexOf('.');
+			return dot == -1 ? baseName:baseName.substring(0, dot);
+		}
+		
+		/**
+		 * @return The name of the folder the font file is in (or an empty string if it isn't in one)
+		 */
+		String folderName(){
+			String path = name.replace('\\', '/');
+			int lastSlash = path.lastIndexOf('/');
+			if(lastSlash == -1){
+				return "";
+			}
+			path = path.substring(0, lastSlash);
+			return path.substring(path.lastIndexOf('/') + 1);
+		}
+	}
+	
+	/** The default for the most font files to parse at the same time */
+	public static final int DEFAULT_PARALLELISM = Math.min(4, Runtime.getRuntime().availableProcessors());
+	
+	/** The {@link EasyLogger} to use for logging */
+	private final EasyLogger logger;
+	/** Used to register each loaded {@link Font} */
+	private final Consumer<Font> fontRegistrar;
+	/** The executor font files are parsed on */
+	private final ExecutorService executor;
+	/** The open {@link ZipFile}s of the sources */
+	private final List<ZipFile> zipFiles = new ArrayList<>();
+	/** The font files from folders (or added on their own) that are known, so they're never added twice */
+	private final Set<Path> knownFiles = new HashSet<>();
+	/** The font files that haven't been parsed yet */
+	private final List<FontFile> unparsedFiles = new ArrayList<>();
+	/** The loading (or loaded) fonts of each family that was requested, by normalized family name */
+	private final Map<String, CompletableFuture<List<Font>>> requestedFamilies = new HashMap<>();
+	/** The parses of font files that have been started (each one for a batch of files) */
+	private final List<CompletableFuture<List<Font>>> parses = new ArrayList<>();
+	/** The names of the families that have been registered */
+	private final Set<String> registeredFamilies = Collections.synchronizedSet(new HashSet<>());
+	/** The number of font files that have been parsed */
+	private final AtomicInteger parsedFileCount = new AtomicInteger();
+	
+	/**
+	 * Creates a new Font Registry with the given parameters
+	 *
+	 * @param logger The {@link EasyLogger} to use for logging
+	 * @param parallelism The most font files to parse at the same time
+	 * @param fontRegistrar Used to register each loaded {@link Font}
+	 */
+	private FontRegistry(EasyLogger logger, int parallelism, Consumer<Font> fontRegistrar){
+		this.logger = logger;
+		this.fontRegistrar = fontRegistrar;
+		AtomicInteger threadNum = new AtomicInteger();
+		executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+			Thread thread = new Thread(runnable, "FontRegistry-" + threadNum.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	/**
+	 * @return A new {@link FontRegistryBuilder} to use to build a {@link FontRegistry}
+	 */
+	public static FontRegistryBuilder builder(){
+		return new FontRegistryBuilder();
+	}
+	
+	/**
+	 * Adds a source of fonts: either a fonts zip (which is read in place) or a folder of font files. Only the
+	 * names of the font files are read here.
+	 *
+	 * @param source The {@link Path} of the fonts zip or folder
+	 * @return The number of font files found in the source (not counting files from a folder that were already
+	 * added)
+	 * @throws IOException If the source can't be read
+	 */
+	public synchronized int addSource(Path source) throws IOException{
+		List<FontFile> found = new ArrayList<>();
+		if(Files.isDirectory(source)){
+			try(Stream<Path> files = Files.walk(source)){
+				files.filter(Files::isRegularFile)
+						.filter(file -> isFontFile(file.getFileName().toString()))
+						.filter(file -> knownFiles.add(file.toAbsolutePath().normalize()))
+						.forEach(file -> found.add(new FontFile(null, file.toString())));
+			}
+		}else{
+			ZipFile zipFile = new ZipFile(source.toFile());
+			zipFiles.add(zipFile);
+			zipFile.stream()
+					.filter(entry -> !entry.isDirectory() && isFontFile(entry.getName()))
+					.map(ZipEntry::getName)
+					.forEach(name -> found.add(new FontFile(zipFile, name)));
+		}
+		index(found);
+		return found.size();
+	}
+	
+	/**
+	 * Adds a single font file. Like a source, it's only indexed here: it's parsed once its family is requested.
+	 * Files that aren't font files, or were already added, are ignored.
+	 *
+	 * @param file The {@link Path} of the font file
+	 * @return Whether the file was added
+	 */
+	public synchronized boolean addFile(Path file){
+		if(!isFontFile(file.getFileName().toString()) || !knownFiles.add(file.toAbsolutePath().normalize())){
+			return false;
+		}
+		index(List.of(new FontFile(null, file.toString())));
+		return true;
+	}
+	
+	/**
+	 * Adds the given font files to the unparsed ones. Requests for families that weren't found are forgotten, so
+	 * the next request for one of them checks the new files.
+	 *
+	 * @param files The new font files
+	 */
+	private void index(List<FontFile> files){
+		if(files.isEmpty()){
+			return;
+		}
+		unparsedFiles.addAll(files);
+		requestedFamilies.values().removeIf(fonts -> fonts.isDone() && !fonts.isCompletedExceptionally() &&
+				fonts.join().isEmpty());
+	}
+	
+	/**
+	 * Requests the given font family. The first time a family is requested, the font files that look like they
+	 * belong to it are parsed in the background and their fonts are registered. If none of the fonts parsed so far
+	 * are in the family, all the font files that haven't been parsed yet are parsed to find it.
+	 *
+	 * @param family The name of the font family
+	 * @return A {@link CompletableFuture} of the {@link Font}s of the family (empty if it wasn't found)
+	 */
+	public synchronized CompletableFuture<List<Font>> requestFamily(String family){
+		String normalizedFamily = normalize(family);
+		CompletableFuture<List<Font>> fonts = requestedFamilies.get(normalizedFamily);
+		if(fonts != null){
+			return fonts;
+		}
+		
+		// Parse the files that look like they're in the family, then check everything parsed so far (files of
+		// this family may have been picked up by an earlier request, e.g. Roboto Condensed by Roboto)
+		parses.add(parseAndRegister(takeFiles(normalizedFamily)));
+		List<CompletableFuture<List<Font>>> parsesSoFar = new ArrayList<>(parses);
+		fonts = CompletableFuture.allOf(parsesSoFar.toArray(new CompletableFuture<?>[0])).thenCompose(ignored -> {
+			List<Font> familyFonts = fontsInFamily(parsesSoFar, normalizedFamily);
+			if(!familyFonts.isEmpty()){
+				return CompletableFuture.completedFuture(familyFonts);
+			}
+			
+			// The file names didn't give it away, so parse everything that's left
+			CompletableFuture<List<Font>> rest;
+			synchronized(this){
+				List<FontFile> remaining = takeFiles(null);
+				if(remaining.isEmpty()){
+					return CompletableFuture.completedFuture(familyFonts);
+				}
+				rest = parseAndRegister(remaining);
+				parses.add(rest);
+			}
+			return rest.thenApply(restFonts -> fontsInFamily(List.of(rest), normalizedFamily));
+		});
+		requestedFamilies.put(normalizedFamily, fonts);
+		return fonts;
+	}
+	
+	/**
+	 * @param parsesToCheck Completed parses of font files
+	 * @param normalizedFamily The normalized name of a font family
+	 * @return The {@link Font}s from the parses that are in the family
+	 */
+	private static List<Font> fontsInFamily(List<CompletableFuture<List<Font>>> parsesToCheck,
+	                                        String normalizedFamily){
+		List<Font> familyFonts = new ArrayList<>();
+		for(CompletableFuture<List<Font>> parse: parsesToCheck){
+			for(Font font: parse.join()){
+				if(normalize(font.getFamily(Locale.ROOT)).equals(normalizedFamily)){
+					familyFonts.add(font);
+				}
+			}
+		}
+		return familyFonts;
+	}
+	
+	/**
+	 * Requests all the given font families (see {@link #requestFamily(String)})
+	 *
+	 * @param families The names of the font families
+	 * @return A {@link CompletableFuture} of the names of the families that were found
+	 */
+	public CompletableFuture<List<String>> requestFamilies(List<String> families){
+		List<CompletableFuture<List<Font>>> futures = new ArrayList<>();
+		for(String family: families){
+			futures.add(requestFamily(family));
+		}
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+			List<String> found = new ArrayList<>();
+			for(int i = 0; i < families.size(); i++){
+				if(!futures.get(i).join().isEmpty()){
+					found.add(families.get(i));
+				}
+			}
+			return found;
+		});
+	}
+	
+	/**
+	 * Gets a font of the given family, style, and size, {@link #requestFamily(String) requesting} the family if
+	 * this is the first time it's been asked for. The font of the family whose name matches the style is used (or
+	 * its plain font is made into the style if there isn't one). If the family isn't found, a {@link Font} is made
+	 * from the family name, which leaves it up to Java to find it or fall back to its default font.
+	 *
+	 * @param family The name of the font family
+	 * @param style The style of the font ({@link Font#PLAIN}, {@link Font#BOLD}, and/or {@link Font#ITALIC})
+	 * @param size The point size of the font
+	 * @return A {@link CompletableFuture} of the {@link Font}
+	 */
+	public CompletableFuture<Font> getFont(String family, int style, float size){
+		return requestFamily(family).thenApply(fonts -> {
+			Font plainFont = null;
+			for(Font font: fonts){
+				int fontStyle = styleOf(font);
+				if(fontStyle == style){
+					return font.deriveFont(size);
+				}else if(fontStyle == Font.PLAIN && plainFont == null){
+					plainFont = font;
+				}
+			}
+			if(plainFont == null && !fonts.isEmpty()){
+				plainFont = fonts.get(0);
+			}
+			return plainFont != null ? plainFont.deriveFont(style, size):new Font(family, style, Math.round(size));
+		});
+	}
+	
+	/**
+	 * @param font A {@link Font} that was parsed from a font file (which is always {@link Font#PLAIN} itself)
+	 * @return The style of the font, going by its name
+	 */
+	private static int styleOf(Font font){
+		String name = font.getFontName(Locale.ROOT).toLowerCase(Locale.ROOT);
+		int style = Font.PLAIN;
+		if(name.contains("bold")){
+			style |= Font.BOLD;
+		}
+		if(name.contains("italic") || name.contains("oblique")){
+			style |= Font.ITALIC;
+		}
+		return style;
+	}
+	
+	/**
+	 * Gets the fonts of the look and feel's defaults through the registry, so the families it uses are requested
+	 * (and registered) now, instead of Java falling back to its default font for them. Only fonts that Java can't
+	 * find, or that the registry has font files for, are looked up. Once they're all loaded, the defaults are
+	 * replaced on the event thread and any open windows are updated to use them.
+	 *
+	 * @return A {@link CompletableFuture} that's completed once the defaults have been replaced
+	 */
+	public CompletableFuture<Void> applyToLookAndFeel(){
+		UIDefaults defaults = UIManager.getLookAndFeelDefaults();
+		Map<Object, CompletableFuture<Font>> fonts = new LinkedHashMap<>();
+		for(Map.Entry<Object, Object> entry: new ArrayList<>(defaults.entrySet())){
+			if(entry.getValue() instanceof Font font && isWanted(font)){
+				fonts.put(entry.getKey(), getFont(familyOf(font), font.getStyle(), font.getSize2D()));
+			}
+		}
+		if(fonts.isEmpty()){
+			return CompletableFuture.completedFuture(null);
+		}
+		return CompletableFuture.allOf(fonts.values().toArray(new CompletableFuture<?>[0]))
+				.thenCompose(ignored -> onEventThread(() -> {
+					fonts.forEach((key, font) -> defaults.put(key, new FontUIResource(font.join())));
+					for(Window window: Window.getWindows()){
+						SwingUtilities.updateComponentTreeUI(window);
+					}
+				}));
+	}
+	
+	/**
+	 * Gets the fonts that were set on the given component (e.g. a form) and its children through the registry, so
+	 * the families they use are requested (and registered) now. Fonts that come from the look and feel are left to
+	 * {@link #applyToLookAndFeel()}, and only fonts that Java can't find, or that the registry has font files for,
+	 * are looked up. Once each one is loaded, it's set on its component on the event thread. This should be called
+	 * on the event thread.
+	 *
+	 * @param component The {@link Component} to get the fonts of
+	 * @return A {@link CompletableFuture} that's completed once the fonts have been set
+	 */
+	public CompletableFuture<Void> applyTo(Component component){
+		List<CompletableFuture<Void>> updates = new ArrayList<>();
+		Deque<Component> components = new ArrayDeque<>(List.of(component));
+		while(!components.isEmpty()){
+			Component next = components.pop();
+			Font font = next.isFontSet() ? next.getFont():null;
+			if(font != null && !(font instanceof UIResource) && isWanted(font)){
+				updates.add(getFont(familyOf(font), font.getStyle(), font.getSize2D())
+						.thenCompose(loaded -> onEventThread(() -> next.setFont(loaded))));
+			}
+			if(next instanceof Container container){
+				components.addAll(List.of(container.getComponents()));
+			}
+		}
+		return CompletableFuture.allOf(updates.toArray(new CompletableFuture<?>[0]));
+	}
+	
+	/**
+	 * @param font A {@link Font} used by the look and feel or a form
+	 * @return Whether the font should be gotten through the registry: Java couldn't find its family, or the
+	 * registry has font files that look like they belong to it
+	 */
+	private boolean isWanted(Font font){
+		if(isMissing(font)){
+			return true;
+		}
+		String normalizedFamily = normalize(familyOf(font));
+		synchronized(this){
+			for(FontFile file: unparsedFiles){
+				if(isInFamily(file, normalizedFamily)){
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * @param font A {@link Font}
+	 * @return Whether Java couldn't find the font's family (so it fell back to its default font)
+	 */
+	private static boolean isMissing(Font font){
+		return Font.DIALOG.equals(font.getFamily(Locale.ROOT)) && !Font.DIALOG.equalsIgnoreCase(font.getName());
+	}
+	
+	/**
+	 * @param font A {@link Font}
+	 * @return The name of the family the font was meant to be in (its name, if Java couldn't find its family)
+	 */
+	private static String familyOf(Font font){
+		return isMissing(font) ? font.getName():font.getFamily(Locale.ROOT);
+	}
+	
+	/**
+	 * Runs the given code on the Swing event thread
+	 *
+	 * @param runnable The code to run
+	 * @return A {@link CompletableFuture} that's completed once it's been run
+	 */
+	private static CompletableFuture<Void> onEventThread(Runnable runnable){
+		CompletableFuture<Void> done = new CompletableFuture<>();
+		SwingUtilities.invokeLater(() -> {
+			try{
+				runnable.run();
+				done.complete(null);
+			}catch(RuntimeException e){
+				done.completeExceptionally(e);
+			}
+		});
+		return done;
+	}
+	
+	/**
+	 * @param family The name of a font family
+	 * @return Whether the family has been registered
+	 */
+	public boolean isRegistered(String family){
+		return registeredFamilies.contains(normalize(family));
+	}
+	
+	/**
+	 * @return The number of font files that have been parsed
+	 */
+	public int getParsedFileCount(){
+		return parsedFileCount.get();
+	}
+	
+	/**
+	 * @return The number of font files that haven't been parsed yet
+	 */
+	public synchronized int getUnparsedFileCount(){
+		return unparsedFiles.size();
+	}
+	
+	/**
+	 * Takes the unparsed font files that look like they belong to the given family out of the list of unparsed
+	 * files (so they're never parsed twice)
+	 *
+	 * @param normalizedFamily The normalized family name, or null to take all of them
+	 * @return The font files that were taken
+	 */
+	private List<FontFile> takeFiles(String normalizedFamily){
+		List<FontFile> taken = new ArrayList<>();
+		for(FontFile file: unparsedFiles){
+			if(normalizedFamily == null || isInFamily(file, normalizedFamily)){
+				taken.add(file);
+			}
+		}
+		unparsedFiles.removeAll(taken);
+		return taken;
+	}
+	
+	/**
+	 * @param file A font file
+	 * @param normalizedFamily The normalized name of a font family
+	 * @return Whether the font file's name (or the name of its folder) looks like it belongs to the family
+	 */
+	private static boolean isInFamily(FontFile file, String normalizedFamily){
+		return normalize(file.baseName()).startsWith(normalizedFamily) ||
+				normalize(file.folderName()).equals(normalizedFamily);
+	}
+	
+	/**
+	 * Parses the given font files in the background (at the same time) and registers their fonts
+	 *
+	 * @param files The font files to parse
+	 * @return A {@link CompletableFuture} of all the {@link Font}s that were parsed
+	 */
+	private CompletableFuture<List<Font>> parseAndRegister(List<FontFile> files){
+		List<CompletableFuture<Font>> futures = new ArrayList<>();
+		for(FontFile file: files){
+			futures.add(CompletableFuture.supplyAsync(() -> parse(file), executor));
+		}
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+			List<Font> fonts = new ArrayList<>();
+			for(CompletableFuture<Font> future: futures){
+				Font font = future.join();
+				if(font != null){
+					fontRegistrar.accept(font);
+					registeredFamilies.add(normalize(font.getFamily(Locale.ROOT)));
+					fonts.add(font);
+				}
+			}
+			return fonts;
+		});
+	}
+	
+	/**
+	 * Parses a single font file
+	 *
+	 * @param file The font file to parse
+	 * @return The parsed {@link Font}, or null if it couldn't be parsed
+	 */
+	private Font parse(FontFile file){
+		try(InputStream in = file.open()){
+			Font font = Font.createFont(Font.TRUETYPE_FONT, in);
+			parsedFileCount.incrementAndGet();
+			return font;
+		}catch(IOException | FontFormatException e){
+			if(logger != null){
+				logger.logWarning("Failed to load font " + file.name(), e);
+			}
+			return null;
+		}
+	}
+	
+	/**
+	 * @param name The name of a font file
+	 * @return Whether the file is a font file we can load
+	 */
+	private static boolean isFontFile(String name){
+		String lowerName = name.toLowerCase(Locale.ROOT);
+		return lowerName.endsWith(".ttf") || lowerName.endsWith(".otf");
+	}
+	
+	/**
+	 * @param name A font family or file name
+	 * @return The name in lower case, with anything that's not a letter or digit removed (so "Roboto Condensed"
+	 * matches "RobotoCondensed-Bold")
+	 */
+	private static String normalize(String name){
+		StringBuilder normalized = new StringBuilder();
+		for(char c: name.toCharArray()){
+			if(Character.isLetterOrDigit(c)){
+				normalized.append(Character.toLowerCase(c));
+			}
+		}
+		return normalized.toString();
+	}
+	
+	/**
+	 * Stops the background executor and closes the fonts zips
+	 *
+	 * @throws IOException If anything goes wrong in closing the zips
+	 */
+	@Override
+	public synchronized void close() throws IOException{
+		executor.shutdownNow();
+		for(ZipFile zipFile: zipFiles){
+			zipFile.close();
+		}
+		zipFiles.clear();
+		unparsedFiles.clear();
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains the {@link com.github.tadukoo.engine.font.FontRegistry FontRegistry}, used to load fonts for the
+ * launcher and programs in the background, only when they're needed
+ */
+package com.github.tadukoo.engine.font;
@@ -5,7 +5,6 @@ import com.github.tadukoo.parsing.json.JSONArrayList;
 import com.github.tadukoo.util.ListUtil;
 import com.github.tadukoo.util.pojo.MappedPojo;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 
 /**
@@ -18,6 +17,9 @@ public class InfoList extends AbstractOrderedJSONClass{
 	/** The key used for the list of info files */
 	private static final String LIST = "list";
 	
+	/** Caches the typed list of info files (made lazily, since the super constructor sets items) */
+	private JSONArrayCache<ShortInfo> listCache;
+	
 	/**
 	 * Creates a new Info List with the given parameters.
 	 *
@@ -44,11 +46,22 @@ public class InfoList extends AbstractOrderedJSONClass{
 		return ListUtil.createList(InfoType.KEY, LIST);
 	}
 	
+	/** {@inheritDoc} */
+	@Override
+	public void setItem(String key, Object value){
+		super.setItem(key, value);
+		if(listCache != null && LIST.equals(key)){
+			listCache.invalidate();
+		}
+	}
+	
 	/**
-	 * @return The list of info files
+	 * @return The list of info files (the same list is returned until the list is set again, so don't change it)
 	 */
-	public List<ShortInfo> getList()
-			throws InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException{
-		return getJSONArrayItem(LIST, ShortInfo.class);
+	public List<ShortInfo> getList(){
+		if(listCache == null){
+			listCache = new JSONArrayCache<>(LIST, ShortInfo.class, ShortInfo::new);
+		}
+		return listCache.get(this);
 	}
 }
@@ -0,0 +1,89 @@
+package com.github.tadukoo.engine.info;
+
+import com.github.tadukoo.parsing.json.JSONArrayList;
+import com.github.tadukoo.util.pojo.MappedPojo;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * JSON Array Cache holds the typed list made from a JSON array item of a {@link MappedPojo}. Parsed JSON leaves
+ * array items as plain {@link MappedPojo}s, and turning them into the right class is done with a factory (like
+ * {@code ShortInfo::new}) instead of reflection. The typed list is only made once, and is kept until the item
+ * is set again (the pojo should call {@link #invalidate()} from its setItem) or the list in the pojo is swapped
+ * out or changes size.
+ * <br><br>
+ * The same typed list is given to every caller, so it shouldn't be changed - set the item instead.
+ *
+ * @param <T> The type of the items in the list
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class JSONArrayCache<T extends MappedPojo>{
+	/** The key of the JSON array item */
+	private final String key;
+	/** The class of the items in the list */
+	private final Class<T> type;
+	/** Makes an item of the list from a plain {@link MappedPojo} */
+	private final Function<MappedPojo, T> factory;
+	/** The list in the pojo the typed list was made from */
+	private List<?> source = null;
+	/** The size of the source list when the typed list was made */
+	private int sourceSize = -1;
+	/** The typed list */
+	private JSONArrayList<T> typedList = null;
+	
+	/**
+	 * Creates a new JSON Array Cache for the given item
+	 *
+	 * @param key The key of the JSON array item
+	 * @param type The class of the items in the list
+	 * @param factory Makes an item of the list from a plain {@link MappedPojo}
+	 */
+	public JSONArrayCache(String key, Class<T> type, Function<MappedPojo, T> factory){
+		this.key = key;
+		this.type = type;
+		this.factory = factory;
+	}
+	
+	/**
+	 * @return The key of the JSON array item
+	 */
+	public String getKey(){
+		return key;
+	}
+	
+	/**
+	 * Grabs the typed list for the item from the given pojo, making it if it isn't cached
+	 *
+	 * @param pojo The {@link MappedPojo} that has the item
+	 * @return The typed list (or null if the pojo doesn't have the item)
+	 */
+	public synchronized List<T> get(MappedPojo pojo){
+		List<?> items = (List<?>) pojo.getItem(key);
+		if(items == null){
+			invalidate();
+			return null;
+		}
+		if(items != source || items.size() != sourceSize){
+			JSONArrayList<T> newTypedList = new JSONArrayList<>();
+			for(Object item: items){
+				newTypedList.add(type.isInstance(item) ? type.cast(item):factory.apply((MappedPojo) item));
+			}
+			source = items;
+			sourceSize = items.size();
+			typedList = newTypedList;
+		}
+		return typedList;
+	}
+	
+	/**
+	 * Throws away the typed list, so it's made again the next time it's grabbed
+	 */
+	public synchronized void invalidate(){
+		source = null;
+		sourceSize = -1;
+		typedList = null;
+	}
+}
@@ -63,6 +63,12 @@ public class ProgramInfo extends AbstractSimpleForm implements OrderedJSONClass{
 	 *         <td>Defaults to {@code title} (with spaces removed) .jar</td>
 	 *     </tr>
 	 *     <tr>
+	 *         <td>programJar</td>
+	 *         <td>A {@link ShortInfo} for downloading the Program's jar file (with its digest, and maybe a patch from
+	 *         the previous version)</td>
+	 *         <td>Defaults to {@code null}</td>
+	 *     </tr>
+	 *     <tr>
 	 *         <td>libraries</td>
 	 *         <td>A List of {@link ShortInfo}s for libraries the Program uses</td>
 	 *         <td>Defaults to an empty list</td>
@@ -86,6 +92,8 @@ public class ProgramInfo extends AbstractSimpleForm implements OrderedJSONClass{
 		private String description;
 		/** The name for the Program's jar file */
 		private String programJarName = null;
+		/** The {@link ShortInfo} for downloading the Program's jar file */
+		private ShortInfo programJar = null;
 		/** The {@link ShortInfo}s of the libraries the Program uses */
 		private JSONArrayList<ShortInfo> libraries = new JSONArrayList<>();
 		/** The {@link ProgramHandler} to be used */
@@ -130,6 +138,16 @@ public class ProgramInfo extends AbstractSimpleForm implements OrderedJSONClass{
 			return this;
 		}
 		
+		/**
+		 * @param programJar The {@link ShortInfo} for downloading the Program's jar file (with its digest, and maybe
+		 * a patch from the previous version)
+		 * @return this, to continue building
+		 */
+		public ProgramInfoBuilder programJar(ShortInfo programJar){
+			this.programJar = programJar;
+			return this;
+		}
+		
 		/**
 		 * @param libraries The {@link ShortInfo}s of the libraries the Program uses
 		 * @return this, to continue building
@@ -171,6 +189,21 @@ public class ProgramInfo extends AbstractSimpleForm implements OrderedJSONClass{
 			return this;
 		}
 		
+		/**
+		 * Creates a new Library {@link ShortInfo} for a library the Program uses and adds it to the
+		 * list of libraries
+		 *
+		 * @param title The title of the library
+		 * @param filename The filename of the library
+		 * @param fileLocation The location of the file for the library (to be downloaded from)
+		 * @param sha256 The SHA-256 digest (in hex) of the library file
+		 * @return this, to continue building
+		 */
+		public ProgramInfoBuilder library(String title, String filename, String fileLocation, String sha256){
+			libraries.add(new ShortInfo(InfoType.LIB, title, filename, fileLocation, sha256));
+			return this;
+		}
+		
 		/**
 		 * @param programHandler The {@link ProgramHandler} to be used
 		 * @return this, to continue building
@@ -223,7 +256,7 @@ public class ProgramInfo extends AbstractSimpleForm implements OrderedJSONClass{
 			
 			// Build the ProgramInfo
 			return new ProgramInfo(logger, title, description,
-					programJarName, libraries,
+					programJarName, programJar, libraries,
 					programHandler);
 		}
 	}
@@ -236,11 +269,16 @@ public class ProgramInfo extends AbstractSimpleForm implements OrderedJSONClass{
 	private static final String DESCRIPTION = "description";
 	/** Key used for the Program Jar Name of the Program */
 	private static final String PROGRAM_JAR_NAME = "program-jar-name";
+	/** Key used for the {@link ShortInfo} for downloading the Program's jar file */
+	private static final String PROGRAM_JAR = "program-jar";
 	/** Key used for the Library {@link ShortInfo}s of the Program */
 	private static final String LIBRARIES = "libraries";
 	/** Key used for the {@link ProgramHandler} to be used */
 	public static final String PROGRAM_HANDLER = "Program Handler";
 	
+	/** Caches the typed list of library {@link ShortInfo}s (made on first use, as items are set before fields are) */
+	private JSONArrayCache<ShortInfo> librariesCache;
+	
 	/**
 	 * Creates a new ProgramInfo programmatically with the given information.
 	 *
@@ -248,17 +286,18 @@ public class ProgramInfo extends AbstractSimpleForm implements OrderedJSONClass{
 	 * @param title The title of the Program
 	 * @param description The description for the Program
 	 * @param programJarName The name for the Program's jar file
+	 * @param programJar The {@link ShortInfo} for downloading the Program's jar file
 	 * @param libraries The {@link ShortInfo}s of the libraries the Program uses
 	 * @param programHandler The {@link ProgramHandler} to be used
 	 * @throws Throwable If anything goes wrong
 	 */
 	private ProgramInfo(
 			EasyLogger logger, String title, String description,
-			String programJarName, JSONArrayList<ShortInfo> libraries,
+			String programJarName, ShortInfo programJar, JSONArrayList<ShortInfo> libraries,
 			ProgramHandler programHandler) throws Throwable{
 		super(MapUtil.createMap(Pair.of(LOGGER, logger), Pair.of(TITLE, title), Pair.of(DESCRIPTION, description),
-				Pair.of(PROGRAM_JAR_NAME, programJarName), Pair.of(LIBRARIES, libraries),
-				Pair.of(PROGRAM_HANDLER, programHandler)));
+				Pair.of(PROGRAM_JAR_NAME, programJarName), Pair.of(PROGRAM_JAR, programJar),
+				Pair.of(LIBRARIES, libraries), Pair.of(PROGRAM_HANDLER, programHandler)));
 	}
 	
 	/**
@@ -282,7 +321,7 @@ public class ProgramInfo extends AbstractSimpleForm implements OrderedJSONClass{
 	/** {@inheritDoc} */
 	@Override
 	public List<String> getKeyOrder(){
-		return ListUtil.createList(TITLE, DESCRIPTION, PROGRAM_JAR_NAME, LIBRARIES);
+		return ListUtil.createList(TITLE, DESCRIPTION, PROGRAM_JAR_NAME, PROGRAM_JAR, LIBRARIES);
 	}
 	
 	/** {@inheritDoc} */
@@ -311,11 +350,11 @@ public class ProgramInfo extends AbstractSimpleForm implements OrderedJSONClass{
 				.editable(false)
 				.build());
 		
-		// Launch Button field
+		// Launch Button field (launches in the background, so the event thread never waits on it)
 		addField(ButtonFormField.builder()
 				.key("Launch")
 				.rowPos(2).colPos(0)
-				.actionListener(e -> programHandler.launchProgram(this))
+				.actionListener(e -> programHandler.launchProgramAsync(this))
 				.build());
 	}
 	
@@ -357,9 +396,33 @@ public class ProgramInfo extends AbstractSimpleForm implements OrderedJSONClass{
 	}
 	
 	/**
-	 * @return The {@link ShortInfo}s of the libraries the Program uses
+	 * @return The {@link ShortInfo} for downloading this Program's jar file (with its digest, and maybe a patch from
+	 * the previous version), or null if it doesn't have one
+	 */
+	public ShortInfo getProgramJar(){
+		Object programJar = getItem(PROGRAM_JAR);
+		// Parsed JSON leaves it as a plain MappedPojo
+		return programJar == null || programJar instanceof ShortInfo ? (ShortInfo) programJar:
+				new ShortInfo((MappedPojo) programJar);
+	}
+	
+	/** {@inheritDoc} */
+	@Override
+	public void setItem(String key, Object value){
+		super.setItem(key, value);
+		if(librariesCache != null && LIBRARIES.equals(key)){
+			librariesCache.invalidate();
+		}
+	}
+	
+	/**
+	 * @return The {@link ShortInfo}s of the libraries the Program uses (the same list is returned until the
+	 * libraries are set again, so don't change it)
 	 */
 	public List<ShortInfo> getLibraries(){
-		return getJSONArrayItemNoThrow(getLogger(), LIBRARIES, ShortInfo.class);
+		if(librariesCache == null){
+			librariesCache = new JSONArrayCache<>(LIBRARIES, ShortInfo.class, ShortInfo::new);
+		}
+		return librariesCache.get(this);
 	}
 }
@@ -1,28 +1,242 @@
 package com.github.tadukoo.engine.info;
 
 import com.github.tadukoo.parsing.json.AbstractOrderedJSONClass;
+import com.github.tadukoo.parsing.json.JSONArrayList;
 import com.github.tadukoo.util.ListUtil;
 import com.github.tadukoo.util.StringUtil;
 import com.github.tadukoo.util.pojo.MappedPojo;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 
 /**
  * Short Info is used in lists of info to provide basic information for finding program or library info files.
+ * <br><br>
+ * An entry for a jar can also advertise a binary patch (see {@link com.github.tadukoo.launcher.downloader.BinaryDelta})
+ * from a previous version of it, identified by that version's SHA-256 digest. If the jar that's installed is that
+ * version, the (much smaller) patch can be downloaded and applied instead of the whole jar.
+ * <br><br>
+ * An entry can also list mirror locations that serve the same file as the info location. They're tried in order
+ * (see {@link com.github.tadukoo.launcher.downloader.MirrorDownloader}) when the info location is down or slow.
  *
  * @author Logan Ferree (Tadukoo)
  * @version Alpha v.0.1
  */
 public class ShortInfo extends AbstractOrderedJSONClass{
+	
+	/**
+	 * A builder used to create a {@link ShortInfo} object. It takes the following parameters:
+	 *
+	 * <table>
+	 *     <caption>Short Info Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>type</td>
+	 *         <td>The type of Short Info</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>title</td>
+	 *         <td>The title of the info</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>infoName</td>
+	 *         <td>The name of the info file</td>
+	 *         <td>Defaults to {@code null}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>infoLocation</td>
+	 *         <td>The location (online) of the info file, if it needs downloaded</td>
+	 *         <td>Defaults to {@code null}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>sha256</td>
+	 *         <td>The SHA-256 digest (in hex) of the info file, used to verify and deduplicate it</td>
+	 *         <td>Defaults to {@code null}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>patchFromSha256</td>
+	 *         <td>The SHA-256 digest (in hex) of the previous version the patch applies to</td>
+	 *         <td>Defaults to {@code null}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>patchLocation</td>
+	 *         <td>The location (online) of the patch</td>
+	 *         <td>Defaults to {@code null}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>mirrorLocations</td>
+	 *         <td>The other locations (online) that serve the same info file, in the order to try them</td>
+	 *         <td>Defaults to an empty list</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class ShortInfoBuilder{
+		/** The type of Short Info */
+		private InfoType type;
+		/** The title of the info */
+		private String title;
+		/** The name of the info file */
+		private String infoName = null;
+		/** The location (online) of the info file */
+		private String infoLocation = null;
+		/** The SHA-256 digest (in hex) of the info file */
+		private String sha256 = null;
+		/** The SHA-256 digest (in hex) of the previous version the patch applies to */
+		private String patchFromSha256 = null;
+		/** The location (online) of the patch */
+		private String patchLocation = null;
+		/** The other locations (online) that serve the same info file */
+		private List<String> mirrorLocations = new ArrayList<>();
+		
+		/** Not allowed to create a ShortInfoBuilder outside ShortInfo */
+		private ShortInfoBuilder(){ }
+		
+		/**
+		 * @param type The type of Short Info
+		 * @return this, to continue building
+		 */
+		public ShortInfoBuilder type(InfoType type){
+			this.type = type;
+			return this;
+		}
+		
+		/**
+		 * @param title The title of the info
+		 * @return this, to continue building
+		 */
+		public ShortInfoBuilder title(String title){
+			this.title = title;
+			return this;
+		}
+		
+		/**
+		 * @param infoName The name of the info file
+		 * @return this, to continue building
+		 */
+		public ShortInfoBuilder infoName(String infoName){
+			this.infoName = infoName;
+			return this;
+		}
+		
+		/**
+		 * @param infoLocation The location (online) of the info file, if it needs downloaded
+		 * @return this, to continue building
+		 */
+		public ShortInfoBuilder infoLocation(String infoLocation){
+			this.infoLocation = infoLocation;
+			return this;
+		}
+		
+		/**
+		 * @param sha256 The SHA-256 digest (in hex) of the info file, used to verify and deduplicate it
+		 * @return this, to continue building
+		 */
+		public ShortInfoBuilder sha256(String sha256){
+			this.sha256 = sha256;
+			return this;
+		}
+		
+		/**
+		 * @param patchFromSha256 The SHA-256 digest (in hex) of the previous version the patch applies to
+		 * @return this, to continue building
+		 */
+		public ShortInfoBuilder patchFromSha256(String patchFromSha256){
+			this.patchFromSha256 = patchFromSha256;
+			return this;
+		}
+		
+		/**
+		 * @param patchLocation The location (online) of the patch
+		 * @return this, to continue building
+		 */
+		public ShortInfoBuilder patchLocation(String patchLocation){
+			this.patchLocation = patchLocation;
+			return this;
+		}
+		
+		/**
+		 * @param mirrorLocations The other locations (online) that serve the same info file, in the order to try them
+		 * @return this, to continue building
+		 */
+		public ShortInfoBuilder mirrorLocations(List<String> mirrorLocations){
+			this.mirrorLocations = new ArrayList<>(mirrorLocations);
+			return this;
+		}
+		
+		/**
+		 * @param mirrorLocation Another location (online) that serves the same info file (to be added to the list)
+		 * @return this, to continue building
+		 */
+		public ShortInfoBuilder mirrorLocation(String mirrorLocation){
+			mirrorLocations.add(mirrorLocation);
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the {@link ShortInfo} parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// Type is required
+			if(type == null){
+				errors.add("type is required");
+			}
+			// Title is required
+			if(StringUtil.isBlank(title)){
+				errors.add("title is required");
+			}
+			
+			// If we find errors, throw an exception
+			if(ListUtil.isNotBlank(errors)){
+				throw new IllegalArgumentException("The following errors happened in building a ShortInfo: \n"
+						+ StringUtil.buildStringWithNewLines(errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link ShortInfo} and returns it
+		 *
+		 * @return The newly built {@link ShortInfo}
+		 */
+		public ShortInfo build(){
+			checkForErrors();
+			
+			return new ShortInfo(type, title, infoName, infoLocation, sha256, patchFromSha256, patchLocation,
+					mirrorLocations);
+		}
+	}
+	
 	/** The key for the title of the info */
 	private static final String TITLE = "title";
 	/** The key for the name of the info file */
 	private static final String INFO_NAME = "info-name";
 	/** The key for the location (online) of the info file */
 	private static final String INFO_LOCATION = "info-location";
+	/** The key for the SHA-256 digest of the info file */
+	private static final String SHA_256 = "sha-256";
+	/** The key for the SHA-256 digest of the previous version the patch applies to */
+	private static final String PATCH_FROM_SHA_256 = "patch-from-sha-256";
+	/** The key for the location (online) of the patch */
+	private static final String PATCH_LOCATION = "patch-location";
+	/** The key for the other locations (online) that serve the same info file */
+	private static final String MIRROR_LOCATIONS = "mirror-locations";
 	
 	/**
-	 * Creates a new Short Info object with the given parameters.
+	 * Creates a new Short Info object with the given parameters (and no digest).
 	 *
 	 * @param type The type of Short Info
 	 * @param title The title of the info
@@ -30,11 +244,47 @@ public class ShortInfo extends AbstractOrderedJSONClass{
 	 * @param infoLocation The location (online) of the info file, if it needs downloaded
 	 */
 	public ShortInfo(InfoType type, String title, String infoName, String infoLocation){
+		this(type, title, infoName, infoLocation, null);
+	}
+	
+	/**
+	 * Creates a new Short Info object with the given parameters.
+	 *
+	 * @param type The type of Short Info
+	 * @param title The title of the info
+	 * @param infoName The name of the info file
+	 * @param infoLocation The location (online) of the info file, if it needs downloaded
+	 * @param sha256 The SHA-256 digest (in hex) of the info file, used to verify and deduplicate it
+	 */
+	public ShortInfo(InfoType type, String title, String infoName, String infoLocation, String sha256){
+		this(type, title, infoName, infoLocation, sha256, null, null, null);
+	}
+	
+	/**
+	 * Creates a new Short Info object with the given parameters, including a patch and mirror locations (use
+	 * the {@link ShortInfoBuilder} to set those).
+	 *
+	 * @param type The type of Short Info
+	 * @param title The title of the info
+	 * @param infoName The name of the info file
+	 * @param infoLocation The location (online) of the info file, if it needs downloaded
+	 * @param sha256 The SHA-256 digest (in hex) of the info file, used to verify and deduplicate it
+	 * @param patchFromSha256 The SHA-256 digest (in hex) of the previous version the patch applies to
+	 * @param patchLocation The location (online) of the patch
+	 * @param mirrorLocations The other locations (online) that serve the same info file, in the order to try them
+	 */
+	private ShortInfo(
+			InfoType type, String title, String infoName, String infoLocation, String sha256,
+			String patchFromSha256, String patchLocation, List<String> mirrorLocations){
 		super();
 		setItem(InfoType.KEY, type.getType());
 		setItem(TITLE, title);
 		setItem(INFO_NAME, infoName);
 		setItem(INFO_LOCATION, infoLocation);
+		setItem(SHA_256, sha256);
+		setItem(PATCH_FROM_SHA_256, patchFromSha256);
+		setItem(PATCH_LOCATION, patchLocation);
+		setItem(MIRROR_LOCATIONS, ListUtil.isNotBlank(mirrorLocations) ? new JSONArrayList<>(mirrorLocations):null);
 	}
 	
 	/**
@@ -46,10 +296,18 @@ public class ShortInfo extends AbstractOrderedJSONClass{
 		super(pojo);
 	}
 	
+	/**
+	 * @return A {@link ShortInfoBuilder} to use to build a {@link ShortInfo}
+	 */
+	public static ShortInfoBuilder builder(){
+		return new ShortInfoBuilder();
+	}
+	
 	/** {@inheritDoc} */
 	@Override
 	public List<String> getKeyOrder(){
-		return ListUtil.createList(InfoType.KEY, TITLE, INFO_NAME, INFO_LOCATION);
+		return ListUtil.createList(InfoType.KEY, TITLE, INFO_NAME, INFO_LOCATION, SHA_256, PATCH_FROM_SHA_256,
+				PATCH_LOCATION, MIRROR_LOCATIONS);
 	}
 	
 	/**
@@ -80,15 +338,90 @@ public class ShortInfo extends AbstractOrderedJSONClass{
 		return (String) getItem(INFO_LOCATION);
 	}
 	
-	/** {@inheritDoc} */
+	/**
+	 * @return The SHA-256 digest (in hex) of the info file, used to verify and deduplicate it (may be null)
+	 */
+	public String getSha256(){
+		return (String) getItem(SHA_256);
+	}
+	
+	/**
+	 * @return The SHA-256 digest (in hex) of the previous version the patch applies to (may be null)
+	 */
+	public String getPatchFromSha256(){
+		return (String) getItem(PATCH_FROM_SHA_256);
+	}
+	
+	/**
+	 * @return The location (online) of the patch (may be null)
+	 */
+	public String getPatchLocation(){
+		return (String) getItem(PATCH_LOCATION);
+	}
+	
+	/**
+	 * @return The other locations (online) that serve the same info file, in the order to try them (empty if there
+	 * aren't any)
+	 */
+	public List<String> getMirrorLocations(){
+		List<String> mirrorLocations = new ArrayList<>();
+		if(getItem(MIRROR_LOCATIONS) instanceof List<?> items){
+			for(Object item: items){
+				if(item != null){
+					mirrorLocations.add(item.toString());
+				}
+			}
+		}
+		return mirrorLocations;
+	}
+	
+	/**
+	 * @return Every location of the info file to try, in order: the info location, then the mirror locations
+	 * (blank and repeated locations are left out)
+	 */
+	public List<String> getInfoLocations(){
+		List<String> locations = new ArrayList<>();
+		List<String> candidates = new ArrayList<>();
+		candidates.add(getInfoLocation());
+		candidates.addAll(getMirrorLocations());
+		for(String location: candidates){
+			if(StringUtil.isNotBlank(location) && !locations.contains(location)){
+				locations.add(location);
+			}
+		}
+		return locations;
+	}
+	
+	/**
+	 * @return Whether a patch is advertised (it also needs the digest of the info file to check the patched result)
+	 */
+	public boolean hasPatch(){
+		return StringUtil.isNotBlank(getSha256()) && StringUtil.isNotBlank(getPatchFromSha256()) &&
+				StringUtil.isNotBlank(getPatchLocation());
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <br><br>
+	 * The patch and mirror locations aren't compared, since they're just other ways of getting the same file.
+	 */
 	@Override
 	public boolean equals(Object obj){
 		if(obj instanceof ShortInfo info){
 			return info.getType().equals(getType()) && StringUtil.equals(info.getTitle(), getTitle()) &&
 					StringUtil.equals(info.getInfoName(), getInfoName()) &&
-					StringUtil.equals(info.getInfoLocation(), getInfoLocation());
+					StringUtil.equals(info.getInfoLocation(), getInfoLocation()) &&
+					StringUtil.equalsIgnoreCase(info.getSha256(), getSha256());
 		}else{
 			return false;
 		}
 	}
+	
+	/** {@inheritDoc} */
+	@Override
+	public int hashCode(){
+		String sha256 = getSha256();
+		return Objects.hash(getType(), getTitle(), getInfoName(), getInfoLocation(),
+				sha256 != null ? sha256.toLowerCase(Locale.ROOT):null);
+	}
 }
@@ -0,0 +1,85 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.engine.info.ShortInfo;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Artifact Timing records how long it took to resolve a single library during dependency resolution, split into
+ * how long it waited for a free download slot and how long it took to fetch (and verify) it.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class ArtifactTiming{
+	/** The {@link ShortInfo} of the library */
+	private final ShortInfo library;
+	/** The {@link Path} the library ended up at */
+	private final Path path;
+	/** Whether the library had to be downloaded (as opposed to already being available) */
+	private final boolean downloaded;
+	/** How long the library waited for a free download slot */
+	private final Duration queueTime;
+	/** How long it took to fetch (and verify) the library */
+	private final Duration fetchTime;
+	
+	/**
+	 * Creates a new Artifact Timing with the given parameters
+	 *
+	 * @param library The {@link ShortInfo} of the library
+	 * @param path The {@link Path} the library ended up at
+	 * @param downloaded Whether the library had to be downloaded (as opposed to already being available)
+	 * @param queueTime How long the library waited for a free download slot
+	 * @param fetchTime How long it took to fetch (and verify) the library
+	 */
+	public ArtifactTiming(ShortInfo library, Path path, boolean downloaded, Duration queueTime, Duration fetchTime){
+		this.library = library;
+		this.path = path;
+		this.downloaded = downloaded;
+		this.queueTime = queueTime;
+		this.fetchTime = fetchTime;
+	}
+	
+	/**
+	 * @return The {@link ShortInfo} of the library
+	 */
+	public ShortInfo getLibrary(){
+		return library;
+	}
+	
+	/**
+	 * @return The {@link Path} the library ended up at
+	 */
+	public Path getPath(){
+		return path;
+	}
+	
+	/**
+	 * @return Whether the library had to be downloaded (as opposed to already being available)
+	 */
+	public boolean isDownloaded(){
+		return downloaded;
+	}
+	
+	/**
+	 * @return How long the library waited for a free download slot
+	 */
+	public Duration getQueueTime(){
+		return queueTime;
+	}
+	
+	/**
+	 * @return How long it took to fetch (and verify) the library
+	 */
+	public Duration getFetchTime(){
+		return fetchTime;
+	}
+	
+	/** {@inheritDoc} */
+	@Override
+	public String toString(){
+		return library.getInfoName() + ": " + fetchTime.toMillis() + " ms" +
+				(downloaded ? " (downloaded":" (cached") + ", queued " + queueTime.toMillis() + " ms)";
+	}
+}
@@ -0,0 +1,449 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.engine.info.InfoType;
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.info.ShortInfo;
+import com.github.tadukoo.engine.store.JarUpdater;
+import com.github.tadukoo.engine.store.LibraryStore;
+import com.github.tadukoo.util.ListUtil;
+import com.github.tadukoo.util.StringUtil;
+import com.github.tadukoo.util.logger.EasyLogger;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dependency Resolver figures out the full set of libraries a program needs and makes sure they're all available
+ * before it's started. The libraries of the {@link ProgramInfo} are expanded (any {@link InfoType#LIST LIST}
+ * entries are loaded with the {@link InfoListLoader} and their entries are used too), duplicates are removed
+ * (by SHA-256 if there is one, otherwise by name), and then all the libraries are fetched through the
+ * {@link LibraryStore} at the same time, limited by the parallelism setting. Since the libraries don't depend on
+ * each other to download, this makes the wait about as long as the slowest library instead of all of them added
+ * together.
+ * <br><br>
+ * If a programs folder is set, the program's own jar is brought up to date too (when its {@link ProgramInfo} has a
+ * {@link ProgramInfo#getProgramJar() program jar} entry), through the {@link LibraryStore}'s {@link JarUpdater}, so
+ * a new version of it can be patched instead of downloaded in full.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class DependencyResolver{
+	
+	/**
+	 * Dependency Resolver Builder is used to build a new {@link DependencyResolver}. It has the following
+	 * parameters:
+	 *
+	 * <table>
+	 *     <caption>Dependency Resolver Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>logger</td>
+	 *         <td>The {@link EasyLogger} to use for logging</td>
+	 *         <td>Defaults to {@code null}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>libraryStore</td>
+	 *         <td>The {@link LibraryStore} used to fetch libraries</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>infoListLoader</td>
+	 *         <td>The {@link InfoListLoader} used to load Info Lists that libraries reference</td>
+	 *         <td>Defaults to {@code null} (Info List references will fail to resolve)</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>programsFolder</td>
+	 *         <td>The folder program jars are kept in (for updating them)</td>
+	 *         <td>Defaults to {@code null} (program jars aren't updated)</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>parallelism</td>
+	 *         <td>The most libraries to fetch at the same time</td>
+	 *         <td>Defaults to {@link #DEFAULT_PARALLELISM}</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class DependencyResolverBuilder{
+		/** The {@link EasyLogger} to use for logging */
+		private EasyLogger logger = null;
+		/** The {@link LibraryStore} used to fetch libraries */
+		private LibraryStore libraryStore;
+		/** The {@link InfoListLoader} used to load Info Lists that libraries reference */
+		private InfoListLoader infoListLoader = null;
+		/** The folder program jars are kept in */
+		private Path programsFolder = null;
+		/** The most libraries to fetch at the same time */
+		private int parallelism = DEFAULT_PARALLELISM;
+		
+		// Not allowed to create Dependency Resolver Builder outside of Dependency Resolver
+		private DependencyResolverBuilder(){ }
+		
+		/**
+		 * @param logger The {@link EasyLogger} to use for logging
+		 * @return this, to continue building
+		 */
+		public DependencyResolverBuilder logger(EasyLogger logger){
+			this.logger = logger;
+			return this;
+		}
+		
+		/**
+		 * @param libraryStore The {@link LibraryStore} used to fetch libraries
+		 * @return this, to continue building
+		 */
+		public DependencyResolverBuilder libraryStore(LibraryStore libraryStore){
+			this.libraryStore = libraryStore;
+			return this;
+		}
+		
+		/**
+		 * @param infoListLoader The {@link InfoListLoader} used to load Info Lists that libraries reference
+		 * @return this, to continue building
+		 */
+		public DependencyResolverBuilder infoListLoader(InfoListLoader infoListLoader){
+			this.infoListLoader = infoListLoader;
+			return this;
+		}
+		
+		/**
+		 * @param programsFolder The folder program jars are kept in (for updating them)
+		 * @return this, to continue building
+		 */
+		public DependencyResolverBuilder programsFolder(Path programsFolder){
+			this.programsFolder = programsFolder;
+			return this;
+		}
+		
+		/**
+		 * @param parallelism The most libraries to fetch at the same time
+		 * @return this, to continue building
+		 */
+		public DependencyResolverBuilder parallelism(int parallelism){
+			this.parallelism = parallelism;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// Library Store is required
+			if(libraryStore == null){
+				errors.add("libraryStore is required");
+			}
+			// Parallelism must be positive
+			if(parallelism < 1){
+				errors.add("parallelism must be at least 1");
+			}
+			
+			// If we find errors, throw an exception
+			if(ListUtil.isNotBlank(errors)){
+				throw new IllegalArgumentException("The following errors happened in building a " +
+						"DependencyResolver: \n" + StringUtil.buildStringWithNewLines(errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link DependencyResolver} with the set parameters
+		 *
+		 * @return The newly built {@link DependencyResolver}
+		 */
+		public DependencyResolver build(){
+			checkForErrors();
+			return new DependencyResolver(logger, libraryStore, infoListLoader, programsFolder, parallelism);
+		}
+	}
+	
+	/** The default for the most libraries to fetch at the same time */
+	public static final int DEFAULT_PARALLELISM = 4;
+	/** How long to wait for cancelled fetches to stop after a library fails */
+	private static final long CANCEL_WAIT_SECONDS = 10;
+	
+	/** The {@link EasyLogger} to use for logging */
+	private final EasyLogger logger;
+	/** The {@link LibraryStore} used to fetch libraries */
+	private final LibraryStore libraryStore;
+	/** The {@link InfoListLoader} used to load Info Lists that libraries reference */
+	private final InfoListLoader infoListLoader;
+	/** The folder program jars are kept in */
+	private final Path programsFolder;
+	/** The most libraries to fetch at the same time */
+	private final int parallelism;
+	
+	/**
+	 * Creates a new Dependency Resolver with the given parameters
+	 *
+	 * @param logger The {@link EasyLogger} to use for logging
+	 * @param libraryStore The {@link LibraryStore} used to fetch libraries
+	 * @param infoListLoader The {@link InfoListLoader} used to load Info Lists that libraries reference
+	 * @param programsFolder The folder program jars are kept in
+	 * @param parallelism The most libraries to fetch at the same time
+	 */
+	private DependencyResolver(
+			EasyLogger logger, LibraryStore libraryStore, InfoListLoader infoListLoader, Path programsFolder,
+			int parallelism){
+		this.logger = logger;
+		this.libraryStore = libraryStore;
+		this.infoListLoader = infoListLoader;
+		this.programsFolder = programsFolder;
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * @return A new {@link DependencyResolverBuilder} to use to build a {@link DependencyResolver}
+	 */
+	public static DependencyResolverBuilder builder(){
+		return new DependencyResolverBuilder();
+	}
+	
+	/**
+	 * @return The {@link LibraryStore} used to fetch libraries
+	 */
+	public LibraryStore getLibraryStore(){
+		return libraryStore;
+	}
+	
+	/**
+	 * @return The {@link InfoListLoader} used to load Info Lists that libraries reference
+	 */
+	public InfoListLoader getInfoListLoader(){
+		return infoListLoader;
+	}
+	
+	/**
+	 * @return The folder program jars are kept in (null if program jars aren't updated)
+	 */
+	public Path getProgramsFolder(){
+		return programsFolder;
+	}
+	
+	/**
+	 * @return The most libraries to fetch at the same time
+	 */
+	public int getParallelism(){
+		return parallelism;
+	}
+	
+	/**
+	 * Figures out the full set of libraries needed by the given program, without fetching any of them
+	 *
+	 * @param programInfo The {@link ProgramInfo} of the program
+	 * @return The {@link ShortInfo}s of the libraries needed (with duplicates removed), in the order they were found
+	 * @throws IOException If an Info List can't be loaded
+	 */
+	public List<ShortInfo> collectLibraries(ProgramInfo programInfo) throws IOException{
+		Map<String, ShortInfo> libraries = new LinkedHashMap<>();
+		collectLibraries(programInfo.getLibraries(), libraries, new HashSet<>());
+		return new ArrayList<>(libraries.values());
+	}
+	
+	/**
+	 * Adds the given libraries to the map of libraries, expanding any Info Lists along the way
+	 *
+	 * @param infos The {@link ShortInfo}s to add
+	 * @param libraries The libraries found so far, by their {@link #dedupeKey(ShortInfo) dedupe key}
+	 * @param visitedLists The locations of the Info Lists that were already expanded (so cycles don't loop forever)
+	 * @throws IOException If an Info List can't be loaded
+	 */
+	private void collectLibraries(List<ShortInfo> infos, Map<String, ShortInfo> libraries, Set<String> visitedLists)
+			throws IOException{
+		if(infos == null){
+			return;
+		}
+		for(ShortInfo info: infos){
+			if(info.getType() == InfoType.LIST){
+				if(!visitedLists.add(info.getInfoLocation())){
+					continue;
+				}
+				if(infoListLoader == null){
+					throw new IOException("Can't resolve Info List " + info.getTitle() + " - no InfoListLoader set");
+				}
+				try{
+					collectLibraries(infoListLoader.loadInfoList(info).getList(), libraries, visitedLists);
+				}catch(IOException e){
+					throw e;
+				}catch(Throwable t){
+					throw new IOException("Failed to load Info List " + info.getTitle(), t);
+				}
+			}else{
+				libraries.putIfAbsent(dedupeKey(info), info);
+			}
+		}
+	}
+	
+	/**
+	 * @param library The {@link ShortInfo} of a library
+	 * @return The key used to tell whether two libraries are the same: the SHA-256 if there is one, otherwise
+	 * the name it's saved under
+	 */
+	private static String dedupeKey(ShortInfo library){
+		String sha256 = library.getSha256();
+		return StringUtil.isNotBlank(sha256) ? "sha-256:" + sha256.toLowerCase(Locale.ROOT):
+				"name:" + library.getInfoName();
+	}
+	
+	/**
+	 * Resolves all the libraries the given program needs: collects them, fetches any that are missing (at the
+	 * same time, up to the parallelism limit), and records them for the program in the {@link LibraryStore}.
+	 * The program jar is {@link #updateProgramJar updated} while the libraries are fetched. This returns once the
+	 * last library is verified. If any library fails, the rest are cancelled.
+	 *
+	 * @param programInfo The {@link ProgramInfo} of the program
+	 * @return The {@link ResolvedDependencies} with the paths and timings of the libraries
+	 * @throws IOException If any library can't be resolved
+	 */
+	public ResolvedDependencies resolve(ProgramInfo programInfo) throws IOException{
+		return resolve(programInfo, collectLibraries(programInfo));
+	}
+	
+	/**
+	 * Resolves the given libraries (already {@link #collectLibraries(ProgramInfo) collected}) for the given program:
+	 * fetches any that are missing (at the same time, up to the parallelism limit), and records them for the program
+	 * in the {@link LibraryStore}. The program jar is {@link #updateProgramJar updated} while the libraries are
+	 * fetched. This returns once the last library is verified. If any library fails, the rest are cancelled.
+	 *
+	 * @param programInfo The {@link ProgramInfo} of the program
+	 * @param libraries The {@link ShortInfo}s of the libraries the program needs
+	 * @return The {@link ResolvedDependencies} with the paths and timings of the libraries
+	 * @throws IOException If any library can't be resolved
+	 */
+	public ResolvedDependencies resolve(ProgramInfo programInfo, List<ShortInfo> libraries) throws IOException{
+		long start = System.nanoTime();
+		ArtifactTiming[] timings = new ArtifactTiming[libraries.size()];
+		
+		if(!libraries.isEmpty()){
+			AtomicInteger threadNum = new AtomicInteger();
+			ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, libraries.size()),
+					runnable -> {
+						Thread thread = new Thread(runnable,
+								"DependencyResolver-" + programInfo.getTitle() + "-" + threadNum.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					});
+			try{
+				ExecutorCompletionService<Integer> completionService = new ExecutorCompletionService<>(executor);
+				List<Future<Integer>> futures = new ArrayList<>();
+				for(int i = 0; i < libraries.size(); i++){
+					int index = i;
+					long queuedAt = System.nanoTime();
+					futures.add(completionService.submit(() -> {
+						timings[index] = fetch(libraries.get(index), queuedAt);
+						return index;
+					}));
+				}
+				
+				// The program jar is updated on this thread while the libraries are fetched
+				updateProgramJar(programInfo);
+				
+				// Wait for them all, giving up as soon as one fails
+				for(int i = 0; i < futures.size(); i++){
+					try{
+						completionService.take().get();
+					}catch(ExecutionException e){
+						futures.forEach(future -> future.cancel(true));
+						Throwable cause = e.getCause();
+						throw cause instanceof IOException ioe ? ioe:new IOException(cause);
+					}
+				}
+			}catch(InterruptedException e){
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while resolving libraries for " +
+						programInfo.getTitle());
+			}finally{
+				// Let cancelled fetches clean up their partial files before we return
+				executor.shutdownNow();
+				try{
+					executor.awaitTermination(CANCEL_WAIT_SECONDS, TimeUnit.SECONDS);
+				}catch(InterruptedException e){
+					Thread.currentThread().interrupt();
+				}
+			}
+		}else{
+			updateProgramJar(programInfo);
+		}
+		
+		libraryStore.register(programInfo.getTitle(), libraries);
+		List<Path> paths = new ArrayList<>();
+		for(ArtifactTiming timing: timings){
+			paths.add(timing.getPath());
+		}
+		ResolvedDependencies resolved = new ResolvedDependencies(paths, List.of(timings),
+				Duration.ofNanos(System.nanoTime() - start));
+		if(logger != null){
+			logger.logInfo("Resolved " + paths.size() + " libraries for " + programInfo.getTitle() + " in " +
+					resolved.getTotalTime().toMillis() + " ms");
+			for(ArtifactTiming timing: timings){
+				logger.logDebug(timing.toString());
+			}
+		}
+		return resolved;
+	}
+	
+	/**
+	 * Brings the jar of the given program up to date in the programs folder (patching the installed jar if it can),
+	 * if there's a programs folder and the {@link ProgramInfo} has a {@link ProgramInfo#getProgramJar() program jar}
+	 * entry
+	 *
+	 * @param programInfo The {@link ProgramInfo} of the program
+	 * @throws IOException If the program jar can't be downloaded or verified
+	 */
+	private void updateProgramJar(ProgramInfo programInfo) throws IOException{
+		ShortInfo programJar = programInfo.getProgramJar();
+		if(programsFolder == null || programJar == null){
+			return;
+		}
+		Path programJarPath = programsFolder.resolve(programInfo.getProgramJarName());
+		JarUpdater.UpdateResult result = libraryStore.getJarUpdater().update(programJar, programJarPath,
+				programJarPath);
+		if(logger != null && result.method() != JarUpdater.UpdateMethod.UP_TO_DATE){
+			logger.logInfo("Updated " + programInfo.getTitle() + " (" + result.method() + ", " +
+					result.bytesDownloaded() + " bytes downloaded)");
+		}
+	}
+	
+	/**
+	 * Fetches a single library through the {@link LibraryStore}, timing it
+	 *
+	 * @param library The {@link ShortInfo} of the library
+	 * @param queuedAt When the library was queued (from {@link System#nanoTime()})
+	 * @return The {@link ArtifactTiming} of the library
+	 * @throws IOException If anything goes wrong in fetching the library
+	 */
+	private ArtifactTiming fetch(ShortInfo library, long queuedAt) throws IOException{
+		long fetchStart = System.nanoTime();
+		String sha256 = library.getSha256();
+		boolean available = StringUtil.isNotBlank(sha256) ? libraryStore.contains(sha256):
+				libraryStore.getLibsFolder().resolve(library.getInfoName()).toFile().isFile();
+		Path path = libraryStore.fetch(library);
+		return new ArtifactTiming(library, path, !available, Duration.ofNanos(fetchStart - queuedAt),
+				Duration.ofNanos(System.nanoTime() - fetchStart));
+	}
+}
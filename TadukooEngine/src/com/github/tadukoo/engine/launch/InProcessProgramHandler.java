@@ -0,0 +1,540 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.engine.Program;
+import com.github.tadukoo.engine.ProgramLoadContext;
+import com.github.tadukoo.engine.StartupMetrics;
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.util.ListUtil;
+import com.github.tadukoo.util.StringUtil;
+import com.github.tadukoo.util.logger.EasyLogger;
+
+import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * In Process Program Handler launches programs inside the launcher's own JVM, through a {@link ProgramClassLoader}
+ * (reused between launches by a {@link ProgramClassLoaderCache}). The program's libraries are resolved first (see
+ * {@link ResolvingProgramHandler}).
+ * <br><br>
+ * Launched in the background, finding the {@link Program} class ({@link LaunchStage#CLASSLOAD CLASSLOAD}) and
+ * {@link Program#load(ProgramLoadContext) loading} it ({@link LaunchStage#LOAD LOAD}) happen on the launch's
+ * background thread, and only {@link Program#run(ProgramLoadContext)} ({@link LaunchStage#RUN RUN}) goes through
+ * the event dispatch thread.
+ * <br><br>
+ * Programs are given a {@link ProgramLoadContext} with a load executor shared by every program this handler starts,
+ * so they can load things in parallel without each making their own threads. The time of each startup phase (see
+ * {@link StartupMetrics}) is logged, reported to the {@link LaunchListener}, and (if there's a startup history
+ * folder) kept in a {@link StartupHistory} for each program, so a phase getting slower can be called out.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class InProcessProgramHandler extends ResolvingProgramHandler{
+	
+	/**
+	 * In Process Program Handler Builder is used to build a new {@link InProcessProgramHandler}. It has the
+	 * following parameters:
+	 *
+	 * <table>
+	 *     <caption>In Process Program Handler Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>dependencyResolver</td>
+	 *         <td>The {@link DependencyResolver} used to resolve the libraries of programs</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>classLoaderCache</td>
+	 *         <td>The {@link ProgramClassLoaderCache} to get class loaders from</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>programsFolder</td>
+	 *         <td>The folder program jars are in</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>launchExecutor</td>
+	 *         <td>The {@link Executor} background launches run on</td>
+	 *         <td>Defaults to {@code null} (the {@link LaunchHandle} default)</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>loadExecutor</td>
+	 *         <td>The {@link Executor} programs load things in parallel on (shared by every program)</td>
+	 *         <td>Defaults to a shared pool with a thread per core</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>startupHistoryFolder</td>
+	 *         <td>The folder to keep the {@link StartupHistory} of each program in</td>
+	 *         <td>Defaults to {@code null} (no history is kept)</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>firstFrameTimeout</td>
+	 *         <td>How long to wait for a program's first frame before recording its startup without it</td>
+	 *         <td>Defaults to {@link #DEFAULT_FIRST_FRAME_TIMEOUT}</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class InProcessProgramHandlerBuilder{
+		/** The {@link DependencyResolver} used to resolve the libraries of programs */
+		private DependencyResolver dependencyResolver;
+		/** The {@link ProgramClassLoaderCache} to get class loaders from */
+		private ProgramClassLoaderCache classLoaderCache;
+		/** The folder program jars are in */
+		private Path programsFolder;
+		/** The {@link Executor} background launches run on */
+		private Executor launchExecutor = null;
+		/** The {@link Executor} programs load things in parallel on */
+		private Executor loadExecutor = null;
+		/** The folder to keep the {@link StartupHistory} of each program in */
+		private Path startupHistoryFolder = null;
+		/** How long to wait for a program's first frame before recording its startup without it */
+		private Duration firstFrameTimeout = DEFAULT_FIRST_FRAME_TIMEOUT;
+		
+		// Not allowed to create In Process Program Handler Builder outside of In Process Program Handler
+		private InProcessProgramHandlerBuilder(){ }
+		
+		/**
+		 * @param dependencyResolver The {@link DependencyResolver} used to resolve the libraries of programs
+		 * @return this, to continue building
+		 */
+		public InProcessProgramHandlerBuilder dependencyResolver(DependencyResolver dependencyResolver){
+			this.dependencyResolver = dependencyResolver;
+			return this;
+		}
+		
+		/**
+		 * @param classLoaderCache The {@link ProgramClassLoaderCache} to get class loaders from
+		 * @return this, to continue building
+		 */
+		public InProcessProgramHandlerBuilder classLoaderCache(ProgramClassLoaderCache classLoaderCache){
+			this.classLoaderCache = classLoaderCache;
+			return this;
+		}
+		
+		/**
+		 * @param programsFolder The folder program jars are in
+		 * @return this, to continue building
+		 */
+		public InProcessProgramHandlerBuilder programsFolder(Path programsFolder){
+			this.programsFolder = programsFolder;
+			return this;
+		}
+		
+		/**
+		 * @param launchExecutor The {@link Executor} background launches run on
+		 * @return this, to continue building
+		 */
+		public InProcessProgramHandlerBuilder launchExecutor(Executor launchExecutor){
+			this.launchExecutor = launchExecutor;
+			return this;
+		}
+		
+		/**
+		 * @param loadExecutor The {@link Executor} programs load things in parallel on
+		 * @return this, to continue building
+		 */
+		public InProcessProgramHandlerBuilder loadExecutor(Executor loadExecutor){
+			this.loadExecutor = loadExecutor;
+			return this;
+		}
+		
+		/**
+		 * @param startupHistoryFolder The folder to keep the {@link StartupHistory} of each program in
+		 * @return this, to continue building
+		 */
+		public InProcessProgramHandlerBuilder startupHistoryFolder(Path startupHistoryFolder){
+			this.startupHistoryFolder = startupHistoryFolder;
+			return this;
+		}
+		
+		/**
+		 * @param firstFrameTimeout How long to wait for a program's first frame before recording its startup
+		 * without it
+		 * @return this, to continue building
+		 */
+		public InProcessProgramHandlerBuilder firstFrameTimeout(Duration firstFrameTimeout){
+			this.firstFrameTimeout = firstFrameTimeout;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// Dependency Resolver is required
+			if(dependencyResolver == null){
+				errors.add("dependencyResolver is required");
+			}
+			// Class Loader Cache is required
+			if(classLoaderCache == null){
+				errors.add("classLoaderCache is required");
+			}
+			// Programs Folder is required
+			if(programsFolder == null){
+				errors.add("programsFolder is required");
+			}
+			// First Frame Timeout must be positive
+			if(firstFrameTimeout == null || firstFrameTimeout.isNegative() || firstFrameTimeout.isZero()){
+				errors.add("firstFrameTimeout must be positive");
+			}
+			
+			// If we find errors, throw an exception
+			if(ListUtil.isNotBlank(errors)){
+				throw new IllegalArgumentException("The following errors happened in building an " +
+						"InProcessProgramHandler: \n" + StringUtil.buildStringWithNewLines(errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link InProcessProgramHandler} with the set parameters
+		 *
+		 * @return The newly built {@link InProcessProgramHandler}
+		 */
+		public InProcessProgramHandler build(){
+			checkForErrors();
+			return new InProcessProgramHandler(dependencyResolver, classLoaderCache, programsFolder, launchExecutor,
+					loadExecutor == null ? DEFAULT_LOAD_EXECUTOR:loadExecutor, startupHistoryFolder,
+					firstFrameTimeout);
+		}
+	}
+	
+	/** The default for how long to wait for a program's first frame before recording its startup without it */
+	public static final Duration DEFAULT_FIRST_FRAME_TIMEOUT = Duration.ofSeconds(30);
+	/** The extension of the {@link StartupHistory} files in the startup history folder */
+	private static final String HISTORY_EXTENSION = ".history";
+	/**
+	 * The default {@link Executor} programs load things in parallel on: a thread per core (made as they're needed
+	 * and dropped when they've been idle for a while), shared by every handler
+	 */
+	private static final Executor DEFAULT_LOAD_EXECUTOR = defaultLoadExecutor();
+	
+	/** The {@link ProgramClassLoaderCache} to get class loaders from */
+	private final ProgramClassLoaderCache classLoaderCache;
+	/** The folder program jars are in */
+	private final Path programsFolder;
+	/** The {@link Executor} programs load things in parallel on */
+	private final Executor loadExecutor;
+	/** The folder to keep the {@link StartupHistory} of each program in (may be null) */
+	private final Path startupHistoryFolder;
+	/** How long to wait for a program's first frame before recording its startup without it */
+	private final Duration firstFrameTimeout;
+	/** The {@link StartupHistory} of each program that's been launched, by its jar name */
+	private final Map<String, StartupHistory> histories = new HashMap<>();
+	
+	/**
+	 * Creates a new In Process Program Handler with the given parameters
+	 *
+	 * @param dependencyResolver The {@link DependencyResolver} used to resolve the libraries of programs
+	 * @param classLoaderCache The {@link ProgramClassLoaderCache} to get class loaders from
+	 * @param programsFolder The folder program jars are in
+	 * @param launchExecutor The {@link Executor} background launches run on (null for the {@link LaunchHandle}
+	 * default)
+	 * @param loadExecutor The {@link Executor} programs load things in parallel on
+	 * @param startupHistoryFolder The folder to keep the {@link StartupHistory} of each program in (may be null)
+	 * @param firstFrameTimeout How long to wait for a program's first frame before recording its startup without it
+	 */
+	private InProcessProgramHandler(
+			DependencyResolver dependencyResolver, ProgramClassLoaderCache classLoaderCache, Path programsFolder,
+			Executor launchExecutor, Executor loadExecutor, Path startupHistoryFolder, Duration firstFrameTimeout){
+		super(dependencyResolver, launchExecutor);
+		this.classLoaderCache = classLoaderCache;
+		this.programsFolder = programsFolder;
+		this.loadExecutor = loadExecutor;
+		this.startupHistoryFolder = startupHistoryFolder;
+		this.firstFrameTimeout = firstFrameTimeout;
+	}
+	
+	/**
+	 * @return A new {@link InProcessProgramHandlerBuilder} to use to build an {@link InProcessProgramHandler}
+	 */
+	public static InProcessProgramHandlerBuilder builder(){
+		return new InProcessProgramHandlerBuilder();
+	}
+	
+	/**
+	 * @return The default {@link Executor} programs load things in parallel on
+	 */
+	private static Executor defaultLoadExecutor(){
+		int cores = Runtime.getRuntime().availableProcessors();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(cores, cores, 30, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "Program Load");
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+	
+	/**
+	 * @return The {@link ProgramClassLoaderCache} to get class loaders from
+	 */
+	public ProgramClassLoaderCache getClassLoaderCache(){
+		return classLoaderCache;
+	}
+	
+	/**
+	 * @return The folder program jars are in
+	 */
+	public Path getProgramsFolder(){
+		return programsFolder;
+	}
+	
+	/**
+	 * @return The {@link Executor} programs load things in parallel on
+	 */
+	public Executor getLoadExecutor(){
+		return loadExecutor;
+	}
+	
+	/**
+	 * @return The folder to keep the {@link StartupHistory} of each program in (may be null)
+	 */
+	public Path getStartupHistoryFolder(){
+		return startupHistoryFolder;
+	}
+	
+	/**
+	 * @return How long to wait for a program's first frame before recording its startup without it
+	 */
+	public Duration getFirstFrameTimeout(){
+		return firstFrameTimeout;
+	}
+	
+	/**
+	 * Checks that the libraries (see {@link ResolvingProgramHandler#verify}) and the program jar itself are there
+	 *
+	 * @param programInfo The {@link ProgramInfo} for the program to be started
+	 * @param resolvedDependencies The {@link ResolvedDependencies} with the paths of the program's libraries
+	 * @throws Throwable If anything the program needs is missing
+	 */
+	@Override
+	protected void verify(ProgramInfo programInfo, ResolvedDependencies resolvedDependencies) throws Throwable{
+		super.verify(programInfo, resolvedDependencies);
+		Path programJar = programsFolder.resolve(programInfo.getProgramJarName());
+		if(!Files.isRegularFile(programJar)){
+			throw new IOException("Program jar " + programJar + " for " + programInfo.getTitle() + " is missing");
+		}
+	}
+	
+	/**
+	 * Finds the {@link Program} class of the given program and creates it
+	 *
+	 * @param programInfo The {@link ProgramInfo} for the program
+	 * @param resolvedDependencies The {@link ResolvedDependencies} with the paths of the program's libraries
+	 * @return A new instance of the {@link Program}
+	 * @throws Throwable If the {@link Program} can't be found or created
+	 */
+	private Program newProgram(ProgramInfo programInfo, ResolvedDependencies resolvedDependencies) throws Throwable{
+		return classLoaderCache.getLoader(programsFolder.resolve(programInfo.getProgramJarName()),
+				resolvedDependencies.getLibraryPaths()).newProgram();
+	}
+	
+	/**
+	 * Makes the {@link ProgramLoadContext} for starting the given program, with the program's logger (or a new one
+	 * if it doesn't have one)
+	 *
+	 * @param programInfo The {@link ProgramInfo} for the program
+	 * @param program The {@link Program} to be started
+	 * @param metrics The {@link StartupMetrics} to record the startup in
+	 * @return The {@link ProgramLoadContext} to start the program with
+	 */
+	private ProgramLoadContext createContext(ProgramInfo programInfo, Program program, StartupMetrics metrics){
+		EasyLogger logger = programInfo.getLogger();
+		if(logger == null){
+			logger = new EasyLogger(Logger.getLogger(program.getClass().getName()));
+		}
+		return new ProgramLoadContext(logger, loadExecutor, metrics);
+	}
+	
+	/**
+	 * {@link Program#load(ProgramLoadContext) Loads} the given program, recording the time as
+	 * {@link StartupMetrics#LOAD}
+	 *
+	 * @param programInfo The {@link ProgramInfo} for the program
+	 * @param program The {@link Program} to load
+	 * @param context The {@link ProgramLoadContext} to load the program with
+	 * @throws Throwable If the program fails to load
+	 */
+	private static void loadProgram(ProgramInfo programInfo, Program program, ProgramLoadContext context)
+			throws Throwable{
+		if(!context.getMetrics().time(StartupMetrics.LOAD, () -> program.load(context))){
+			throw new IOException("Failed to load " + programInfo.getTitle());
+		}
+	}
+	
+	/**
+	 * Once the program's first frame is visible (or we've given up waiting on it), logs how long each startup
+	 * phase took, records them in the program's {@link StartupHistory} (if there's a startup history folder), and
+	 * reports them to the launch (if there is one)
+	 *
+	 * @param programInfo The {@link ProgramInfo} for the program that was started
+	 * @param context The {@link ProgramLoadContext} the program was started with
+	 * @param handle The {@link LaunchHandle} of the launch (may be null)
+	 */
+	private void recordStartup(ProgramInfo programInfo, ProgramLoadContext context, LaunchHandle handle){
+		StartupMetrics metrics = context.getMetrics();
+		metrics.getFirstFrame().copy()
+				.completeOnTimeout(null, firstFrameTimeout.toMillis(), TimeUnit.MILLISECONDS)
+				.thenRunAsync(() -> {
+					EasyLogger logger = context.getLogger();
+					Map<String, Duration> phases = metrics.getPhases();
+					List<String> regressions = new ArrayList<>();
+					if(startupHistoryFolder != null){
+						try{
+							StartupHistory history = getHistory(programInfo);
+							for(String phase: history.findRegressions(phases)){
+								logger.logWarning(programInfo.getTitle() + " startup regressed: " +
+										history.describeRegression(phase, phases.get(phase)));
+							}
+							regressions = history.record(phases);
+						}catch(IOException e){
+							logger.logWarning("Failed to record startup of " + programInfo.getTitle(), e);
+						}
+					}
+					logger.logInfo(describeStartup(programInfo, phases));
+					if(handle != null){
+						handle.reportStartup(phases, regressions);
+					}
+				}, loadExecutor);
+	}
+	
+	/**
+	 * Gets the {@link StartupHistory} of the given program, loading it the first time it's needed
+	 *
+	 * @param programInfo The {@link ProgramInfo} for the program
+	 * @return The {@link StartupHistory} of the program
+	 * @throws IOException If anything goes wrong in loading the history
+	 */
+	private synchronized StartupHistory getHistory(ProgramInfo programInfo) throws IOException{
+		String jarName = programInfo.getProgramJarName();
+		StartupHistory history = histories.get(jarName);
+		if(history == null){
+			Files.createDirectories(startupHistoryFolder);
+			history = StartupHistory.load(startupHistoryFolder.resolve(jarName + HISTORY_EXTENSION));
+			histories.put(jarName, history);
+		}
+		return history;
+	}
+	
+	/**
+	 * @param programInfo The {@link ProgramInfo} for the program that was started
+	 * @param phases How long each phase of the startup took
+	 * @return A one line summary of the startup, e.g. "Started Test: classload 12 ms, load 300 ms"
+	 */
+	private static String describeStartup(ProgramInfo programInfo, Map<String, Duration> phases){
+		List<String> descriptions = new ArrayList<>();
+		for(Map.Entry<String, Duration> phase: phases.entrySet()){
+			descriptions.add(phase.getKey() + " " + phase.getValue().toMillis() + " ms");
+		}
+		return "Started " + programInfo.getTitle() + ": " + String.join(", ", descriptions);
+	}
+	
+	/** {@inheritDoc} */
+	@Override
+	protected void startProgram(ProgramInfo programInfo, ResolvedDependencies resolvedDependencies)
+			throws Throwable{
+		StartupMetrics metrics = new StartupMetrics();
+		Program program = metrics.time(StartupMetrics.CLASSLOAD, () -> newProgram(programInfo, resolvedDependencies));
+		ProgramLoadContext context = createContext(programInfo, program, metrics);
+		loadProgram(programInfo, program, context);
+		SwingUtilities.invokeLater(() -> program.run(context));
+		recordStartup(programInfo, context, null);
+	}
+	
+	/** {@inheritDoc} */
+	@Override
+	protected void startProgram(ProgramInfo programInfo, ResolvedDependencies resolvedDependencies,
+	                            LaunchHandle handle) throws Throwable{
+		StartupMetrics metrics = new StartupMetrics();
+		Program program = handle.runStage(LaunchStage.CLASSLOAD, () ->
+				metrics.time(StartupMetrics.CLASSLOAD, () -> newProgram(programInfo, resolvedDependencies)));
+		ProgramLoadContext context = createContext(programInfo, program, metrics);
+		handle.runStage(LaunchStage.LOAD, () -> {
+			loadProgram(programInfo, program, context);
+			return null;
+		});
+		handle.runStageOnEventThread(LaunchStage.RUN, () -> program.run(context));
+		recordStartup(programInfo, context, handle);
+	}
+	
+	/**
+	 * Does everything to start the given program except {@link Program#run(ProgramLoadContext) running} it: resolves
+	 * and verifies its libraries, finds its {@link Program} class, and {@link Program#load(ProgramLoadContext) loads}
+	 * it. This is used to get programs ready ahead of time (see {@link WarmProgramPool}), so that launching them only
+	 * has to {@link #runPrepared run} them.
+	 *
+	 * @param programInfo The {@link ProgramInfo} for the program to prepare
+	 * @return The {@link PreparedProgram}
+	 * @throws Throwable If anything goes wrong in preparing the program
+	 */
+	public PreparedProgram prepareProgram(ProgramInfo programInfo) throws Throwable{
+		ResolvedDependencies resolvedDependencies = getDependencyResolver().resolve(programInfo);
+		verify(programInfo, resolvedDependencies);
+		StartupMetrics metrics = new StartupMetrics();
+		Program program = metrics.time(StartupMetrics.CLASSLOAD, () -> newProgram(programInfo, resolvedDependencies));
+		ProgramLoadContext context = createContext(programInfo, program, metrics);
+		loadProgram(programInfo, program, context);
+		
+		long footprint = Files.size(programsFolder.resolve(programInfo.getProgramJarName()));
+		for(Path libraryPath: resolvedDependencies.getLibraryPaths()){
+			footprint += Files.size(libraryPath);
+		}
+		return new PreparedProgram(programInfo, program, context, footprint);
+	}
+	
+	/**
+	 * {@link Program#run(ProgramLoadContext) Runs} a {@link PreparedProgram} on the event dispatch thread
+	 *
+	 * @param preparedProgram The {@link PreparedProgram} to run
+	 */
+	public void runPrepared(PreparedProgram preparedProgram){
+		Program program = preparedProgram.getProgram();
+		ProgramLoadContext context = preparedProgram.getContext();
+		SwingUtilities.invokeLater(() -> program.run(context));
+		recordStartup(preparedProgram.getProgramInfo(), context, null);
+	}
+	
+	/**
+	 * {@link Program#run(ProgramLoadContext) Runs} a {@link PreparedProgram} as a background launch, which only has
+	 * the {@link LaunchStage#RUN RUN} stage (everything else was done when it was prepared)
+	 *
+	 * @param preparedProgram The {@link PreparedProgram} to run
+	 * @param listener The {@link LaunchListener} to notify of the launch's progress
+	 * @return The {@link LaunchHandle} used to follow or cancel the launch
+	 */
+	public LaunchHandle launchPreparedAsync(PreparedProgram preparedProgram, LaunchListener listener){
+		ProgramInfo programInfo = preparedProgram.getProgramInfo();
+		Program program = preparedProgram.getProgram();
+		ProgramLoadContext context = preparedProgram.getContext();
+		LaunchHandle.LaunchPipeline pipeline = handle -> {
+			handle.runStageOnEventThread(LaunchStage.RUN, () -> program.run(context));
+			recordStartup(programInfo, context, handle);
+		};
+		return startLaunch(programInfo, listener, pipeline);
+	}
+}
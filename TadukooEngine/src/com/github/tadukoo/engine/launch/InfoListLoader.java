@@ -0,0 +1,24 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.engine.info.InfoList;
+import com.github.tadukoo.engine.info.ShortInfo;
+
+/**
+ * Info List Loader is used to load the {@link InfoList} a {@link ShortInfo} (of type
+ * {@link com.github.tadukoo.engine.info.InfoType#LIST LIST}) points to.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+@FunctionalInterface
+public interface InfoListLoader{
+	
+	/**
+	 * Loads the {@link InfoList} the given {@link ShortInfo} points to
+	 *
+	 * @param infoListInfo The {@link ShortInfo} for the Info List
+	 * @return The loaded {@link InfoList}
+	 * @throws Throwable If anything goes wrong in loading the Info List
+	 */
+	InfoList loadInfoList(ShortInfo infoListInfo) throws Throwable;
+}
@@ -0,0 +1,225 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.util.ListUtil;
+import com.github.tadukoo.util.StringUtil;
+import com.github.tadukoo.util.logger.EasyLogger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Launch Cache keeps the things that make a program start faster the next time it's launched, in a folder per
+ * program: a Class Data Sharing archive of the classes it loads (so the JVM can map them in already parsed and
+ * verified, instead of loading them from the jars again) and the {@link ProgramClassLoader} index of its jars
+ * (along with the name of its {@link com.github.tadukoo.engine.Program Program} class).
+ * <br><br>
+ * Each program's folder is named by a hash of its jar name and the names of its libraries. The size and last
+ * modified time of every jar is saved alongside, and if any of them changed the archive and index are thrown away
+ * so they're made again.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class LaunchCache{
+	
+	/**
+	 * Launch Cache Builder is used to build a new {@link LaunchCache}. It has the following parameters:
+	 *
+	 * <table>
+	 *     <caption>Launch Cache Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>logger</td>
+	 *         <td>The {@link EasyLogger} to use for logging</td>
+	 *         <td>Defaults to {@code null}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>cacheFolder</td>
+	 *         <td>The folder to keep the cache in</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class LaunchCacheBuilder{
+		/** The {@link EasyLogger} to use for logging */
+		private EasyLogger logger = null;
+		/** The folder to keep the cache in */
+		private Path cacheFolder;
+		
+		// Not allowed to create Launch Cache Builder outside of Launch Cache
+		private LaunchCacheBuilder(){ }
+		
+		/**
+		 * @param logger The {@link EasyLogger} to use for logging
+		 * @return this, to continue building
+		 */
+		public LaunchCacheBuilder logger(EasyLogger logger){
+			this.logger = logger;
+			return this;
+		}
+		
+		/**
+		 * @param cacheFolder The folder to keep the cache in
+		 * @return this, to continue building
+		 */
+		public LaunchCacheBuilder cacheFolder(Path cacheFolder){
+			this.cacheFolder = cacheFolder;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// Cache Folder is required
+			if(cacheFolder == null){
+				errors.add("cacheFolder is required");
+			}
+			
+			// If we find errors, throw an exception
+			if(ListUtil.isNotBlank(errors)){
+				throw new IllegalArgumentException("The following errors happened in building a LaunchCache: \n" +
+						StringUtil.buildStringWithNewLines(errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link LaunchCache} with the set parameters
+		 *
+		 * @return The newly built {@link LaunchCache}
+		 */
+		public LaunchCache build(){
+			checkForErrors();
+			return new LaunchCache(logger, cacheFolder);
+		}
+	}
+	
+	/** The name of the file (in a program's folder) holding the fingerprints of its jars */
+	private static final String FINGERPRINTS = "fingerprints.properties";
+	
+	/** The {@link EasyLogger} to use for logging */
+	private final EasyLogger logger;
+	/** The folder to keep the cache in */
+	private final Path cacheFolder;
+	
+	/**
+	 * Creates a new Launch Cache with the given parameters
+	 *
+	 * @param logger The {@link EasyLogger} to use for logging
+	 * @param cacheFolder The folder to keep the cache in
+	 */
+	private LaunchCache(EasyLogger logger, Path cacheFolder){
+		this.logger = logger;
+		this.cacheFolder = cacheFolder;
+	}
+	
+	/**
+	 * @return A new {@link LaunchCacheBuilder} to use to build a {@link LaunchCache}
+	 */
+	public static LaunchCacheBuilder builder(){
+		return new LaunchCacheBuilder();
+	}
+	
+	/**
+	 * @return The folder to keep the cache in
+	 */
+	public Path getCacheFolder(){
+		return cacheFolder;
+	}
+	
+	/**
+	 * Grabs the cache entry for the given program, throwing away its archive and index if any of its jars changed
+	 * since they were made
+	 *
+	 * @param programJar The jar of the program
+	 * @param libraryJars The jars of the program's libraries
+	 * @return The {@link LaunchCacheEntry} for the program
+	 * @throws IOException If anything goes wrong in reading or updating the cache
+	 */
+	public synchronized LaunchCacheEntry getEntry(Path programJar, List<Path> libraryJars) throws IOException{
+		List<Path> jars = new ArrayList<>();
+		jars.add(programJar.toAbsolutePath().normalize());
+		for(Path libraryJar: libraryJars){
+			jars.add(libraryJar.toAbsolutePath().normalize());
+		}
+		Path folder = cacheFolder.resolve(keyFor(jars));
+		Files.createDirectories(folder);
+		LaunchCacheEntry entry = new LaunchCacheEntry(folder, jars);
+		
+		// Check the fingerprints of the jars against the saved ones
+		Properties fingerprints = fingerprintsOf(jars);
+		Path fingerprintsPath = folder.resolve(FINGERPRINTS);
+		Properties savedFingerprints = new Properties();
+		if(Files.isRegularFile(fingerprintsPath)){
+			try(Reader reader = Files.newBufferedReader(fingerprintsPath, StandardCharsets.UTF_8)){
+				savedFingerprints.load(reader);
+			}
+		}
+		if(!fingerprints.equals(savedFingerprints)){
+			if(!savedFingerprints.isEmpty() && logger != null){
+				logger.logInfo("Jars of " + programJar.getFileName() + " changed, clearing its launch cache");
+			}
+			entry.invalidate();
+			try(Writer writer = Files.newBufferedWriter(fingerprintsPath, StandardCharsets.UTF_8)){
+				fingerprints.store(writer, null);
+			}
+		}
+		return entry;
+	}
+	
+	/**
+	 * @param jars The jars of a program (program jar first)
+	 * @return The name of the program's cache folder: the SHA-256 of the program jar's name followed by the
+	 * names of its libraries
+	 */
+	private static String keyFor(List<Path> jars){
+		StringBuilder key = new StringBuilder(jars.get(0).getFileName().toString());
+		jars.subList(1, jars.size()).stream()
+				.map(jar -> jar.getFileName().toString())
+				.sorted()
+				.forEach(name -> key.append('\n').append(name));
+		try{
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(key.toString().getBytes(StandardCharsets.UTF_8)));
+		}catch(NoSuchAlgorithmException e){
+			// Every Java implementation is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * @param jars The jars of a program (program jar first)
+	 * @return The fingerprints (path, size, and last modified time) of the jars
+	 * @throws IOException If any of the jars can't be read
+	 */
+	private static Properties fingerprintsOf(List<Path> jars) throws IOException{
+		Properties fingerprints = new Properties();
+		for(int i = 0; i < jars.size(); i++){
+			Path jar = jars.get(i);
+			fingerprints.setProperty("jar." + i,
+					jar + "|" + Files.size(jar) + "|" + Files.getLastModifiedTime(jar).toMillis());
+		}
+		return fingerprints;
+	}
+}
@@ -0,0 +1,232 @@
+package com.github.tadukoo.engine.launch;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Launch Cache Entry is the {@link LaunchCache} folder of a single program. It holds the program's Class Data
+ * Sharing archive and its saved {@link ProgramClassLoader} index, and builds the command to start the program in
+ * its own JVM with the archive (or to make the archive, if there isn't one yet).
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class LaunchCacheEntry{
+	/** The name of the Class Data Sharing archive file */
+	private static final String ARCHIVE = "classes.jsa";
+	/** The name of the class index file */
+	private static final String CLASS_INDEX = "class-index.txt";
+	/** The name of the file of startup times */
+	private static final String STARTUP_TIMES = "startup-times.txt";
+	/** The name of the file of startup phase times */
+	private static final String STARTUP_HISTORY = "startup-history.txt";
+	
+	/** The folder of the entry */
+	private final Path folder;
+	/** The jars of the program (program jar first) */
+	private final List<Path> jars;
+	
+	/**
+	 * Creates a new Launch Cache Entry with the given parameters
+	 *
+	 * @param folder The folder of the entry
+	 * @param jars The jars of the program (program jar first)
+	 */
+	LaunchCacheEntry(Path folder, List<Path> jars){
+		this.folder = folder;
+		this.jars = List.copyOf(jars);
+	}
+	
+	/**
+	 * @return The folder of the entry
+	 */
+	public Path getFolder(){
+		return folder;
+	}
+	
+	/**
+	 * @return The jars of the program (program jar first)
+	 */
+	public List<Path> getJars(){
+		return jars;
+	}
+	
+	/**
+	 * @return The {@link Path} of the program's Class Data Sharing archive
+	 */
+	public Path getArchivePath(){
+		return folder.resolve(ARCHIVE);
+	}
+	
+	/**
+	 * @return Whether the program has a Class Data Sharing archive yet
+	 */
+	public boolean hasArchive(){
+		return Files.isRegularFile(getArchivePath());
+	}
+	
+	/**
+	 * @return The {@link Path} of the file the program's startup times are recorded in
+	 */
+	public Path getStartupTimesPath(){
+		return folder.resolve(STARTUP_TIMES);
+	}
+	
+	/**
+	 * @return The {@link Path} of the {@link StartupHistory} file the program's startup phase times are recorded in
+	 */
+	public Path getStartupHistoryPath(){
+		return folder.resolve(STARTUP_HISTORY);
+	}
+	
+	/**
+	 * @return The {@link StartupReport} of the program's launches
+	 * @throws IOException If anything goes wrong in reading the startup times
+	 */
+	public StartupReport getStartupReport() throws IOException{
+		return StartupReport.load(getStartupTimesPath());
+	}
+	
+	/**
+	 * Throws away the archive and class index (used when the program's jars changed)
+	 *
+	 * @throws IOException If anything goes wrong in deleting them
+	 */
+	public void invalidate() throws IOException{
+		Files.deleteIfExists(getArchivePath());
+		Files.deleteIfExists(folder.resolve(CLASS_INDEX));
+	}
+	
+	/**
+	 * @return The name of the program's {@link com.github.tadukoo.engine.Program Program} class from the saved
+	 * class index, or null if there is no saved index
+	 * @throws IOException If anything goes wrong in reading the index
+	 */
+	public String getProgramClassName() throws IOException{
+		Path indexPath = folder.resolve(CLASS_INDEX);
+		if(!Files.isRegularFile(indexPath)){
+			return null;
+		}
+		try(BufferedReader reader = Files.newBufferedReader(indexPath, StandardCharsets.UTF_8)){
+			return reader.readLine();
+		}
+	}
+	
+	/**
+	 * @return The saved {@link ProgramClassLoader} index, or null if there is none (or it's broken)
+	 * @throws IOException If anything goes wrong in reading the index
+	 */
+	public Map<String, Integer> loadClassIndex() throws IOException{
+		Path indexPath = folder.resolve(CLASS_INDEX);
+		if(!Files.isRegularFile(indexPath)){
+			return null;
+		}
+		Map<String, Integer> index = new HashMap<>();
+		try(BufferedReader reader = Files.newBufferedReader(indexPath, StandardCharsets.UTF_8)){
+			// First line is the Program class name
+			reader.readLine();
+			String line;
+			while((line = reader.readLine()) != null){
+				int space = line.indexOf(' ');
+				int jarNum = Integer.parseInt(line.substring(0, space));
+				if(jarNum < 0 || jarNum >= jars.size()){
+					return null;
+				}
+				index.put(line.substring(space + 1), jarNum);
+			}
+		}catch(NumberFormatException | IndexOutOfBoundsException e){
+			return null;
+		}
+		return index;
+	}
+	
+	/**
+	 * Saves the given {@link ProgramClassLoader} index and Program class name
+	 *
+	 * @param programClassName The name of the program's {@link com.github.tadukoo.engine.Program Program} class
+	 * @param index The {@link ProgramClassLoader} index of the program's jars
+	 * @throws IOException If anything goes wrong in saving the index
+	 */
+	public void saveClassIndex(String programClassName, Map<String, Integer> index) throws IOException{
+		Path indexPath = folder.resolve(CLASS_INDEX);
+		Path tempPath = folder.resolve(CLASS_INDEX + ".tmp");
+		try(BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)){
+			writer.write(programClassName);
+			writer.newLine();
+			for(Map.Entry<String, Integer> entry: index.entrySet()){
+				writer.write(entry.getValue() + " " + entry.getKey());
+				writer.newLine();
+			}
+		}
+		try{
+			Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}catch(AtomicMoveNotSupportedException e){
+			Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+	
+	/**
+	 * Builds a {@link ProgramClassLoader} for the program, using the saved class index if there is one (and saving
+	 * one if there isn't)
+	 *
+	 * @return The {@link ProgramClassLoader} for the program
+	 * @throws IOException If anything goes wrong in opening the jars or using the index
+	 */
+	public ProgramClassLoader buildClassLoader() throws IOException{
+		Map<String, Integer> index = loadClassIndex();
+		ProgramClassLoader loader = ProgramClassLoader.builder()
+				.programJar(jars.get(0))
+				.libraryJars(jars.subList(1, jars.size()))
+				.classIndex(index)
+				.build();
+		if(index == null){
+			saveClassIndex(loader.findProgramClassName(), loader.getIndex());
+		}
+		return loader;
+	}
+	
+	/**
+	 * Builds the command to start the program in its own JVM. If the program has an archive, the JVM uses it;
+	 * otherwise the JVM is told to make it when it exits, so the next launch can use it.
+	 *
+	 * @param javaExecutable The {@link Path} of the java executable to use
+	 * @param classPath Anything else that needs to be on the class path (e.g. the engine and its libraries)
+	 * @param programClassName The name of the program's {@link com.github.tadukoo.engine.Program Program} class
+	 * @return The command to start the program
+	 */
+	public List<String> buildCommand(Path javaExecutable, List<Path> classPath, String programClassName){
+		boolean cached = hasArchive();
+		List<String> command = new ArrayList<>();
+		command.add(javaExecutable.toString());
+		command.add(cached ? "-XX:SharedArchiveFile=" + getArchivePath():
+				"-XX:ArchiveClassesAtExit=" + getArchivePath());
+		command.add("-D" + ProgramMain.START_PROPERTY + "=" + System.currentTimeMillis());
+		command.add("-D" + ProgramMain.CACHED_PROPERTY + "=" + cached);
+		command.add("-D" + ProgramMain.REPORT_PROPERTY + "=" + getStartupTimesPath());
+		command.add("-D" + ProgramMain.HISTORY_PROPERTY + "=" + getStartupHistoryPath());
+		
+		// Jars of the program come first, so they win over anything else on the class path
+		List<String> classPathEntries = new ArrayList<>();
+		for(Path jar: jars){
+			classPathEntries.add(jar.toString());
+		}
+		for(Path entry: classPath){
+			classPathEntries.add(entry.toString());
+		}
+		command.add("-cp");
+		command.add(String.join(System.getProperty("path.separator"), classPathEntries));
+		command.add(ProgramMain.class.getName());
+		command.add(programClassName);
+		return command;
+	}
+}
@@ -0,0 +1,328 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.util.logger.EasyLogger;
+
+import javax.swing.SwingUtilities;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Launch Handle is used to follow (and cancel) a launch that's running in the background. The launch itself is a
+ * {@link LaunchPipeline} made of {@link LaunchStage stages}, each run through {@link #runStage}, so the handle
+ * knows which stage it's in and can tell its {@link LaunchListener} as each one starts and finishes.
+ * <br><br>
+ * Cancelling a launch interrupts the stage that's running (so e.g. downloads stop) and keeps any later stages from
+ * starting. {@link #getFuture()} is completed when the launch finishes, fails, or is cancelled (after the
+ * {@link LaunchListener} is told about it).
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class LaunchHandle{
+	
+	/**
+	 * Launch Pipeline is the work done in a launch, made of calls to {@link LaunchHandle#runStage} (or
+	 * {@link LaunchHandle#runStageOnEventThread}).
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	@FunctionalInterface
+	public interface LaunchPipeline{
+		
+		/**
+		 * Runs the launch
+		 *
+		 * @param handle The {@link LaunchHandle} to run the stages through
+		 * @throws Throwable If anything goes wrong in the launch
+		 */
+		void run(LaunchHandle handle) throws Throwable;
+	}
+	
+	/**
+	 * Stage Work is the work done in a single stage of a launch.
+	 *
+	 * @param <T> The type of result the stage gives
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	@FunctionalInterface
+	public interface StageWork<T>{
+		
+		/**
+		 * Does the work of the stage
+		 *
+		 * @return The result of the stage
+		 * @throws Throwable If anything goes wrong in the stage
+		 */
+		T run() throws Throwable;
+	}
+	
+	/** The number of the next thread made for the default executor */
+	private static final AtomicInteger THREAD_NUM = new AtomicInteger();
+	/** The default {@link Executor} launches are run on (a thread per running launch, reused between launches) */
+	private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "Launch-" + THREAD_NUM.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+	
+	/** The {@link ProgramInfo} of the program being launched */
+	private final ProgramInfo programInfo;
+	/** The {@link LaunchListener} to notify of progress */
+	private final LaunchListener listener;
+	/** Completed when the launch finishes, fails, or is cancelled */
+	private final CompletableFuture<Void> future = new CompletableFuture<>();
+	/** The {@link LaunchStage} the launch is in (null before the first stage starts) */
+	private volatile LaunchStage stage = null;
+	/** The thread running the current stage (null between stages) */
+	private Thread stageThread = null;
+	/** Whether the launch was cancelled */
+	private volatile boolean cancelled = false;
+	/** Whether the launch has ended (finished, failed, or cancelled) */
+	private boolean ended = false;
+	
+	/**
+	 * Creates a new Launch Handle
+	 *
+	 * @param programInfo The {@link ProgramInfo} of the program being launched
+	 * @param listener The {@link LaunchListener} to notify of progress
+	 */
+	private LaunchHandle(ProgramInfo programInfo, LaunchListener listener){
+		this.programInfo = programInfo;
+		this.listener = listener;
+	}
+	
+	/**
+	 * Starts the given launch on the default background executor
+	 *
+	 * @param programInfo The {@link ProgramInfo} of the program being launched
+	 * @param listener The {@link LaunchListener} to notify of progress
+	 * @param pipeline The {@link LaunchPipeline} to run
+	 * @return The {@link LaunchHandle} for the launch
+	 */
+	public static LaunchHandle start(ProgramInfo programInfo, LaunchListener listener, LaunchPipeline pipeline){
+		return start(programInfo, listener, DEFAULT_EXECUTOR, pipeline);
+	}
+	
+	/**
+	 * Starts the given launch on the given executor
+	 *
+	 * @param programInfo The {@link ProgramInfo} of the program being launched
+	 * @param listener The {@link LaunchListener} to notify of progress
+	 * @param executor The {@link Executor} to run the launch on
+	 * @param pipeline The {@link LaunchPipeline} to run
+	 * @return The {@link LaunchHandle} for the launch
+	 */
+	public static LaunchHandle start(
+			ProgramInfo programInfo, LaunchListener listener, Executor executor, LaunchPipeline pipeline){
+		LaunchHandle handle = new LaunchHandle(programInfo, listener);
+		try{
+			executor.execute(() -> handle.runPipeline(pipeline));
+		}catch(RejectedExecutionException e){
+			handle.fail(e);
+		}
+		return handle;
+	}
+	
+	/**
+	 * @return The {@link ProgramInfo} of the program being launched
+	 */
+	public ProgramInfo getProgramInfo(){
+		return programInfo;
+	}
+	
+	/**
+	 * @return The {@link LaunchStage} the launch is in (or was in when it ended), or null if no stage has started
+	 */
+	public LaunchStage getStage(){
+		return stage;
+	}
+	
+	/**
+	 * @return A {@link CompletableFuture} completed when the launch finishes (or completed exceptionally when it
+	 * fails or is cancelled) - use {@link #cancel()} rather than cancelling this, so the running stage is stopped
+	 */
+	public CompletableFuture<Void> getFuture(){
+		return future;
+	}
+	
+	/**
+	 * @return Whether the launch is over (finished, failed, or cancelled)
+	 */
+	public boolean isDone(){
+		return future.isDone();
+	}
+	
+	/**
+	 * @return Whether the launch was cancelled
+	 */
+	public boolean isCancelled(){
+		return cancelled;
+	}
+	
+	/**
+	 * Cancels the launch, interrupting the stage that's running and keeping any later stages from starting
+	 *
+	 * @return true if the launch was cancelled, false if it was already over
+	 */
+	public boolean cancel(){
+		synchronized(this){
+			if(ended){
+				return false;
+			}
+			ended = true;
+			cancelled = true;
+			if(stageThread != null){
+				stageThread.interrupt();
+			}
+		}
+		listener.launchCancelled(programInfo, stage);
+		future.cancel(false);
+		return true;
+	}
+	
+	/**
+	 * Tells the {@link LaunchListener} how long each phase of the program's startup took. This can happen after the
+	 * launch has finished, since the program's first frame can show up after it's run.
+	 *
+	 * @param phases How long each phase of the startup took
+	 * @param regressions The phases that took much longer than they usually do
+	 */
+	public void reportStartup(Map<String, Duration> phases, List<String> regressions){
+		listener.startupMeasured(programInfo, phases, regressions);
+	}
+	
+	/**
+	 * Runs a stage of the launch on the current (background) thread
+	 *
+	 * @param stage The {@link LaunchStage} being run
+	 * @param work The {@link StageWork} of the stage
+	 * @param <T> The type of result the stage gives
+	 * @return The result of the stage
+	 * @throws CancellationException If the launch was cancelled before or during the stage
+	 * @throws Throwable If anything goes wrong in the stage
+	 */
+	public <T> T runStage(LaunchStage stage, StageWork<T> work) throws Throwable{
+		synchronized(this){
+			if(cancelled){
+				throw new CancellationException("Launch of " + programInfo.getTitle() + " was cancelled");
+			}
+			this.stage = stage;
+			stageThread = Thread.currentThread();
+		}
+		long start = System.nanoTime();
+		T result;
+		boolean cancelledDuringStage;
+		try{
+			listener.stageStarted(programInfo, stage);
+			result = work.run();
+		}finally{
+			synchronized(this){
+				stageThread = null;
+				cancelledDuringStage = cancelled;
+				// Don't leave an interrupt from cancelling behind for whatever runs on this thread next
+				if(cancelled){
+					Thread.interrupted();
+				}
+			}
+		}
+		// The work may have swallowed the interrupt, but the launch was still cancelled
+		if(cancelledDuringStage){
+			throw new CancellationException("Launch of " + programInfo.getTitle() + " was cancelled");
+		}
+		listener.stageFinished(programInfo, stage, Duration.ofNanos(System.nanoTime() - start));
+		return result;
+	}
+	
+	/**
+	 * Runs a stage of the launch on the event dispatch thread (through {@link SwingUtilities#invokeLater}), waiting
+	 * for it on the current (background) thread. This is only for work that has to touch Swing, like running the
+	 * program.
+	 *
+	 * @param stage The {@link LaunchStage} being run
+	 * @param work The work of the stage
+	 * @throws CancellationException If the launch was cancelled before the stage could start
+	 * @throws Throwable If anything goes wrong in the stage
+	 */
+	public void runStageOnEventThread(LaunchStage stage, Runnable work) throws Throwable{
+		runStage(stage, () -> {
+			CompletableFuture<Void> done = new CompletableFuture<>();
+			SwingUtilities.invokeLater(() -> {
+				if(cancelled){
+					done.cancel(false);
+					return;
+				}
+				try{
+					work.run();
+					done.complete(null);
+				}catch(Throwable t){
+					done.completeExceptionally(t);
+				}
+			});
+			try{
+				return done.get();
+			}catch(ExecutionException e){
+				throw e.getCause();
+			}
+		});
+	}
+	
+	/**
+	 * Runs the given pipeline, completing the future based on how it went
+	 *
+	 * @param pipeline The {@link LaunchPipeline} to run
+	 */
+	private void runPipeline(LaunchPipeline pipeline){
+		try{
+			pipeline.run(this);
+			if(end()){
+				listener.launchFinished(programInfo);
+				future.complete(null);
+			}
+		}catch(Throwable t){
+			fail(t);
+		}
+	}
+	
+	/**
+	 * Marks the launch as ended, unless it already has
+	 *
+	 * @return true if this ended the launch, false if it had already ended (e.g. it was cancelled)
+	 */
+	private synchronized boolean end(){
+		if(ended){
+			return false;
+		}
+		ended = true;
+		return true;
+	}
+	
+	/**
+	 * Fails the launch with the given error (unless it was cancelled, in which case the error is just from the
+	 * running stage being interrupted)
+	 *
+	 * @param t The {@link Throwable} the launch failed with
+	 */
+	private void fail(Throwable t){
+		if(!end()){
+			return;
+		}
+		EasyLogger logger = programInfo.getLogger();
+		if(logger != null){
+			logger.logError("Failed to launch " + programInfo.getTitle(), t);
+		}
+		listener.launchFailed(programInfo, stage, t);
+		future.completeExceptionally(t);
+	}
+}
@@ -0,0 +1,73 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.engine.info.ProgramInfo;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Launch Listener is notified of the progress of a launch started through
+ * {@link com.github.tadukoo.engine.ProgramHandler#launchProgramAsync(ProgramInfo, LaunchListener)}. Every method
+ * does nothing by default, so only the ones that are needed have to be implemented.
+ * <br><br>
+ * The methods are called on the background thread doing the launch (not the event dispatch thread), so any
+ * changes to Swing components have to be passed along with {@link javax.swing.SwingUtilities#invokeLater}.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public interface LaunchListener{
+	
+	/**
+	 * Called when a stage of the launch starts
+	 *
+	 * @param programInfo The {@link ProgramInfo} of the program being launched
+	 * @param stage The {@link LaunchStage} that started
+	 */
+	default void stageStarted(ProgramInfo programInfo, LaunchStage stage){ }
+	
+	/**
+	 * Called when a stage of the launch finishes successfully
+	 *
+	 * @param programInfo The {@link ProgramInfo} of the program being launched
+	 * @param stage The {@link LaunchStage} that finished
+	 * @param time How long the stage took
+	 */
+	default void stageFinished(ProgramInfo programInfo, LaunchStage stage, Duration time){ }
+	
+	/**
+	 * Called when the launch finishes successfully
+	 *
+	 * @param programInfo The {@link ProgramInfo} of the program that was launched
+	 */
+	default void launchFinished(ProgramInfo programInfo){ }
+	
+	/**
+	 * Called when the launch fails
+	 *
+	 * @param programInfo The {@link ProgramInfo} of the program being launched
+	 * @param stage The {@link LaunchStage} the launch failed in (null if it failed before any stage started)
+	 * @param t The {@link Throwable} the launch failed with
+	 */
+	default void launchFailed(ProgramInfo programInfo, LaunchStage stage, Throwable t){ }
+	
+	/**
+	 * Called when the launch is cancelled
+	 *
+	 * @param programInfo The {@link ProgramInfo} of the program being launched
+	 * @param stage The {@link LaunchStage} the launch was in when it was cancelled (null if no stage had started)
+	 */
+	default void launchCancelled(ProgramInfo programInfo, LaunchStage stage){ }
+	
+	/**
+	 * Called once the startup phase times of the program are known (see
+	 * {@link com.github.tadukoo.engine.StartupMetrics StartupMetrics}). This can come after
+	 * {@link #launchFinished(ProgramInfo)}, since it waits for the program's first frame to be visible.
+	 *
+	 * @param programInfo The {@link ProgramInfo} of the program that was launched
+	 * @param phases How long each phase of the startup took
+	 * @param regressions The phases that took much longer than they usually do (see {@link StartupHistory})
+	 */
+	default void startupMeasured(ProgramInfo programInfo, Map<String, Duration> phases, List<String> regressions){ }
+}
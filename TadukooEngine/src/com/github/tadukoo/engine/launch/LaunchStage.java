@@ -0,0 +1,22 @@
+package com.github.tadukoo.engine.launch;
+
+/**
+ * Launch Stage is used to tell which part of launching a program a {@link LaunchHandle} is in.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public enum LaunchStage{
+	/** Figuring out which libraries the program needs */
+	RESOLVE,
+	/** Fetching any of the libraries that aren't available yet */
+	DOWNLOAD,
+	/** Making sure the program and its libraries are all there */
+	VERIFY,
+	/** Finding and loading the program's {@link com.github.tadukoo.engine.Program Program} class */
+	CLASSLOAD,
+	/** Calling {@link com.github.tadukoo.engine.Program#load Program.load} */
+	LOAD,
+	/** Running the program */
+	RUN
+}
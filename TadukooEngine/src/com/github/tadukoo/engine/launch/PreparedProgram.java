@@ -0,0 +1,67 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.engine.Program;
+import com.github.tadukoo.engine.ProgramLoadContext;
+import com.github.tadukoo.engine.info.ProgramInfo;
+
+/**
+ * Prepared Program is a {@link Program} that's been through everything but {@link Program#run(ProgramLoadContext)}:
+ * its libraries are resolved, its class is loaded, and it's been {@link Program#load(ProgramLoadContext) loaded}
+ * (see {@link InProcessProgramHandler#prepareProgram}). A Prepared Program can only be run once.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class PreparedProgram{
+	/** The {@link ProgramInfo} of the program */
+	private final ProgramInfo programInfo;
+	/** The loaded {@link Program} */
+	private final Program program;
+	/** The {@link ProgramLoadContext} the program was loaded with (and will be run with) */
+	private final ProgramLoadContext context;
+	/** The size in bytes of the program jar and its libraries, as a rough measure of the memory it takes up */
+	private final long footprint;
+	
+	/**
+	 * Creates a new Prepared Program with the given parameters
+	 *
+	 * @param programInfo The {@link ProgramInfo} of the program
+	 * @param program The loaded {@link Program}
+	 * @param context The {@link ProgramLoadContext} the program was loaded with (and will be run with)
+	 * @param footprint The size in bytes of the program jar and its libraries
+	 */
+	PreparedProgram(ProgramInfo programInfo, Program program, ProgramLoadContext context, long footprint){
+		this.programInfo = programInfo;
+		this.program = program;
+		this.context = context;
+		this.footprint = footprint;
+	}
+	
+	/**
+	 * @return The {@link ProgramInfo} of the program
+	 */
+	public ProgramInfo getProgramInfo(){
+		return programInfo;
+	}
+	
+	/**
+	 * @return The loaded {@link Program}
+	 */
+	public Program getProgram(){
+		return program;
+	}
+	
+	/**
+	 * @return The {@link ProgramLoadContext} the program was loaded with (and will be run with)
+	 */
+	public ProgramLoadContext getContext(){
+		return context;
+	}
+	
+	/**
+	 * @return The size in bytes of the program jar and its libraries, as a rough measure of the memory it takes up
+	 */
+	public long getFootprint(){
+		return footprint;
+	}
+}
@@ -0,0 +1,93 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.engine.info.ProgramInfo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Process Program Handler launches each program in its own JVM, using the {@link LaunchCache} so that every launch
+ * after the first one starts from the program's Class Data Sharing archive. The program's libraries are resolved
+ * first (see {@link ResolvingProgramHandler}), and the class path of the new JVM is the program's jars followed by
+ * the launcher's own class path (for the engine and its libraries).
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class ProcessProgramHandler extends ResolvingProgramHandler{
+	/** The {@link LaunchCache} to use */
+	private final LaunchCache launchCache;
+	/** The folder program jars are in */
+	private final Path programsFolder;
+	
+	/**
+	 * Creates a new Process Program Handler with the given parameters
+	 *
+	 * @param dependencyResolver The {@link DependencyResolver} used to resolve the libraries of programs
+	 * @param launchCache The {@link LaunchCache} to use
+	 * @param programsFolder The folder program jars are in
+	 */
+	public ProcessProgramHandler(DependencyResolver dependencyResolver, LaunchCache launchCache, Path programsFolder){
+		super(dependencyResolver);
+		this.launchCache = launchCache;
+		this.programsFolder = programsFolder;
+	}
+	
+	/**
+	 * @return The {@link LaunchCache} to use
+	 */
+	public LaunchCache getLaunchCache(){
+		return launchCache;
+	}
+	
+	/**
+	 * @return The folder program jars are in
+	 */
+	public Path getProgramsFolder(){
+		return programsFolder;
+	}
+	
+	/**
+	 * Builds the command to start the given program in its own JVM (finding and caching its Program class if
+	 * needed)
+	 *
+	 * @param programInfo The {@link ProgramInfo} of the program
+	 * @param resolvedDependencies The {@link ResolvedDependencies} with the paths of the program's libraries
+	 * @return The command to start the program
+	 * @throws IOException If anything goes wrong in using the cache or reading the jars
+	 */
+	public List<String> buildCommand(ProgramInfo programInfo, ResolvedDependencies resolvedDependencies)
+			throws IOException{
+		LaunchCacheEntry entry = launchCache.getEntry(programsFolder.resolve(programInfo.getProgramJarName()),
+				resolvedDependencies.getLibraryPaths());
+		String programClassName = entry.getProgramClassName();
+		if(programClassName == null){
+			// Index the jars once, which also finds the Program class
+			try(ProgramClassLoader loader = entry.buildClassLoader()){
+				programClassName = loader.findProgramClassName();
+			}
+		}
+		
+		List<Path> classPath = new ArrayList<>();
+		for(String classPathEntry: System.getProperty("java.class.path").split(File.pathSeparator)){
+			if(!classPathEntry.isBlank()){
+				classPath.add(Paths.get(classPathEntry));
+			}
+		}
+		return entry.buildCommand(Paths.get(System.getProperty("java.home"), "bin", "java"), classPath,
+				programClassName);
+	}
+	
+	/** {@inheritDoc} */
+	@Override
+	protected void startProgram(ProgramInfo programInfo, ResolvedDependencies resolvedDependencies)
+			throws Throwable{
+		new ProcessBuilder(buildCommand(programInfo, resolvedDependencies))
+				.inheritIO()
+				.start();
+	}
+}
@@ -0,0 +1,584 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.engine.Program;
+import com.github.tadukoo.util.ListUtil;
+import com.github.tadukoo.util.StringUtil;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * Program Class Loader is used to load a {@link Program} from its jar (and the jars of its libraries). When it's
+ * created, it reads the list of entries of each jar (only the central directory, no classes are read or loaded)
+ * into an index of which jar each class and resource lives in. Classes are then only loaded when they're actually
+ * needed, straight from the right jar.
+ * <br><br>
+ * It is child-first: a program's own classes win over the launcher's, so programs can bring their own versions of
+ * libraries. The exception is the shared packages (the JDK and the engine API the {@link Program} interface is
+ * made of), which always come from the parent, so the launcher and the program agree on what a {@link Program} is.
+ * <br><br>
+ * The {@link Program} class to start is found without loading anything else, by checking (in order):
+ * <ol>
+ *     <li>A {@code META-INF/services/com.github.tadukoo.engine.Program} file in the program jar</li>
+ *     <li>A {@value #PROGRAM_CLASS_ATTRIBUTE} attribute in the program jar's manifest</li>
+ *     <li>The headers of the class files in the program jar, looking for one that implements {@link Program}</li>
+ * </ol>
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class ProgramClassLoader extends ClassLoader implements Closeable{
+	
+	static{
+		registerAsParallelCapable();
+	}
+	
+	/**
+	 * Program Class Loader Builder is used to build a new {@link ProgramClassLoader}. It has the following
+	 * parameters:
+	 *
+	 * <table>
+	 *     <caption>Program Class Loader Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>programJar</td>
+	 *         <td>The jar of the program</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>libraryJars</td>
+	 *         <td>The jars of the program's libraries</td>
+	 *         <td>Defaults to an empty list</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>parent</td>
+	 *         <td>The parent {@link ClassLoader} to use for shared classes</td>
+	 *         <td>Defaults to the {@link ClassLoader} the engine was loaded with</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>sharedPackages</td>
+	 *         <td>The package prefixes that are always loaded from the parent</td>
+	 *         <td>Defaults to {@link #DEFAULT_SHARED_PACKAGES}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>classIndex</td>
+	 *         <td>A previously saved {@link #getIndex() index} of the jars, to skip reading their entry lists</td>
+	 *         <td>Defaults to {@code null} (the jars are indexed when the loader is built)</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class ProgramClassLoaderBuilder{
+		/** The jar of the program */
+		private Path programJar;
+		/** The jars of the program's libraries */
+		private List<Path> libraryJars = new ArrayList<>();
+		/** The parent {@link ClassLoader} to use for shared classes */
+		private ClassLoader parent = Program.class.getClassLoader();
+		/** The package prefixes that are always loaded from the parent */
+		private List<String> sharedPackages = DEFAULT_SHARED_PACKAGES;
+		/** A previously saved index of the jars */
+		private Map<String, Integer> classIndex = null;
+		
+		// Not allowed to create Program Class Loader Builder outside of Program Class Loader
+		private ProgramClassLoaderBuilder(){ }
+		
+		/**
+		 * @param programJar The jar of the program
+		 * @return this, to continue building
+		 */
+		public ProgramClassLoaderBuilder programJar(Path programJar){
+			this.programJar = programJar;
+			return this;
+		}
+		
+		/**
+		 * @param libraryJars The jars of the program's libraries
+		 * @return this, to continue building
+		 */
+		public ProgramClassLoaderBuilder libraryJars(List<Path> libraryJars){
+			this.libraryJars = new ArrayList<>(libraryJars);
+			return this;
+		}
+		
+		/**
+		 * @param libraryJar A jar of one of the program's libraries
+		 * @return this, to continue building
+		 */
+		public ProgramClassLoaderBuilder libraryJar(Path libraryJar){
+			libraryJars.add(libraryJar);
+			return this;
+		}
+		
+		/**
+		 * @param parent The parent {@link ClassLoader} to use for shared classes
+		 * @return this, to continue building
+		 */
+		public ProgramClassLoaderBuilder parent(ClassLoader parent){
+			this.parent = parent;
+			return this;
+		}
+		
+		/**
+		 * @param sharedPackages The package prefixes that are always loaded from the parent
+		 * @return this, to continue building
+		 */
+		public ProgramClassLoaderBuilder sharedPackages(List<String> sharedPackages){
+			this.sharedPackages = sharedPackages;
+			return this;
+		}
+		
+		/**
+		 * @param classIndex A previously saved {@link #getIndex() index} of the jars, to skip reading their
+		 * entry lists
+		 * @return this, to continue building
+		 */
+		public ProgramClassLoaderBuilder classIndex(Map<String, Integer> classIndex){
+			this.classIndex = classIndex;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// Program Jar is required
+			if(programJar == null){
+				errors.add("programJar is required");
+			}
+			// Library Jars can't be null
+			if(libraryJars == null){
+				errors.add("libraryJars can't be null");
+			}
+			// Shared Packages can't be null
+			if(sharedPackages == null){
+				errors.add("sharedPackages can't be null");
+			}
+			
+			// If we find errors, throw an exception
+			if(ListUtil.isNotBlank(errors)){
+				throw new IllegalArgumentException("The following errors happened in building a " +
+						"ProgramClassLoader: \n" + StringUtil.buildStringWithNewLines(errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link ProgramClassLoader} with the set parameters
+		 *
+		 * @return The newly built {@link ProgramClassLoader}
+		 * @throws IOException If any of the jars can't be opened
+		 */
+		public ProgramClassLoader build() throws IOException{
+			checkForErrors();
+			List<Path> jars = new ArrayList<>();
+			jars.add(programJar);
+			jars.addAll(libraryJars);
+			return new ProgramClassLoader(parent, jars, sharedPackages, classIndex);
+		}
+	}
+	
+	/** The package prefixes that are always loaded from the parent by default: the JDK and the engine API */
+	public static final List<String> DEFAULT_SHARED_PACKAGES = List.of(
+			"java.", "javax.", "jdk.", "sun.", "com.sun.", "org.w3c.", "org.xml.",
+			"com.github.tadukoo.engine.", "com.github.tadukoo.util.", "com.github.tadukoo.parsing.",
+			"com.github.tadukoo.view.");
+	/** The name of the manifest attribute that can be used to name the {@link Program} class */
+	public static final String PROGRAM_CLASS_ATTRIBUTE = "Program-Class";
+	/** The name of the service file that can be used to name the {@link Program} class */
+	private static final String PROGRAM_SERVICE = "META-INF/services/" + Program.class.getName();
+	/** The internal (class file) name of the {@link Program} interface */
+	private static final String PROGRAM_INTERNAL_NAME = Program.class.getName().replace('.', '/');
+	
+	/** The paths of the jars, with the program jar first */
+	private final List<Path> jars;
+	/** The open {@link JarFile}s, in the same order as the paths */
+	private final List<JarFile> jarFiles;
+	/** The {@link CodeSource}s of the jars, in the same order as the paths */
+	private final List<CodeSource> codeSources;
+	/** The package prefixes that are always loaded from the parent */
+	private final List<String> sharedPackages;
+	/** The index of which jar (by position) each entry name is found in (the first jar wins) */
+	private final Map<String, Integer> index;
+	
+	/**
+	 * Creates a new Program Class Loader with the given parameters, indexing the jars (unless an index is given)
+	 *
+	 * @param parent The parent {@link ClassLoader} to use for shared classes
+	 * @param jars The paths of the jars, with the program jar first
+	 * @param sharedPackages The package prefixes that are always loaded from the parent
+	 * @param classIndex A previously saved index of the jars (or null to index them now)
+	 * @throws IOException If any of the jars can't be opened
+	 */
+	private ProgramClassLoader(
+			ClassLoader parent, List<Path> jars, List<String> sharedPackages, Map<String, Integer> classIndex)
+			throws IOException{
+		super("Program-" + jars.get(0).getFileName(), parent);
+		this.jars = List.copyOf(jars);
+		this.sharedPackages = List.copyOf(sharedPackages);
+		jarFiles = new ArrayList<>();
+		codeSources = new ArrayList<>();
+		index = classIndex != null ? new HashMap<>(classIndex):new HashMap<>();
+		try{
+			for(int i = 0; i < jars.size(); i++){
+				JarFile jarFile = new JarFile(jars.get(i).toFile());
+				jarFiles.add(jarFile);
+				codeSources.add(new CodeSource(jars.get(i).toUri().toURL(), (Certificate[]) null));
+				if(classIndex != null){
+					continue;
+				}
+				Enumeration<JarEntry> entries = jarFile.entries();
+				while(entries.hasMoreElements()){
+					JarEntry entry = entries.nextElement();
+					if(!entry.isDirectory()){
+						index.putIfAbsent(entry.getName(), i);
+					}
+				}
+			}
+		}catch(IOException e){
+			close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * @return A new {@link ProgramClassLoaderBuilder} to use to build a {@link ProgramClassLoader}
+	 */
+	public static ProgramClassLoaderBuilder builder(){
+		return new ProgramClassLoaderBuilder();
+	}
+	
+	/**
+	 * @return The paths of the jars this loader loads from, with the program jar first
+	 */
+	public List<Path> getJars(){
+		return jars;
+	}
+	
+	/**
+	 * @return The package prefixes that are always loaded from the parent
+	 */
+	public List<String> getSharedPackages(){
+		return sharedPackages;
+	}
+	
+	/**
+	 * @return The index of which jar (by position, program jar first) each class and resource is found in
+	 */
+	public Map<String, Integer> getIndex(){
+		return Collections.unmodifiableMap(index);
+	}
+	
+	/**
+	 * @return The number of entries (classes and resources) in the index
+	 */
+	public int getIndexSize(){
+		return index.size();
+	}
+	
+	/**
+	 * @param className The (binary) name of a class
+	 * @return Whether the class should always come from the parent
+	 */
+	private boolean isShared(String className){
+		for(String sharedPackage: sharedPackages){
+			if(className.startsWith(sharedPackage)){
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/** {@inheritDoc} */
+	@Override
+	protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException{
+		synchronized(getClassLoadingLock(name)){
+			Class<?> clazz = findLoadedClass(name);
+			if(clazz == null){
+				if(isShared(name) || !index.containsKey(toEntryName(name))){
+					return super.loadClass(name, resolve);
+				}
+				clazz = findClass(name);
+			}
+			if(resolve){
+				resolveClass(clazz);
+			}
+			return clazz;
+		}
+	}
+	
+	/** {@inheritDoc} */
+	@Override
+	protected Class<?> findClass(String name) throws ClassNotFoundException{
+		String entryName = toEntryName(name);
+		Integer jarNum = index.get(entryName);
+		if(jarNum == null){
+			throw new ClassNotFoundException(name);
+		}
+		JarFile jarFile = jarFiles.get(jarNum);
+		try(InputStream in = jarFile.getInputStream(jarFile.getJarEntry(entryName))){
+			byte[] bytes = in.readAllBytes();
+			definePackageFor(name, jarFile);
+			return defineClass(name, bytes, 0, bytes.length,
+					new ProtectionDomain(codeSources.get(jarNum), null, this, null));
+		}catch(IOException e){
+			throw new ClassNotFoundException(name, e);
+		}
+	}
+	
+	/**
+	 * Defines the package of the given class (using the jar's manifest) if it isn't defined yet
+	 *
+	 * @param className The (binary) name of the class
+	 * @param jarFile The {@link JarFile} the class is in
+	 * @throws IOException If the manifest can't be read
+	 */
+	private void definePackageFor(String className, JarFile jarFile) throws IOException{
+		int lastDot = className.lastIndexOf('.');
+		if(lastDot == -1){
+			return;
+		}
+		String packageName = className.substring(0, lastDot);
+		if(getDefinedPackage(packageName) != null){
+			return;
+		}
+		Manifest manifest = jarFile.getManifest();
+		try{
+			if(manifest != null){
+				Attributes attributes = manifest.getMainAttributes();
+				definePackage(packageName,
+						attributes.getValue(Attributes.Name.SPECIFICATION_TITLE),
+						attributes.getValue(Attributes.Name.SPECIFICATION_VERSION),
+						attributes.getValue(Attributes.Name.SPECIFICATION_VENDOR),
+						attributes.getValue(Attributes.Name.IMPLEMENTATION_TITLE),
+						attributes.getValue(Attributes.Name.IMPLEMENTATION_VERSION),
+						attributes.getValue(Attributes.Name.IMPLEMENTATION_VENDOR), null);
+			}else{
+				definePackage(packageName, null, null, null, null, null, null, null);
+			}
+		}catch(IllegalArgumentException e){
+			// Another thread defined it first, which is fine
+		}
+	}
+	
+	/** {@inheritDoc} */
+	@Override
+	public URL getResource(String name){
+		URL url = findResource(name);
+		return url != null ? url:super.getResource(name);
+	}
+	
+	/** {@inheritDoc} */
+	@Override
+	protected URL findResource(String name){
+		Integer jarNum = index.get(name);
+		if(jarNum == null){
+			return null;
+		}
+		try{
+			return new URL("jar:" + jars.get(jarNum).toUri() + "!/" + name);
+		}catch(MalformedURLException e){
+			return null;
+		}
+	}
+	
+	/** {@inheritDoc} */
+	@Override
+	protected Enumeration<URL> findResources(String name) throws IOException{
+		List<URL> urls = new ArrayList<>();
+		for(int i = 0; i < jarFiles.size(); i++){
+			if(jarFiles.get(i).getJarEntry(name) != null){
+				urls.add(new URL("jar:" + jars.get(i).toUri() + "!/" + name));
+			}
+		}
+		return Collections.enumeration(urls);
+	}
+	
+	/** {@inheritDoc} */
+	@Override
+	public InputStream getResourceAsStream(String name){
+		Integer jarNum = index.get(name);
+		if(jarNum != null){
+			try{
+				JarFile jarFile = jarFiles.get(jarNum);
+				return jarFile.getInputStream(jarFile.getJarEntry(name));
+			}catch(IOException e){
+				return null;
+			}
+		}
+		return super.getResourceAsStream(name);
+	}
+	
+	/**
+	 * Finds the name of the {@link Program} class in the program jar, without loading any classes
+	 *
+	 * @return The name of the {@link Program} class
+	 * @throws IOException If the program jar can't be read, or there is no {@link Program} class in it
+	 */
+	public String findProgramClassName() throws IOException{
+		JarFile programJarFile = jarFiles.get(0);
+		
+		// Check for a service file
+		JarEntry serviceEntry = programJarFile.getJarEntry(PROGRAM_SERVICE);
+		if(serviceEntry != null){
+			try(BufferedReader reader = new BufferedReader(new InputStreamReader(
+					programJarFile.getInputStream(serviceEntry), StandardCharsets.UTF_8))){
+				String line;
+				while((line = reader.readLine()) != null){
+					int comment = line.indexOf('#');
+					String className = (comment == -1 ? line:line.substring(0, comment)).strip();
+					if(!className.isEmpty()){
+						return className;
+					}
+				}
+			}
+		}
+		
+		// Check for a manifest attribute
+		Manifest manifest = programJarFile.getManifest();
+		if(manifest != null){
+			String className = manifest.getMainAttributes().getValue(PROGRAM_CLASS_ATTRIBUTE);
+			if(StringUtil.isNotBlank(className)){
+				return className.strip();
+			}
+		}
+		
+		// Fall back to checking the headers of the class files in the program jar
+		Enumeration<JarEntry> entries = programJarFile.entries();
+		while(entries.hasMoreElements()){
+			JarEntry entry = entries.nextElement();
+			if(entry.getName().endsWith(".class") && !entry.getName().endsWith("module-info.class")){
+				try(DataInputStream in = new DataInputStream(programJarFile.getInputStream(entry))){
+					if(implementsProgram(in)){
+						return entry.getName().substring(0, entry.getName().length() - 6).replace('/', '.');
+					}
+				}
+			}
+		}
+		throw new IOException("Did not find a Program class in " + jars.get(0));
+	}
+	
+	/**
+	 * Finds, loads, and creates the {@link Program} in the program jar
+	 *
+	 * @return A new instance of the {@link Program}
+	 * @throws Throwable If the {@link Program} can't be found or created
+	 */
+	public Program newProgram() throws Throwable{
+		Class<? extends Program> programClass = loadClass(findProgramClassName()).asSubclass(Program.class);
+		return programClass.getDeclaredConstructor().newInstance();
+	}
+	
+	/**
+	 * Reads the header of a class file (up to its list of interfaces) to check whether it directly implements
+	 * {@link Program}
+	 *
+	 * @param in A {@link DataInputStream} of the class file
+	 * @return Whether the class directly implements {@link Program}
+	 * @throws IOException If the class file can't be read
+	 */
+	private static boolean implementsProgram(DataInputStream in) throws IOException{
+		if(in.readInt() != 0xCAFEBABE){
+			return false;
+		}
+		in.readUnsignedShort();
+		in.readUnsignedShort();
+		
+		// Read through the constant pool, keeping the UTF-8 strings and class references
+		int constantPoolCount = in.readUnsignedShort();
+		String[] utf8s = new String[constantPoolCount];
+		int[] classNameIndexes = new int[constantPoolCount];
+		for(int i = 1; i < constantPoolCount; i++){
+			int tag = in.readUnsignedByte();
+			switch(tag){
+				case 1 -> utf8s[i] = in.readUTF();
+				case 7 -> classNameIndexes[i] = in.readUnsignedShort();
+				case 8, 16, 19, 20 -> in.skipNBytes(2);
+				case 15 -> in.skipNBytes(3);
+				case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipNBytes(4);
+				case 5, 6 -> {
+					// Longs and doubles take up two spots in the constant pool
+					in.skipNBytes(8);
+					i++;
+				}
+				default -> {
+					return false;
+				}
+			}
+		}
+		
+		// Skip access flags, this class, and super class to get to the interfaces
+		in.skipNBytes(6);
+		int interfacesCount = in.readUnsignedShort();
+		for(int i = 0; i < interfacesCount; i++){
+			int classIndex = in.readUnsignedShort();
+			if(PROGRAM_INTERNAL_NAME.equals(utf8s[classNameIndexes[classIndex]])){
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * @param className The (binary) name of a class
+	 * @return The name of the jar entry the class would be in
+	 */
+	private static String toEntryName(String className){
+		return className.replace('.', '/') + ".class";
+	}
+	
+	/**
+	 * Closes the jars this loader loads from. Classes that were already loaded keep working, but no new ones
+	 * can be loaded.
+	 *
+	 * @throws IOException If anything goes wrong in closing the jars
+	 */
+	@Override
+	public void close() throws IOException{
+		IOException exception = null;
+		for(JarFile jarFile: jarFiles){
+			try{
+				jarFile.close();
+			}catch(IOException e){
+				if(exception == null){
+					exception = e;
+				}else{
+					exception.addSuppressed(e);
+				}
+			}
+		}
+		if(exception != null){
+			throw exception;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.github.tadukoo.engine.launch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Program Class Loader Cache keeps the {@link ProgramClassLoader}s that were made for programs, so that launching a
+ * program again reuses its loader (and its index, and the classes it already loaded) instead of starting over.
+ * A cached loader is only reused if none of its jars changed (by size and last modified time) since it was made;
+ * otherwise it's closed and replaced.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class ProgramClassLoaderCache implements Closeable{
+	
+	/**
+	 * Cached Loader holds a {@link ProgramClassLoader} along with the fingerprints of its jars when it was made.
+	 *
+	 * @param loader The {@link ProgramClassLoader}
+	 * @param fingerprints The fingerprints of its jars when it was made
+	 */
+	private record CachedLoader(ProgramClassLoader loader, List<String> fingerprints){ }
+	
+	/** The cached loaders, by their list of jars (program jar first) */
+	private final Map<List<Path>, CachedLoader> loaders = new HashMap<>();
+	
+	/**
+	 * Grabs the {@link ProgramClassLoader} for the given jars, reusing a cached one if its jars haven't changed
+	 *
+	 * @param programJar The jar of the program
+	 * @param libraryJars The jars of the program's libraries
+	 * @return The {@link ProgramClassLoader} for the jars
+	 * @throws IOException If any of the jars can't be opened
+	 */
+	public synchronized ProgramClassLoader getLoader(Path programJar, List<Path> libraryJars) throws IOException{
+		List<Path> jars = new ArrayList<>();
+		jars.add(programJar.toAbsolutePath().normalize());
+		for(Path libraryJar: libraryJars){
+			jars.add(libraryJar.toAbsolutePath().normalize());
+		}
+		List<String> fingerprints = fingerprintsOf(jars);
+		
+		CachedLoader cached = loaders.get(jars);
+		if(cached != null){
+			if(cached.fingerprints().equals(fingerprints)){
+				return cached.loader();
+			}
+			cached.loader().close();
+		}
+		
+		ProgramClassLoader loader = ProgramClassLoader.builder()
+				.programJar(jars.get(0))
+				.libraryJars(jars.subList(1, jars.size()))
+				.build();
+		loaders.put(jars, new CachedLoader(loader, fingerprints));
+		return loader;
+	}
+	
+	/**
+	 * @return The number of loaders in the cache
+	 */
+	public synchronized int size(){
+		return loaders.size();
+	}
+	
+	/**
+	 * @param jars The paths of some jars
+	 * @return The fingerprints (size and last modified time) of the jars
+	 * @throws IOException If any of the jars can't be read
+	 */
+	private static List<String> fingerprintsOf(List<Path> jars) throws IOException{
+		List<String> fingerprints = new ArrayList<>();
+		for(Path jar: jars){
+			fingerprints.add(Files.size(jar) + "@" + Files.getLastModifiedTime(jar).toMillis());
+		}
+		return fingerprints;
+	}
+	
+	/**
+	 * Closes all the cached loaders and empties the cache
+	 *
+	 * @throws IOException If anything goes wrong in closing the loaders
+	 */
+	@Override
+	public synchronized void close() throws IOException{
+		IOException exception = null;
+		for(CachedLoader cached: loaders.values()){
+			try{
+				cached.loader().close();
+			}catch(IOException e){
+				if(exception == null){
+					exception = e;
+				}else{
+					exception.addSuppressed(e);
+				}
+			}
+		}
+		loaders.clear();
+		if(exception != null){
+			throw exception;
+		}
+	}
+}
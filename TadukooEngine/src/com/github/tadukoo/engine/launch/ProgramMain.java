@@ -0,0 +1,102 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.engine.Program;
+import com.github.tadukoo.engine.ProgramLoadContext;
+import com.github.tadukoo.engine.StartupMetrics;
+import com.github.tadukoo.util.logger.EasyLogger;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Program Main is the main class of the JVM a program is started in when it's launched in its own process (see
+ * {@link LaunchCacheEntry#buildCommand}). It creates, loads, and runs the {@link Program} whose class name is
+ * given as the first argument, and records how long the startup took for the {@link StartupReport}. The time of
+ * each startup phase (see {@link StartupMetrics}) is also kept in the program's {@link StartupHistory}, and any
+ * phase that took much longer than usual is logged.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public final class ProgramMain{
+	/** The system property holding the time (epoch millis) the launcher started the JVM */
+	public static final String START_PROPERTY = "tadukoo.launch.start";
+	/** The system property holding whether the JVM was started with the program's archive */
+	public static final String CACHED_PROPERTY = "tadukoo.launch.cached";
+	/** The system property holding the path of the file to record the startup time in */
+	public static final String REPORT_PROPERTY = "tadukoo.launch.report";
+	/** The system property holding the path of the {@link StartupHistory} file to record the startup phases in */
+	public static final String HISTORY_PROPERTY = "tadukoo.launch.history";
+	/** How long to wait for the program's first frame before recording the startup phases without it */
+	private static final long FIRST_FRAME_TIMEOUT_SECONDS = 30;
+	
+	// Not allowed to create a Program Main
+	private ProgramMain(){ }
+	
+	/**
+	 * Creates, loads, and runs the {@link Program}
+	 *
+	 * @param args The first argument is the name of the {@link Program} class
+	 * @throws Throwable If anything goes wrong in starting the program
+	 */
+	public static void main(String[] args) throws Throwable{
+		if(args.length < 1){
+			throw new IllegalArgumentException("The name of the Program class is required");
+		}
+		StartupMetrics metrics = new StartupMetrics();
+		Program program = metrics.time(StartupMetrics.CLASSLOAD, () ->
+				Class.forName(args[0]).asSubclass(Program.class).getDeclaredConstructor().newInstance());
+		EasyLogger logger = new EasyLogger(Logger.getLogger(program.getClass().getName()));
+		
+		// The program is the only thing in this JVM, so it can have all the cores to load with
+		ExecutorService loadExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+				runnable -> {
+					Thread thread = new Thread(runnable, "Program Load");
+					thread.setDaemon(true);
+					return thread;
+				});
+		ProgramLoadContext context = new ProgramLoadContext(logger, loadExecutor, metrics);
+		if(!metrics.time(StartupMetrics.LOAD, () -> program.load(context))){
+			logger.logError("Failed to load " + program.getTitle());
+			System.exit(1);
+		}
+		
+		// Record the startup time if the launcher asked for it
+		long start = Long.getLong(START_PROPERTY, -1);
+		String reportPath = System.getProperty(REPORT_PROPERTY);
+		if(start > 0 && reportPath != null){
+			try{
+				StartupReport.record(Paths.get(reportPath), Boolean.getBoolean(CACHED_PROPERTY),
+						System.currentTimeMillis() - start);
+			}catch(Exception e){
+				logger.logWarning("Failed to record startup time", e);
+			}
+		}
+		program.run(context);
+		
+		// Record the startup phases once the first frame is up (or we've given up waiting on it)
+		String historyPath = System.getProperty(HISTORY_PROPERTY);
+		if(historyPath != null){
+			metrics.getFirstFrame().copy().completeOnTimeout(null, FIRST_FRAME_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+					.join();
+			loadExecutor.shutdown();
+			try{
+				StartupHistory history = StartupHistory.load(Paths.get(historyPath));
+				Map<String, Duration> phases = metrics.getPhases();
+				for(String phase: history.findRegressions(phases)){
+					logger.logWarning(history.describeRegression(phase, phases.get(phase)));
+				}
+				history.record(phases);
+			}catch(Exception e){
+				logger.logWarning("Failed to record startup phases", e);
+			}
+		}else{
+			loadExecutor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.github.tadukoo.engine.launch;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Resolved Dependencies is the result of a {@link DependencyResolver} run: the paths of all the libraries a
+ * program needs (in the order they were found), along with the {@link ArtifactTiming timing} of each one.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class ResolvedDependencies{
+	/** The {@link Path}s of the libraries, in the order they were found */
+	private final List<Path> libraryPaths;
+	/** The {@link ArtifactTiming}s of the libraries, in the same order as the paths */
+	private final List<ArtifactTiming> timings;
+	/** How long the whole resolution took */
+	private final Duration totalTime;
+	
+	/**
+	 * Creates a new Resolved Dependencies with the given parameters
+	 *
+	 * @param libraryPaths The {@link Path}s of the libraries, in the order they were found
+	 * @param timings The {@link ArtifactTiming}s of the libraries, in the same order as the paths
+	 * @param totalTime How long the whole resolution took
+	 */
+	public ResolvedDependencies(List<Path> libraryPaths, List<ArtifactTiming> timings, Duration totalTime){
+		this.libraryPaths = List.copyOf(libraryPaths);
+		this.timings = List.copyOf(timings);
+		this.totalTime = totalTime;
+	}
+	
+	/**
+	 * @return The {@link Path}s of the libraries, in the order they were found
+	 */
+	public List<Path> getLibraryPaths(){
+		return libraryPaths;
+	}
+	
+	/**
+	 * @return The {@link ArtifactTiming}s of the libraries, in the same order as the paths
+	 */
+	public List<ArtifactTiming> getTimings(){
+		return timings;
+	}
+	
+	/**
+	 * @return How long the whole resolution took
+	 */
+	public Duration getTotalTime(){
+		return totalTime;
+	}
+}
@@ -0,0 +1,161 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.engine.ProgramHandler;
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.info.ShortInfo;
+import com.github.tadukoo.util.logger.EasyLogger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Resolving Program Handler is a {@link ProgramHandler} that runs the {@link DependencyResolver} before a program
+ * is launched, so that all of the program's libraries are fetched (at the same time) and verified before
+ * {@link #startProgram(ProgramInfo, ResolvedDependencies)} is called.
+ * <br><br>
+ * Launched {@link #launchProgramAsync(ProgramInfo, LaunchListener) in the background}, the libraries are collected
+ * ({@link LaunchStage#RESOLVE RESOLVE}), fetched ({@link LaunchStage#DOWNLOAD DOWNLOAD}), and checked
+ * ({@link LaunchStage#VERIFY VERIFY}) as separate stages before
+ * {@link #startProgram(ProgramInfo, ResolvedDependencies, LaunchHandle)} is called.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public abstract class ResolvingProgramHandler implements ProgramHandler{
+	/** The {@link DependencyResolver} used to resolve the libraries of programs */
+	private final DependencyResolver dependencyResolver;
+	/** The {@link Executor} background launches run on (null for the {@link LaunchHandle} default) */
+	private final Executor launchExecutor;
+	
+	/**
+	 * Creates a new Resolving Program Handler that uses the given {@link DependencyResolver}, running background
+	 * launches on the default {@link LaunchHandle} executor
+	 *
+	 * @param dependencyResolver The {@link DependencyResolver} used to resolve the libraries of programs
+	 */
+	protected ResolvingProgramHandler(DependencyResolver dependencyResolver){
+		this(dependencyResolver, null);
+	}
+	
+	/**
+	 * Creates a new Resolving Program Handler that uses the given {@link DependencyResolver}
+	 *
+	 * @param dependencyResolver The {@link DependencyResolver} used to resolve the libraries of programs
+	 * @param launchExecutor The {@link Executor} background launches run on (null for the {@link LaunchHandle}
+	 * default)
+	 */
+	protected ResolvingProgramHandler(DependencyResolver dependencyResolver, Executor launchExecutor){
+		this.dependencyResolver = dependencyResolver;
+		this.launchExecutor = launchExecutor;
+	}
+	
+	/**
+	 * @return The {@link DependencyResolver} used to resolve the libraries of programs
+	 */
+	public DependencyResolver getDependencyResolver(){
+		return dependencyResolver;
+	}
+	
+	/**
+	 * Resolves the libraries of the given program and then starts it. If anything goes wrong, it's logged to the
+	 * program's logger (if it has one) and the program isn't started.
+	 *
+	 * @param programInfo The {@link ProgramInfo} for the program to be launched
+	 */
+	@Override
+	public void launchProgram(ProgramInfo programInfo){
+		EasyLogger logger = programInfo.getLogger();
+		try{
+			startProgram(programInfo, dependencyResolver.resolve(programInfo));
+		}catch(Throwable t){
+			if(logger != null){
+				logger.logError("Failed to launch " + programInfo.getTitle(), t);
+			}
+		}
+	}
+	
+	/**
+	 * Launches the given program in the background, in stages: resolving, downloading, and verifying its libraries,
+	 * and then {@link #startProgram(ProgramInfo, ResolvedDependencies, LaunchHandle) starting} it
+	 *
+	 * @param programInfo The {@link ProgramInfo} for the program to be launched
+	 * @param listener The {@link LaunchListener} to notify of the launch's progress
+	 * @return The {@link LaunchHandle} used to follow or cancel the launch
+	 */
+	@Override
+	public LaunchHandle launchProgramAsync(ProgramInfo programInfo, LaunchListener listener){
+		LaunchHandle.LaunchPipeline pipeline = handle -> {
+			List<ShortInfo> libraries = handle.runStage(LaunchStage.RESOLVE,
+					() -> dependencyResolver.collectLibraries(programInfo));
+			ResolvedDependencies resolvedDependencies = handle.runStage(LaunchStage.DOWNLOAD,
+					() -> dependencyResolver.resolve(programInfo, libraries));
+			handle.runStage(LaunchStage.VERIFY, () -> {
+				verify(programInfo, resolvedDependencies);
+				return null;
+			});
+			startProgram(programInfo, resolvedDependencies, handle);
+		};
+		return startLaunch(programInfo, listener, pipeline);
+	}
+	
+	/**
+	 * Starts a background launch of the given program on this handler's launch executor
+	 *
+	 * @param programInfo The {@link ProgramInfo} for the program to be launched
+	 * @param listener The {@link LaunchListener} to notify of the launch's progress
+	 * @param pipeline The {@link LaunchHandle.LaunchPipeline} with the stages of the launch
+	 * @return The {@link LaunchHandle} used to follow or cancel the launch
+	 */
+	protected LaunchHandle startLaunch(
+			ProgramInfo programInfo, LaunchListener listener, LaunchHandle.LaunchPipeline pipeline){
+		return launchExecutor == null ? LaunchHandle.start(programInfo, listener, pipeline):
+				LaunchHandle.start(programInfo, listener, launchExecutor, pipeline);
+	}
+	
+	/**
+	 * Makes sure everything the program needs is there before it's started. By default, this checks that every
+	 * library file exists (their contents were already checked against their SHA-256 as they were fetched).
+	 *
+	 * @param programInfo The {@link ProgramInfo} for the program to be started
+	 * @param resolvedDependencies The {@link ResolvedDependencies} with the paths of the program's libraries
+	 * @throws Throwable If anything the program needs is missing
+	 */
+	protected void verify(ProgramInfo programInfo, ResolvedDependencies resolvedDependencies) throws Throwable{
+		for(Path libraryPath: resolvedDependencies.getLibraryPaths()){
+			if(!Files.isRegularFile(libraryPath)){
+				throw new IOException("Library " + libraryPath + " for " + programInfo.getTitle() + " is missing");
+			}
+		}
+	}
+	
+	/**
+	 * Starts the given program, now that all its libraries are available
+	 *
+	 * @param programInfo The {@link ProgramInfo} for the program to be started
+	 * @param resolvedDependencies The {@link ResolvedDependencies} with the paths of the program's libraries
+	 * @throws Throwable If anything goes wrong in starting the program
+	 */
+	protected abstract void startProgram(ProgramInfo programInfo, ResolvedDependencies resolvedDependencies)
+			throws Throwable;
+	
+	/**
+	 * Starts the given program as part of a background launch, now that all its libraries are available and
+	 * verified. By default, this runs {@link #startProgram(ProgramInfo, ResolvedDependencies)} as a single
+	 * {@link LaunchStage#RUN RUN} stage; handlers that start the program in more than one step can report each one.
+	 *
+	 * @param programInfo The {@link ProgramInfo} for the program to be started
+	 * @param resolvedDependencies The {@link ResolvedDependencies} with the paths of the program's libraries
+	 * @param handle The {@link LaunchHandle} of the launch, to run stages through
+	 * @throws Throwable If anything goes wrong in starting the program
+	 */
+	protected void startProgram(ProgramInfo programInfo, ResolvedDependencies resolvedDependencies,
+	                            LaunchHandle handle) throws Throwable{
+		handle.runStage(LaunchStage.RUN, () -> {
+			startProgram(programInfo, resolvedDependencies);
+			return null;
+		});
+	}
+}
@@ -0,0 +1,228 @@
+package com.github.tadukoo.engine.launch;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Startup History keeps the {@link com.github.tadukoo.engine.StartupMetrics startup phase} times of a program's most
+ * recent launches, one line per launch, so that a launch that's much slower than usual in some phase is noticed.
+ * Only the newest {@link #getMaxEntries() max entries} launches are kept.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class StartupHistory{
+	
+	/**
+	 * Startup Entry is the startup phase times of a single launch.
+	 *
+	 * @param recordedAt When the launch was recorded (in epoch millis)
+	 * @param phases How long each phase took, in the order they were recorded
+	 */
+	public record StartupEntry(long recordedAt, Map<String, Duration> phases){ }
+	
+	/** The default for how many launches to keep */
+	public static final int DEFAULT_MAX_ENTRIES = 20;
+	/** How many times its average a phase has to take to count as a regression */
+	public static final double REGRESSION_FACTOR = 1.5;
+	/** How many earlier launches are needed before regressions are looked for */
+	private static final int MIN_ENTRIES_FOR_REGRESSIONS = 3;
+	
+	/** The {@link Path} of the history file */
+	private final Path historyPath;
+	/** How many launches to keep */
+	private final int maxEntries;
+	/** The launches, oldest first */
+	private final List<StartupEntry> entries = new ArrayList<>();
+	
+	/**
+	 * Creates a new (empty) Startup History
+	 *
+	 * @param historyPath The {@link Path} of the history file
+	 * @param maxEntries How many launches to keep
+	 */
+	private StartupHistory(Path historyPath, int maxEntries){
+		this.historyPath = historyPath;
+		this.maxEntries = maxEntries;
+	}
+	
+	/**
+	 * Loads the Startup History in the given file, keeping {@link #DEFAULT_MAX_ENTRIES} launches
+	 *
+	 * @param historyPath The {@link Path} of the history file
+	 * @return The loaded Startup History (empty if there is no file)
+	 * @throws IOException If anything goes wrong in reading the file
+	 */
+	public static StartupHistory load(Path historyPath) throws IOException{
+		return load(historyPath, DEFAULT_MAX_ENTRIES);
+	}
+	
+	/**
+	 * Loads the Startup History in the given file (lines that can't be read are skipped)
+	 *
+	 * @param historyPath The {@link Path} of the history file
+	 * @param maxEntries How many launches to keep
+	 * @return The loaded Startup History (empty if there is no file)
+	 * @throws IOException If anything goes wrong in reading the file
+	 */
+	public static StartupHistory load(Path historyPath, int maxEntries) throws IOException{
+		StartupHistory history = new StartupHistory(historyPath, maxEntries);
+		if(!Files.isRegularFile(historyPath)){
+			return history;
+		}
+		for(String line: Files.readAllLines(historyPath, StandardCharsets.UTF_8)){
+			String[] pieces = line.strip().split(" ");
+			try{
+				long recordedAt = Long.parseLong(pieces[0]);
+				Map<String, Duration> phases = new LinkedHashMap<>();
+				for(int i = 1; i < pieces.length; i++){
+					int equals = pieces[i].lastIndexOf('=');
+					phases.put(pieces[i].substring(0, equals),
+							Duration.ofMillis(Long.parseLong(pieces[i].substring(equals + 1))));
+				}
+				history.entries.add(new StartupEntry(recordedAt, phases));
+			}catch(RuntimeException e){
+				// Skip lines that got mangled
+			}
+		}
+		history.trim();
+		return history;
+	}
+	
+	/**
+	 * @return The {@link Path} of the history file
+	 */
+	public Path getHistoryPath(){
+		return historyPath;
+	}
+	
+	/**
+	 * @return How many launches are kept
+	 */
+	public int getMaxEntries(){
+		return maxEntries;
+	}
+	
+	/**
+	 * @return The launches, oldest first
+	 */
+	public synchronized List<StartupEntry> getEntries(){
+		return new ArrayList<>(entries);
+	}
+	
+	/**
+	 * @param phase The name of a phase
+	 * @return The average time of the phase over the launches that recorded it, or null if none did
+	 */
+	public synchronized Duration getAverage(String phase){
+		long totalNanos = 0;
+		int count = 0;
+		for(StartupEntry entry: entries){
+			Duration time = entry.phases().get(phase);
+			if(time != null){
+				totalNanos += time.toNanos();
+				count++;
+			}
+		}
+		return count == 0 ? null:Duration.ofNanos(totalNanos / count);
+	}
+	
+	/**
+	 * Finds the phases of a launch that took much longer (see {@link #REGRESSION_FACTOR}) than they usually do.
+	 * Phases that haven't been recorded in enough earlier launches are never counted as regressions.
+	 *
+	 * @param phases How long each phase of the launch took
+	 * @return The names of the phases that regressed
+	 */
+	public synchronized List<String> findRegressions(Map<String, Duration> phases){
+		List<String> regressions = new ArrayList<>();
+		for(Map.Entry<String, Duration> phase: phases.entrySet()){
+			long count = entries.stream().filter(entry -> entry.phases().containsKey(phase.getKey())).count();
+			if(count < MIN_ENTRIES_FOR_REGRESSIONS){
+				continue;
+			}
+			Duration average = getAverage(phase.getKey());
+			if(phase.getValue().toNanos() > average.toNanos() * REGRESSION_FACTOR){
+				regressions.add(phase.getKey());
+			}
+		}
+		return regressions;
+	}
+	
+	/**
+	 * Describes a regressed phase for logging (call this before {@link #record recording} the launch, so the average
+	 * doesn't include it)
+	 *
+	 * @param phase The name of the phase
+	 * @param time How long the phase took in the launch
+	 * @return A description of the regression, e.g. "load took 900 ms (usually 300 ms)"
+	 */
+	public synchronized String describeRegression(String phase, Duration time){
+		Duration average = getAverage(phase);
+		return phase + " took " + time.toMillis() + " ms" +
+				(average == null ? "":" (usually " + average.toMillis() + " ms)");
+	}
+	
+	/**
+	 * Records a launch in the history (dropping the oldest launch if there are too many) and saves it
+	 *
+	 * @param phases How long each phase of the launch took
+	 * @return The names of the phases that regressed compared to the earlier launches
+	 * @throws IOException If anything goes wrong in saving the history
+	 */
+	public synchronized List<String> record(Map<String, Duration> phases) throws IOException{
+		List<String> regressions = findRegressions(phases);
+		entries.add(new StartupEntry(System.currentTimeMillis(), new LinkedHashMap<>(phases)));
+		trim();
+		save();
+		return regressions;
+	}
+	
+	/**
+	 * Drops the oldest launches until there are at most {@link #maxEntries}
+	 */
+	private void trim(){
+		while(entries.size() > maxEntries){
+			entries.remove(0);
+		}
+	}
+	
+	/**
+	 * Saves the history to its file (through a temporary file, so a crash never leaves half a history)
+	 *
+	 * @throws IOException If anything goes wrong in saving the history
+	 */
+	private void save() throws IOException{
+		StringBuilder content = new StringBuilder();
+		for(StartupEntry entry: entries){
+			content.append(entry.recordedAt());
+			for(Map.Entry<String, Duration> phase: entry.phases().entrySet()){
+				// Phase names are split from their times on the last '=', and entries on spaces
+				content.append(' ').append(phase.getKey().replace(' ', '_')).append('=')
+						.append(phase.getValue().toMillis());
+			}
+			content.append(System.lineSeparator());
+		}
+		
+		Path parent = historyPath.toAbsolutePath().getParent();
+		if(parent != null){
+			Files.createDirectories(parent);
+		}
+		Path tempPath = historyPath.resolveSibling(historyPath.getFileName() + ".tmp");
+		Files.writeString(tempPath, content, StandardCharsets.UTF_8);
+		try{
+			Files.move(tempPath, historyPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}catch(AtomicMoveNotSupportedException e){
+			Files.move(tempPath, historyPath, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+}
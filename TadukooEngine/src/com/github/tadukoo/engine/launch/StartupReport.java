@@ -0,0 +1,143 @@
+package com.github.tadukoo.engine.launch;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Startup Report compares how long a program took to start (from the launcher starting its JVM until the
+ * {@link com.github.tadukoo.engine.Program Program} finished loading) with and without its Class Data Sharing
+ * archive from the {@link LaunchCache}. Startup times are recorded by {@link ProgramMain} as one line per launch
+ * in the program's cache folder.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class StartupReport{
+	/** The word used to mark a startup time of a launch that used the archive */
+	private static final String CACHED = "cached";
+	/** The word used to mark a startup time of a launch that didn't use the archive */
+	private static final String UNCACHED = "uncached";
+	
+	/** The number of launches that used the archive */
+	private long cachedLaunches = 0;
+	/** The total startup time (in milliseconds) of launches that used the archive */
+	private long cachedTotalMillis = 0;
+	/** The number of launches that didn't use the archive */
+	private long uncachedLaunches = 0;
+	/** The total startup time (in milliseconds) of launches that didn't use the archive */
+	private long uncachedTotalMillis = 0;
+	
+	/**
+	 * Records the startup time of a launch in the given file
+	 *
+	 * @param startupTimesPath The {@link Path} of the file of startup times
+	 * @param cached Whether the launch used the archive
+	 * @param millis The startup time in milliseconds
+	 * @throws IOException If anything goes wrong in writing the file
+	 */
+	public static void record(Path startupTimesPath, boolean cached, long millis) throws IOException{
+		Files.writeString(startupTimesPath, (cached ? CACHED:UNCACHED) + " " + millis + System.lineSeparator(),
+				StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+	}
+	
+	/**
+	 * Loads a Startup Report from the given file of startup times (lines that can't be read are skipped)
+	 *
+	 * @param startupTimesPath The {@link Path} of the file of startup times
+	 * @return The loaded Startup Report (empty if there is no file)
+	 * @throws IOException If anything goes wrong in reading the file
+	 */
+	public static StartupReport load(Path startupTimesPath) throws IOException{
+		StartupReport report = new StartupReport();
+		if(!Files.isRegularFile(startupTimesPath)){
+			return report;
+		}
+		List<String> lines = Files.readAllLines(startupTimesPath, StandardCharsets.UTF_8);
+		for(String line: lines){
+			String[] pieces = line.strip().split(" ");
+			if(pieces.length != 2){
+				continue;
+			}
+			try{
+				report.add(CACHED.equals(pieces[0]), Long.parseLong(pieces[1]));
+			}catch(NumberFormatException e){
+				// Skip lines that got mangled
+			}
+		}
+		return report;
+	}
+	
+	/**
+	 * Adds the startup time of a launch to the report
+	 *
+	 * @param cached Whether the launch used the archive
+	 * @param millis The startup time in milliseconds
+	 */
+	public void add(boolean cached, long millis){
+		if(cached){
+			cachedLaunches++;
+			cachedTotalMillis += millis;
+		}else{
+			uncachedLaunches++;
+			uncachedTotalMillis += millis;
+		}
+	}
+	
+	/**
+	 * @return The number of launches that used the archive
+	 */
+	public long getCachedLaunches(){
+		return cachedLaunches;
+	}
+	
+	/**
+	 * @return The number of launches that didn't use the archive
+	 */
+	public long getUncachedLaunches(){
+		return uncachedLaunches;
+	}
+	
+	/**
+	 * @return The average startup time (in milliseconds) of launches that used the archive, or -1 if there were none
+	 */
+	public double getAverageCachedMillis(){
+		return cachedLaunches == 0 ? -1:(double) cachedTotalMillis / cachedLaunches;
+	}
+	
+	/**
+	 * @return The average startup time (in milliseconds) of launches that didn't use the archive, or -1 if there
+	 * were none
+	 */
+	public double getAverageUncachedMillis(){
+		return uncachedLaunches == 0 ? -1:(double) uncachedTotalMillis / uncachedLaunches;
+	}
+	
+	/**
+	 * @return How many times faster launches with the archive were on average, or -1 if there aren't launches of
+	 * both kinds to compare
+	 */
+	public double getSpeedup(){
+		if(cachedLaunches == 0 || uncachedLaunches == 0 || cachedTotalMillis == 0){
+			return -1;
+		}
+		return getAverageUncachedMillis() / getAverageCachedMillis();
+	}
+	
+	/** {@inheritDoc} */
+	@Override
+	public String toString(){
+		StringBuilder report = new StringBuilder("Startup Report:\n");
+		report.append(String.format("  Without archive: %d launches, %s%n", uncachedLaunches,
+				uncachedLaunches == 0 ? "no data":String.format("%.1f ms average", getAverageUncachedMillis())));
+		report.append(String.format("  With archive:    %d launches, %s%n", cachedLaunches,
+				cachedLaunches == 0 ? "no data":String.format("%.1f ms average", getAverageCachedMillis())));
+		if(getSpeedup() > 0){
+			report.append(String.format("  Speedup:         %.2fx%n", getSpeedup()));
+		}
+		return report.toString();
+	}
+}
@@ -0,0 +1,617 @@
+package com.github.tadukoo.engine.launch;
+
+import com.github.tadukoo.engine.ProgramHandler;
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.util.ListUtil;
+import com.github.tadukoo.util.StringUtil;
+import com.github.tadukoo.util.logger.EasyLogger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warm Program Pool gets the programs a user launches the most ready ahead of time, so launching them only has to
+ * {@link com.github.tadukoo.engine.Program#run(com.github.tadukoo.engine.ProgramLoadContext) run} them. It keeps a
+ * count of launches for each program (by {@link ProgramInfo#getTitle() title}), and once the launcher has been
+ * idle for a bit (no launches running), it {@link InProcessProgramHandler#prepareProgram prepares} the most
+ * launched programs in the background: resolving their libraries, loading their classes, and loading them.
+ * <br><br>
+ * Prepared programs take up memory, so the pool is capped by a rough estimate of it (the size of each program's
+ * jar and libraries) and by a number of programs. When it's over either cap, the program that was least recently
+ * launched is dropped. A prepared program is used up when it's launched, and gets prepared again the next time the
+ * launcher is idle.
+ * <br><br>
+ * Warm Program Pool is itself a {@link ProgramHandler}, handing off to its {@link InProcessProgramHandler} for
+ * programs that aren't ready yet.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class WarmProgramPool implements ProgramHandler, AutoCloseable{
+	
+	/**
+	 * Warm Program Pool Builder is used to build a new {@link WarmProgramPool}. It has the following parameters:
+	 *
+	 * <table>
+	 *     <caption>Warm Program Pool Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>logger</td>
+	 *         <td>The {@link EasyLogger} to use for logging</td>
+	 *         <td>Defaults to {@code null}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>programHandler</td>
+	 *         <td>The {@link InProcessProgramHandler} used to prepare and launch programs</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>launchHistoryPath</td>
+	 *         <td>The {@link Path} of the file the launch counts are kept in</td>
+	 *         <td>Defaults to {@code null} (the counts only last as long as the pool)</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>maxWarmBytes</td>
+	 *         <td>The most bytes of program jars and libraries to keep prepared</td>
+	 *         <td>Defaults to {@link #DEFAULT_MAX_WARM_BYTES}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>maxWarmPrograms</td>
+	 *         <td>The most programs to keep prepared</td>
+	 *         <td>Defaults to {@link #DEFAULT_MAX_WARM_PROGRAMS}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>minLaunches</td>
+	 *         <td>How many times a program has to have been launched to be prepared</td>
+	 *         <td>Defaults to {@link #DEFAULT_MIN_LAUNCHES}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>idleDelay</td>
+	 *         <td>How long the launcher has to be idle before programs are prepared</td>
+	 *         <td>Defaults to {@link #DEFAULT_IDLE_DELAY}</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class WarmProgramPoolBuilder{
+		/** The {@link EasyLogger} to use for logging */
+		private EasyLogger logger = null;
+		/** The {@link InProcessProgramHandler} used to prepare and launch programs */
+		private InProcessProgramHandler programHandler;
+		/** The {@link Path} of the file the launch counts are kept in */
+		private Path launchHistoryPath = null;
+		/** The most bytes of program jars and libraries to keep prepared */
+		private long maxWarmBytes = DEFAULT_MAX_WARM_BYTES;
+		/** The most programs to keep prepared */
+		private int maxWarmPrograms = DEFAULT_MAX_WARM_PROGRAMS;
+		/** How many times a program has to have been launched to be prepared */
+		private int minLaunches = DEFAULT_MIN_LAUNCHES;
+		/** How long the launcher has to be idle before programs are prepared */
+		private Duration idleDelay = DEFAULT_IDLE_DELAY;
+		
+		// Not allowed to create Warm Program Pool Builder outside of Warm Program Pool
+		private WarmProgramPoolBuilder(){ }
+		
+		/**
+		 * @param logger The {@link EasyLogger} to use for logging
+		 * @return this, to continue building
+		 */
+		public WarmProgramPoolBuilder logger(EasyLogger logger){
+			this.logger = logger;
+			return this;
+		}
+		
+		/**
+		 * @param programHandler The {@link InProcessProgramHandler} used to prepare and launch programs
+		 * @return this, to continue building
+		 */
+		public WarmProgramPoolBuilder programHandler(InProcessProgramHandler programHandler){
+			this.programHandler = programHandler;
+			return this;
+		}
+		
+		/**
+		 * @param launchHistoryPath The {@link Path} of the file the launch counts are kept in
+		 * @return this, to continue building
+		 */
+		public WarmProgramPoolBuilder launchHistoryPath(Path launchHistoryPath){
+			this.launchHistoryPath = launchHistoryPath;
+			return this;
+		}
+		
+		/**
+		 * @param maxWarmBytes The most bytes of program jars and libraries to keep prepared
+		 * @return this, to continue building
+		 */
+		public WarmProgramPoolBuilder maxWarmBytes(long maxWarmBytes){
+			this.maxWarmBytes = maxWarmBytes;
+			return this;
+		}
+		
+		/**
+		 * @param maxWarmPrograms The most programs to keep prepared
+		 * @return this, to continue building
+		 */
+		public WarmProgramPoolBuilder maxWarmPrograms(int maxWarmPrograms){
+			this.maxWarmPrograms = maxWarmPrograms;
+			return this;
+		}
+		
+		/**
+		 * @param minLaunches How many times a program has to have been launched to be prepared
+		 * @return this, to continue building
+		 */
+		public WarmProgramPoolBuilder minLaunches(int minLaunches){
+			this.minLaunches = minLaunches;
+			return this;
+		}
+		
+		/**
+		 * @param idleDelay How long the launcher has to be idle before programs are prepared
+		 * @return this, to continue building
+		 */
+		public WarmProgramPoolBuilder idleDelay(Duration idleDelay){
+			this.idleDelay = idleDelay;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// Program Handler is required
+			if(programHandler == null){
+				errors.add("programHandler is required");
+			}
+			// Max Warm Bytes can't be negative
+			if(maxWarmBytes < 0){
+				errors.add("maxWarmBytes can't be negative");
+			}
+			// Max Warm Programs can't be negative
+			if(maxWarmPrograms < 0){
+				errors.add("maxWarmPrograms can't be negative");
+			}
+			// Min Launches must be positive
+			if(minLaunches < 1){
+				errors.add("minLaunches must be at least 1");
+			}
+			// Idle Delay can't be negative
+			if(idleDelay == null || idleDelay.isNegative()){
+				errors.add("idleDelay can't be negative");
+			}
+			
+			// If we find errors, throw an exception
+			if(ListUtil.isNotBlank(errors)){
+				throw new IllegalArgumentException("The following errors happened in building a " +
+						"WarmProgramPool: \n" + StringUtil.buildStringWithNewLines(errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link WarmProgramPool} with the set parameters
+		 *
+		 * @return The newly built {@link WarmProgramPool}
+		 * @throws IOException If anything goes wrong in reading the launch history
+		 */
+		public WarmProgramPool build() throws IOException{
+			checkForErrors();
+			return new WarmProgramPool(logger, programHandler, launchHistoryPath, maxWarmBytes, maxWarmPrograms,
+					minLaunches, idleDelay);
+		}
+	}
+	
+	/**
+	 * Launch Record is how often a program has been launched, and when it was last launched.
+	 *
+	 * @param launches How many times the program has been launched
+	 * @param lastLaunched When the program was last launched (in epoch millis)
+	 */
+	public record LaunchRecord(int launches, long lastLaunched){ }
+	
+	/** The default for the most bytes of program jars and libraries to keep prepared (256 MB) */
+	public static final long DEFAULT_MAX_WARM_BYTES = 256L * 1024 * 1024;
+	/** The default for the most programs to keep prepared */
+	public static final int DEFAULT_MAX_WARM_PROGRAMS = 3;
+	/** The default for how many times a program has to have been launched to be prepared */
+	public static final int DEFAULT_MIN_LAUNCHES = 2;
+	/** The default for how long the launcher has to be idle before programs are prepared */
+	public static final Duration DEFAULT_IDLE_DELAY = Duration.ofSeconds(5);
+	
+	/** The {@link EasyLogger} to use for logging */
+	private final EasyLogger logger;
+	/** The {@link InProcessProgramHandler} used to prepare and launch programs */
+	private final InProcessProgramHandler programHandler;
+	/** The {@link Path} of the file the launch counts are kept in (may be null) */
+	private final Path launchHistoryPath;
+	/** The most bytes of program jars and libraries to keep prepared */
+	private final long maxWarmBytes;
+	/** The most programs to keep prepared */
+	private final int maxWarmPrograms;
+	/** How many times a program has to have been launched to be prepared */
+	private final int minLaunches;
+	/** How long the launcher has to be idle before programs are prepared */
+	private final Duration idleDelay;
+	/** The {@link LaunchRecord} of each program, by title */
+	private final Map<String, LaunchRecord> launchRecords = new HashMap<>();
+	/** The {@link ProgramInfo} of each program we know of, by title */
+	private final Map<String, ProgramInfo> programs = new HashMap<>();
+	/** The programs that are prepared, by title */
+	private final Map<String, PreparedProgram> warmPrograms = new LinkedHashMap<>();
+	/** The number of launches that are running */
+	private final AtomicInteger runningLaunches = new AtomicInteger();
+	/** Runs the warm ups, on a single low priority thread */
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "Warm Program Pool");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		return thread;
+	});
+	/** The warm up waiting for the launcher to be idle (may be null) */
+	private ScheduledFuture<?> pendingWarmUp;
+	
+	/**
+	 * Creates a new Warm Program Pool with the given parameters
+	 *
+	 * @param logger The {@link EasyLogger} to use for logging
+	 * @param programHandler The {@link InProcessProgramHandler} used to prepare and launch programs
+	 * @param launchHistoryPath The {@link Path} of the file the launch counts are kept in (may be null)
+	 * @param maxWarmBytes The most bytes of program jars and libraries to keep prepared
+	 * @param maxWarmPrograms The most programs to keep prepared
+	 * @param minLaunches How many times a program has to have been launched to be prepared
+	 * @param idleDelay How long the launcher has to be idle before programs are prepared
+	 * @throws IOException If anything goes wrong in reading the launch history
+	 */
+	private WarmProgramPool(
+			EasyLogger logger, InProcessProgramHandler programHandler, Path launchHistoryPath, long maxWarmBytes,
+			int maxWarmPrograms, int minLaunches, Duration idleDelay) throws IOException{
+		this.logger = logger;
+		this.programHandler = programHandler;
+		this.launchHistoryPath = launchHistoryPath;
+		this.maxWarmBytes = maxWarmBytes;
+		this.maxWarmPrograms = maxWarmPrograms;
+		this.minLaunches = minLaunches;
+		this.idleDelay = idleDelay;
+		loadLaunchHistory();
+	}
+	
+	/**
+	 * @return A new {@link WarmProgramPoolBuilder} to use to build a {@link WarmProgramPool}
+	 */
+	public static WarmProgramPoolBuilder builder(){
+		return new WarmProgramPoolBuilder();
+	}
+	
+	/**
+	 * @return The {@link EasyLogger} to use for logging
+	 */
+	public EasyLogger getLogger(){
+		return logger;
+	}
+	
+	/**
+	 * @return The {@link InProcessProgramHandler} used to prepare and launch programs
+	 */
+	public InProcessProgramHandler getProgramHandler(){
+		return programHandler;
+	}
+	
+	/**
+	 * @return The {@link Path} of the file the launch counts are kept in (may be null)
+	 */
+	public Path getLaunchHistoryPath(){
+		return launchHistoryPath;
+	}
+	
+	/**
+	 * @return The most bytes of program jars and libraries to keep prepared
+	 */
+	public long getMaxWarmBytes(){
+		return maxWarmBytes;
+	}
+	
+	/**
+	 * @return The most programs to keep prepared
+	 */
+	public int getMaxWarmPrograms(){
+		return maxWarmPrograms;
+	}
+	
+	/**
+	 * @return How many times a program has to have been launched to be prepared
+	 */
+	public int getMinLaunches(){
+		return minLaunches;
+	}
+	
+	/**
+	 * @return How long the launcher has to be idle before programs are prepared
+	 */
+	public Duration getIdleDelay(){
+		return idleDelay;
+	}
+	
+	/**
+	 * @param title The title of a program
+	 * @return The {@link LaunchRecord} of the program, or null if it's never been launched
+	 */
+	public synchronized LaunchRecord getLaunchRecord(String title){
+		return launchRecords.get(title);
+	}
+	
+	/**
+	 * @param title The title of a program
+	 * @return Whether the program is prepared (so launching it will only run it)
+	 */
+	public synchronized boolean isWarm(String title){
+		return warmPrograms.containsKey(title);
+	}
+	
+	/**
+	 * @return The titles of the programs that are prepared
+	 */
+	public synchronized List<String> getWarmPrograms(){
+		return new ArrayList<>(warmPrograms.keySet());
+	}
+	
+	/**
+	 * @return The size in bytes of the jars and libraries of the programs that are prepared
+	 */
+	public synchronized long getWarmBytes(){
+		long bytes = 0;
+		for(PreparedProgram preparedProgram: warmPrograms.values()){
+			bytes += preparedProgram.getFootprint();
+		}
+		return bytes;
+	}
+	
+	/**
+	 * Lets the pool know about a program, so it can be prepared if it's been launched enough (programs are also
+	 * added when they're launched, but the launch history can have programs that haven't been launched since the
+	 * launcher started)
+	 *
+	 * @param programInfo The {@link ProgramInfo} of the program
+	 */
+	public synchronized void addProgram(ProgramInfo programInfo){
+		programs.put(programInfo.getTitle(), programInfo);
+	}
+	
+	/**
+	 * Launches the given program, just running it if it's prepared
+	 *
+	 * @param programInfo The {@link ProgramInfo} for the program to be launched
+	 */
+	@Override
+	public void launchProgram(ProgramInfo programInfo){
+		PreparedProgram preparedProgram = takeForLaunch(programInfo);
+		runningLaunches.incrementAndGet();
+		try{
+			if(preparedProgram != null){
+				programHandler.runPrepared(preparedProgram);
+			}else{
+				programHandler.launchProgram(programInfo);
+			}
+		}finally{
+			runningLaunches.decrementAndGet();
+			scheduleWarmUp();
+		}
+	}
+	
+	/**
+	 * Launches the given program in the background. If it's prepared, the launch only has the
+	 * {@link LaunchStage#RUN RUN} stage.
+	 *
+	 * @param programInfo The {@link ProgramInfo} for the program to be launched
+	 * @param listener The {@link LaunchListener} to notify of the launch's progress
+	 * @return The {@link LaunchHandle} used to follow or cancel the launch
+	 */
+	@Override
+	public LaunchHandle launchProgramAsync(ProgramInfo programInfo, LaunchListener listener){
+		PreparedProgram preparedProgram = takeForLaunch(programInfo);
+		runningLaunches.incrementAndGet();
+		LaunchHandle handle;
+		try{
+			handle = preparedProgram != null ? programHandler.launchPreparedAsync(preparedProgram, listener):
+					programHandler.launchProgramAsync(programInfo, listener);
+		}catch(RuntimeException e){
+			runningLaunches.decrementAndGet();
+			throw e;
+		}
+		handle.getFuture().whenComplete((result, t) -> {
+			runningLaunches.decrementAndGet();
+			scheduleWarmUp();
+		});
+		return handle;
+	}
+	
+	/**
+	 * Records a launch of the given program, and takes its {@link PreparedProgram} out of the pool (if it's there
+	 * and was prepared from the same program jar)
+	 *
+	 * @param programInfo The {@link ProgramInfo} for the program being launched
+	 * @return The {@link PreparedProgram} to run, or null if the program isn't prepared
+	 */
+	private PreparedProgram takeForLaunch(ProgramInfo programInfo){
+		String title = programInfo.getTitle();
+		PreparedProgram preparedProgram;
+		synchronized(this){
+			// A launch means the launcher isn't idle
+			if(pendingWarmUp != null){
+				pendingWarmUp.cancel(false);
+				pendingWarmUp = null;
+			}
+			programs.put(title, programInfo);
+			LaunchRecord launchRecord = launchRecords.get(title);
+			launchRecords.put(title, new LaunchRecord(launchRecord == null ? 1:launchRecord.launches() + 1,
+					System.currentTimeMillis()));
+			preparedProgram = warmPrograms.remove(title);
+			if(preparedProgram != null && !preparedProgram.getProgramInfo().getProgramJarName()
+					.equals(programInfo.getProgramJarName())){
+				preparedProgram = null;
+			}
+		}
+		saveLaunchHistory();
+		return preparedProgram;
+	}
+	
+	/**
+	 * Schedules a {@link #warmUp} once the launcher has been idle for the {@link #idleDelay} (any launch before
+	 * then pushes it back)
+	 */
+	public synchronized void scheduleWarmUp(){
+		if(scheduler.isShutdown()){
+			return;
+		}
+		if(pendingWarmUp != null){
+			pendingWarmUp.cancel(false);
+		}
+		pendingWarmUp = scheduler.schedule(this::warmUp, idleDelay.toMillis(), TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * Prepares the most launched programs that aren't prepared yet (on the calling thread), dropping the least
+	 * recently launched programs to stay under the caps. Nothing is prepared while launches are running, and it
+	 * stops early if one starts.
+	 */
+	public void warmUp(){
+		for(ProgramInfo programInfo: findCandidates()){
+			if(runningLaunches.get() > 0 || scheduler.isShutdown()){
+				return;
+			}
+			try{
+				PreparedProgram preparedProgram = programHandler.prepareProgram(programInfo);
+				synchronized(this){
+					warmPrograms.put(programInfo.getTitle(), preparedProgram);
+					evict();
+				}
+			}catch(Throwable t){
+				if(logger != null){
+					logger.logWarning("Failed to prepare " + programInfo.getTitle() + " ahead of time", t);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @return The programs that should be prepared but aren't, most launched first
+	 */
+	private synchronized List<ProgramInfo> findCandidates(){
+		List<ProgramInfo> candidates = new ArrayList<>();
+		for(String title: launchRecords.keySet().stream()
+				.filter(title -> launchRecords.get(title).launches() >= minLaunches && programs.containsKey(title))
+				.sorted(Comparator.comparing((String title) -> launchRecords.get(title).launches())
+						.thenComparing(title -> launchRecords.get(title).lastLaunched()).reversed())
+				.limit(maxWarmPrograms)
+				.toList()){
+			if(!warmPrograms.containsKey(title)){
+				candidates.add(programs.get(title));
+			}
+		}
+		return candidates;
+	}
+	
+	/**
+	 * Drops the least recently launched programs until the pool is under both caps
+	 */
+	private synchronized void evict(){
+		while(!warmPrograms.isEmpty() && (warmPrograms.size() > maxWarmPrograms || getWarmBytes() > maxWarmBytes)){
+			String leastRecent = warmPrograms.keySet().stream()
+					.min(Comparator.comparing(title -> launchRecords.get(title).lastLaunched()))
+					.orElseThrow();
+			warmPrograms.remove(leastRecent);
+			if(logger != null){
+				logger.logInfo("Dropped prepared " + leastRecent + " to stay under the warm pool's cap");
+			}
+		}
+	}
+	
+	/**
+	 * Loads the launch counts from the {@link #launchHistoryPath} (if there is one). Each line is
+	 * "lastLaunched launches title", and lines that can't be read are skipped.
+	 *
+	 * @throws IOException If anything goes wrong in reading the file
+	 */
+	private void loadLaunchHistory() throws IOException{
+		if(launchHistoryPath == null || !Files.isRegularFile(launchHistoryPath)){
+			return;
+		}
+		for(String line: Files.readAllLines(launchHistoryPath, StandardCharsets.UTF_8)){
+			String[] pieces = line.split(" ", 3);
+			try{
+				launchRecords.put(pieces[2], new LaunchRecord(Integer.parseInt(pieces[1]),
+						Long.parseLong(pieces[0])));
+			}catch(RuntimeException e){
+				// Skip lines that got mangled
+			}
+		}
+	}
+	
+	/**
+	 * Saves the launch counts to the {@link #launchHistoryPath} (if there is one), through a temporary file so a
+	 * crash never leaves half a history. Failures are logged, since they shouldn't stop a launch.
+	 */
+	private synchronized void saveLaunchHistory(){
+		if(launchHistoryPath == null){
+			return;
+		}
+		StringBuilder content = new StringBuilder();
+		for(Map.Entry<String, LaunchRecord> launchRecord: launchRecords.entrySet()){
+			content.append(launchRecord.getValue().lastLaunched()).append(' ')
+					.append(launchRecord.getValue().launches()).append(' ')
+					.append(launchRecord.getKey()).append(System.lineSeparator());
+		}
+		try{
+			Path parent = launchHistoryPath.toAbsolutePath().getParent();
+			if(parent != null){
+				Files.createDirectories(parent);
+			}
+			Path tempPath = launchHistoryPath.resolveSibling(launchHistoryPath.getFileName() + ".tmp");
+			Files.writeString(tempPath, content, StandardCharsets.UTF_8);
+			try{
+				Files.move(tempPath, launchHistoryPath, StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			}catch(AtomicMoveNotSupportedException e){
+				Files.move(tempPath, launchHistoryPath, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}catch(IOException e){
+			if(logger != null){
+				logger.logWarning("Failed to save the launch history", e);
+			}
+		}
+	}
+	
+	/**
+	 * Stops any warm up that's waiting and drops every prepared program
+	 */
+	@Override
+	public synchronized void close(){
+		scheduler.shutdownNow();
+		pendingWarmUp = null;
+		warmPrograms.clear();
+	}
+}
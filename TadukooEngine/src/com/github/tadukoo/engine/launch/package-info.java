@@ -0,0 +1,6 @@
+/**
+ * Contains the pieces used in launching programs, such as resolving the libraries a program needs, and the
+ * {@link com.github.tadukoo.engine.launch.LaunchHandle LaunchHandle} used to follow a launch running in the
+ * background
+ */
+package com.github.tadukoo.engine.launch;
@@ -0,0 +1,528 @@
+package com.github.tadukoo.engine.logging;
+
+import com.github.tadukoo.util.ListUtil;
+import com.github.tadukoo.util.StringUtil;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Async Log Handler is a {@link Handler} that hands log messages off to another (target) {@link Handler}, like the
+ * {@link java.util.logging.FileHandler FileHandler} of a file logger, on a background thread. Logging a message
+ * only puts it in a lock-free ring buffer, and the background thread writes whatever has built up in batches,
+ * flushing the target once per batch instead of once per message. The target still does the formatting, so the
+ * log looks the same as it would without this.
+ * <br><br>
+ * When the buffer is full, the {@link BackPressurePolicy} decides what happens to a new message. Closing the
+ * handler (which the {@link java.util.logging.LogManager LogManager} does on shutdown) writes every message that
+ * was logged before it, and then closes the target.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class AsyncLogHandler extends Handler{
+	
+	/**
+	 * Async Log Handler Builder is used to build a new {@link AsyncLogHandler}. It has the following parameters:
+	 *
+	 * <table>
+	 *     <caption>Async Log Handler Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>target</td>
+	 *         <td>The {@link Handler} that actually writes the messages</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>capacity</td>
+	 *         <td>How many messages the buffer holds (rounded up to a power of 2)</td>
+	 *         <td>Defaults to {@link #DEFAULT_CAPACITY}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>backPressurePolicy</td>
+	 *         <td>The {@link BackPressurePolicy} for when the buffer is full</td>
+	 *         <td>Defaults to {@link BackPressurePolicy#BLOCK}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>batchSize</td>
+	 *         <td>The most messages to write before flushing the target</td>
+	 *         <td>Defaults to {@link #DEFAULT_BATCH_SIZE}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>flushInterval</td>
+	 *         <td>The longest a message waits in the buffer when nothing else is being logged</td>
+	 *         <td>Defaults to {@link #DEFAULT_FLUSH_INTERVAL}</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class AsyncLogHandlerBuilder{
+		/** The {@link Handler} that actually writes the messages */
+		private Handler target;
+		/** How many messages the buffer holds */
+		private int capacity = DEFAULT_CAPACITY;
+		/** The {@link BackPressurePolicy} for when the buffer is full */
+		private BackPressurePolicy backPressurePolicy = BackPressurePolicy.BLOCK;
+		/** The most messages to write before flushing the target */
+		private int batchSize = DEFAULT_BATCH_SIZE;
+		/** The longest a message waits in the buffer when nothing else is being logged */
+		private Duration flushInterval = DEFAULT_FLUSH_INTERVAL;
+		
+		// Not allowed to create Async Log Handler Builder outside of Async Log Handler
+		private AsyncLogHandlerBuilder(){ }
+		
+		/**
+		 * @param target The {@link Handler} that actually writes the messages
+		 * @return this, to continue building
+		 */
+		public AsyncLogHandlerBuilder target(Handler target){
+			this.target = target;
+			return this;
+		}
+		
+		/**
+		 * @param capacity How many messages the buffer holds (rounded up to a power of 2)
+		 * @return this, to continue building
+		 */
+		public AsyncLogHandlerBuilder capacity(int capacity){
+			this.capacity = capacity;
+			return this;
+		}
+		
+		/**
+		 * @param backPressurePolicy The {@link BackPressurePolicy} for when the buffer is full
+		 * @return this, to continue building
+		 */
+		public AsyncLogHandlerBuilder backPressurePolicy(BackPressurePolicy backPressurePolicy){
+			this.backPressurePolicy = backPressurePolicy;
+			return this;
+		}
+		
+		/**
+		 * @param batchSize The most messages to write before flushing the target
+		 * @return this, to continue building
+		 */
+		public AsyncLogHandlerBuilder batchSize(int batchSize){
+			this.batchSize = batchSize;
+			return this;
+		}
+		
+		/**
+		 * @param flushInterval The longest a message waits in the buffer when nothing else is being logged
+		 * @return this, to continue building
+		 */
+		public AsyncLogHandlerBuilder flushInterval(Duration flushInterval){
+			this.flushInterval = flushInterval;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// Target is required
+			if(target == null){
+				errors.add("target is required");
+			}
+			// Capacity must be at least 2 and fit in an int once rounded up
+			if(capacity < 2 || capacity > MAX_CAPACITY){
+				errors.add("capacity must be between 2 and " + MAX_CAPACITY);
+			}
+			// Back Pressure Policy is required
+			if(backPressurePolicy == null){
+				errors.add("backPressurePolicy is required");
+			}
+			// Batch Size must be positive
+			if(batchSize < 1){
+				errors.add("batchSize must be at least 1");
+			}
+			// Flush Interval must be positive
+			if(flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()){
+				errors.add("flushInterval must be positive");
+			}
+			
+			// If we find errors, throw an exception
+			if(ListUtil.isNotBlank(errors)){
+				throw new IllegalArgumentException("The following errors happened in building an " +
+						"AsyncLogHandler: \n" + StringUtil.buildStringWithNewLines(errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link AsyncLogHandler} with the set parameters (and starts its background thread)
+		 *
+		 * @return The newly built {@link AsyncLogHandler}
+		 */
+		public AsyncLogHandler build(){
+			checkForErrors();
+			return new AsyncLogHandler(target, capacity, backPressurePolicy, batchSize, flushInterval);
+		}
+	}
+	
+	/** The default for how many messages the buffer holds */
+	public static final int DEFAULT_CAPACITY = 8192;
+	/** The default for the most messages to write before flushing the target */
+	public static final int DEFAULT_BATCH_SIZE = 256;
+	/** The default for the longest a message waits in the buffer when nothing else is being logged */
+	public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(50);
+	/** The most messages the buffer can hold */
+	private static final int MAX_CAPACITY = 1 << 30;
+	/** How long a blocked caller (or {@link #flush()}) waits before checking the buffer again */
+	private static final long WAIT_NANOS = 50_000;
+	
+	/** The {@link Handler} that actually writes the messages */
+	private final Handler target;
+	/** The {@link BackPressurePolicy} for when the buffer is full */
+	private final BackPressurePolicy backPressurePolicy;
+	/** The most messages to write before flushing the target */
+	private final int batchSize;
+	/** The longest a message waits in the buffer when nothing else is being logged */
+	private final Duration flushInterval;
+	
+	/*
+	 * The ring buffer: a bounded queue with many callers putting messages in and the writer thread taking them out.
+	 * Each slot has a sequence number saying whose turn it is: a caller can fill the slot when its sequence is the
+	 * caller's position, and the writer can empty it when its sequence is one past the writer's position.
+	 */
+	/** The slots of the ring buffer */
+	private final AtomicReferenceArray<LogRecord> buffer;
+	/** The sequence number of each slot */
+	private final AtomicLongArray sequences;
+	/** The buffer's size minus 1, used to turn a position into a slot */
+	private final int mask;
+	/** The position the next message will be put at */
+	private final AtomicLong tail = new AtomicLong();
+	/** The position the next message will be taken from (only changed by the writer thread) */
+	private volatile long head = 0;
+	/** The position up to which messages have been written and flushed (only changed by the writer thread) */
+	private volatile long written = 0;
+	
+	/** The number of callers that are in the middle of logging a message */
+	private final AtomicInteger activePublishers = new AtomicInteger();
+	/** Whether the handler has been closed */
+	private final AtomicBoolean closed = new AtomicBoolean(false);
+	/** How many messages were dropped since the last time it was written to the log */
+	private final AtomicLong unreportedDrops = new AtomicLong();
+	/** How many messages were dropped in total */
+	private final AtomicLong droppedCount = new AtomicLong();
+	/** The thread that writes the messages to the target */
+	private final Thread writer;
+	
+	/**
+	 * Creates a new Async Log Handler with the given parameters, and starts its background thread
+	 *
+	 * @param target The {@link Handler} that actually writes the messages
+	 * @param capacity How many messages the buffer holds (rounded up to a power of 2)
+	 * @param backPressurePolicy The {@link BackPressurePolicy} for when the buffer is full
+	 * @param batchSize The most messages to write before flushing the target
+	 * @param flushInterval The longest a message waits in the buffer when nothing else is being logged
+	 */
+	private AsyncLogHandler(
+			Handler target, int capacity, BackPressurePolicy backPressurePolicy, int batchSize,
+			Duration flushInterval){
+		this.target = target;
+		this.backPressurePolicy = backPressurePolicy;
+		this.batchSize = batchSize;
+		this.flushInterval = flushInterval;
+		int size = Integer.highestOneBit(capacity - 1) << 1;
+		buffer = new AtomicReferenceArray<>(size);
+		sequences = new AtomicLongArray(size);
+		for(int i = 0; i < size; i++){
+			sequences.set(i, i);
+		}
+		mask = size - 1;
+		setLevel(target.getLevel());
+		
+		writer = new Thread(this::writeLoop, "Async Log Writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+	
+	/**
+	 * @return A new {@link AsyncLogHandlerBuilder} to use to build an {@link AsyncLogHandler}
+	 */
+	public static AsyncLogHandlerBuilder builder(){
+		return new AsyncLogHandlerBuilder();
+	}
+	
+	/**
+	 * Replaces each {@link Handler} of the given {@link Logger} with an {@link AsyncLogHandler} that writes to it
+	 * (with the default settings, other than the {@link BackPressurePolicy})
+	 *
+	 * @param logger The {@link Logger} to make asynchronous
+	 * @param backPressurePolicy The {@link BackPressurePolicy} for when a buffer is full
+	 * @return The {@link AsyncLogHandler AsyncLogHandlers} that were added to the logger
+	 */
+	public static List<AsyncLogHandler> wrapHandlers(Logger logger, BackPressurePolicy backPressurePolicy){
+		List<AsyncLogHandler> asyncHandlers = new ArrayList<>();
+		for(Handler handler: logger.getHandlers()){
+			logger.removeHandler(handler);
+			AsyncLogHandler asyncHandler = builder().target(handler).backPressurePolicy(backPressurePolicy).build();
+			logger.addHandler(asyncHandler);
+			asyncHandlers.add(asyncHandler);
+		}
+		return asyncHandlers;
+	}
+	
+	/**
+	 * @return The {@link Handler} that actually writes the messages
+	 */
+	public Handler getTarget(){
+		return target;
+	}
+	
+	/**
+	 * @return How many messages the buffer holds
+	 */
+	public int getCapacity(){
+		return mask + 1;
+	}
+	
+	/**
+	 * @return The {@link BackPressurePolicy} for when the buffer is full
+	 */
+	public BackPressurePolicy getBackPressurePolicy(){
+		return backPressurePolicy;
+	}
+	
+	/**
+	 * @return The most messages to write before flushing the target
+	 */
+	public int getBatchSize(){
+		return batchSize;
+	}
+	
+	/**
+	 * @return The longest a message waits in the buffer when nothing else is being logged
+	 */
+	public Duration getFlushInterval(){
+		return flushInterval;
+	}
+	
+	/**
+	 * @return How many messages were dropped because the buffer was full (only with {@link BackPressurePolicy#DROP})
+	 */
+	public long getDroppedCount(){
+		return droppedCount.get();
+	}
+	
+	/**
+	 * Puts the given message in the buffer to be written by the background thread. If the buffer is full, the
+	 * {@link BackPressurePolicy} decides what happens. Messages logged after the handler is closed are ignored.
+	 *
+	 * @param record The {@link LogRecord} to be written
+	 */
+	@Override
+	public void publish(LogRecord record){
+		if(!isLoggable(record)){
+			return;
+		}
+		// The class and method that logged the message are found from the stack when first asked for, so it
+		// has to happen here (on the thread that logged it) rather than on the writer thread
+		record.getSourceClassName();
+		
+		activePublishers.incrementAndGet();
+		try{
+			if(closed.get()){
+				return;
+			}
+			if(offer(record)){
+				return;
+			}
+			// If the target logs something itself, waiting on the writer thread would wait forever
+			if(Thread.currentThread() == writer){
+				target.publish(record);
+				return;
+			}
+			switch(backPressurePolicy){
+				case BLOCK -> {
+					while(!offer(record)){
+						LockSupport.unpark(writer);
+						LockSupport.parkNanos(this, WAIT_NANOS);
+					}
+				}
+				case DROP -> {
+					droppedCount.incrementAndGet();
+					unreportedDrops.incrementAndGet();
+				}
+				case CALLER_WRITES -> target.publish(record);
+			}
+		}finally{
+			activePublishers.decrementAndGet();
+		}
+	}
+	
+	/**
+	 * Waits for every message logged so far to be written, and then flushes the target
+	 */
+	@Override
+	public void flush(){
+		if(Thread.currentThread() != writer){
+			long logged = tail.get();
+			while(written < logged && writer.isAlive()){
+				LockSupport.unpark(writer);
+				LockSupport.parkNanos(this, WAIT_NANOS);
+			}
+		}
+		target.flush();
+	}
+	
+	/**
+	 * Writes every message that was logged before this, stops the background thread, and closes the target
+	 */
+	@Override
+	public void close(){
+		if(!closed.compareAndSet(false, true)){
+			return;
+		}
+		LockSupport.unpark(writer);
+		if(Thread.currentThread() != writer){
+			boolean interrupted = false;
+			while(writer.isAlive()){
+				try{
+					writer.join();
+				}catch(InterruptedException e){
+					// Losing messages is worse than finishing the close late, so keep waiting
+					interrupted = true;
+				}
+			}
+			if(interrupted){
+				Thread.currentThread().interrupt();
+			}
+		}
+		target.close();
+	}
+	
+	/**
+	 * Tries to put the given message in the buffer
+	 *
+	 * @param record The {@link LogRecord} to put in the buffer
+	 * @return Whether there was room for it
+	 */
+	private boolean offer(LogRecord record){
+		long position = tail.get();
+		while(true){
+			int slot = (int) position & mask;
+			long difference = sequences.get(slot) - position;
+			if(difference == 0){
+				// The slot is free for this position, if no other caller claims it first
+				if(tail.compareAndSet(position, position + 1)){
+					buffer.set(slot, record);
+					sequences.set(slot, position + 1);
+					return true;
+				}
+				position = tail.get();
+			}else if(difference < 0){
+				// The writer hasn't emptied this slot yet, so the buffer is full
+				return false;
+			}else{
+				// Another caller took this position already
+				position = tail.get();
+			}
+		}
+	}
+	
+	/**
+	 * Takes the next message out of the buffer (only called on the writer thread)
+	 *
+	 * @return The next {@link LogRecord}, or null if there isn't one ready
+	 */
+	private LogRecord poll(){
+		long position = head;
+		int slot = (int) position & mask;
+		if(sequences.get(slot) != position + 1){
+			return null;
+		}
+		LogRecord record = buffer.get(slot);
+		buffer.set(slot, null);
+		sequences.set(slot, position + mask + 1);
+		head = position + 1;
+		return record;
+	}
+	
+	/**
+	 * Writes the messages in the buffer to the target (up to the batch size), and flushes the target if any were
+	 * written
+	 *
+	 * @return Whether any messages were written
+	 */
+	private boolean writeBatch(){
+		int count = 0;
+		LogRecord record;
+		while(count < batchSize && (record = poll()) != null){
+			write(record);
+			count++;
+		}
+		long drops = unreportedDrops.getAndSet(0);
+		if(drops > 0){
+			LogRecord dropRecord = new LogRecord(Level.WARNING,
+					"Dropped " + drops + " log messages because the log buffer was full");
+			dropRecord.setSourceClassName(AsyncLogHandler.class.getName());
+			dropRecord.setSourceMethodName("publish");
+			write(dropRecord);
+			count++;
+		}
+		if(count > 0){
+			target.flush();
+			written = head;
+		}
+		return count > 0;
+	}
+	
+	/**
+	 * Writes a single message to the target
+	 *
+	 * @param record The {@link LogRecord} to write
+	 */
+	private void write(LogRecord record){
+		try{
+			target.publish(record);
+		}catch(RuntimeException e){
+			reportError("Failed to write a log message", e, ErrorManager.WRITE_FAILURE);
+		}
+	}
+	
+	/**
+	 * The loop of the writer thread: writes batches while there are messages, and otherwise waits for more (up to
+	 * the flush interval). Once the handler is closed and no caller is still logging, it writes whatever is left
+	 * and stops.
+	 */
+	private void writeLoop(){
+		long flushIntervalNanos = flushInterval.toNanos();
+		while(true){
+			if(writeBatch()){
+				continue;
+			}
+			if(closed.get() && activePublishers.get() == 0){
+				// Nothing new can come in now, so empty the buffer and stop
+				while(writeBatch()){
+					// Keep writing
+				}
+				return;
+			}
+			LockSupport.parkNanos(this, flushIntervalNanos);
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package com.github.tadukoo.engine.logging;
+
+/**
+ * Back Pressure Policy is used to tell an {@link AsyncLogHandler} what to do with a message when its buffer is full
+ * (messages are coming in faster than they can be written).
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public enum BackPressurePolicy{
+	/** Wait for room in the buffer, so no message is ever lost (but the caller can be held up) */
+	BLOCK,
+	/** Drop the message, so the caller is never held up (a count of dropped messages is written to the log) */
+	DROP,
+	/** Write the message on the caller's thread (it may end up out of order with messages still in the buffer) */
+	CALLER_WRITES
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains the {@link com.github.tadukoo.engine.logging.AsyncLogHandler AsyncLogHandler}, used to take writing log
+ * messages to disk off of the threads that log them
+ */
+package com.github.tadukoo.engine.logging;
@@ -0,0 +1,364 @@
+package com.github.tadukoo.engine.store;
+
+import com.github.tadukoo.engine.info.ShortInfo;
+import com.github.tadukoo.launcher.downloader.BinaryDelta;
+import com.github.tadukoo.launcher.downloader.HttpTransport;
+import com.github.tadukoo.launcher.downloader.MirrorDownloader;
+import com.github.tadukoo.util.ListUtil;
+import com.github.tadukoo.util.StringUtil;
+import com.github.tadukoo.util.logger.EasyLogger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Jar Updater downloads program and library jars, verifying them against their SHA-256 digests. When a
+ * {@link ShortInfo} {@link ShortInfo#hasPatch() advertises a patch} from the version that's already installed,
+ * only the patch is downloaded: it's applied to the installed jar with {@link BinaryDelta}, and the result is
+ * checked against the digest before it replaces anything. If the installed jar isn't the version the patch is for,
+ * or anything goes wrong with the patch, it falls back to downloading the whole jar. Since most of a jar is
+ * usually the same between versions, this cuts the download for an update down to a small fraction of the jar.
+ * <br><br>
+ * Jars are downloaded with a {@link MirrorDownloader}, so a jar with {@link ShortInfo#getMirrorLocations() mirror
+ * locations} is still downloaded when its main location is down, slow, or drops the connection partway through.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class JarUpdater{
+	
+	/**
+	 * Jar Updater Builder is used to build a new {@link JarUpdater}. It has the following parameters:
+	 *
+	 * <table>
+	 *     <caption>Jar Updater Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>logger</td>
+	 *         <td>The {@link EasyLogger} to use for logging</td>
+	 *         <td>Defaults to {@code null}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>transport</td>
+	 *         <td>The {@link HttpTransport} to download jars and patches with</td>
+	 *         <td>Defaults to the {@link HttpTransport#shared() shared} transport</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>downloader</td>
+	 *         <td>The {@link MirrorDownloader} to download jars and patches with (retrying and failing over
+	 *         between mirrors)</td>
+	 *         <td>Defaults to a {@link MirrorDownloader} using the transport</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class JarUpdaterBuilder{
+		/** The {@link EasyLogger} to use for logging */
+		private EasyLogger logger = null;
+		/** The {@link HttpTransport} to download jars and patches with */
+		private HttpTransport transport = HttpTransport.shared();
+		/** The {@link MirrorDownloader} to download jars and patches with */
+		private MirrorDownloader downloader = null;
+		
+		// Not allowed to create Jar Updater Builder outside of Jar Updater
+		private JarUpdaterBuilder(){ }
+		
+		/**
+		 * @param logger The {@link EasyLogger} to use for logging
+		 * @return this, to continue building
+		 */
+		public JarUpdaterBuilder logger(EasyLogger logger){
+			this.logger = logger;
+			return this;
+		}
+		
+		/**
+		 * @param transport The {@link HttpTransport} to download jars and patches with
+		 * @return this, to continue building
+		 */
+		public JarUpdaterBuilder transport(HttpTransport transport){
+			this.transport = transport;
+			return this;
+		}
+		
+		/**
+		 * @param downloader The {@link MirrorDownloader} to download jars and patches with
+		 * @return this, to continue building
+		 */
+		public JarUpdaterBuilder downloader(MirrorDownloader downloader){
+			this.downloader = downloader;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// Transport is required
+			if(transport == null){
+				errors.add("transport is required");
+			}
+			
+			// If we find errors, throw an exception
+			if(ListUtil.isNotBlank(errors)){
+				throw new IllegalArgumentException("The following errors happened in building a JarUpdater: \n" +
+						StringUtil.buildStringWithNewLines(errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link JarUpdater} with the set parameters
+		 *
+		 * @return The newly built {@link JarUpdater}
+		 */
+		public JarUpdater build(){
+			checkForErrors();
+			
+			// Default the downloader to one using the transport
+			if(downloader == null){
+				downloader = MirrorDownloader.builder().transport(transport).build();
+			}
+			
+			return new JarUpdater(logger, transport, downloader);
+		}
+	}
+	
+	/**
+	 * How a jar was brought up to date
+	 */
+	public enum UpdateMethod{
+		/** The jar was already up to date */
+		UP_TO_DATE,
+		/** A patch was downloaded and applied to the installed jar */
+		PATCHED,
+		/** The whole jar was downloaded */
+		DOWNLOADED
+	}
+	
+	/**
+	 * Update Result is what came of updating a jar.
+	 *
+	 * @param path The {@link Path} of the up-to-date jar
+	 * @param method How the jar was brought up to date
+	 * @param bytesDownloaded How many bytes were downloaded (including any patch that failed to apply)
+	 */
+	public record UpdateResult(Path path, UpdateMethod method, long bytesDownloaded){ }
+	
+	/** The {@link EasyLogger} to use for logging */
+	private final EasyLogger logger;
+	/** The {@link HttpTransport} to download jars and patches with */
+	private final HttpTransport transport;
+	/** The {@link MirrorDownloader} to download jars and patches with */
+	private final MirrorDownloader downloader;
+	
+	/**
+	 * Creates a new Jar Updater with the given parameters
+	 *
+	 * @param logger The {@link EasyLogger} to use for logging
+	 * @param transport The {@link HttpTransport} to download jars and patches with
+	 * @param downloader The {@link MirrorDownloader} to download jars and patches with
+	 */
+	private JarUpdater(EasyLogger logger, HttpTransport transport, MirrorDownloader downloader){
+		this.logger = logger;
+		this.transport = transport;
+		this.downloader = downloader;
+	}
+	
+	/**
+	 * @return A new {@link JarUpdaterBuilder} to use to build a {@link JarUpdater}
+	 */
+	public static JarUpdaterBuilder builder(){
+		return new JarUpdaterBuilder();
+	}
+	
+	/**
+	 * @return The {@link HttpTransport} to download jars and patches with
+	 */
+	public HttpTransport getTransport(){
+		return transport;
+	}
+	
+	/**
+	 * @return The {@link MirrorDownloader} to download jars and patches with
+	 */
+	public MirrorDownloader getDownloader(){
+		return downloader;
+	}
+	
+	/**
+	 * Makes sure the target is the jar described by the given {@link ShortInfo}. If it already is, nothing is
+	 * downloaded. If the jar has a patch and the base is the version the patch is for, the patch is applied to the
+	 * base. Otherwise (or if the patch fails), the whole jar is downloaded. Without a digest, there's no way to
+	 * tell what the target is or to check a patch, so the jar is just downloaded if the target doesn't exist.
+	 * The jar is downloaded from its {@link ShortInfo#getInfoLocations() locations}, failing over between them.
+	 * <br><br>
+	 * The new jar is put together in a temporary file next to the target and only moved into place once it's
+	 * verified, so the target is never left half-written.
+	 *
+	 * @param jar The {@link ShortInfo} of the jar
+	 * @param base The {@link Path} of the installed jar to apply a patch to (may be the target itself, or null if
+	 * there isn't one)
+	 * @param target The {@link Path} to put the up-to-date jar at
+	 * @return The {@link UpdateResult} of the update
+	 * @throws IOException If the jar couldn't be downloaded or verified
+	 */
+	public UpdateResult update(ShortInfo jar, Path base, Path target) throws IOException{
+		String sha256 = jar.getSha256();
+		if(StringUtil.isBlank(sha256)){
+			if(Files.isRegularFile(target)){
+				return new UpdateResult(target, UpdateMethod.UP_TO_DATE, 0);
+			}
+			return new UpdateResult(target, UpdateMethod.DOWNLOADED, download(jar.getInfoLocations(), target, null));
+		}
+		if(Files.isRegularFile(target) && LibraryStore.sha256(target).equalsIgnoreCase(sha256)){
+			return new UpdateResult(target, UpdateMethod.UP_TO_DATE, 0);
+		}
+		
+		Path folder = target.toAbsolutePath().getParent();
+		Files.createDirectories(folder);
+		Path tempPath = Files.createTempFile(folder, target.getFileName().toString(), ".part");
+		try{
+			long patchBytes = 0;
+			if(jar.hasPatch() && base != null && Files.isRegularFile(base) &&
+					LibraryStore.sha256(base).equalsIgnoreCase(jar.getPatchFromSha256())){
+				Path patchPath = Files.createTempFile(folder, target.getFileName().toString(), ".patch");
+				try{
+					patchBytes = download(jar.getPatchLocation(), patchPath, null);
+					BinaryDelta.applyPatch(base, patchPath, tempPath);
+					String actual = LibraryStore.sha256(tempPath);
+					if(!actual.equalsIgnoreCase(sha256)){
+						throw new IOException("SHA-256 mismatch for patched " + jar.getTitle() + ": expected " +
+								sha256 + ", but got " + actual);
+					}
+					moveIntoPlace(tempPath, target);
+					log("Patched " + jar.getTitle() + " with a " + patchBytes + " byte patch");
+					return new UpdateResult(target, UpdateMethod.PATCHED, patchBytes);
+				}catch(IOException e){
+					log("Failed to patch " + jar.getTitle() + ", so downloading all of it: " + e.getMessage());
+				}finally{
+					Files.deleteIfExists(patchPath);
+				}
+			}
+			
+			long jarBytes = download(jar.getInfoLocations(), tempPath, sha256);
+			moveIntoPlace(tempPath, target);
+			return new UpdateResult(target, UpdateMethod.DOWNLOADED, patchBytes + jarBytes);
+		}finally{
+			Files.deleteIfExists(tempPath);
+		}
+	}
+	
+	/**
+	 * Downloads the given location to the given path, verifying the SHA-256 digest of the bytes as they arrive
+	 *
+	 * @param location The location to download from
+	 * @param path The {@link Path} to save the download to
+	 * @param sha256 The expected SHA-256 digest (in hex), or null to skip verifying
+	 * @return How many bytes were downloaded
+	 * @throws IOException If anything goes wrong in downloading, or the digest doesn't match
+	 */
+	public long download(String location, Path path, String sha256) throws IOException{
+		return download(ListUtil.createList(location), path, sha256);
+	}
+	
+	/**
+	 * Downloads the file from the given locations (mirrors of each other) to the given path, trying them in order
+	 * with the {@link #downloader} and verifying the SHA-256 digest of the bytes as they arrive. A download that
+	 * fails partway through is continued from another location, so the digest is what makes sure the pieces were
+	 * all from the same file.
+	 *
+	 * @param locations The locations to download from, in the order to try them
+	 * @param path The {@link Path} to save the download to
+	 * @param sha256 The expected SHA-256 digest (in hex), or null to skip verifying
+	 * @return How many bytes were downloaded
+	 * @throws IOException If the file couldn't be downloaded from any location, or the digest doesn't match
+	 */
+	public long download(List<String> locations, Path path, String sha256) throws IOException{
+		List<URI> mirrors = new ArrayList<>();
+		for(String location: locations){
+			try{
+				mirrors.add(new URI(location));
+			}catch(URISyntaxException e){
+				throw new IOException("Bad location: " + location, e);
+			}
+		}
+		
+		MessageDigest digest = newSha256Digest();
+		long size;
+		try(OutputStream out = new DigestOutputStream(Files.newOutputStream(path), digest)){
+			size = downloader.download(mirrors, out);
+		}catch(IOException e){
+			Files.deleteIfExists(path);
+			throw e;
+		}
+		if(sha256 != null){
+			String actual = HexFormat.of().formatHex(digest.digest());
+			if(!actual.equalsIgnoreCase(sha256)){
+				Files.deleteIfExists(path);
+				throw new IOException("SHA-256 mismatch for " + locations.get(0) + ": expected " + sha256 +
+						", but got " + actual);
+			}
+		}
+		return size;
+	}
+	
+	/**
+	 * @return A new SHA-256 {@link MessageDigest}
+	 */
+	static MessageDigest newSha256Digest(){
+		try{
+			return MessageDigest.getInstance("SHA-256");
+		}catch(NoSuchAlgorithmException e){
+			// Every Java implementation is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * Moves the given temporary file into place, atomically if possible
+	 *
+	 * @param tempPath The {@link Path} of the temporary file
+	 * @param path The {@link Path} to move it to
+	 * @throws IOException If anything goes wrong in moving the file
+	 */
+	static void moveIntoPlace(Path tempPath, Path path) throws IOException{
+		try{
+			Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}catch(AtomicMoveNotSupportedException e){
+			Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+	
+	/**
+	 * Logs the given message at info level, if we have a logger
+	 *
+	 * @param message The message to log
+	 */
+	private void log(String message){
+		if(logger != null){
+			logger.logInfo(message);
+		}
+	}
+}
@@ -0,0 +1,522 @@
+package com.github.tadukoo.engine.store;
+
+import com.github.tadukoo.engine.info.ShortInfo;
+import com.github.tadukoo.launcher.downloader.HttpTransport;
+import com.github.tadukoo.util.ListUtil;
+import com.github.tadukoo.util.StringUtil;
+import com.github.tadukoo.util.logger.EasyLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Library Store is a content-addressed store for library files. Each library is stored once as a blob named by
+ * its SHA-256 digest (taken from {@link ShortInfo#getSha256()}), no matter how many programs use it or what name
+ * they give it. Blobs are verified while they're downloaded, and then shared into the libs folder under the names
+ * programs expect through hard links (or copies, if hard links aren't supported). Downloads go through a
+ * {@link JarUpdater} (using an {@link HttpTransport}, so fetching several libraries from the same host reuses its
+ * connections), so a new version of a library that advertises a patch from one that's already stored is patched
+ * instead of downloaded in full.
+ * <br><br>
+ * A manifest keeps track of which libraries each program uses, so that {@link #collectGarbage()} can remove blobs
+ * no program references anymore.
+ *
+ * @author Logan Ferree (Tadukoo)
+ * @version Alpha v.0.1
+ */
+public class LibraryStore{
+	
+	/**
+	 * Library Store Builder is used to build a new {@link LibraryStore}. It has the following parameters:
+	 *
+	 * <table>
+	 *     <caption>Library Store Parameters</caption>
+	 *     <tr>
+	 *         <th>Parameter</th>
+	 *         <th>Description</th>
+	 *         <th>Default or Required</th>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>logger</td>
+	 *         <td>The {@link EasyLogger} to use for logging</td>
+	 *         <td>Defaults to {@code null}</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>storeFolder</td>
+	 *         <td>The folder to keep the blobs and manifest in</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>libsFolder</td>
+	 *         <td>The folder libraries are shared into (under the names programs expect)</td>
+	 *         <td>Required</td>
+	 *     </tr>
+	 *     <tr>
+	 *         <td>transport</td>
+	 *         <td>The {@link HttpTransport} to download libraries with</td>
+	 *         <td>Defaults to the {@link HttpTransport#shared() shared} transport</td>
+	 *     </tr>
+	 * </table>
+	 *
+	 * @author Logan Ferree (Tadukoo)
+	 * @version Alpha v.0.1
+	 */
+	public static class LibraryStoreBuilder{
+		/** The {@link EasyLogger} to use for logging */
+		private EasyLogger logger = null;
+		/** The folder to keep the blobs and manifest in */
+		private Path storeFolder;
+		/** The folder libraries are shared into */
+		private Path libsFolder;
+		/** The {@link HttpTransport} to download libraries with */
+		private HttpTransport transport = HttpTransport.shared();
+		
+		// Not allowed to create Library Store Builder outside of Library Store
+		private LibraryStoreBuilder(){ }
+		
+		/**
+		 * @param logger The {@link EasyLogger} to use for logging
+		 * @return this, to continue building
+		 */
+		public LibraryStoreBuilder logger(EasyLogger logger){
+			this.logger = logger;
+			return this;
+		}
+		
+		/**
+		 * @param storeFolder The folder to keep the blobs and manifest in
+		 * @return this, to continue building
+		 */
+		public LibraryStoreBuilder storeFolder(Path storeFolder){
+			this.storeFolder = storeFolder;
+			return this;
+		}
+		
+		/**
+		 * @param libsFolder The folder libraries are shared into (under the names programs expect)
+		 * @return this, to continue building
+		 */
+		public LibraryStoreBuilder libsFolder(Path libsFolder){
+			this.libsFolder = libsFolder;
+			return this;
+		}
+		
+		/**
+		 * @param transport The {@link HttpTransport} to download libraries with
+		 * @return this, to continue building
+		 */
+		public LibraryStoreBuilder transport(HttpTransport transport){
+			this.transport = transport;
+			return this;
+		}
+		
+		/**
+		 * Checks for errors in the set parameters and throws an exception if any are found
+		 *
+		 * @throws IllegalArgumentException If there are problems with the parameters set
+		 */
+		private void checkForErrors(){
+			List<String> errors = new ArrayList<>();
+			
+			// Store Folder is required
+			if(storeFolder == null){
+				errors.add("storeFolder is required");
+			}
+			// Libs Folder is required
+			if(libsFolder == null){
+				errors.add("libsFolder is required");
+			}
+			// Transport is required
+			if(transport == null){
+				errors.add("transport is required");
+			}
+			
+			// If we find errors, throw an exception
+			if(ListUtil.isNotBlank(errors)){
+				throw new IllegalArgumentException("The following errors happened in building a LibraryStore: \n" +
+						StringUtil.buildStringWithNewLines(errors));
+			}
+		}
+		
+		/**
+		 * Builds a new {@link LibraryStore} with the set parameters
+		 *
+		 * @return The newly built {@link LibraryStore}
+		 * @throws IOException If anything goes wrong in loading the manifest
+		 */
+		public LibraryStore build() throws IOException{
+			checkForErrors();
+			return new LibraryStore(logger, storeFolder, libsFolder, transport);
+		}
+	}
+	
+	/** The name of the folder (inside the store folder) that blobs are kept in */
+	private static final String BLOBS_FOLDER = "blobs";
+	/** The name of the manifest file (inside the store folder) */
+	private static final String MANIFEST = "manifest.properties";
+	/** Separates the digest and name of a library in the manifest */
+	private static final String DIGEST_NAME_SEPARATOR = ":";
+	/** Separates the libraries of a program in the manifest */
+	private static final String LIBRARY_SEPARATOR = ",";
+	/** Pattern a SHA-256 digest (in hex) has to match to be used as a blob name */
+	private static final Pattern sha256Pattern = Pattern.compile("[0-9a-fA-F]{64}");
+	
+	/** The {@link EasyLogger} to use for logging */
+	private final EasyLogger logger;
+	/** The folder to keep the blobs and manifest in */
+	private final Path storeFolder;
+	/** The folder libraries are shared into */
+	private final Path libsFolder;
+	/** The {@link JarUpdater} to download (or patch) libraries with */
+	private final JarUpdater jarUpdater;
+	/** The manifest of which libraries (digest:name) each program uses */
+	private final Properties manifest = new Properties();
+	
+	/**
+	 * Creates a new Library Store with the given parameters, loading its manifest if it exists
+	 *
+	 * @param logger The {@link EasyLogger} to use for logging
+	 * @param storeFolder The folder to keep the blobs and manifest in
+	 * @param libsFolder The folder libraries are shared into
+	 * @param transport The {@link HttpTransport} to download libraries with
+	 * @throws IOException If anything goes wrong in loading the manifest
+	 */
+	private LibraryStore(EasyLogger logger, Path storeFolder, Path libsFolder, HttpTransport transport)
+			throws IOException{
+		this.logger = logger;
+		this.storeFolder = storeFolder;
+		this.libsFolder = libsFolder;
+		jarUpdater = JarUpdater.builder().logger(logger).transport(transport).build();
+		Path manifestPath = storeFolder.resolve(MANIFEST);
+		if(Files.isRegularFile(manifestPath)){
+			try(Reader reader = Files.newBufferedReader(manifestPath, StandardCharsets.UTF_8)){
+				manifest.load(reader);
+			}
+		}
+	}
+	
+	/**
+	 * @return A new {@link LibraryStoreBuilder} to use to build a {@link LibraryStore}
+	 */
+	public static LibraryStoreBuilder builder(){
+		return new LibraryStoreBuilder();
+	}
+	
+	/**
+	 * @return The folder to keep the blobs and manifest in
+	 */
+	public Path getStoreFolder(){
+		return storeFolder;
+	}
+	
+	/**
+	 * @return The folder libraries are shared into
+	 */
+	public Path getLibsFolder(){
+		return libsFolder;
+	}
+	
+	/**
+	 * @return The {@link HttpTransport} to download libraries with
+	 */
+	public HttpTransport getTransport(){
+		return jarUpdater.getTransport();
+	}
+	
+	/**
+	 * @return The {@link JarUpdater} to download (or patch) libraries with
+	 */
+	public JarUpdater getJarUpdater(){
+		return jarUpdater;
+	}
+	
+	/**
+	 * @param sha256 A string that might be a SHA-256 digest
+	 * @return Whether the string is a SHA-256 digest (64 hex characters)
+	 */
+	public static boolean isSha256(String sha256){
+		return sha256 != null && sha256Pattern.matcher(sha256).matches();
+	}
+	
+	/**
+	 * @param sha256 A SHA-256 digest (in hex)
+	 * @return The {@link Path} the blob with the given digest is (or would be) stored at
+	 * @throws IllegalArgumentException If the digest isn't 64 hex characters
+	 */
+	public Path getBlobPath(String sha256){
+		if(!isSha256(sha256)){
+			throw new IllegalArgumentException("Bad SHA-256 digest: " + sha256);
+		}
+		String digest = sha256.toLowerCase(Locale.ROOT);
+		return storeFolder.resolve(BLOBS_FOLDER).resolve(digest.substring(0, 2)).resolve(digest);
+	}
+	
+	/**
+	 * @param sha256 A SHA-256 digest (in hex)
+	 * @return Whether a blob with the given digest is in the store (never true for something that isn't a digest)
+	 */
+	public boolean contains(String sha256){
+		return isSha256(sha256) && Files.isRegularFile(getBlobPath(sha256));
+	}
+	
+	/**
+	 * Resolves the given library file name in the libs folder, making sure it stays in there (the name comes from
+	 * an info file, so it can't be trusted to not be something like "../../x.jar")
+	 *
+	 * @param name The file name of the library
+	 * @return The {@link Path} of the library in the libs folder
+	 * @throws IOException If the name is blank or would put the library outside the libs folder
+	 */
+	private Path resolveLibPath(String name) throws IOException{
+		if(StringUtil.isBlank(name)){
+			throw new IOException("Bad library name: " + name);
+		}
+		Path folder = libsFolder.toAbsolutePath().normalize();
+		Path libPath = folder.resolve(name).normalize();
+		if(!libPath.startsWith(folder) || libPath.equals(folder)){
+			throw new IOException("Bad library name: " + name);
+		}
+		return libsFolder.resolve(name);
+	}
+	
+	/**
+	 * Makes sure the given library is in the libs folder. If the library has a digest, it's only downloaded if
+	 * the store doesn't have it yet (and is verified against the digest); it's then shared into the libs folder. If
+	 * the library advertises a patch from a version that's in the store (or in the libs folder), the patch is
+	 * applied to that version instead of downloading the whole library. Libraries without a digest can't be
+	 * stored, so they're just downloaded into the libs folder if they aren't there already.
+	 *
+	 * @param library The {@link ShortInfo} of the library
+	 * @return The {@link Path} of the library in the libs folder
+	 * @throws IOException If anything goes wrong in downloading, verifying, or sharing the library, or if its name
+	 * or digest is bad
+	 */
+	public Path fetch(ShortInfo library) throws IOException{
+		Path libPath = resolveLibPath(library.getInfoName());
+		Files.createDirectories(libPath.getParent());
+		String sha256 = library.getSha256();
+		
+		// Without a digest, the best we can do is the old way
+		if(StringUtil.isBlank(sha256)){
+			return jarUpdater.update(library, null, libPath).path();
+		}
+		if(!isSha256(sha256)){
+			throw new IOException("Bad SHA-256 digest for " + library.getTitle() + ": " + sha256);
+		}
+		
+		Path blobPath = getBlobPath(sha256);
+		if(!Files.isRegularFile(blobPath)){
+			JarUpdater.UpdateResult result = jarUpdater.update(library, getPatchBase(library, libPath), blobPath);
+			log("Stored " + library.getTitle() + " (" + sha256 + ")" +
+					(result.method() == JarUpdater.UpdateMethod.PATCHED ? " from a patch":""));
+		}
+		
+		// Share the blob into the libs folder (unless it's already there)
+		if(Files.exists(libPath) && Files.isSameFile(libPath, blobPath)){
+			return libPath;
+		}
+		Files.deleteIfExists(libPath);
+		try{
+			Files.createLink(libPath, blobPath);
+		}catch(UnsupportedOperationException | IOException e){
+			// Hard links aren't always possible (e.g. different drives), so fall back to a copy
+			Files.copy(blobPath, libPath, StandardCopyOption.REPLACE_EXISTING);
+		}
+		return libPath;
+	}
+	
+	/**
+	 * @param library The {@link ShortInfo} of a library
+	 * @param libPath The {@link Path} of the library in the libs folder
+	 * @return The {@link Path} of the version of the library its patch applies to (the blob if it's stored, or
+	 * else whatever is in the libs folder, which the {@link JarUpdater} will check), or null if it has no patch
+	 */
+	private Path getPatchBase(ShortInfo library, Path libPath){
+		if(!library.hasPatch()){
+			return null;
+		}
+		return contains(library.getPatchFromSha256()) ? getBlobPath(library.getPatchFromSha256()):libPath;
+	}
+	
+	/**
+	 * Records the libraries the given program uses in the manifest (replacing any it had before), so their blobs
+	 * are kept by {@link #collectGarbage()}
+	 *
+	 * @param programTitle The title of the program
+	 * @param libraries The {@link ShortInfo}s of the libraries the program uses
+	 * @throws IOException If anything goes wrong in saving the manifest
+	 */
+	public synchronized void register(String programTitle, List<ShortInfo> libraries) throws IOException{
+		List<String> entries = new ArrayList<>();
+		for(ShortInfo library: libraries){
+			if(isSha256(library.getSha256())){
+				entries.add(library.getSha256().toLowerCase(Locale.ROOT) + DIGEST_NAME_SEPARATOR +
+						library.getInfoName());
+			}
+		}
+		manifest.setProperty(programTitle, String.join(LIBRARY_SEPARATOR, entries));
+		saveManifest();
+	}
+	
+	/**
+	 * Removes the given program from the manifest, so blobs only it used can be removed by
+	 * {@link #collectGarbage()}
+	 *
+	 * @param programTitle The title of the program
+	 * @throws IOException If anything goes wrong in saving the manifest
+	 */
+	public synchronized void unregister(String programTitle) throws IOException{
+		manifest.remove(programTitle);
+		saveManifest();
+	}
+	
+	/**
+	 * @return The digests of all the blobs referenced by programs in the manifest
+	 */
+	public synchronized Set<String> getReferencedDigests(){
+		Set<String> digests = new HashSet<>();
+		for(String programTitle: manifest.stringPropertyNames()){
+			for(String entry: manifest.getProperty(programTitle).split(LIBRARY_SEPARATOR)){
+				if(StringUtil.isNotBlank(entry)){
+					digests.add(entry.substring(0, entry.indexOf(DIGEST_NAME_SEPARATOR)));
+				}
+			}
+		}
+		return digests;
+	}
+	
+	/**
+	 * Removes any blobs that no program in the manifest references anymore, along with any files in the libs
+	 * folder that were shared from them (hard links, or copies made where hard links weren't possible)
+	 *
+	 * @return The digests of the blobs that were removed
+	 * @throws IOException If anything goes wrong in removing blobs
+	 */
+	public synchronized List<String> collectGarbage() throws IOException{
+		List<String> removed = new ArrayList<>();
+		Path blobsFolder = storeFolder.resolve(BLOBS_FOLDER);
+		if(!Files.isDirectory(blobsFolder)){
+			return removed;
+		}
+		Set<String> referenced = getReferencedDigests();
+		
+		// Find the blobs no program references anymore
+		Map<String, Path> unreferenced = new LinkedHashMap<>();
+		try(DirectoryStream<Path> prefixes = Files.newDirectoryStream(blobsFolder)){
+			for(Path prefix: prefixes){
+				try(DirectoryStream<Path> blobs = Files.newDirectoryStream(prefix)){
+					for(Path blob: blobs){
+						String digest = blob.getFileName().toString();
+						if(!referenced.contains(digest)){
+							unreferenced.put(digest, blob);
+						}
+					}
+				}
+			}
+		}
+		
+		// Remove what was shared from them first (telling hard links apart needs the blobs to still be there)
+		removeSharedCopies(unreferenced);
+		for(Map.Entry<String, Path> blob: unreferenced.entrySet()){
+			Files.delete(blob.getValue());
+			removed.add(blob.getKey());
+			log("Removed unused library blob " + blob.getKey());
+		}
+		return removed;
+	}
+	
+	/**
+	 * Removes any files in the libs folder that were shared from the given blobs: hard links to them, or copies
+	 * of them (files with the same digest, which are only read if their size matches one of the blobs)
+	 *
+	 * @param blobs The {@link Path}s of the blobs, by their digests
+	 * @throws IOException If anything goes wrong in removing files
+	 */
+	private void removeSharedCopies(Map<String, Path> blobs) throws IOException{
+		if(blobs.isEmpty() || !Files.isDirectory(libsFolder)){
+			return;
+		}
+		Set<Long> sizes = new HashSet<>();
+		for(Path blob: blobs.values()){
+			sizes.add(Files.size(blob));
+		}
+		try(DirectoryStream<Path> libs = Files.newDirectoryStream(libsFolder)){
+			for(Path lib: libs){
+				if(!Files.isRegularFile(lib) || !sizes.contains(Files.size(lib))){
+					continue;
+				}
+				boolean shared = false;
+				for(Path blob: blobs.values()){
+					if(Files.isSameFile(lib, blob)){
+						shared = true;
+						break;
+					}
+				}
+				if(shared || blobs.containsKey(sha256(lib))){
+					Files.delete(lib);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Computes the SHA-256 digest of the given file
+	 *
+	 * @param path The {@link Path} of the file
+	 * @return The SHA-256 digest of the file (in hex)
+	 * @throws IOException If anything goes wrong in reading the file
+	 */
+	public static String sha256(Path path) throws IOException{
+		MessageDigest digest = JarUpdater.newSha256Digest();
+		try(InputStream in = new DigestInputStream(Files.newInputStream(path), digest)){
+			in.transferTo(OutputStream.nullOutputStream());
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+	
+	/**
+	 * Saves the manifest to its file (through a temporary file, so it's never left half-written)
+	 *
+	 * @throws IOException If anything goes wrong in saving the manifest
+	 */
+	private void saveManifest() throws IOException{
+		Files.createDirectories(storeFolder);
+		Path manifestPath = storeFolder.resolve(MANIFEST);
+		Path tempPath = storeFolder.resolve(MANIFEST + ".tmp");
+		try(Writer writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)){
+			manifest.store(writer, "Libraries used by each program (digest" + DIGEST_NAME_SEPARATOR + "name)");
+		}
+		JarUpdater.moveIntoPlace(tempPath, manifestPath);
+	}
+	
+	/**
+	 * Logs the given message at info level, if we have a logger
+	 *
+	 * @param message The message to log
+	 */
+	private void log(String message){
+		if(logger != null){
+			logger.logInfo(message);
+		}
+	}
+}
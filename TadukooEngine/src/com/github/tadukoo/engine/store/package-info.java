@@ -0,0 +1,6 @@
+/**
+ * Contains the {@link com.github.tadukoo.engine.store.LibraryStore LibraryStore}, used to store library files
+ * once (by their content) and share them between programs, and the
+ * {@link com.github.tadukoo.engine.store.JarUpdater JarUpdater}, used to download (or patch) program and library jars
+ */
+package com.github.tadukoo.engine.store;
@@ -1,5 +1,9 @@
 package com.github.tadukoo.launcher;
 
+import com.github.tadukoo.engine.font.FontRegistry;
+import com.github.tadukoo.engine.logging.AsyncLogHandler;
+import com.github.tadukoo.engine.logging.BackPressurePolicy;
+import com.github.tadukoo.launcher.downloader.HttpTransport;
 import com.github.tadukoo.util.FileUtil;
 import com.github.tadukoo.util.ListUtil;
 import com.github.tadukoo.util.LoggerUtil;
@@ -9,19 +13,23 @@ import com.github.tadukoo.view.lookandfeel.TadukooLookAndFeel;
 import javax.swing.*;
 import java.awt.*;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
 import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class Launcher{
 	public static final String FONTS_FOLDER = "fonts/";
 	private static final String LOGS_FOLDER = "logs/";
 	public static final String LIBS_FOLDER = "libs/";
 	public static final String PROGRAMS_FOLDER = "programs/";
+	public static final String CACHE_FOLDER = "cache/";
 	private static final List<String> folders = ListUtil.createList(FONTS_FOLDER, LOGS_FOLDER,
-			LIBS_FOLDER, PROGRAMS_FOLDER);
+			LIBS_FOLDER, PROGRAMS_FOLDER, CACHE_FOLDER);
 	public static EasyLogger logger;
+	public static FontRegistry fontRegistry;
 	
 	/**
 	 * Starts the Tadukoo Launcher
@@ -37,22 +45,31 @@ public class Launcher{
 		System.setProperty("java.util.logging.SimpleFormatter.format",
 				"[%1$tY-%1$tm-%1$td %1$tH:%1$tM:%1$tS] [%4$s] [%2$s] %5$s%6$s%n");
 		
-		// Create Logger
+		// Create Logger (writing to the file happens on a background thread, so logging never waits on the disk)
 		String dateString = new SimpleDateFormat("yyyy-MM-dd").format(new Date(System.currentTimeMillis()));
-		logger = new EasyLogger(
-				LoggerUtil.createFileLogger(LOGS_FOLDER + "launcher-" + dateString + ".log", Level.INFO));
+		Logger fileLogger = LoggerUtil.createFileLogger(LOGS_FOLDER + "launcher-" + dateString + ".log", Level.INFO);
+		AsyncLogHandler.wrapHandlers(fileLogger, BackPressurePolicy.BLOCK);
+		logger = new EasyLogger(fileLogger);
+		
+		// Start connecting to GitHub now, so the handshakes are done by the time we check for updates
+		HttpTransport.shared().preconnect(HttpTransport.GITHUB_HOSTS);
 		
 		// Create Folders (in case they don't exist yet)
 		for(String folder: folders){
 			FileUtil.createDirectory(folder);
 		}
 		
+		// Index the fonts we have (each family is only loaded once something uses it)
+		fontRegistry = FontRegistry.builder().logger(logger).build();
+		fontRegistry.addSource(Paths.get(FONTS_FOLDER));
+		
 		// TODO: Check for launcher updates and update it
 		
 		// TODO: Check for font updates and update them
 		
-		// Set the Look & Feel
+		// Set the Look & Feel (its fonts are loaded through the registry in the background)
 		UIManager.setLookAndFeel(new TadukooLookAndFeel());
+		fontRegistry.applyToLookAndFeel();
 		
 		// Start the Main Frame
 		SwingUtilities.invokeLater(() -> new LauncherMainFrame().setVisible(true));
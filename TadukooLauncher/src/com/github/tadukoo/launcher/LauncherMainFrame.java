@@ -1,21 +1,25 @@
 package com.github.tadukoo.launcher;
 
-import com.github.tadukoo.engine.FileDownloader;
-import com.github.tadukoo.util.FileUtil;
-import com.github.tadukoo.util.ListUtil;
+import com.github.tadukoo.engine.browser.ProgramBrowser;
+import com.github.tadukoo.engine.info.InfoType;
+import com.github.tadukoo.engine.info.ProgramInfo;
+import com.github.tadukoo.engine.info.ShortInfo;
+import com.github.tadukoo.launcher.downloader.HttpTransport;
+import com.github.tadukoo.launcher.downloader.StreamingUnzipper;
 import com.github.tadukoo.view.components.TadukooButton;
-import com.github.tadukoo.util.tuple.Pair;
-import com.github.tadukoo.view.font.FontResourceLoader;
-import com.github.tadukoo.view.font.FontFamilies;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.*;
+import java.net.HttpURLConnection;
 import java.net.URL;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class LauncherMainFrame extends JFrame{
 	private String genealogyAPIURL = "https://github.com/Tadukoo/TadukooGenealogy/releases/download/0.0.0.1-Pre-Alpha/GenealogyAPI-0.1-Alpha-SNAPSHOT.jar";
@@ -24,7 +28,7 @@ public class LauncherMainFrame extends JFrame{
 	
 	private JFrame frame = this;
 	private JPanel panel;
-	private JTabbedPane tabbedPane;
+	private ProgramBrowser programBrowser;
 	private JLabel label;
 	private JComboBox<String> comboBox;
 	private JButton button;
@@ -98,26 +102,31 @@ public class LauncherMainFrame extends JFrame{
 		updateButton.addActionListener(new ActionListener(){
 			@Override
 			public void actionPerformed(ActionEvent e){
-				new FileDownloader(frame, ListUtil.createList(
-						Pair.of(fontZipURL, Launcher.FONTS_FOLDER + "fonts.zip")));
-				try{
-					FileUtil.unzipFile(Launcher.FONTS_FOLDER + "fonts.zip", Launcher.FONTS_FOLDER);
-					FontResourceLoader resourceLoader = new FontResourceLoader(true, Launcher.logger,
-							GraphicsEnvironment.getLocalGraphicsEnvironment(), Launcher.FONTS_FOLDER);
-					List<String> fonts = resourceLoader.loadFonts(ListUtil.createList(FontFamilies.ARIMO.getFamily(), FontFamilies.BANGERS.getFamily(),
-							FontFamilies.CALADEA.getFamily(), FontFamilies.CALLIGRASERIF.getFamily(), FontFamilies.CARLITO.getFamily(),
-							FontFamilies.COMIC_RELIEF.getFamily(), FontFamilies.COUSINE.getFamily(), FontFamilies.GELASIO.getFamily(),
-							FontFamilies.LECKERLI_ONE.getFamily(), FontFamilies.LOBSTER.getFamily(), FontFamilies.ROBOTO.getFamily(),
-							FontFamilies.ROBOTO_CONDENSED.getFamily(), FontFamilies.SATISFY.getFamily(), FontFamilies.SELAWIK.getFamily(),
-							FontFamilies.SOURCE_CODE_PRO.getFamily(), FontFamilies.TINOS.getFamily(), FontFamilies.WINE_TAHOMA.getFamily()),
-							true);
-					Launcher.logger.logInfo("Loaded " + fonts.size() + " fonts");
-					for(String font: fonts){
-						Launcher.logger.logInfo("Font Loaded: " + font);
+				// Download off the event dispatch thread, so the launcher doesn't freeze while it runs
+				CompletableFuture.runAsync(() -> {
+					try{
+						// Extract the fonts as the zip downloads, rather than saving it and unzipping it after
+						HttpTransport transport = HttpTransport.shared();
+						HttpResponse<InputStream> response = transport.sendStreaming(
+								transport.request(new URL(fontZipURL)).build());
+						try(InputStream in = response.body()){
+							if(response.statusCode() != HttpURLConnection.HTTP_OK){
+								Launcher.logger.logError("Failed to update fonts - server responded with " +
+										response.statusCode());
+								return;
+							}
+							// Each font is added to the registry as it's extracted (it's loaded once it's used), and
+							// then the look and feel picks up any families it was missing
+							new StreamingUnzipper(Paths.get(Launcher.FONTS_FOLDER)).extract(in, (name, file) -> {
+								Launcher.logger.logInfo("Extracted " + name);
+								Launcher.fontRegistry.addFile(file);
+							});
+							Launcher.fontRegistry.applyToLookAndFeel();
+						}
+					}catch(IOException ioException){
+						Launcher.logger.logError(ioException);
 					}
-				}catch(IOException | FontFormatException ioException){
-					Launcher.logger.logError(ioException);
-				}
+				});
 			}
 		});
 		panel.add(updateButton);
@@ -125,72 +134,49 @@ public class LauncherMainFrame extends JFrame{
 		SpringLayout layout = new SpringLayout();
 		panel.setLayout(layout);
 		
-		tabbedPane = new JTabbedPane(JTabbedPane.LEFT, JTabbedPane.SCROLL_TAB_LAYOUT);
+		// Only the titles are needed up front - a program's form is built when it's selected
+		Map<String, String> descriptions = new LinkedHashMap<>();
+		descriptions.put("Tadukoo Genealogy", "It's about genealogy");
+		descriptions.put("Tadukoo Look & Feel Test", "It's a look and feel test");
+		descriptions.put("Stratego", "Play Stratego");
+		descriptions.put("Tadukoo Pojo Maker", "Make Pojos");
+		List<ShortInfo> programs = new ArrayList<>();
+		for(String title: descriptions.keySet()){
+			programs.add(new ShortInfo(InfoType.PROGRAM, title, null, null));
+		}
+		programBrowser = ProgramBrowser.builder()
+				.logger(Launcher.logger)
+				.catalog(programs)
+				.programFormLoader(info -> ProgramInfo.builder()
+						.logger(Launcher.logger)
+						.title(info.getTitle()).description(descriptions.get(info.getTitle())))
+				.fontRegistry(Launcher.fontRegistry)
+				.build();
 		
 		layout.putConstraint(SpringLayout.NORTH, panel,
 							5,
-								SpringLayout.NORTH, tabbedPane);
+								SpringLayout.NORTH, programBrowser);
 		layout.putConstraint(SpringLayout.SOUTH, panel,
 								5,
-									SpringLayout.SOUTH, tabbedPane);
+									SpringLayout.SOUTH, programBrowser);
 		layout.putConstraint(SpringLayout.WEST, panel,
 								5,
-									SpringLayout.WEST, tabbedPane);
+									SpringLayout.WEST, programBrowser);
 		layout.putConstraint(SpringLayout.EAST, panel,
 								5,
-									SpringLayout.EAST, tabbedPane);
+									SpringLayout.EAST, programBrowser);
 		SpringLayout.Constraints cons = layout.getConstraints(panel);
 		cons.setWidth(Spring.constant(800));
 		cons.setHeight(Spring.constant(600));
-		SpringLayout.Constraints tabCons = layout.getConstraints(tabbedPane);
-		tabCons.setWidth(cons.getWidth());
-		tabCons.setHeight(cons.getHeight());
+		SpringLayout.Constraints browserCons = layout.getConstraints(programBrowser);
+		browserCons.setWidth(cons.getWidth());
+		browserCons.setHeight(cons.getHeight());
 		
-		createTabComponents("Tadukoo Genealogy", "It's about genealogy", 0);
-		createTabComponents("Tadukoo Look & Feel Test", "It's a look and feel test", 1);
-		createTabComponents("Stratego", "Play Stratego", 2);
-		createTabComponents("Tadukoo Pojo Maker", "Make Pojos", 3);
-		
-		panel.add(tabbedPane);
+		panel.add(programBrowser);
 		
 		pack();
 	}
 	
-	private void createTabComponents(String title, String description, int index){
-		ProgramInfo programInfo = new ProgramInfo(title, description);
-		tabbedPane.addTab(title, programInfo);
-		
-		/*
-		AbstractForm form = new AbstractForm(){
-			@Override
-			public void setDefaultFields(){
-				addField(FormField.stringFieldBuilder().key("Title").defaultValue(title).rowPos(0).colPos(0).isTitle(true).includeLabel(false).build());
-				addField(FormField.stringFieldBuilder().key("Description").defaultValue(description).rowPos(1).colPos(0).includeLabel(false).build());
-				addField(FormField.buttonFieldBuilder().key("Launch").rowPos(2).colPos(0).actionListener(e -> launchButton(title)).build());
-			}
-		};
-		tabbedPane.addTab(title, form);
-		/*
-		
-		// Make the tab content
-		JPanel tabContentPanel = new JPanel();
-		tabContentPanel.add(new JLabel(title));
-		JTextField descriptionField = new JTextField(description);
-		descriptionField.setEditable(false);
-		tabContentPanel.add(descriptionField);
-		JButton launchButton = new JButton("Launch");
-		launchButton.addActionListener(e -> launchButton(title));
-		tabContentPanel.add(launchButton);
-		tabbedPane.addTab(title, tabContentPanel);
-		/**/
-		
-		// Make the tab info
-		JPanel tabPanel = new JPanel();
-		JLabel titleLabel = new JLabel(title);
-		tabPanel.add(titleLabel);
-		tabbedPane.setTabComponentAt(index, tabPanel);
-	}
-	
 	/*
 	private void launchButton(String option){
 		//String option = (String) comboBox.getSelectedItem();